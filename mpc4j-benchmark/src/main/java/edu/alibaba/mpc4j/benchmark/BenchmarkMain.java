@@ -0,0 +1,51 @@
+package edu.alibaba.mpc4j.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Entry of JMH benchmarks. It accepts all JMH command line options (e.g., a benchmark regex, {@code -p type=JDK},
+ * {@code -f 3}). Different from {@code org.openjdk.jmh.Main}, results are written in JSON format to
+ * {@value #DEFAULT_RESULT_FILE} unless {@code -rf} / {@code -rff} are given, so that the results can be tracked by
+ * regression tools.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/20
+ */
+public class BenchmarkMain {
+    /**
+     * default result file
+     */
+    public static final String DEFAULT_RESULT_FILE = "mpc4j-benchmark-result.json";
+
+    private BenchmarkMain() {
+        // empty
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp()) {
+            commandLineOptions.showHelp();
+            return;
+        }
+        if (commandLineOptions.shouldList()) {
+            new Runner(commandLineOptions).list();
+            return;
+        }
+        ChainedOptionsBuilder optionsBuilder = new OptionsBuilder().parent(commandLineOptions);
+        if (!commandLineOptions.getResultFormat().hasValue()) {
+            optionsBuilder.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLineOptions.getResult().hasValue()) {
+            optionsBuilder.result(DEFAULT_RESULT_FILE);
+        }
+        new Runner(optionsBuilder.build()).run();
+    }
+}
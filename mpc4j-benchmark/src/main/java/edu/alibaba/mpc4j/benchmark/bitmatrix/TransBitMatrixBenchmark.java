@@ -0,0 +1,60 @@
+package edu.alibaba.mpc4j.benchmark.bitmatrix;
+
+import edu.alibaba.mpc4j.common.tool.bitmatrix.trans.TransBitMatrix;
+import edu.alibaba.mpc4j.common.tool.bitmatrix.trans.TransBitMatrixFactory;
+import edu.alibaba.mpc4j.common.tool.bitmatrix.trans.TransBitMatrixFactory.TransBitMatrixType;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * transpose bit matrix benchmark. The default shape (rows = num, columns = κ) is the one used in OT extensions.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector"})
+public class TransBitMatrixBenchmark {
+    /**
+     * transpose bit matrix type
+     */
+    @Param({"JDK_SIMD", "JDK", "EKLUNDH", "JDK_SPLIT_ROW", "JDK_SPLIT_COL"})
+    public TransBitMatrixType type;
+    /**
+     * rows
+     */
+    @Param({"65536", "1048576"})
+    public int rows;
+    /**
+     * columns
+     */
+    @Param({"128"})
+    public int columns;
+    /**
+     * matrix
+     */
+    private TransBitMatrix matrix;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SecureRandom secureRandom = new SecureRandom();
+        matrix = TransBitMatrixFactory.createInstance(type, rows, columns);
+        int rowByteLength = CommonUtils.getByteLength(rows);
+        for (int columnIndex = 0; columnIndex < columns; columnIndex++) {
+            matrix.setColumn(columnIndex, BytesUtils.randomByteArray(rowByteLength, rows, secureRandom));
+        }
+    }
+
+    @Benchmark
+    public TransBitMatrix transpose() {
+        return matrix.transpose();
+    }
+}
@@ -0,0 +1,142 @@
+package edu.alibaba.mpc4j.benchmark.circuit;
+
+import edu.alibaba.mpc4j.common.circuit.z2.*;
+import edu.alibaba.mpc4j.common.circuit.z2.sorter.SorterFactory.SorterTypes;
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVectorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Z2 sorter benchmark. Sorters run on a plain party that counts AND gates and interaction rounds (AND invocations and
+ * openings), which dominate the communication cost and the latency of sorters under secret sharing. The counters are
+ * reported as secondary results of each single-shot sort.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/29
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector"})
+public class Z2SorterBenchmark {
+    /**
+     * sorter type
+     */
+    @Param({"BITONIC", "RANDOMIZED_SHELL_SORTER", "SHUFFLE_QUICK_SORTER"})
+    public SorterTypes type;
+    /**
+     * number of sorted elements
+     */
+    @Param({"256", "4096"})
+    public int n;
+    /**
+     * bit length
+     */
+    @Param({"32"})
+    public int l;
+    /**
+     * number of instances
+     */
+    @Param({"16"})
+    public int num;
+    /**
+     * inputs
+     */
+    private BitVector[][] inputs;
+
+    /**
+     * Gate counters, reported per single-shot sort.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class GateCounters {
+        /**
+         * number of AND gates
+         */
+        public long andGates;
+        /**
+         * number of interaction rounds
+         */
+        public long rounds;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            andGates = 0;
+            rounds = 0;
+        }
+    }
+
+    /**
+     * Plain party that counts AND gates and interaction rounds.
+     */
+    private static class CountingZ2cParty extends PlainZ2cParty {
+        /**
+         * counters
+         */
+        private final GateCounters counters;
+        /**
+         * whether in a batched AND invocation
+         */
+        private boolean batch;
+
+        private CountingZ2cParty(GateCounters counters) {
+            this.counters = counters;
+            batch = false;
+        }
+
+        @Override
+        public PlainZ2Vector and(MpcZ2Vector xi, MpcZ2Vector yi) {
+            counters.andGates += xi.bitNum();
+            if (!batch) {
+                counters.rounds++;
+            }
+            return super.and(xi, yi);
+        }
+
+        @Override
+        public PlainZ2Vector[] and(MpcZ2Vector[] xiArray, MpcZ2Vector[] yiArray) {
+            counters.rounds++;
+            batch = true;
+            try {
+                return super.and(xiArray, yiArray);
+            } finally {
+                batch = false;
+            }
+        }
+
+        @Override
+        public BitVector[] open(MpcZ2Vector[] xiArray) {
+            counters.rounds++;
+            return super.open(xiArray);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SecureRandom secureRandom = new SecureRandom();
+        inputs = IntStream.range(0, n)
+            .mapToObj(i -> IntStream.range(0, l)
+                .mapToObj(j -> BitVectorFactory.createRandom(num, secureRandom))
+                .toArray(BitVector[]::new))
+            .toArray(BitVector[][]::new);
+    }
+
+    @Benchmark
+    public MpcZ2Vector[][] sort(GateCounters counters) throws MpcAbortException {
+        CountingZ2cParty party = new CountingZ2cParty(counters);
+        Z2IntegerCircuit circuit = new Z2IntegerCircuit(party, new Z2CircuitConfig.Builder().setSorterType(type).build());
+        MpcZ2Vector[][] xiArrays = new MpcZ2Vector[n][];
+        for (int i = 0; i < n; i++) {
+            xiArrays[i] = party.setPublicValues(inputs[i]);
+        }
+        circuit.sort(xiArrays);
+        return xiArrays;
+    }
+}
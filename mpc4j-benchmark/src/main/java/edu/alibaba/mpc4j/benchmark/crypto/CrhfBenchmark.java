@@ -0,0 +1,56 @@
+package edu.alibaba.mpc4j.benchmark.crypto;
+
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.crypto.crhf.Crhf;
+import edu.alibaba.mpc4j.common.tool.crypto.crhf.CrhfFactory;
+import edu.alibaba.mpc4j.common.tool.crypto.crhf.CrhfFactory.CrhfType;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CRHF benchmark.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector"})
+public class CrhfBenchmark {
+    /**
+     * environment
+     */
+    @Param({"STANDARD_JDK"})
+    public EnvType envType;
+    /**
+     * CRHF type
+     */
+    @Param({"MMO", "JDK_MMO_SIGMA", "SIMD_MMO_SIGMA"})
+    public CrhfType type;
+    /**
+     * CRHF
+     */
+    private Crhf crhf;
+    /**
+     * block
+     */
+    private byte[] block;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        crhf = CrhfFactory.createInstance(envType, type);
+        block = BytesUtils.randomByteArray(CommonConstants.BLOCK_BYTE_LENGTH, new SecureRandom());
+    }
+
+    @Benchmark
+    public byte[] hash() {
+        return crhf.hash(block);
+    }
+}
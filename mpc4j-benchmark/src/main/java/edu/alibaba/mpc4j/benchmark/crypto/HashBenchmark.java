@@ -0,0 +1,55 @@
+package edu.alibaba.mpc4j.benchmark.crypto;
+
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.crypto.hash.Hash;
+import edu.alibaba.mpc4j.common.tool.crypto.hash.HashFactory;
+import edu.alibaba.mpc4j.common.tool.crypto.hash.HashFactory.HashType;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * hash benchmark.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector"})
+public class HashBenchmark {
+    /**
+     * hash type
+     */
+    @Param({"JDK_SHA256", "BC_SHAKE_128", "BC_SHA3_256", "BC_SM3", "BC_BLAKE_2B_160"})
+    public HashType type;
+    /**
+     * message byte length
+     */
+    @Param({"16", "1024"})
+    public int messageByteLength;
+    /**
+     * hash
+     */
+    private Hash hash;
+    /**
+     * message
+     */
+    private byte[] message;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        hash = HashFactory.createInstance(type, CommonConstants.BLOCK_BYTE_LENGTH);
+        message = BytesUtils.randomByteArray(messageByteLength, new SecureRandom());
+    }
+
+    @Benchmark
+    public byte[] digest() {
+        return hash.digestToBytes(message);
+    }
+}
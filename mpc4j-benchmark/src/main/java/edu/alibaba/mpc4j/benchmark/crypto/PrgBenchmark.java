@@ -0,0 +1,71 @@
+package edu.alibaba.mpc4j.benchmark.crypto;
+
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.crypto.prg.Prg;
+import edu.alibaba.mpc4j.common.tool.crypto.prg.PrgFactory;
+import edu.alibaba.mpc4j.common.tool.crypto.prg.PrgFactory.PrgType;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PRG benchmark.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector"})
+public class PrgBenchmark {
+    /**
+     * batch size
+     */
+    private static final int BATCH_SIZE = 1 << 10;
+    /**
+     * PRG type
+     */
+    @Param({"JDK_AES_ECB", "JDK_AES_CTR", "BC_SM4_ECB", "BC_SM4_CTR"})
+    public PrgType type;
+    /**
+     * output byte length
+     */
+    @Param({"32", "1024"})
+    public int outputByteLength;
+    /**
+     * PRG
+     */
+    private Prg prg;
+    /**
+     * seed
+     */
+    private byte[] seed;
+    /**
+     * seeds
+     */
+    private byte[][] seeds;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SecureRandom secureRandom = new SecureRandom();
+        prg = PrgFactory.createInstance(type, outputByteLength);
+        seed = BytesUtils.randomByteArray(CommonConstants.BLOCK_BYTE_LENGTH, secureRandom);
+        seeds = BytesUtils.randomByteArrayVector(BATCH_SIZE, CommonConstants.BLOCK_BYTE_LENGTH, secureRandom);
+    }
+
+    @Benchmark
+    public byte[] extend() {
+        return prg.extendToBytes(seed);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public byte[][] batchExtend() {
+        return prg.extendToBytes(seeds);
+    }
+}
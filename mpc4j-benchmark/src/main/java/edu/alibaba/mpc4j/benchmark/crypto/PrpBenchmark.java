@@ -0,0 +1,62 @@
+package edu.alibaba.mpc4j.benchmark.crypto;
+
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.crypto.prp.Prp;
+import edu.alibaba.mpc4j.common.tool.crypto.prp.PrpFactory;
+import edu.alibaba.mpc4j.common.tool.crypto.prp.PrpFactory.PrpType;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PRP benchmark.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector"})
+public class PrpBenchmark {
+    /**
+     * PRP type
+     */
+    @Param({"JDK_AES", "BC_SM4", "JDK_BYTES_LOW_MC_20"})
+    public PrpType type;
+    /**
+     * PRP
+     */
+    private Prp prp;
+    /**
+     * plaintext
+     */
+    private byte[] plaintext;
+    /**
+     * ciphertext
+     */
+    private byte[] ciphertext;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SecureRandom secureRandom = new SecureRandom();
+        prp = PrpFactory.createInstance(type);
+        prp.setKey(BytesUtils.randomByteArray(CommonConstants.BLOCK_BYTE_LENGTH, secureRandom));
+        plaintext = BytesUtils.randomByteArray(CommonConstants.BLOCK_BYTE_LENGTH, secureRandom);
+        ciphertext = prp.prp(plaintext);
+    }
+
+    @Benchmark
+    public byte[] prp() {
+        return prp.prp(plaintext);
+    }
+
+    @Benchmark
+    public byte[] invPrp() {
+        return prp.invPrp(ciphertext);
+    }
+}
@@ -0,0 +1,65 @@
+package edu.alibaba.mpc4j.benchmark.galoisfield;
+
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.galoisfield.gf2e.Gf2e;
+import edu.alibaba.mpc4j.common.tool.galoisfield.gf2e.Gf2eFactory;
+import edu.alibaba.mpc4j.common.tool.galoisfield.gf2e.Gf2eFactory.Gf2eType;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GF(2^l) benchmark.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector"})
+public class Gf2eBenchmark {
+    /**
+     * GF(2^l) type
+     */
+    @Param({"JDK", "RINGS"})
+    public Gf2eType type;
+    /**
+     * l
+     */
+    @Param({"8", "64", "128"})
+    public int l;
+    /**
+     * GF(2^l)
+     */
+    private Gf2e gf2e;
+    /**
+     * p
+     */
+    private byte[] p;
+    /**
+     * q
+     */
+    private byte[] q;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SecureRandom secureRandom = new SecureRandom();
+        gf2e = Gf2eFactory.createInstance(EnvType.STANDARD_JDK, type, l);
+        p = gf2e.createNonZeroRandom(secureRandom);
+        q = gf2e.createNonZeroRandom(secureRandom);
+    }
+
+    @Benchmark
+    public byte[] mul() {
+        return gf2e.mul(p, q);
+    }
+
+    @Benchmark
+    public byte[] inv() {
+        return gf2e.inv(p);
+    }
+}
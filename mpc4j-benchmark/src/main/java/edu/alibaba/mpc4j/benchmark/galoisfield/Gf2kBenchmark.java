@@ -0,0 +1,60 @@
+package edu.alibaba.mpc4j.benchmark.galoisfield;
+
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.galoisfield.gf2k.Gf2k;
+import edu.alibaba.mpc4j.common.tool.galoisfield.gf2k.Gf2kFactory;
+import edu.alibaba.mpc4j.common.tool.galoisfield.gf2k.Gf2kFactory.Gf2kType;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GF(2^κ) benchmark.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector"})
+public class Gf2kBenchmark {
+    /**
+     * GF(2^κ) type
+     */
+    @Param({"JDK", "RINGS"})
+    public Gf2kType type;
+    /**
+     * GF(2^κ)
+     */
+    private Gf2k gf2k;
+    /**
+     * p
+     */
+    private byte[] p;
+    /**
+     * q
+     */
+    private byte[] q;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SecureRandom secureRandom = new SecureRandom();
+        gf2k = Gf2kFactory.createInstance(EnvType.STANDARD_JDK, type);
+        p = gf2k.createNonZeroRandom(secureRandom);
+        q = gf2k.createNonZeroRandom(secureRandom);
+    }
+
+    @Benchmark
+    public byte[] mul() {
+        return gf2k.mul(p, q);
+    }
+
+    @Benchmark
+    public byte[] inv() {
+        return gf2k.inv(p);
+    }
+}
@@ -0,0 +1,65 @@
+package edu.alibaba.mpc4j.benchmark.galoisfield;
+
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.galoisfield.zp64.Zp64;
+import edu.alibaba.mpc4j.common.tool.galoisfield.zp64.Zp64Factory;
+import edu.alibaba.mpc4j.common.tool.galoisfield.zp64.Zp64Factory.Zp64Type;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Zp64 benchmark.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector"})
+public class Zp64Benchmark {
+    /**
+     * Zp64 type
+     */
+    @Param({"RINGS"})
+    public Zp64Type type;
+    /**
+     * l
+     */
+    @Param({"32", "62"})
+    public int l;
+    /**
+     * Zp64
+     */
+    private Zp64 zp64;
+    /**
+     * p
+     */
+    private long p;
+    /**
+     * q
+     */
+    private long q;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SecureRandom secureRandom = new SecureRandom();
+        zp64 = Zp64Factory.createInstance(EnvType.STANDARD_JDK, type, l);
+        p = zp64.createNonZeroRandom(secureRandom);
+        q = zp64.createNonZeroRandom(secureRandom);
+    }
+
+    @Benchmark
+    public long mul() {
+        return zp64.mul(p, q);
+    }
+
+    @Benchmark
+    public long inv() {
+        return zp64.inv(p);
+    }
+}
@@ -0,0 +1,91 @@
+package edu.alibaba.mpc4j.benchmark.pto;
+
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.rpc.RpcManager;
+import edu.alibaba.mpc4j.common.rpc.impl.memory.MemoryRpcManager;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * abstract two-party protocol benchmark over MemoryRpc. Both parties run in the same JVM, each in its own thread, so
+ * the measured time covers the computation of both parties and the in-memory data transmission.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/20
+ */
+public abstract class AbstractTwoPartyMemoryRpcBenchmark {
+    /**
+     * party task
+     */
+    @FunctionalInterface
+    protected interface PartyTask<T> {
+        /**
+         * Runs the task.
+         *
+         * @return result.
+         * @throws MpcAbortException the protocol failure aborts.
+         */
+        T run() throws MpcAbortException;
+    }
+
+    /**
+     * the first party's RPC
+     */
+    protected Rpc firstRpc;
+    /**
+     * the second party's RPC
+     */
+    protected Rpc secondRpc;
+    /**
+     * executor service that runs the two parties
+     */
+    private ExecutorService executorService;
+
+    /**
+     * Creates and connects RPCs.
+     */
+    protected void connect() {
+        RpcManager rpcManager = new MemoryRpcManager(2);
+        firstRpc = rpcManager.getRpc(0);
+        secondRpc = rpcManager.getRpc(1);
+        firstRpc.connect();
+        secondRpc.connect();
+        executorService = Executors.newFixedThreadPool(2);
+    }
+
+    /**
+     * Disconnects RPCs.
+     */
+    protected void disconnect() {
+        executorService.shutdown();
+        firstRpc.disconnect();
+        secondRpc.disconnect();
+    }
+
+    /**
+     * Runs the two parties' tasks concurrently and waits for both of them.
+     *
+     * @param firstTask  the first party's task.
+     * @param secondTask the second party's task.
+     * @return results of the two parties.
+     */
+    protected Object[] runTwoParties(PartyTask<?> firstTask, PartyTask<?> secondTask) {
+        Future<?> firstFuture = executorService.submit(firstTask::run);
+        Future<?> secondFuture = executorService.submit(secondTask::run);
+        try {
+            return new Object[] {firstFuture.get(), secondFuture.get()};
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running two parties", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Two-party protocol failed", e.getCause());
+        } finally {
+            firstRpc.reset();
+            secondRpc.reset();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package edu.alibaba.mpc4j.benchmark.pto;
+
+import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.utils.BinaryUtils;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotReceiver;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotSender;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * COT benchmark over MemoryRpc. Initialization is done once per trial and each invocation generates num COTs.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector"})
+public class CotBenchmark extends AbstractTwoPartyMemoryRpcBenchmark {
+    /**
+     * security model
+     */
+    @Param({"SEMI_HONEST"})
+    public SecurityModel securityModel;
+    /**
+     * silent or not
+     */
+    @Param({"false", "true"})
+    public boolean silent;
+    /**
+     * num
+     */
+    @Param({"65536", "1048576"})
+    public int num;
+    /**
+     * parallel
+     */
+    @Param({"false"})
+    public boolean parallel;
+    /**
+     * sender
+     */
+    private CotSender sender;
+    /**
+     * receiver
+     */
+    private CotReceiver receiver;
+    /**
+     * choices
+     */
+    private boolean[] choices;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SecureRandom secureRandom = new SecureRandom();
+        connect();
+        CotConfig config = CotFactory.createDefaultConfig(securityModel, silent);
+        sender = CotFactory.createSender(firstRpc, secondRpc.ownParty(), config);
+        receiver = CotFactory.createReceiver(secondRpc, firstRpc.ownParty(), config);
+        sender.setParallel(parallel);
+        receiver.setParallel(parallel);
+        int taskId = Math.abs(secureRandom.nextInt());
+        sender.setTaskId(taskId);
+        receiver.setTaskId(taskId);
+        byte[] delta = BytesUtils.randomByteArray(CommonConstants.BLOCK_BYTE_LENGTH, secureRandom);
+        choices = BinaryUtils.randomBinary(num, secureRandom);
+        runTwoParties(
+            () -> {
+                sender.init(delta, num);
+                return null;
+            },
+            () -> {
+                receiver.init(num);
+                return null;
+            }
+        );
+    }
+
+    @Benchmark
+    public Object[] cot() {
+        return runTwoParties(() -> sender.send(num), () -> receiver.receive(choices));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        runTwoParties(
+            () -> {
+                sender.destroy();
+                return null;
+            },
+            () -> {
+                receiver.destroy();
+                return null;
+            }
+        );
+        disconnect();
+    }
+}
@@ -0,0 +1,111 @@
+package edu.alibaba.mpc4j.benchmark.pto;
+
+import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.lnot.LnotConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.lnot.LnotFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.lnot.LnotReceiver;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.lnot.LnotSender;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * 1-out-of-2^l OT (LNOT) benchmark over MemoryRpc. Initialization is done once per trial and each invocation
+ * generates num LNOTs.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector"})
+public class LnotBenchmark extends AbstractTwoPartyMemoryRpcBenchmark {
+    /**
+     * security model
+     */
+    @Param({"SEMI_HONEST"})
+    public SecurityModel securityModel;
+    /**
+     * silent or not
+     */
+    @Param({"false", "true"})
+    public boolean silent;
+    /**
+     * choice bit length
+     */
+    @Param({"4", "8"})
+    public int l;
+    /**
+     * num
+     */
+    @Param({"65536", "1048576"})
+    public int num;
+    /**
+     * parallel
+     */
+    @Param({"false"})
+    public boolean parallel;
+    /**
+     * sender
+     */
+    private LnotSender sender;
+    /**
+     * receiver
+     */
+    private LnotReceiver receiver;
+    /**
+     * choices
+     */
+    private int[] choices;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SecureRandom secureRandom = new SecureRandom();
+        connect();
+        LnotConfig config = LnotFactory.createDefaultConfig(securityModel, silent);
+        sender = LnotFactory.createSender(firstRpc, secondRpc.ownParty(), config);
+        receiver = LnotFactory.createReceiver(secondRpc, firstRpc.ownParty(), config);
+        sender.setParallel(parallel);
+        receiver.setParallel(parallel);
+        int taskId = Math.abs(secureRandom.nextInt());
+        sender.setTaskId(taskId);
+        receiver.setTaskId(taskId);
+        int n = 1 << l;
+        choices = IntStream.range(0, num).map(index -> secureRandom.nextInt(n)).toArray();
+        runTwoParties(
+            () -> {
+                sender.init(l, num);
+                return null;
+            },
+            () -> {
+                receiver.init(l, num);
+                return null;
+            }
+        );
+    }
+
+    @Benchmark
+    public Object[] lnot() {
+        return runTwoParties(() -> sender.send(num), () -> receiver.receive(choices));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        runTwoParties(
+            () -> {
+                sender.destroy();
+                return null;
+            },
+            () -> {
+                receiver.destroy();
+                return null;
+            }
+        );
+        disconnect();
+    }
+}
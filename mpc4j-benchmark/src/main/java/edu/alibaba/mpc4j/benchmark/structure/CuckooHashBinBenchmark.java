@@ -0,0 +1,67 @@
+package edu.alibaba.mpc4j.benchmark.structure;
+
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBin;
+import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory.CuckooHashBinType;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * cuckoo hash bin benchmark. Each invocation creates a cuckoo hash bin and inserts all items.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector"})
+public class CuckooHashBinBenchmark {
+    /**
+     * environment
+     */
+    @Param({"STANDARD_JDK"})
+    public EnvType envType;
+    /**
+     * cuckoo hash bin type
+     */
+    @Param({"NAIVE_3_HASH", "NO_STASH_NAIVE", "NO_STASH_PSZ18_3_HASH", "NO_STASH_PSZ18_4_HASH"})
+    public CuckooHashBinType type;
+    /**
+     * number of items
+     */
+    @Param({"4096", "65536"})
+    public int n;
+    /**
+     * random state
+     */
+    private SecureRandom secureRandom;
+    /**
+     * items
+     */
+    private List<ByteBuffer> items;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        secureRandom = new SecureRandom();
+        items = IntStream.range(0, n)
+            .mapToObj(index -> BytesUtils.randomByteArray(CommonConstants.BLOCK_BYTE_LENGTH, secureRandom))
+            .map(ByteBuffer::wrap)
+            .toList();
+    }
+
+    @Benchmark
+    public CuckooHashBin<ByteBuffer> insert() {
+        return CuckooHashBinFactory.createCuckooHashBin(envType, type, n, items, secureRandom);
+    }
+}
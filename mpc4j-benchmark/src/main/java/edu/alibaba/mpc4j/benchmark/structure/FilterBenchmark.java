@@ -0,0 +1,100 @@
+package edu.alibaba.mpc4j.benchmark.structure;
+
+import edu.alibaba.mpc4j.common.structure.filter.Filter;
+import edu.alibaba.mpc4j.common.structure.filter.FilterFactory;
+import edu.alibaba.mpc4j.common.structure.filter.FilterFactory.FilterType;
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * filter benchmark.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector"})
+public class FilterBenchmark {
+    /**
+     * environment
+     */
+    @Param({"STANDARD_JDK"})
+    public EnvType envType;
+    /**
+     * filter type
+     */
+    @Param({
+        "SET_FILTER", "NAIVE_RANDOM_BLOOM_FILTER", "SPARSE_RANDOM_BLOOM_FILTER", "DISTINCT_BLOOM_FILTER",
+        "CUCKOO_FILTER", "VACUUM_FILTER",
+    })
+    public FilterType type;
+    /**
+     * number of elements
+     */
+    @Param({"4096", "65536"})
+    public int n;
+    /**
+     * keys
+     */
+    private byte[][] keys;
+    /**
+     * elements
+     */
+    private ByteBuffer[] elements;
+    /**
+     * filter with all elements
+     */
+    private Filter<ByteBuffer> filter;
+    /**
+     * index of the element to query
+     */
+    private int queryIndex;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SecureRandom secureRandom = new SecureRandom();
+        keys = CommonUtils.generateRandomKeys(FilterFactory.getHashKeyNum(type), secureRandom);
+        elements = new ByteBuffer[n];
+        for (int index = 0; index < n; index++) {
+            byte[] element = BytesUtils.randomByteArray(CommonConstants.BLOCK_BYTE_LENGTH, secureRandom);
+            elements[index] = ByteBuffer.wrap(element);
+        }
+        filter = putAll();
+        queryIndex = 0;
+    }
+
+    @Benchmark
+    public Filter<ByteBuffer> put() {
+        Filter<ByteBuffer> newFilter = FilterFactory.load(envType, type, n, keys);
+        for (ByteBuffer element : elements) {
+            newFilter.put(element);
+        }
+        return newFilter;
+    }
+
+    @Benchmark
+    public Filter<ByteBuffer> putAll() {
+        Filter<ByteBuffer> newFilter = FilterFactory.load(envType, type, n, keys);
+        newFilter.putAll(Arrays.asList(elements));
+        return newFilter;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean mightContain() {
+        queryIndex = (queryIndex + 1) % n;
+        return filter.mightContain(elements[queryIndex]);
+    }
+}
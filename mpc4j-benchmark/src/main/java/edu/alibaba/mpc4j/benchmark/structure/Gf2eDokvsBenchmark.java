@@ -0,0 +1,99 @@
+package edu.alibaba.mpc4j.benchmark.structure;
+
+import edu.alibaba.mpc4j.common.structure.okve.dokvs.gf2e.Gf2eDokvs;
+import edu.alibaba.mpc4j.common.structure.okve.dokvs.gf2e.Gf2eDokvsFactory;
+import edu.alibaba.mpc4j.common.structure.okve.dokvs.gf2e.Gf2eDokvsFactory.Gf2eDokvsType;
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GF(2^l) DOKVS benchmark.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector"})
+public class Gf2eDokvsBenchmark {
+    /**
+     * environment
+     */
+    @Param({"STANDARD_JDK"})
+    public EnvType envType;
+    /**
+     * DOKVS type
+     */
+    @Param({"H2_SINGLETON_GCT", "H3_SINGLETON_GCT", "H3_BLAZE_GCT", "DISTINCT_GBF", "MEGA_BIN"})
+    public Gf2eDokvsType type;
+    /**
+     * number of key-value pairs
+     */
+    @Param({"4096", "65536"})
+    public int n;
+    /**
+     * l
+     */
+    @Param({"128"})
+    public int l;
+    /**
+     * DOKVS
+     */
+    private Gf2eDokvs<ByteBuffer> dokvs;
+    /**
+     * key-value map
+     */
+    private Map<ByteBuffer, byte[]> keyValueMap;
+    /**
+     * storage
+     */
+    private byte[][] storage;
+    /**
+     * key to decode
+     */
+    private ByteBuffer key;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SecureRandom secureRandom = new SecureRandom();
+        byte[][] keys = CommonUtils.generateRandomKeys(Gf2eDokvsFactory.getHashKeyNum(type), secureRandom);
+        dokvs = Gf2eDokvsFactory.createInstance(envType, type, n, l, keys);
+        int byteL = CommonUtils.getByteLength(l);
+        keyValueMap = new HashMap<>(n);
+        for (int index = 0; index < n; index++) {
+            byte[] keyBytes = BytesUtils.randomByteArray(CommonConstants.BLOCK_BYTE_LENGTH, secureRandom);
+            key = ByteBuffer.wrap(keyBytes);
+            keyValueMap.put(key, BytesUtils.randomByteArray(byteL, l, secureRandom));
+        }
+        storage = dokvs.encode(keyValueMap, true);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public byte[][] encode() {
+        return dokvs.encode(keyValueMap, false);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public byte[][] doublyEncode() {
+        return dokvs.encode(keyValueMap, true);
+    }
+
+    @Benchmark
+    public byte[] decode() {
+        return dokvs.decode(storage, key);
+    }
+}
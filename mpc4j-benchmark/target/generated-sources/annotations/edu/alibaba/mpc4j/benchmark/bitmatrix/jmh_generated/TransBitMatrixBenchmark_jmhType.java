@@ -0,0 +1,4 @@
+package edu.alibaba.mpc4j.benchmark.bitmatrix.jmh_generated;
+public class TransBitMatrixBenchmark_jmhType extends TransBitMatrixBenchmark_jmhType_B3 {
+}
+
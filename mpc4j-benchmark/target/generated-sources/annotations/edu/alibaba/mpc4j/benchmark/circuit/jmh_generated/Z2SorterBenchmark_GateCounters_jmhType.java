@@ -0,0 +1,4 @@
+package edu.alibaba.mpc4j.benchmark.circuit.jmh_generated;
+public class Z2SorterBenchmark_GateCounters_jmhType extends Z2SorterBenchmark_GateCounters_jmhType_B3 {
+}
+
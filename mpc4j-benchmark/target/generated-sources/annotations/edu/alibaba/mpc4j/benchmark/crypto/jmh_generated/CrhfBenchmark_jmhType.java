@@ -0,0 +1,4 @@
+package edu.alibaba.mpc4j.benchmark.crypto.jmh_generated;
+public class CrhfBenchmark_jmhType extends CrhfBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package edu.alibaba.mpc4j.benchmark.crypto.jmh_generated;
+public class HashBenchmark_jmhType extends HashBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package edu.alibaba.mpc4j.benchmark.crypto.jmh_generated;
+public class PrgBenchmark_jmhType extends PrgBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package edu.alibaba.mpc4j.benchmark.crypto.jmh_generated;
+public class PrpBenchmark_jmhType extends PrpBenchmark_jmhType_B3 {
+}
+
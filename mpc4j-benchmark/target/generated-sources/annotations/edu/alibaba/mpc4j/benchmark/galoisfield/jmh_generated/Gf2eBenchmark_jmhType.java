@@ -0,0 +1,4 @@
+package edu.alibaba.mpc4j.benchmark.galoisfield.jmh_generated;
+public class Gf2eBenchmark_jmhType extends Gf2eBenchmark_jmhType_B3 {
+}
+
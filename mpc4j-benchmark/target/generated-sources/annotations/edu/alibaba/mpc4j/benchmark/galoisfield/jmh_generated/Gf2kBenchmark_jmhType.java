@@ -0,0 +1,4 @@
+package edu.alibaba.mpc4j.benchmark.galoisfield.jmh_generated;
+public class Gf2kBenchmark_jmhType extends Gf2kBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package edu.alibaba.mpc4j.benchmark.galoisfield.jmh_generated;
+public class Zp64Benchmark_jmhType extends Zp64Benchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package edu.alibaba.mpc4j.benchmark.pto.jmh_generated;
+public class CotBenchmark_jmhType extends CotBenchmark_jmhType_B3 {
+}
+
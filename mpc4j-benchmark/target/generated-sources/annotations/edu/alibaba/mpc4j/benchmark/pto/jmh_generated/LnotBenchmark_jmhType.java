@@ -0,0 +1,4 @@
+package edu.alibaba.mpc4j.benchmark.pto.jmh_generated;
+public class LnotBenchmark_jmhType extends LnotBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package edu.alibaba.mpc4j.benchmark.structure.jmh_generated;
+public class CuckooHashBinBenchmark_jmhType extends CuckooHashBinBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package edu.alibaba.mpc4j.benchmark.structure.jmh_generated;
+public class FilterBenchmark_jmhType extends FilterBenchmark_jmhType_B3 {
+}
+
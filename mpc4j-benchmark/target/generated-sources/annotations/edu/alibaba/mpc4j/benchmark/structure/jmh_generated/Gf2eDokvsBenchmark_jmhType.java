@@ -0,0 +1,4 @@
+package edu.alibaba.mpc4j.benchmark.structure.jmh_generated;
+public class Gf2eDokvsBenchmark_jmhType extends Gf2eDokvsBenchmark_jmhType_B3 {
+}
+
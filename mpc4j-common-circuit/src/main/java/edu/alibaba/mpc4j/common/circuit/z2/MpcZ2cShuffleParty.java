@@ -0,0 +1,21 @@
+package edu.alibaba.mpc4j.common.circuit.z2;
+
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+
+/**
+ * MPC Z2 Circuit Party that supports oblivious shuffling.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/29
+ */
+public interface MpcZ2cShuffleParty extends MpcZ2cParty {
+    /**
+     * Obliviously shuffles elements. For each of the num instances, i.e., for each bit position of the vectors, the
+     * elements are permuted by an independent random permutation that is unknown to any party.
+     *
+     * @param xiArrays elements, where xiArrays[i] is the i-th element, all vectors must have the same num.
+     * @return shuffled elements.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    MpcZ2Vector[][] shuffle(MpcZ2Vector[][] xiArrays) throws MpcAbortException;
+}
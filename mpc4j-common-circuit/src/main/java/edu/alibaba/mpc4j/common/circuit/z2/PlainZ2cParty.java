@@ -2,7 +2,9 @@ package edu.alibaba.mpc4j.common.circuit.z2;
 
 import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVectorFactory;
 
+import java.security.SecureRandom;
 import java.util.Arrays;
 import java.util.stream.IntStream;
 
@@ -12,7 +14,11 @@ import java.util.stream.IntStream;
  * @author Li Peng
  * @date 2023/4/21
  */
-public class PlainZ2cParty implements MpcZ2cParty {
+public class PlainZ2cParty implements MpcZ2cShuffleParty {
+    /**
+     * random state for shuffling
+     */
+    private final SecureRandom secureRandom = new SecureRandom();
 
     @Override
     public boolean getParallel() {
@@ -215,4 +221,39 @@ public class PlainZ2cParty implements MpcZ2cParty {
             return PlainZ2Vector.create(x);
         }).toArray(PlainZ2Vector[]::new);
     }
-}
\ No newline at end of file
+
+    @Override
+    public PlainZ2Vector[][] shuffle(MpcZ2Vector[][] xiArrays) {
+        int n = xiArrays.length;
+        MathPreconditions.checkPositive("n", n);
+        int l = xiArrays[0].length;
+        int num = xiArrays[0][0].getNum();
+        BitVector[][] input = Arrays.stream(xiArrays)
+            .map(xiArray -> {
+                MathPreconditions.checkEqual("l", "xiArray.length", l, xiArray.length);
+                return Arrays.stream(xiArray).map(MpcZ2Vector::getBitVector).toArray(BitVector[]::new);
+            })
+            .toArray(BitVector[][]::new);
+        BitVector[][] output = IntStream.range(0, n)
+            .mapToObj(i -> IntStream.range(0, l).mapToObj(j -> BitVectorFactory.createZeros(num)).toArray(BitVector[]::new))
+            .toArray(BitVector[][]::new);
+        int[] permutation = IntStream.range(0, n).toArray();
+        for (int k = 0; k < num; k++) {
+            // an independent Fisher-Yates shuffle for each instance
+            for (int i = n - 1; i > 0; i--) {
+                int j = secureRandom.nextInt(i + 1);
+                int temp = permutation[i];
+                permutation[i] = permutation[j];
+                permutation[j] = temp;
+            }
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < l; j++) {
+                    output[permutation[i]][j].set(k, input[i][j].get(k));
+                }
+            }
+        }
+        return Arrays.stream(output)
+            .map(bitVectors -> Arrays.stream(bitVectors).map(PlainZ2Vector::create).toArray(PlainZ2Vector[]::new))
+            .toArray(PlainZ2Vector[][]::new);
+    }
+}
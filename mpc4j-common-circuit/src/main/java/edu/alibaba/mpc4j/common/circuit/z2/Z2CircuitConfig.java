@@ -30,12 +30,18 @@ public class Z2CircuitConfig implements CircuitConfig {
      * Permutable Sorter type.
      */
     private final SorterTypes pSorterType;
+    /**
+     * Lazy mode. In lazy mode, gates are recorded and AND gates with the same multiplicative depth are executed in one
+     * batch when the result is needed.
+     */
+    private final boolean lazy;
 
     private Z2CircuitConfig(Builder builder) {
         setAdderType(builder.adderType);
         setMultiplierType(builder.multiplierType);
         setSorterType(builder.sorterType);
         this.pSorterType = builder.pSorterType;
+        this.lazy = builder.lazy;
     }
 
     public AdderFactory.AdderTypes getAdderType() {
@@ -65,6 +71,10 @@ public class Z2CircuitConfig implements CircuitConfig {
         this.sorterType = sorterType;
     }
 
+    public boolean isLazy() {
+        return lazy;
+    }
+
     public static class Builder implements org.apache.commons.lang3.builder.Builder<Z2CircuitConfig> {
         /**
          * Adder type.
@@ -82,12 +92,25 @@ public class Z2CircuitConfig implements CircuitConfig {
          * Permutable Sorter type.
          */
         private PsorterFactory.SorterTypes pSorterType;
+        /**
+         * Lazy mode.
+         */
+        private boolean lazy;
 
         public Builder() {
             adderType = AdderFactory.AdderTypes.RIPPLE_CARRY;
             multiplierType = MultiplierFactory.MultiplierTypes.SHIFT_ADD;
             sorterType = SorterFactory.SorterTypes.BITONIC;
             pSorterType = PsorterFactory.SorterTypes.BITONIC;
+            lazy = false;
+        }
+
+        public Builder(Z2CircuitConfig config) {
+            adderType = config.getAdderType();
+            multiplierType = config.getMultiplierType();
+            sorterType = config.getSorterType();
+            pSorterType = config.getPsorterType();
+            lazy = config.isLazy();
         }
 
         public Builder setAdderType(AdderFactory.AdderTypes adderType) {
@@ -110,6 +133,11 @@ public class Z2CircuitConfig implements CircuitConfig {
             return this;
         }
 
+        public Builder setLazy(boolean lazy) {
+            this.lazy = lazy;
+            return this;
+        }
+
         @Override
         public Z2CircuitConfig build() {
             return new Z2CircuitConfig(this);
@@ -1,7 +1,9 @@
 package edu.alibaba.mpc4j.common.circuit.z2;
 
+import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.circuit.z2.adder.Adder;
 import edu.alibaba.mpc4j.common.circuit.z2.adder.AdderFactory;
+import edu.alibaba.mpc4j.common.circuit.z2.lazy.LazyZ2cParty;
 import edu.alibaba.mpc4j.common.circuit.z2.multiplier.Multiplier;
 import edu.alibaba.mpc4j.common.circuit.z2.multiplier.MultiplierFactory;
 import edu.alibaba.mpc4j.common.circuit.z2.psorter.Psorter;
@@ -16,6 +18,12 @@ import java.util.stream.IntStream;
 
 /**
  * Z2 Integer Circuit.
+ * <p>
+ * If the config is in lazy mode, the circuit works on a {@link LazyZ2cParty}, so that AND gates with the same
+ * multiplicative depth (e.g., all compare-and-exchanges in one layer of a sorting network) are executed in one batch.
+ * Outputs of public methods are materialized, i.e., they are vectors of the given party. The shuffle quick sorter
+ * reveals comparison results round by round, so it cannot be used in lazy mode.
+ * </p>
  *
  * @author Li Peng
  * @date 2023/4/20
@@ -37,18 +45,79 @@ public class Z2IntegerCircuit extends AbstractZ2Circuit {
      * psorter.
      */
     private final Psorter pSorter;
+    /**
+     * lazy party, null if the circuit is not in lazy mode.
+     */
+    private final LazyZ2cParty lazyParty;
+    /**
+     * depth of nested public invocations, outputs are materialized only for the outermost invocation.
+     */
+    private int invocationDepth;
 
     public Z2IntegerCircuit(MpcZ2cParty party) {
         this(party, new Z2CircuitConfig.Builder().build());
     }
 
     public Z2IntegerCircuit(MpcZ2cParty party, Z2CircuitConfig config) {
-        super(party);
-        this.party = party;
+        super(checkLazy(config) ? new LazyZ2cParty(party) : party);
+        this.lazyParty = config.isLazy() ? (LazyZ2cParty) this.party : null;
         this.adder = AdderFactory.createAdder(config.getAdderType(), this);
         this.multiplier = MultiplierFactory.createMultiplier(config.getMultiplierType(), this);
-        this.sorter = SorterFactory.createSorter(config.getSorterType(), this);
-        this.pSorter = PsorterFactory.createPsorter(config.getPsorterType(), this);
+        if (config.isLazy()) {
+            Z2CircuitConfig eagerConfig = new Z2CircuitConfig.Builder(config).setLazy(false).build();
+            Z2IntegerCircuit eagerCircuit = new Z2IntegerCircuit(party, eagerConfig);
+            this.sorter = SorterFactory.createSorter(config.getSorterType(), this);
+            // the permutable sorter already batches each layer, and it relies on vector operations of the party
+            this.pSorter = PsorterFactory.createPsorter(config.getPsorterType(), eagerCircuit);
+        } else {
+            this.sorter = SorterFactory.createSorter(config.getSorterType(), this);
+            this.pSorter = PsorterFactory.createPsorter(config.getPsorterType(), this);
+        }
+        invocationDepth = 0;
+    }
+
+    private static boolean checkLazy(Z2CircuitConfig config) {
+        // the shuffle sorter reveals comparison results round by round, which cannot be recorded lazily
+        Preconditions.checkArgument(
+            !config.isLazy() || config.getSorterType() != SorterFactory.SorterTypes.SHUFFLE_QUICK_SORTER,
+            "%s does not support lazy mode", SorterFactory.SorterTypes.SHUFFLE_QUICK_SORTER
+        );
+        return config.isLazy();
+    }
+
+    /**
+     * Returns whether the circuit is in lazy mode.
+     *
+     * @return whether the circuit is in lazy mode.
+     */
+    public boolean isLazy() {
+        return lazyParty != null;
+    }
+
+    @FunctionalInterface
+    private interface Invocation<T> {
+        /**
+         * Invokes the circuit.
+         *
+         * @return result.
+         * @throws MpcAbortException the protocol failure aborts.
+         */
+        T invoke() throws MpcAbortException;
+    }
+
+    private MpcZ2Vector[] invoke(Invocation<MpcZ2Vector[]> invocation) throws MpcAbortException {
+        invocationDepth++;
+        MpcZ2Vector[] ziArray;
+        try {
+            ziArray = invocation.invoke();
+        } finally {
+            invocationDepth--;
+        }
+        return (lazyParty != null && invocationDepth == 0) ? lazyParty.materialize(ziArray) : ziArray;
+    }
+
+    private MpcZ2Vector invokeSingle(Invocation<MpcZ2Vector> invocation) throws MpcAbortException {
+        return invoke(() -> new MpcZ2Vector[]{invocation.invoke()})[0];
     }
 
     /**
@@ -61,7 +130,7 @@ public class Z2IntegerCircuit extends AbstractZ2Circuit {
      */
     public MpcZ2Vector[] add(MpcZ2Vector[] xiArray, MpcZ2Vector[] yiArray) throws MpcAbortException {
         checkInputs(xiArray, yiArray);
-        return add(xiArray, yiArray, false);
+        return invoke(() -> add(xiArray, yiArray, false));
     }
 
     private MpcZ2Vector[] add(MpcZ2Vector[] xiArray, MpcZ2Vector[] yiArray, boolean cin) throws MpcAbortException {
@@ -81,7 +150,7 @@ public class Z2IntegerCircuit extends AbstractZ2Circuit {
     public MpcZ2Vector[] sub(MpcZ2Vector[] xiArray, MpcZ2Vector[] yiArray) throws MpcAbortException {
         checkInputs(xiArray, yiArray);
         // x - y = x + (complement y) + 1
-        return add(xiArray, party.not(yiArray), true);
+        return invoke(() -> add(xiArray, party.not(yiArray), true));
     }
 
     /**
@@ -96,7 +165,7 @@ public class Z2IntegerCircuit extends AbstractZ2Circuit {
         int l = xiArray.length;
         int bitNum = xiArray[0].getNum();
         MpcZ2Vector[] ys = IntStream.range(0, l).mapToObj(i -> party.createZeros(bitNum)).toArray(MpcZ2Vector[]::new);
-        return add(xiArray, ys, true);
+        return invoke(() -> add(xiArray, ys, true));
     }
 
     /**
@@ -109,7 +178,7 @@ public class Z2IntegerCircuit extends AbstractZ2Circuit {
      */
     public MpcZ2Vector[] mul(MpcZ2Vector[] xiArray, MpcZ2Vector[] yiArray) throws MpcAbortException {
         checkInputs(xiArray, yiArray);
-        return multiplier.mul(xiArray, yiArray);
+        return invoke(() -> multiplier.mul(xiArray, yiArray));
     }
 
     /**
@@ -122,6 +191,10 @@ public class Z2IntegerCircuit extends AbstractZ2Circuit {
      */
     public MpcZ2Vector eq(MpcZ2Vector[] xiArray, MpcZ2Vector[] yiArray) throws MpcAbortException {
         checkInputs(xiArray, yiArray);
+        return invokeSingle(() -> eqTree(xiArray, yiArray));
+    }
+
+    private MpcZ2Vector eqTree(MpcZ2Vector[] xiArray, MpcZ2Vector[] yiArray) throws MpcAbortException {
         int l = xiArray.length;
         // bit-wise XOR and NOT
         MpcZ2Vector[] eqiArray = party.xor(xiArray, yiArray);
@@ -156,13 +229,32 @@ public class Z2IntegerCircuit extends AbstractZ2Circuit {
      */
     public MpcZ2Vector leq(MpcZ2Vector[] xiArray, MpcZ2Vector[] yiArray) throws MpcAbortException {
         checkInputs(xiArray, yiArray);
-        MpcZ2Vector[] result = sub(yiArray, xiArray);
-        return mux(new MpcZ2Vector[]{party.not(result[0])} , new MpcZ2Vector[]{yiArray[0]}, party.xor(xiArray[0], yiArray[0]))[0];
+        return invokeSingle(() -> {
+            MpcZ2Vector[] result = sub(yiArray, xiArray);
+            return mux(new MpcZ2Vector[]{party.not(result[0])} , new MpcZ2Vector[]{yiArray[0]}, party.xor(xiArray[0], yiArray[0]))[0];
+        });
     }
 
     public void sort(MpcZ2Vector[][] xiArray) throws MpcAbortException {
         Arrays.stream(xiArray).forEach(this::checkInputs);
-        sorter.sort(xiArray);
+        if (lazyParty == null) {
+            sorter.sort(xiArray);
+            return;
+        }
+        // the sorter replaces rows with vectors of the lazy party, sort a copy and write materialized rows back
+        MpcZ2Vector[][] lazyXiArray = Arrays.stream(xiArray)
+            .map(row -> Arrays.copyOf(row, row.length, MpcZ2Vector[].class))
+            .toArray(MpcZ2Vector[][]::new);
+        invocationDepth++;
+        try {
+            sorter.sort(lazyXiArray);
+        } finally {
+            invocationDepth--;
+        }
+        for (int i = 0; i < xiArray.length; i++) {
+            MpcZ2Vector[] ziArray = lazyParty.materialize(lazyXiArray[i]);
+            System.arraycopy(ziArray, 0, xiArray[i], 0, xiArray[i].length);
+        }
     }
 
     public MpcZ2Vector[] psort(MpcZ2Vector[][] xiArrays, MpcZ2Vector[][] payloadArrays, PlainZ2Vector dir, boolean needPermutation, boolean needStable) throws MpcAbortException {
@@ -170,9 +262,24 @@ public class Z2IntegerCircuit extends AbstractZ2Circuit {
         if(payloadArrays != null){
             Arrays.stream(payloadArrays).forEach(this::checkInputs);
         }
+        if (lazyParty != null) {
+            materialize(xiArrays);
+            if (payloadArrays != null) {
+                materialize(payloadArrays);
+            }
+        }
         return pSorter.sort(xiArrays, payloadArrays, dir, needPermutation, needStable);
     }
 
+    private void materialize(MpcZ2Vector[][] xiArrays) throws MpcAbortException {
+        // write in place, since the runtime type of rows may be the vector type of the given party
+        for (MpcZ2Vector[] xiArray : xiArrays) {
+            for (int j = 0; j < xiArray.length; j++) {
+                xiArray[j] = lazyParty.materialize(xiArray[j]);
+            }
+        }
+    }
+
     public Adder getAdder() {
         return adder;
     }
@@ -0,0 +1,485 @@
+package edu.alibaba.mpc4j.common.circuit.z2.bristol;
+
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Boolean circuit in Bristol Fashion format. The format is:
+ * <ul>
+ *     <li>the first line is "{number of gates} {number of wires}";</li>
+ *     <li>the second line is "{number of inputs} {number of wires of input 1} ... {number of wires of input n}";</li>
+ *     <li>the third line is "{number of outputs} {number of wires of output 1} ... {number of wires of output m}";</li>
+ *     <li>then each line is a gate "{number of input wires} {number of output wires} {input wires} {output wires} {type}",
+ *     with type XOR, AND, INV, EQ, EQW or MAND.</li>
+ * </ul>
+ * Input wires are the first wires, and output wires are the last wires. Gates are topologically sorted.
+ * <p>
+ * The circuit is compiled into layers when it is loaded. Layer d contains AND gates with multiplicative depth d, which
+ * are independent and can be evaluated in one batch, followed by local (XOR, INV, EQ, EQW) levels, each of which
+ * contains independent local gates with multiplicative depth d. See the format description:
+ * </p>
+ * <p>
+ * https://nigelsmart.github.io/MPC-Circuits/
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2024/7/28
+ */
+public class BristolCircuit {
+    /**
+     * Local level in a layer. All gates in a local level are independent.
+     */
+    static class LocalLevel {
+        /**
+         * XOR gates, each is (x, y, z)
+         */
+        final int[][] xorGates;
+        /**
+         * INV gates, each is (x, z)
+         */
+        final int[][] invGates;
+        /**
+         * EQW gates, each is (x, z)
+         */
+        final int[][] eqwGates;
+        /**
+         * EQ gates, each is (v, z)
+         */
+        final int[][] eqGates;
+
+        private LocalLevel(List<int[]> xorGates, List<int[]> invGates, List<int[]> eqwGates, List<int[]> eqGates) {
+            this.xorGates = xorGates.toArray(new int[0][]);
+            this.invGates = invGates.toArray(new int[0][]);
+            this.eqwGates = eqwGates.toArray(new int[0][]);
+            this.eqGates = eqGates.toArray(new int[0][]);
+        }
+    }
+
+    /**
+     * Layer. AND gates are evaluated first, and then local levels are evaluated in order.
+     */
+    static class Layer {
+        /**
+         * AND gates, each is (x, y, z)
+         */
+        final int[][] andGates;
+        /**
+         * local levels
+         */
+        final LocalLevel[] localLevels;
+
+        private Layer(List<int[]> andGates, LocalLevel[] localLevels) {
+            this.andGates = andGates.toArray(new int[0][]);
+            this.localLevels = localLevels;
+        }
+    }
+
+    /**
+     * Layer builder.
+     */
+    private static class LayerBuilder {
+        /**
+         * AND gates
+         */
+        private final List<int[]> andGates = new ArrayList<>();
+        /**
+         * XOR gates for each local level
+         */
+        private final List<List<int[]>> xorGates = new ArrayList<>();
+        /**
+         * INV gates for each local level
+         */
+        private final List<List<int[]>> invGates = new ArrayList<>();
+        /**
+         * EQW gates for each local level
+         */
+        private final List<List<int[]>> eqwGates = new ArrayList<>();
+        /**
+         * EQ gates for each local level
+         */
+        private final List<List<int[]>> eqGates = new ArrayList<>();
+
+        private void addLocal(BristolGateType type, int level, int[] gate) {
+            while (xorGates.size() <= level) {
+                xorGates.add(new ArrayList<>());
+                invGates.add(new ArrayList<>());
+                eqwGates.add(new ArrayList<>());
+                eqGates.add(new ArrayList<>());
+            }
+            switch (type) {
+                case XOR:
+                    xorGates.get(level).add(gate);
+                    break;
+                case INV:
+                    invGates.get(level).add(gate);
+                    break;
+                case EQW:
+                    eqwGates.get(level).add(gate);
+                    break;
+                case EQ:
+                    eqGates.get(level).add(gate);
+                    break;
+                default:
+                    throw new IllegalStateException("Invalid local " + BristolGateType.class.getSimpleName() + ": " + type);
+            }
+        }
+
+        private Layer build() {
+            LocalLevel[] localLevels = new LocalLevel[xorGates.size()];
+            for (int level = 0; level < localLevels.length; level++) {
+                localLevels[level] = new LocalLevel(
+                    xorGates.get(level), invGates.get(level), eqwGates.get(level), eqGates.get(level)
+                );
+            }
+            return new Layer(andGates, localLevels);
+        }
+    }
+
+    /**
+     * number of wires
+     */
+    private final int wireNum;
+    /**
+     * number of wires for each input
+     */
+    private final int[] inputWireNums;
+    /**
+     * number of wires for each output
+     */
+    private final int[] outputWireNums;
+    /**
+     * compiled layers
+     */
+    private final Layer[] layers;
+    /**
+     * number of gates, where a MAND gate with k outputs counts as k gates
+     */
+    private int gateNum;
+    /**
+     * number of AND gates
+     */
+    private int andGateNum;
+    /**
+     * number of XOR gates
+     */
+    private int xorGateNum;
+    /**
+     * number of INV gates
+     */
+    private int invGateNum;
+
+    /**
+     * Loads the circuit from the resource file.
+     *
+     * @param fileName resource file name.
+     * @return the circuit.
+     */
+    public static BristolCircuit createFromResource(String fileName) {
+        try (InputStream inputStream = Objects.requireNonNull(
+            BristolCircuit.class.getClassLoader().getResourceAsStream(fileName),
+            "Cannot find Bristol circuit resource file: " + fileName
+        )) {
+            return create(inputStream);
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new IllegalStateException("Failed to read Bristol circuit resource file: " + fileName);
+        }
+    }
+
+    /**
+     * Loads the circuit from the file.
+     *
+     * @param file file.
+     * @return the circuit.
+     */
+    public static BristolCircuit createFromFile(File file) {
+        try (InputStream inputStream = new FileInputStream(file)) {
+            return create(inputStream);
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new IllegalStateException("Failed to read Bristol circuit file: " + file);
+        }
+    }
+
+    /**
+     * Loads the circuit from the string.
+     *
+     * @param circuit circuit in Bristol Fashion format.
+     * @return the circuit.
+     */
+    public static BristolCircuit create(String circuit) {
+        return create(new ByteArrayInputStream(circuit.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Loads the circuit from the input stream. The input stream is not closed.
+     *
+     * @param inputStream input stream.
+     * @return the circuit.
+     */
+    public static BristolCircuit create(InputStream inputStream) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        try {
+            return new BristolCircuit(reader);
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new IllegalStateException("Failed to read Bristol circuit");
+        }
+    }
+
+    private BristolCircuit(BufferedReader reader) throws IOException {
+        // header
+        int[] sizes = parseLine(nextLine(reader));
+        MathPreconditions.checkEqual("header.length", "2", sizes.length, 2);
+        int declaredGateNum = MathPreconditions.checkNonNegative("gate_num", sizes[0]);
+        wireNum = MathPreconditions.checkPositive("wire_num", sizes[1]);
+        inputWireNums = parseIoLine(nextLine(reader), "input");
+        outputWireNums = parseIoLine(nextLine(reader), "output");
+        int inputWireNum = Arrays.stream(inputWireNums).sum();
+        int outputWireNum = Arrays.stream(outputWireNums).sum();
+        MathPreconditions.checkLessOrEqual("input_wire_num + output_wire_num", inputWireNum + outputWireNum, wireNum);
+        // multiplicative depth for each wire, -1 if the wire is not assigned
+        int[] wireDepths = new int[wireNum];
+        Arrays.fill(wireDepths, -1);
+        // local level for each wire, -1 if the wire is the output of an input wire or an AND gate
+        int[] wireLevels = new int[wireNum];
+        Arrays.fill(wireLevels, -1);
+        for (int wire = 0; wire < inputWireNum; wire++) {
+            wireDepths[wire] = 0;
+        }
+        List<LayerBuilder> layerBuilders = new ArrayList<>();
+        layerBuilders.add(new LayerBuilder());
+        gateNum = 0;
+        andGateNum = 0;
+        xorGateNum = 0;
+        invGateNum = 0;
+        for (int gateIndex = 0; gateIndex < declaredGateNum; gateIndex++) {
+            String line = nextLine(reader);
+            String[] tokens = line.trim().split("\\s+");
+            MathPreconditions.checkGreaterOrEqual("gate.tokens", tokens.length, 3);
+            BristolGateType type = BristolGateType.valueOf(tokens[tokens.length - 1]);
+            int[] numbers = Arrays.stream(tokens, 0, tokens.length - 1).mapToInt(Integer::parseInt).toArray();
+            int inNum = numbers[0];
+            int outNum = numbers[1];
+            MathPreconditions.checkEqual("gate.wires", "in_num + out_num", numbers.length - 2, inNum + outNum);
+            switch (type) {
+                case AND:
+                case MAND:
+                    MathPreconditions.checkEqual("in_num", "2 * out_num", inNum, 2 * outNum);
+                    for (int i = 0; i < outNum; i++) {
+                        int x = checkAssigned(numbers[2 + i], wireDepths);
+                        int y = checkAssigned(numbers[2 + outNum + i], wireDepths);
+                        int z = checkUnassigned(numbers[2 + inNum + i], wireDepths);
+                        int depth = Math.max(wireDepths[x], wireDepths[y]) + 1;
+                        wireDepths[z] = depth;
+                        wireLevels[z] = -1;
+                        while (layerBuilders.size() <= depth) {
+                            layerBuilders.add(new LayerBuilder());
+                        }
+                        layerBuilders.get(depth).andGates.add(new int[]{x, y, z});
+                        andGateNum++;
+                        gateNum++;
+                    }
+                    break;
+                case XOR:
+                    MathPreconditions.checkEqual("in_num", "2", inNum, 2);
+                    MathPreconditions.checkEqual("out_num", "1", outNum, 1);
+                    int xorX = checkAssigned(numbers[2], wireDepths);
+                    int xorY = checkAssigned(numbers[3], wireDepths);
+                    int xorZ = checkUnassigned(numbers[4], wireDepths);
+                    addLocal(layerBuilders, wireDepths, wireLevels, type, new int[]{xorX, xorY, xorZ}, xorX, xorY);
+                    xorGateNum++;
+                    gateNum++;
+                    break;
+                case INV:
+                case EQW:
+                    MathPreconditions.checkEqual("in_num", "1", inNum, 1);
+                    MathPreconditions.checkEqual("out_num", "1", outNum, 1);
+                    int unaryX = checkAssigned(numbers[2], wireDepths);
+                    int unaryZ = checkUnassigned(numbers[3], wireDepths);
+                    addLocal(layerBuilders, wireDepths, wireLevels, type, new int[]{unaryX, unaryZ}, unaryX);
+                    if (type == BristolGateType.INV) {
+                        invGateNum++;
+                    }
+                    gateNum++;
+                    break;
+                case EQ:
+                    MathPreconditions.checkEqual("in_num", "1", inNum, 1);
+                    MathPreconditions.checkEqual("out_num", "1", outNum, 1);
+                    int value = numbers[2];
+                    if (value != 0 && value != 1) {
+                        throw new IllegalArgumentException("EQ constant must be 0 or 1: " + value);
+                    }
+                    int eqZ = checkUnassigned(numbers[3], wireDepths);
+                    addLocal(layerBuilders, wireDepths, wireLevels, type, new int[]{value, eqZ});
+                    gateNum++;
+                    break;
+                default:
+                    throw new IllegalStateException("Invalid " + BristolGateType.class.getSimpleName() + ": " + type);
+            }
+        }
+        for (int wire = wireNum - outputWireNum; wire < wireNum; wire++) {
+            checkAssigned(wire, wireDepths);
+        }
+        layers = layerBuilders.stream().map(LayerBuilder::build).toArray(Layer[]::new);
+    }
+
+    private static void addLocal(List<LayerBuilder> layerBuilders, int[] wireDepths, int[] wireLevels,
+                                 BristolGateType type, int[] gate, int... inputs) {
+        int z = gate[gate.length - 1];
+        int depth = 0;
+        for (int input : inputs) {
+            depth = Math.max(depth, wireDepths[input]);
+        }
+        // a local gate must be evaluated after local gates with the same depth that it depends on
+        int level = 0;
+        for (int input : inputs) {
+            if (wireDepths[input] == depth && wireLevels[input] >= 0) {
+                level = Math.max(level, wireLevels[input] + 1);
+            }
+        }
+        wireDepths[z] = depth;
+        wireLevels[z] = level;
+        layerBuilders.get(depth).addLocal(type, level, gate);
+    }
+
+    private int checkAssigned(int wire, int[] wireDepths) {
+        MathPreconditions.checkNonNegativeInRange("wire", wire, wireNum);
+        if (wireDepths[wire] < 0) {
+            throw new IllegalArgumentException("wire " + wire + " is used before assigned");
+        }
+        return wire;
+    }
+
+    private int checkUnassigned(int wire, int[] wireDepths) {
+        MathPreconditions.checkNonNegativeInRange("wire", wire, wireNum);
+        if (wireDepths[wire] >= 0) {
+            throw new IllegalArgumentException("wire " + wire + " is assigned more than once");
+        }
+        return wire;
+    }
+
+    private static String nextLine(BufferedReader reader) throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                throw new IllegalArgumentException("Unexpected end of Bristol circuit");
+            }
+        } while (line.trim().isEmpty());
+        return line;
+    }
+
+    private static int[] parseLine(String line) {
+        return Arrays.stream(line.trim().split("\\s+")).mapToInt(Integer::parseInt).toArray();
+    }
+
+    private static int[] parseIoLine(String line, String role) {
+        int[] numbers = parseLine(line);
+        int num = MathPreconditions.checkPositive(role + "_num", numbers[0]);
+        MathPreconditions.checkEqual(role + ".length", role + "_num", numbers.length - 1, num);
+        int[] wireNums = Arrays.copyOfRange(numbers, 1, numbers.length);
+        for (int wireNum : wireNums) {
+            MathPreconditions.checkPositive(role + "_wire_num", wireNum);
+        }
+        return wireNums;
+    }
+
+    /**
+     * Gets the number of wires.
+     *
+     * @return the number of wires.
+     */
+    public int getWireNum() {
+        return wireNum;
+    }
+
+    /**
+     * Gets the number of wires for each input.
+     *
+     * @return the number of wires for each input.
+     */
+    public int[] getInputWireNums() {
+        return Arrays.copyOf(inputWireNums, inputWireNums.length);
+    }
+
+    /**
+     * Gets the number of wires for each output.
+     *
+     * @return the number of wires for each output.
+     */
+    public int[] getOutputWireNums() {
+        return Arrays.copyOf(outputWireNums, outputWireNums.length);
+    }
+
+    /**
+     * Gets the number of gates. A MAND gate with k outputs counts as k gates.
+     *
+     * @return the number of gates.
+     */
+    public int getGateNum() {
+        return gateNum;
+    }
+
+    /**
+     * Gets the number of AND gates, including AND gates in MAND gates.
+     *
+     * @return the number of AND gates.
+     */
+    public int getAndGateNum() {
+        return andGateNum;
+    }
+
+    /**
+     * Gets the number of XOR gates.
+     *
+     * @return the number of XOR gates.
+     */
+    public int getXorGateNum() {
+        return xorGateNum;
+    }
+
+    /**
+     * Gets the number of INV gates.
+     *
+     * @return the number of INV gates.
+     */
+    public int getInvGateNum() {
+        return invGateNum;
+    }
+
+    /**
+     * Gets the multiplicative depth, i.e., the number of AND rounds to evaluate the circuit.
+     *
+     * @return the multiplicative depth.
+     */
+    public int getAndDepth() {
+        return layers.length - 1;
+    }
+
+    /**
+     * Gets the number of local levels, i.e., the number of batched local evaluations.
+     *
+     * @return the number of local levels.
+     */
+    public int getLocalLevelNum() {
+        return Arrays.stream(layers).mapToInt(layer -> layer.localLevels.length).sum();
+    }
+
+    Layer[] getLayers() {
+        return layers;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " (wires = " + wireNum
+            + ", gates = " + gateNum + ", AND = " + andGateNum + ", XOR = " + xorGateNum + ", INV = " + invGateNum
+            + ", AND depth = " + getAndDepth() + ")";
+    }
+}
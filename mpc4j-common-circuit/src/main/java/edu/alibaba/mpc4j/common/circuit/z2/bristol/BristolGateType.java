@@ -0,0 +1,34 @@
+package edu.alibaba.mpc4j.common.circuit.z2.bristol;
+
+/**
+ * Gate types in Bristol Fashion circuits.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/28
+ */
+public enum BristolGateType {
+    /**
+     * XOR, "2 1 a b c XOR"
+     */
+    XOR,
+    /**
+     * AND, "2 1 a b c AND"
+     */
+    AND,
+    /**
+     * NOT, "1 1 a c INV"
+     */
+    INV,
+    /**
+     * constant, "1 1 v c EQ" with v ∈ {0, 1}
+     */
+    EQ,
+    /**
+     * wire copy, "1 1 a c EQW"
+     */
+    EQW,
+    /**
+     * multiple AND, "2k k a_1 ... a_k b_1 ... b_k c_1 ... c_k MAND"
+     */
+    MAND,
+}
@@ -0,0 +1,115 @@
+package edu.alibaba.mpc4j.common.circuit.z2.bristol;
+
+import edu.alibaba.mpc4j.common.circuit.z2.AbstractZ2Circuit;
+import edu.alibaba.mpc4j.common.circuit.z2.MpcZ2Vector;
+import edu.alibaba.mpc4j.common.circuit.z2.MpcZ2cParty;
+import edu.alibaba.mpc4j.common.circuit.z2.bristol.BristolCircuit.Layer;
+import edu.alibaba.mpc4j.common.circuit.z2.bristol.BristolCircuit.LocalLevel;
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+
+import java.util.Arrays;
+
+/**
+ * Z2 circuit that evaluates a Bristol Fashion circuit. Each wire is a Z2 vector, so that the circuit is evaluated on
+ * all bits of the input vectors in a SIMD manner. The circuit is evaluated layer by layer: all AND gates in a layer are
+ * evaluated by one {@code and(MpcZ2Vector[], MpcZ2Vector[])} invocation, and all XOR / INV gates in a local level are
+ * evaluated by one {@code xor(MpcZ2Vector[], MpcZ2Vector[])} / {@code not(MpcZ2Vector[])} invocation.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/28
+ */
+public class BristolZ2Circuit extends AbstractZ2Circuit {
+    /**
+     * Bristol circuit
+     */
+    private final BristolCircuit circuit;
+
+    public BristolZ2Circuit(MpcZ2cParty party, BristolCircuit circuit) {
+        super(party);
+        this.circuit = circuit;
+    }
+
+    /**
+     * Gets the Bristol circuit.
+     *
+     * @return the Bristol circuit.
+     */
+    public BristolCircuit getCircuit() {
+        return circuit;
+    }
+
+    /**
+     * Evaluates the circuit. The j-th vector of the i-th input is the j-th wire of the i-th input, and each bit of the
+     * vectors is an independent instance.
+     *
+     * @param inputs inputs.
+     * @return outputs, the j-th vector of the i-th output is the j-th wire of the i-th output.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    public MpcZ2Vector[][] evaluate(MpcZ2Vector[]... inputs) throws MpcAbortException {
+        int[] inputWireNums = circuit.getInputWireNums();
+        MathPreconditions.checkEqual("inputs.length", "input_num", inputs.length, inputWireNums.length);
+        for (int i = 0; i < inputs.length; i++) {
+            MathPreconditions.checkEqual("inputs[" + i + "].length", "input_wire_num", inputs[i].length, inputWireNums[i]);
+        }
+        int num = inputs[0][0].getNum();
+        for (MpcZ2Vector[] input : inputs) {
+            for (MpcZ2Vector wire : input) {
+                MathPreconditions.checkEqual("num", "wire.num", num, wire.getNum());
+            }
+        }
+        MpcZ2Vector[] wires = new MpcZ2Vector[circuit.getWireNum()];
+        int wire = 0;
+        for (MpcZ2Vector[] input : inputs) {
+            System.arraycopy(input, 0, wires, wire, input.length);
+            wire += input.length;
+        }
+        for (Layer layer : circuit.getLayers()) {
+            if (layer.andGates.length > 0) {
+                MpcZ2Vector[] xs = Arrays.stream(layer.andGates).map(gate -> wires[gate[0]]).toArray(MpcZ2Vector[]::new);
+                MpcZ2Vector[] ys = Arrays.stream(layer.andGates).map(gate -> wires[gate[1]]).toArray(MpcZ2Vector[]::new);
+                MpcZ2Vector[] zs = party.and(xs, ys);
+                for (int i = 0; i < zs.length; i++) {
+                    wires[layer.andGates[i][2]] = zs[i];
+                }
+            }
+            for (LocalLevel level : layer.localLevels) {
+                evaluate(level, wires, num);
+            }
+        }
+        int[] outputWireNums = circuit.getOutputWireNums();
+        MpcZ2Vector[][] outputs = new MpcZ2Vector[outputWireNums.length][];
+        wire = circuit.getWireNum() - Arrays.stream(outputWireNums).sum();
+        for (int i = 0; i < outputWireNums.length; i++) {
+            outputs[i] = Arrays.copyOfRange(wires, wire, wire + outputWireNums[i]);
+            wire += outputWireNums[i];
+        }
+        return outputs;
+    }
+
+    private void evaluate(LocalLevel level, MpcZ2Vector[] wires, int num) throws MpcAbortException {
+        if (level.xorGates.length > 0) {
+            MpcZ2Vector[] xs = Arrays.stream(level.xorGates).map(gate -> wires[gate[0]]).toArray(MpcZ2Vector[]::new);
+            MpcZ2Vector[] ys = Arrays.stream(level.xorGates).map(gate -> wires[gate[1]]).toArray(MpcZ2Vector[]::new);
+            MpcZ2Vector[] zs = party.xor(xs, ys);
+            for (int i = 0; i < zs.length; i++) {
+                wires[level.xorGates[i][2]] = zs[i];
+            }
+        }
+        if (level.invGates.length > 0) {
+            MpcZ2Vector[] xs = Arrays.stream(level.invGates).map(gate -> wires[gate[0]]).toArray(MpcZ2Vector[]::new);
+            MpcZ2Vector[] zs = party.not(xs);
+            for (int i = 0; i < zs.length; i++) {
+                wires[level.invGates[i][1]] = zs[i];
+            }
+        }
+        for (int[] gate : level.eqwGates) {
+            // wire values are never modified in place, so that copying the reference is enough
+            wires[gate[1]] = wires[gate[0]];
+        }
+        for (int[] gate : level.eqGates) {
+            wires[gate[1]] = party.create(num, gate[0] == 1);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package edu.alibaba.mpc4j.common.circuit.z2.lazy;
+
+import edu.alibaba.mpc4j.common.circuit.operator.DyadicBcOperator;
+import edu.alibaba.mpc4j.common.circuit.operator.UnaryBcOperator;
+import edu.alibaba.mpc4j.common.circuit.z2.MpcZ2Vector;
+
+/**
+ * Gate in the lazy Z2 circuit DAG. A gate is either an input gate with an assigned value, or an operation gate
+ * (AND, XOR, NOT) whose value is assigned when the scheduler evaluates it. The depth of a gate is its multiplicative
+ * depth counted from the evaluated gates, so that all AND gates with the same depth are independent.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/26
+ */
+class LazyZ2Gate {
+    /**
+     * dyadic operator, null for input gates and unary gates
+     */
+    private final DyadicBcOperator dyadicOperator;
+    /**
+     * unary operator, null for input gates and dyadic gates
+     */
+    private final UnaryBcOperator unaryOperator;
+    /**
+     * the first input gate
+     */
+    private LazyZ2Gate x;
+    /**
+     * the second input gate
+     */
+    private LazyZ2Gate y;
+    /**
+     * multiplicative depth
+     */
+    private final int depth;
+    /**
+     * number of bits
+     */
+    private final int num;
+    /**
+     * whether the gate is plain
+     */
+    private final boolean plain;
+    /**
+     * whether the gate needs interaction
+     */
+    private final boolean interactive;
+    /**
+     * value, null if the gate is not evaluated
+     */
+    private MpcZ2Vector value;
+
+    /**
+     * Creates an input gate.
+     *
+     * @param value value.
+     * @return an input gate.
+     */
+    static LazyZ2Gate createInput(MpcZ2Vector value) {
+        LazyZ2Gate gate = new LazyZ2Gate(null, null, null, null, 0, value.getNum(), value.isPlain(), false);
+        gate.value = value;
+        return gate;
+    }
+
+    /**
+     * Creates a dyadic gate.
+     *
+     * @param operator operator, must be AND or XOR.
+     * @param x        the first input gate.
+     * @param y        the second input gate.
+     * @return a dyadic gate.
+     */
+    static LazyZ2Gate createDyadic(DyadicBcOperator operator, LazyZ2Gate x, LazyZ2Gate y) {
+        assert operator == DyadicBcOperator.AND || operator == DyadicBcOperator.XOR : "invalid operator: " + operator;
+        assert x.getNum() == y.getNum() : "x.num (" + x.getNum() + ") must be equal to y.num (" + y.getNum() + ")";
+        boolean plain = x.isPlain() && y.isPlain();
+        // only AND on two secret inputs needs interaction, which takes one more round
+        boolean interactive = operator == DyadicBcOperator.AND && !x.isPlain() && !y.isPlain();
+        int depth = Math.max(x.getDepth(), y.getDepth()) + (interactive ? 1 : 0);
+        return new LazyZ2Gate(operator, null, x, y, depth, x.getNum(), plain, interactive);
+    }
+
+    /**
+     * Creates a unary gate.
+     *
+     * @param operator operator.
+     * @param x        the input gate.
+     * @return a unary gate.
+     */
+    static LazyZ2Gate createUnary(UnaryBcOperator operator, LazyZ2Gate x) {
+        return new LazyZ2Gate(null, operator, x, null, x.getDepth(), x.getNum(), x.isPlain(), false);
+    }
+
+    private LazyZ2Gate(DyadicBcOperator dyadicOperator, UnaryBcOperator unaryOperator, LazyZ2Gate x, LazyZ2Gate y,
+                       int depth, int num, boolean plain, boolean interactive) {
+        this.dyadicOperator = dyadicOperator;
+        this.unaryOperator = unaryOperator;
+        this.x = x;
+        this.y = y;
+        this.depth = depth;
+        this.num = num;
+        this.plain = plain;
+        this.interactive = interactive;
+    }
+
+    DyadicBcOperator getDyadicOperator() {
+        return dyadicOperator;
+    }
+
+    UnaryBcOperator getUnaryOperator() {
+        return unaryOperator;
+    }
+
+    LazyZ2Gate getX() {
+        return x;
+    }
+
+    LazyZ2Gate getY() {
+        return y;
+    }
+
+    /**
+     * Returns whether the gate is an AND gate on two secret inputs, which needs interaction.
+     *
+     * @return whether the gate needs interaction.
+     */
+    boolean isInteractive() {
+        return interactive;
+    }
+
+    /**
+     * Gets the multiplicative depth. Evaluated gates have depth 0.
+     *
+     * @return the multiplicative depth.
+     */
+    int getDepth() {
+        return value == null ? depth : 0;
+    }
+
+    int getNum() {
+        return value == null ? num : value.getNum();
+    }
+
+    boolean isPlain() {
+        return value == null ? plain : value.isPlain();
+    }
+
+    boolean isEvaluated() {
+        return value != null;
+    }
+
+    MpcZ2Vector getValue() {
+        assert value != null : "gate is not evaluated";
+        return value;
+    }
+
+    /**
+     * Sets the value. Input gates are released so that evaluated parts of the DAG can be collected.
+     *
+     * @param value value.
+     */
+    void setValue(MpcZ2Vector value) {
+        assert this.value == null : "gate is already evaluated";
+        assert value.getNum() == num : "value.num (" + value.getNum() + ") must be equal to num (" + num + ")";
+        this.value = value;
+        x = null;
+        y = null;
+    }
+}
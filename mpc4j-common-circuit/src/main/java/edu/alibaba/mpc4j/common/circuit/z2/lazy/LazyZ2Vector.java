@@ -0,0 +1,151 @@
+package edu.alibaba.mpc4j.common.circuit.z2.lazy;
+
+import edu.alibaba.mpc4j.common.circuit.z2.MpcZ2Vector;
+import edu.alibaba.mpc4j.common.structure.vector.Vector;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
+
+import java.util.Arrays;
+
+/**
+ * Lazy Z2 vector. A lazy vector points to a gate in the lazy Z2 circuit DAG. Accessing the data of the vector (e.g.,
+ * getting bit vectors, splitting or merging) forces the party to evaluate all pending gates, and then operates on the
+ * evaluated value, which has the same semantic as operating on an eagerly computed vector.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/26
+ */
+public class LazyZ2Vector implements MpcZ2Vector {
+    /**
+     * lazy party
+     */
+    private final LazyZ2cParty party;
+    /**
+     * gate
+     */
+    private LazyZ2Gate gate;
+
+    LazyZ2Vector(LazyZ2cParty party, LazyZ2Gate gate) {
+        this.party = party;
+        this.gate = gate;
+    }
+
+    LazyZ2Gate getGate() {
+        return gate;
+    }
+
+    void setGate(LazyZ2Gate gate) {
+        this.gate = gate;
+    }
+
+    /**
+     * Gets the evaluated value. It evaluates all pending gates if the vector is not evaluated.
+     *
+     * @return the evaluated value.
+     */
+    MpcZ2Vector getValue() {
+        if (!gate.isEvaluated()) {
+            party.flushUnchecked();
+        }
+        return gate.getValue();
+    }
+
+    /**
+     * Gets the evaluated value that is about to be modified in place. It always evaluates all pending gates, since
+     * pending gates may take the value as input and must see the value before the modification.
+     *
+     * @return the evaluated value.
+     */
+    private MpcZ2Vector getMutableValue() {
+        party.flushUnchecked();
+        return gate.getValue();
+    }
+
+    private LazyZ2Vector wrap(MpcZ2Vector value) {
+        return new LazyZ2Vector(party, LazyZ2Gate.createInput(value));
+    }
+
+    @Override
+    public BitVector getBitVector() {
+        // the caller may modify the returned bit vector
+        return getMutableValue().getBitVector();
+    }
+
+    @Override
+    public BitVector[] getBitVectors() {
+        return getMutableValue().getBitVectors();
+    }
+
+    @Override
+    public void setBitVectors(BitVector... data) {
+        getMutableValue().setBitVectors(data);
+    }
+
+    @Override
+    public int byteNum() {
+        return getValue().byteNum();
+    }
+
+    @Override
+    public void reverseBits() {
+        getMutableValue().reverseBits();
+    }
+
+    @Override
+    public MpcZ2Vector[] splitWithPadding(int[] bitNums) {
+        return Arrays.stream(getValue().splitWithPadding(bitNums))
+            .map(this::wrap)
+            .toArray(MpcZ2Vector[]::new);
+    }
+
+    @Override
+    public MpcZ2Vector extendBitsWithSkip(int destBitLen, int skipLen) {
+        return wrap(getValue().extendBitsWithSkip(destBitLen, skipLen));
+    }
+
+    @Override
+    public MpcZ2Vector[] getBitsWithSkip(int totalBitNum, int skipLen) {
+        return Arrays.stream(getValue().getBitsWithSkip(totalBitNum, skipLen))
+            .map(this::wrap)
+            .toArray(MpcZ2Vector[]::new);
+    }
+
+    @Override
+    public MpcZ2Vector getPointsWithFixedSpace(int startPos, int num, int skipLen) {
+        return wrap(getValue().getPointsWithFixedSpace(startPos, num, skipLen));
+    }
+
+    @Override
+    public void setPointsWithFixedSpace(MpcZ2Vector source, int startPos, int num, int skipLen) {
+        getMutableValue().setPointsWithFixedSpace(party.materializeUnchecked(source), startPos, num, skipLen);
+    }
+
+    @Override
+    public boolean isPlain() {
+        return gate.isPlain();
+    }
+
+    @Override
+    public LazyZ2Vector copy() {
+        return wrap((MpcZ2Vector) getValue().copy());
+    }
+
+    @Override
+    public int getNum() {
+        return gate.getNum();
+    }
+
+    @Override
+    public LazyZ2Vector split(int splitNum) {
+        return wrap((MpcZ2Vector) getMutableValue().split(splitNum));
+    }
+
+    @Override
+    public void reduce(int reduceNum) {
+        getMutableValue().reduce(reduceNum);
+    }
+
+    @Override
+    public void merge(Vector other) {
+        getMutableValue().merge(party.materializeUnchecked((MpcZ2Vector) other));
+    }
+}
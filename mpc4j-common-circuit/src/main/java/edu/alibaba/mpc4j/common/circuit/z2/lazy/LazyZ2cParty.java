@@ -0,0 +1,390 @@
+package edu.alibaba.mpc4j.common.circuit.z2.lazy;
+
+import edu.alibaba.mpc4j.common.circuit.operator.DyadicBcOperator;
+import edu.alibaba.mpc4j.common.circuit.operator.UnaryBcOperator;
+import edu.alibaba.mpc4j.common.circuit.z2.MpcZ2Vector;
+import edu.alibaba.mpc4j.common.circuit.z2.MpcZ2cParty;
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Lazy Z2 circuit party. It wraps a Z2 circuit party and defers gate execution: AND, XOR, OR and NOT operations only
+ * record gates into a DAG and return lazy vectors. When the values are needed (opening, revealing, accessing the data
+ * of a lazy vector, or an explicit {@link #flush()}), the scheduler evaluates pending gates layer by layer: all AND
+ * gates with the same multiplicative depth are independent and are merged into one
+ * {@code and(MpcZ2Vector[], MpcZ2Vector[])} invocation, i.e., one communication round, and the local XOR / NOT gates
+ * are evaluated in the recording order.
+ * <p>
+ * For example, compare-and-exchanges in one layer of a sorting network are recorded one by one, but their AND gates
+ * are executed together, so that the number of rounds is the depth of the whole layer instead of the sum of depths.
+ * </p>
+ * Non-lazy vectors passed into the party are treated as input gates. Use {@link #materialize(MpcZ2Vector[])} to get
+ * vectors of the wrapped party.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/26
+ */
+public class LazyZ2cParty implements MpcZ2cParty {
+    /**
+     * wrapped party
+     */
+    private final MpcZ2cParty party;
+    /**
+     * pending gates, in the recording order
+     */
+    private final List<LazyZ2Gate> pendingGates;
+    /**
+     * max depth of pending gates
+     */
+    private int pendingDepth;
+    /**
+     * number of AND rounds
+     */
+    private long andRoundNum;
+
+    public LazyZ2cParty(MpcZ2cParty party) {
+        this.party = party;
+        pendingGates = new ArrayList<>();
+        pendingDepth = 0;
+        andRoundNum = 0;
+    }
+
+    /**
+     * Gets the wrapped party.
+     *
+     * @return the wrapped party.
+     */
+    public MpcZ2cParty getParty() {
+        return party;
+    }
+
+    /**
+     * Gets the number of AND rounds, i.e., the number of invoked {@code and(MpcZ2Vector[], MpcZ2Vector[])} with secret
+     * inputs.
+     *
+     * @return the number of AND rounds.
+     */
+    public synchronized long getAndRoundNum() {
+        return andRoundNum;
+    }
+
+    /**
+     * Gets the number of pending gates.
+     *
+     * @return the number of pending gates.
+     */
+    public synchronized int getPendingGateNum() {
+        return pendingGates.size();
+    }
+
+    /**
+     * Evaluates all pending gates.
+     *
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    public synchronized void flush() throws MpcAbortException {
+        if (pendingGates.isEmpty()) {
+            return;
+        }
+        // group gates by depth, keeping the recording order in each group
+        List<List<LazyZ2Gate>> andLayers = new ArrayList<>(pendingDepth + 1);
+        List<List<LazyZ2Gate>> localLayers = new ArrayList<>(pendingDepth + 1);
+        for (int depth = 0; depth <= pendingDepth; depth++) {
+            andLayers.add(new ArrayList<>());
+            localLayers.add(new ArrayList<>());
+        }
+        for (LazyZ2Gate gate : pendingGates) {
+            if (gate.isInteractive()) {
+                andLayers.get(gate.getDepth()).add(gate);
+            } else {
+                localLayers.get(gate.getDepth()).add(gate);
+            }
+        }
+        for (int depth = 0; depth <= pendingDepth; depth++) {
+            // all AND gates in the layer only depend on gates in previous layers, run them in one round
+            List<LazyZ2Gate> andLayer = andLayers.get(depth);
+            if (!andLayer.isEmpty()) {
+                MpcZ2Vector[] xs = andLayer.stream().map(gate -> gate.getX().getValue()).toArray(MpcZ2Vector[]::new);
+                MpcZ2Vector[] ys = andLayer.stream().map(gate -> gate.getY().getValue()).toArray(MpcZ2Vector[]::new);
+                MpcZ2Vector[] zs = party.and(xs, ys);
+                for (int index = 0; index < zs.length; index++) {
+                    andLayer.get(index).setValue(zs[index]);
+                }
+                andRoundNum++;
+            }
+            // local gates in the layer depend on previous layers, AND gates in this layer, or previous local gates
+            for (LazyZ2Gate gate : localLayers.get(depth)) {
+                gate.setValue(evaluateLocal(gate));
+            }
+        }
+        pendingGates.clear();
+        pendingDepth = 0;
+    }
+
+    private MpcZ2Vector evaluateLocal(LazyZ2Gate gate) throws MpcAbortException {
+        if (gate.getUnaryOperator() != null) {
+            //noinspection SwitchStatementWithTooFewBranches
+            switch (gate.getUnaryOperator()) {
+                case NOT:
+                    return party.not(gate.getX().getValue());
+                default:
+                    throw new IllegalStateException("Invalid " + UnaryBcOperator.class.getSimpleName() + ": " + gate.getUnaryOperator());
+            }
+        }
+        switch (gate.getDyadicOperator()) {
+            case AND:
+                return party.and(gate.getX().getValue(), gate.getY().getValue());
+            case XOR:
+                return party.xor(gate.getX().getValue(), gate.getY().getValue());
+            default:
+                throw new IllegalStateException("Invalid " + DyadicBcOperator.class.getSimpleName() + ": " + gate.getDyadicOperator());
+        }
+    }
+
+    /**
+     * Evaluates all pending gates, used when accessing the data of a lazy vector.
+     */
+    void flushUnchecked() {
+        try {
+            flush();
+        } catch (MpcAbortException e) {
+            throw new IllegalStateException("Failed to evaluate pending gates", e);
+        }
+    }
+
+    /**
+     * Gets the vector of the wrapped party. It evaluates all pending gates if the vector is lazy.
+     *
+     * @param xi the vector.
+     * @return the vector of the wrapped party.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    public MpcZ2Vector materialize(MpcZ2Vector xi) throws MpcAbortException {
+        if (xi instanceof LazyZ2Vector lazyXi) {
+            if (!lazyXi.getGate().isEvaluated()) {
+                flush();
+            }
+            return lazyXi.getGate().getValue();
+        }
+        return xi;
+    }
+
+    /**
+     * Gets vectors of the wrapped party. It evaluates all pending gates if some vectors are lazy.
+     *
+     * @param xiArray the vectors.
+     * @return the vectors of the wrapped party.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    public MpcZ2Vector[] materialize(MpcZ2Vector[] xiArray) throws MpcAbortException {
+        MpcZ2Vector[] ziArray = new MpcZ2Vector[xiArray.length];
+        for (int i = 0; i < xiArray.length; i++) {
+            ziArray[i] = materialize(xiArray[i]);
+        }
+        return ziArray;
+    }
+
+    private LazyZ2Gate toGate(MpcZ2Vector xi) {
+        if (xi instanceof LazyZ2Vector lazyXi) {
+            return lazyXi.getGate();
+        }
+        return LazyZ2Gate.createInput(xi);
+    }
+
+    private LazyZ2Vector toLazy(MpcZ2Vector xi) {
+        return new LazyZ2Vector(this, LazyZ2Gate.createInput(xi));
+    }
+
+    private LazyZ2Vector[] toLazy(MpcZ2Vector[] xiArray) {
+        return Arrays.stream(xiArray).map(this::toLazy).toArray(LazyZ2Vector[]::new);
+    }
+
+    private synchronized LazyZ2Vector record(LazyZ2Gate gate) {
+        if (!gate.isEvaluated()) {
+            pendingGates.add(gate);
+            pendingDepth = Math.max(pendingDepth, gate.getDepth());
+        }
+        return new LazyZ2Vector(this, gate);
+    }
+
+    private LazyZ2Vector recordDyadic(DyadicBcOperator operator, MpcZ2Vector xi, MpcZ2Vector yi) {
+        return record(LazyZ2Gate.createDyadic(operator, toGate(xi), toGate(yi)));
+    }
+
+    private LazyZ2Vector recordUnary(UnaryBcOperator operator, MpcZ2Vector xi) {
+        return record(LazyZ2Gate.createUnary(operator, toGate(xi)));
+    }
+
+    @Override
+    public boolean getParallel() {
+        return party.getParallel();
+    }
+
+    @Override
+    public LazyZ2Vector create(boolean isPlain, BitVector... bitVector) {
+        return toLazy(party.create(isPlain, bitVector));
+    }
+
+    @Override
+    public LazyZ2Vector createOnes(int bitNum) {
+        return toLazy(party.createOnes(bitNum));
+    }
+
+    @Override
+    public LazyZ2Vector createZeros(int bitNum) {
+        return toLazy(party.createZeros(bitNum));
+    }
+
+    @Override
+    public LazyZ2Vector createEmpty(boolean plain) {
+        return toLazy(party.createEmpty(plain));
+    }
+
+    @Override
+    public void init(int expectTotalNum) throws MpcAbortException {
+        party.init(expectTotalNum);
+    }
+
+    @Override
+    public void init() throws MpcAbortException {
+        party.init();
+    }
+
+    @Override
+    public LazyZ2Vector shareOwn(BitVector xi) throws MpcAbortException {
+        return toLazy(party.shareOwn(xi));
+    }
+
+    @Override
+    public LazyZ2Vector[] shareOwn(BitVector[] xiArray) throws MpcAbortException {
+        return toLazy(party.shareOwn(xiArray));
+    }
+
+    @Override
+    public LazyZ2Vector shareOther(int bitNum) throws MpcAbortException {
+        return toLazy(party.shareOther(bitNum));
+    }
+
+    @Override
+    public LazyZ2Vector[] shareOther(int[] bitNums) throws MpcAbortException {
+        return toLazy(party.shareOther(bitNums));
+    }
+
+    @Override
+    public BitVector[] open(MpcZ2Vector[] xiArray) throws MpcAbortException {
+        return party.open(materialize(xiArray));
+    }
+
+    @Override
+    public BitVector revealOwn(MpcZ2Vector xi) throws MpcAbortException {
+        return party.revealOwn(materialize(xi));
+    }
+
+    @Override
+    public BitVector[] revealOwn(MpcZ2Vector[] xiArray) throws MpcAbortException {
+        return party.revealOwn(materialize(xiArray));
+    }
+
+    @Override
+    public void revealOther(MpcZ2Vector xi) {
+        party.revealOther(materializeUnchecked(xi));
+    }
+
+    @Override
+    public void revealOther(MpcZ2Vector[] xiArray) {
+        party.revealOther(Arrays.stream(xiArray).map(this::materializeUnchecked).toArray(MpcZ2Vector[]::new));
+    }
+
+    /**
+     * Gets the vector of the wrapped party, used when accessing the data of a lazy vector.
+     *
+     * @param xi the vector.
+     * @return the vector of the wrapped party.
+     */
+    MpcZ2Vector materializeUnchecked(MpcZ2Vector xi) {
+        if (xi instanceof LazyZ2Vector lazyXi) {
+            return lazyXi.getValue();
+        }
+        return xi;
+    }
+
+    @Override
+    public LazyZ2Vector and(MpcZ2Vector xi, MpcZ2Vector yi) {
+        return recordDyadic(DyadicBcOperator.AND, xi, yi);
+    }
+
+    @Override
+    public LazyZ2Vector[] and(MpcZ2Vector[] xiArray, MpcZ2Vector[] yiArray) {
+        MathPreconditions.checkEqual("xiArray.length", "yiArray.length", xiArray.length, yiArray.length);
+        return IntStream.range(0, xiArray.length)
+            .mapToObj(i -> and(xiArray[i], yiArray[i]))
+            .toArray(LazyZ2Vector[]::new);
+    }
+
+    @Override
+    public LazyZ2Vector xor(MpcZ2Vector xi, MpcZ2Vector yi) {
+        return recordDyadic(DyadicBcOperator.XOR, xi, yi);
+    }
+
+    @Override
+    public void xori(MpcZ2Vector xi, MpcZ2Vector yi) throws MpcAbortException {
+        if (xi instanceof LazyZ2Vector lazyXi) {
+            // point xi to the new gate, gates that take the old xi as input are not affected
+            lazyXi.setGate(xor(xi, yi).getGate());
+        } else {
+            party.xori(xi, materialize(yi));
+        }
+    }
+
+    @Override
+    public LazyZ2Vector[] xor(MpcZ2Vector[] xiArray, MpcZ2Vector[] yiArray) {
+        MathPreconditions.checkEqual("xiArray.length", "yiArray.length", xiArray.length, yiArray.length);
+        return IntStream.range(0, xiArray.length)
+            .mapToObj(i -> xor(xiArray[i], yiArray[i]))
+            .toArray(LazyZ2Vector[]::new);
+    }
+
+    @Override
+    public LazyZ2Vector or(MpcZ2Vector xi, MpcZ2Vector yi) {
+        // x | y = (x ^ y) ^ (x & y)
+        return xor(xor(xi, yi), and(xi, yi));
+    }
+
+    @Override
+    public LazyZ2Vector[] or(MpcZ2Vector[] xiArray, MpcZ2Vector[] yiArray) {
+        MathPreconditions.checkEqual("xiArray.length", "yiArray.length", xiArray.length, yiArray.length);
+        return IntStream.range(0, xiArray.length)
+            .mapToObj(i -> or(xiArray[i], yiArray[i]))
+            .toArray(LazyZ2Vector[]::new);
+    }
+
+    @Override
+    public LazyZ2Vector not(MpcZ2Vector xi) {
+        return recordUnary(UnaryBcOperator.NOT, xi);
+    }
+
+    @Override
+    public void noti(MpcZ2Vector xi) throws MpcAbortException {
+        if (xi instanceof LazyZ2Vector lazyXi) {
+            lazyXi.setGate(not(xi).getGate());
+        } else {
+            party.noti(xi);
+        }
+    }
+
+    @Override
+    public LazyZ2Vector[] not(MpcZ2Vector[] xiArray) {
+        return Arrays.stream(xiArray).map(this::not).toArray(LazyZ2Vector[]::new);
+    }
+
+    @Override
+    public LazyZ2Vector[] setPublicValues(BitVector[] data) {
+        return toLazy(party.setPublicValues(data));
+    }
+}
@@ -0,0 +1,197 @@
+package edu.alibaba.mpc4j.common.circuit.z2.sorter;
+
+import edu.alibaba.mpc4j.common.circuit.z2.MpcZ2Vector;
+import edu.alibaba.mpc4j.common.circuit.z2.MpcZ2cShuffleParty;
+import edu.alibaba.mpc4j.common.circuit.z2.Z2IntegerCircuit;
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVectorFactory;
+import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Shuffle-then-sort sorter. Elements are first obliviously shuffled, with their original indexes appended as the least
+ * significant bits so that all keys are distinct. Then a quick sort runs on the shuffled elements, where results of
+ * comparisons are revealed. Since elements are randomly shuffled and keys are distinct, the revealed results only
+ * leak a random permutation. Comparisons of all partitions are done in one batch, so that the sorter needs an
+ * expected number of O(log m) comparison rounds and O(m log m) comparisons, instead of O(m log² m) comparisons for
+ * sorting networks. The party must support oblivious shuffling.
+ * <p>
+ * The scheme comes from the following paper:
+ * </p>
+ * <p>
+ * Hamada, Koki, Ryo Kikuchi, Dai Ikarashi, Koji Chida, and Katsumi Takahashi. Practically efficient multi-party sorting
+ * protocols from comparison sort algorithms. ICISC 2012, pp. 202-216.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2024/7/29
+ */
+public class ShuffleQuickSorter extends AbstractSorter {
+    /**
+     * Z2 integer circuit
+     */
+    private final Z2IntegerCircuit circuit;
+    /**
+     * party that supports oblivious shuffling
+     */
+    private final MpcZ2cShuffleParty shuffleParty;
+
+    public ShuffleQuickSorter(Z2IntegerCircuit circuit) {
+        super(circuit);
+        if (!(party instanceof MpcZ2cShuffleParty)) {
+            throw new IllegalArgumentException(
+                getClass().getSimpleName() + " requires " + MpcZ2cShuffleParty.class.getSimpleName()
+                    + ", but party is " + party.getClass().getSimpleName()
+            );
+        }
+        this.circuit = circuit;
+        shuffleParty = (MpcZ2cShuffleParty) party;
+    }
+
+    @Override
+    public void sort(MpcZ2Vector[][] xiArrays, MpcZ2Vector dir) throws MpcAbortException {
+        int n = xiArrays.length;
+        int l = xiArrays[0].length;
+        int num = xiArrays[0][0].getNum();
+        MathPreconditions.checkEqual("dir.num", "num", dir.getNum(), num);
+        if (n == 1) {
+            return;
+        }
+        // append indexes as the least significant bits, so that all keys are distinct
+        int indexL = LongUtils.ceilLog2(n);
+        MpcZ2Vector[][] keys = new MpcZ2Vector[n][l + indexL];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(xiArrays[i], 0, keys[i], 0, l);
+            for (int t = 0; t < indexL; t++) {
+                keys[i][l + t] = party.create(num, ((i >>> (indexL - 1 - t)) & 1) == 1);
+            }
+        }
+        MpcZ2Vector[][] shuffled = shuffleParty.shuffle(keys);
+        // shares of each bit of each element
+        BitVector[][][] shares = Arrays.stream(shuffled)
+            .map(key -> Arrays.stream(key).map(MpcZ2Vector::getBitVectors).toArray(BitVector[][]::new))
+            .toArray(BitVector[][][]::new);
+        boolean[] plains = new boolean[l + indexL];
+        for (int b = 0; b < l + indexL; b++) {
+            plains[b] = shuffled[0][b].isPlain();
+        }
+        // orders[k] is the current order of the shuffled elements for the k-th instance
+        int[][] orders = IntStream.range(0, num).mapToObj(k -> IntStream.range(0, n).toArray()).toArray(int[][]::new);
+        // unsorted segments [from, to) for each instance, initially the whole range
+        List<List<int[]>> segments = new ArrayList<>(num);
+        for (int k = 0; k < num; k++) {
+            List<int[]> instanceSegments = new ArrayList<>();
+            instanceSegments.add(new int[]{0, n});
+            segments.add(instanceSegments);
+        }
+        BitVector[] dirShares = dir.getBitVectors();
+        while (segments.stream().anyMatch(instanceSegments -> !instanceSegments.isEmpty())) {
+            // compare each element with the first element (the pivot) of its segment
+            int compareNum = 0;
+            for (List<int[]> instanceSegments : segments) {
+                for (int[] segment : instanceSegments) {
+                    compareNum += segment[1] - segment[0] - 1;
+                }
+            }
+            int[] elementRows = new int[compareNum];
+            int[] pivotRows = new int[compareNum];
+            int[] instances = new int[compareNum];
+            int index = 0;
+            for (int k = 0; k < num; k++) {
+                for (int[] segment : segments.get(k)) {
+                    for (int position = segment[0] + 1; position < segment[1]; position++) {
+                        elementRows[index] = orders[k][position];
+                        pivotRows[index] = orders[k][segment[0]];
+                        instances[index] = k;
+                        index++;
+                    }
+                }
+            }
+            MpcZ2Vector[] elements = new MpcZ2Vector[l + indexL];
+            MpcZ2Vector[] pivots = new MpcZ2Vector[l + indexL];
+            for (int b = 0; b < l + indexL; b++) {
+                elements[b] = gather(shares, b, plains[b], elementRows, instances);
+                pivots[b] = gather(shares, b, plains[b], pivotRows, instances);
+            }
+            MpcZ2Vector gatherDir = gather(new BitVector[][][]{new BitVector[][]{dirShares}}, 0, dir.isPlain(),
+                new int[compareNum], instances
+            );
+            // the element precedes the pivot if (element ≤ pivot) for ascending order, or (element > pivot) otherwise
+            MpcZ2Vector precede = party.xor(circuit.leq(elements, pivots), party.not(gatherDir));
+            BitVector openPrecede = party.open(new MpcZ2Vector[]{precede})[0];
+            // partition segments
+            index = 0;
+            for (int k = 0; k < num; k++) {
+                List<int[]> nextSegments = new ArrayList<>();
+                for (int[] segment : segments.get(k)) {
+                    int from = segment[0];
+                    int to = segment[1];
+                    int pivot = orders[k][from];
+                    int[] precedes = new int[to - from - 1];
+                    int[] follows = new int[to - from - 1];
+                    int precedeNum = 0;
+                    int followNum = 0;
+                    for (int position = from + 1; position < to; position++) {
+                        if (openPrecede.get(index)) {
+                            precedes[precedeNum++] = orders[k][position];
+                        } else {
+                            follows[followNum++] = orders[k][position];
+                        }
+                        index++;
+                    }
+                    System.arraycopy(precedes, 0, orders[k], from, precedeNum);
+                    orders[k][from + precedeNum] = pivot;
+                    System.arraycopy(follows, 0, orders[k], from + precedeNum + 1, followNum);
+                    if (precedeNum > 1) {
+                        nextSegments.add(new int[]{from, from + precedeNum});
+                    }
+                    if (followNum > 1) {
+                        nextSegments.add(new int[]{from + precedeNum + 1, to});
+                    }
+                }
+                segments.set(k, nextSegments);
+            }
+        }
+        // place elements in the sorted order, the revealed orders are random permutations
+        int[] allInstances = IntStream.range(0, num).toArray();
+        for (int i = 0; i < n; i++) {
+            final int position = i;
+            int[] rows = IntStream.range(0, num).map(k -> orders[k][position]).toArray();
+            for (int b = 0; b < l; b++) {
+                xiArrays[i][b] = gather(shares, b, plains[b], rows, allInstances);
+            }
+        }
+    }
+
+    /**
+     * Gathers bits, where the t-th bit of the result is the instances[t]-th bit of the b-th vector of the
+     * rows[t]-th element. The operation is local on shares.
+     *
+     * @param shares    shares, where shares[i][b] is the shares of the b-th vector of the i-th element.
+     * @param b         bit index.
+     * @param plain     whether the vectors are plain.
+     * @param rows      element indexes.
+     * @param instances instance indexes.
+     * @return gathered vector.
+     */
+    private MpcZ2Vector gather(BitVector[][][] shares, int b, boolean plain, int[] rows, int[] instances) {
+        int shareNum = shares[0][b].length;
+        BitVector[] gatherShares = new BitVector[shareNum];
+        for (int s = 0; s < shareNum; s++) {
+            BitVector gatherShare = BitVectorFactory.createZeros(rows.length);
+            for (int t = 0; t < rows.length; t++) {
+                if (shares[rows[t]][b][s].get(instances[t])) {
+                    gatherShare.set(t, true);
+                }
+            }
+            gatherShares[s] = gatherShare;
+        }
+        return party.create(plain, gatherShares);
+    }
+}
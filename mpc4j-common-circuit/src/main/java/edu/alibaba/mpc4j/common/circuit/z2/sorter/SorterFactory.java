@@ -28,7 +28,11 @@ public class SorterFactory {
         /**
          * Randomized shell sorter.
          */
-        RANDOMIZED_SHELL_SORTER
+        RANDOMIZED_SHELL_SORTER,
+        /**
+         * Shuffle-then-sort quick sorter, the party must support oblivious shuffling.
+         */
+        SHUFFLE_QUICK_SORTER,
     }
 
     /**
@@ -43,6 +47,8 @@ public class SorterFactory {
                 return new BitonicSorter(circuit);
             case RANDOMIZED_SHELL_SORTER:
                 return new RandomizedShellSorter(circuit);
+            case SHUFFLE_QUICK_SORTER:
+                return new ShuffleQuickSorter(circuit);
             default:
                 throw new IllegalArgumentException("Invalid " + MultiplierFactory.MultiplierTypes.class.getSimpleName() + ": " + type.name());
         }
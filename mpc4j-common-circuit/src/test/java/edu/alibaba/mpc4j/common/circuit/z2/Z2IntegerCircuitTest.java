@@ -1,12 +1,14 @@
 package edu.alibaba.mpc4j.common.circuit.z2;
 
 import edu.alibaba.mpc4j.common.circuit.operator.Z2IntegerOperator;
+import edu.alibaba.mpc4j.common.circuit.z2.sorter.SorterFactory;
 import edu.alibaba.mpc4j.common.tool.EnvType;
 import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
 import edu.alibaba.mpc4j.common.tool.utils.IntUtils;
 import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
 import edu.alibaba.mpc4j.common.structure.database.Zl64Database;
 import org.apache.commons.lang3.time.StopWatch;
+import org.junit.Assert;
 import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -60,7 +62,7 @@ public class Z2IntegerCircuitTest {
         long[] longYs = IntStream.range(0, DEFAULT_NUM)
                 .mapToLong(i -> DEFAULT_NUM / 2 + i)
                 .toArray();
-        testPto(true, l, longXs, longYs);
+        testPto(true, l, longXs, longYs, new Z2CircuitConfig.Builder().build());
         LOGGER.info("------------------------------");
     }
 
@@ -84,32 +86,53 @@ public class Z2IntegerCircuitTest {
         testRandom(LARGE_NUM);
     }
 
+    @Test
+    public void testLazy() {
+        Z2CircuitConfig config = new Z2CircuitConfig.Builder().setLazy(true).build();
+        testRandom(DEFAULT_L, DEFAULT_NUM, config);
+        testRandom(LARGE_L, DEFAULT_NUM, config);
+    }
+
+    @Test
+    public void testLazyShuffleSorter() {
+        Z2CircuitConfig config = new Z2CircuitConfig.Builder()
+            .setSorterType(SorterFactory.SorterTypes.SHUFFLE_QUICK_SORTER)
+            .setLazy(true)
+            .build();
+        Assert.assertThrows(IllegalArgumentException.class, () -> new Z2IntegerCircuit(new PlainZ2cParty(), config));
+    }
+
     private void testRandom(int num) {
         testRandom(DEFAULT_L, num);
         testRandom(LARGE_L, num);
     }
 
     private void testRandom(int l, int num) {
+        testRandom(l, num, new Z2CircuitConfig.Builder().build());
+    }
+
+    private void testRandom(int l, int num, Z2CircuitConfig config) {
         long[] longXs = IntStream.range(0, num)
                 .mapToLong(i -> LongUtils.randomNonNegative(1L << (l - 1), SECURE_RANDOM))
                 .toArray();
         long[] longYs = IntStream.range(0, num)
                 .mapToLong(i -> LongUtils.randomNonNegative(1L << (l - 1), SECURE_RANDOM))
                 .toArray();
-        testPto(false, l, longXs, longYs);
+        testPto(false, l, longXs, longYs, config);
         LOGGER.info("------------------------------");
     }
 
-    private void testPto(boolean constant, int l, long[] longXs, long[] longYs) {
-        testPto(constant, Z2IntegerOperator.SUB, l, longXs, longYs);
-        testPto(constant, Z2IntegerOperator.INCREASE_ONE, l, longXs, longYs);
-        testPto(constant, Z2IntegerOperator.ADD, l, longXs, longYs);
-        testPto(constant, Z2IntegerOperator.MUL, l, longXs, longYs);
-        testPto(constant, Z2IntegerOperator.LEQ, l, longXs, longYs);
-        testPto(constant, Z2IntegerOperator.EQ, l, longXs, longYs);
+    private void testPto(boolean constant, int l, long[] longXs, long[] longYs, Z2CircuitConfig config) {
+        testPto(constant, Z2IntegerOperator.SUB, l, longXs, longYs, config);
+        testPto(constant, Z2IntegerOperator.INCREASE_ONE, l, longXs, longYs, config);
+        testPto(constant, Z2IntegerOperator.ADD, l, longXs, longYs, config);
+        testPto(constant, Z2IntegerOperator.MUL, l, longXs, longYs, config);
+        testPto(constant, Z2IntegerOperator.LEQ, l, longXs, longYs, config);
+        testPto(constant, Z2IntegerOperator.EQ, l, longXs, longYs, config);
     }
 
-    private void testPto(boolean constant, Z2IntegerOperator operator, int l, long[] longXs, long[] longYs) {
+    private void testPto(boolean constant, Z2IntegerOperator operator, int l, long[] longXs, long[] longYs,
+                         Z2CircuitConfig config) {
         int num = longXs.length;
         if (constant) {
             LOGGER.info("test constant ({}), l = {}, num = {}", operator.name(), l, num);
@@ -125,7 +148,7 @@ public class Z2IntegerCircuitTest {
         PlainZ2Vector[] yPlainZ2Vectors = Arrays.stream(yBitVector).map(PlainZ2Vector::create).toArray(PlainZ2Vector[]::new);
         // init the protocol
         PlainZ2cParty party = new PlainZ2cParty();
-        Z2IntegerCircuitParty partyThread = new Z2IntegerCircuitParty(party, operator, xPlainZ2Vectors, yPlainZ2Vectors, new Z2CircuitConfig.Builder().build());
+        Z2IntegerCircuitParty partyThread = new Z2IntegerCircuitParty(party, operator, xPlainZ2Vectors, yPlainZ2Vectors, config);
         StopWatch stopWatch = new StopWatch();
         // execute the circuit
         stopWatch.start();
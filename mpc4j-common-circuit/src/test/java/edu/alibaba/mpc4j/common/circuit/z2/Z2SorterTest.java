@@ -82,6 +82,16 @@ public class Z2SorterTest {
             SorterFactory.SorterTypes.RANDOMIZED_SHELL_SORTER + " (randomized shell sorter)",
             new Z2CircuitConfig.Builder().setSorterType(SorterFactory.SorterTypes.RANDOMIZED_SHELL_SORTER).build()
         });
+        // Shuffle quick sorter.
+        configurations.add(new Object[]{
+            SorterFactory.SorterTypes.SHUFFLE_QUICK_SORTER + " (shuffle quick sorter)",
+            new Z2CircuitConfig.Builder().setSorterType(SorterFactory.SorterTypes.SHUFFLE_QUICK_SORTER).build()
+        });
+        // lazy Bitonic sorter.
+        configurations.add(new Object[]{
+            SorterFactory.SorterTypes.BITONIC + " (lazy bitonic sorter)",
+            new Z2CircuitConfig.Builder().setSorterType(SorterFactory.SorterTypes.BITONIC).setLazy(true).build()
+        });
         return configurations;
     }
 
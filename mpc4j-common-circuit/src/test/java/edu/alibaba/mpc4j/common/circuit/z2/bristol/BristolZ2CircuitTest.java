@@ -0,0 +1,223 @@
+package edu.alibaba.mpc4j.common.circuit.z2.bristol;
+
+import edu.alibaba.mpc4j.common.circuit.z2.MpcZ2Vector;
+import edu.alibaba.mpc4j.common.circuit.z2.PlainZ2Vector;
+import edu.alibaba.mpc4j.common.circuit.z2.PlainZ2cParty;
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.structure.database.Zl64Database;
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
+import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Bristol Z2 circuit test. Test circuits are generated in Bristol Fashion format, where the j-th wire of an l-bit input
+ * is the j-th most significant bit, the same as the bit partition of Zl64Database.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/28
+ */
+public class BristolZ2CircuitTest {
+    /**
+     * the random state
+     */
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    /**
+     * default num
+     */
+    private static final int DEFAULT_NUM = 1000;
+    /**
+     * default l
+     */
+    private static final int DEFAULT_L = 32;
+
+    @Test
+    public void testAdderStatistics() {
+        BristolCircuit circuit = BristolCircuit.create(createAdder(DEFAULT_L));
+        Assert.assertEquals(DEFAULT_L - 1, circuit.getAndGateNum());
+        Assert.assertEquals(DEFAULT_L - 1, circuit.getAndDepth());
+        Assert.assertArrayEquals(new int[]{DEFAULT_L, DEFAULT_L}, circuit.getInputWireNums());
+        Assert.assertArrayEquals(new int[]{DEFAULT_L}, circuit.getOutputWireNums());
+    }
+
+    @Test
+    public void testEqualStatistics() {
+        BristolCircuit circuit = BristolCircuit.create(createEqual(DEFAULT_L));
+        Assert.assertEquals(DEFAULT_L - 1, circuit.getAndGateNum());
+        Assert.assertEquals(LongUtils.ceilLog2(DEFAULT_L), circuit.getAndDepth());
+        Assert.assertEquals(DEFAULT_L, circuit.getInvGateNum());
+    }
+
+    @Test
+    public void testAdder() throws MpcAbortException {
+        testAdder(1, 1);
+        testAdder(DEFAULT_L, 1);
+        testAdder(DEFAULT_L, DEFAULT_NUM);
+        testAdder(LongUtils.MAX_L_FOR_MODULE_N, DEFAULT_NUM);
+    }
+
+    private void testAdder(int l, int num) throws MpcAbortException {
+        long[] xs = randomInputs(l, num);
+        long[] ys = randomInputs(l, num);
+        long[] zs = evaluate(createAdder(l), l, xs, ys);
+        long andMod = (1L << l) - 1;
+        IntStream.range(0, num).forEach(i -> Assert.assertEquals((xs[i] + ys[i]) & andMod, zs[i]));
+    }
+
+    @Test
+    public void testEqual() throws MpcAbortException {
+        testEqual(1, 1);
+        testEqual(DEFAULT_L, 1);
+        testEqual(DEFAULT_L, DEFAULT_NUM);
+        testEqual(LongUtils.MAX_L_FOR_MODULE_N, DEFAULT_NUM);
+    }
+
+    private void testEqual(int l, int num) throws MpcAbortException {
+        long[] xs = randomInputs(l, num);
+        // half of ys are equal to xs
+        long[] ys = IntStream.range(0, num)
+            .mapToLong(i -> i % 2 == 0 ? xs[i] : LongUtils.randomNonNegative(1L << l, SECURE_RANDOM))
+            .toArray();
+        long[] zs = evaluate(createEqual(l), 1, xs, ys);
+        IntStream.range(0, num).forEach(i -> Assert.assertEquals(xs[i] == ys[i] ? 1L : 0L, zs[i]));
+    }
+
+    @Test
+    public void testInvalidCircuit() {
+        // wire used before assigned
+        Assert.assertThrows(IllegalArgumentException.class, () -> BristolCircuit.create(
+            "1 4\n2 1 1\n1 1\n2 1 0 2 3 AND\n"
+        ));
+        // wire assigned twice
+        Assert.assertThrows(IllegalArgumentException.class, () -> BristolCircuit.create(
+            "2 4\n2 1 1\n1 1\n2 1 0 1 3 AND\n2 1 0 1 3 XOR\n"
+        ));
+        // unknown gate
+        Assert.assertThrows(IllegalArgumentException.class, () -> BristolCircuit.create(
+            "1 3\n2 1 1\n1 1\n2 1 0 1 2 OR\n"
+        ));
+        // missing gates
+        Assert.assertThrows(IllegalArgumentException.class, () -> BristolCircuit.create(
+            "2 4\n2 1 1\n1 1\n2 1 0 1 3 AND\n"
+        ));
+    }
+
+    private long[] randomInputs(int l, int num) {
+        return IntStream.range(0, num)
+            .mapToLong(i -> LongUtils.randomNonNegative(1L << l, SECURE_RANDOM))
+            .toArray();
+    }
+
+    private long[] evaluate(String text, int outputL, long[] xs, long[] ys) throws MpcAbortException {
+        BristolCircuit circuit = BristolCircuit.create(text);
+        int l = circuit.getInputWireNums()[0];
+        PlainZ2cParty party = new PlainZ2cParty();
+        BristolZ2Circuit bristolZ2Circuit = new BristolZ2Circuit(party, circuit);
+        MpcZ2Vector[][] outputs = bristolZ2Circuit.evaluate(partition(l, xs), partition(l, ys));
+        Assert.assertEquals(1, outputs.length);
+        Assert.assertEquals(outputL, outputs[0].length);
+        BitVector[] z = Arrays.stream(outputs[0]).map(MpcZ2Vector::getBitVector).toArray(BitVector[]::new);
+        return Zl64Database.create(EnvType.STANDARD, false, z).getData();
+    }
+
+    private PlainZ2Vector[] partition(int l, long[] xs) {
+        BitVector[] bitVectors = Zl64Database.create(l, xs).bitPartition(EnvType.STANDARD, false);
+        return Arrays.stream(bitVectors).map(PlainZ2Vector::create).toArray(PlainZ2Vector[]::new);
+    }
+
+    /**
+     * Creates an l-bit ripple-carry adder with inputs x, y and output z = x + y mod 2^l.
+     * Inputs are wires [0, 2l), and outputs are the last l wires.
+     */
+    private static String createAdder(int l) {
+        List<String> gates = new ArrayList<>();
+        int[] wire = new int[]{2 * l};
+        int[] sums = new int[l];
+        // carry = 0
+        int carry = wire[0]++;
+        gates.add("1 1 0 " + carry + " EQ");
+        // from the least significant bit
+        for (int j = l - 1; j >= 0; j--) {
+            int x = j;
+            int y = l + j;
+            int xy = wire[0]++;
+            gates.add("2 1 " + x + " " + y + " " + xy + " XOR");
+            sums[j] = wire[0]++;
+            gates.add("2 1 " + xy + " " + carry + " " + sums[j] + " XOR");
+            if (j > 0) {
+                // carry' = ((x ^ c) & (y ^ c)) ^ c
+                int xc = wire[0]++;
+                gates.add("2 1 " + x + " " + carry + " " + xc + " XOR");
+                int yc = wire[0]++;
+                gates.add("2 1 " + y + " " + carry + " " + yc + " XOR");
+                int and = wire[0]++;
+                gates.add("2 1 " + xc + " " + yc + " " + and + " AND");
+                int nextCarry = wire[0]++;
+                gates.add("2 1 " + and + " " + carry + " " + nextCarry + " XOR");
+                carry = nextCarry;
+            }
+        }
+        // copy sums to output wires
+        for (int j = 0; j < l; j++) {
+            gates.add("1 1 " + sums[j] + " " + (wire[0]++) + " EQW");
+        }
+        return toText(gates, wire[0], new int[]{l, l}, new int[]{l});
+    }
+
+    /**
+     * Creates an l-bit equality circuit with inputs x, y and output z = (x == y), using MAND gates for the AND tree.
+     */
+    private static String createEqual(int l) {
+        List<String> gates = new ArrayList<>();
+        int wire = 2 * l;
+        int[] nodes = new int[l];
+        for (int j = 0; j < l; j++) {
+            int xy = wire++;
+            gates.add("2 1 " + j + " " + (l + j) + " " + xy + " XOR");
+            nodes[j] = wire++;
+            gates.add("1 1 " + xy + " " + nodes[j] + " INV");
+        }
+        while (nodes.length > 1) {
+            int k = nodes.length / 2;
+            StringBuilder mand = new StringBuilder((2 * k) + " " + k);
+            for (int i = 0; i < k; i++) {
+                mand.append(" ").append(nodes[2 * i]);
+            }
+            for (int i = 0; i < k; i++) {
+                mand.append(" ").append(nodes[2 * i + 1]);
+            }
+            int[] nextNodes = new int[(nodes.length + 1) / 2];
+            for (int i = 0; i < k; i++) {
+                nextNodes[i] = wire++;
+                mand.append(" ").append(nextNodes[i]);
+            }
+            gates.add(mand.append(" MAND").toString());
+            if (nodes.length % 2 == 1) {
+                nextNodes[k] = nodes[nodes.length - 1];
+            }
+            nodes = nextNodes;
+        }
+        gates.add("1 1 " + nodes[0] + " " + (wire++) + " EQW");
+        return toText(gates, wire, new int[]{l, l}, new int[]{1});
+    }
+
+    private static String toText(List<String> gates, int wireNum, int[] inputWireNums, int[] outputWireNums) {
+        // the gate count is the number of lines, a MAND line counts as one line
+        StringBuilder builder = new StringBuilder();
+        builder.append(gates.size()).append(" ").append(wireNum).append("\n");
+        builder.append(inputWireNums.length);
+        Arrays.stream(inputWireNums).forEach(num -> builder.append(" ").append(num));
+        builder.append("\n").append(outputWireNums.length);
+        Arrays.stream(outputWireNums).forEach(num -> builder.append(" ").append(num));
+        builder.append("\n\n");
+        gates.forEach(gate -> builder.append(gate).append("\n"));
+        return builder.toString();
+    }
+}
@@ -2,11 +2,19 @@ package edu.alibaba.mpc4j.common.rpc;
 
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketSink;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketSource;
 
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 协议通信接口。
+ * <p>
+ * Protocols running on different encode task IDs can share one Rpc from different threads, e.g., a background producer
+ * that pre-generates correlations and the protocol thread that consumes them. Implementations must support concurrent
+ * send and receive on distinct headers, and the communication statistics must be updated atomically.
+ * </p>
  *
  * @author Weiran Liu
  * @date 2021/12/08
@@ -54,6 +62,14 @@ public interface Rpc {
      */
     DataPacket receive(DataPacketHeader header);
 
+    /**
+     * Receives the data packet asynchronously. The returned future completes when the data packet is received.
+     *
+     * @param header header.
+     * @return a future that completes with the received data packet.
+     */
+    CompletableFuture<DataPacket> receiveAsync(DataPacketHeader header);
+
     /**
      * Receives any data packet. It blocks and wait until there is at least one received data packet. If there are many
      * received data packet, it returns any valid data packet.
@@ -63,6 +79,28 @@ public interface Rpc {
      */
     DataPacket receiveAny(int ptoId);
 
+    /**
+     * Opens a stream to send data in fixed-size chunks. The stream occupies the header, i.e., the header cannot be
+     * used to send other data packets. The data is not limited by the max data packet size, and the memory is bounded
+     * by the chunk size.
+     *
+     * @param header header.
+     * @return the sink of the stream.
+     */
+    default DataPacketSink openSendStream(DataPacketHeader header) {
+        return new DataPacketSink(this, header);
+    }
+
+    /**
+     * Opens a stream to receive data in fixed-size chunks.
+     *
+     * @param header header.
+     * @return the source of the stream.
+     */
+    default DataPacketSource openReceiveStream(DataPacketHeader header) {
+        return new DataPacketSource(this, header);
+    }
+
     /**
      * 返回已发送的数据负载字节长度。
      *
@@ -84,6 +122,26 @@ public interface Rpc {
      */
     long getSendDataPacketNum();
 
+    /**
+     * Returns if data packets are sent through a simulated network, i.e., the delivery of data packets is delayed
+     * according to the simulated bandwidth and latency.
+     *
+     * @return true if data packets are sent through a simulated network.
+     */
+    default boolean isNetworkSimulated() {
+        return false;
+    }
+
+    /**
+     * Gets the accumulated simulated waiting time (in ns). The simulated wall-clock time of a period is the real time
+     * plus the increment of the simulated waiting time in the period. The value is not cleared by {@link #reset()}.
+     *
+     * @return accumulated simulated waiting time, 0 if data packets are not sent through a simulated network.
+     */
+    default long getSimulatedDelay() {
+        return 0L;
+    }
+
     /**
      * 与其他参与方网络同步。
      */
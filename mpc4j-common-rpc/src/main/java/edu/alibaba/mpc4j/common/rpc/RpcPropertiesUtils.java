@@ -1,8 +1,16 @@
 package edu.alibaba.mpc4j.common.rpc;
 
 import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.common.rpc.impl.compress.CompressPolicy;
+import edu.alibaba.mpc4j.common.rpc.impl.compress.CompressRpc;
+import edu.alibaba.mpc4j.common.rpc.impl.compress.CompressType;
+import edu.alibaba.mpc4j.common.rpc.impl.memory.MemoryLinkConfig;
+import edu.alibaba.mpc4j.common.rpc.impl.memory.MemoryNetworkConfig;
+import edu.alibaba.mpc4j.common.rpc.impl.memory.MemoryRpcManager;
+import edu.alibaba.mpc4j.common.rpc.impl.netty.DataSendManager;
 import edu.alibaba.mpc4j.common.rpc.impl.netty.NettyParty;
 import edu.alibaba.mpc4j.common.rpc.impl.netty.NettyRpc;
+import edu.alibaba.mpc4j.common.rpc.impl.netty.NettyTransportType;
 import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.common.tool.utils.PropertiesUtils;
 
@@ -15,11 +23,76 @@ import java.util.*;
  * @date 2022/8/28
  */
 public class RpcPropertiesUtils {
+    /**
+     * key for RPC type
+     */
+    private static final String RPC_TYPE_KEY = "rpc_type";
+    /**
+     * key for Netty transport type
+     */
+    private static final String NETTY_TRANSPORT_TYPE_KEY = "netty_transport_type";
+    /**
+     * key for number of Netty channels for each party
+     */
+    private static final String NETTY_STRIPE_NUM_KEY = "netty_stripe_num";
+    /**
+     * key for compress type, payloads are not compressed if not set
+     */
+    private static final String COMPRESS_TYPE_KEY = "rpc_compress_type";
+    /**
+     * key for compress threshold, payloads with byte length less than the threshold are not compressed
+     */
+    private static final String COMPRESS_MIN_BYTE_LENGTH_KEY = "rpc_compress_min_byte_length";
+    /**
+     * key for compress types of protocols, e.g., "CRR21_NC_COT:ZSTD, RPC_TEST:NONE", overriding rpc_compress_type
+     */
+    private static final String COMPRESS_PTO_TYPES_KEY = "rpc_compress_pto_types";
+    /**
+     * key for simulated bandwidth (in Mbps) of memory RPC, 0 means unlimited
+     */
+    private static final String MEMORY_BANDWIDTH_KEY = "memory_bandwidth";
+    /**
+     * key for simulated round-trip time (in ms) of memory RPC
+     */
+    private static final String MEMORY_RTT_KEY = "memory_rtt";
+    /**
+     * key for simulated jitter (in ms) of memory RPC
+     */
+    private static final String MEMORY_JITTER_KEY = "memory_jitter";
+    /**
+     * key for simulated token bucket size (in bytes) of memory RPC
+     */
+    private static final String MEMORY_BUCKET_SIZE_KEY = "memory_bucket_size";
 
     private RpcPropertiesUtils() {
         // empty
     }
 
+    /**
+     * RPC type
+     */
+    public enum RpcType {
+        /**
+         * Netty RPC, each party runs in its own process
+         */
+        NETTY,
+        /**
+         * memory RPC, all parties run in one process, the network can be simulated
+         */
+        MEMORY,
+    }
+
+    /**
+     * reads the RPC type. The default value is NETTY.
+     *
+     * @param properties properties.
+     * @return RPC type.
+     */
+    public static RpcType readRpcType(Properties properties) {
+        String rpcTypeString = PropertiesUtils.readString(properties, RPC_TYPE_KEY, RpcType.NETTY.name());
+        return RpcType.valueOf(rpcTypeString.toUpperCase());
+    }
+
     /**
      * reads and sets Netty RPC.
      *
@@ -44,6 +117,110 @@ public class RpcPropertiesUtils {
         NettyParty ownParty = Preconditions.checkNotNull(
             nettyPartyMap.get(ownName), "ownName must be in %s: %s", Arrays.toString(partyPrefix), ownName
         );
-        return new NettyRpc(ownParty, nettyPartySet);
+        NettyTransportType transportType = NettyTransportType.valueOf(PropertiesUtils.readString(
+            properties, NETTY_TRANSPORT_TYPE_KEY, NettyTransportType.PROTOBUF.name()
+        ));
+        int stripeNum = PropertiesUtils.readInt(properties, NETTY_STRIPE_NUM_KEY, DataSendManager.DEFAULT_STRIPE_NUM);
+        Rpc rpc = new NettyRpc(ownParty, nettyPartySet, transportType, stripeNum);
+        return decorateCompressRpc(properties, rpc);
+    }
+
+    /**
+     * decorates the RPC with compression if any protocol is compressed by the compress policy.
+     *
+     * @param properties properties.
+     * @param rpc        RPC.
+     * @return the (decorated) RPC.
+     */
+    public static Rpc decorateCompressRpc(Properties properties, Rpc rpc) {
+        CompressPolicy compressPolicy = readCompressPolicy(properties);
+        return compressPolicy.isNone() ? rpc : new CompressRpc(rpc, compressPolicy);
+    }
+
+    /**
+     * reads the compress policy. The default compress type is NONE.
+     *
+     * @param properties properties.
+     * @return compress policy.
+     */
+    public static CompressPolicy readCompressPolicy(Properties properties) {
+        CompressType compressType = CompressType.valueOf(PropertiesUtils.readString(
+            properties, COMPRESS_TYPE_KEY, CompressType.NONE.name()
+        ));
+        int minByteLength = PropertiesUtils.readInt(
+            properties, COMPRESS_MIN_BYTE_LENGTH_KEY, CompressPolicy.DEFAULT_MIN_BYTE_LENGTH
+        );
+        CompressPolicy.Builder builder = new CompressPolicy.Builder()
+            .setDefaultCompressType(compressType)
+            .setMinByteLength(minByteLength);
+        for (String ptoType : PropertiesUtils.readTrimStringArrayWithDefault(properties, COMPRESS_PTO_TYPES_KEY)) {
+            String[] ptoNameType = ptoType.split(":");
+            Preconditions.checkArgument(
+                ptoNameType.length == 2, "%s must be in the form of PTO_NAME:TYPE: %s", COMPRESS_PTO_TYPES_KEY, ptoType
+            );
+            builder.setCompressType(ptoNameType[0].trim(), CompressType.valueOf(ptoNameType[1].trim().toUpperCase()));
+        }
+        return builder.build();
+    }
+
+    /**
+     * reads and sets memory RPCs of all parties. The network is simulated if any of the memory network keys is set.
+     *
+     * @param properties properties.
+     * @param partyNum   number of parties.
+     * @return memory RPCs, the i-th RPC is for the party with ID i.
+     */
+    public static Rpc[] readMemoryRpcs(Properties properties, int partyNum) {
+        boolean simulated = properties.stringPropertyNames().stream()
+            .anyMatch(key -> key.startsWith(MEMORY_BANDWIDTH_KEY) || key.startsWith(MEMORY_RTT_KEY)
+                || key.startsWith(MEMORY_JITTER_KEY) || key.startsWith(MEMORY_BUCKET_SIZE_KEY));
+        MemoryNetworkConfig memoryNetworkConfig = simulated ? readMemoryNetworkConfig(properties, partyNum) : null;
+        RpcManager rpcManager = new MemoryRpcManager(partyNum, memoryNetworkConfig);
+        Rpc[] rpcs = new Rpc[partyNum];
+        for (int partyId = 0; partyId < partyNum; partyId++) {
+            rpcs[partyId] = decorateCompressRpc(properties, rpcManager.getRpc(partyId));
+        }
+        return rpcs;
+    }
+
+    /**
+     * reads the simulated network config for memory RPC. The default link is set by the keys "memory_bandwidth",
+     * "memory_rtt", "memory_jitter" and "memory_bucket_size". The link from party i to party j can be overridden by
+     * the keys with suffix "_i_j", e.g., "memory_bandwidth_0_1".
+     *
+     * @param properties properties.
+     * @param partyNum   number of parties.
+     * @return simulated network config.
+     */
+    public static MemoryNetworkConfig readMemoryNetworkConfig(Properties properties, int partyNum) {
+        MathPreconditions.checkGreater("# of parties", partyNum, 1);
+        MemoryLinkConfig defaultLinkConfig = readMemoryLinkConfig(properties, "", MemoryLinkConfig.UNLIMITED);
+        MemoryNetworkConfig.Builder builder = new MemoryNetworkConfig.Builder().setDefaultLinkConfig(defaultLinkConfig);
+        for (int senderId = 0; senderId < partyNum; senderId++) {
+            for (int receiverId = 0; receiverId < partyNum; receiverId++) {
+                if (senderId != receiverId) {
+                    String suffix = "_" + senderId + "_" + receiverId;
+                    builder.setLinkConfig(senderId, receiverId, readMemoryLinkConfig(properties, suffix, defaultLinkConfig));
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private static MemoryLinkConfig readMemoryLinkConfig(Properties properties, String suffix,
+                                                         MemoryLinkConfig defaultLinkConfig) {
+        double bandwidth = properties.containsKey(MEMORY_BANDWIDTH_KEY + suffix)
+            ? PropertiesUtils.readDouble(properties, MEMORY_BANDWIDTH_KEY + suffix)
+            : defaultLinkConfig.getBandwidth();
+        double rtt = properties.containsKey(MEMORY_RTT_KEY + suffix)
+            ? PropertiesUtils.readDouble(properties, MEMORY_RTT_KEY + suffix)
+            : defaultLinkConfig.getRtt();
+        double jitter = properties.containsKey(MEMORY_JITTER_KEY + suffix)
+            ? PropertiesUtils.readDouble(properties, MEMORY_JITTER_KEY + suffix)
+            : defaultLinkConfig.getJitter();
+        long bucketSize = properties.containsKey(MEMORY_BUCKET_SIZE_KEY + suffix)
+            ? PropertiesUtils.readInt(properties, MEMORY_BUCKET_SIZE_KEY + suffix)
+            : defaultLinkConfig.getBucketSize();
+        return new MemoryLinkConfig(bandwidth, rtt, jitter, bucketSize);
     }
 }
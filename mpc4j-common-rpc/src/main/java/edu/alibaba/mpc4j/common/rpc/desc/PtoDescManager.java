@@ -39,4 +39,14 @@ public class PtoDescManager {
         : "Existing PtoDesc contains new PtoName, please change to another PtoName: " + ptoDesc.getPtoName();
         PTO_NAME_MAP.put(ptoDesc.getPtoName(), ptoDesc);
     }
+
+    /**
+     * 获取已注册的协议描述。
+     *
+     * @param ptoId 协议ID。
+     * @return 协议描述，如果协议未注册则返回null。
+     */
+    public static PtoDesc getPtoDesc(int ptoId) {
+        return PTO_DESC_MAP.get(ptoId);
+    }
 }
@@ -0,0 +1,174 @@
+package edu.alibaba.mpc4j.common.rpc.impl.compress;
+
+import com.github.luben.zstd.Zstd;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import edu.alibaba.mpc4j.common.rpc.utils.PayloadType;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codec for compressed data packets. The payload of a data packet is encoded into one byte array as follows:
+ * <li>compressType (byte): the compress type actually used.</li>
+ * <li>rawByteLength (int): the byte length of the raw body.</li>
+ * <li>body: the (compressed) raw body.</li>
+ * The raw body has the following format:
+ * <li>payloadType (byte): the payload type.</li>
+ * <li>num (int): the number of payload entries.</li>
+ * <li>lengths: one int for EQUAL_SIZE payload, one int per entry for NORMAL / SINGLETON payload, none for EMPTY.</li>
+ * <li>data: raw payload entries, one after another.</li>
+ *
+ * @author Weiran Liu
+ * @date 2024/7/8
+ */
+class CompressPacketCodec {
+    /**
+     * byte length for the fixed fields
+     */
+    static final int FIXED_BYTE_LENGTH = Byte.BYTES + Integer.BYTES;
+    /**
+     * Zstandard compression level, we use a low level to trade compression ratio for speed.
+     */
+    private static final int ZSTD_LEVEL = 3;
+    /**
+     * LZ4 compressor, thread-safe
+     */
+    private static final LZ4Compressor LZ4_COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+    /**
+     * LZ4 decompressor, thread-safe
+     */
+    private static final LZ4FastDecompressor LZ4_DECOMPRESSOR = LZ4Factory.fastestInstance().fastDecompressor();
+
+    private CompressPacketCodec() {
+        // empty
+    }
+
+    /**
+     * Gets the raw body byte length of the data packet.
+     *
+     * @param dataPacket data packet.
+     * @return raw body byte length.
+     */
+    static long getRawByteLength(DataPacket dataPacket) {
+        List<byte[]> payload = dataPacket.getPayload();
+        long lengthFieldByteLength = switch (dataPacket.getPayloadType()) {
+            case EMPTY -> 0;
+            case EQUAL_SIZE -> Integer.BYTES;
+            case NORMAL, SINGLETON -> (long) Integer.BYTES * payload.size();
+        };
+        long dataByteLength = payload.stream().mapToLong(data -> data.length).sum();
+        return Byte.BYTES + Integer.BYTES + lengthFieldByteLength + dataByteLength;
+    }
+
+    /**
+     * Encodes the payload of the data packet.
+     *
+     * @param dataPacket    data packet.
+     * @param rawByteLength raw body byte length.
+     * @param compressType  compress type.
+     * @return encoded payload.
+     */
+    static byte[] encode(DataPacket dataPacket, int rawByteLength, CompressType compressType) {
+        byte[] raw = new byte[rawByteLength];
+        ByteBuffer rawBuffer = ByteBuffer.wrap(raw);
+        PayloadType payloadType = dataPacket.getPayloadType();
+        List<byte[]> payload = dataPacket.getPayload();
+        rawBuffer.put((byte) payloadType.ordinal());
+        rawBuffer.putInt(payload.size());
+        switch (payloadType) {
+            case EMPTY:
+                break;
+            case EQUAL_SIZE:
+                rawBuffer.putInt(dataPacket.getEqualLength());
+                break;
+            case NORMAL:
+            case SINGLETON:
+                for (byte[] data : payload) {
+                    rawBuffer.putInt(data.length);
+                }
+                break;
+            default:
+                throw new IllegalStateException("Invalid " + PayloadType.class.getSimpleName() + ": " + payloadType);
+        }
+        for (byte[] data : payload) {
+            rawBuffer.put(data);
+        }
+        byte[] body = switch (compressType) {
+            case NONE -> raw;
+            case LZ4 -> LZ4_COMPRESSOR.compress(raw);
+            case ZSTD -> Zstd.compress(raw, ZSTD_LEVEL);
+        };
+        // incompressible data, send the raw body to save the decompression time
+        if (compressType != CompressType.NONE && body.length >= raw.length) {
+            compressType = CompressType.NONE;
+            body = raw;
+        }
+        return ByteBuffer.allocate(FIXED_BYTE_LENGTH + body.length)
+            .put((byte) compressType.ordinal())
+            .putInt(rawByteLength)
+            .put(body)
+            .array();
+    }
+
+    /**
+     * Decodes the data packet.
+     *
+     * @param header  header.
+     * @param encoded encoded payload.
+     * @return data packet.
+     */
+    static DataPacket decode(DataPacketHeader header, byte[] encoded) {
+        MathPreconditions.checkGreaterOrEqual("encoded.length", encoded.length, FIXED_BYTE_LENGTH);
+        ByteBuffer encodedBuffer = ByteBuffer.wrap(encoded);
+        CompressType compressType = CompressType.values()[encodedBuffer.get()];
+        int rawByteLength = encodedBuffer.getInt();
+        byte[] raw = switch (compressType) {
+            case NONE -> {
+                byte[] body = new byte[rawByteLength];
+                encodedBuffer.get(body);
+                yield body;
+            }
+            case LZ4 -> LZ4_DECOMPRESSOR.decompress(encoded, FIXED_BYTE_LENGTH, rawByteLength);
+            case ZSTD -> {
+                byte[] body = new byte[encoded.length - FIXED_BYTE_LENGTH];
+                encodedBuffer.get(body);
+                yield Zstd.decompress(body, rawByteLength);
+            }
+        };
+        ByteBuffer rawBuffer = ByteBuffer.wrap(raw);
+        PayloadType payloadType = PayloadType.values()[rawBuffer.get()];
+        int num = rawBuffer.getInt();
+        int[] lengths = new int[num];
+        switch (payloadType) {
+            case EMPTY:
+                break;
+            case EQUAL_SIZE:
+                int equalLength = rawBuffer.getInt();
+                for (int i = 0; i < num; i++) {
+                    lengths[i] = equalLength;
+                }
+                break;
+            case NORMAL:
+            case SINGLETON:
+                for (int i = 0; i < num; i++) {
+                    lengths[i] = rawBuffer.getInt();
+                }
+                break;
+            default:
+                throw new IllegalStateException("Invalid " + PayloadType.class.getSimpleName() + ": " + payloadType);
+        }
+        List<byte[]> payload = new ArrayList<>(num);
+        for (int i = 0; i < num; i++) {
+            byte[] data = new byte[lengths[i]];
+            rawBuffer.get(data);
+            payload.add(data);
+        }
+        return DataPacket.fromByteArrayList(header, payload);
+    }
+}
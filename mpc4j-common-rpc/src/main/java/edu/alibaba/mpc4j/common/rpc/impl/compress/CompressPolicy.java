@@ -0,0 +1,164 @@
+package edu.alibaba.mpc4j.common.rpc.impl.compress;
+
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDesc;
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDescManager;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compress policy, i.e., which compress type is used for data packets of a given protocol. The policy must be the same
+ * for all parties, since the receiver uses the policy to decide whether the received payload is encoded.
+ * <p>
+ * The compress type of a protocol is the one set by {@link Builder#setCompressType(PtoDesc, CompressType)}, or by
+ * {@link Builder#setCompressType(String, CompressType)} with the protocol name, or the default compress type if not
+ * set. Protocol names are resolved when packets are sent or received, so the protocol need not be registered when
+ * building the policy. For protocols with compress type other than NONE, payloads with byte length less
+ * than the threshold are still encoded but not compressed.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2024/7/8
+ */
+public class CompressPolicy {
+    /**
+     * default threshold, payloads with byte length less than the threshold are not compressed.
+     */
+    public static final int DEFAULT_MIN_BYTE_LENGTH = 1 << 10;
+    /**
+     * default compress type
+     */
+    private final CompressType defaultCompressType;
+    /**
+     * compress types for protocols
+     */
+    private final Map<Integer, CompressType> ptoCompressTypeMap;
+    /**
+     * compress types for protocol names
+     */
+    private final Map<String, CompressType> ptoNameCompressTypeMap;
+    /**
+     * threshold, payloads with byte length less than the threshold are not compressed
+     */
+    private final int minByteLength;
+
+    private CompressPolicy(Builder builder) {
+        defaultCompressType = builder.defaultCompressType;
+        ptoCompressTypeMap = new HashMap<>(builder.ptoCompressTypeMap);
+        ptoNameCompressTypeMap = new HashMap<>(builder.ptoNameCompressTypeMap);
+        minByteLength = builder.minByteLength;
+    }
+
+    /**
+     * Gets the compress type for the protocol.
+     *
+     * @param ptoId protocol ID.
+     * @return compress type.
+     */
+    public CompressType getCompressType(int ptoId) {
+        CompressType compressType = ptoCompressTypeMap.get(ptoId);
+        if (compressType != null) {
+            return compressType;
+        }
+        if (!ptoNameCompressTypeMap.isEmpty()) {
+            PtoDesc ptoDesc = PtoDescManager.getPtoDesc(ptoId);
+            if (ptoDesc != null) {
+                return ptoNameCompressTypeMap.getOrDefault(ptoDesc.getPtoName(), defaultCompressType);
+            }
+        }
+        return defaultCompressType;
+    }
+
+    /**
+     * Returns whether payloads of all protocols are not compressed.
+     *
+     * @return whether payloads of all protocols are not compressed.
+     */
+    public boolean isNone() {
+        return defaultCompressType == CompressType.NONE
+            && ptoCompressTypeMap.values().stream().allMatch(compressType -> compressType == CompressType.NONE)
+            && ptoNameCompressTypeMap.values().stream().allMatch(compressType -> compressType == CompressType.NONE);
+    }
+
+    /**
+     * Gets the compress type for the payload of the protocol.
+     *
+     * @param ptoId      protocol ID.
+     * @param byteLength  payload byte length.
+     * @return compress type.
+     */
+    CompressType getCompressType(int ptoId, long byteLength) {
+        return byteLength < minByteLength ? CompressType.NONE : getCompressType(ptoId);
+    }
+
+    /**
+     * Gets the default compress type.
+     *
+     * @return default compress type.
+     */
+    public CompressType getDefaultCompressType() {
+        return defaultCompressType;
+    }
+
+    /**
+     * Gets the threshold. Payloads with byte length less than the threshold are not compressed.
+     *
+     * @return threshold.
+     */
+    public int getMinByteLength() {
+        return minByteLength;
+    }
+
+    public static class Builder implements org.apache.commons.lang3.builder.Builder<CompressPolicy> {
+        /**
+         * default compress type
+         */
+        private CompressType defaultCompressType;
+        /**
+         * compress types for protocols
+         */
+        private final Map<Integer, CompressType> ptoCompressTypeMap;
+        /**
+         * compress types for protocol names
+         */
+        private final Map<String, CompressType> ptoNameCompressTypeMap;
+        /**
+         * threshold
+         */
+        private int minByteLength;
+
+        public Builder() {
+            defaultCompressType = CompressType.LZ4;
+            ptoCompressTypeMap = new HashMap<>();
+            ptoNameCompressTypeMap = new HashMap<>();
+            minByteLength = DEFAULT_MIN_BYTE_LENGTH;
+        }
+
+        public Builder setDefaultCompressType(CompressType defaultCompressType) {
+            this.defaultCompressType = defaultCompressType;
+            return this;
+        }
+
+        public Builder setCompressType(PtoDesc ptoDesc, CompressType compressType) {
+            ptoCompressTypeMap.put(ptoDesc.getPtoId(), compressType);
+            return this;
+        }
+
+        public Builder setCompressType(String ptoName, CompressType compressType) {
+            ptoNameCompressTypeMap.put(ptoName, compressType);
+            return this;
+        }
+
+        public Builder setMinByteLength(int minByteLength) {
+            MathPreconditions.checkNonNegative("minByteLength", minByteLength);
+            this.minByteLength = minByteLength;
+            return this;
+        }
+
+        @Override
+        public CompressPolicy build() {
+            return new CompressPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package edu.alibaba.mpc4j.common.rpc.impl.compress;
+
+import edu.alibaba.mpc4j.common.rpc.Party;
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compress RPC. It decorates another RPC and transparently compresses the payloads of data packets. All parties must
+ * be decorated with the same compress policy.
+ * <p>
+ * Data packets of protocols whose compress type is NONE are sent without any change. Otherwise, the payload is encoded
+ * into one byte array, compressed if its byte length reaches the threshold of the policy.
+ * </p>
+ * The payload byte length is the byte length of the original payloads, while the send byte length is reported by the
+ * decorated RPC, i.e., the byte length actually sent. Raw / compressed byte lengths are the byte lengths before /
+ * after compression of the compressed data packets.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/8
+ */
+public class CompressRpc implements Rpc {
+    /**
+     * decorated RPC
+     */
+    private final Rpc rpc;
+    /**
+     * compress policy
+     */
+    private final CompressPolicy compressPolicy;
+    /**
+     * payload byte length
+     */
+    private final AtomicLong payloadByteLength;
+    /**
+     * raw byte length of compressed data packets
+     */
+    private final AtomicLong rawByteLength;
+    /**
+     * compressed byte length of compressed data packets
+     */
+    private final AtomicLong compressedByteLength;
+    /**
+     * number of compressed data packets
+     */
+    private final AtomicLong compressedDataPacketNum;
+
+    /**
+     * Creates a compress RPC.
+     *
+     * @param rpc            decorated RPC.
+     * @param compressPolicy compress policy.
+     */
+    public CompressRpc(Rpc rpc, CompressPolicy compressPolicy) {
+        this.rpc = rpc;
+        this.compressPolicy = compressPolicy;
+        payloadByteLength = new AtomicLong();
+        rawByteLength = new AtomicLong();
+        compressedByteLength = new AtomicLong();
+        compressedDataPacketNum = new AtomicLong();
+    }
+
+    /**
+     * Gets the decorated RPC.
+     *
+     * @return decorated RPC.
+     */
+    public Rpc getRpc() {
+        return rpc;
+    }
+
+    /**
+     * Gets the compress policy.
+     *
+     * @return compress policy.
+     */
+    public CompressPolicy getCompressPolicy() {
+        return compressPolicy;
+    }
+
+    @Override
+    public Party ownParty() {
+        return rpc.ownParty();
+    }
+
+    @Override
+    public Set<Party> getPartySet() {
+        return rpc.getPartySet();
+    }
+
+    @Override
+    public Party getParty(int partyId) {
+        return rpc.getParty(partyId);
+    }
+
+    @Override
+    public void connect() {
+        rpc.connect();
+    }
+
+    @Override
+    public void send(DataPacket dataPacket) {
+        DataPacketHeader header = dataPacket.getHeader();
+        long payloadLength = dataPacket.getPayload().stream().mapToLong(data -> data.length).sum();
+        payloadByteLength.addAndGet(payloadLength);
+        if (compressPolicy.getCompressType(header.getPtoId()) == CompressType.NONE) {
+            rpc.send(dataPacket);
+            return;
+        }
+        int rawLength = Math.toIntExact(CompressPacketCodec.getRawByteLength(dataPacket));
+        CompressType compressType = compressPolicy.getCompressType(header.getPtoId(), payloadLength);
+        byte[] encoded = CompressPacketCodec.encode(dataPacket, rawLength, compressType);
+        if (compressType != CompressType.NONE) {
+            compressedDataPacketNum.incrementAndGet();
+            rawByteLength.addAndGet(rawLength);
+            compressedByteLength.addAndGet(encoded.length);
+        }
+        rpc.send(DataPacket.fromByteArrayList(header, Collections.singletonList(encoded)));
+    }
+
+    @Override
+    public DataPacket receive(DataPacketHeader header) {
+        DataPacket dataPacket = rpc.receive(header);
+        return dataPacket == null ? null : decode(dataPacket);
+    }
+
+    @Override
+    public CompletableFuture<DataPacket> receiveAsync(DataPacketHeader header) {
+        return rpc.receiveAsync(header).thenApply(this::decode);
+    }
+
+    @Override
+    public DataPacket receiveAny(int ptoId) {
+        DataPacket dataPacket = rpc.receiveAny(ptoId);
+        return dataPacket == null ? null : decode(dataPacket);
+    }
+
+    private DataPacket decode(DataPacket dataPacket) {
+        DataPacketHeader header = dataPacket.getHeader();
+        if (compressPolicy.getCompressType(header.getPtoId()) == CompressType.NONE) {
+            return dataPacket;
+        }
+        return CompressPacketCodec.decode(header, dataPacket.getPayload().get(0));
+    }
+
+    @Override
+    public long getPayloadByteLength() {
+        return payloadByteLength.get();
+    }
+
+    @Override
+    public long getSendByteLength() {
+        return rpc.getSendByteLength();
+    }
+
+    /**
+     * Gets the raw byte length of compressed data packets, i.e., the byte length before compression.
+     *
+     * @return raw byte length of compressed data packets.
+     */
+    public long getRawByteLength() {
+        return rawByteLength.get();
+    }
+
+    /**
+     * Gets the compressed byte length of compressed data packets, i.e., the byte length after compression.
+     *
+     * @return compressed byte length of compressed data packets.
+     */
+    public long getCompressedByteLength() {
+        return compressedByteLength.get();
+    }
+
+    /**
+     * Gets the number of compressed data packets.
+     *
+     * @return the number of compressed data packets.
+     */
+    public long getCompressedDataPacketNum() {
+        return compressedDataPacketNum.get();
+    }
+
+    @Override
+    public long getSendDataPacketNum() {
+        return rpc.getSendDataPacketNum();
+    }
+
+    @Override
+    public boolean isNetworkSimulated() {
+        return rpc.isNetworkSimulated();
+    }
+
+    @Override
+    public long getSimulatedDelay() {
+        return rpc.getSimulatedDelay();
+    }
+
+    @Override
+    public void synchronize() {
+        rpc.synchronize();
+    }
+
+    @Override
+    public void reset() {
+        rpc.reset();
+        payloadByteLength.set(0);
+        rawByteLength.set(0);
+        compressedByteLength.set(0);
+        compressedDataPacketNum.set(0);
+    }
+
+    @Override
+    public void disconnect() {
+        rpc.disconnect();
+    }
+}
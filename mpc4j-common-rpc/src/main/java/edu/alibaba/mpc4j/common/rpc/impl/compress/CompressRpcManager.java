@@ -0,0 +1,58 @@
+package edu.alibaba.mpc4j.common.rpc.impl.compress;
+
+import edu.alibaba.mpc4j.common.rpc.Party;
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.rpc.RpcManager;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compress RPC manager. It decorates RPCs of another RPC manager with the same compress policy.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/8
+ */
+public class CompressRpcManager implements RpcManager {
+    /**
+     * decorated RPC manager
+     */
+    private final RpcManager rpcManager;
+    /**
+     * all compress RPCs
+     */
+    private final Map<Integer, CompressRpc> compressRpcMap;
+
+    /**
+     * Creates a compress RPC manager.
+     *
+     * @param rpcManager     decorated RPC manager.
+     * @param compressPolicy compress policy.
+     */
+    public CompressRpcManager(RpcManager rpcManager, CompressPolicy compressPolicy) {
+        this.rpcManager = rpcManager;
+        int partyNum = rpcManager.getPartyNum();
+        compressRpcMap = new HashMap<>(partyNum);
+        for (int partyId = 0; partyId < partyNum; partyId++) {
+            compressRpcMap.put(partyId, new CompressRpc(rpcManager.getRpc(partyId), compressPolicy));
+        }
+    }
+
+    @Override
+    public Rpc getRpc(int partyId) {
+        MathPreconditions.checkNonNegativeInRange("partyId", partyId, getPartyNum());
+        return compressRpcMap.get(partyId);
+    }
+
+    @Override
+    public int getPartyNum() {
+        return rpcManager.getPartyNum();
+    }
+
+    @Override
+    public Set<Party> getPartySet() {
+        return rpcManager.getPartySet();
+    }
+}
@@ -0,0 +1,22 @@
+package edu.alibaba.mpc4j.common.rpc.impl.compress;
+
+/**
+ * Compress type for data packet payloads.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/8
+ */
+public enum CompressType {
+    /**
+     * no compression.
+     */
+    NONE,
+    /**
+     * LZ4 block compression, fast but with moderate compression ratio.
+     */
+    LZ4,
+    /**
+     * Zstandard compression, slower but with better compression ratio.
+     */
+    ZSTD,
+}
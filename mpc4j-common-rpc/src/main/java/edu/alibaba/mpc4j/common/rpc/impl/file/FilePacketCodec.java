@@ -0,0 +1,176 @@
+package edu.alibaba.mpc4j.common.rpc.impl.file;
+
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import edu.alibaba.mpc4j.common.rpc.utils.PayloadType;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary codec for file RPC. The body of a data packet has the following format:
+ * <li>payloadType (byte): the payload type.</li>
+ * <li>num (int): the number of payload entries.</li>
+ * <li>lengths: one int for EQUAL_SIZE payload, one int per entry for NORMAL / SINGLETON payload, none for EMPTY.</li>
+ * <li>data: raw payload entries, one after another.</li>
+ * A packet file only contains the body, since the header is encoded in the file name. A record in the segment log
+ * contains a 32-byte header, the body byte length (long), the body, and a commit byte.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/3
+ */
+class FilePacketCodec {
+    /**
+     * byte length for the header
+     */
+    static final int HEADER_BYTE_LENGTH = Long.BYTES + Integer.BYTES + Integer.BYTES + Long.BYTES
+        + Integer.BYTES + Integer.BYTES;
+    /**
+     * byte length for the fixed fields of a segment record, except the body
+     */
+    static final int RECORD_FIXED_BYTE_LENGTH = HEADER_BYTE_LENGTH + Long.BYTES + Byte.BYTES;
+    /**
+     * commit byte, written after the body so that the reader can verify the record is completely written
+     */
+    static final byte COMMIT = (byte) 0x5A;
+    /**
+     * max byte length of one memory mapping window, a packet file or a segment record must fit into one window
+     */
+    static final long MAX_MAP_BYTE_LENGTH = Integer.MAX_VALUE;
+
+    private FilePacketCodec() {
+        // empty
+    }
+
+    /**
+     * Gets the body byte length of the data packet.
+     *
+     * @param dataPacket data packet.
+     * @return body byte length.
+     */
+    static long getBodyByteLength(DataPacket dataPacket) {
+        List<byte[]> payload = dataPacket.getPayload();
+        long lengthFieldByteLength = switch (dataPacket.getPayloadType()) {
+            case EMPTY -> 0;
+            case EQUAL_SIZE -> Integer.BYTES;
+            case NORMAL, SINGLETON -> (long) Integer.BYTES * payload.size();
+        };
+        long dataByteLength = payload.stream().mapToLong(data -> data.length).sum();
+        return Byte.BYTES + Integer.BYTES + lengthFieldByteLength + dataByteLength;
+    }
+
+    /**
+     * Writes the body of the data packet.
+     *
+     * @param outputStream output stream.
+     * @param dataPacket   data packet.
+     * @throws IOException if an I/O error occurs.
+     */
+    static void writeBody(DataOutputStream outputStream, DataPacket dataPacket) throws IOException {
+        PayloadType payloadType = dataPacket.getPayloadType();
+        List<byte[]> payload = dataPacket.getPayload();
+        outputStream.writeByte(payloadType.ordinal());
+        outputStream.writeInt(payload.size());
+        switch (payloadType) {
+            case EMPTY:
+                break;
+            case EQUAL_SIZE:
+                outputStream.writeInt(dataPacket.getEqualLength());
+                break;
+            case NORMAL:
+            case SINGLETON:
+                for (byte[] data : payload) {
+                    outputStream.writeInt(data.length);
+                }
+                break;
+            default:
+                throw new IllegalStateException("Invalid " + PayloadType.class.getSimpleName() + ": " + payloadType);
+        }
+        for (byte[] data : payload) {
+            outputStream.write(data);
+        }
+    }
+
+    /**
+     * Writes the data packet as a segment record.
+     *
+     * @param outputStream output stream.
+     * @param dataPacket   data packet.
+     * @return record byte length.
+     * @throws IOException if an I/O error occurs.
+     */
+    static long writeRecord(DataOutputStream outputStream, DataPacket dataPacket) throws IOException {
+        DataPacketHeader header = dataPacket.getHeader();
+        outputStream.writeLong(header.getEncodeTaskId());
+        outputStream.writeInt(header.getPtoId());
+        outputStream.writeInt(header.getStepId());
+        outputStream.writeLong(header.getExtraInfo());
+        outputStream.writeInt(header.getSenderId());
+        outputStream.writeInt(header.getReceiverId());
+        long bodyByteLength = getBodyByteLength(dataPacket);
+        outputStream.writeLong(bodyByteLength);
+        writeBody(outputStream, dataPacket);
+        outputStream.writeByte(COMMIT);
+        return RECORD_FIXED_BYTE_LENGTH + bodyByteLength;
+    }
+
+    /**
+     * Reads the header of a segment record.
+     *
+     * @param byteBuffer byte buffer.
+     * @return header.
+     */
+    static DataPacketHeader readHeader(ByteBuffer byteBuffer) {
+        long encodeTaskId = byteBuffer.getLong();
+        int ptoId = byteBuffer.getInt();
+        int stepId = byteBuffer.getInt();
+        long extraInfo = byteBuffer.getLong();
+        int senderId = byteBuffer.getInt();
+        int receiverId = byteBuffer.getInt();
+        return new DataPacketHeader(encodeTaskId, ptoId, stepId, extraInfo, senderId, receiverId);
+    }
+
+    /**
+     * Reads the payload from the body.
+     *
+     * @param byteBuffer byte buffer.
+     * @return payload.
+     */
+    static List<byte[]> readBody(ByteBuffer byteBuffer) {
+        PayloadType payloadType = PayloadType.values()[byteBuffer.get()];
+        int num = byteBuffer.getInt();
+        MathPreconditions.checkNonNegative("num", num);
+        List<byte[]> payload = new ArrayList<>(num);
+        switch (payloadType) {
+            case EMPTY:
+                break;
+            case EQUAL_SIZE:
+                int length = byteBuffer.getInt();
+                for (int index = 0; index < num; index++) {
+                    byte[] data = new byte[length];
+                    byteBuffer.get(data);
+                    payload.add(data);
+                }
+                break;
+            case NORMAL:
+            case SINGLETON:
+                int[] lengths = new int[num];
+                for (int index = 0; index < num; index++) {
+                    lengths[index] = byteBuffer.getInt();
+                }
+                for (int index = 0; index < num; index++) {
+                    byte[] data = new byte[lengths[index]];
+                    byteBuffer.get(data);
+                    payload.add(data);
+                }
+                break;
+            default:
+                throw new IllegalStateException("Invalid " + PayloadType.class.getSimpleName() + ": " + payloadType);
+        }
+        return payload;
+    }
+}
@@ -6,16 +6,26 @@ import edu.alibaba.mpc4j.common.rpc.Rpc;
 import edu.alibaba.mpc4j.common.rpc.impl.file.FilePtoDesc.StepEnum;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.utils.MappedByteBufferUtils;
+import org.apache.commons.lang3.SystemUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
- * 文件通信机制。
+ * 文件通信机制。每个数据包以二进制格式写入一个负载文件（通过内存映射读取），或追加写入发送方和接收方之间的segment log。
+ * 接收方通过WatchService等待文件创建或修改。
  *
  * @author Weiran Liu
  * @date 2021/12/17
@@ -27,9 +37,13 @@ public class FileRpc implements Rpc {
      */
     private static final int FILE_NAME_SPLIT_NUM = 7;
     /**
-     * 读取文件单位等待时间
+     * max waiting time for file events, file events may be consumed by other waiting threads
      */
-    private static final int DEFAULT_READ_WAIT_MILLI_SECOND = 1;
+    private static final int DEFAULT_WATCH_WAIT_MILLI_SECOND = 50;
+    /**
+     * buffer byte length for writing files
+     */
+    private static final int DEFAULT_BUFFER_BYTE_LENGTH = 1 << 16;
     /**
      * 删除文件单位等待时间
      */
@@ -39,9 +53,13 @@ public class FileRpc implements Rpc {
      */
     private static final String FILE_NAME_SEPARATOR = "_";
     /**
-     * 文件写入完毕的状态文件后缀
+     * 正在写入的临时文件后缀
+     */
+    private static final String FILE_WRITING_SUFFIX = "WRITING";
+    /**
+     * segment log file suffix
      */
-    private static final String FILE_STATUS_SUFFIX = "STATUS";
+    private static final String FILE_SEGMENT_SUFFIX = "SEGMENT";
     /**
      * 传输内容本身的负载文件后缀
      */
@@ -58,18 +76,38 @@ public class FileRpc implements Rpc {
      * Own party's ID
      */
     private final int ownPartyId;
+    /**
+     * storage type
+     */
+    private final FileStorageType storageType;
+    /**
+     * segment log output streams, the key is the receiver ID
+     */
+    private final Map<Integer, DataOutputStream> segmentOutputStreamMap;
+    /**
+     * read offsets of segment logs, the key is the sender ID
+     */
+    private final Map<Integer, Long> segmentOffsetMap;
+    /**
+     * data packets read from segment logs but not yet received
+     */
+    private final Map<DataPacketHeader, List<byte[]>> segmentPacketMap;
+    /**
+     * watch service for the own file path
+     */
+    private WatchService watchService;
     /**
      * 数据包数量
      */
-    private long dataPacketNum;
+    private final AtomicLong dataPacketNum;
     /**
      * 负载字节长度
      */
-    private long payloadByteLength;
+    private final AtomicLong payloadByteLength;
     /**
      * 发送字节长度
      */
-    private long sendByteLength;
+    private final AtomicLong sendByteLength;
 
     /**
      * 构建文件RPC。
@@ -78,18 +116,34 @@ public class FileRpc implements Rpc {
      * @param partySet 参与方集合。
      */
     public FileRpc(FileParty ownParty, Set<FileParty> partySet) {
+        this(ownParty, partySet, FileStorageType.PACKET_FILE);
+    }
+
+    /**
+     * 构建文件RPC。
+     *
+     * @param ownParty    自己的参与方信息。
+     * @param partySet    参与方集合。
+     * @param storageType storage type. All parties must use the same storage type.
+     */
+    public FileRpc(FileParty ownParty, Set<FileParty> partySet, FileStorageType storageType) {
         // 所有参与方的数量必须大于1
         Preconditions.checkArgument(partySet.size() > 1, "Party set size must be greater than 1");
         // 参与方自身必须在所有参与方之中
         Preconditions.checkArgument(partySet.contains(ownParty), "Party set must contain own party");
         this.ownParty = ownParty;
         ownPartyId = ownParty.getPartyId();
+        this.storageType = storageType;
+        segmentOutputStreamMap = new HashMap<>();
+        segmentOffsetMap = new ConcurrentHashMap<>();
+        segmentPacketMap = new ConcurrentHashMap<>();
+        watchService = null;
         // 按照参与方索引值，将参与方信息插入到ID映射中
         partyIdHashMap = new HashMap<>();
         partySet.forEach(partySpec -> partyIdHashMap.put(partySpec.getPartyId(), partySpec));
-        dataPacketNum = 0;
-        payloadByteLength = 0;
-        sendByteLength = 0;
+        dataPacketNum = new AtomicLong();
+        payloadByteLength = new AtomicLong();
+        sendByteLength = new AtomicLong();
     }
 
     @Override
@@ -131,45 +185,65 @@ public class FileRpc implements Rpc {
             partyIdHashMap.containsKey(header.getReceiverId()),
             "Party set does not contain Receiver ID = %s", header.getReceiverId()
         );
+        // a packet file or a segment record is read by one memory mapping, so it must fit into one mapping window
+        long recordByteLength = FilePacketCodec.RECORD_FIXED_BYTE_LENGTH
+            + FilePacketCodec.getBodyByteLength(dataPacket);
+        MathPreconditions.checkLessOrEqual("record byte length", recordByteLength, FilePacketCodec.MAX_MAP_BYTE_LENGTH);
         String receiverFilePath = partyIdHashMap.get(header.getReceiverId()).getPartyFilePath();
-        List<byte[]> payload = dataPacket.getPayload();
         try {
-            String payloadFileName = getPayloadFileName(header);
-            String statusFileName = getStatusFileName(header);
-            // 在写入之前必然没有状态文件
-            File statusFile = new File(receiverFilePath + File.separator + statusFileName);
-            if (statusFile.exists()) {
-                throw new IllegalStateException("File " + statusFile.getName() + " already exists.");
-            }
-            // 如果写入之前发现了负载文件，则先删除
-            File payloadFile = new File(receiverFilePath + File.separator + payloadFileName);
-            if (payloadFile.exists()) {
-                boolean deleted = payloadFile.delete();
-                if (!deleted) {
-                    throw new IllegalStateException("File " + payloadFile.getName() + " exists and cannot delete.");
-                }
-            }
-            // 写入数据包并统计发送数据量
-            FileWriter payloadFileWriter = new FileWriter(payloadFile);
-            PrintWriter payloadPrintWriter = new PrintWriter(payloadFileWriter, true);
-            for (byte[] byteArray : payload) {
-                payloadByteLength += byteArray.length;
-                String payloadString = Base64.getEncoder().encodeToString(byteArray);
-                sendByteLength += payloadString.getBytes(StandardCharsets.UTF_8).length;
-                payloadPrintWriter.println(payloadString);
-            }
-            payloadPrintWriter.close();
-            dataPacketNum++;
-            FileWriter statusFileWriter = new FileWriter(statusFile);
-            PrintWriter statusPrintWriter = new PrintWriter(statusFileWriter, true);
-            statusPrintWriter.println(FILE_STATUS_SUFFIX);
-            statusPrintWriter.close();
+            long byteLength = switch (storageType) {
+                case PACKET_FILE -> writePacketFile(receiverFilePath, dataPacket);
+                case SEGMENT_LOG -> appendSegmentLog(receiverFilePath, dataPacket);
+            };
+            payloadByteLength.addAndGet(dataPacket.getPayload().stream().mapToLong(data -> data.length).sum());
+            sendByteLength.addAndGet(byteLength);
+            dataPacketNum.incrementAndGet();
         } catch (IOException e) {
             e.printStackTrace();
             throw new IllegalStateException("Unknown IOException for receiver file path: " + receiverFilePath);
         }
     }
 
+    private long writePacketFile(String receiverFilePath, DataPacket dataPacket) throws IOException {
+        String payloadFileName = getPayloadFileName(dataPacket.getHeader());
+        // 在写入之前必然没有负载文件
+        Path payloadPath = Paths.get(receiverFilePath, payloadFileName);
+        if (Files.exists(payloadPath)) {
+            throw new IllegalStateException("File " + payloadFileName + " already exists.");
+        }
+        // 先写入临时文件，再原子地重命名为负载文件，因此负载文件存在时一定已经写入完毕
+        Path writingPath = Paths.get(receiverFilePath, payloadFileName + FILE_NAME_SEPARATOR + FILE_WRITING_SUFFIX);
+        try (DataOutputStream outputStream = new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(writingPath), DEFAULT_BUFFER_BYTE_LENGTH)
+        )) {
+            FilePacketCodec.writeBody(outputStream, dataPacket);
+        }
+        Files.move(writingPath, payloadPath, StandardCopyOption.ATOMIC_MOVE);
+        return FilePacketCodec.getBodyByteLength(dataPacket);
+    }
+
+    private long appendSegmentLog(String receiverFilePath, DataPacket dataPacket) throws IOException {
+        int receiverId = dataPacket.getHeader().getReceiverId();
+        DataOutputStream outputStream;
+        synchronized (segmentOutputStreamMap) {
+            outputStream = segmentOutputStreamMap.get(receiverId);
+            if (outputStream == null) {
+                Path segmentPath = Paths.get(receiverFilePath, getSegmentFileName(ownPartyId, receiverId));
+                outputStream = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(segmentPath, StandardOpenOption.CREATE, StandardOpenOption.APPEND),
+                    DEFAULT_BUFFER_BYTE_LENGTH
+                ));
+                segmentOutputStreamMap.put(receiverId, outputStream);
+            }
+        }
+        //noinspection SynchronizationOnLocalVariableOrMethodParameter
+        synchronized (outputStream) {
+            long byteLength = FilePacketCodec.writeRecord(outputStream, dataPacket);
+            outputStream.flush();
+            return byteLength;
+        }
+    }
+
     @Override
     public DataPacket receive(DataPacketHeader header) {
         Preconditions.checkArgument(
@@ -182,83 +256,185 @@ public class FileRpc implements Rpc {
         String ownFilePath = ownParty.getPartyFilePath();
         // 收取数据
         try {
-            String payloadFileName = getPayloadFileName(header);
-            String statusFileName = getStatusFileName(header);
-            File statusFile = new File(ownFilePath + File.separator + statusFileName);
-            File payloadFile = new File(ownFilePath + File.separator + payloadFileName);
-            while (!statusFile.exists() || !payloadFile.exists()) {
-                //noinspection BusyWait
-                Thread.sleep(DEFAULT_READ_WAIT_MILLI_SECOND);
+            List<byte[]> payload = switch (storageType) {
+                case PACKET_FILE -> readPacketFile(ownFilePath, header);
+                case SEGMENT_LOG -> readSegmentLog(header);
+            };
+            return DataPacket.fromByteArrayList(header, payload);
+        } catch (IOException | InterruptedException e) {
+            e.printStackTrace();
+            throw new IllegalStateException("Unknown IOException for receiver file path: " + ownFilePath);
+        }
+    }
+
+    private List<byte[]> readPacketFile(String ownFilePath, DataPacketHeader header)
+        throws IOException, InterruptedException {
+        Path payloadPath = Paths.get(ownFilePath, getPayloadFileName(header));
+        while (!Files.exists(payloadPath)) {
+            awaitFileEvent();
+        }
+        // 负载文件存在时一定已经写入完毕，通过内存映射读取
+        List<byte[]> payload;
+        try (FileChannel fileChannel = FileChannel.open(payloadPath, StandardOpenOption.READ)) {
+            long size = fileChannel.size();
+            MathPreconditions.checkLessOrEqual("file size", size, FilePacketCodec.MAX_MAP_BYTE_LENGTH);
+            MappedByteBuffer mappedByteBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            try {
+                payload = FilePacketCodec.readBody(mappedByteBuffer);
+            } finally {
+                // the payload is copied, release the mapping so that the file can be deleted on Windows
+                MappedByteBufferUtils.unmap(mappedByteBuffer);
             }
-            // 如果状态文件存在，则负载文件一定已经写入完毕，要先删除状态文件
-            boolean deleted = statusFile.delete();
+        }
+        // 删除负载文件
+        Files.delete(payloadPath);
+        if (SystemUtils.IS_OS_WINDOWS) {
             // @风笛验证后指出，在Windows环境下删除不是一瞬间完成的，因此要等一小段时间保证删除完毕
             Thread.sleep(DEFAULT_DELETE_WAIT_MILLI_SECOND);
-            if (!deleted) {
-                throw new IllegalStateException("Cannot delete file: " + statusFile.getName());
+        }
+        return payload;
+    }
+
+    private List<byte[]> readSegmentLog(DataPacketHeader header) throws IOException, InterruptedException {
+        List<byte[]> payload;
+        while ((payload = segmentPacketMap.remove(header)) == null) {
+            if (!readSegments()) {
+                awaitFileEvent();
             }
-            // 开始读取
-            List<byte[]> byteArrayData = new LinkedList<>();
-            InputStreamReader inputStreamReader = new InputStreamReader(
-                new FileInputStream(payloadFile), StandardCharsets.UTF_8
-            );
-            BufferedReader bufferedReader = new BufferedReader(inputStreamReader);
-            String payloadString;
-            while ((payloadString = bufferedReader.readLine()) != null) {
-                // 包含该行内容的字符串，不包含任何行终止符，如果已到达流末尾，则返回null
-                byte[] byteArray = Base64.getDecoder().decode(payloadString);
-                byteArrayData.add(byteArray);
+        }
+        return payload;
+    }
+
+    /**
+     * Reads new records in all segment logs sent to the own party.
+     *
+     * @return whether there are new records.
+     * @throws IOException if an I/O error occurs.
+     */
+    private synchronized boolean readSegments() throws IOException {
+        boolean newRecord = false;
+        for (int senderId : partyIdHashMap.keySet()) {
+            if (senderId == ownPartyId) {
+                continue;
             }
-            // Fix Issue #5, close() should be called before "deleted = payloadFile.delete()"
-            bufferedReader.close();
-            // 删除负载文件
-            deleted = payloadFile.delete();
-            Thread.sleep(DEFAULT_DELETE_WAIT_MILLI_SECOND);
-            if (!deleted) {
-                throw new IllegalStateException("Cannot delete file: " + payloadFile.getName());
+            Path segmentPath = Paths.get(ownParty.getPartyFilePath(), getSegmentFileName(senderId, ownPartyId));
+            if (!Files.exists(segmentPath)) {
+                continue;
             }
-            return DataPacket.fromByteArrayList(header, byteArrayData);
-        } catch (IOException | InterruptedException e) {
-            e.printStackTrace();
-            throw new IllegalStateException("Unknown IOException for receiver file path: " + ownFilePath);
+            long offset = segmentOffsetMap.getOrDefault(senderId, 0L);
+            try (FileChannel fileChannel = FileChannel.open(segmentPath, StandardOpenOption.READ)) {
+                long mapByteLength = Math.min(fileChannel.size() - offset, FilePacketCodec.MAX_MAP_BYTE_LENGTH);
+                if (mapByteLength < FilePacketCodec.RECORD_FIXED_BYTE_LENGTH) {
+                    continue;
+                }
+                MappedByteBuffer mappedByteBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, offset, mapByteLength);
+                try {
+                    // read all completely written records
+                    while (mappedByteBuffer.remaining() >= FilePacketCodec.RECORD_FIXED_BYTE_LENGTH) {
+                        int recordPosition = mappedByteBuffer.position();
+                        DataPacketHeader header = FilePacketCodec.readHeader(mappedByteBuffer);
+                        long bodyByteLength = mappedByteBuffer.getLong();
+                        if (mappedByteBuffer.remaining() < bodyByteLength + Byte.BYTES) {
+                            // a record that does not fit into a full window would never be read
+                            if (recordPosition == 0 && mapByteLength == FilePacketCodec.MAX_MAP_BYTE_LENGTH) {
+                                throw new IllegalStateException("Segment record exceeds "
+                                    + FilePacketCodec.MAX_MAP_BYTE_LENGTH + " bytes: " + segmentPath);
+                            }
+                            break;
+                        }
+                        List<byte[]> payload = FilePacketCodec.readBody(mappedByteBuffer);
+                        if (mappedByteBuffer.get() != FilePacketCodec.COMMIT) {
+                            throw new IllegalStateException("Corrupted segment log: " + segmentPath);
+                        }
+                        segmentPacketMap.put(header, payload);
+                        offset += mappedByteBuffer.position() - recordPosition;
+                        newRecord = true;
+                    }
+                } finally {
+                    // payloads are copied, release the mapping so that the segment log can be deleted on Windows
+                    MappedByteBufferUtils.unmap(mappedByteBuffer);
+                }
+            }
+            segmentOffsetMap.put(senderId, offset);
+        }
+        return newRecord;
+    }
+
+    /**
+     * Waits until files in the own file path are created or modified, or a short timeout expires.
+     *
+     * @throws IOException          if an I/O error occurs.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    private void awaitFileEvent() throws IOException, InterruptedException {
+        WatchService currentWatchService = getWatchService();
+        // events may be consumed by other waiting threads, so we wait with a timeout
+        WatchKey watchKey = currentWatchService.poll(DEFAULT_WATCH_WAIT_MILLI_SECOND, TimeUnit.MILLISECONDS);
+        if (watchKey != null) {
+            watchKey.pollEvents();
+            watchKey.reset();
+        }
+    }
+
+    private synchronized WatchService getWatchService() throws IOException {
+        if (watchService == null) {
+            watchService = FileSystems.getDefault().newWatchService();
+            Paths.get(ownParty.getPartyFilePath()).register(
+                watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY
+            );
         }
+        return watchService;
+    }
+
+    @Override
+    public CompletableFuture<DataPacket> receiveAsync(DataPacketHeader header) {
+        return CompletableFuture.supplyAsync(() -> receive(header));
     }
 
     @Override
     public DataPacket receiveAny(int ptoId) {
-        DataPacketHeader[] receivedDataPacketHeaders;
-        while ((receivedDataPacketHeaders = getReceivedDataPacketHeaders(ptoId)).length == 0) {
-            try {
-                //noinspection BusyWait
-                Thread.sleep(DEFAULT_READ_WAIT_MILLI_SECOND);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-                throw new IllegalStateException("Unknown IOException for receiver");
+        try {
+            while (true) {
+                DataPacketHeader[] receivedDataPacketHeaders = switch (storageType) {
+                    case PACKET_FILE -> getReceivedDataPacketHeaders(ptoId);
+                    case SEGMENT_LOG -> {
+                        readSegments();
+                        yield segmentPacketMap.keySet().stream()
+                            .filter(header -> header.getReceiverId() == ownPartyId && header.getPtoId() == ptoId)
+                            .toArray(DataPacketHeader[]::new);
+                    }
+                };
+                if (receivedDataPacketHeaders.length > 0) {
+                    return receive(receivedDataPacketHeaders[0]);
+                }
+                awaitFileEvent();
             }
+        } catch (IOException | InterruptedException e) {
+            e.printStackTrace();
+            throw new IllegalStateException("Unknown IOException for receiver");
         }
-        return receive(receivedDataPacketHeaders[0]);
     }
 
     @Override
     public long getPayloadByteLength() {
-        return payloadByteLength;
+        return payloadByteLength.get();
     }
 
     @Override
     public long getSendByteLength() {
-        return sendByteLength;
+        return sendByteLength.get();
     }
 
     @Override
     public long getSendDataPacketNum() {
-        return dataPacketNum;
+        return dataPacketNum.get();
     }
 
     @Override
     public void reset() {
-        payloadByteLength = 0;
-        sendByteLength = 0;
-        dataPacketNum = 0;
+        payloadByteLength.set(0);
+        sendByteLength.set(0);
+        dataPacketNum.set(0);
     }
 
     @Override
@@ -306,19 +482,13 @@ public class FileRpc implements Rpc {
             + FILE_NAME_SEPARATOR + FILE_PAYLOAD_SUFFIX;
     }
 
-    private String getStatusFileName(DataPacketHeader header) {
-        // testId_PtoId_StepId_extraInfo_senderId_receiverId_STATUS
-        return header.getEncodeTaskId()
-            + FILE_NAME_SEPARATOR + header.getPtoId()
-            + FILE_NAME_SEPARATOR + header.getStepId()
-            + FILE_NAME_SEPARATOR + header.getExtraInfo()
-            + FILE_NAME_SEPARATOR + header.getSenderId()
-            + FILE_NAME_SEPARATOR + header.getReceiverId()
-            + FILE_NAME_SEPARATOR + FILE_STATUS_SUFFIX;
+    private String getSegmentFileName(int senderId, int receiverId) {
+        // senderId_receiverId_SEGMENT
+        return senderId + FILE_NAME_SEPARATOR + receiverId + FILE_NAME_SEPARATOR + FILE_SEGMENT_SUFFIX;
     }
 
     private DataPacketHeader[] getReceivedDataPacketHeaders(int targetPtoId) {
-        // read all status file
+        // read all payload file
         File ownFilePath = new File(ownParty.getPartyFilePath());
         File[] files = ownFilePath.listFiles();
         Objects.requireNonNull(files, ownFilePath + " is not a dictionary");
@@ -329,7 +499,7 @@ public class FileRpc implements Rpc {
             .filter(splitFileName -> splitFileName.length == FILE_NAME_SPLIT_NUM)
             // given sender and receiver
             .filter(splitFileName ->
-                splitFileName[FILE_NAME_SPLIT_NUM - 1].equals(FILE_STATUS_SUFFIX)
+                splitFileName[FILE_NAME_SPLIT_NUM - 1].equals(FILE_PAYLOAD_SUFFIX)
                 && Integer.parseInt(splitFileName[5]) == ownPartyId
             )
             .map(splitFileName -> {
@@ -344,10 +514,36 @@ public class FileRpc implements Rpc {
             .toArray(DataPacketHeader[]::new);
     }
 
-
-
     @Override
     public void disconnect() {
+        try {
+            synchronized (segmentOutputStreamMap) {
+                for (DataOutputStream outputStream : segmentOutputStreamMap.values()) {
+                    outputStream.close();
+                }
+                segmentOutputStreamMap.clear();
+            }
+            // all records sent to the own party have been received, delete segment logs
+            if (storageType == FileStorageType.SEGMENT_LOG) {
+                for (int senderId : partyIdHashMap.keySet()) {
+                    if (senderId != ownPartyId) {
+                        Files.deleteIfExists(Paths.get(
+                            ownParty.getPartyFilePath(), getSegmentFileName(senderId, ownPartyId)
+                        ));
+                    }
+                }
+                segmentOffsetMap.clear();
+            }
+            synchronized (this) {
+                if (watchService != null) {
+                    watchService.close();
+                    watchService = null;
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new IllegalStateException("Unknown IOException for file path: " + ownParty.getPartyFilePath());
+        }
         LOGGER.info("{} disconnected", ownParty);
     }
 }
@@ -41,6 +41,16 @@ public class FileRpcManager implements RpcManager {
      * @param partyNum 参与方数量。
      */
     public FileRpcManager(int partyNum) {
+        this(partyNum, FileStorageType.PACKET_FILE);
+    }
+
+    /**
+     * 初始化文件通信管理器。
+     *
+     * @param partyNum    参与方数量。
+     * @param storageType storage type.
+     */
+    public FileRpcManager(int partyNum, FileStorageType storageType) {
         Preconditions.checkArgument(partyNum > 1, "Number of parties must be greater than 1");
         this.partyNum = partyNum;
         // 初始化所有参与方
@@ -52,7 +62,7 @@ public class FileRpcManager implements RpcManager {
         // 初始化所有参与方的内存通信
         fileRpcMap = new HashMap<>(partyNum);
         for (FileParty fileParty : filePartySet) {
-            FileRpc fileRpc = new FileRpc(fileParty, filePartySet);
+            FileRpc fileRpc = new FileRpc(fileParty, filePartySet, storageType);
             fileRpcMap.put(fileRpc.ownParty().getPartyId(), fileRpc);
             LOGGER.debug("Add file party: {}", fileParty);
         }
@@ -0,0 +1,18 @@
+package edu.alibaba.mpc4j.common.rpc.impl.file;
+
+/**
+ * File storage type, i.e., how data packets are stored in files.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/3
+ */
+public enum FileStorageType {
+    /**
+     * each data packet is stored in one binary packet file.
+     */
+    PACKET_FILE,
+    /**
+     * data packets from one party to another party are appended into one segment log file.
+     */
+    SEGMENT_LOG,
+}
@@ -0,0 +1,103 @@
+package edu.alibaba.mpc4j.common.rpc.impl.memory;
+
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+
+/**
+ * Config of a simulated network link from one party to another party.
+ * <li>bandwidth: the rate (in Mbps) that the token bucket is refilled, 0 means unlimited.</li>
+ * <li>rtt: the round-trip time (in ms), each data packet is delayed by half of the round-trip time.</li>
+ * <li>jitter: the maximal jitter (in ms), each data packet is delayed by an additional uniform random time in
+ * [0, jitter].</li>
+ * <li>bucket size: the capacity (in bytes) of the token bucket, i.e., the burst size that can be sent without
+ * waiting.</li>
+ *
+ * @author Weiran Liu
+ * @date 2024/7/10
+ */
+public class MemoryLinkConfig {
+    /**
+     * unlimited link, i.e., data packets are delivered instantly.
+     */
+    public static final MemoryLinkConfig UNLIMITED = new MemoryLinkConfig(0, 0, 0, 0);
+    /**
+     * bandwidth in Mbps, 0 means unlimited
+     */
+    private final double bandwidth;
+    /**
+     * round-trip time in ms
+     */
+    private final double rtt;
+    /**
+     * jitter in ms
+     */
+    private final double jitter;
+    /**
+     * token bucket size in bytes
+     */
+    private final long bucketSize;
+
+    /**
+     * Creates a link config.
+     *
+     * @param bandwidth  bandwidth in Mbps, 0 means unlimited.
+     * @param rtt        round-trip time in ms.
+     * @param jitter     jitter in ms.
+     * @param bucketSize token bucket size in bytes.
+     */
+    public MemoryLinkConfig(double bandwidth, double rtt, double jitter, long bucketSize) {
+        this.bandwidth = MathPreconditions.checkNonNegative("bandwidth", bandwidth);
+        this.rtt = MathPreconditions.checkNonNegative("rtt", rtt);
+        this.jitter = MathPreconditions.checkNonNegative("jitter", jitter);
+        this.bucketSize = MathPreconditions.checkNonNegative("bucketSize", bucketSize);
+    }
+
+    /**
+     * Gets the bandwidth in Mbps, 0 means unlimited.
+     *
+     * @return bandwidth.
+     */
+    public double getBandwidth() {
+        return bandwidth;
+    }
+
+    /**
+     * Gets the round-trip time in ms.
+     *
+     * @return round-trip time.
+     */
+    public double getRtt() {
+        return rtt;
+    }
+
+    /**
+     * Gets the jitter in ms.
+     *
+     * @return jitter.
+     */
+    public double getJitter() {
+        return jitter;
+    }
+
+    /**
+     * Gets the token bucket size in bytes.
+     *
+     * @return token bucket size.
+     */
+    public long getBucketSize() {
+        return bucketSize;
+    }
+
+    /**
+     * Returns if the link is unlimited, i.e., data packets are delivered instantly.
+     *
+     * @return true if the link is unlimited.
+     */
+    public boolean isUnlimited() {
+        return bandwidth == 0 && rtt == 0 && jitter == 0;
+    }
+
+    @Override
+    public String toString() {
+        return bandwidth + "Mbps, RTT = " + rtt + "ms, jitter = " + jitter + "ms, bucket = " + bucketSize + "B";
+    }
+}
@@ -0,0 +1,127 @@
+package edu.alibaba.mpc4j.common.rpc.impl.memory;
+
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Simulated network for memory RPC. Data packets are still delivered instantly, while each party keeps a simulated
+ * clock, i.e., the real clock plus the accumulated simulated waiting time. When sending a data packet, the network
+ * computes the simulated arrival time by the token bucket, the round-trip time and the jitter of the link. When
+ * receiving the data packet, the receiver advances its simulated clock to the arrival time if it is earlier.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/10
+ */
+class MemoryNetwork {
+    /**
+     * the arrival time for the data packet that is not sent through the simulated network
+     */
+    static final long NO_ARRIVAL_TIME = Long.MIN_VALUE;
+    /**
+     * config
+     */
+    private final MemoryNetworkConfig config;
+    /**
+     * links
+     */
+    private final Map<Long, MemoryLink> linkMap;
+    /**
+     * simulated arrival times of data packets in transit
+     */
+    private final Map<DataPacketHeader, Long> arrivalTimeMap;
+
+    MemoryNetwork(MemoryNetworkConfig config) {
+        this.config = config;
+        linkMap = new ConcurrentHashMap<>();
+        arrivalTimeMap = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Sends a data packet through the simulated network.
+     *
+     * @param header     header.
+     * @param byteLength byte length.
+     * @param sendTime   the simulated time (in ns) that the sender sends the data packet.
+     */
+    void send(DataPacketHeader header, long byteLength, long sendTime) {
+        int senderId = header.getSenderId();
+        int receiverId = header.getReceiverId();
+        MemoryLink link = linkMap.computeIfAbsent(
+            MemoryNetworkConfig.getLinkId(senderId, receiverId),
+            linkId -> new MemoryLink(config.getLinkConfig(senderId, receiverId), config.getSeed() ^ linkId)
+        );
+        arrivalTimeMap.put(header, link.schedule(byteLength, sendTime));
+    }
+
+    /**
+     * Receives a data packet from the simulated network.
+     *
+     * @param header header.
+     * @return the simulated arrival time (in ns), or {@link #NO_ARRIVAL_TIME} if not found.
+     */
+    long receive(DataPacketHeader header) {
+        Long arrivalTime = arrivalTimeMap.remove(header);
+        return arrivalTime == null ? NO_ARRIVAL_TIME : arrivalTime;
+    }
+
+    /**
+     * Simulated link with a token bucket. Tokens are bytes and are refilled at the bandwidth rate up to the bucket
+     * size. Sending a data packet consumes tokens, and the data packet departs when the token debt is paid.
+     */
+    private static class MemoryLink {
+        /**
+         * nanoseconds per millisecond
+         */
+        private static final double NANOS_PER_MILLI = 1e6;
+        /**
+         * config
+         */
+        private final MemoryLinkConfig linkConfig;
+        /**
+         * refill rate in bytes per ns, 0 means unlimited
+         */
+        private final double rate;
+        /**
+         * random state for jitters
+         */
+        private final Random random;
+        /**
+         * available tokens, negative for token debt
+         */
+        private double tokens;
+        /**
+         * last time (in ns) that the bucket is refilled
+         */
+        private long lastTime;
+
+        MemoryLink(MemoryLinkConfig linkConfig, long seed) {
+            this.linkConfig = linkConfig;
+            // Mbps -> bytes per ns
+            rate = linkConfig.getBandwidth() * 1e6 / Byte.SIZE / 1e9;
+            random = new Random(seed);
+            tokens = linkConfig.getBucketSize();
+            lastTime = Long.MIN_VALUE;
+        }
+
+        synchronized long schedule(long byteLength, long sendTime) {
+            if (linkConfig.isUnlimited()) {
+                return sendTime;
+            }
+            long departTime = sendTime;
+            if (rate > 0) {
+                long now = Math.max(sendTime, lastTime);
+                if (lastTime != Long.MIN_VALUE) {
+                    tokens = Math.min(linkConfig.getBucketSize(), tokens + (now - lastTime) * rate);
+                }
+                lastTime = now;
+                tokens -= byteLength;
+                departTime = tokens >= 0 ? now : now + (long) Math.ceil(-tokens / rate);
+            }
+            double delay = linkConfig.getRtt() / 2 + linkConfig.getJitter() * random.nextDouble();
+            return departTime + (long) (delay * NANOS_PER_MILLI);
+        }
+    }
+}
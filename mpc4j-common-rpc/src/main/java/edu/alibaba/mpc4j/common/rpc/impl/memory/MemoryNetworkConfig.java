@@ -0,0 +1,97 @@
+package edu.alibaba.mpc4j.common.rpc.impl.memory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Config of the simulated network for memory RPC. Each directed link uses the config set by
+ * {@link Builder#setLinkConfig(int, int, MemoryLinkConfig)}, or the default link config if not set.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/10
+ */
+public class MemoryNetworkConfig {
+    /**
+     * default link config
+     */
+    private final MemoryLinkConfig defaultLinkConfig;
+    /**
+     * link configs
+     */
+    private final Map<Long, MemoryLinkConfig> linkConfigMap;
+    /**
+     * seed for jitters, so that simulations are reproducible
+     */
+    private final long seed;
+
+    private MemoryNetworkConfig(Builder builder) {
+        defaultLinkConfig = builder.defaultLinkConfig;
+        linkConfigMap = new HashMap<>(builder.linkConfigMap);
+        seed = builder.seed;
+    }
+
+    /**
+     * Gets the config of the link from the sender to the receiver.
+     *
+     * @param senderId   sender ID.
+     * @param receiverId receiver ID.
+     * @return link config.
+     */
+    public MemoryLinkConfig getLinkConfig(int senderId, int receiverId) {
+        return linkConfigMap.getOrDefault(getLinkId(senderId, receiverId), defaultLinkConfig);
+    }
+
+    /**
+     * Gets the seed for jitters.
+     *
+     * @return seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    static long getLinkId(int senderId, int receiverId) {
+        return ((long) senderId << Integer.SIZE) | (receiverId & 0xFFFFFFFFL);
+    }
+
+    public static class Builder implements org.apache.commons.lang3.builder.Builder<MemoryNetworkConfig> {
+        /**
+         * default link config
+         */
+        private MemoryLinkConfig defaultLinkConfig;
+        /**
+         * link configs
+         */
+        private final Map<Long, MemoryLinkConfig> linkConfigMap;
+        /**
+         * seed
+         */
+        private long seed;
+
+        public Builder() {
+            defaultLinkConfig = MemoryLinkConfig.UNLIMITED;
+            linkConfigMap = new HashMap<>();
+            seed = 0L;
+        }
+
+        public Builder setDefaultLinkConfig(MemoryLinkConfig defaultLinkConfig) {
+            this.defaultLinkConfig = defaultLinkConfig;
+            return this;
+        }
+
+        public Builder setLinkConfig(int senderId, int receiverId, MemoryLinkConfig linkConfig) {
+            linkConfigMap.put(getLinkId(senderId, receiverId), linkConfig);
+            return this;
+        }
+
+        public Builder setSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        @Override
+        public MemoryNetworkConfig build() {
+            return new MemoryNetworkConfig(this);
+        }
+    }
+}
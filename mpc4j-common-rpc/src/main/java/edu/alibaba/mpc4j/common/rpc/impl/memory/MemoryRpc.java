@@ -12,6 +12,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -41,15 +43,23 @@ public class MemoryRpc implements Rpc {
     /**
      * 数据包数量
      */
-    private long dataPacketNum;
+    private final AtomicLong dataPacketNum;
     /**
      * 负载字节长度
      */
-    private long payloadByteLength;
+    private final AtomicLong payloadByteLength;
     /**
      * 发送字节长度
      */
-    private long sendByteLength;
+    private final AtomicLong sendByteLength;
+    /**
+     * simulated network, null if data packets are delivered instantly
+     */
+    private final MemoryNetwork memoryNetwork;
+    /**
+     * accumulated simulated waiting time (in ns), i.e., the simulated clock minus the real clock
+     */
+    private final AtomicLong simulatedDelay;
 
     /**
      * 构建内存RPC。
@@ -59,6 +69,19 @@ public class MemoryRpc implements Rpc {
      * @param dataPacketBuffer 缓存区。
      */
     public MemoryRpc(MemoryParty ownParty, Set<MemoryParty> partySet, DataPacketBuffer dataPacketBuffer) {
+        this(ownParty, partySet, dataPacketBuffer, null);
+    }
+
+    /**
+     * Creates a memory RPC with the simulated network.
+     *
+     * @param ownParty         own party.
+     * @param partySet         party set.
+     * @param dataPacketBuffer data packet buffer.
+     * @param memoryNetwork    simulated network, null if data packets are delivered instantly.
+     */
+    MemoryRpc(MemoryParty ownParty, Set<MemoryParty> partySet, DataPacketBuffer dataPacketBuffer,
+              MemoryNetwork memoryNetwork) {
         assert (dataPacketBuffer != null);
         // 所有参与方的数量必须大于1
         Preconditions.checkArgument(partySet.size() > 1, "Party set size must be greater than 1");
@@ -70,9 +93,11 @@ public class MemoryRpc implements Rpc {
         partyIdHashMap = new HashMap<>();
         partySet.forEach(partySpec -> partyIdHashMap.put(partySpec.getPartyId(), partySpec));
         this.dataPacketBuffer = dataPacketBuffer;
-        dataPacketNum = 0;
-        payloadByteLength = 0;
-        sendByteLength = 0;
+        dataPacketNum = new AtomicLong();
+        payloadByteLength = new AtomicLong();
+        sendByteLength = new AtomicLong();
+        this.memoryNetwork = memoryNetwork;
+        simulatedDelay = new AtomicLong();
     }
 
     @Override
@@ -119,7 +144,7 @@ public class MemoryRpc implements Rpc {
         List<byte[]> copyPayload = payload.stream().map(each -> Arrays.copyOf(each, each.length)).collect(Collectors.toList());
         DataPacket copyDataPacket = DataPacket.fromByteArrayList(dataPacket.getHeader(), copyPayload);
         // 先统计数据包大小，再发送数据包，否则可能会出现统计的时候数据包被其他线程修改，抛出并发异常
-        dataPacketNum++;
+        dataPacketNum.incrementAndGet();
         int byteLength;
         switch (dataPacket.getPayloadType()) {
             case EMPTY:
@@ -133,8 +158,11 @@ public class MemoryRpc implements Rpc {
             default:
                 throw new IllegalStateException("Invalid " + PayloadType.class.getSimpleName() + ": " + dataPacket.getPayloadType());
         }
-        payloadByteLength += byteLength;
-        sendByteLength += byteLength;
+        payloadByteLength.addAndGet(byteLength);
+        sendByteLength.addAndGet(byteLength);
+        if (memoryNetwork != null) {
+            memoryNetwork.send(header, byteLength, System.nanoTime() + simulatedDelay.get());
+        }
         // 往dataPacketBuffer中放置数据包
         dataPacketBuffer.put(copyDataPacket);
     }
@@ -149,41 +177,79 @@ public class MemoryRpc implements Rpc {
             "Party set does not contain Sender ID = %s", header.getSenderId()
         );
         try {
-            return dataPacketBuffer.take(header);
+            return arrive(dataPacketBuffer.take(header));
         } catch (InterruptedException e) {
             return null;
         }
     }
 
+    @Override
+    public CompletableFuture<DataPacket> receiveAsync(DataPacketHeader header) {
+        Preconditions.checkArgument(
+            ownPartyId == header.getReceiverId(), "Receiver ID must be %s", ownPartyId
+        );
+        Preconditions.checkArgument(
+            partyIdHashMap.containsKey(header.getSenderId()),
+            "Party set does not contain Sender ID = %s", header.getSenderId()
+        );
+        return dataPacketBuffer.takeAsync(header).thenApply(this::arrive);
+    }
+
     @Override
     public DataPacket receiveAny(int ptoId) {
         try {
-            return dataPacketBuffer.take(ownPartyId, ptoId);
+            return arrive(dataPacketBuffer.take(ownPartyId, ptoId));
         } catch (InterruptedException e) {
             return null;
         }
     }
 
+    /**
+     * Advances the simulated clock to the simulated arrival time of the received data packet if it is earlier.
+     *
+     * @param dataPacket received data packet.
+     * @return received data packet.
+     */
+    private DataPacket arrive(DataPacket dataPacket) {
+        if (memoryNetwork != null) {
+            long arrivalTime = memoryNetwork.receive(dataPacket.getHeader());
+            if (arrivalTime != MemoryNetwork.NO_ARRIVAL_TIME) {
+                simulatedDelay.accumulateAndGet(arrivalTime - System.nanoTime(), Math::max);
+            }
+        }
+        return dataPacket;
+    }
+
+    @Override
+    public boolean isNetworkSimulated() {
+        return memoryNetwork != null;
+    }
+
+    @Override
+    public long getSimulatedDelay() {
+        return simulatedDelay.get();
+    }
+
     @Override
     public long getPayloadByteLength() {
-        return payloadByteLength;
+        return payloadByteLength.get();
     }
 
     @Override
     public long getSendByteLength() {
-        return sendByteLength;
+        return sendByteLength.get();
     }
 
     @Override
     public long getSendDataPacketNum() {
-        return dataPacketNum;
+        return dataPacketNum.get();
     }
 
     @Override
     public void reset() {
-        payloadByteLength = 0;
-        sendByteLength = 0;
-        dataPacketNum = 0;
+        payloadByteLength.set(0);
+        sendByteLength.set(0);
+        dataPacketNum.set(0);
     }
 
     @Override
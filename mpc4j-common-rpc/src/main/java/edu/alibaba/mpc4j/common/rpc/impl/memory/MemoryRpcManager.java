@@ -41,10 +41,21 @@ public class MemoryRpcManager implements RpcManager {
      * @param partyNum 参与方数量。
      */
     public MemoryRpcManager(int partyNum) {
+        this(partyNum, null);
+    }
+
+    /**
+     * Creates a memory RPC manager with the simulated network.
+     *
+     * @param partyNum            number of parties.
+     * @param memoryNetworkConfig simulated network config, null if data packets are delivered instantly.
+     */
+    public MemoryRpcManager(int partyNum, MemoryNetworkConfig memoryNetworkConfig) {
         MathPreconditions.checkGreater("partyNum", partyNum, 1);
         this.partyNum = partyNum;
         // 构建一个统一的数据包缓存区
         DataPacketBuffer dataPacketBuffer = new DataPacketBuffer();
+        MemoryNetwork memoryNetwork = memoryNetworkConfig == null ? null : new MemoryNetwork(memoryNetworkConfig);
         // 初始化所有参与方
         memoryPartySet = new HashSet<>(partyNum);
         IntStream.range(0, partyNum).forEach(partyId -> {
@@ -54,7 +65,7 @@ public class MemoryRpcManager implements RpcManager {
         // 初始化所有参与方的内存通信
         memoryRpcMap = new HashMap<>(partyNum);
         for (MemoryParty memoryParty : memoryPartySet) {
-            MemoryRpc memoryRpc = new MemoryRpc(memoryParty, memoryPartySet, dataPacketBuffer);
+            MemoryRpc memoryRpc = new MemoryRpc(memoryParty, memoryPartySet, dataPacketBuffer, memoryNetwork);
             memoryRpcMap.put(memoryRpc.ownParty().getPartyId(), memoryRpc);
             LOGGER.debug("Add memory party: {}", memoryParty);
         }
@@ -11,6 +11,7 @@ import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 import edu.alibaba.mpc4j.common.rpc.utils.PayloadType;
 import edu.alibaba.mpc4j.common.tool.utils.IntUtils;
 import edu.alibaba.mpc4j.common.tool.utils.SerializeUtils;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
@@ -37,6 +38,15 @@ public class DataReceiveHandler extends ChannelInboundHandlerAdapter {
 
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (msg instanceof ByteBuf frame) {
+            // framed transport, decode the frame straight into the buffer
+            try {
+                dataPacketBuffer.put(FramedDataPacketCodec.decode(frame));
+            } finally {
+                frame.release();
+            }
+            return;
+        }
         // read data packet from channel
         DataPacketProto dataPacketProto = (DataPacketProto) msg;
         // handle header
@@ -10,6 +10,7 @@ import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 import io.netty.handler.codec.protobuf.ProtobufDecoder;
 import io.netty.handler.codec.protobuf.ProtobufVarint32FrameDecoder;
 
@@ -35,6 +36,10 @@ public class DataReceiveThread extends Thread {
      * 数据缓冲区
      */
     private final DataPacketBuffer dataPacketBuffer;
+    /**
+     * transport type
+     */
+    private final NettyTransportType transportType;
     /**
      * BossGroup用来处理nio的Accept
      */
@@ -55,7 +60,20 @@ public class DataReceiveThread extends Thread {
      * @param cyclicBarrier 用于线程同步的cyclicBarrier
      */
     public DataReceiveThread(NettyParty ownParty, CyclicBarrier cyclicBarrier, DataPacketBuffer dataPacketBuffer) {
+        this(ownParty, cyclicBarrier, dataPacketBuffer, NettyTransportType.PROTOBUF);
+    }
+
+    /**
+     * 构建数据接收管理器
+     *
+     * @param ownParty      参与方自身信息
+     * @param cyclicBarrier 用于线程同步的cyclicBarrier
+     * @param transportType transport type.
+     */
+    public DataReceiveThread(NettyParty ownParty, CyclicBarrier cyclicBarrier, DataPacketBuffer dataPacketBuffer,
+                             NettyTransportType transportType) {
         this.ownParty = ownParty;
+        this.transportType = transportType;
         this.dataPacketBuffer = dataPacketBuffer;
         this.cyclicBarrier = cyclicBarrier;
         bossGroup = null;
@@ -81,11 +99,24 @@ public class DataReceiveThread extends Thread {
                 .childHandler(new ChannelInitializer<SocketChannel>() {
                     @Override
                     public void initChannel(SocketChannel ch) {
-                        // 由于使用protobuf作为协议解析，需要先添加以下两个Decoder()
-                        ch.pipeline().addLast(new ProtobufVarint32FrameDecoder());
-                        ch.pipeline().addLast(
-                            new ProtobufDecoder(NettyRpcProtobuf.DataPacketProto.getDefaultInstance())
-                        );
+                        switch (transportType) {
+                            case PROTOBUF -> {
+                                // 由于使用protobuf作为协议解析，需要先添加以下两个Decoder()
+                                ch.pipeline().addLast(new ProtobufVarint32FrameDecoder());
+                                ch.pipeline().addLast(
+                                    new ProtobufDecoder(NettyRpcProtobuf.DataPacketProto.getDefaultInstance())
+                                );
+                            }
+                            // split frames and strip the frame length field, frames are decoded in the handler
+                            case FRAMED -> ch.pipeline().addLast(new LengthFieldBasedFrameDecoder(
+                                FramedDataPacketCodec.MAX_FRAME_LENGTH,
+                                0, FramedDataPacketCodec.FRAME_LENGTH_FIELD_BYTE_LENGTH,
+                                0, FramedDataPacketCodec.FRAME_LENGTH_FIELD_BYTE_LENGTH
+                            ));
+                            default -> throw new IllegalStateException(
+                                "Invalid " + NettyTransportType.class.getSimpleName() + ": " + transportType
+                            );
+                        }
                         // 自定义的协议解析handler
                         ch.pipeline().addLast(dataReceiveHandler);
                     }
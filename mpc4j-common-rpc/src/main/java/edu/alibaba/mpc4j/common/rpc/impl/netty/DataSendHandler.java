@@ -23,6 +23,15 @@ public class DataSendHandler extends ChannelInboundHandlerAdapter {
 
     }
 
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) {
+        // wake up senders waiting for writable channels
+        synchronized (this) {
+            notifyAll();
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
         // 在发生异常时，记录错误并关闭Channel
@@ -1,100 +1,300 @@
 package edu.alibaba.mpc4j.common.rpc.impl.netty;
 
 import com.google.common.base.Preconditions;
-import edu.alibaba.mpc4j.common.rpc.impl.netty.protobuf.NettyRpcProtobuf;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import io.netty.bootstrap.Bootstrap;
-import io.netty.channel.Channel;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.*;
 import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.pool.*;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.protobuf.ProtobufEncoder;
 import io.netty.handler.codec.protobuf.ProtobufVarint32LengthFieldPrepender;
-import io.netty.util.concurrent.Future;
-import io.netty.util.concurrent.FutureListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * 数据发送方管理器，只负责发送数据，使用channelPool来维持一个连接池
+ * 数据发送方管理器，只负责发送数据。对每个接收方维持stripeNum条长连接，同一协议、同一任务的数据包总是通过同一条连接按序发送。
+ * <p>
+ * Writes are coalesced: each write only schedules one flush on the event loop if there is no pending flush, and the
+ * caller explicitly flushes all channels at round boundaries (i.e., before waiting for data). If a channel is not
+ * writable, the caller blocks until the channel becomes writable again.
+ * </p>
  *
  * @author Li Peng, Weiran Liu
  * @date 2020/10/12
  */
 public class DataSendManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataSendManager.class);
+    /**
+     * default number of channels for each receiver
+     */
+    public static final int DEFAULT_STRIPE_NUM = 1;
+    /**
+     * low water mark of the write buffer
+     */
+    private static final int WRITE_BUFFER_LOW_WATER_MARK = 1 << 23;
+    /**
+     * high water mark of the write buffer
+     */
+    private static final int WRITE_BUFFER_HIGH_WATER_MARK = 1 << 25;
+    /**
+     * max number of connection retries, the receiver may not start its server yet
+     */
+    private static final int MAX_CONNECT_RETRY = 100;
+    /**
+     * waiting time (in milliseconds) between connection retries
+     */
+    private static final long CONNECT_RETRY_WAIT_MILLI_SECOND = 100;
+    /**
+     * waiting time (in milliseconds) when the channel is not writable
+     */
+    private static final long WRITABLE_WAIT_MILLI_SECOND = 10;
     /**
      * ClientHandler
      */
     private final DataSendHandler dataSendHandler;
+    /**
+     * event loop group
+     */
+    private final EventLoopGroup eventLoopGroup;
     /**
      * 引导
      */
     private final Bootstrap senderBootstrap;
     /**
-     * 用于管理不同连接池的map，其中每个key对应一个远程地址
+     * number of channels for each receiver
+     */
+    private final int stripeNum;
+    /**
+     * channels, the key is (receiver ID, stripe index)
+     */
+    private final Map<Long, PartyChannel> channelMap;
+    /**
+     * connect locks, the key is (receiver ID, stripe index). Connecting may retry and sleep, so it holds the lock of
+     * the key instead of a bin lock of the channel map.
+     */
+    private final Map<Long, Object> connectLockMap;
+    /**
+     * queued (written but not yet sent) byte length
+     */
+    private final AtomicLong queuedByteLength;
+    /**
+     * max queued byte length
      */
-    public ChannelPoolMap<InetSocketAddress, FixedChannelPool> poolMap;
+    private final AtomicLong maxQueuedByteLength;
 
     /**
      * 构建client。
      */
     public DataSendManager() {
+        this(NettyTransportType.PROTOBUF);
+    }
+
+    /**
+     * 构建client。
+     *
+     * @param transportType transport type.
+     */
+    public DataSendManager(NettyTransportType transportType) {
+        this(transportType, DEFAULT_STRIPE_NUM);
+    }
+
+    /**
+     * 构建client。
+     *
+     * @param transportType transport type.
+     * @param stripeNum     number of channels for each receiver.
+     */
+    public DataSendManager(NettyTransportType transportType, int stripeNum) {
+        MathPreconditions.checkPositive("stripeNum", stripeNum);
+        this.stripeNum = stripeNum;
         dataSendHandler = new DataSendHandler();
+        eventLoopGroup = new NioEventLoopGroup();
         senderBootstrap = new Bootstrap();
         // 非阻塞模式
-        senderBootstrap.group(new NioEventLoopGroup()).channel(NioSocketChannel.class);
-        // 设置channelPool
-        poolMap = new AbstractChannelPoolMap<InetSocketAddress, FixedChannelPool>() {
-            @Override
-            protected FixedChannelPool newPool(InetSocketAddress key) {
-                ChannelPoolHandler handler = new ChannelPoolHandler() {
-
-                    @Override
-                    public void channelReleased(Channel ch) {
-
-                    }
-
-                    @Override
-                    public void channelCreated(Channel channel) {
-                        // 创建连接时添加clientHandler，只有当channel不足时会创建，但不会超过限制的最大channel数
-                        SocketChannel ch = (SocketChannel)channel;
+        senderBootstrap.group(eventLoopGroup)
+            .channel(NioSocketChannel.class)
+            .option(ChannelOption.TCP_NODELAY, true)
+            .option(ChannelOption.SO_KEEPALIVE, true)
+            .option(
+                ChannelOption.WRITE_BUFFER_WATER_MARK,
+                new WriteBufferWaterMark(WRITE_BUFFER_LOW_WATER_MARK, WRITE_BUFFER_HIGH_WATER_MARK)
+            )
+            .handler(new ChannelInitializer<SocketChannel>() {
+                @Override
+                protected void initChannel(SocketChannel ch) {
+                    // framed transport writes encoded frames directly, no encoder is needed
+                    if (transportType == NettyTransportType.PROTOBUF) {
                         ch.pipeline().addLast(new ProtobufVarint32LengthFieldPrepender());
                         ch.pipeline().addLast(new ProtobufEncoder());
-                        ch.pipeline().addLast(dataSendHandler);
                     }
+                    ch.pipeline().addLast(dataSendHandler);
+                }
+            });
+        channelMap = new ConcurrentHashMap<>();
+        connectLockMap = new ConcurrentHashMap<>();
+        queuedByteLength = new AtomicLong();
+        maxQueuedByteLength = new AtomicLong();
+    }
 
-                    @Override
-                    public void channelAcquired(Channel ch) {
-
+    /**
+     * 发送数据。
+     *
+     * @param receiver   接收方。
+     * @param header     数据包头，用于选择连接。
+     * @param message    用protobuf封装的数据包，或者framed transport编码后的数据帧。
+     * @param byteLength 发送字节长度。
+     */
+    public void sendData(NettyParty receiver, DataPacketHeader header, Object message, long byteLength) {
+        Preconditions.checkNotNull(message);
+        PartyChannel partyChannel;
+        try {
+            partyChannel = getPartyChannel(receiver, header);
+        } catch (RuntimeException e) {
+            if (message instanceof ByteBuf frame) {
+                // the frame is not written, release it to avoid leaking pooled direct memory
+                frame.release();
+            }
+            throw e;
+        }
+        Channel channel = partyChannel.channel;
+        // backpressure, make sure queued data are flushed and wait until the channel is writable
+        if (!channel.isWritable()) {
+            channel.flush();
+            synchronized (dataSendHandler) {
+                while (!channel.isWritable() && channel.isActive()) {
+                    try {
+                        dataSendHandler.wait(WRITABLE_WAIT_MILLI_SECOND);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
                     }
-                };
-                // 单个host连接池大小，maxConnections暂时设置成20，设置得过小（如3）运行时会出错。
-                return new FixedChannelPool(senderBootstrap.remoteAddress(key), handler, 20);
+                }
+            }
+        }
+        long currentQueuedByteLength = queuedByteLength.addAndGet(byteLength);
+        maxQueuedByteLength.accumulateAndGet(currentQueuedByteLength, Math::max);
+        partyChannel.lastWriteFuture = channel.write(message).addListener(future -> {
+            queuedByteLength.addAndGet(-byteLength);
+            if (!future.isSuccess()) {
+                LOGGER.error("Failed to send data to {}", receiver, future.cause());
             }
-        };
+        });
+        // coalesce writes, only schedule one flush if there is no pending flush
+        if (partyChannel.flushScheduled.compareAndSet(false, true)) {
+            channel.eventLoop().execute(() -> {
+                partyChannel.flushScheduled.set(false);
+                channel.flush();
+            });
+        }
+    }
+
+    private PartyChannel getPartyChannel(NettyParty receiver, DataPacketHeader header) {
+        int stripeIndex = stripeNum == 1
+            ? 0 : Math.floorMod(31 * Long.hashCode(header.getEncodeTaskId()) + header.getPtoId(), stripeNum);
+        long key = ((long) receiver.getPartyId() << Integer.SIZE) | stripeIndex;
+        PartyChannel partyChannel = channelMap.get(key);
+        if (partyChannel != null) {
+            return partyChannel;
+        }
+        // connect outside the channel map, so that connecting to one receiver does not block senders of other keys
+        synchronized (connectLockMap.computeIfAbsent(key, k -> new Object())) {
+            partyChannel = channelMap.get(key);
+            if (partyChannel == null) {
+                partyChannel = new PartyChannel(connect(receiver));
+                channelMap.put(key, partyChannel);
+            }
+            return partyChannel;
+        }
+    }
+
+    private Channel connect(NettyParty receiver) {
+        InetSocketAddress remoteAddress = new InetSocketAddress(receiver.getHost(), receiver.getPort());
+        for (int retry = 0; retry < MAX_CONNECT_RETRY; retry++) {
+            ChannelFuture channelFuture = senderBootstrap.connect(remoteAddress).awaitUninterruptibly();
+            if (channelFuture.isSuccess()) {
+                return channelFuture.channel();
+            }
+            try {
+                Thread.sleep(CONNECT_RETRY_WAIT_MILLI_SECOND);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        throw new IllegalStateException("Cannot connect to " + receiver);
     }
 
     /**
-     * 发送数据。
+     * Flushes all channels. This should be called at round boundaries, e.g., before waiting for data.
+     */
+    public void flush() {
+        channelMap.values().forEach(partyChannel -> partyChannel.channel.flush());
+    }
+
+    /**
+     * Gets the queued (written but not yet sent) byte length.
      *
-     * @param receiver        接收方。
-     * @param dataPacketProto 用protobuf封装的数据包。
-     */
-    public void sendData(NettyParty receiver, NettyRpcProtobuf.DataPacketProto dataPacketProto) {
-        // 首先获取receiver主机对应的channelPool
-        Preconditions.checkNotNull(dataPacketProto);
-        // poolMap.get永远会返回一个pool。如果key对应的pool还不存在，那会新建一个pool并返回
-        SimpleChannelPool simpleChannelPool = this.poolMap.get(
-            new InetSocketAddress(receiver.getHost(), receiver.getPort())
-        );
-        // 从连接池中尝试获取一个channel
-        Future<Channel> f = simpleChannelPool.acquire();
-        f.addListener((FutureListener<Channel>)futureChannel -> {
-            if (futureChannel.isSuccess()) {
-                Channel ch = futureChannel.getNow();
-                ch.writeAndFlush(dataPacketProto);
-                simpleChannelPool.release(ch);
+     * @return queued byte length.
+     */
+    public long getQueuedByteLength() {
+        return queuedByteLength.get();
+    }
+
+    /**
+     * Gets the max queued byte length.
+     *
+     * @return max queued byte length.
+     */
+    public long getMaxQueuedByteLength() {
+        return maxQueuedByteLength.get();
+    }
+
+    /**
+     * Closes all channels after all written data are sent.
+     */
+    public void close() {
+        for (PartyChannel partyChannel : channelMap.values()) {
+            partyChannel.channel.flush();
+            if (partyChannel.lastWriteFuture != null) {
+                partyChannel.lastWriteFuture.awaitUninterruptibly();
             }
-        });
+            partyChannel.channel.close().awaitUninterruptibly();
+        }
+        channelMap.clear();
+        connectLockMap.clear();
+        eventLoopGroup.shutdownGracefully();
+    }
+
+    /**
+     * persistent channel to a receiver.
+     */
+    private static class PartyChannel {
+        /**
+         * channel
+         */
+        private final Channel channel;
+        /**
+         * whether there is a pending flush
+         */
+        private final AtomicBoolean flushScheduled;
+        /**
+         * future for the last write
+         */
+        private volatile ChannelFuture lastWriteFuture;
+
+        PartyChannel(Channel channel) {
+            this.channel = channel;
+            flushScheduled = new AtomicBoolean(false);
+            lastWriteFuture = null;
+        }
     }
 }
@@ -0,0 +1,256 @@
+package edu.alibaba.mpc4j.common.rpc.impl.netty;
+
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import edu.alibaba.mpc4j.common.rpc.utils.PayloadType;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codec for the framed Netty transport. A frame has the following format:
+ * <li>frameLength (int): the byte length of the frame, excluding this field.</li>
+ * <li>header (32 bytes): encodeTaskId, ptoId, stepId, extraInfo, senderId, receiverId.</li>
+ * <li>payloadType (byte): the payload type.</li>
+ * <li>num (int): the number of payload entries.</li>
+ * <li>lengths: one int for EQUAL_SIZE payload, one int per entry for NORMAL / SINGLETON payload, none for EMPTY.</li>
+ * <li>data: raw payload entries, one after another.</li>
+ * <p>
+ * The frame is written into pooled direct buffers of bounded size, combined by a composite buffer. Netty then writes
+ * all components by a gathering write (writev), so that each payload byte is copied exactly once before reaching the
+ * socket. The receiver reads the frame directly into payload entries without any intermediate object.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2024/7/1
+ */
+class FramedDataPacketCodec {
+    /**
+     * byte length for the frame length field
+     */
+    static final int FRAME_LENGTH_FIELD_BYTE_LENGTH = Integer.BYTES;
+    /**
+     * byte length for the header
+     */
+    private static final int HEADER_BYTE_LENGTH = Long.BYTES + Integer.BYTES + Integer.BYTES + Long.BYTES
+        + Integer.BYTES + Integer.BYTES;
+    /**
+     * byte length for the payload type and the number of entries
+     */
+    private static final int TYPE_BYTE_LENGTH = Byte.BYTES + Integer.BYTES;
+    /**
+     * max byte length for each direct buffer component
+     */
+    private static final int MAX_COMPONENT_BYTE_LENGTH = 1 << 20;
+    /**
+     * max frame length
+     */
+    static final int MAX_FRAME_LENGTH = Integer.MAX_VALUE - FRAME_LENGTH_FIELD_BYTE_LENGTH;
+
+    private FramedDataPacketCodec() {
+        // empty
+    }
+
+    /**
+     * Encodes the data packet into a frame. The data is copied when encoding, so the caller can modify the payload
+     * after this method returns.
+     *
+     * @param allocator  allocator.
+     * @param dataPacket data packet.
+     * @return frame.
+     */
+    static ByteBuf encode(ByteBufAllocator allocator, DataPacket dataPacket) {
+        PayloadType payloadType = dataPacket.getPayloadType();
+        List<byte[]> payload = dataPacket.getPayload();
+        int num = payload.size();
+        // compute the frame length
+        long lengthFieldByteLength = switch (payloadType) {
+            case EMPTY -> 0;
+            case EQUAL_SIZE -> Integer.BYTES;
+            case NORMAL, SINGLETON -> (long) Integer.BYTES * num;
+        };
+        long dataByteLength = payload.stream().mapToLong(data -> data.length).sum();
+        long frameLength = HEADER_BYTE_LENGTH + TYPE_BYTE_LENGTH + lengthFieldByteLength + dataByteLength;
+        MathPreconditions.checkLessOrEqual("frameLength", frameLength, MAX_FRAME_LENGTH);
+        int componentNum = (int) ((FRAME_LENGTH_FIELD_BYTE_LENGTH + frameLength + MAX_COMPONENT_BYTE_LENGTH - 1)
+            / MAX_COMPONENT_BYTE_LENGTH);
+        // reserve extra components in case primitive values are written into a new component
+        CompositeByteBuf frame = allocator.compositeDirectBuffer(componentNum + 2);
+        try {
+            ComponentWriter writer = new ComponentWriter(allocator, frame, FRAME_LENGTH_FIELD_BYTE_LENGTH + frameLength);
+            writer.writeInt((int) frameLength);
+            // header
+            DataPacketHeader header = dataPacket.getHeader();
+            writer.writeLong(header.getEncodeTaskId());
+            writer.writeInt(header.getPtoId());
+            writer.writeInt(header.getStepId());
+            writer.writeLong(header.getExtraInfo());
+            writer.writeInt(header.getSenderId());
+            writer.writeInt(header.getReceiverId());
+            // type
+            writer.writeByte(payloadType.ordinal());
+            writer.writeInt(num);
+            // lengths
+            switch (payloadType) {
+                case EMPTY:
+                    break;
+                case EQUAL_SIZE:
+                    writer.writeInt(dataPacket.getEqualLength());
+                    break;
+                case NORMAL:
+                case SINGLETON:
+                    for (byte[] data : payload) {
+                        writer.writeInt(data.length);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Invalid " + PayloadType.class.getSimpleName() + ": " + payloadType);
+            }
+            // data
+            for (byte[] data : payload) {
+                writer.writeBytes(data);
+            }
+            writer.finish();
+            return frame;
+        } catch (RuntimeException e) {
+            frame.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Decodes a frame (with the frame length field stripped) into a data packet. The frame is not released.
+     *
+     * @param frame frame.
+     * @return data packet.
+     */
+    static DataPacket decode(ByteBuf frame) {
+        // header
+        long encodeTaskId = frame.readLong();
+        int ptoId = frame.readInt();
+        int stepId = frame.readInt();
+        long extraInfo = frame.readLong();
+        int senderId = frame.readInt();
+        int receiverId = frame.readInt();
+        DataPacketHeader header = new DataPacketHeader(encodeTaskId, ptoId, stepId, extraInfo, senderId, receiverId);
+        // type
+        PayloadType payloadType = PayloadType.values()[frame.readByte()];
+        int num = frame.readInt();
+        MathPreconditions.checkNonNegative("num", num);
+        List<byte[]> payload = new ArrayList<>(num);
+        switch (payloadType) {
+            case EMPTY:
+                break;
+            case EQUAL_SIZE:
+                int length = frame.readInt();
+                for (int index = 0; index < num; index++) {
+                    byte[] data = new byte[length];
+                    frame.readBytes(data);
+                    payload.add(data);
+                }
+                break;
+            case NORMAL:
+            case SINGLETON:
+                int[] lengths = new int[num];
+                for (int index = 0; index < num; index++) {
+                    lengths[index] = frame.readInt();
+                }
+                for (int index = 0; index < num; index++) {
+                    byte[] data = new byte[lengths[index]];
+                    frame.readBytes(data);
+                    payload.add(data);
+                }
+                break;
+            default:
+                throw new IllegalStateException("Invalid " + PayloadType.class.getSimpleName() + ": " + payloadType);
+        }
+        return DataPacket.fromByteArrayList(header, payload);
+    }
+
+    /**
+     * Writes data into bounded-size direct buffer components of a composite buffer.
+     */
+    private static class ComponentWriter {
+        /**
+         * allocator
+         */
+        private final ByteBufAllocator allocator;
+        /**
+         * composite buffer
+         */
+        private final CompositeByteBuf frame;
+        /**
+         * total byte length
+         */
+        private final long totalByteLength;
+        /**
+         * written byte length
+         */
+        private long writtenByteLength;
+        /**
+         * current component
+         */
+        private ByteBuf current;
+
+        ComponentWriter(ByteBufAllocator allocator, CompositeByteBuf frame, long totalByteLength) {
+            this.allocator = allocator;
+            this.frame = frame;
+            this.totalByteLength = totalByteLength;
+            writtenByteLength = 0;
+            current = null;
+        }
+
+        private void ensureWritable(int byteLength) {
+            if (current != null && current.writableBytes() >= byteLength) {
+                return;
+            }
+            if (current != null) {
+                frame.addComponent(true, current);
+            }
+            // primitive values never cross the component boundary, so a new component has at least byteLength space
+            long remainByteLength = totalByteLength - writtenByteLength;
+            int capacity = (int) Math.max(byteLength, Math.min(remainByteLength, MAX_COMPONENT_BYTE_LENGTH));
+            current = allocator.directBuffer(capacity, capacity);
+        }
+
+        void writeByte(int value) {
+            ensureWritable(Byte.BYTES);
+            current.writeByte(value);
+            writtenByteLength += Byte.BYTES;
+        }
+
+        void writeInt(int value) {
+            ensureWritable(Integer.BYTES);
+            current.writeInt(value);
+            writtenByteLength += Integer.BYTES;
+        }
+
+        void writeLong(long value) {
+            ensureWritable(Long.BYTES);
+            current.writeLong(value);
+            writtenByteLength += Long.BYTES;
+        }
+
+        void writeBytes(byte[] data) {
+            int offset = 0;
+            while (offset < data.length) {
+                ensureWritable(1);
+                int byteLength = Math.min(current.writableBytes(), data.length - offset);
+                current.writeBytes(data, offset, byteLength);
+                offset += byteLength;
+                writtenByteLength += byteLength;
+            }
+        }
+
+        void finish() {
+            if (current != null) {
+                frame.addComponent(true, current);
+                current = null;
+            }
+        }
+    }
+}
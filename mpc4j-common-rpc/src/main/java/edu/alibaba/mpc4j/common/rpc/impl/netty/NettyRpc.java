@@ -15,6 +15,8 @@ import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
 import edu.alibaba.mpc4j.common.rpc.utils.PayloadType;
 import edu.alibaba.mpc4j.common.tool.utils.IntUtils;
 import edu.alibaba.mpc4j.common.tool.utils.SerializeUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,7 +25,9 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -42,6 +46,14 @@ public class NettyRpc implements Rpc {
      * 自己的参与方信息
      */
     private final NettyParty ownParty;
+    /**
+     * transport type
+     */
+    private final NettyTransportType transportType;
+    /**
+     * number of channels for each party
+     */
+    private final int stripeNum;
     /**
      * Own party's ID
      */
@@ -65,15 +77,15 @@ public class NettyRpc implements Rpc {
     /**
      * 数据包数量
      */
-    private long dataPacketNum;
+    private final AtomicLong dataPacketNum;
     /**
      * 负载字节长度
      */
-    private long payloadByteLength;
+    private final AtomicLong payloadByteLength;
     /**
      * 发送字节长度
      */
-    private long sendByteLength;
+    private final AtomicLong sendByteLength;
 
     /**
      * 构建NettyRPC。
@@ -81,24 +93,77 @@ public class NettyRpc implements Rpc {
      * @param ownParty 参与方信息。
      */
     public NettyRpc(NettyParty ownParty, Set<NettyParty> partySet) {
+        this(ownParty, partySet, NettyTransportType.PROTOBUF);
+    }
+
+    /**
+     * 构建NettyRPC。
+     *
+     * @param ownParty      参与方信息。
+     * @param partySet      参与方集合。
+     * @param transportType transport type. All parties must use the same transport type.
+     */
+    public NettyRpc(NettyParty ownParty, Set<NettyParty> partySet, NettyTransportType transportType) {
+        this(ownParty, partySet, transportType, DataSendManager.DEFAULT_STRIPE_NUM);
+    }
+
+    /**
+     * 构建NettyRPC。
+     *
+     * @param ownParty      参与方信息。
+     * @param partySet      参与方集合。
+     * @param transportType transport type. All parties must use the same transport type.
+     * @param stripeNum     number of channels for each party. Data packets with the same protocol ID and task ID are
+     *                      always sent in order through the same channel.
+     */
+    public NettyRpc(NettyParty ownParty, Set<NettyParty> partySet, NettyTransportType transportType, int stripeNum) {
         // 所有参与方的数量必须大于1
         Preconditions.checkArgument(partySet.size() > 1, "Party set size must be greater than 1");
         // 参与方自身必须在所有参与方之中
         Preconditions.checkArgument(partySet.contains(ownParty), "Party set must contain own party");
         this.ownParty = ownParty;
+        this.transportType = transportType;
+        this.stripeNum = stripeNum;
         ownPartyId = ownParty.getPartyId();
         // 按照参与方索引值，将参与方信息插入到ID映射中
         partyIdHashMap = new HashMap<>();
         partySet.forEach(party -> partyIdHashMap.put(party.getPartyId(), party));
-        dataPacketNum = 0;
-        payloadByteLength = 0;
-        sendByteLength = 0;
+        dataPacketNum = new AtomicLong();
+        payloadByteLength = new AtomicLong();
+        sendByteLength = new AtomicLong();
         dataReceiveThread = null;
         // 用于父线程和server子线程的同步，parties设置成2
         cyclicBarrier = new CyclicBarrier(2);
         dataPacketBuffer = new DataPacketBuffer();
     }
 
+    /**
+     * Gets the transport type.
+     *
+     * @return transport type.
+     */
+    public NettyTransportType getTransportType() {
+        return transportType;
+    }
+
+    /**
+     * Gets the queued (written but not yet sent) byte length.
+     *
+     * @return queued byte length.
+     */
+    public long getQueuedByteLength() {
+        return dataSendManager == null ? 0 : dataSendManager.getQueuedByteLength();
+    }
+
+    /**
+     * Gets the max queued byte length since connected.
+     *
+     * @return max queued byte length.
+     */
+    public long getMaxQueuedByteLength() {
+        return dataSendManager == null ? 0 : dataSendManager.getMaxQueuedByteLength();
+    }
+
     @Override
     public Party ownParty() {
         return ownParty;
@@ -118,10 +183,10 @@ public class NettyRpc implements Rpc {
     @Override
     public void connect() {
         // 先开启数据接收服务
-        dataReceiveThread = new DataReceiveThread(ownParty, cyclicBarrier, dataPacketBuffer);
+        dataReceiveThread = new DataReceiveThread(ownParty, cyclicBarrier, dataPacketBuffer, transportType);
         dataReceiveThread.start();
         // 再开启数据发送服务
-        dataSendManager = new DataSendManager();
+        dataSendManager = new DataSendManager(transportType, stripeNum);
         partyIdHashMap.keySet().stream().sorted().forEach(otherPartyId -> {
             if (otherPartyId < ownPartyId) {
                 // 如果对方排序比自己小，则自己是client，先给对方发送连接信息
@@ -182,6 +247,15 @@ public class NettyRpc implements Rpc {
             partyIdHashMap.containsKey(header.getReceiverId()),
             "Party set does not contain Receiver ID = %s", header.getReceiverId()
         );
+        if (transportType == NettyTransportType.FRAMED) {
+            // encode into pooled direct buffers, payload is copied only once
+            ByteBuf frame = FramedDataPacketCodec.encode(PooledByteBufAllocator.DEFAULT, dataPacket);
+            payloadByteLength.addAndGet(payload.stream().mapToLong(data -> data.length).sum());
+            sendByteLength.addAndGet(frame.readableBytes());
+            dataPacketNum.incrementAndGet();
+            dataSendManager.sendData(partyIdHashMap.get(header.getReceiverId()), header, frame, frame.readableBytes());
+            return;
+        }
         // package header
         HeaderProto headerProto = HeaderProto.newBuilder()
             .setEncodeTaskId(header.getEncodeTaskId())
@@ -224,10 +298,11 @@ public class NettyRpc implements Rpc {
             .setTypeProto(typeProto)
             .setPayloadProto(payloadProto)
             .build();
-        payloadByteLength += dataPacket.getPayload().stream().mapToLong(data -> data.length).sum();
-        sendByteLength += dataPacketProto.getSerializedSize();
-        dataPacketNum++;
-        dataSendManager.sendData(partyIdHashMap.get(header.getReceiverId()), dataPacketProto);
+        int serializedSize = dataPacketProto.getSerializedSize();
+        payloadByteLength.addAndGet(dataPacket.getPayload().stream().mapToLong(data -> data.length).sum());
+        sendByteLength.addAndGet(serializedSize);
+        dataPacketNum.incrementAndGet();
+        dataSendManager.sendData(partyIdHashMap.get(header.getReceiverId()), header, dataPacketProto, serializedSize);
     }
 
     @Override
@@ -239,6 +314,8 @@ public class NettyRpc implements Rpc {
             partyIdHashMap.containsKey(header.getSenderId()),
             "Party set does not contain Sender ID = %s", header.getSenderId()
         );
+        // round boundary, flush all written data before waiting
+        dataSendManager.flush();
         try {
             // 尝试从缓存区中读取数据
             return dataPacketBuffer.take(header);
@@ -248,8 +325,22 @@ public class NettyRpc implements Rpc {
         }
     }
 
+    @Override
+    public CompletableFuture<DataPacket> receiveAsync(DataPacketHeader header) {
+        Preconditions.checkArgument(
+            ownPartyId == header.getReceiverId(), "Receiver ID must be %s", ownPartyId
+        );
+        Preconditions.checkArgument(
+            partyIdHashMap.containsKey(header.getSenderId()),
+            "Party set does not contain Sender ID = %s", header.getSenderId()
+        );
+        dataSendManager.flush();
+        return dataPacketBuffer.takeAsync(header);
+    }
+
     @Override
     public DataPacket receiveAny(int ptoId) {
+        dataSendManager.flush();
         try {
             return dataPacketBuffer.take(ownPartyId, ptoId);
         } catch (InterruptedException e) {
@@ -259,24 +350,24 @@ public class NettyRpc implements Rpc {
 
     @Override
     public long getPayloadByteLength() {
-        return payloadByteLength;
+        return payloadByteLength.get();
     }
 
     @Override
     public long getSendByteLength() {
-        return sendByteLength;
+        return sendByteLength.get();
     }
 
     @Override
     public long getSendDataPacketNum() {
-        return dataPacketNum;
+        return dataPacketNum.get();
     }
 
     @Override
     public void reset() {
-        payloadByteLength = 0;
-        sendByteLength = 0;
-        dataPacketNum = 0;
+        payloadByteLength.set(0);
+        sendByteLength.set(0);
+        dataPacketNum.set(0);
     }
 
     @Override
@@ -344,6 +435,8 @@ public class NettyRpc implements Rpc {
                 send(DataPacket.fromByteArrayList(serverFinishHeader, new LinkedList<>()));
             }
         });
+        // 关闭数据发送服务
+        dataSendManager.close();
         try {
             // 关闭数据接收服务
             dataReceiveThread.close();
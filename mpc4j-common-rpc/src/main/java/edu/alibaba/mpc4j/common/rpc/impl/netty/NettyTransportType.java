@@ -0,0 +1,18 @@
+package edu.alibaba.mpc4j.common.rpc.impl.netty;
+
+/**
+ * Netty transport type, i.e., how data packets are encoded on the wire.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/1
+ */
+public enum NettyTransportType {
+    /**
+     * data packets are encoded as protobuf messages.
+     */
+    PROTOBUF,
+    /**
+     * data packets are encoded as a compact binary header followed by raw payload frames.
+     */
+    FRAMED,
+}
@@ -1,8 +1,11 @@
 package edu.alibaba.mpc4j.common.rpc.main;
 
+import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
 import edu.alibaba.mpc4j.common.rpc.RpcPropertiesUtils;
+import edu.alibaba.mpc4j.common.rpc.RpcPropertiesUtils.RpcType;
+import edu.alibaba.mpc4j.common.tool.utils.PropertiesUtils;
 import org.apache.commons.lang3.time.StopWatch;
 
 import java.io.File;
@@ -21,7 +24,11 @@ public abstract class AbstractMainTwoPartyPto implements MainTwoPartyPto {
      */
     protected final StopWatch stopWatch;
     /**
-     * own RPC
+     * own name
+     */
+    protected final String ownName;
+    /**
+     * own RPC, null if rpc_type = memory, in which case the memory RPCs are created in run()
      */
     protected final Rpc ownRpc;
     /**
@@ -45,12 +52,56 @@ public abstract class AbstractMainTwoPartyPto implements MainTwoPartyPto {
             boolean success = inputFolder.mkdir();
             assert success;
         }
-        // read RPC
-        ownRpc = RpcPropertiesUtils.readNettyRpcWithOwnName(properties, ownName, "server", "client");
+        this.ownName = ownName;
+        // read RPC, there is no need to create the Netty RPC if both parties run in this process with memory RPC
+        if (RpcPropertiesUtils.readRpcType(properties) == RpcType.MEMORY) {
+            ownRpc = null;
+        } else {
+            ownRpc = RpcPropertiesUtils.readNettyRpcWithOwnName(properties, ownName, "server", "client");
+        }
+    }
+
+    /**
+     * Runs the main 2PC protocol. If rpc_type = memory, both parties run in this process with memory RPC and the own
+     * name is ignored. Otherwise, the party with the own name runs with Netty RPC.
+     *
+     * @param properties properties.
+     * @param ownName    own name.
+     * @param creator    the main 2PC protocol creator.
+     * @throws IOException          for IOException.
+     * @throws MpcAbortException    for MPC Abort Exception.
+     * @throws InterruptedException if interrupted when waiting for the parties.
+     */
+    public static void run(Properties properties, String ownName, MainTwoPartyPtoCreator creator)
+        throws IOException, MpcAbortException, InterruptedException {
+        RpcType rpcType = RpcPropertiesUtils.readRpcType(properties);
+        switch (rpcType) {
+            case NETTY:
+                creator.create(properties, ownName).runNetty();
+                break;
+            case MEMORY:
+                String party1Name = PropertiesUtils.readString(properties, "server_name");
+                String party2Name = PropertiesUtils.readString(properties, "client_name");
+                MainTwoPartyPto party1Main = creator.create(properties, party1Name);
+                MainTwoPartyPto party2Main = creator.create(properties, party2Name);
+                Rpc[] rpcs = RpcPropertiesUtils.readMemoryRpcs(properties, 2);
+                MainParty1Thread party1Thread = new MainParty1Thread(rpcs[0], rpcs[1].ownParty(), party1Main);
+                MainParty2Thread party2Thread = new MainParty2Thread(rpcs[1], rpcs[0].ownParty(), party2Main);
+                party1Thread.start();
+                party2Thread.start();
+                party1Thread.join();
+                party2Thread.join();
+                Preconditions.checkState(party1Thread.getSuccess(), "Party 1 failed");
+                Preconditions.checkState(party2Thread.getSuccess(), "Party 2 failed");
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid " + RpcType.class.getSimpleName() + ": " + rpcType.name());
+        }
     }
 
     @Override
     public void runNetty() throws IOException, MpcAbortException {
+        Preconditions.checkState(ownRpc != null, "Netty RPC is not created since rpc_type = memory");
         if (ownRpc.ownParty().getPartyId() == 0) {
             runParty1(ownRpc, ownRpc.getParty(1));
         } else if (ownRpc.ownParty().getPartyId() == 1) {
@@ -0,0 +1,23 @@
+package edu.alibaba.mpc4j.common.rpc.main;
+
+import java.io.IOException;
+import java.util.Properties;
+
+/**
+ * main 2PC protocol creator, usually the constructor of the main 2PC protocol.
+ *
+ * @author Weiran Liu
+ * @date 2024/8/8
+ */
+@FunctionalInterface
+public interface MainTwoPartyPtoCreator {
+    /**
+     * Creates the main 2PC protocol.
+     *
+     * @param properties properties.
+     * @param ownName    own name.
+     * @return the main 2PC protocol.
+     * @throws IOException for IOException.
+     */
+    MainTwoPartyPto create(Properties properties, String ownName) throws IOException;
+}
@@ -7,6 +7,8 @@ import edu.alibaba.mpc4j.common.rpc.Rpc;
 import edu.alibaba.mpc4j.common.rpc.desc.PtoDesc;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketSink;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketSource;
 import edu.alibaba.mpc4j.common.tool.EnvType;
 import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import org.apache.commons.lang3.StringUtils;
@@ -19,6 +21,7 @@ import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Abstract multi-party protocol.
@@ -112,6 +115,10 @@ public abstract class AbstractMultiPartyPto implements MultiPartyPto {
      * parallel computing
      */
     protected boolean parallel;
+    /**
+     * simulated waiting time (in ns) of the RPC when logging the last phase / step
+     */
+    private long lastSimulatedDelay;
 
     protected AbstractMultiPartyPto(PtoDesc ptoDesc, MultiPartyPtoConfig config, Rpc rpc, Party... otherParties) {
         // verify other parties are all valid.
@@ -136,6 +143,7 @@ public abstract class AbstractMultiPartyPto implements MultiPartyPto {
         receivingTimestamps = new long[partyNum];
         partyState = PartyState.NON_INITIALIZED;
         envType = config.getEnvType();
+        lastSimulatedDelay = getSimulatedDelay();
         secureRandom = new SecureRandom();
         parallel = false;
         displayLogLevel = DEFAULT_DISPLAY_LOG_LEVEL;
@@ -345,6 +353,44 @@ public abstract class AbstractMultiPartyPto implements MultiPartyPto {
         return receiveMsgPayload;
     }
 
+    /**
+     * Opens a stream to send data to the given party in fixed-size chunks. Use this instead of
+     * {@link #sendEqualSizePayload(int, Party, List)} if the payload is large, so that the payload needs not to be
+     * materialized in memory.
+     *
+     * @param stepId       step ID.
+     * @param receiveParty party to receive payload.
+     * @return the sink of the stream.
+     */
+    protected DataPacketSink openSendStream(int stepId, Party receiveParty) {
+        int sendPartyId = ownParty().getPartyId();
+        int receivePartyId = receiveParty.getPartyId();
+        DataPacketHeader header = new DataPacketHeader(
+            encodeTaskId, getPtoDesc().getPtoId(), stepId, sendingTimestamps[receivePartyId], sendPartyId, receivePartyId
+        );
+        DataPacketSink sink = rpc.openSendStream(header);
+        sendingTimestamps[receivePartyId]++;
+        return sink;
+    }
+
+    /**
+     * Opens a stream to receive data from the given party in fixed-size chunks.
+     *
+     * @param stepId    step ID.
+     * @param sendParty party to send payload.
+     * @return the source of the stream.
+     */
+    protected DataPacketSource openReceiveStream(int stepId, Party sendParty) {
+        int sendPartyId = sendParty.getPartyId();
+        int receivePartyId = ownParty().getPartyId();
+        DataPacketHeader header = new DataPacketHeader(
+            encodeTaskId, getPtoDesc().getPtoId(), stepId, receivingTimestamps[sendPartyId], sendPartyId, receivePartyId
+        );
+        DataPacketSource source = rpc.openReceiveStream(header);
+        receivingTimestamps[sendPartyId]++;
+        return source;
+    }
+
     @Override
     public void setDisplayLogLevel(int displayLogLevel) {
         // display_log_level >= 0
@@ -409,6 +455,7 @@ public abstract class AbstractMultiPartyPto implements MultiPartyPto {
     }
 
     protected void logPhaseInfo(PtoState ptoState) {
+        lastSimulatedDelay = getSimulatedDelay();
         switch (ptoState) {
             case INIT_BEGIN:
                 info("{}{} {} Init begin", ptoBeginLogPrefix, getPtoDesc().getPtoName(), ownParty().getPartyName());
@@ -428,6 +475,7 @@ public abstract class AbstractMultiPartyPto implements MultiPartyPto {
     }
 
     protected void logPhaseInfo(PtoState ptoState, String description) {
+        lastSimulatedDelay = getSimulatedDelay();
         switch (ptoState) {
             case INIT_BEGIN:
                 info(
@@ -463,15 +511,15 @@ public abstract class AbstractMultiPartyPto implements MultiPartyPto {
             : "step index must be in range [0, " + totalStepIndex + "]: " + stepIndex;
         switch (ptoState) {
             case INIT_STEP:
-                info("{}{} {} init Step {}/{} ({}ms)",
+                info("{}{} {} init Step {}/{} ({})",
                     ptoStepLogPrefix, getPtoDesc().getPtoName(), ownParty().getPartyName(),
-                    stepIndex, totalStepIndex, time
+                    stepIndex, totalStepIndex, formatStepTime(time)
                 );
                 break;
             case PTO_STEP:
-                info("{}{} {} Step {}/{} ({}ms)",
+                info("{}{} {} Step {}/{} ({})",
                     ptoStepLogPrefix, getPtoDesc().getPtoName(), ownParty().getPartyName(),
-                    stepIndex, totalStepIndex, time
+                    stepIndex, totalStepIndex, formatStepTime(time)
                 );
                 break;
             default:
@@ -484,15 +532,15 @@ public abstract class AbstractMultiPartyPto implements MultiPartyPto {
             : "step index must be in range [0, " + totalStepIndex + "]: " + stepIndex;
         switch (ptoState) {
             case INIT_STEP:
-                info("{}{} {} init Step {}/{} ({}ms): {}",
+                info("{}{} {} init Step {}/{} ({}): {}",
                     ptoStepLogPrefix, getPtoDesc().getPtoName(), ownParty().getPartyName(),
-                    stepIndex, totalStepIndex, time, description
+                    stepIndex, totalStepIndex, formatStepTime(time), description
                 );
                 break;
             case PTO_STEP:
-                info("{}{} {} Step {}/{} ({}ms): {}",
+                info("{}{} {} Step {}/{} ({}): {}",
                     ptoStepLogPrefix, getPtoDesc().getPtoName(), ownParty().getPartyName(),
-                    stepIndex, totalStepIndex, time, description
+                    stepIndex, totalStepIndex, formatStepTime(time), description
                 );
                 break;
             default:
@@ -506,15 +554,15 @@ public abstract class AbstractMultiPartyPto implements MultiPartyPto {
             : "current step index must be in range [0, " + totalSubStepIndex + "]: " + stepIndex;
         switch (ptoState) {
             case INIT_STEP:
-                info("{}{} {} init Step {}.{}/{}.{} ({}ms)",
+                info("{}{} {} init Step {}.{}/{}.{} ({})",
                     ptoStepLogPrefix, getPtoDesc().getPtoName(), ownParty().getPartyName(),
-                    stepIndex, subStepIndex, stepIndex, totalSubStepIndex, time
+                    stepIndex, subStepIndex, stepIndex, totalSubStepIndex, formatStepTime(time)
                 );
                 break;
             case PTO_STEP:
-                info("{}{} {} Step {}.{}/{}.{} ({}ms)",
+                info("{}{} {} Step {}.{}/{}.{} ({})",
                     ptoStepLogPrefix, getPtoDesc().getPtoName(), ownParty().getPartyName(),
-                    stepIndex, subStepIndex, stepIndex, totalSubStepIndex, time
+                    stepIndex, subStepIndex, stepIndex, totalSubStepIndex, formatStepTime(time)
                 );
                 break;
             default:
@@ -529,15 +577,15 @@ public abstract class AbstractMultiPartyPto implements MultiPartyPto {
             : "current step index must be in range [0, " + totalSubStepIndex + "]: " + stepIndex;
         switch (ptoState) {
             case INIT_STEP:
-                info("{}{} {} init Step {}.{}/{}.{} ({}ms): {}",
+                info("{}{} {} init Step {}.{}/{}.{} ({}): {}",
                     ptoStepLogPrefix, getPtoDesc().getPtoName(), ownParty().getPartyName(),
-                    stepIndex, subStepIndex, stepIndex, totalSubStepIndex, time, description
+                    stepIndex, subStepIndex, stepIndex, totalSubStepIndex, formatStepTime(time), description
                 );
                 break;
             case PTO_STEP:
-                info("{}{} {} Step {}.{}/{}.{} ({}ms): {}",
+                info("{}{} {} Step {}.{}/{}.{} ({}): {}",
                     ptoStepLogPrefix, getPtoDesc().getPtoName(), ownParty().getPartyName(),
-                    stepIndex, subStepIndex, stepIndex, totalSubStepIndex, time, description
+                    stepIndex, subStepIndex, stepIndex, totalSubStepIndex, formatStepTime(time), description
                 );
                 break;
             default:
@@ -545,6 +593,27 @@ public abstract class AbstractMultiPartyPto implements MultiPartyPto {
         }
     }
 
+    /**
+     * Formats the step time. If the RPC simulates the network, the simulated wall-clock time is also reported,
+     * i.e., the step time plus the simulated waiting time since the last logged phase / step.
+     *
+     * @param time step time (in ms).
+     * @return formatted step time.
+     */
+    private String formatStepTime(long time) {
+        if (rpc.isNetworkSimulated()) {
+            long simulatedDelay = rpc.getSimulatedDelay();
+            long simulatedTime = time + TimeUnit.NANOSECONDS.toMillis(simulatedDelay - lastSimulatedDelay);
+            lastSimulatedDelay = simulatedDelay;
+            return time + "ms, simulated " + simulatedTime + "ms";
+        }
+        return time + "ms";
+    }
+
+    private long getSimulatedDelay() {
+        return rpc.getSimulatedDelay();
+    }
+
     /**
      * Log a message at the INFO level if {@code logLevel} is not greater than {@code DISPLAY_LOG_LEVEL}.
      *
@@ -3,6 +3,7 @@ package edu.alibaba.mpc4j.common.rpc.pto;
 import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
 import edu.alibaba.mpc4j.common.rpc.RpcManager;
+import edu.alibaba.mpc4j.common.rpc.impl.memory.MemoryNetworkConfig;
 import edu.alibaba.mpc4j.common.rpc.impl.memory.MemoryRpcManager;
 import edu.alibaba.mpc4j.common.rpc.main.MainParty1Thread;
 import edu.alibaba.mpc4j.common.rpc.main.MainParty2Thread;
@@ -16,6 +17,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
  * abstract two-party protocol using MemoryRpc. This is used for creating test cases.
@@ -43,10 +45,20 @@ public abstract class AbstractTwoPartyMemoryRpcPto {
     protected final Rpc secondRpc;
 
     public AbstractTwoPartyMemoryRpcPto(String name) {
+        this(name, null);
+    }
+
+    /**
+     * Creates the test case with the simulated network.
+     *
+     * @param name                name.
+     * @param memoryNetworkConfig simulated network config, null if data packets are delivered instantly.
+     */
+    public AbstractTwoPartyMemoryRpcPto(String name, MemoryNetworkConfig memoryNetworkConfig) {
         Preconditions.checkArgument(StringUtils.isNotBlank(name));
         // We cannot use NettyRPC in the test case since it needs multi-thread connect / disconnect.
         // In other word, we cannot connect / disconnect NettyRpc in @Before / @After, respectively.
-        RpcManager rpcManager = new MemoryRpcManager(2);
+        RpcManager rpcManager = new MemoryRpcManager(2, memoryNetworkConfig);
         firstRpc = rpcManager.getRpc(0);
         secondRpc = rpcManager.getRpc(1);
     }
@@ -73,6 +85,10 @@ public abstract class AbstractTwoPartyMemoryRpcPto {
             secondRpc.ownParty().getPartyName(), secondPartyByteLength,
             time
         );
+        if (firstRpc.isNetworkSimulated() && secondRpc.isNetworkSimulated()) {
+            long simulatedDelay = Math.max(firstRpc.getSimulatedDelay(), secondRpc.getSimulatedDelay());
+            LOGGER.info("simulated network delay up to now = {}ms", TimeUnit.NANOSECONDS.toMillis(simulatedDelay));
+        }
     }
 
     protected void runMain(MainTwoPartyPto party1Main, MainTwoPartyPto party2Main) throws InterruptedException {
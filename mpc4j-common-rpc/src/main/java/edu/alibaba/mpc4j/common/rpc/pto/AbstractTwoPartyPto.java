@@ -3,6 +3,8 @@ package edu.alibaba.mpc4j.common.rpc.pto;
 import edu.alibaba.mpc4j.common.rpc.Party;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
 import edu.alibaba.mpc4j.common.rpc.desc.PtoDesc;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketSink;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketSource;
 
 import java.util.List;
 
@@ -81,6 +83,26 @@ public abstract class AbstractTwoPartyPto extends AbstractMultiPartyPto implemen
         return receiveEqualSizePayload(stepId, otherParty(), num, byteLength);
     }
 
+    /**
+     * Opens a stream to send data to the other party in fixed-size chunks.
+     *
+     * @param stepId step ID.
+     * @return the sink of the stream.
+     */
+    protected DataPacketSink openOtherPartySendStream(int stepId) {
+        return openSendStream(stepId, otherParty());
+    }
+
+    /**
+     * Opens a stream to receive data from the other party in fixed-size chunks.
+     *
+     * @param stepId step ID.
+     * @return the source of the stream.
+     */
+    protected DataPacketSource openOtherPartyReceiveStream(int stepId) {
+        return openReceiveStream(stepId, otherParty());
+    }
+
     /**
      * Gets aid party.
      *
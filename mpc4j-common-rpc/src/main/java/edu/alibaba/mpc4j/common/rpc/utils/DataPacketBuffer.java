@@ -2,13 +2,24 @@ package edu.alibaba.mpc4j.common.rpc.utils;
 
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * thread-safe data packet buffer. The design follows the Producer-Consumer pattern. See:
  * <p>
  * 《Java多线程设计模式》，第五章：Producer-Consumer，我来做，你来用。
  * </p>
+ * Each header has its own slot, so that a consumer only parks on the slot it waits for and a producer only wakes up
+ * the consumer of the same header. A secondary index keeps slots of received data packets in per-(receiver ID,
+ * protocol ID) queues so that taking any data packet for a protocol does not scan the whole buffer. Slots taken by
+ * consumers of the exact header are removed from the index when they are released, so that the index only retains
+ * data packets that are not taken yet.
+ * <p>
+ * Unlike a plain map, putting a data packet whose header is still in the buffer (i.e., put but not taken yet) throws
+ * an {@link IllegalStateException} instead of silently replacing the previous data packet. A header can be reused
+ * once the previous data packet is taken.
+ * </p>
  *
  * @author Weiran Liu
  * @date 2021/12/08
@@ -19,23 +30,45 @@ public class DataPacketBuffer {
      */
     private static final int DEFAULT_BUFFER_SIZE = 1 << 10;
     /**
-     * buffer
+     * slots, the key is the header
      */
-    private final Map<DataPacketHeader, List<byte[]>> dataPacketBuffer;
+    private final Map<DataPacketHeader, Slot> slotMap;
+    /**
+     * slots of received data packets, the key is (receiver ID, protocol ID)
+     */
+    private final Map<Long, BlockingQueue<Slot>> indexMap;
 
     public DataPacketBuffer() {
-        dataPacketBuffer = new ConcurrentHashMap<>(DEFAULT_BUFFER_SIZE);
+        slotMap = new ConcurrentHashMap<>(DEFAULT_BUFFER_SIZE);
+        indexMap = new ConcurrentHashMap<>();
     }
 
     /**
      * Puts a data packet into the buffer.
      *
      * @param dataPacket the data packet.
+     * @throws IllegalStateException if a data packet with the same header is put but not taken yet.
      */
-    public synchronized void put(DataPacket dataPacket) {
+    public void put(DataPacket dataPacket) {
         assert (dataPacket != null);
-        dataPacketBuffer.put(dataPacket.getHeader(), dataPacket.getPayload());
-        notifyAll();
+        DataPacketHeader header = dataPacket.getHeader();
+        while (true) {
+            Slot slot = slotMap.computeIfAbsent(header, Slot::new);
+            if (slot.future.complete(dataPacket.getPayload())) {
+                BlockingQueue<Slot> indexQueue = getIndexQueue(header.getReceiverId(), header.getPtoId());
+                indexQueue.add(slot);
+                if (slot.reserved.get()) {
+                    // the consumer of the exact header takes the data packet, it may release the slot before indexing
+                    indexQueue.remove(slot);
+                }
+                return;
+            }
+            if (!slot.reserved.get()) {
+                throw new IllegalStateException("Duplicate data packet, the previous one is not taken yet: " + header);
+            }
+            // the previous data packet is taken but the slot is not released yet, replace the slot
+            slotMap.remove(header, slot);
+        }
     }
 
     /**
@@ -45,13 +78,41 @@ public class DataPacketBuffer {
      * @return a data packet.
      * @throws InterruptedException interrupted exception.
      */
-    public synchronized DataPacket take(DataPacketHeader header) throws InterruptedException {
+    public DataPacket take(DataPacketHeader header) throws InterruptedException {
         assert (header != null);
-        // if there is no target data packet in the buffer, waiting until new data packet is added.
-        while (!dataPacketBuffer.containsKey(header)) {
-            wait();
+        Slot slot = reserve(header);
+        try {
+            // if there is no target data packet in the buffer, waiting until new data packet is added.
+            List<byte[]> payload = slot.future.get();
+            release(header, slot);
+            return DataPacket.fromByteArrayList(header, payload);
+        } catch (InterruptedException e) {
+            // give up the reservation, the data packet can be taken by others
+            slot.reserved.set(false);
+            BlockingQueue<Slot> indexQueue = getIndexQueue(header.getReceiverId(), header.getPtoId());
+            if (slot.future.isDone() && !indexQueue.contains(slot)) {
+                // the slot is not indexed while it is reserved, index it again
+                indexQueue.add(slot);
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
         }
-        return DataPacket.fromByteArrayList(header, dataPacketBuffer.remove(header));
+    }
+
+    /**
+     * Receives a data packet that matches the header asynchronously.
+     *
+     * @param header the header.
+     * @return a future that completes with the data packet.
+     */
+    public CompletableFuture<DataPacket> takeAsync(DataPacketHeader header) {
+        assert (header != null);
+        Slot slot = reserve(header);
+        return slot.future.thenApply(payload -> {
+            release(header, slot);
+            return DataPacket.fromByteArrayList(header, payload);
+        });
     }
 
     /**
@@ -62,20 +123,72 @@ public class DataPacketBuffer {
      * @return a data packet.
      * @throws InterruptedException interrupted exception.
      */
-    public synchronized DataPacket take(int receiverId, int ptoId) throws InterruptedException {
-        DataPacketHeader targetHeader = null;
-        while (targetHeader == null) {
-            // we first try to find a candidate header
-            for (DataPacketHeader dataPacketHeader : dataPacketBuffer.keySet()) {
-                if (dataPacketHeader.getReceiverId() == receiverId && dataPacketHeader.getPtoId() == ptoId) {
-                    targetHeader = dataPacketHeader;
-                }
+    public DataPacket take(int receiverId, int ptoId) throws InterruptedException {
+        BlockingQueue<Slot> indexQueue = getIndexQueue(receiverId, ptoId);
+        while (true) {
+            // wait for new data packets
+            Slot slot = indexQueue.take();
+            // skip data packets that are already taken or reserved by consumers waiting for the exact header
+            if (slot.reserved.compareAndSet(false, true)) {
+                slotMap.remove(slot.header, slot);
+                // the slot is indexed after the payload is set, join() returns immediately
+                return DataPacket.fromByteArrayList(slot.header, slot.future.join());
             }
-            if (targetHeader == null) {
-                // if we cannot find any candidate, wait for new data packets.
-                wait();
+        }
+    }
+
+    private Slot reserve(DataPacketHeader header) {
+        while (true) {
+            Slot slot = slotMap.computeIfAbsent(header, Slot::new);
+            if (slot.reserved.compareAndSet(false, true)) {
+                return slot;
+            }
+            if (!slot.future.isDone()) {
+                throw new IllegalStateException("Data packet is already taken by another consumer");
             }
+            // the previous data packet is taken but the slot is not released yet, replace the slot
+            slotMap.remove(header, slot);
+        }
+    }
+
+    /**
+     * Releases a taken slot. Slots are unique objects, so removing the slot from the index never removes other data
+     * packets, even if a concurrent consumer polls the index queue at the same time.
+     *
+     * @param header the header.
+     * @param slot   the slot.
+     */
+    private void release(DataPacketHeader header, Slot slot) {
+        slotMap.remove(header, slot);
+        getIndexQueue(header.getReceiverId(), header.getPtoId()).remove(slot);
+    }
+
+    private BlockingQueue<Slot> getIndexQueue(int receiverId, int ptoId) {
+        long key = ((long) receiverId << Integer.SIZE) | (ptoId & 0xFFFFFFFFL);
+        return indexMap.computeIfAbsent(key, k -> new LinkedBlockingQueue<>());
+    }
+
+    /**
+     * slot for one header.
+     */
+    private static class Slot {
+        /**
+         * the header
+         */
+        private final DataPacketHeader header;
+        /**
+         * future for the payload
+         */
+        private final CompletableFuture<List<byte[]>> future;
+        /**
+         * whether the slot is reserved by a consumer
+         */
+        private final AtomicBoolean reserved;
+
+        private Slot(DataPacketHeader header) {
+            this.header = header;
+            future = new CompletableFuture<>();
+            reserved = new AtomicBoolean(false);
         }
-        return DataPacket.fromByteArrayList(targetHeader, dataPacketBuffer.remove(targetHeader));
     }
 }
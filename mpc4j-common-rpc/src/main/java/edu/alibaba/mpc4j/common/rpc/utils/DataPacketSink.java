@@ -0,0 +1,173 @@
+package edu.alibaba.mpc4j.common.rpc.utils;
+
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Data packet sink, i.e., the sending side of a data packet stream. Written data are packed into chunks of (about)
+ * fixed byte length, and each chunk is sent as soon as it is full. The sender waits for acknowledgements of the
+ * receiver, so that at most 2 * window size chunks are buffered at the receiver. Therefore, the sender can pipeline
+ * produce → send, and the receiver can pipeline receive → consume, both with bounded memory.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/2
+ */
+public class DataPacketSink implements AutoCloseable {
+    /**
+     * RPC
+     */
+    private final Rpc rpc;
+    /**
+     * stream header
+     */
+    private final DataPacketHeader header;
+    /**
+     * chunk byte length
+     */
+    private final int chunkByteLength;
+    /**
+     * window size
+     */
+    private final int windowSize;
+    /**
+     * current chunk
+     */
+    private List<byte[]> chunk;
+    /**
+     * current chunk byte length
+     */
+    private long currentByteLength;
+    /**
+     * number of sent chunks
+     */
+    private int chunkNum;
+    /**
+     * number of received acknowledgements
+     */
+    private int ackNum;
+    /**
+     * closed
+     */
+    private boolean closed;
+
+    /**
+     * Creates a data packet sink.
+     *
+     * @param rpc    RPC.
+     * @param header stream header.
+     */
+    public DataPacketSink(Rpc rpc, DataPacketHeader header) {
+        this(rpc, header, DataPacketStreamUtils.DEFAULT_CHUNK_BYTE_LENGTH, DataPacketStreamUtils.DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Creates a data packet sink. The receiver must use the same window size.
+     *
+     * @param rpc             RPC.
+     * @param header          stream header.
+     * @param chunkByteLength chunk byte length.
+     * @param windowSize      window size.
+     */
+    public DataPacketSink(Rpc rpc, DataPacketHeader header, int chunkByteLength, int windowSize) {
+        MathPreconditions.checkEqual(
+            "senderId", "ownPartyId", header.getSenderId(), rpc.ownParty().getPartyId()
+        );
+        DataPacketStreamUtils.checkStreamHeader(header);
+        MathPreconditions.checkPositive("chunkByteLength", chunkByteLength);
+        MathPreconditions.checkPositive("windowSize", windowSize);
+        this.rpc = rpc;
+        this.header = header;
+        this.chunkByteLength = chunkByteLength;
+        this.windowSize = windowSize;
+        chunk = new ArrayList<>();
+        currentByteLength = 0;
+        chunkNum = 0;
+        ackNum = 0;
+        closed = false;
+    }
+
+    /**
+     * Writes data into the stream. The data is copied, so that the caller can reuse the array after writing.
+     *
+     * @param data data.
+     */
+    public void write(byte[] data) {
+        if (closed) {
+            throw new IllegalStateException("Stream is already closed");
+        }
+        chunk.add(BytesUtils.clone(data));
+        currentByteLength += data.length;
+        if (currentByteLength >= chunkByteLength) {
+            sendChunk();
+        }
+    }
+
+    /**
+     * Writes data into the stream. Each data is copied, so that the caller can reuse the arrays after writing.
+     *
+     * @param dataList data list.
+     */
+    public void write(List<byte[]> dataList) {
+        for (byte[] data : dataList) {
+            write(data);
+        }
+    }
+
+    /**
+     * Sends the current chunk even if it is not full.
+     */
+    public void flush() {
+        if (!chunk.isEmpty()) {
+            sendChunk();
+        }
+    }
+
+    private void sendChunk() {
+        // wait until the receiver has consumed chunks of the window before the previous window
+        if (chunkNum >= 2 * windowSize && chunkNum % windowSize == 0) {
+            receiveAck();
+        }
+        rpc.send(DataPacket.fromByteArrayList(DataPacketStreamUtils.getChunkHeader(header, chunkNum), chunk));
+        chunkNum++;
+        chunk = new ArrayList<>();
+        currentByteLength = 0;
+    }
+
+    private void receiveAck() {
+        rpc.receive(DataPacketStreamUtils.getAckHeader(header, ackNum));
+        ackNum++;
+    }
+
+    /**
+     * Gets the number of sent chunks.
+     *
+     * @return the number of sent chunks.
+     */
+    public int getChunkNum() {
+        return chunkNum;
+    }
+
+    /**
+     * Closes the stream. The remaining data are sent, followed by an empty chunk that marks the end of the stream.
+     * This method returns after all acknowledgements are received.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        flush();
+        rpc.send(DataPacket.fromByteArrayList(DataPacketStreamUtils.getChunkHeader(header, chunkNum), new LinkedList<>()));
+        closed = true;
+        // the receiver acknowledges every window size non-empty chunks
+        int totalAckNum = chunkNum / windowSize;
+        while (ackNum < totalAckNum) {
+            receiveAck();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package edu.alibaba.mpc4j.common.rpc.utils;
+
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Data packet source, i.e., the receiving side of a data packet stream. See {@link DataPacketSink} for details.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/2
+ */
+public class DataPacketSource {
+    /**
+     * RPC
+     */
+    private final Rpc rpc;
+    /**
+     * stream header
+     */
+    private final DataPacketHeader header;
+    /**
+     * window size
+     */
+    private final int windowSize;
+    /**
+     * number of received non-empty chunks
+     */
+    private int chunkNum;
+    /**
+     * whether the stream reaches the end
+     */
+    private boolean end;
+
+    /**
+     * Creates a data packet source.
+     *
+     * @param rpc    RPC.
+     * @param header stream header.
+     */
+    public DataPacketSource(Rpc rpc, DataPacketHeader header) {
+        this(rpc, header, DataPacketStreamUtils.DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Creates a data packet source. The sender must use the same window size.
+     *
+     * @param rpc        RPC.
+     * @param header     stream header.
+     * @param windowSize window size.
+     */
+    public DataPacketSource(Rpc rpc, DataPacketHeader header, int windowSize) {
+        MathPreconditions.checkEqual(
+            "receiverId", "ownPartyId", header.getReceiverId(), rpc.ownParty().getPartyId()
+        );
+        DataPacketStreamUtils.checkStreamHeader(header);
+        MathPreconditions.checkPositive("windowSize", windowSize);
+        this.rpc = rpc;
+        this.header = header;
+        this.windowSize = windowSize;
+        chunkNum = 0;
+        end = false;
+    }
+
+    /**
+     * Reads the next chunk. It blocks until the chunk is received.
+     *
+     * @return the next chunk; or null if the stream reaches the end.
+     */
+    public List<byte[]> readChunk() {
+        if (end) {
+            return null;
+        }
+        List<byte[]> chunk = rpc.receive(DataPacketStreamUtils.getChunkHeader(header, chunkNum)).getPayload();
+        if (chunk.isEmpty()) {
+            end = true;
+            return null;
+        }
+        chunkNum++;
+        // acknowledge every window size chunks, the chunk is treated as consumed once handed out
+        if (chunkNum % windowSize == 0) {
+            int blockIndex = chunkNum / windowSize - 1;
+            rpc.send(DataPacket.fromByteArrayList(DataPacketStreamUtils.getAckHeader(header, blockIndex), new LinkedList<>()));
+        }
+        return chunk;
+    }
+
+    /**
+     * Reads all remaining data. This materializes the remaining stream in memory.
+     *
+     * @return all remaining data.
+     */
+    public List<byte[]> readAll() {
+        List<byte[]> dataList = new LinkedList<>();
+        List<byte[]> chunk;
+        while ((chunk = readChunk()) != null) {
+            dataList.addAll(chunk);
+        }
+        return dataList;
+    }
+
+    /**
+     * Returns whether the stream reaches the end.
+     *
+     * @return whether the stream reaches the end.
+     */
+    public boolean isEnd() {
+        return end;
+    }
+
+    /**
+     * Gets the number of received non-empty chunks.
+     *
+     * @return the number of received non-empty chunks.
+     */
+    public int getChunkNum() {
+        return chunkNum;
+    }
+}
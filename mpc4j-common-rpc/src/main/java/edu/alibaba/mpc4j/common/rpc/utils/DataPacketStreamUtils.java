@@ -0,0 +1,76 @@
+package edu.alibaba.mpc4j.common.rpc.utils;
+
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+
+/**
+ * Data packet stream utilities. A stream is opened with a header, and chunks and acknowledgements of the stream are
+ * sent with derived headers:
+ * <li>chunk i: stepId is set with the chunk flag, extraInfo is (header's extraInfo || i).</li>
+ * <li>acknowledgement b: stepId is set with the ack flag, extraInfo is (header's extraInfo || b), and the sender ID
+ * and the receiver ID are swapped.</li>
+ * Therefore, a stream occupies exactly one header, as a normal data packet does.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/2
+ */
+class DataPacketStreamUtils {
+    /**
+     * flag for chunk step ID
+     */
+    private static final int CHUNK_STEP_FLAG = 1 << 30;
+    /**
+     * flag for acknowledgement step ID
+     */
+    private static final int ACK_STEP_FLAG = 1 << 29;
+    /**
+     * default chunk byte length
+     */
+    static final int DEFAULT_CHUNK_BYTE_LENGTH = 1 << 20;
+    /**
+     * default window size, i.e., the receiver acknowledges every window size chunks, and at most 2 * window size
+     * chunks are buffered.
+     */
+    static final int DEFAULT_WINDOW_SIZE = 8;
+
+    private DataPacketStreamUtils() {
+        // empty
+    }
+
+    /**
+     * Checks that the header can be used to open a stream.
+     *
+     * @param header header.
+     */
+    static void checkStreamHeader(DataPacketHeader header) {
+        MathPreconditions.checkLess("stepId", header.getStepId(), ACK_STEP_FLAG);
+        MathPreconditions.checkLessOrEqual("extraInfo", header.getExtraInfo(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets the header for the chunk.
+     *
+     * @param header     stream header.
+     * @param chunkIndex chunk index.
+     * @return chunk header.
+     */
+    static DataPacketHeader getChunkHeader(DataPacketHeader header, int chunkIndex) {
+        return new DataPacketHeader(
+            header.getEncodeTaskId(), header.getPtoId(), header.getStepId() | CHUNK_STEP_FLAG,
+            (header.getExtraInfo() << Integer.SIZE) | chunkIndex, header.getSenderId(), header.getReceiverId()
+        );
+    }
+
+    /**
+     * Gets the header for the acknowledgement.
+     *
+     * @param header     stream header.
+     * @param blockIndex block index.
+     * @return acknowledgement header.
+     */
+    static DataPacketHeader getAckHeader(DataPacketHeader header, int blockIndex) {
+        return new DataPacketHeader(
+            header.getEncodeTaskId(), header.getPtoId(), header.getStepId() | ACK_STEP_FLAG,
+            (header.getExtraInfo() << Integer.SIZE) | blockIndex, header.getReceiverId(), header.getSenderId()
+        );
+    }
+}
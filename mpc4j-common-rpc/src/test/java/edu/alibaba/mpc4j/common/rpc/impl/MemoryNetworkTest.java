@@ -0,0 +1,115 @@
+package edu.alibaba.mpc4j.common.rpc.impl;
+
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.rpc.RpcManager;
+import edu.alibaba.mpc4j.common.rpc.RpcPropertiesUtils;
+import edu.alibaba.mpc4j.common.rpc.impl.compress.CompressPolicy;
+import edu.alibaba.mpc4j.common.rpc.impl.compress.CompressRpcManager;
+import edu.alibaba.mpc4j.common.rpc.impl.memory.MemoryLinkConfig;
+import edu.alibaba.mpc4j.common.rpc.impl.memory.MemoryNetworkConfig;
+import edu.alibaba.mpc4j.common.rpc.impl.memory.MemoryRpcManager;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
+import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * simulated network test for memory RPC.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/10
+ */
+public class MemoryNetworkTest {
+    /**
+     * 8 Mbps, i.e., 1 MB per second
+     */
+    private static final double BANDWIDTH = 8;
+    /**
+     * RTT in ms
+     */
+    private static final double RTT = 100;
+
+    @Test
+    public void testUnlimited() {
+        MemoryRpcManager rpcManager = new MemoryRpcManager(2, new MemoryNetworkConfig.Builder().build());
+        long simulatedDelay = sendAndReceive(rpcManager, 1 << 20);
+        Assert.assertEquals(0, simulatedDelay);
+    }
+
+    @Test
+    public void testLatency() {
+        MemoryNetworkConfig config = new MemoryNetworkConfig.Builder()
+            .setDefaultLinkConfig(new MemoryLinkConfig(0, RTT, 0, 0))
+            .build();
+        long simulatedDelay = sendAndReceive(new MemoryRpcManager(2, config), 1);
+        // half of the RTT, minus the real time elapsed
+        Assert.assertTrue(simulatedDelay > TimeUnit.MILLISECONDS.toNanos((long) RTT / 4));
+        Assert.assertTrue(simulatedDelay <= TimeUnit.MILLISECONDS.toNanos((long) RTT / 2));
+    }
+
+    @Test
+    public void testBandwidth() {
+        MemoryNetworkConfig config = new MemoryNetworkConfig.Builder()
+            .setDefaultLinkConfig(new MemoryLinkConfig(BANDWIDTH, 0, 0, 0))
+            .build();
+        // 1MB needs 1 second
+        long simulatedDelay = sendAndReceive(new MemoryRpcManager(2, config), 1 << 20);
+        Assert.assertTrue(simulatedDelay > TimeUnit.MILLISECONDS.toNanos(800));
+        Assert.assertTrue(simulatedDelay <= TimeUnit.MILLISECONDS.toNanos(1100));
+    }
+
+    @Test
+    public void testBucket() {
+        // the whole data packet can be sent with tokens in the bucket
+        MemoryNetworkConfig config = new MemoryNetworkConfig.Builder()
+            .setDefaultLinkConfig(new MemoryLinkConfig(BANDWIDTH, 0, 0, 1 << 20))
+            .build();
+        long simulatedDelay = sendAndReceive(new MemoryRpcManager(2, config), 1 << 20);
+        Assert.assertEquals(0, simulatedDelay);
+    }
+
+    @Test
+    public void testProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("memory_rtt", String.valueOf(RTT));
+        properties.setProperty("memory_rtt_0_1", "0");
+        MemoryNetworkConfig config = RpcPropertiesUtils.readMemoryNetworkConfig(properties, 2);
+        Assert.assertEquals(0, config.getLinkConfig(0, 1).getRtt(), 0);
+        Assert.assertEquals(RTT, config.getLinkConfig(1, 0).getRtt(), 0);
+        // the link from P_1 to P_2 is unlimited
+        long simulatedDelay = sendAndReceive(new MemoryRpcManager(2, config), 1);
+        Assert.assertEquals(0, simulatedDelay);
+    }
+
+    @Test
+    public void testCompressRpc() {
+        MemoryNetworkConfig config = new MemoryNetworkConfig.Builder()
+            .setDefaultLinkConfig(new MemoryLinkConfig(0, RTT, 0, 0))
+            .build();
+        // the simulated delay is reported through the decorated RPC
+        RpcManager rpcManager = new CompressRpcManager(
+            new MemoryRpcManager(2, config), new CompressPolicy.Builder().build()
+        );
+        long simulatedDelay = sendAndReceive(rpcManager, 1);
+        Assert.assertTrue(simulatedDelay > TimeUnit.MILLISECONDS.toNanos((long) RTT / 4));
+        Assert.assertTrue(simulatedDelay <= TimeUnit.MILLISECONDS.toNanos((long) RTT / 2));
+    }
+
+    private long sendAndReceive(RpcManager rpcManager, int byteLength) {
+        Rpc senderRpc = rpcManager.getRpc(0);
+        Rpc receiverRpc = rpcManager.getRpc(1);
+        Assert.assertTrue(senderRpc.isNetworkSimulated());
+        DataPacketHeader header = new DataPacketHeader(
+            0, RpcTestPtoDesc.getInstance().getPtoId(), 0, 0L,
+            senderRpc.ownParty().getPartyId(), receiverRpc.ownParty().getPartyId()
+        );
+        senderRpc.send(DataPacket.fromByteArrayList(header, Collections.singletonList(new byte[byteLength])));
+        receiverRpc.receive(header);
+        Assert.assertEquals(0, senderRpc.getSimulatedDelay());
+        return receiverRpc.getSimulatedDelay();
+    }
+}
@@ -3,12 +3,19 @@ package edu.alibaba.mpc4j.common.rpc.impl;
 import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
 import edu.alibaba.mpc4j.common.rpc.RpcManager;
+import edu.alibaba.mpc4j.common.rpc.RpcPropertiesUtils;
+import edu.alibaba.mpc4j.common.rpc.impl.compress.CompressPolicy;
+import edu.alibaba.mpc4j.common.rpc.impl.compress.CompressRpc;
+import edu.alibaba.mpc4j.common.rpc.impl.compress.CompressRpcManager;
+import edu.alibaba.mpc4j.common.rpc.impl.compress.CompressType;
 import edu.alibaba.mpc4j.common.rpc.impl.file.FileRpc;
 import edu.alibaba.mpc4j.common.rpc.impl.file.FileRpcManager;
+import edu.alibaba.mpc4j.common.rpc.impl.file.FileStorageType;
 import edu.alibaba.mpc4j.common.rpc.impl.memory.MemoryRpc;
 import edu.alibaba.mpc4j.common.rpc.impl.memory.MemoryRpcManager;
 import edu.alibaba.mpc4j.common.rpc.impl.netty.NettyRpc;
 import edu.alibaba.mpc4j.common.rpc.impl.netty.NettyRpcManager;
+import edu.alibaba.mpc4j.common.rpc.impl.netty.NettyTransportType;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.After;
@@ -22,6 +29,7 @@ import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Properties;
 import java.util.Set;
 
 /**
@@ -41,8 +49,41 @@ public class RpcTest {
         configurations.add(new Object[] {MemoryRpc.class.getSimpleName(), new MemoryRpcManager(3),});
         // FileRpc
         configurations.add(new Object[] {FileRpc.class.getSimpleName(), new FileRpcManager(3),});
+        // FileRpc (segment log)
+        configurations.add(new Object[] {
+            FileRpc.class.getSimpleName() + " (" + FileStorageType.SEGMENT_LOG.name() + ")",
+            new FileRpcManager(3, FileStorageType.SEGMENT_LOG),
+        });
         // NettyRpc
         configurations.add(new Object[] {NettyRpc.class.getSimpleName(), new NettyRpcManager(3, 8800),});
+        // NettyRpc (framed)
+        configurations.add(new Object[] {
+            NettyRpc.class.getSimpleName() + " (" + NettyTransportType.FRAMED.name() + ")",
+            new NettyRpcManager(3, 8900, NettyTransportType.FRAMED),
+        });
+        // CompressRpc (LZ4)
+        configurations.add(new Object[] {
+            CompressRpc.class.getSimpleName() + " (" + CompressType.LZ4.name() + ")",
+            new CompressRpcManager(new MemoryRpcManager(3), new CompressPolicy.Builder()
+                .setDefaultCompressType(CompressType.LZ4)
+                .setMinByteLength(0)
+                .build()),
+        });
+        // CompressRpc (ZSTD)
+        configurations.add(new Object[] {
+            CompressRpc.class.getSimpleName() + " (" + CompressType.ZSTD.name() + ")",
+            new CompressRpcManager(new NettyRpcManager(3, 9000), new CompressPolicy.Builder()
+                .setDefaultCompressType(CompressType.ZSTD)
+                .build()),
+        });
+        // CompressRpc (per-protocol policy read from properties)
+        Properties properties = new Properties();
+        properties.setProperty("rpc_compress_pto_types", RpcTestPtoDesc.getInstance().getPtoName() + ":ZSTD");
+        properties.setProperty("rpc_compress_min_byte_length", "0");
+        configurations.add(new Object[] {
+            CompressRpc.class.getSimpleName() + " (" + RpcPropertiesUtils.class.getSimpleName() + ")",
+            new CompressRpcManager(new MemoryRpcManager(3), RpcPropertiesUtils.readCompressPolicy(properties)),
+        });
 
         return configurations;
     }
@@ -1,10 +1,14 @@
 package edu.alibaba.mpc4j.common.rpc.utils;
 
+import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 
@@ -67,4 +71,64 @@ public class DataPacketBufferTest {
         Assert.assertEquals(CORRECT_SET, party1Thread.getPayloadSet());
         Assert.assertEquals(CORRECT_SET, party2Thread.getPayloadSet());
     }
+
+    @Test
+    public void testTakeAsync() throws ExecutionException, InterruptedException {
+        DataPacketBuffer dataPacketBuffer = new DataPacketBuffer();
+        int ptoId = DataPacketTestPtoDesc.getInstance().getPtoId();
+        DataPacketHeader header = new DataPacketHeader(0, ptoId, 0, 0L, PARTY_1_ID, PARTY_2_ID);
+        // take before put
+        CompletableFuture<DataPacket> future = dataPacketBuffer.takeAsync(header);
+        Assert.assertFalse(future.isDone());
+        DataPacket dataPacket = DataPacket.fromByteArrayList(
+            header, Collections.singletonList(LongUtils.longToByteArray(LIST_START_INDEX))
+        );
+        dataPacketBuffer.put(dataPacket);
+        Assert.assertEquals(dataPacket, future.get());
+        // put before take
+        dataPacketBuffer.put(dataPacket);
+        Assert.assertEquals(dataPacket, dataPacketBuffer.takeAsync(header).get());
+    }
+
+    @Test
+    public void testDuplicatePut() throws InterruptedException {
+        DataPacketBuffer dataPacketBuffer = new DataPacketBuffer();
+        int ptoId = DataPacketTestPtoDesc.getInstance().getPtoId();
+        DataPacketHeader header = new DataPacketHeader(0, ptoId, 0, 0L, PARTY_1_ID, PARTY_2_ID);
+        DataPacket dataPacket = DataPacket.fromByteArrayList(
+            header, Collections.singletonList(LongUtils.longToByteArray(LIST_START_INDEX))
+        );
+        dataPacketBuffer.put(dataPacket);
+        // the previous data packet is not taken yet
+        Assert.assertThrows(IllegalStateException.class, () -> dataPacketBuffer.put(dataPacket));
+        Assert.assertEquals(dataPacket, dataPacketBuffer.take(header));
+        // the header can be reused after the previous data packet is taken
+        dataPacketBuffer.put(dataPacket);
+        Assert.assertEquals(dataPacket, dataPacketBuffer.take(header));
+    }
+
+    @Test
+    public void testTakeAnyAfterTake() throws InterruptedException {
+        DataPacketBuffer dataPacketBuffer = new DataPacketBuffer();
+        int ptoId = DataPacketTestPtoDesc.getInstance().getPtoId();
+        DataPacket[] dataPackets = LongStream.range(LIST_START_INDEX, LIST_END_INDEX)
+            .mapToObj(index -> DataPacket.fromByteArrayList(
+                new DataPacketHeader(0, ptoId, 0, index, PARTY_1_ID, PARTY_2_ID),
+                Collections.singletonList(LongUtils.longToByteArray(index))
+            ))
+            .toArray(DataPacket[]::new);
+        for (DataPacket dataPacket : dataPackets) {
+            dataPacketBuffer.put(dataPacket);
+        }
+        // take data packets with odd indexes by the exact header, in the reversed order
+        for (int index = dataPackets.length - 1; index >= 0; index--) {
+            if (index % 2 == 1) {
+                Assert.assertEquals(dataPackets[index], dataPacketBuffer.take(dataPackets[index].getHeader()));
+            }
+        }
+        // taking any data packet skips the taken ones
+        for (int index = 0; index < dataPackets.length; index += 2) {
+            Assert.assertEquals(dataPackets[index], dataPacketBuffer.take(PARTY_2_ID, ptoId));
+        }
+    }
 }
@@ -0,0 +1,116 @@
+package edu.alibaba.mpc4j.common.rpc.utils;
+
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.rpc.RpcManager;
+import edu.alibaba.mpc4j.common.rpc.impl.memory.MemoryRpcManager;
+import edu.alibaba.mpc4j.common.tool.utils.IntUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * data packet stream test.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/2
+ */
+public class DataPacketStreamTest {
+    /**
+     * chunk byte length
+     */
+    private static final int CHUNK_BYTE_LENGTH = 1 << 8;
+    /**
+     * window size
+     */
+    private static final int WINDOW_SIZE = 2;
+
+    @Test
+    public void testEmptyStream() throws InterruptedException {
+        testStream(0);
+    }
+
+    @Test
+    public void testSingleChunkStream() throws InterruptedException {
+        testStream(1);
+    }
+
+    @Test
+    public void testWindowStream() throws InterruptedException {
+        testStream(CHUNK_BYTE_LENGTH / Integer.BYTES * WINDOW_SIZE);
+    }
+
+    @Test
+    public void testLargeStream() throws InterruptedException {
+        testStream(CHUNK_BYTE_LENGTH * WINDOW_SIZE * 10 + 1);
+    }
+
+    @Test
+    public void testReuseBuffer() throws InterruptedException {
+        int num = CHUNK_BYTE_LENGTH * WINDOW_SIZE + 1;
+        RpcManager rpcManager = new MemoryRpcManager(2);
+        Rpc senderRpc = rpcManager.getRpc(0);
+        Rpc receiverRpc = rpcManager.getRpc(1);
+        DataPacketHeader header = new DataPacketHeader(
+            0, DataPacketTestPtoDesc.getInstance().getPtoId(), 0, 0L,
+            senderRpc.ownParty().getPartyId(), receiverRpc.ownParty().getPartyId()
+        );
+        Thread senderThread = new Thread(() -> {
+            try (DataPacketSink sink = new DataPacketSink(senderRpc, header, CHUNK_BYTE_LENGTH, WINDOW_SIZE)) {
+                // the sender reuses the same buffer for all data
+                byte[] buffer = new byte[Integer.BYTES];
+                for (int index = 0; index < num; index++) {
+                    System.arraycopy(IntUtils.intToByteArray(index), 0, buffer, 0, Integer.BYTES);
+                    sink.write(buffer);
+                }
+            }
+        });
+        List<byte[]> receiveDataList = new LinkedList<>();
+        Thread receiverThread = new Thread(() -> {
+            DataPacketSource source = new DataPacketSource(receiverRpc, header, WINDOW_SIZE);
+            receiveDataList.addAll(source.readAll());
+        });
+        senderThread.start();
+        receiverThread.start();
+        senderThread.join();
+        receiverThread.join();
+        Assert.assertEquals(num, receiveDataList.size());
+        for (int index = 0; index < num; index++) {
+            Assert.assertArrayEquals(IntUtils.intToByteArray(index), receiveDataList.get(index));
+        }
+    }
+
+    private void testStream(int num) throws InterruptedException {
+        RpcManager rpcManager = new MemoryRpcManager(2);
+        Rpc senderRpc = rpcManager.getRpc(0);
+        Rpc receiverRpc = rpcManager.getRpc(1);
+        DataPacketHeader header = new DataPacketHeader(
+            0, DataPacketTestPtoDesc.getInstance().getPtoId(), 0, 0L,
+            senderRpc.ownParty().getPartyId(), receiverRpc.ownParty().getPartyId()
+        );
+        List<byte[]> sendDataList = IntStream.range(0, num)
+            .mapToObj(IntUtils::intToByteArray)
+            .collect(Collectors.toList());
+        Thread senderThread = new Thread(() -> {
+            try (DataPacketSink sink = new DataPacketSink(senderRpc, header, CHUNK_BYTE_LENGTH, WINDOW_SIZE)) {
+                sink.write(sendDataList);
+            }
+        });
+        List<byte[]> receiveDataList = new LinkedList<>();
+        Thread receiverThread = new Thread(() -> {
+            DataPacketSource source = new DataPacketSource(receiverRpc, header, WINDOW_SIZE);
+            receiveDataList.addAll(source.readAll());
+        });
+        senderThread.start();
+        receiverThread.start();
+        senderThread.join();
+        receiverThread.join();
+        Assert.assertEquals(num, receiveDataList.size());
+        for (int index = 0; index < num; index++) {
+            Assert.assertArrayEquals(sendDataList.get(index), receiveDataList.get(index));
+        }
+    }
+}
@@ -4,6 +4,7 @@ import edu.alibaba.mpc4j.common.tool.EnvType;
 import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 
 /**
  * database interface.
@@ -86,6 +87,17 @@ public interface Database {
      */
     byte[] getBytesData(int index);
 
+    /**
+     * Gets a read-only view of the data. Implementations backed by off-heap storage may return the view without
+     * copying the data.
+     *
+     * @param index the index.
+     * @return a read-only view of the data.
+     */
+    default ByteBuffer getBytesView(int index) {
+        return ByteBuffer.wrap(getBytesData(index)).asReadOnlyBuffer();
+    }
+
     /**
      * Gets the data in BigInteger.
      *
@@ -0,0 +1,503 @@
+package edu.alibaba.mpc4j.common.structure.database;
+
+import edu.alibaba.mpc4j.common.structure.StructureUtils;
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.bitmatrix.dense.ByteDenseBitMatrix;
+import edu.alibaba.mpc4j.common.tool.bitmatrix.dense.DenseBitMatrix;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVectorFactory;
+import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.bouncycastle.util.encoders.Hex;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Memory-mapped database. Data is stored in files (see {@link MappedDatabaseLoader}) in row-major or bit-partitioned
+ * column layout, and is mapped into memory without being copied on heap. The database is a list of segments, each of
+ * which is a row range of a file, so that split, reduce, merge and Zl partition only create new views of the files.
+ * <p>
+ * Rows in the row-major layout can be read as zero-copy views by {@link #getBytesView(int)}, and columns in the column
+ * layout are directly returned by {@link #bitPartition(EnvType, boolean)} without transposing.
+ * </p>
+ * Databases created by {@link #create(int, byte[][])}, {@link #createRandom(int, int, SecureRandom)} and
+ * {@link #create(EnvType, boolean, BitVector...)} are stored in temporary files, which are deleted by {@link #close()}.
+ * Files of databases loaded by {@link #load(Path)} are left on the disk.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/30
+ */
+public class MappedDatabase implements Database, Closeable {
+    /**
+     * data layout
+     */
+    public enum Layout {
+        /**
+         * row-major layout
+         */
+        ROW,
+        /**
+         * bit-partitioned column layout
+         */
+        COLUMN,
+    }
+
+    /**
+     * A segment is a row range [fromRow, fromRow + rows) of a storage, where each element is the l-bit element after
+     * right shifting the stored element by shift bits.
+     */
+    private static class Segment {
+        /**
+         * storage
+         */
+        private final MappedStorage storage;
+        /**
+         * starting row
+         */
+        private final int fromRow;
+        /**
+         * number of rows
+         */
+        private final int rows;
+        /**
+         * shift
+         */
+        private final int shift;
+
+        private Segment(MappedStorage storage, int fromRow, int rows, int shift) {
+            this.storage = storage;
+            this.fromRow = fromRow;
+            this.rows = rows;
+            this.shift = shift;
+        }
+    }
+
+    /**
+     * element bit length
+     */
+    private final int l;
+    /**
+     * element byte length
+     */
+    private final int byteL;
+    /**
+     * segments
+     */
+    private Segment[] segments;
+    /**
+     * segmentEnds[i] is the number of rows in segments[0..i]
+     */
+    private int[] segmentEnds;
+    /**
+     * storages that have been referenced by the segments
+     */
+    private final Set<MappedStorage> storages;
+
+    /**
+     * Loads a database from the file.
+     *
+     * @param path path.
+     * @return a database.
+     */
+    public static MappedDatabase load(Path path) {
+        return load(MappedStorage.open(path));
+    }
+
+    private static MappedDatabase load(MappedStorage storage) {
+        MappedDatabase database = new MappedDatabase(storage.getL());
+        database.setSegments(storage.rows() == 0
+            ? new Segment[0] : new Segment[]{new Segment(storage, 0, storage.rows(), 0)}
+        );
+        return database;
+    }
+
+    /**
+     * Creates a database in a temporary file with row-major layout.
+     *
+     * @param l    element bit length.
+     * @param data data.
+     * @return a database.
+     */
+    public static MappedDatabase create(int l, byte[][] data) {
+        MathPreconditions.checkPositive("rows", data.length);
+        Path path = createTempPath();
+        try (MappedDatabaseLoader loader = MappedDatabaseLoader.create(path, l, Layout.ROW)) {
+            for (byte[] row : data) {
+                loader.append(row);
+            }
+            loader.finish();
+        }
+        return load(MappedStorage.open(path, true));
+    }
+
+    /**
+     * Creates a random database in a temporary file with row-major layout.
+     *
+     * @param l            element bit length.
+     * @param rows         number of rows.
+     * @param secureRandom the random state.
+     * @return a database.
+     */
+    public static MappedDatabase createRandom(int l, int rows, SecureRandom secureRandom) {
+        MathPreconditions.checkPositive("l", l);
+        MathPreconditions.checkPositive("rows", rows);
+        int byteL = CommonUtils.getByteLength(l);
+        Path path = createTempPath();
+        try (MappedDatabaseLoader loader = MappedDatabaseLoader.create(path, l, Layout.ROW)) {
+            for (int row = 0; row < rows; row++) {
+                loader.append(BytesUtils.randomByteArray(byteL, l, secureRandom));
+            }
+            loader.finish();
+        }
+        return load(MappedStorage.open(path, true));
+    }
+
+    /**
+     * Creates a database by combining bit vectors, in a temporary file with column layout. The bit vectors are written
+     * as columns, so that no transposition is needed.
+     *
+     * @param envType    the environment.
+     * @param parallel   parallel combination.
+     * @param bitVectors the combining bit vectors.
+     * @return a database.
+     */
+    public static MappedDatabase create(EnvType envType, boolean parallel, BitVector... bitVectors) {
+        MathPreconditions.checkPositive("BitVectors.length", bitVectors.length);
+        int rows = bitVectors[0].bitNum();
+        // check all bit vectors has the same bit num
+        Arrays.stream(bitVectors).forEach(bitVector ->
+            MathPreconditions.checkEqual("rows", "BitVector.bitNum", rows, bitVector.bitNum())
+        );
+        Path path = createTempPath();
+        MappedStorage.writeColumns(path, bitVectors);
+        return load(MappedStorage.open(path, true));
+    }
+
+    /**
+     * Creates an empty database.
+     *
+     * @param l element bit length.
+     * @return a database.
+     */
+    public static MappedDatabase createEmpty(int l) {
+        MappedDatabase database = new MappedDatabase(l);
+        database.setSegments(new Segment[0]);
+        return database;
+    }
+
+    private static Path createTempPath() {
+        try {
+            return Files.createTempFile("mpc4j_database_", ".db");
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create temporary database file", e);
+        }
+    }
+
+    private MappedDatabase(int l) {
+        MathPreconditions.checkPositive("l", l);
+        this.l = l;
+        byteL = CommonUtils.getByteLength(l);
+        storages = new LinkedHashSet<>();
+    }
+
+    private void setSegments(Segment[] segments) {
+        this.segments = segments;
+        for (Segment segment : segments) {
+            storages.add(segment.storage);
+        }
+        segmentEnds = new int[segments.length];
+        int rows = 0;
+        for (int segmentIndex = 0; segmentIndex < segments.length; segmentIndex++) {
+            rows += segments[segmentIndex].rows;
+            segmentEnds[segmentIndex] = rows;
+        }
+    }
+
+    @Override
+    public DatabaseFactory.DatabaseType getType() {
+        return DatabaseFactory.DatabaseType.MAPPED;
+    }
+
+    @Override
+    public int rows() {
+        return segmentEnds.length == 0 ? 0 : segmentEnds[segmentEnds.length - 1];
+    }
+
+    @Override
+    public int getL() {
+        return l;
+    }
+
+    @Override
+    public int getByteL() {
+        return byteL;
+    }
+
+    @Override
+    public BitVector[] bitPartition(EnvType envType, boolean parallel) {
+        int rows = rows();
+        if (rows > 0 && Arrays.stream(segments).allMatch(segment -> segment.storage.getLayout() == Layout.COLUMN)) {
+            // read columns directly
+            IntStream columnIntStream = IntStream.range(0, l);
+            columnIntStream = parallel ? columnIntStream.parallel() : columnIntStream;
+            return columnIntStream
+                .mapToObj(column -> {
+                    BitVector bitVector = readColumn(segments[0], column);
+                    for (int segmentIndex = 1; segmentIndex < segments.length; segmentIndex++) {
+                        bitVector.merge(readColumn(segments[segmentIndex], column));
+                    }
+                    return bitVector;
+                })
+                .toArray(BitVector[]::new);
+        }
+        DenseBitMatrix byteDenseBitMatrix = ByteDenseBitMatrix.createFromDense(l, getBytesData());
+        DenseBitMatrix transByteDenseBitMatrix = byteDenseBitMatrix.transpose(envType, parallel);
+        return IntStream.range(0, l)
+            .mapToObj(index -> BitVectorFactory.create(rows, transByteDenseBitMatrix.getByteArrayRow(index)))
+            .toArray(BitVector[]::new);
+    }
+
+    private BitVector readColumn(Segment segment, int column) {
+        MappedStorage storage = segment.storage;
+        // the column-th bit of the l-bit element is the storageColumn-th bit of the stored element
+        int storageColumn = storage.getL() - l - segment.shift + column;
+        if (storageColumn < 0) {
+            return BitVectorFactory.createZeros(segment.rows);
+        }
+        byte[] bytes = new byte[CommonUtils.getByteLength(segment.rows)];
+        storage.readColumn(storageColumn, segment.fromRow, segment.rows, bytes);
+        return BitVectorFactory.create(segment.rows, bytes);
+    }
+
+    @Override
+    public MappedDatabase split(int splitRows) {
+        int rows = rows();
+        MathPreconditions.checkPositiveInRangeClosed("split rows", splitRows, rows);
+        MappedDatabase splitDatabase = new MappedDatabase(l);
+        splitDatabase.setSegments(slice(0, splitRows));
+        setSegments(slice(splitRows, rows));
+        return splitDatabase;
+    }
+
+    @Override
+    public void reduce(int reduceRows) {
+        int rows = rows();
+        MathPreconditions.checkPositiveInRangeClosed("reduce rows", reduceRows, rows);
+        if (reduceRows < rows) {
+            // reduce if the reduced rows is less than rows.
+            setSegments(slice(0, reduceRows));
+        }
+    }
+
+    /**
+     * Gets segments for rows [from, to).
+     *
+     * @param from starting row (inclusive).
+     * @param to   ending row (exclusive).
+     * @return segments.
+     */
+    private Segment[] slice(int from, int to) {
+        List<Segment> sliceSegments = new ArrayList<>();
+        int segmentFrom = 0;
+        for (Segment segment : segments) {
+            int segmentTo = segmentFrom + segment.rows;
+            int sliceFrom = Math.max(from, segmentFrom);
+            int sliceTo = Math.min(to, segmentTo);
+            if (sliceFrom < sliceTo) {
+                sliceSegments.add(new Segment(
+                    segment.storage, segment.fromRow + sliceFrom - segmentFrom, sliceTo - sliceFrom, segment.shift
+                ));
+            }
+            segmentFrom = segmentTo;
+        }
+        return sliceSegments.toArray(new Segment[0]);
+    }
+
+    @Override
+    public void merge(Database other) {
+        MappedDatabase that = (MappedDatabase) other;
+        MathPreconditions.checkEqual("this.l", "that.l", this.l, that.l);
+        Segment[] mergeSegments = new Segment[this.segments.length + that.segments.length];
+        System.arraycopy(this.segments, 0, mergeSegments, 0, this.segments.length);
+        System.arraycopy(that.segments, 0, mergeSegments, this.segments.length, that.segments.length);
+        setSegments(mergeSegments);
+    }
+
+    /**
+     * Closes the database and deletes the temporary files that have been referenced. Databases created by split,
+     * reduce, merge and Zl partition share files with this database, and cannot be used after closing.
+     */
+    @Override
+    public void close() {
+        storages.forEach(MappedStorage::close);
+        storages.clear();
+        setSegments(new Segment[0]);
+    }
+
+    @Override
+    public byte[][] getBytesData() {
+        return IntStream.range(0, rows())
+            .mapToObj(this::getBytesData)
+            .toArray(byte[][]::new);
+    }
+
+    @Override
+    public byte[] getBytesData(int index) {
+        int segmentIndex = getSegmentIndex(index);
+        Segment segment = segments[segmentIndex];
+        int row = segment.fromRow + index - (segmentEnds[segmentIndex] - segment.rows);
+        MappedStorage storage = segment.storage;
+        byte[] element = new byte[storage.getByteL()];
+        storage.readRow(row, element);
+        if (segment.shift == 0 && storage.getL() == l) {
+            return element;
+        }
+        return extract(element, segment.shift);
+    }
+
+    /**
+     * Returns a read-only view of the data. The view shares the mapped file if the layout is ROW and the element is
+     * byte-aligned in the stored row, otherwise the view wraps a copy.
+     *
+     * @param index the index.
+     * @return a read-only view of the data.
+     */
+    @Override
+    public ByteBuffer getBytesView(int index) {
+        int segmentIndex = getSegmentIndex(index);
+        Segment segment = segments[segmentIndex];
+        MappedStorage storage = segment.storage;
+        // the element is stored in bytes [from, from + byteL) of the row
+        int from = storage.getByteL() - segment.shift / Byte.SIZE - byteL;
+        // no bits need to be cleared if l is byte-aligned, or all bits above l are stored as zero
+        boolean reduced = l % Byte.SIZE == 0 || l >= storage.getL() - segment.shift;
+        if (storage.getLayout() == Layout.ROW && segment.shift % Byte.SIZE == 0 && from >= 0 && reduced) {
+            int row = segment.fromRow + index - (segmentEnds[segmentIndex] - segment.rows);
+            return storage.rowView(row, from, byteL);
+        }
+        return ByteBuffer.wrap(getBytesData(index)).asReadOnlyBuffer();
+    }
+
+    private int getSegmentIndex(int index) {
+        MathPreconditions.checkNonNegativeInRange("index", index, rows());
+        // find the first segment whose end is greater than index
+        int segmentIndex = Arrays.binarySearch(segmentEnds, index + 1);
+        return segmentIndex >= 0 ? segmentIndex : -segmentIndex - 1;
+    }
+
+    /**
+     * Extracts the l-bit element (stored >> shift) mod 2^l.
+     *
+     * @param stored stored element.
+     * @param shift  shift.
+     * @return the l-bit element.
+     */
+    private byte[] extract(byte[] stored, int shift) {
+        byte[] element = new byte[byteL];
+        for (int byteIndex = byteL - 1; byteIndex >= 0; byteIndex--) {
+            // the least significant bit of this byte is the q-th least significant bit of the stored element
+            int q = shift + (byteL - 1 - byteIndex) * Byte.SIZE;
+            int storedIndex = stored.length - 1 - q / Byte.SIZE;
+            int bitShift = q % Byte.SIZE;
+            if (storedIndex < 0) {
+                break;
+            }
+            int value = (stored[storedIndex] & 0xFF) >>> bitShift;
+            if (bitShift != 0 && storedIndex > 0) {
+                value |= (stored[storedIndex - 1] & 0xFF) << (Byte.SIZE - bitShift);
+            }
+            element[byteIndex] = (byte) value;
+        }
+        BytesUtils.reduceByteArray(element, l);
+        return element;
+    }
+
+    @Override
+    public BigInteger[] getBigIntegerData() {
+        return IntStream.range(0, rows())
+            .mapToObj(this::getBigIntegerData)
+            .toArray(BigInteger[]::new);
+    }
+
+    @Override
+    public BigInteger getBigIntegerData(int index) {
+        return BigIntegerUtils.byteArrayToNonNegBigInteger(getBytesData(index));
+    }
+
+    /**
+     * Partitions the database by the assigned partition L. Each partitioned database is a view of this database
+     * without copying data. Note that each L of the partitioned database is the assigned partition L. For example,
+     * when the current L is 3, and the partition L is 9, then we create 1 partition database with L = 9 (byteL = 2),
+     * but all first byte in the partitioned database are 0.
+     *
+     * @param partitionL the partition L.
+     * @return the partition result.
+     */
+    public MappedDatabase[] partitionZl(int partitionL) {
+        MathPreconditions.checkPositive("partitionL", partitionL);
+        int partitionNum = CommonUtils.getUnitNum(l, partitionL);
+        MappedDatabase[] partitionDatabases = new MappedDatabase[partitionNum];
+        for (int partitionIndex = 0; partitionIndex < partitionNum; partitionIndex++) {
+            // the last partition contains the least significant bits
+            int shift = (partitionNum - 1 - partitionIndex) * partitionL;
+            MappedDatabase partitionDatabase = new MappedDatabase(partitionL);
+            partitionDatabase.setSegments(Arrays.stream(segments)
+                .map(segment -> new Segment(segment.storage, segment.fromRow, segment.rows, segment.shift + shift))
+                .toArray(Segment[]::new)
+            );
+            partitionDatabases[partitionIndex] = partitionDatabase;
+        }
+        return partitionDatabases;
+    }
+
+    @Override
+    public int hashCode() {
+        HashCodeBuilder hashCodeBuilder = new HashCodeBuilder();
+        hashCodeBuilder.append(l);
+        IntStream.range(0, rows()).forEach(index -> hashCodeBuilder.append(getBytesData(index)));
+        return hashCodeBuilder.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof MappedDatabase that) {
+            if (this.rows() != that.rows()) {
+                return false;
+            }
+            int rows = rows();
+            EqualsBuilder equalsBuilder = new EqualsBuilder();
+            equalsBuilder.append(this.l, that.l);
+            IntStream.range(0, rows).forEach(index -> equalsBuilder.append(this.getBytesData(index), that.getBytesData(index)));
+            return equalsBuilder.isEquals();
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        String[] stringData = IntStream.range(0, Math.min(rows(), StructureUtils.DISPLAY_NUM))
+            .mapToObj(this::getBytesData)
+            .map(Hex::toHexString)
+            .toArray(String[]::new);
+        return this.getClass().getSimpleName() + " (l = " + l + "): " + Arrays.toString(stringData);
+    }
+}
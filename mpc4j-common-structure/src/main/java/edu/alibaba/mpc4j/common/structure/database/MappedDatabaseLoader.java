@@ -0,0 +1,250 @@
+package edu.alibaba.mpc4j.common.structure.database;
+
+import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.common.structure.database.MappedDatabase.Layout;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.utils.BinaryUtils;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Loader that builds a memory-mapped database file incrementally. Rows are appended one by one and are written to the
+ * disk through a fixed-size buffer, so that the whole database is never held on heap. For the column layout, rows are
+ * first written to a temporary row-major file, and are transposed block by block into the column file when loading.
+ * <p>
+ * Loading a new file and replacing the old database is the way to refresh a database, since mapped files are
+ * read-only.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2024/7/30
+ */
+public class MappedDatabaseLoader implements Closeable {
+    /**
+     * write buffer byte length
+     */
+    private static final int BUFFER_BYTE_LENGTH = 1 << 20;
+    /**
+     * number of column bytes in each transposed block
+     */
+    private static final int BLOCK_BYTE_ROWS = 1 << 13;
+    /**
+     * temporary suffix of the row-major file for the column layout
+     */
+    private static final String ROW_SUFFIX = "_ROWS";
+    /**
+     * path
+     */
+    private final Path path;
+    /**
+     * layout
+     */
+    private final Layout layout;
+    /**
+     * element bit length
+     */
+    private final int l;
+    /**
+     * element byte length
+     */
+    private final int byteL;
+    /**
+     * path of the row-major file
+     */
+    private final Path rowPath;
+    /**
+     * channel of the row-major file
+     */
+    private final FileChannel rowChannel;
+    /**
+     * write buffer
+     */
+    private final ByteBuffer buffer;
+    /**
+     * write position
+     */
+    private long position;
+    /**
+     * number of rows
+     */
+    private int rows;
+    /**
+     * closed
+     */
+    private boolean closed;
+
+    /**
+     * Creates a loader. The file is overwritten if it exists.
+     *
+     * @param path   path.
+     * @param l      element bit length.
+     * @param layout layout.
+     * @return a loader.
+     */
+    public static MappedDatabaseLoader create(Path path, int l, Layout layout) {
+        return new MappedDatabaseLoader(path, l, layout);
+    }
+
+    private MappedDatabaseLoader(Path path, int l, Layout layout) {
+        MathPreconditions.checkPositive("l", l);
+        this.path = path;
+        this.layout = layout;
+        this.l = l;
+        byteL = CommonUtils.getByteLength(l);
+        rowPath = layout == Layout.ROW ? path : path.resolveSibling(path.getFileName() + ROW_SUFFIX);
+        try {
+            rowChannel = FileChannel.open(
+                rowPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING
+            );
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create database file " + rowPath, e);
+        }
+        buffer = ByteBuffer.allocate(Math.max(BUFFER_BYTE_LENGTH / byteL, 1) * byteL);
+        position = MappedStorage.HEADER_BYTE_LENGTH;
+        rows = 0;
+        closed = false;
+    }
+
+    /**
+     * Appends a row.
+     *
+     * @param row row.
+     */
+    public void append(byte[] row) {
+        Preconditions.checkState(!closed, "Loader is closed");
+        Preconditions.checkArgument(BytesUtils.isFixedReduceByteArray(row, byteL, l));
+        MathPreconditions.checkLess("rows", rows, Integer.MAX_VALUE);
+        if (buffer.remaining() < byteL) {
+            flush();
+        }
+        buffer.put(row);
+        rows++;
+    }
+
+    /**
+     * Appends all rows of the database.
+     *
+     * @param database database.
+     */
+    public void append(Database database) {
+        MathPreconditions.checkEqual("l", "database.l", l, database.getL());
+        for (int index = 0; index < database.rows(); index++) {
+            append(database.getBytesData(index));
+        }
+    }
+
+    /**
+     * Gets the number of appended rows.
+     *
+     * @return number of appended rows.
+     */
+    public int rows() {
+        return rows;
+    }
+
+    private void flush() {
+        buffer.flip();
+        try {
+            MappedStorage.writeFully(rowChannel, buffer, position);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write database file " + rowPath, e);
+        }
+        position += buffer.limit();
+        buffer.clear();
+    }
+
+    /**
+     * Finishes writing and loads the database. The loader is closed after loading.
+     *
+     * @return the database.
+     */
+    public MappedDatabase load() {
+        finish();
+        return MappedDatabase.load(path);
+    }
+
+    /**
+     * Finishes writing without loading the database. The loader is closed after finishing.
+     */
+    void finish() {
+        Preconditions.checkState(!closed, "Loader is closed");
+        flush();
+        try {
+            MappedStorage.writeHeader(rowChannel, Layout.ROW, l, rows);
+            rowChannel.force(true);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write database file " + rowPath, e);
+        }
+        close();
+        if (layout == Layout.COLUMN) {
+            transpose();
+        }
+    }
+
+    /**
+     * Transposes the row-major file into the column file.
+     */
+    private void transpose() {
+        MappedStorage rowStorage = MappedStorage.open(rowPath);
+        int byteRows = CommonUtils.getByteLength(rows);
+        // row r is the (columnOffset + r)-th bit of each column
+        int columnOffset = byteRows * Byte.SIZE - rows;
+        int rowOffset = byteL * Byte.SIZE - l;
+        byte[] row = new byte[byteL];
+        try (FileChannel channel = FileChannel.open(
+            path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING
+        )) {
+            MappedStorage.writeHeader(channel, Layout.COLUMN, l, rows);
+            // each block is a byte range [blockFrom, blockTo) of all columns
+            for (int blockFrom = 0; blockFrom < byteRows; blockFrom += BLOCK_BYTE_ROWS) {
+                int blockTo = Math.min(blockFrom + BLOCK_BYTE_ROWS, byteRows);
+                byte[][] blockColumns = new byte[l][blockTo - blockFrom];
+                int fromRow = Math.max(blockFrom * Byte.SIZE - columnOffset, 0);
+                int toRow = blockTo * Byte.SIZE - columnOffset;
+                for (int rowIndex = fromRow; rowIndex < toRow; rowIndex++) {
+                    rowStorage.readRow(rowIndex, row);
+                    int blockBit = columnOffset + rowIndex - blockFrom * Byte.SIZE;
+                    for (int column = 0; column < l; column++) {
+                        if (BinaryUtils.getBoolean(row, rowOffset + column)) {
+                            BinaryUtils.setBoolean(blockColumns[column], blockBit, true);
+                        }
+                    }
+                }
+                for (int column = 0; column < l; column++) {
+                    MappedStorage.writeFully(
+                        channel, ByteBuffer.wrap(blockColumns[column]),
+                        MappedStorage.HEADER_BYTE_LENGTH + (long) column * byteRows + blockFrom
+                    );
+                }
+            }
+            channel.force(true);
+            Files.delete(rowPath);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write database file " + path, e);
+        }
+    }
+
+    /**
+     * Closes the loader without loading. The partially written file is left on the disk.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            rowChannel.close();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot close database file " + rowPath, e);
+        }
+    }
+}
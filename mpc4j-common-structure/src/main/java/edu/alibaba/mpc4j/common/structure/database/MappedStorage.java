@@ -0,0 +1,366 @@
+package edu.alibaba.mpc4j.common.structure.database;
+
+import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.common.structure.database.MappedDatabase.Layout;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
+import edu.alibaba.mpc4j.common.tool.utils.BinaryUtils;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Read-only memory-mapped storage of a database file. The file contains a header (magic, layout, l, rows), followed by
+ * the data in one of the following layouts:
+ * <li>ROW: rows one by one, each row is an l-bit element in byteL bytes.</li>
+ * <li>COLUMN: columns one by one, the j-th column contains the j-th bit of all rows in ⌈rows / 8⌉ bytes, in the same
+ * format as {@code BitVector.getBytes()}.</li>
+ * Rows (or columns) are records with the same byte length. Since a mapped buffer cannot exceed 2^31 - 1 bytes, the file
+ * is mapped into several chunks, each of which contains whole records.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/30
+ */
+class MappedStorage {
+    /**
+     * magic number, "MPDB"
+     */
+    private static final int MAGIC = 0x4D504442;
+    /**
+     * header byte length: magic, layout, l, rows
+     */
+    static final int HEADER_BYTE_LENGTH = Integer.BYTES + Byte.BYTES + Integer.BYTES + Integer.BYTES;
+    /**
+     * path
+     */
+    private final Path path;
+    /**
+     * whether the file is temporary, i.e., deleted when closing
+     */
+    private final boolean temporary;
+    /**
+     * layout
+     */
+    private final Layout layout;
+    /**
+     * element bit length
+     */
+    private final int l;
+    /**
+     * element byte length
+     */
+    private final int byteL;
+    /**
+     * number of rows
+     */
+    private final int rows;
+    /**
+     * byte length of each column
+     */
+    private final int byteRows;
+    /**
+     * byte length of each record
+     */
+    private final int recordByteLength;
+    /**
+     * number of records in each chunk
+     */
+    private final int chunkRecordNum;
+    /**
+     * mapped chunks
+     */
+    private final MappedByteBuffer[] chunks;
+
+    /**
+     * Opens the storage.
+     *
+     * @param path path.
+     * @return the storage.
+     */
+    static MappedStorage open(Path path) {
+        return open(path, false);
+    }
+
+    /**
+     * Opens the storage.
+     *
+     * @param path      path.
+     * @param temporary whether the file is temporary, i.e., deleted when closing.
+     * @return the storage.
+     */
+    static MappedStorage open(Path path, boolean temporary) {
+        Preconditions.checkArgument(Files.exists(path), "Database file does not exist: %s", path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTE_LENGTH);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IllegalArgumentException("Database file is too short: " + path);
+                }
+            }
+            header.flip();
+            int magic = header.getInt();
+            Preconditions.checkArgument(magic == MAGIC, "Invalid database file (magic = %s): %s", magic, path);
+            int layoutOrdinal = header.get();
+            MathPreconditions.checkNonNegativeInRange("layout", layoutOrdinal, Layout.values().length);
+            Layout layout = Layout.values()[layoutOrdinal];
+            int l = header.getInt();
+            int rows = header.getInt();
+            return new MappedStorage(path, temporary, channel, layout, l, rows);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot open database file " + path, e);
+        }
+    }
+
+    private MappedStorage(Path path, boolean temporary, FileChannel channel, Layout layout, int l, int rows)
+        throws IOException {
+        MathPreconditions.checkPositive("l", l);
+        MathPreconditions.checkNonNegative("rows", rows);
+        this.path = path;
+        this.temporary = temporary;
+        this.layout = layout;
+        this.l = l;
+        byteL = CommonUtils.getByteLength(l);
+        this.rows = rows;
+        byteRows = CommonUtils.getByteLength(rows);
+        int recordNum;
+        switch (layout) {
+            case ROW -> {
+                recordByteLength = byteL;
+                recordNum = rows;
+            }
+            case COLUMN -> {
+                recordByteLength = byteRows;
+                recordNum = l;
+            }
+            default ->
+                throw new IllegalArgumentException("Invalid " + Layout.class.getSimpleName() + ": " + layout.name());
+        }
+        long dataByteLength = (long) recordByteLength * recordNum;
+        MathPreconditions.checkEqual(
+            "file size", "expect size", channel.size(), HEADER_BYTE_LENGTH + dataByteLength
+        );
+        chunkRecordNum = recordByteLength == 0 ? 1 : Integer.MAX_VALUE / recordByteLength;
+        // chunkRecordNum can be close to 2^31 - 1, so that we avoid overflow when computing ⌈recordNum / chunkRecordNum⌉
+        int chunkNum = recordByteLength == 0 || recordNum == 0 ? 0 : (recordNum - 1) / chunkRecordNum + 1;
+        chunks = new MappedByteBuffer[chunkNum];
+        for (int chunkIndex = 0; chunkIndex < chunkNum; chunkIndex++) {
+            long position = HEADER_BYTE_LENGTH + (long) chunkIndex * chunkRecordNum * recordByteLength;
+            long size = Math.min((long) chunkRecordNum * recordByteLength, dataByteLength - position + HEADER_BYTE_LENGTH);
+            chunks[chunkIndex] = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        }
+    }
+
+    /**
+     * Writes the header.
+     *
+     * @param channel file channel.
+     * @param layout  layout.
+     * @param l       element bit length.
+     * @param rows    number of rows.
+     * @throws IOException if an I/O error occurs.
+     */
+    static void writeHeader(FileChannel channel, Layout layout, int l, int rows) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTE_LENGTH)
+            .putInt(MAGIC)
+            .put((byte) layout.ordinal())
+            .putInt(l)
+            .putInt(rows)
+            .flip();
+        writeFully(channel, header, 0);
+    }
+
+    /**
+     * Writes the buffer at the given position.
+     *
+     * @param channel  file channel.
+     * @param buffer   buffer.
+     * @param position position.
+     * @throws IOException if an I/O error occurs.
+     */
+    static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Writes columns into the file.
+     *
+     * @param path    path.
+     * @param columns columns.
+     */
+    static void writeColumns(Path path, BitVector[] columns) {
+        int l = columns.length;
+        int rows = columns[0].bitNum();
+        try (FileChannel channel = FileChannel.open(
+            path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING
+        )) {
+            writeHeader(channel, Layout.COLUMN, l, rows);
+            long position = HEADER_BYTE_LENGTH;
+            for (BitVector column : columns) {
+                byte[] bytes = column.getBytes();
+                writeFully(channel, ByteBuffer.wrap(bytes), position);
+                position += bytes.length;
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write database file " + path, e);
+        }
+    }
+
+    /**
+     * Gets the path.
+     *
+     * @return path.
+     */
+    Path getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the layout.
+     *
+     * @return layout.
+     */
+    Layout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Gets the element bit length.
+     *
+     * @return element bit length.
+     */
+    int getL() {
+        return l;
+    }
+
+    /**
+     * Gets the element byte length.
+     *
+     * @return element byte length.
+     */
+    int getByteL() {
+        return byteL;
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return number of rows.
+     */
+    int rows() {
+        return rows;
+    }
+
+    /**
+     * Reads the row into dst.
+     *
+     * @param row row index.
+     * @param dst destination with byteL bytes.
+     */
+    void readRow(int row, byte[] dst) {
+        assert row >= 0 && row < rows : "row must be in range [0, " + rows + "): " + row;
+        switch (layout) {
+            case ROW -> chunks[row / chunkRecordNum].get((row % chunkRecordNum) * recordByteLength, dst, 0, byteL);
+            case COLUMN -> {
+                int rowOffset = byteL * Byte.SIZE - l;
+                int columnOffset = byteRows * Byte.SIZE - rows + row;
+                for (int column = 0; column < l; column++) {
+                    byte columnByte = chunks[column / chunkRecordNum]
+                        .get((column % chunkRecordNum) * recordByteLength + columnOffset / Byte.SIZE);
+                    BinaryUtils.setBoolean(dst, rowOffset + column, ((columnByte << (columnOffset % Byte.SIZE)) & 0x80) != 0);
+                }
+            }
+            default ->
+                throw new IllegalStateException("Invalid " + Layout.class.getSimpleName() + ": " + layout.name());
+        }
+    }
+
+    /**
+     * Gets a read-only view of [from, from + length) bytes of the row. The layout must be ROW.
+     *
+     * @param row    row index.
+     * @param from   starting byte in the row.
+     * @param length byte length.
+     * @return the view.
+     */
+    ByteBuffer rowView(int row, int from, int length) {
+        assert layout == Layout.ROW;
+        assert row >= 0 && row < rows : "row must be in range [0, " + rows + "): " + row;
+        assert from >= 0 && from + length <= byteL;
+        return chunks[row / chunkRecordNum]
+            .slice((row % chunkRecordNum) * recordByteLength + from, length)
+            .asReadOnlyBuffer();
+    }
+
+    /**
+     * Reads rows [fromRow, fromRow + num) of the column into dst, right-aligned. Only bytes covering the row range are
+     * read from the file. The layout must be COLUMN.
+     *
+     * @param column  column index.
+     * @param fromRow starting row.
+     * @param num     number of rows.
+     * @param dst     destination with ⌈num / 8⌉ bytes.
+     */
+    void readColumn(int column, int fromRow, int num, byte[] dst) {
+        assert layout == Layout.COLUMN;
+        assert column >= 0 && column < l : "column must be in range [0, " + l + "): " + column;
+        assert fromRow >= 0 && num > 0 && fromRow + num <= rows;
+        assert dst.length == CommonUtils.getByteLength(num);
+        // row r is the (byteRows * 8 - rows + r)-th bit of the column
+        int srcOffset = byteRows * Byte.SIZE - rows + fromRow;
+        int dstOffset = dst.length * Byte.SIZE - num;
+        int fromByte = srcOffset / Byte.SIZE;
+        int byteNum = CommonUtils.getByteLength(srcOffset + num) - fromByte;
+        MappedByteBuffer chunk = chunks[column / chunkRecordNum];
+        int position = (column % chunkRecordNum) * recordByteLength + fromByte;
+        // dst bit (dstOffset + i) is src bit (srcOffset % 8 + i)
+        int shift = srcOffset % Byte.SIZE - dstOffset;
+        if (shift == 0) {
+            chunk.get(position, dst, 0, byteNum);
+        } else {
+            byte[] src = new byte[byteNum];
+            chunk.get(position, src, 0, byteNum);
+            for (int dstIndex = 0; dstIndex < dst.length; dstIndex++) {
+                // the most significant bit of dst[dstIndex] is the srcBit-th bit of src
+                int srcBit = dstIndex * Byte.SIZE + shift;
+                int srcIndex = Math.floorDiv(srcBit, Byte.SIZE);
+                int bitShift = Math.floorMod(srcBit, Byte.SIZE);
+                int value = srcIndex >= 0 ? (src[srcIndex] & 0xFF) << bitShift : 0;
+                if (bitShift != 0 && srcIndex + 1 < byteNum) {
+                    value |= (src[srcIndex + 1] & 0xFF) >>> (Byte.SIZE - bitShift);
+                }
+                dst[dstIndex] = (byte) value;
+            }
+        }
+        // clear bits of rows before fromRow
+        dst[0] &= (byte) (0xFF >>> dstOffset);
+    }
+
+    /**
+     * Closes the storage. The storage cannot be used after closing.
+     * <p>
+     * The file is deleted if it is temporary. Deletion is best-effort: the chunks are not unmapped explicitly, since
+     * views returned by {@link #rowView(int, int, int)} may still refer to them, and some systems (e.g., Windows)
+     * refuse to delete a file that is still mapped. In this case, the file is deleted when the JVM exits.
+     * </p>
+     */
+    void close() {
+        // drop the references, so that the mappings are released once all views are garbage collected
+        Arrays.fill(chunks, null);
+        if (temporary) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                path.toFile().deleteOnExit();
+            }
+        }
+    }
+}
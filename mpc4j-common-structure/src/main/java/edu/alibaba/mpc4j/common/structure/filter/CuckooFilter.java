@@ -1,6 +1,5 @@
 package edu.alibaba.mpc4j.common.structure.filter;
 
-import com.google.common.base.Preconditions;
 import com.google.common.math.DoubleMath;
 import edu.alibaba.mpc4j.common.structure.filter.FilterFactory.FilterType;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
@@ -15,8 +14,10 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 import java.math.RoundingMode;
 import java.nio.ByteBuffer;
 import java.security.SecureRandom;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.stream.IntStream;
 
 /**
@@ -28,6 +29,8 @@ import java.util.stream.IntStream;
  * <li>Support adding and removing items dynamically.</li>
  * <li>Provide higher lookup performance than traditional Bloom Filters.</li>
  * <li>Use less space than Bloom Filters in many practical applications.</li>
+ * <p></p>
+ * Fingerprints are packed in one flat long array, see {@link CuckooFilterBuckets}.
  *
  * @author Li Peng, Weiran Liu
  * @date 2020/08/29
@@ -44,21 +47,17 @@ public class CuckooFilter<T> implements Filter<T> {
     /**
      * number of entries in each bucket. The default value is 4.
      */
-    private static final int ENTRIES_PER_BUCKET = 4;
+    private static final int ENTRIES_PER_BUCKET = CuckooFilterBuckets.ENTRIES_PER_BUCKET;
     /**
      * byte length for each fingerprint
      */
-    static final int FINGERPRINT_BYTE_LENGTH = CuckooFilterEntry.FINGERPRINT_BYTE_LENGTH;
+    static final int FINGERPRINT_BYTE_LENGTH = CuckooFilterBuckets.FINGERPRINT_BYTE_LENGTH;
     /**
      * max number of kicks for collusion. In paper, it is set to be 500.
      * The test shows when inserting 2^20 elements, there are some non-negligible failure probability.
      * Here we set 2^10 = 1024, the same as cuckoo hash.
      */
     private static final int MAX_NUM_KICKS = 1 << 10;
-    /**
-     * empty byte buffer
-     */
-    private static final ByteBuffer ZERO_BYTE_BUFFER = ByteBuffer.wrap(new byte[FINGERPRINT_BYTE_LENGTH]);
     /**
      * hash key num
      */
@@ -91,7 +90,7 @@ public class CuckooFilter<T> implements Filter<T> {
     /**
      * cuckoo filter buckets
      */
-    private ArrayList<ArrayList<CuckooFilterEntry>> buckets;
+    private CuckooFilterBuckets buckets;
     /**
      * bucket hash
      */
@@ -128,9 +127,7 @@ public class CuckooFilter<T> implements Filter<T> {
         cuckooFilter.bucketHash = PrfFactory.createInstance(envType, Integer.BYTES);
         cuckooFilter.bucketHash.setKey(keys[1]);
         // initialize buckets
-        cuckooFilter.buckets = IntStream.range(0, cuckooFilter.bucketNum)
-            .mapToObj(bucketIndex -> new ArrayList<CuckooFilterEntry>(ENTRIES_PER_BUCKET))
-            .collect(Collectors.toCollection(ArrayList::new));
+        cuckooFilter.buckets = new CuckooFilterBuckets(cuckooFilter.bucketNum);
         cuckooFilter.size = 0;
         cuckooFilter.itemByteLength = 0;
 
@@ -174,29 +171,8 @@ public class CuckooFilter<T> implements Filter<T> {
         cuckooFilter.bucketHash.setKey(bucketHashKey);
         cuckooFilter.secureRandom = new SecureRandom();
 
-        // read elements
-        byte[] compressed = byteArrayList.remove(0);
-        MathPreconditions.checkEqual(
-            "expected length", "actual length",
-            cuckooFilter.bucketNum * ENTRIES_PER_BUCKET * FINGERPRINT_BYTE_LENGTH, compressed.length
-        );
-        ByteBuffer[] bucketFlattenedElements = SerializeUtils.decompressEqual(compressed, FINGERPRINT_BYTE_LENGTH)
-            .stream()
-            .map(ByteBuffer::wrap).toArray(ByteBuffer[]::new);
-        cuckooFilter.buckets = IntStream.range(0, cuckooFilter.bucketNum)
-            .mapToObj(bucketIndex -> {
-                ArrayList<CuckooFilterEntry> bucket = new ArrayList<>(ENTRIES_PER_BUCKET);
-                IntStream.range(0, ENTRIES_PER_BUCKET).forEach(index -> {
-                    // add non-zero fingerprint
-                    if (!bucketFlattenedElements[bucketIndex * ENTRIES_PER_BUCKET + index].equals(ZERO_BYTE_BUFFER)) {
-                        bucket.add(
-                            new CuckooFilterEntry(bucketFlattenedElements[bucketIndex * ENTRIES_PER_BUCKET + index])
-                        );
-                    }
-                });
-                return bucket;
-            })
-            .collect(Collectors.toCollection(ArrayList::new));
+        // read elements, directly from the contiguous buffer
+        cuckooFilter.buckets = new CuckooFilterBuckets(cuckooFilter.bucketNum, byteArrayList.remove(0));
         byteArrayList.clear();
 
         return cuckooFilter;
@@ -227,21 +203,8 @@ public class CuckooFilter<T> implements Filter<T> {
         headerByteBuffer.put(bucketHash.getKey());
         byteArrayList.add(headerByteBuffer.array());
 
-        // elements
-        List<byte[]> cuckooFilterList = new LinkedList<>();
-        IntStream.range(0, bucketNum).forEach(bucketIndex -> {
-            List<CuckooFilterEntry> bucket = buckets.get(bucketIndex);
-            int remainSize = ENTRIES_PER_BUCKET - bucket.size();
-            for (CuckooFilterEntry cuckooFilterEntry : bucket) {
-                cuckooFilterList.add(BytesUtils.clone(cuckooFilterEntry.getFingerprint().array()));
-            }
-            while (remainSize > 0) {
-                // empty elements are replaced with 0
-                cuckooFilterList.add(new byte[FINGERPRINT_BYTE_LENGTH]);
-                remainSize--;
-            }
-        });
-        byteArrayList.add(SerializeUtils.compressEqual(cuckooFilterList, FINGERPRINT_BYTE_LENGTH));
+        // elements, empty elements are replaced with 0
+        byteArrayList.add(buckets.toByteArray());
 
         return byteArrayList;
     }
@@ -264,69 +227,81 @@ public class CuckooFilter<T> implements Filter<T> {
     @Override
     public boolean mightContain(T data) {
         byte[] objectBytes = ObjectUtils.objectToByteArray(data);
-        ByteBuffer fingerprint = ByteBuffer.wrap(fingerprintHash.getBytes(objectBytes));
+        long fingerprint = CuckooFilterBuckets.toFingerprint(fingerprintHash.getBytes(objectBytes));
         int bucketIndex1 = bucketHash.getInteger(objectBytes, bucketNum);
-        int fingerPrintHash = bucketHash.getInteger(fingerprint.array(), bucketNum);
-        int bucketIndex2 = Math.abs((bucketIndex1 ^ fingerPrintHash) % bucketNum);
-        CuckooFilterEntry entry = new CuckooFilterEntry(fingerprint);
+        int bucketIndex2 = alternativeIndex(bucketIndex1, fingerprint);
 
-        return buckets.get(bucketIndex1).contains(entry) || buckets.get(bucketIndex2).contains(entry);
+        return buckets.contains(bucketIndex1, fingerprint) || buckets.contains(bucketIndex2, fingerprint);
     }
 
     @Override
     public void put(T data) {
+        byte[] objectBytes = ObjectUtils.objectToByteArray(data);
+        long fingerprint = CuckooFilterBuckets.toFingerprint(fingerprintHash.getBytes(objectBytes));
+        int bucketIndex1 = bucketHash.getInteger(objectBytes, bucketNum);
+        int bucketIndex2 = alternativeIndex(bucketIndex1, fingerprint);
+        insert(data, objectBytes.length, fingerprint, bucketIndex1, bucketIndex2);
+    }
+
+    @Override
+    public void putAll(Collection<T> data) {
+        MathPreconditions.checkLessOrEqual("size + data.size()", size + data.size(), maxSize);
+        List<T> dataList = new ArrayList<>(data);
+        int num = dataList.size();
+        int[] itemLengths = new int[num];
+        long[] fingerprints = new long[num];
+        int[] bucketIndexes1 = new int[num];
+        int[] bucketIndexes2 = new int[num];
+        // compute hashes in parallel
+        IntStream.range(0, num).parallel().forEach(index -> {
+            byte[] objectBytes = ObjectUtils.objectToByteArray(dataList.get(index));
+            itemLengths[index] = objectBytes.length;
+            fingerprints[index] = CuckooFilterBuckets.toFingerprint(fingerprintHash.getBytes(objectBytes));
+            bucketIndexes1[index] = bucketHash.getInteger(objectBytes, bucketNum);
+            bucketIndexes2[index] = alternativeIndex(bucketIndexes1[index], fingerprints[index]);
+        });
+        // insert in sequence, since kicks of different elements may touch the same buckets
+        for (int index = 0; index < num; index++) {
+            insert(
+                dataList.get(index), itemLengths[index], fingerprints[index], bucketIndexes1[index], bucketIndexes2[index]
+            );
+        }
+    }
+
+    private void insert(T data, int itemLength, long fingerprint, int bucketIndex1, int bucketIndex2) {
         MathPreconditions.checkLess("size", size, maxSize);
-        if (mightContain(data)) {
+        if (buckets.contains(bucketIndex1, fingerprint) || buckets.contains(bucketIndex2, fingerprint)) {
             throw new IllegalArgumentException("Insert might duplicate item: " + data);
         }
-        byte[] objectBytes = ObjectUtils.objectToByteArray(data);
-        ByteBuffer fingerprint = ByteBuffer.wrap(fingerprintHash.getBytes(objectBytes));
-        int bucketIndex1 = bucketHash.getInteger(objectBytes, bucketNum);
-        int fingerprintHash = bucketHash.getInteger(fingerprint.array(), bucketNum);
-        int bucketIndex2 = Math.abs((bucketIndex1 ^ fingerprintHash) % bucketNum);
         // if bucket[i_1] or bucket[i_2] has an empty entry, then add f to that bucket
-        if (buckets.get(bucketIndex1).size() < ENTRIES_PER_BUCKET) {
-            buckets.get(bucketIndex1).add(new CuckooFilterEntry(fingerprint));
+        if (buckets.add(bucketIndex1, fingerprint) || buckets.add(bucketIndex2, fingerprint)) {
             size++;
-            itemByteLength += objectBytes.length;
-        } else if (buckets.get(bucketIndex2).size() < ENTRIES_PER_BUCKET) {
-            buckets.get(bucketIndex2).add(new CuckooFilterEntry(fingerprint));
-            size++;
-            itemByteLength += objectBytes.length;
-        } else {
-            // i = randomly pick i_1 or i_2
-            int choiceIndex = secureRandom.nextBoolean() ? bucketIndex1 : bucketIndex2;
-            List<CuckooFilterEntry> choiceBucket = buckets.get(choiceIndex);
-            byte[] addedFingerprintBytes = Arrays.copyOf(fingerprint.array(), fingerprint.array().length);
-            byte[] choiceFingerprintBytes;
-            int choiceEntryIndex;
-            for (int count = 0; count < MAX_NUM_KICKS; count++) {
-                // randomly select an entry e from bucket[i]
-                choiceEntryIndex = secureRandom.nextInt(ENTRIES_PER_BUCKET);
-                // 将指纹值拷贝出来
-                ByteBuffer choiceFingerprint = choiceBucket.remove(choiceEntryIndex).getFingerprint();
-                choiceFingerprintBytes = choiceFingerprint.array();
-                // 将待插入的指纹插入到新的位置中
-                ByteBuffer copyAddedFingerprint = ByteBuffer.wrap(BytesUtils.clone(addedFingerprintBytes));
-                choiceBucket.add(new CuckooFilterEntry(copyAddedFingerprint));
-                // 踢出再插入元素后，哈希桶中元素的数量应该仍然为ENTRIES_PER_BUCKET
-                Preconditions.checkArgument(choiceBucket.size() == ENTRIES_PER_BUCKET);
-                addedFingerprintBytes = BytesUtils.clone(choiceFingerprintBytes);
-                int choiceFingerprintHash = bucketHash.getInteger(choiceFingerprintBytes, bucketNum);
-                choiceIndex = Math.abs((choiceIndex ^ choiceFingerprintHash) % bucketNum);
-                choiceBucket = buckets.get(choiceIndex);
-                // bucket[i] has an empty entry, then add f to that bucket
-                if (choiceBucket.size() < ENTRIES_PER_BUCKET) {
-                    choiceBucket.add(new CuckooFilterEntry(ByteBuffer.wrap(addedFingerprintBytes)));
-                    size++;
-                    itemByteLength += objectBytes.length;
-                    return;
-                }
-                // 如果到达这个位置，意味着踢出元素放置到新的哈希桶中后，新的哈希桶元素数量仍然达到ENTRIES_PER_BUCKET，需要重复踢出
+            itemByteLength += itemLength;
+            return;
+        }
+        // i = randomly pick i_1 or i_2
+        int choiceIndex = secureRandom.nextBoolean() ? bucketIndex1 : bucketIndex2;
+        long addedFingerprint = fingerprint;
+        for (int count = 0; count < MAX_NUM_KICKS; count++) {
+            // randomly select an entry e from bucket[i], swap f and the fingerprint stored in entry e
+            int choiceEntryIndex = secureRandom.nextInt(ENTRIES_PER_BUCKET);
+            addedFingerprint = buckets.swap(choiceIndex, choiceEntryIndex, addedFingerprint);
+            choiceIndex = alternativeIndex(choiceIndex, addedFingerprint);
+            // bucket[i] has an empty entry, then add f to that bucket
+            if (buckets.add(choiceIndex, addedFingerprint)) {
+                size++;
+                itemByteLength += itemLength;
+                return;
             }
-            // 如果到达这个位置，意味着不能再踢出元素了
-            throw new IllegalArgumentException("Cannot add item, exceeding max tries: " + data);
+            // 如果到达这个位置，意味着踢出元素放置到新的哈希桶中后，新的哈希桶元素数量仍然达到ENTRIES_PER_BUCKET，需要重复踢出
         }
+        // 如果到达这个位置，意味着不能再踢出元素了
+        throw new IllegalArgumentException("Cannot add item, exceeding max tries: " + data);
+    }
+
+    private int alternativeIndex(int bucketIndex, long fingerprint) {
+        int hash = bucketHash.getInteger(CuckooFilterBuckets.toFingerprintBytes(fingerprint), bucketNum);
+        return Math.abs((bucketIndex ^ hash) % bucketNum);
     }
 
     @Override
@@ -347,38 +322,29 @@ public class CuckooFilter<T> implements Filter<T> {
         }
         //noinspection unchecked
         CuckooFilter<T> that = (CuckooFilter<T>) obj;
-        EqualsBuilder equalsBuilder = new EqualsBuilder();
-        equalsBuilder
+        return new EqualsBuilder()
             .append(this.maxSize, that.maxSize)
             .append(this.size, that.size)
             .append(this.itemByteLength, that.itemByteLength)
             .append(this.fingerprintHash.getPrfType(), that.fingerprintHash.getPrfType())
             .append(this.fingerprintHash.getKey(), that.fingerprintHash.getKey())
             .append(this.bucketHash.getPrfType(), that.bucketHash.getPrfType())
-            .append(this.bucketHash.getKey(), that.bucketHash.getKey());
-        // 因为插入顺序是没关系的，因此要变成集合
-        IntStream.range(0, bucketNum).forEach(buckedIndex ->
-            equalsBuilder.append(
-                new HashSet<>(this.buckets.get(buckedIndex)),
-                new HashSet<>(that.buckets.get(buckedIndex))
-            )
-        );
-        return equalsBuilder.isEquals();
+            .append(this.bucketHash.getKey(), that.bucketHash.getKey())
+            // 因为插入顺序是没关系的，因此桶内按集合比较
+            .append(this.buckets, that.buckets)
+            .isEquals();
     }
 
     @Override
     public int hashCode() {
-        HashCodeBuilder hashCodeBuilder = new HashCodeBuilder();
-        hashCodeBuilder
+        return new HashCodeBuilder()
             .append(maxSize)
             .append(size)
             .append(itemByteLength)
             .append(fingerprintHash.getPrfType())
             .append(fingerprintHash.getKey())
-            .append(bucketHash.getKey());
-        // 因为插入顺序是没关系的，因此要变成集合
-        IntStream.range(0, bucketNum).forEach(buckedIndex ->
-            hashCodeBuilder.append(new HashSet<>(buckets.get(buckedIndex))));
-        return hashCodeBuilder.toHashCode();
+            .append(bucketHash.getKey())
+            .append(buckets)
+            .toHashCode();
     }
 }
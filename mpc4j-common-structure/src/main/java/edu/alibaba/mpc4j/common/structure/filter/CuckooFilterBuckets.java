@@ -0,0 +1,252 @@
+package edu.alibaba.mpc4j.common.structure.filter;
+
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+
+import java.util.Arrays;
+
+/**
+ * Packed buckets for Cuckoo Filter and Vacuum Filter. Each bucket has 4 entries, and each entry is a 48-bit
+ * fingerprint stored in one long. All buckets are stored in one flat long array, so that a bucket is 32 contiguous
+ * bytes and can be probed by one 256-bit vector comparison if SIMD probing is enabled (see {@link #SIMD_PROPERTY}).
+ * The all-zero fingerprint is reserved for empty entries.
+ * <p>
+ * The serialized form is the concatenation of all entries, each in {@code FINGERPRINT_BYTE_LENGTH} big-endian bytes,
+ * with 0 for empty entries. This is the same as the former object-based buckets.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2024/7/24
+ */
+class CuckooFilterBuckets {
+    /**
+     * number of entries in each bucket
+     */
+    static final int ENTRIES_PER_BUCKET = 4;
+    /**
+     * bit length for each fingerprint, computed as (log_2(1/ε) + log_2(2 * ENTRIES_PER_BUCKET)).
+     * Since ENTRIES_PER_BUCKET = 4, log_2(1/ε) = 40, the result is 40 + 3 = 43, we round to 48, see Table 2.
+     */
+    static final int FINGERPRINT_BYTE_LENGTH = 6;
+    /**
+     * empty entry
+     */
+    private static final long EMPTY = 0L;
+    /**
+     * system property that enables SIMD probing, e.g., {@code -Dmpc4j.filter.simd=true}
+     */
+    static final String SIMD_PROPERTY = "mpc4j.filter.simd";
+    /**
+     * whether buckets are probed by 256-bit vector comparisons. The Vector API is an incubator module, so SIMD probing
+     * is opt-in: it requires the system property, the resolved jdk.incubator.vector module and native 256-bit vectors.
+     * Otherwise, buckets are probed by scalar comparisons, and {@link SimdCuckooFilterProbe} is never loaded.
+     */
+    private static final boolean SIMD = Boolean.getBoolean(SIMD_PROPERTY)
+        && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+        && SimdCuckooFilterProbe.isSupported();
+
+    /**
+     * Converts the fingerprint bytes to the fingerprint. The all-zero fingerprint is mapped to 1 since 0 is reserved
+     * for empty entries.
+     *
+     * @param fingerprintBytes fingerprint bytes.
+     * @return fingerprint.
+     */
+    static long toFingerprint(byte[] fingerprintBytes) {
+        MathPreconditions.checkEqual(
+            "expect length", "actual length", FINGERPRINT_BYTE_LENGTH, fingerprintBytes.length
+        );
+        long fingerprint = readFingerprint(fingerprintBytes, 0);
+        return fingerprint == EMPTY ? 1L : fingerprint;
+    }
+
+    /**
+     * Converts the fingerprint to bytes.
+     *
+     * @param fingerprint fingerprint.
+     * @return fingerprint bytes.
+     */
+    static byte[] toFingerprintBytes(long fingerprint) {
+        byte[] fingerprintBytes = new byte[FINGERPRINT_BYTE_LENGTH];
+        writeFingerprint(fingerprint, fingerprintBytes, 0);
+        return fingerprintBytes;
+    }
+
+    private static long readFingerprint(byte[] bytes, int pos) {
+        long fingerprint = 0L;
+        for (int i = 0; i < FINGERPRINT_BYTE_LENGTH; i++) {
+            fingerprint = (fingerprint << Byte.SIZE) | (bytes[pos + i] & 0xFFL);
+        }
+        return fingerprint;
+    }
+
+    private static void writeFingerprint(long fingerprint, byte[] bytes, int pos) {
+        for (int i = FINGERPRINT_BYTE_LENGTH - 1; i >= 0; i--) {
+            bytes[pos + i] = (byte) fingerprint;
+            fingerprint >>>= Byte.SIZE;
+        }
+    }
+
+    /**
+     * bucket num
+     */
+    private final int bucketNum;
+    /**
+     * entries, bucket i is in [4i, 4i + 4)
+     */
+    private final long[] entries;
+
+    /**
+     * Creates empty buckets.
+     *
+     * @param bucketNum bucket num.
+     */
+    CuckooFilterBuckets(int bucketNum) {
+        MathPreconditions.checkPositive("bucketNum", bucketNum);
+        this.bucketNum = bucketNum;
+        entries = new long[bucketNum * ENTRIES_PER_BUCKET];
+    }
+
+    /**
+     * Creates buckets from the serialized form.
+     *
+     * @param bucketNum bucket num.
+     * @param bytes     serialized form.
+     */
+    CuckooFilterBuckets(int bucketNum, byte[] bytes) {
+        this(bucketNum);
+        MathPreconditions.checkEqual(
+            "expected length", "actual length", entries.length * FINGERPRINT_BYTE_LENGTH, bytes.length
+        );
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = readFingerprint(bytes, i * FINGERPRINT_BYTE_LENGTH);
+        }
+    }
+
+    /**
+     * Serializes the buckets into one byte array.
+     *
+     * @return serialized form.
+     */
+    byte[] toByteArray() {
+        byte[] bytes = new byte[entries.length * FINGERPRINT_BYTE_LENGTH];
+        for (int i = 0; i < entries.length; i++) {
+            writeFingerprint(entries[i], bytes, i * FINGERPRINT_BYTE_LENGTH);
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns whether the bucket contains the fingerprint.
+     *
+     * @param bucketIndex bucket index.
+     * @param fingerprint fingerprint.
+     * @return whether the bucket contains the fingerprint.
+     */
+    boolean contains(int bucketIndex, long fingerprint) {
+        int offset = bucketIndex * ENTRIES_PER_BUCKET;
+        if (SIMD) {
+            return SimdCuckooFilterProbe.contains(entries, offset, fingerprint);
+        }
+        return (entries[offset] == fingerprint) | (entries[offset + 1] == fingerprint)
+            | (entries[offset + 2] == fingerprint) | (entries[offset + 3] == fingerprint);
+    }
+
+    /**
+     * Adds the fingerprint into an empty entry of the bucket.
+     *
+     * @param bucketIndex bucket index.
+     * @param fingerprint fingerprint.
+     * @return true if the bucket has an empty entry; false otherwise.
+     */
+    boolean add(int bucketIndex, long fingerprint) {
+        int offset = bucketIndex * ENTRIES_PER_BUCKET;
+        for (int i = offset; i < offset + ENTRIES_PER_BUCKET; i++) {
+            if (entries[i] == EMPTY) {
+                entries[i] = fingerprint;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether the bucket has an empty entry.
+     *
+     * @param bucketIndex bucket index.
+     * @return whether the bucket has an empty entry.
+     */
+    boolean hasEmpty(int bucketIndex) {
+        return contains(bucketIndex, EMPTY);
+    }
+
+    /**
+     * Gets the fingerprint in the entry.
+     *
+     * @param bucketIndex bucket index.
+     * @param entryIndex  entry index.
+     * @return fingerprint.
+     */
+    long get(int bucketIndex, int entryIndex) {
+        return entries[bucketIndex * ENTRIES_PER_BUCKET + entryIndex];
+    }
+
+    /**
+     * Replaces the fingerprint in the entry.
+     *
+     * @param bucketIndex bucket index.
+     * @param entryIndex  entry index.
+     * @param fingerprint fingerprint.
+     * @return the replaced fingerprint.
+     */
+    long swap(int bucketIndex, int entryIndex, long fingerprint) {
+        int index = bucketIndex * ENTRIES_PER_BUCKET + entryIndex;
+        long replaced = entries[index];
+        entries[index] = fingerprint;
+        return replaced;
+    }
+
+    /**
+     * Gets the bucket num.
+     *
+     * @return bucket num.
+     */
+    int getBucketNum() {
+        return bucketNum;
+    }
+
+    private long[] sortedBucket(int bucketIndex) {
+        int offset = bucketIndex * ENTRIES_PER_BUCKET;
+        long[] bucket = Arrays.copyOfRange(entries, offset, offset + ENTRIES_PER_BUCKET);
+        Arrays.sort(bucket);
+        return bucket;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof CuckooFilterBuckets that)) {
+            return false;
+        }
+        if (this.bucketNum != that.bucketNum) {
+            return false;
+        }
+        // the order of entries in a bucket does not matter
+        for (int bucketIndex = 0; bucketIndex < bucketNum; bucketIndex++) {
+            if (!Arrays.equals(this.sortedBucket(bucketIndex), that.sortedBucket(bucketIndex))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = bucketNum;
+        for (int bucketIndex = 0; bucketIndex < bucketNum; bucketIndex++) {
+            hashCode = 31 * hashCode + Arrays.hashCode(sortedBucket(bucketIndex));
+        }
+        return hashCode;
+    }
+}
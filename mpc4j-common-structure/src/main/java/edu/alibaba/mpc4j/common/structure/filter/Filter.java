@@ -1,5 +1,6 @@
 package edu.alibaba.mpc4j.common.structure.filter;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -53,6 +54,17 @@ public interface Filter<T> {
      */
     void put(T data);
 
+    /**
+     * Puts all elements into the filter. The default implementation puts elements one by one. Implementations may
+     * compute hashes of elements in parallel.
+     *
+     * @param data elements.
+     * @throws IllegalArgumentException if inserting duplicate elements.
+     */
+    default void putAll(Collection<T> data) {
+        data.forEach(this::put);
+    }
+
     /**
      * 返回过滤器的数据压缩率。
      *
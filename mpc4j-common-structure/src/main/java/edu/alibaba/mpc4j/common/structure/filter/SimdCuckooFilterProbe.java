@@ -0,0 +1,47 @@
+package edu.alibaba.mpc4j.common.structure.filter;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Bucket probe for {@link CuckooFilterBuckets} using the Vector API, a bucket is probed by one 256-bit vector
+ * comparison. The Vector API is an incubator module, so this class is only loaded when SIMD probing is enabled, see
+ * {@link CuckooFilterBuckets#SIMD_PROPERTY}.
+ *
+ * @author Weiran Liu
+ * @date 2024/8/8
+ */
+class SimdCuckooFilterProbe {
+    /**
+     * 256-bit species, exactly one bucket
+     */
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_256;
+
+    /**
+     * private constructor.
+     */
+    private SimdCuckooFilterProbe() {
+        // empty
+    }
+
+    /**
+     * Returns whether the platform natively supports 256-bit vectors.
+     *
+     * @return whether the platform natively supports 256-bit vectors.
+     */
+    static boolean isSupported() {
+        return LongVector.SPECIES_PREFERRED.vectorBitSize() >= SPECIES.vectorBitSize();
+    }
+
+    /**
+     * Returns whether the bucket contains the fingerprint.
+     *
+     * @param entries     entries.
+     * @param offset      offset of the bucket.
+     * @param fingerprint fingerprint.
+     * @return whether the bucket contains the fingerprint.
+     */
+    static boolean contains(long[] entries, int offset, long fingerprint) {
+        return LongVector.fromArray(SPECIES, entries, offset).eq(fingerprint).anyTrue();
+    }
+}
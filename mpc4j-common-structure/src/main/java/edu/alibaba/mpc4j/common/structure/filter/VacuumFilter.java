@@ -13,15 +13,13 @@ import gnu.trove.list.array.TIntArrayList;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
-import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.nio.ByteBuffer;
 import java.security.SecureRandom;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 /**
@@ -29,6 +27,8 @@ import java.util.stream.IntStream;
  * <p></p>
  * Wang M, Zhou M, Shi S, et al. Vacuum filters: more space-efficient and faster replacement for bloom and cuckoo
  * filters[J]. Proceedings of the VLDB Endowment, 2019, 13(2): 197-210.
+ * <p></p>
+ * Fingerprints are packed in one flat long array, see {@link CuckooFilterBuckets}.
  *
  * @author Li Peng, Ziyuan Liang
  * @date 2020/10/21
@@ -45,7 +45,7 @@ public class VacuumFilter<T> implements Filter<T> {
     /**
      * 每个桶内有多少个元素（entry），这里使用默认值4
      */
-    private static final int ENTRIES_PER_BUCKET = 4;
+    private static final int ENTRIES_PER_BUCKET = CuckooFilterBuckets.ENTRIES_PER_BUCKET;
     /**
      * 索引值可选范围数量
      */
@@ -53,7 +53,7 @@ public class VacuumFilter<T> implements Filter<T> {
     /**
      * byte length for each fingerprint
      */
-    static final int FINGERPRINT_BYTE_LENGTH = CuckooFilterEntry.FINGERPRINT_BYTE_LENGTH;
+    static final int FINGERPRINT_BYTE_LENGTH = CuckooFilterBuckets.FINGERPRINT_BYTE_LENGTH;
     /**
      * 最大踢出次数，设置为2^11 = 2048
      */
@@ -93,7 +93,7 @@ public class VacuumFilter<T> implements Filter<T> {
     /**
      * 真空过滤器
      */
-    private ArrayList<ArrayList<CuckooFilterEntry>> buckets;
+    private CuckooFilterBuckets buckets;
     /**
      * 用于计算布谷鸟过滤器哈希桶位置的哈希函数
      */
@@ -142,10 +142,8 @@ public class VacuumFilter<T> implements Filter<T> {
         // 这里设置的哈希的输出范围仍然是2^n。
         vacuumFilter.bucketHash = PrfFactory.createInstance(envType, Integer.BYTES);
         vacuumFilter.bucketHash.setKey(keys[1]);
-        // 初始化哈希桶，注意要保证线程安全
-        vacuumFilter.buckets = IntStream.range(0, vacuumFilter.bucketNum)
-            .mapToObj(bucketIndex -> new ArrayList<CuckooFilterEntry>(ENTRIES_PER_BUCKET))
-            .collect(Collectors.toCollection(ArrayList::new));
+        // 初始化哈希桶
+        vacuumFilter.buckets = new CuckooFilterBuckets(vacuumFilter.bucketNum);
         vacuumFilter.size = 0;
         vacuumFilter.itemByteLength = 0;
 
@@ -195,30 +193,8 @@ public class VacuumFilter<T> implements Filter<T> {
         vacuumFilter.bucketHash.setKey(bucketHashKey);
         vacuumFilter.secureRandom = new SecureRandom();
 
-        // read elements
-        byte[] compressed = byteArrayList.remove(0);
-        MathPreconditions.checkEqual(
-            "expected length", "actual length",
-            vacuumFilter.bucketNum * ENTRIES_PER_BUCKET * FINGERPRINT_BYTE_LENGTH, compressed.length
-        );
-
-        ByteBuffer[] bucketFlattenedElements = SerializeUtils.decompressEqual(compressed, FINGERPRINT_BYTE_LENGTH)
-            .stream()
-            .map(ByteBuffer::wrap).toArray(ByteBuffer[]::new);
-        vacuumFilter.buckets = IntStream.range(0, vacuumFilter.bucketNum)
-            .mapToObj(bucketIndex -> {
-                ArrayList<CuckooFilterEntry> bucket = new ArrayList<>(ENTRIES_PER_BUCKET);
-                IntStream.range(0, ENTRIES_PER_BUCKET).forEach(index -> {
-                    // add non-zero fingerprint
-                    if (!bucketFlattenedElements[bucketIndex * ENTRIES_PER_BUCKET + index].equals(CuckooFilterEntry.ZERO_FINGERPRINT)) {
-                        bucket.add(
-                            new CuckooFilterEntry(bucketFlattenedElements[bucketIndex * ENTRIES_PER_BUCKET + index])
-                        );
-                    }
-                });
-                return bucket;
-            })
-            .collect(Collectors.toCollection(ArrayList::new));
+        // read elements, directly from the contiguous buffer
+        vacuumFilter.buckets = new CuckooFilterBuckets(vacuumFilter.bucketNum, byteArrayList.remove(0));
 
         return vacuumFilter;
     }
@@ -248,22 +224,8 @@ public class VacuumFilter<T> implements Filter<T> {
         headerByteBuffer.put(bucketHash.getKey());
         byteArrayList.add(headerByteBuffer.array());
 
-        // elements
-        List<byte[]> cuckooFilterList = new LinkedList<>();
-        IntStream.range(0, bucketNum).forEach(bucketIndex -> {
-            // 插入元素内容，空元素用0占位
-            List<CuckooFilterEntry> bucket = buckets.get(bucketIndex);
-            int remainSize = ENTRIES_PER_BUCKET - bucket.size();
-            for (CuckooFilterEntry cuckooFilterEntry : bucket) {
-                byte[] fingerprintBytes = cuckooFilterEntry.getFingerprint().array();
-                cuckooFilterList.add(BytesUtils.clone(fingerprintBytes));
-            }
-            while (remainSize > 0) {
-                cuckooFilterList.add(new byte[FINGERPRINT_BYTE_LENGTH]);
-                remainSize--;
-            }
-        });
-        byteArrayList.add(SerializeUtils.compressEqual(cuckooFilterList, FINGERPRINT_BYTE_LENGTH));
+        // elements, 空元素用0占位
+        byteArrayList.add(buckets.toByteArray());
 
         return byteArrayList;
     }
@@ -271,66 +233,78 @@ public class VacuumFilter<T> implements Filter<T> {
     @Override
     public boolean mightContain(Object data) {
         byte[] objectBytes = ObjectUtils.objectToByteArray(data);
-        ByteBuffer fingerprint = ByteBuffer.wrap(fingerprintHash.getBytes(objectBytes));
+        long fingerprint = CuckooFilterBuckets.toFingerprint(fingerprintHash.getBytes(objectBytes));
         int bucketIndex1 = bucketHash.getInteger(objectBytes, bucketNum);
         int bucketIndex2 = alternativeIndex(bucketIndex1, fingerprint);
-        CuckooFilterEntry cuckooFilterEntry = new CuckooFilterEntry(fingerprint);
-        return buckets.get(bucketIndex1).contains(cuckooFilterEntry)
-            || buckets.get(bucketIndex2).contains(cuckooFilterEntry);
+        return buckets.contains(bucketIndex1, fingerprint) || buckets.contains(bucketIndex2, fingerprint);
     }
 
     @Override
     public void put(Object data) {
-        MathPreconditions.checkLess("size", size, maxSize);
-        if (mightContain(data)) {
-            throw new IllegalArgumentException("Insert might duplicate item: " + data);
-        }
         byte[] objectBytes = ObjectUtils.objectToByteArray(data);
-        ByteBuffer fingerprint = ByteBuffer.wrap(fingerprintHash.getBytes(objectBytes));
+        long fingerprint = CuckooFilterBuckets.toFingerprint(fingerprintHash.getBytes(objectBytes));
         int bucketIndex1 = bucketHash.getInteger(objectBytes, bucketNum);
         int bucketIndex2 = alternativeIndex(bucketIndex1, fingerprint);
+        insert(data, objectBytes.length, fingerprint, bucketIndex1, bucketIndex2);
+    }
+
+    @Override
+    public void putAll(Collection<T> data) {
+        MathPreconditions.checkLessOrEqual("size + data.size()", size + data.size(), maxSize);
+        List<T> dataList = new ArrayList<>(data);
+        int num = dataList.size();
+        int[] itemLengths = new int[num];
+        long[] fingerprints = new long[num];
+        int[] bucketIndexes1 = new int[num];
+        int[] bucketIndexes2 = new int[num];
+        // 并行计算哈希值
+        IntStream.range(0, num).parallel().forEach(index -> {
+            byte[] objectBytes = ObjectUtils.objectToByteArray(dataList.get(index));
+            itemLengths[index] = objectBytes.length;
+            fingerprints[index] = CuckooFilterBuckets.toFingerprint(fingerprintHash.getBytes(objectBytes));
+            bucketIndexes1[index] = bucketHash.getInteger(objectBytes, bucketNum);
+            bucketIndexes2[index] = alternativeIndex(bucketIndexes1[index], fingerprints[index]);
+        });
+        // 踢出操作可能涉及相同的哈希桶，因此顺序插入
+        for (int index = 0; index < num; index++) {
+            insert(
+                dataList.get(index), itemLengths[index], fingerprints[index], bucketIndexes1[index], bucketIndexes2[index]
+            );
+        }
+    }
+
+    private void insert(Object data, int itemLength, long fingerprint, int bucketIndex1, int bucketIndex2) {
+        MathPreconditions.checkLess("size", size, maxSize);
+        if (buckets.contains(bucketIndex1, fingerprint) || buckets.contains(bucketIndex2, fingerprint)) {
+            throw new IllegalArgumentException("Insert might duplicate item: " + data);
+        }
         // if bucket[i_1] or bucket[i_2] has an empty entry, then add f to that bucket
-        if (buckets.get(bucketIndex1).size() < ENTRIES_PER_BUCKET) {
-            buckets.get(bucketIndex1).add(new CuckooFilterEntry(fingerprint));
-            size++;
-            itemByteLength += objectBytes.length;
-        } else if (buckets.get(bucketIndex2).size() < ENTRIES_PER_BUCKET) {
-            buckets.get(bucketIndex2).add(new CuckooFilterEntry(fingerprint));
+        if (buckets.add(bucketIndex1, fingerprint) || buckets.add(bucketIndex2, fingerprint)) {
             size++;
-            itemByteLength += objectBytes.length;
-        } else {
-            // i = randomly pick i_1 or i_2
-            int choiceBucketIndex = secureRandom.nextBoolean() ? bucketIndex1 : bucketIndex2;
-            List<CuckooFilterEntry> choiceBucket = buckets.get(choiceBucketIndex);
-            ByteBuffer choiceFingerprint;
-            ByteBuffer addedFingerprint = fingerprint;
-            int choiceBucketIndex2;
-            int choiceEntryIndex;
-            for (int count = 0; count < MAX_NUM_KICKS; count++) {
-                // 广度优先 + 深度优先
-                for (CuckooFilterEntry entry : choiceBucket) {
-                    choiceFingerprint = entry.getFingerprint();
-                    choiceBucketIndex2 = alternativeIndex(choiceBucketIndex, choiceFingerprint);
-                    if (buckets.get(choiceBucketIndex2).size() < ENTRIES_PER_BUCKET) {
-                        buckets.get(choiceBucketIndex2).add(new CuckooFilterEntry(choiceFingerprint));
-                        buckets.get(choiceBucketIndex).remove(new CuckooFilterEntry(choiceFingerprint));
-                        buckets.get(choiceBucketIndex).add(new CuckooFilterEntry(addedFingerprint));
-                        size++;
-                        itemByteLength += objectBytes.length;
-                        return;
-                    }
+            itemByteLength += itemLength;
+            return;
+        }
+        // i = randomly pick i_1 or i_2
+        int choiceBucketIndex = secureRandom.nextBoolean() ? bucketIndex1 : bucketIndex2;
+        long addedFingerprint = fingerprint;
+        for (int count = 0; count < MAX_NUM_KICKS; count++) {
+            // 广度优先 + 深度优先
+            for (int entryIndex = 0; entryIndex < ENTRIES_PER_BUCKET; entryIndex++) {
+                long choiceFingerprint = buckets.get(choiceBucketIndex, entryIndex);
+                int choiceBucketIndex2 = alternativeIndex(choiceBucketIndex, choiceFingerprint);
+                if (buckets.add(choiceBucketIndex2, choiceFingerprint)) {
+                    buckets.swap(choiceBucketIndex, entryIndex, addedFingerprint);
+                    size++;
+                    itemByteLength += itemLength;
+                    return;
                 }
-                choiceEntryIndex = secureRandom.nextInt(ENTRIES_PER_BUCKET);
-                choiceFingerprint = choiceBucket.remove(choiceEntryIndex).getFingerprint();
-                choiceBucket.add(new CuckooFilterEntry(addedFingerprint));
-                assert choiceBucket.size() == ENTRIES_PER_BUCKET;
-                addedFingerprint = choiceFingerprint;
-                choiceBucketIndex = alternativeIndex(choiceBucketIndex, addedFingerprint);
-                choiceBucket = buckets.get(choiceBucketIndex);
             }
-            // 如果到达这个位置，意味着不能再踢出元素了
-            throw new IllegalArgumentException("Cannot add item, exceeding max tries: " + data);
+            int choiceEntryIndex = secureRandom.nextInt(ENTRIES_PER_BUCKET);
+            addedFingerprint = buckets.swap(choiceBucketIndex, choiceEntryIndex, addedFingerprint);
+            choiceBucketIndex = alternativeIndex(choiceBucketIndex, addedFingerprint);
         }
+        // 如果到达这个位置，意味着不能再踢出元素了
+        throw new IllegalArgumentException("Cannot add item, exceeding max tries: " + data);
     }
 
     /**
@@ -339,16 +313,16 @@ public class VacuumFilter<T> implements Filter<T> {
      * @param bucketIndex index。
      * @param fingerprint 指纹值。
      */
-    private int alternativeIndex(int bucketIndex, ByteBuffer fingerprint) {
+    private int alternativeIndex(int bucketIndex, long fingerprint) {
+        byte[] fingerprintBytes = CuckooFilterBuckets.toFingerprintBytes(fingerprint);
         // 论文中提到小集合时（小于2^18)不需要分四层
         if (maxSize >= 1 << 18) {
-            // 取指纹值的正数
-            BigInteger fingerprintBigInteger = BigIntegerUtils.byteArrayToNonNegBigInteger(fingerprint.array());
-            int l = alternateRange.get(fingerprintBigInteger.mod(BigInteger.valueOf(ALTERNATE_RANGE_NUM)).intValue());
-            int delta = bucketHash.getInteger(fingerprint.array(), bucketNum) % l;
+            // 指纹值为正数，模4即为最低2比特
+            int l = alternateRange.get((int) (fingerprint % ALTERNATE_RANGE_NUM));
+            int delta = bucketHash.getInteger(fingerprintBytes, bucketNum) % l;
             return bucketIndex ^ delta;
         } else {
-            int delta = bucketHash.getInteger(fingerprint.array(), bucketNum) % bucketNum;
+            int delta = bucketHash.getInteger(fingerprintBytes, bucketNum) % bucketNum;
             int bPrime = (bucketIndex - delta) % bucketNum;
             return (bucketNum - 1 - bPrime + delta) % bucketNum;
         }
@@ -417,40 +391,30 @@ public class VacuumFilter<T> implements Filter<T> {
         }
         //noinspection unchecked
         VacuumFilter<T> that = (VacuumFilter<T>)obj;
-        EqualsBuilder equalsBuilder = new EqualsBuilder();
-        equalsBuilder
+        return new EqualsBuilder()
             .append(this.maxSize, that.maxSize)
             .append(this.size, that.size)
             .append(this.itemByteLength, that.itemByteLength)
             .append(this.fingerprintHash.getPrfType(), that.fingerprintHash.getPrfType())
             .append(this.fingerprintHash.getKey(), that.fingerprintHash.getKey())
             .append(this.bucketHash.getPrfType(), that.bucketHash.getPrfType())
-            .append(this.bucketHash.getKey(), that.bucketHash.getKey());
-        // 因为插入顺序是没关系的，因此要变成集合
-        IntStream.range(0, bucketNum).forEach(buckedIndex ->
-            equalsBuilder.append(
-                new HashSet<>(this.buckets.get(buckedIndex)),
-                new HashSet<>(that.buckets.get(buckedIndex))
-            )
-        );
-        return equalsBuilder.isEquals();
+            .append(this.bucketHash.getKey(), that.bucketHash.getKey())
+            // 因为插入顺序是没关系的，因此桶内按集合比较
+            .append(this.buckets, that.buckets)
+            .isEquals();
     }
 
     @Override
     public int hashCode() {
-        HashCodeBuilder hashCodeBuilder = new HashCodeBuilder();
-        hashCodeBuilder
+        return new HashCodeBuilder()
             .append(maxSize)
             .append(size)
             .append(itemByteLength)
             .append(fingerprintHash.getPrfType())
             .append(fingerprintHash.getKey())
             .append(bucketHash.getPrfType())
-            .append(bucketHash.getKey());
-        // 因为插入顺序是没关系的，因此要变成集合
-        IntStream.range(0, bucketNum).forEach(buckedIndex ->
-            hashCodeBuilder.append(new HashSet<>(buckets.get(buckedIndex)))
-        );
-        return hashCodeBuilder.toHashCode();
+            .append(bucketHash.getKey())
+            .append(buckets)
+            .toHashCode();
     }
 }
@@ -5,8 +5,11 @@ import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.common.tool.crypto.ecc.Ecc;
 import edu.alibaba.mpc4j.common.tool.galoisfield.zp.Zp;
 import edu.alibaba.mpc4j.common.tool.galoisfield.zp.ZpFactory;
+import org.bouncycastle.math.ec.ECPoint;
 
 import java.security.SecureRandom;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * abstract DOKVS.
@@ -63,6 +66,17 @@ abstract class AbstractEccDokvs<T> implements EccDokvs<T> {
         return parallelEncode;
     }
 
+    @Override
+    public ECPoint[] decode(ECPoint[] storage, List<T> keys, boolean parallel) {
+        MathPreconditions.checkEqual("storage.length", "m", storage.length, m);
+        Stream<T> keyStream = keys.stream();
+        keyStream = parallel ? keyStream.parallel() : keyStream;
+        ECPoint[] values = keyStream
+            .map(key -> decode(storage, key))
+            .toArray(ECPoint[]::new);
+        return ecc.normalize(values, parallel);
+    }
+
     @Override
     public int getN() {
         return n;
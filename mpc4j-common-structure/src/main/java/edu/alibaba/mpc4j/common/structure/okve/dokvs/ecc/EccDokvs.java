@@ -3,6 +3,7 @@ package edu.alibaba.mpc4j.common.structure.okve.dokvs.ecc;
 import edu.alibaba.mpc4j.common.structure.okve.dokvs.ecc.EccDokvsFactory.EccDokvsType;
 import org.bouncycastle.math.ec.ECPoint;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -68,6 +69,17 @@ public interface EccDokvs<T> {
      */
     ECPoint decode(ECPoint[] storage, T key);
 
+    /**
+     * Decodes the keys in batch. The values are normalized in batch, so that encoding the values, or adding them with
+     * other points, needs no more field inversions.
+     *
+     * @param storage  encoded storage.
+     * @param keys     keys.
+     * @param parallel parallel decoding or not.
+     * @return values.
+     */
+    ECPoint[] decode(ECPoint[] storage, List<T> keys, boolean parallel);
+
     /**
      * Gets the number of keys to encode.
      *
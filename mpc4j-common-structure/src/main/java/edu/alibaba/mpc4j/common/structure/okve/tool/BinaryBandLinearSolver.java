@@ -1,21 +1,12 @@
 package edu.alibaba.mpc4j.common.structure.okve.tool;
 
 import cc.redberry.rings.linear.LinearSolver.SystemInfo;
-import cc.redberry.rings.util.ArraysUtil;
 import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.common.tool.utils.*;
-import gnu.trove.list.array.TIntArrayList;
-import gnu.trove.map.TIntIntMap;
-import gnu.trove.map.hash.TIntIntHashMap;
-import gnu.trove.set.TIntSet;
-import gnu.trove.set.hash.TIntHashSet;
 
 import java.security.SecureRandom;
 import java.util.Arrays;
-import java.util.Comparator;
-import java.util.List;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static cc.redberry.rings.linear.LinearSolver.SystemInfo.Consistent;
@@ -23,6 +14,18 @@ import static cc.redberry.rings.linear.LinearSolver.SystemInfo.Inconsistent;
 
 /**
  * binary band linear solver.
+ * <p>
+ * Rows are sorted by their starting positions and packed into one flat long array, where each row occupies the same
+ * number of longs and is aligned to the long boundary of its starting position. This means adding a pivot row into
+ * another row is a word-aligned (SIMD) XOR without any bit shifting, and the rows touched by one pivot are contiguous
+ * in memory. Sorted rows whose bands do not overlap split the system into independent segments (e.g., systems built
+ * from cluster bins). When parallel is enabled, independent segments are eliminated and back-substituted in parallel.
+ * </p>
+ * The algorithm comes from the following paper:
+ * <p>
+ * Bienstock, Alexander, Sarvar Patel, Joon Young Seo, and Kevin Yeo. Near-Optimal Oblivious Key-Value Stores for
+ * Efficient PSI, PSU and Volume-Hiding Multi-Maps. USENIX Security 2023.
+ * </p>
  *
  * @author Weiran Liu
  * @date 2023/8/4
@@ -44,6 +47,10 @@ public class BinaryBandLinearSolver {
      * the random state
      */
     private final SecureRandom secureRandom;
+    /**
+     * parallel solve
+     */
+    private boolean parallel;
 
     public BinaryBandLinearSolver(int l) {
         this(l, new SecureRandom());
@@ -55,107 +62,35 @@ public class BinaryBandLinearSolver {
         zeroElement = new byte[byteL];
         Arrays.fill(zeroElement, (byte) 0x00);
         this.secureRandom = secureRandom;
+        parallel = false;
     }
 
-    private static void sort(int[] ss, byte[][] lhs, byte[][] rhs) {
-        int nRows = lhs.length;
-        // sort s[...] and get the permutation map
-        List<Integer> permutationIndices = IntStream.range(0, ss.length).boxed().collect(Collectors.toList());
-        Comparator<Integer> comparator = Comparator.comparingInt(i -> ss[i]);
-        permutationIndices.sort(comparator);
-        int[] permutationMap = permutationIndices.stream().mapToInt(i -> i).toArray();
-        TIntIntMap map = new TIntIntHashMap(nRows);
-        IntStream.range(0, nRows).forEach(permuteIndex -> {
-            int index = permutationMap[permuteIndex];
-            map.put(index, permuteIndex);
-        });
-        // permute ss, lhs and rhs based on the map
-        int[] copySs = IntUtils.clone(ss);
-        byte[][] copyLhs = BytesUtils.clone(lhs);
-        byte[][] copyRhs = BytesUtils.clone(rhs);
-        for (int iRow = 0; iRow < nRows; iRow++) {
-            int iPermuteRow = map.get(iRow);
-            ss[iPermuteRow] = copySs[iRow];
-            lhs[iPermuteRow] = copyLhs[iRow];
-            rhs[iPermuteRow] = copyRhs[iRow];
-        }
+    /**
+     * Sets parallel solve. If true, independent segments of the system are solved in parallel.
+     *
+     * @param parallel parallel solve.
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
     }
 
     /**
-     * Gives the row echelon form of the linear system {@code lhs.x = rhs} for the band form ow lhs. Note that here we
-     * only allow
-     * <p> m (number of columns) >= n (number of rows) </p>
+     * Gets parallel solve.
      *
-     * @param ss  starting positions of lhs.
-     * @param w   the band width.
-     * @param lhs the lhs of the system.
-     * @param rhs the rhs of the system.
-     * @return the information for row Echelon form.
+     * @return parallel solve.
      */
-    private RowEchelonFormInfo rowEchelonForm(int w, int nColumns, int[] ss, byte[][] lhs, byte[][] rhs) {
-        // verification is done in the input phase
-        int nRows = ss.length;
-        int wByteColumns = CommonUtils.getByteLength(w);
-        int wOffsetColumns = wByteColumns * Byte.SIZE - w;
-        TIntSet maxLisColumns = new TIntHashSet(nRows);
-        // sort the rows of the system (A, b) by s[i]
-        sort(ss, lhs, rhs);
-        // number of zero columns, here we consider if some columns are 0.
-        int nZeroColumns = 0;
-        // for all possible columns
-        for (int iColumn = 0, to = Math.min(nRows, nColumns); iColumn < to; ++iColumn) {
-            // find pivot row and swap
-            int row = iColumn - nZeroColumns;
-            int max = row;
-            // if the current pivot is 0, then search for leftmost 1 in row i.
-            if (!getBooleanValue(w, ss[row], lhs[row], iColumn, wOffsetColumns)) {
-                // There can be many candidate rows. Since s_i is ordered, once we find an invalid row, we can break.
-                for (int iRow = row + 1; iRow < nRows && iColumn >= ss[iRow] && iColumn < ss[iRow] + w; ++iRow) {
-                    if (getBooleanValue(w, ss[iRow], lhs[iRow], iColumn, wOffsetColumns)) {
-                        max = iRow;
-                        break;
-                    }
-                }
-                // We swap rows in the implementation. We change the starting position to ensure ss is correct.
-                if (ss[row] < ss[max]) {
-                    BytesUtils.shiftLefti(lhs[row], ss[max] - ss[row]);
-                    ss[row] = ss[max];
-                }
-                ArraysUtil.swap(ss, row, max);
-                ArraysUtil.swap(lhs, row, max);
-                ArraysUtil.swap(rhs, row, max);
-            }
-            // if we cannot find one, it means this column is free, nothing to do on this column
-            if (!getBooleanValue(w, ss[row], lhs[row], iColumn, wOffsetColumns)) {
-                ++nZeroColumns;
-                to = Math.min(nRows + nZeroColumns, nColumns);
-                continue;
-            }
-            // add that column into the set
-            maxLisColumns.add(iColumn);
-            // forward Gaussian elimination, since s_i is ordered, once we find an invalid row, we can break.
-            for (int iRow = row + 1; iRow < nRows && iColumn >= ss[iRow] && iColumn < ss[iRow] + w; ++iRow) {
-                boolean alpha = getBooleanValue(w, ss[iRow], lhs[iRow], iColumn, wOffsetColumns);
-                if (alpha) {
-                    BytesUtils.xori(rhs[iRow], rhs[row]);
-                    byte[] temp = BytesUtils.shiftLeft(lhs[row], ss[iRow] - ss[row]);
-                    BytesUtils.xori(lhs[iRow], temp);
-                }
-            }
-        }
-        // we loop for all possible columns, each inner loop may be large, but only around w.
-        return new RowEchelonFormInfo(nZeroColumns, maxLisColumns);
+    public boolean getParallel() {
+        return parallel;
     }
 
     /**
-     * Solves linear system {@code lhs.x = rhs} and reduces the lhs to row echelon form. The result is stored in {@code
-     * result} (which should have enough length). Free variables are set as zero. Note that each row in lhs is a band
-     * vector, and lsh is in is modified when solving the system.
+     * Solves linear system {@code lhs.x = rhs}. The result is stored in {@code result} (which should have enough
+     * length). Free variables are set as zero. Note that each row in lhs is a band vector.
      *
      * @param ss       the starting positions for rows.
      * @param nColumns number of columns.
      * @param w        bandwidth.
-     * @param lhBands  the lhs of the system in band form (will be reduced to row echelon form).
+     * @param lhBands  the lhs of the system in band form.
      * @param rhs      the rhs of the system.
      * @param result   where to place the result.
      * @return system information (inconsistent or consistent).
@@ -166,14 +101,13 @@ public class BinaryBandLinearSolver {
     }
 
     /**
-     * Solves linear system {@code lhs.x = rhs} and reduces the lhs to row echelon form. The result is stored in {@code
-     * result} (which should have enough length). Free variables are set as random. Note that lsh is modified when
-     * solving the system.
+     * Solves linear system {@code lhs.x = rhs}. The result is stored in {@code result} (which should have enough
+     * length). Free variables are set as random. Note that each row in lhs is a band vector.
      *
      * @param ss       the starting positions for rows.
      * @param nColumns number of columns.
      * @param w        bandwidth.
-     * @param lhBands  the lhs of the system in band form (will be reduced to row echelon form).
+     * @param lhBands  the lhs of the system in band form.
      * @param rhs      the rhs of the system.
      * @param result   where to place the result.
      * @return system information (inconsistent or consistent).
@@ -217,174 +151,186 @@ public class BinaryBandLinearSolver {
         );
         // 0 <= s_i <= m - w
         Arrays.stream(ss).forEach(si -> MathPreconditions.checkNonNegativeInRangeClosed("s[i]", si, nColumns - w));
-        // create A based on the band
-        if (nRows == 1) {
-            return solveOneRow(w, ss[0], lhBands[0], rhs[0], result, isFull);
+        // sort the rows by s[i], sortSs[i] = ss[order[i]]
+        int[] order = sortRows(ss);
+        int[] sortSs = Arrays.stream(order).map(index -> ss[index]).toArray();
+        byte[][] sortRhs = Arrays.stream(order).mapToObj(index -> BytesUtils.clone(rhs[index])).toArray(byte[][]::new);
+        // a band starting at s occupies [s mod 64, s mod 64 + w) in its aligned window, so that w + 63 bits are enough
+        int wordW = CommonUtils.getLongLength(w + Long.SIZE - 1);
+        long[] bands = new long[nRows * wordW];
+        IntStream packIntStream = IntStream.range(0, nRows);
+        packIntStream = parallel ? packIntStream.parallel() : packIntStream;
+        packIntStream.forEach(iRow -> pack(w, sortSs[iRow], lhBands[order[iRow]], bands, iRow * wordW));
+        // split independent segments, the i-th row starts a new segment if it does not overlap with the previous row
+        int[] segmentStarts = IntStream.range(0, nRows)
+            .filter(iRow -> iRow == 0 || sortSs[iRow] >= sortSs[iRow - 1] + w)
+            .toArray();
+        int segmentNum = segmentStarts.length;
+        int[] segmentEnds = IntStream.range(0, segmentNum)
+            .map(segmentIndex -> segmentIndex == segmentNum - 1 ? nRows : segmentStarts[segmentIndex + 1])
+            .toArray();
+        // pivots[i] is the pivot column of the i-th row, or -1 if the row is reduced to zero
+        int[] pivots = new int[nRows];
+        IntStream eliminateIntStream = IntStream.range(0, segmentNum);
+        eliminateIntStream = parallel ? eliminateIntStream.parallel() : eliminateIntStream;
+        boolean consistent = eliminateIntStream.allMatch(segmentIndex -> eliminate(
+            segmentStarts[segmentIndex], segmentEnds[segmentIndex], wordW, sortSs, bands, sortRhs, pivots
+        ));
+        if (!consistent) {
+            return Inconsistent;
         }
-        // if n > 1, transform lsh to Echelon form.
-        RowEchelonFormInfo info = rowEchelonForm(w, nColumns, ss, lhBands, rhs);
-        int nUnderDetermined = info.getZeroColumnNum();
-        Arrays.fill(result, createZero());
-        int wByteColumns = CommonUtils.getByteLength(w);
-        int wOffsetColumns = wByteColumns * Byte.SIZE - w;
-        // for determined system, free and full solution are the same
-        if (nUnderDetermined == 0 && nColumns == nRows) {
-            for (int i = nColumns - 1; i >= 0; i--) {
-                byte[] sum = createZero();
-                for (int j = i + 1; j < ss[i] + w; j++) {
-                    if (getBooleanValue(w, ss[i], lhBands[i], j, wOffsetColumns)) {
-                        addi(sum, result[j]);
-                    }
-                }
-                result[i] = sub(rhs[i], sum);
+        // set free variables, for determined system, free and full solution are the same
+        boolean[] pivotColumns = new boolean[nColumns];
+        Arrays.stream(pivots).filter(pivot -> pivot >= 0).forEach(pivot -> pivotColumns[pivot] = true);
+        for (int iColumn = 0; iColumn < nColumns; iColumn++) {
+            if (!pivotColumns[iColumn]) {
+                result[iColumn] = isFull ? createNonZeroRandom() : createZero();
             }
-            return Consistent;
         }
-        return solveUnderDeterminedRows(w, ss, lhBands, rhs, result, info, isFull);
+        // back substitution, segments do not share any column
+        IntStream substituteIntStream = IntStream.range(0, segmentNum);
+        substituteIntStream = parallel ? substituteIntStream.parallel() : substituteIntStream;
+        substituteIntStream.forEach(segmentIndex -> substitute(
+            segmentStarts[segmentIndex], segmentEnds[segmentIndex], wordW, sortSs, bands, sortRhs, pivots, result
+        ));
+        return Consistent;
     }
 
-    private SystemInfo solveOneRow(int w, int s0, byte[] lh0, byte[] rh0,
-                                                byte[][] result, boolean isFull) {
-        int nColumns = result.length;
-        int nByteColumns = CommonUtils.getByteLength(nColumns);
-        int nOffsetColumns = nByteColumns * Byte.SIZE - nColumns;
-        int wByteColumns = CommonUtils.getByteLength(w);
-        int wOffsetColumns = wByteColumns * Byte.SIZE - w;
-        // when n = 1, then the linear system only has one equation a[0]x[0] + ... + a[m]x[m] = b[0]
-        if (nColumns == 1) {
-            // if m = 1, then we directly compute a[0]x[0] = b[0]
-            if (BinaryUtils.getBoolean(lh0, nOffsetColumns)) {
-                // if a[0] = 1, then x[0] = b[0] / a[0] = b[0]
-                result[0] = BytesUtils.clone(rh0);
-                return Consistent;
-            } else {
-                // if a[0] = 0, it can be solved only if b[0] = 0
-                if (isZero(rh0)) {
-                    result[0] = isFull ? createNonZeroRandom() : createZero();
-                    return Consistent;
-                } else {
-                    return Inconsistent;
-                }
-            }
-        }
-        // if m > 1, the linear system a[0]x[0] + ... + a[m]x[m] = b[0] contains free variables.
-        Arrays.fill(result, new byte[byteL]);
-        // find the first non-zero a[t]
-        int firstNonZeroColumn = -1;
-        for (int iColumn = s0; iColumn >= s0 && iColumn < s0 + w; ++iColumn) {
-            if (getBooleanValue(w, s0, lh0, iColumn, wOffsetColumns)) {
-                firstNonZeroColumn = iColumn;
-                break;
-            }
-        }
-        // if all a[i] = 0, we have solution only if b[0] = 0
-        if (firstNonZeroColumn == -1) {
-            if (isZero(rh0)) {
-                if (isFull) {
-                    // full random variables
-                    for (int i = 0; i < nColumns; i++) {
-                        result[i] = createNonZeroRandom();
-                    }
-                }
-                return Consistent;
-            } else {
-                // if all a[i] = 0 and b[0] != 0, this means we do not have any solution.
-                return Inconsistent;
-            }
+    /**
+     * Sorts rows by starting positions.
+     *
+     * @param ss starting positions.
+     * @return the order of rows, i.e., the i-th sorted row is the order[i]-th row.
+     */
+    private int[] sortRows(int[] ss) {
+        // s[i] and i are non-negative integers, so that sorting (s[i] || i) is a stable sort by s[i]
+        long[] keys = IntStream.range(0, ss.length)
+            .mapToLong(iRow -> ((long) ss[iRow] << Integer.SIZE) | iRow)
+            .toArray();
+        if (parallel) {
+            Arrays.parallelSort(keys);
         } else {
-            // b[0] != 0, we need to consider the first non-zero equation a[t]x = b[t].
-            if (isFull) {
-                // set random variables
-                for (int i = 0; i < nColumns; ++i) {
-                    if (i == firstNonZeroColumn) {
-                        continue;
-                    }
-                    // for i != t, set random x[i]
-                    result[i] = createNonZeroRandom();
-                    if (getBooleanValue(w, s0, lh0, i, wOffsetColumns)) {
-                        // a[i] != 0, b[0] = b[0] - a[i] * x[i] = b[0] - x[i].
-                        subi(rh0, result[i]);
-                    }
-                }
-            }
-            // set x[t] = b[0] / a[0] = b[0]
-            result[firstNonZeroColumn] = BytesUtils.clone(rh0);
-            return Consistent;
+            Arrays.sort(keys);
         }
+        return Arrays.stream(keys).mapToInt(key -> (int) key).toArray();
     }
 
-    private SystemInfo solveUnderDeterminedRows(int w, int[] ss, byte[][] lhs, byte[][] rhs,
-                                                byte[][] result, RowEchelonFormInfo info, boolean isFull) {
-        int nRows = lhs.length;
-        int nColumns = result.length;
-        int wByteColumns = CommonUtils.getByteLength(w);
-        int wOffsetColumns = wByteColumns * Byte.SIZE - w;
-        // back substitution in case of under-determined system
-        TIntArrayList nzColumns = new TIntArrayList(), nzRows = new TIntArrayList();
-        // number of zero columns
-        int nZeroColumns = 0;
-        int iRow = 0;
-        for (int iColumn = 0, to = Math.min(nRows, nColumns); iColumn < to; ++iColumn) {
-            // find pivot row and swap
-            iRow = iColumn - nZeroColumns;
-            if (!getBooleanValue(w, ss[iRow], lhs[iRow], iColumn, wOffsetColumns)) {
-                if (iColumn == (nColumns - 1) && !isZero(rhs[iRow])) {
-                    return Inconsistent;
-                }
-                ++nZeroColumns;
-                // full solution needs to set the corresponding result[iColumn] as a random variable
-                to = Math.min(nRows + nZeroColumns, nColumns);
+    /**
+     * Packs a band into the long array. The band is aligned to the long boundary of s, i.e., column c is the
+     * (c - ⌊s / 64⌋ · 64)-th bit (in big-endian order) of the packed row.
+     *
+     * @param w      band width.
+     * @param s      starting position.
+     * @param band   band.
+     * @param bands  packed bands.
+     * @param offset offset of the packed row.
+     */
+    private static void pack(int w, int s, byte[] band, long[] bands, int offset) {
+        // the first bit of the band is the offsetW-th bit in the byte array
+        int offsetW = band.length * Byte.SIZE - w;
+        int sOffset = s % Long.SIZE;
+        for (int byteIndex = 0; byteIndex < band.length; byteIndex++) {
+            int value = band[byteIndex] & 0xFF;
+            if (value == 0) {
                 continue;
             }
-            // scale current row, that is, make lhs[iRow][iColumn] = 1, and scale other entries in this row.
-            // it should be as follows, but here val == 1, valInv = 1, so we can ignore these steps
-            // val = row[iColumn]; valInv = 1 / val;
-            // for (int i = iColumn; i < nColumns; i++) { row[i] = valInv * row[i] }
-            // here we cannot scale all rows before, otherwise the procedure is O(n^2). For example:
-            // | 1 1 0 0 0 0 0 |                   | 1 1 0 1 0 0 0 |
-            // | 0 1 1 0 0 0 0 | (reduce last row) | 0 1 1 1 0 0 0 | The first row is no longer a band vector.
-            // | 0 0 1 1 0 0 0 |                   | 0 0 1 0 0 0 0 |
-            // | 0 0 0 1 0 0 0 |                   | 0 0 0 1 0 0 0 |
-            if (!isZero(rhs[iRow]) && !getBooleanValue(w, ss[iRow], lhs[iRow], iColumn, wOffsetColumns)) {
-                return Inconsistent;
+            // position of the last (least significant) bit of the byte, always non-negative since offsetW < 8
+            int end = sOffset + byteIndex * Byte.SIZE + Byte.SIZE - 1 - offsetW;
+            int endWord = end / Long.SIZE;
+            int endBit = end % Long.SIZE;
+            bands[offset + endWord] |= (long) value << (Long.SIZE - 1 - endBit);
+            if (endBit < Byte.SIZE - 1 && endWord > 0) {
+                // high bits go to the previous long, bits before the first long are leading zeros
+                bands[offset + endWord - 1] |= value >>> (endBit + 1);
             }
-            // label that column and its corresponding row for the solution b[row].
-            nzColumns.add(iColumn);
-            nzRows.add(iRow);
         }
-        ++iRow;
-        if (iRow < nRows) {
-            for (; iRow < nRows; ++iRow) {
+    }
+
+    /**
+     * Forward Gaussian elimination on rows [from, to).
+     *
+     * @param from   starting row (inclusive).
+     * @param to     ending row (exclusive).
+     * @param wordW  number of longs for each packed row.
+     * @param ss     sorted starting positions.
+     * @param bands  packed bands.
+     * @param rhs    sorted rhs.
+     * @param pivots where to place pivot columns.
+     * @return true if the system is consistent, false otherwise.
+     */
+    private boolean eliminate(int from, int to, int wordW, int[] ss, long[] bands, byte[][] rhs, int[] pivots) {
+        for (int iRow = from; iRow < to; iRow++) {
+            int iOffset = iRow * wordW;
+            int iBase = ss[iRow] / Long.SIZE;
+            // find the leftmost 1 in the row, all 1s in previous pivot columns are already eliminated
+            int pivot = -1;
+            for (int t = 0; t < wordW; t++) {
+                if (bands[iOffset + t] != 0L) {
+                    pivot = (iBase + t) * Long.SIZE + Long.numberOfLeadingZeros(bands[iOffset + t]);
+                    break;
+                }
+            }
+            pivots[iRow] = pivot;
+            if (pivot < 0) {
+                // zero row, the system is consistent only if b[i] = 0
                 if (!isZero(rhs[iRow])) {
-                    return Inconsistent;
+                    return false;
                 }
+                continue;
             }
-        }
-        // we need to solve equations using back substitution
-        if (isFull) {
-            // full non-maxLisColumns first
-            TIntSet maxLisColumns = info.getMaxLisColumns();
-            TIntSet nonMaxLisColumns = new TIntHashSet(nColumns);
-            nonMaxLisColumns.addAll(IntStream.range(0, nColumns).toArray());
-            nonMaxLisColumns.removeAll(maxLisColumns);
-            int[] nonMaxLisColumnArray = nonMaxLisColumns.toArray();
-            // set result[iColumn] corresponding to the non-maxLisColumns as random variables
-            for (int nonMaxLisColumn : nonMaxLisColumnArray) {
-                result[nonMaxLisColumn] = createNonZeroRandom();
+            long pivotMask = 1L << (Long.SIZE - 1 - pivot % Long.SIZE);
+            int pivotWord = pivot / Long.SIZE;
+            // since s_i is ordered, once we find a row that does not cover the pivot, we can break.
+            for (int jRow = iRow + 1; jRow < to && ss[jRow] <= pivot; jRow++) {
+                int jOffset = jRow * wordW;
+                int jBase = ss[jRow] / Long.SIZE;
+                if ((bands[jOffset + pivotWord - jBase] & pivotMask) != 0L) {
+                    // the pivot row is 0 before the pivot and ends before the j-th row ends, so that it fits the row
+                    int shift = jBase - iBase;
+                    SimdLongUtils.xori(bands, jOffset, bands, iOffset + shift, wordW - shift);
+                    BytesUtils.xori(rhs[jRow], rhs[iRow]);
+                }
             }
         }
-        for (int i = nzColumns.size() - 1; i >= 0; i--) {
-            int iResultColumn = nzColumns.get(i);
-            int iResultRow = nzRows.get(i);
-            byte[] tempResult = BytesUtils.clone(rhs[iResultRow]);
-            for (int j = ss[iResultRow]; j < ss[iResultRow] + w; j++) {
-                if (getBooleanValue(w, ss[iResultRow], lhs[iResultRow], j, wOffsetColumns)) {
-                    subi(tempResult, result[j]);
+        return true;
+    }
+
+    /**
+     * Back substitution on rows [from, to).
+     *
+     * @param from   starting row (inclusive).
+     * @param to     ending row (exclusive).
+     * @param wordW  number of longs for each packed row.
+     * @param ss     sorted starting positions.
+     * @param bands  packed bands in row echelon form.
+     * @param rhs    sorted rhs.
+     * @param pivots pivot columns.
+     * @param result where to place the result, free variables are already set.
+     */
+    private void substitute(int from, int to, int wordW, int[] ss, long[] bands, byte[][] rhs, int[] pivots,
+                            byte[][] result) {
+        for (int iRow = to - 1; iRow >= from; iRow--) {
+            int pivot = pivots[iRow];
+            if (pivot < 0) {
+                continue;
+            }
+            int iOffset = iRow * wordW;
+            int iBase = ss[iRow] / Long.SIZE;
+            // x[pivot] = b[i] - Σ_{j ≠ pivot} a[i][j] · x[j], all x[j] are either free or solved by later rows
+            byte[] value = rhs[iRow];
+            for (int t = 0; t < wordW; t++) {
+                long word = bands[iOffset + t];
+                while (word != 0L) {
+                    int leadingZeros = Long.numberOfLeadingZeros(word);
+                    int iColumn = (iBase + t) * Long.SIZE + leadingZeros;
+                    if (iColumn != pivot) {
+                        subi(value, result[iColumn]);
+                    }
+                    word &= ~(1L << (Long.SIZE - 1 - leadingZeros));
                 }
             }
-            result[iResultColumn] = tempResult;
+            result[pivot] = value;
         }
-        return Consistent;
     }
 
     /**
@@ -419,27 +365,6 @@ public class BinaryBandLinearSolver {
         return element;
     }
 
-    /**
-     * Adds the element q to p.
-     *
-     * @param p the element to overwrite.
-     * @param q the other element.
-     */
-    private void addi(byte[] p, byte[] q) {
-        BytesUtils.xori(p, q);
-    }
-
-    /**
-     * Subtracts the element q from p.
-     *
-     * @param p the element p.
-     * @param q the element q.
-     * @return p minus q.
-     */
-    private byte[] sub(byte[] p, byte[] q) {
-        return BytesUtils.xor(p, q);
-    }
-
     /**
      * Subtracts the element q from p.
      *
@@ -449,22 +374,4 @@ public class BinaryBandLinearSolver {
     private void subi(byte[] p, byte[] q) {
         BytesUtils.xori(p, q);
     }
-
-    /**
-     * Returns the boolean value in byte array with given index and offset.
-     *
-     * @param w      the band width.
-     * @param s0     starting positions of lhs.
-     * @param array  the byte array.
-     * @param index  the index.
-     * @param offset the offset.
-     * @return the boolean value.
-     */
-    private boolean getBooleanValue(int w, int s0, byte[] array, int index, int offset) {
-        if (index < s0 || index >= w + s0) {
-            return false;
-        } else {
-            return BinaryUtils.getBoolean(array, offset + index - s0);
-        }
-    }
 }
@@ -64,6 +64,8 @@ public class DatabaseTest {
         configurations.add(new Object[]{DatabaseType.ZL.name(), DatabaseType.ZL});
         // naive database
         configurations.add(new Object[]{DatabaseType.NAIVE.name(), DatabaseType.NAIVE});
+        // mapped database
+        configurations.add(new Object[]{DatabaseType.MAPPED.name(), DatabaseType.MAPPED});
 
         return configurations;
     }
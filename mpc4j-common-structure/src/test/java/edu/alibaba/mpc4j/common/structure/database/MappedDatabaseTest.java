@@ -0,0 +1,228 @@
+package edu.alibaba.mpc4j.common.structure.database;
+
+import edu.alibaba.mpc4j.common.structure.database.MappedDatabase.Layout;
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * memory-mapped database test.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/30
+ */
+public class MappedDatabaseTest {
+    /**
+     * default rows
+     */
+    private static final int DEFAULT_ROWS = (1 << 16) + 3;
+    /**
+     * column rows, reading rows from the column layout is slow
+     */
+    private static final int COLUMN_ROWS = (1 << 10) + 3;
+    /**
+     * l array
+     */
+    private static final int[] L_ARRAY = new int[]{
+        1, 5, 7, 9, 15, 16, 17, LongUtils.MAX_L_FOR_MODULE_N, Long.SIZE, CommonConstants.BLOCK_BIT_LENGTH,
+    };
+    /**
+     * the random state
+     */
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    @Test
+    public void testLoad() throws IOException {
+        for (int l : L_ARRAY) {
+            for (Layout layout : Layout.values()) {
+                testLoad(l, layout);
+            }
+        }
+    }
+
+    private void testLoad(int l, Layout layout) throws IOException {
+        ZlDatabase database = ZlDatabase.createRandom(l, DEFAULT_ROWS, SECURE_RANDOM);
+        Path path = Files.createTempFile("mpc4j_database_test_", ".db");
+        try {
+            MappedDatabase loadDatabase;
+            try (MappedDatabaseLoader loader = MappedDatabaseLoader.create(path, l, layout)) {
+                loader.append(database);
+                Assert.assertEquals(DEFAULT_ROWS, loader.rows());
+                loadDatabase = loader.load();
+            }
+            assertEquals(database, loadDatabase);
+            // load again from the file
+            assertEquals(database, MappedDatabase.load(path));
+            // columns are the same as the in-memory database
+            BitVector[] expectColumns = database.bitPartition(EnvType.STANDARD, true);
+            BitVector[] actualColumns = loadDatabase.bitPartition(EnvType.STANDARD, true);
+            Assert.assertArrayEquals(expectColumns, actualColumns);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testBytesView() {
+        for (int l : L_ARRAY) {
+            MappedDatabase database = MappedDatabase.createRandom(l, DEFAULT_ROWS, SECURE_RANDOM);
+            for (int index = 0; index < DEFAULT_ROWS; index++) {
+                ByteBuffer view = database.getBytesView(index);
+                Assert.assertTrue(view.isReadOnly());
+                byte[] actual = new byte[view.remaining()];
+                view.get(actual);
+                Assert.assertArrayEquals(database.getBytesData(index), actual);
+            }
+        }
+    }
+
+    @Test
+    public void testZlPartition() {
+        for (int l : L_ARRAY) {
+            for (int partitionL : L_ARRAY) {
+                testZlPartition(l, partitionL);
+            }
+        }
+    }
+
+    private void testZlPartition(int l, int partitionL) {
+        int byteL = CommonUtils.getByteLength(l);
+        byte[][] data = IntStream.range(0, DEFAULT_ROWS)
+            .mapToObj(index -> BytesUtils.randomByteArray(byteL, l, SECURE_RANDOM))
+            .toArray(byte[][]::new);
+        ZlDatabase[] expectDatabases = NaiveDatabase.create(l, data).partitionZl(partitionL);
+        MappedDatabase[] actualDatabases = MappedDatabase.create(l, data).partitionZl(partitionL);
+        Assert.assertEquals(expectDatabases.length, actualDatabases.length);
+        for (int partitionIndex = 0; partitionIndex < expectDatabases.length; partitionIndex++) {
+            Assert.assertEquals(partitionL, actualDatabases[partitionIndex].getL());
+            assertEquals(expectDatabases[partitionIndex], actualDatabases[partitionIndex]);
+            for (int index = 0; index < DEFAULT_ROWS; index++) {
+                ByteBuffer view = actualDatabases[partitionIndex].getBytesView(index);
+                byte[] actual = new byte[view.remaining()];
+                view.get(actual);
+                Assert.assertArrayEquals(expectDatabases[partitionIndex].getBytesData(index), actual);
+            }
+        }
+    }
+
+    @Test
+    public void testColumnPartition() {
+        for (int l : L_ARRAY) {
+            for (int partitionL : L_ARRAY) {
+                testColumnPartition(l, partitionL);
+            }
+        }
+    }
+
+    private void testColumnPartition(int l, int partitionL) {
+        ZlDatabase database = ZlDatabase.createRandom(l, COLUMN_ROWS, SECURE_RANDOM);
+        BitVector[] columns = database.bitPartition(EnvType.STANDARD, true);
+        MappedDatabase columnDatabase = MappedDatabase.create(EnvType.STANDARD, true, columns);
+        // split and merge, so that segments do not start at the first row
+        MappedDatabase splitDatabase = columnDatabase.split(COLUMN_ROWS / 3);
+        splitDatabase.merge(columnDatabase);
+        assertEquals(database, splitDatabase);
+        ZlDatabase[] expectDatabases = NaiveDatabase.create(l, database.getBytesData()).partitionZl(partitionL);
+        MappedDatabase[] actualDatabases = splitDatabase.partitionZl(partitionL);
+        for (int partitionIndex = 0; partitionIndex < expectDatabases.length; partitionIndex++) {
+            assertEquals(expectDatabases[partitionIndex], actualDatabases[partitionIndex]);
+            Assert.assertArrayEquals(
+                expectDatabases[partitionIndex].bitPartition(EnvType.STANDARD, true),
+                actualDatabases[partitionIndex].bitPartition(EnvType.STANDARD, true)
+            );
+        }
+    }
+
+    @Test
+    public void testColumnSplit() {
+        for (int l : L_ARRAY) {
+            ZlDatabase database = ZlDatabase.createRandom(l, COLUMN_ROWS, SECURE_RANDOM);
+            BitVector[] columns = database.bitPartition(EnvType.STANDARD, true);
+            MappedDatabase columnDatabase = MappedDatabase.create(EnvType.STANDARD, true, columns);
+            // split with different sizes, so that segments start and end at all bit positions
+            int from = 0;
+            for (int splitRows = 1; from + splitRows <= COLUMN_ROWS; splitRows++) {
+                MappedDatabase splitDatabase = columnDatabase.split(splitRows);
+                BitVector[] splitColumns = splitDatabase.bitPartition(EnvType.STANDARD, false);
+                for (int column = 0; column < l; column++) {
+                    Assert.assertEquals(splitRows, splitColumns[column].bitNum());
+                    for (int row = 0; row < splitRows; row++) {
+                        Assert.assertEquals(columns[column].get(from + row), splitColumns[column].get(row));
+                    }
+                }
+                from += splitRows;
+            }
+            columnDatabase.close();
+        }
+    }
+
+    @Test
+    public void testClose() throws IOException {
+        ZlDatabase database = ZlDatabase.createRandom(Long.SIZE, DEFAULT_ROWS, SECURE_RANDOM);
+        // temporary files are deleted when closing
+        Path temporaryPath = Files.createTempFile("mpc4j_database_test_", ".db");
+        try (MappedDatabaseLoader loader = MappedDatabaseLoader.create(temporaryPath, Long.SIZE, Layout.ROW)) {
+            loader.append(database);
+            loader.finish();
+        }
+        MappedStorage.open(temporaryPath, true).close();
+        Assert.assertFalse(Files.exists(temporaryPath));
+        // loaded files are left on the disk
+        Path path = Files.createTempFile("mpc4j_database_test_", ".db");
+        try {
+            MappedDatabase loadDatabase;
+            try (MappedDatabaseLoader loader = MappedDatabaseLoader.create(path, Long.SIZE, Layout.ROW)) {
+                loader.append(database);
+                loadDatabase = loader.load();
+            }
+            MappedDatabase splitDatabase = loadDatabase.split(DEFAULT_ROWS / 2);
+            loadDatabase.close();
+            Assert.assertEquals(0, loadDatabase.rows());
+            Assert.assertTrue(Files.exists(path));
+            splitDatabase.close();
+            assertEquals(database, MappedDatabase.load(path));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testSplitMerge() {
+        for (int l : L_ARRAY) {
+            ZlDatabase database = ZlDatabase.createRandom(l, DEFAULT_ROWS, SECURE_RANDOM);
+            MappedDatabase mappedDatabase = MappedDatabase.create(l, database.getBytesData());
+            MappedDatabase splitDatabase = mappedDatabase.split(DEFAULT_ROWS / 2);
+            Assert.assertEquals(DEFAULT_ROWS / 2, splitDatabase.rows());
+            Assert.assertEquals(DEFAULT_ROWS - DEFAULT_ROWS / 2, mappedDatabase.rows());
+            splitDatabase.merge(mappedDatabase);
+            assertEquals(database, splitDatabase);
+            splitDatabase.reduce(DEFAULT_ROWS / 3);
+            Assert.assertEquals(DEFAULT_ROWS / 3, splitDatabase.rows());
+            for (int index = 0; index < DEFAULT_ROWS / 3; index++) {
+                Assert.assertArrayEquals(database.getBytesData(index), splitDatabase.getBytesData(index));
+            }
+        }
+    }
+
+    private void assertEquals(Database expect, Database actual) {
+        Assert.assertEquals(expect.getL(), actual.getL());
+        Assert.assertEquals(expect.rows(), actual.rows());
+        Assert.assertArrayEquals(
+            Arrays.stream(expect.getBytesData()).toArray(byte[][]::new),
+            Arrays.stream(actual.getBytesData()).toArray(byte[][]::new)
+        );
+    }
+}
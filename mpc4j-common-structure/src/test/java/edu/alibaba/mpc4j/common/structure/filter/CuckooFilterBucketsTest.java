@@ -0,0 +1,56 @@
+package edu.alibaba.mpc4j.common.structure.filter;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.security.SecureRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Cuckoo Filter buckets test.
+ *
+ * @author Weiran Liu
+ * @date 2024/8/8
+ */
+public class CuckooFilterBucketsTest {
+    /**
+     * bucket num
+     */
+    private static final int BUCKET_NUM = 1 << 10;
+    /**
+     * the random state
+     */
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    @Test
+    public void testSimdProbe() {
+        // fingerprints are in a small range, so that probes hit and miss
+        long[] entries = IntStream.range(0, BUCKET_NUM * CuckooFilterBuckets.ENTRIES_PER_BUCKET)
+            .mapToLong(i -> SECURE_RANDOM.nextInt(8))
+            .toArray();
+        for (int bucketIndex = 0; bucketIndex < BUCKET_NUM; bucketIndex++) {
+            int offset = bucketIndex * CuckooFilterBuckets.ENTRIES_PER_BUCKET;
+            for (long fingerprint = 0; fingerprint < 8; fingerprint++) {
+                boolean expect = false;
+                for (int i = offset; i < offset + CuckooFilterBuckets.ENTRIES_PER_BUCKET; i++) {
+                    expect |= entries[i] == fingerprint;
+                }
+                Assert.assertEquals(expect, SimdCuckooFilterProbe.contains(entries, offset, fingerprint));
+            }
+        }
+    }
+
+    @Test
+    public void testScalarProbe() {
+        // SIMD probing is opt-in, the default is the scalar probe
+        Assert.assertFalse(Boolean.getBoolean(CuckooFilterBuckets.SIMD_PROPERTY));
+        CuckooFilterBuckets buckets = new CuckooFilterBuckets(BUCKET_NUM);
+        for (int bucketIndex = 0; bucketIndex < BUCKET_NUM; bucketIndex++) {
+            Assert.assertTrue(buckets.hasEmpty(bucketIndex));
+            long fingerprint = bucketIndex + 1;
+            Assert.assertTrue(buckets.add(bucketIndex, fingerprint));
+            Assert.assertTrue(buckets.contains(bucketIndex, fingerprint));
+            Assert.assertFalse(buckets.contains(bucketIndex, fingerprint + 1));
+        }
+    }
+}
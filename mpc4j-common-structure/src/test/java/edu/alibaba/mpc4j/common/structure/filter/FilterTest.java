@@ -133,6 +133,39 @@ public class FilterTest {
         }
     }
 
+    @Test
+    public void testPutAll() {
+        testPutAll(1);
+        testPutAll(1 << 8);
+        testPutAll(1 << 16);
+    }
+
+    private void testPutAll(int maxSize) {
+        byte[][] keys = CommonUtils.generateRandomKeys(FilterFactory.getHashKeyNum(type), SECURE_RANDOM);
+        Filter<ByteBuffer> filter = FilterFactory.load(EnvType.STANDARD, type, maxSize, keys);
+        // insert elements into the filter
+        Set<ByteBuffer> items = generateRandomItems(maxSize);
+        filter.putAll(items);
+        Assert.assertEquals(items.size(), filter.size());
+        // verify all elements are in the filter
+        items.forEach(item -> Assert.assertTrue(filter.mightContain(item)));
+        // verify other elements are not in the filter
+        Set<ByteBuffer> randomItems = generateRandomItems(maxSize);
+        randomItems.forEach(randomItem -> Assert.assertFalse(filter.mightContain(randomItem)));
+        // serialize
+        Filter<ByteBuffer> recoveredFilter = FilterFactory.load(EnvType.STANDARD, filter.save());
+        Assert.assertEquals(filter, recoveredFilter);
+        items.forEach(item -> Assert.assertTrue(recoveredFilter.mightContain(item)));
+        // insert duplicated elements
+        if (maxSize > 1) {
+            Filter<ByteBuffer> duplicateFilter = FilterFactory.load(EnvType.STANDARD, type, maxSize, keys);
+            List<ByteBuffer> duplicateItems = new ArrayList<>();
+            duplicateItems.add(ByteBuffer.wrap(new byte[CommonConstants.BLOCK_BYTE_LENGTH]));
+            duplicateItems.add(ByteBuffer.wrap(new byte[CommonConstants.BLOCK_BYTE_LENGTH]));
+            Assert.assertThrows(IllegalArgumentException.class, () -> duplicateFilter.putAll(duplicateItems));
+        }
+    }
+
     @Test
     public void testSerialize() {
         byte[][] keys = CommonUtils.generateRandomKeys(FilterFactory.getHashKeyNum(type), SECURE_RANDOM);
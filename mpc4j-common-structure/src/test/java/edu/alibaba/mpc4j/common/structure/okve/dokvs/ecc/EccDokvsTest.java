@@ -168,6 +168,16 @@ public class EccDokvsTest {
                 ECPoint decodeValue = dokvs.decode(doublyStorage, key);
                 Assert.assertEquals(value, decodeValue);
             });
+            // batch decode
+            List<ByteBuffer> keyList = new ArrayList<>(keyValueMap.keySet());
+            for (boolean parallel : new boolean[]{false, true}) {
+                ECPoint[] batchDecodeValues = dokvs.decode(doublyStorage, keyList, parallel);
+                Assert.assertEquals(keyList.size(), batchDecodeValues.length);
+                IntStream.range(0, keyList.size()).forEach(index -> {
+                    Assert.assertTrue(batchDecodeValues[index].isNormalized());
+                    Assert.assertEquals(keyValueMap.get(keyList.get(index)), batchDecodeValues[index]);
+                });
+            }
             // verify randomly generate values are not in the set
             Set<ECPoint> valueSet = new HashSet<>(keyValueMap.values());
             IntStream.range(0, MAX_RANDOM_ROUND).forEach(index -> {
@@ -50,11 +50,17 @@ public class BinaryBandLinearSolverRandomTest {
      * band linear solver
      */
     private final BinaryBandLinearSolver bandLinearSolver;
+    /**
+     * parallel band linear solver
+     */
+    private final BinaryBandLinearSolver parallelBandLinearSolver;
 
     public BinaryBandLinearSolverRandomTest() {
         gf2e = Gf2eFactory.createInstance(EnvType.STANDARD, 40);
         secureRandom = new SecureRandom();
         bandLinearSolver = new BinaryBandLinearSolver(gf2e.getL());
+        parallelBandLinearSolver = new BinaryBandLinearSolver(gf2e.getL());
+        parallelBandLinearSolver.setParallel(true);
     }
 
     @Test
@@ -129,7 +135,57 @@ public class BinaryBandLinearSolverRandomTest {
         test(nRows, epsilon, w);
     }
 
+    @Test
+    public void testParallel() {
+        // n = 2^14, ε = 0.05, 40 = 0.13890w − 6.976
+        int nRows = 1 << 14;
+        double epsilon = 0.05;
+        int w = (int) Math.ceil((40 + 6.976) / 0.13890);
+        test(parallelBandLinearSolver, nRows, epsilon, w);
+    }
+
+    @Test
+    public void testParallelBins() {
+        // n = 2^10 for each bin, ε = 0.05, 40 = 0.13880w − 4.424
+        int binNum = 16;
+        int binRows = 1 << 10;
+        int binColumns = (int) Math.ceil(binRows * (1 + 0.05));
+        int w = (int) Math.ceil((40 + 4.424) / 0.13880);
+        int byteW = CommonUtils.getByteLength(w);
+        int nRows = binNum * binRows;
+        int nColumns = binNum * binColumns;
+        byte[][] x = new byte[nColumns][];
+        SystemInfo systemInfo;
+        for (int round = 0; round < TEST_ROUND / 10; round++) {
+            // stacked bins, bands in different bins do not overlap
+            int[] ss = IntStream.range(0, nRows)
+                .map(iRow -> iRow / binRows * binColumns + secureRandom.nextInt(binColumns - w))
+                .toArray();
+            byte[][] bandA = IntStream.range(0, nRows)
+                .mapToObj(iRow -> BytesUtils.randomByteArray(byteW, w, secureRandom))
+                .toArray(byte[][]::new);
+            byte[][] b = IntStream.range(0, nRows)
+                .mapToObj(iRow -> gf2e.createRandom(secureRandom))
+                .toArray(byte[][]::new);
+            systemInfo = parallelBandLinearSolver.freeSolve(
+                IntUtils.clone(ss), nColumns, w, BytesUtils.clone(bandA), BytesUtils.clone(b), x
+            );
+            Assert.assertEquals(SystemInfo.Consistent, systemInfo);
+            assertCorrect(ss, w, bandA, b, x);
+            systemInfo = parallelBandLinearSolver.fullSolve(
+                IntUtils.clone(ss), nColumns, w, BytesUtils.clone(bandA), BytesUtils.clone(b), x
+            );
+            Assert.assertEquals(SystemInfo.Consistent, systemInfo);
+            assertCorrect(ss, w, bandA, b, x);
+            Arrays.stream(x).forEach(element -> Assert.assertFalse(gf2e.isZero(element)));
+        }
+    }
+
     private void test(int nRows, double epsilon, int w) {
+        test(bandLinearSolver, nRows, epsilon, w);
+    }
+
+    private void test(BinaryBandLinearSolver bandLinearSolver, int nRows, double epsilon, int w) {
         int nColumns = (int) Math.ceil(nRows * (1 + epsilon));
         int byteW = CommonUtils.getByteLength(w);
         byte[][] x = new byte[nColumns][];
@@ -28,6 +28,11 @@ public class BitVectorFactory {
          * combined bit vector
          */
         COMBINED_BIT_VECTOR,
+        /**
+         * bit vector represented by longs with Vector API kernels, use this if the bit vector is often used for
+         * operations on long vectors. This requires {@code --add-modules=jdk.incubator.vector}.
+         */
+        LONGS_BIT_VECTOR,
     }
 
     /**
@@ -59,6 +64,7 @@ public class BitVectorFactory {
             case BYTES_BIT_VECTOR -> BytesBitVector.create(bitNum, bytes);
             case BIGINTEGER_BIT_VECTOR -> BigIntegerBitVector.create(bitNum, bytes);
             case COMBINED_BIT_VECTOR -> CombinedBitVector.create(bitNum, bytes);
+            case LONGS_BIT_VECTOR -> LongsBitVector.create(bitNum, bytes);
         };
     }
 
@@ -86,6 +92,7 @@ public class BitVectorFactory {
             case BYTES_BIT_VECTOR -> BytesBitVector.create(bitNum, bigInteger);
             case BIGINTEGER_BIT_VECTOR -> BigIntegerBitVector.create(bitNum, bigInteger);
             case COMBINED_BIT_VECTOR -> CombinedBitVector.create(bitNum, bigInteger);
+            case LONGS_BIT_VECTOR -> LongsBitVector.create(bitNum, bigInteger);
         };
     }
 
@@ -113,6 +120,7 @@ public class BitVectorFactory {
             case BYTES_BIT_VECTOR -> BytesBitVector.createRandom(bitNum, random);
             case BIGINTEGER_BIT_VECTOR -> BigIntegerBitVector.createRandom(bitNum, random);
             case COMBINED_BIT_VECTOR -> CombinedBitVector.createRandom(bitNum, random);
+            case LONGS_BIT_VECTOR -> LongsBitVector.createRandom(bitNum, random);
         };
     }
 
@@ -138,6 +146,7 @@ public class BitVectorFactory {
             case BYTES_BIT_VECTOR -> BytesBitVector.createOnes(bitNum);
             case BIGINTEGER_BIT_VECTOR -> BigIntegerBitVector.createOnes(bitNum);
             case COMBINED_BIT_VECTOR -> CombinedBitVector.createOnes(bitNum);
+            case LONGS_BIT_VECTOR -> LongsBitVector.createOnes(bitNum);
         };
     }
 
@@ -163,6 +172,7 @@ public class BitVectorFactory {
             case BYTES_BIT_VECTOR -> BytesBitVector.createZeros(bitNum);
             case BIGINTEGER_BIT_VECTOR -> BigIntegerBitVector.createZeros(bitNum);
             case COMBINED_BIT_VECTOR -> CombinedBitVector.createZeros(bitNum);
+            case LONGS_BIT_VECTOR -> LongsBitVector.createZeros(bitNum);
         };
     }
 
@@ -186,6 +196,7 @@ public class BitVectorFactory {
             case BYTES_BIT_VECTOR -> BytesBitVector.createEmpty();
             case BIGINTEGER_BIT_VECTOR -> BigIntegerBitVector.createEmpty();
             case COMBINED_BIT_VECTOR -> CombinedBitVector.createEmpty();
+            case LONGS_BIT_VECTOR -> LongsBitVector.createEmpty();
         };
     }
 
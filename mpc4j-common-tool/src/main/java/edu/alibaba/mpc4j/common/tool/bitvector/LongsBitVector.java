@@ -0,0 +1,428 @@
+package edu.alibaba.mpc4j.common.tool.bitvector;
+
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVectorFactory.BitVectorType;
+import edu.alibaba.mpc4j.common.tool.utils.*;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The bit vector represented by longs. Bits are stored in big-endian order, i.e., the last bit is the least
+ * significant bit of the last long. Operations use Vector API kernels in {@link SimdLongUtils}, and split / merge /
+ * shift are word-level shifts instead of BigInteger conversions.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/18
+ */
+public class LongsBitVector implements BitVector {
+    /**
+     * bit vector represented by longs.
+     */
+    private long[] longs;
+    /**
+     * number of bit.
+     */
+    private int bitNum;
+    /**
+     * number of byte.
+     */
+    private int byteNum;
+    /**
+     * the offset, i.e., the number of leading padding bits.
+     */
+    private int offset;
+
+    static BitVector create(int bitNum, byte[] bytes) {
+        assert bitNum > 0 : "the number of bits must be greater than 0: " + bitNum;
+        int byteLength = CommonUtils.getByteLength(bitNum);
+        assert bytes.length == byteLength : "bytes.length must be equal to " + byteLength + ": " + bytes.length;
+        assert BytesUtils.isReduceByteArray(bytes, bitNum) : "bytes must contain at most " + bitNum + " bits";
+        return create(bitNum, toLongs(bytes, CommonUtils.getLongLength(bitNum)));
+    }
+
+    static BitVector create(int bitNum, BigInteger bigInteger) {
+        assert bitNum > 0 : "the number of bits must be greater than 0: " + bitNum;
+        assert BigIntegerUtils.greaterOrEqual(bigInteger, BigInteger.ZERO)
+            : "bigInteger must be greater than or equal to 0: " + bigInteger;
+        assert bigInteger.bitLength() <= bitNum
+            : "bigInteger.bitLength must be less than or equal to " + bitNum + ": " + bigInteger.bitLength();
+        int byteLength = CommonUtils.getByteLength(bitNum);
+        byte[] bytes = BigIntegerUtils.nonNegBigIntegerToByteArray(bigInteger, byteLength);
+        return create(bitNum, toLongs(bytes, CommonUtils.getLongLength(bitNum)));
+    }
+
+    static BitVector createRandom(int bitNum, Random random) {
+        assert bitNum > 0 : "the number of bits must be greater than 0: " + bitNum;
+        long[] longs = new long[CommonUtils.getLongLength(bitNum)];
+        for (int i = 0; i < longs.length; i++) {
+            longs[i] = random.nextLong();
+        }
+        SimdLongUtils.reduce(longs, bitNum);
+        return create(bitNum, longs);
+    }
+
+    static BitVector createOnes(int bitNum) {
+        assert bitNum > 0 : "the number of bits must be greater than 0: " + bitNum;
+        long[] longs = new long[CommonUtils.getLongLength(bitNum)];
+        Arrays.fill(longs, -1L);
+        SimdLongUtils.reduce(longs, bitNum);
+        return create(bitNum, longs);
+    }
+
+    static BitVector createZeros(int bitNum) {
+        assert bitNum > 0 : "the number of bits must be greater than 0: " + bitNum;
+        return create(bitNum, new long[CommonUtils.getLongLength(bitNum)]);
+    }
+
+    static BitVector createEmpty() {
+        return create(0, new long[0]);
+    }
+
+    private static LongsBitVector create(int bitNum, long[] longs) {
+        LongsBitVector bitVector = new LongsBitVector();
+        bitVector.setLongs(bitNum, longs);
+        return bitVector;
+    }
+
+    private void setLongs(int bitNum, long[] longs) {
+        assert longs.length == CommonUtils.getLongLength(bitNum);
+        this.longs = longs;
+        this.bitNum = bitNum;
+        byteNum = CommonUtils.getByteLength(bitNum);
+        offset = longs.length * Long.SIZE - bitNum;
+    }
+
+    /**
+     * Converts big-endian bytes to big-endian longs, padding leading zeros.
+     *
+     * @param bytes   bytes.
+     * @param longNum number of longs.
+     * @return longs.
+     */
+    private static long[] toLongs(byte[] bytes, int longNum) {
+        long[] longs = new long[longNum];
+        int leadingByteNum = longNum * Long.BYTES - bytes.length;
+        for (int i = 0; i < bytes.length; i++) {
+            int globalIndex = i + leadingByteNum;
+            longs[globalIndex / Long.BYTES] |= (bytes[i] & 0xFFL) << getByteShift(globalIndex);
+        }
+        return longs;
+    }
+
+    private static int getByteShift(int globalByteIndex) {
+        return (Long.BYTES - 1 - globalByteIndex % Long.BYTES) * Byte.SIZE;
+    }
+
+    private long[] getLongs(BitVector that) {
+        if (that instanceof LongsBitVector longsThat) {
+            return longsThat.longs;
+        }
+        return that.bitNum() == 0 ? new long[0] : toLongs(that.getBytes(), longs.length);
+    }
+
+    @Override
+    public BitVectorType getType() {
+        return BitVectorType.LONGS_BIT_VECTOR;
+    }
+
+    @Override
+    public void set(int index, boolean value) {
+        assert index >= 0 && index < bitNum : "index must be in range [0, " + bitNum + ")";
+        BinaryUtils.setBoolean(longs, index + offset, value);
+    }
+
+    @Override
+    public boolean get(int index) {
+        assert index >= 0 && index < bitNum : "index must be in range [0, " + bitNum + ")";
+        return BinaryUtils.getBoolean(longs, index + offset);
+    }
+
+    @Override
+    public BitVector copy() {
+        return create(bitNum, LongUtils.clone(longs));
+    }
+
+    @Override
+    public void replaceCopy(BitVector that) {
+        assertEqualBitNum(that);
+        System.arraycopy(getLongs(that), 0, longs, 0, longs.length);
+    }
+
+    @Override
+    public int bitNum() {
+        return bitNum;
+    }
+
+    @Override
+    public int byteNum() {
+        return byteNum;
+    }
+
+    @Override
+    public byte[] getBytes() {
+        byte[] bytes = new byte[byteNum];
+        int leadingByteNum = longs.length * Long.BYTES - byteNum;
+        for (int i = 0; i < byteNum; i++) {
+            int globalIndex = i + leadingByteNum;
+            bytes[i] = (byte) (longs[globalIndex / Long.BYTES] >>> getByteShift(globalIndex));
+        }
+        return bytes;
+    }
+
+    @Override
+    public BigInteger getBigInteger() {
+        if (bitNum == 0) {
+            return BigInteger.ZERO;
+        } else {
+            return BigIntegerUtils.byteArrayToNonNegBigInteger(getBytes());
+        }
+    }
+
+    @Override
+    public BitVector split(int bitNum) {
+        assert bitNum > 0 && bitNum <= this.bitNum
+            : "number of split bits must be in range (0, " + this.bitNum + "]: " + bitNum;
+        // the split bit vector contains the last bitNum bits
+        long[] splitLongs = Arrays.copyOfRange(longs, longs.length - CommonUtils.getLongLength(bitNum), longs.length);
+        SimdLongUtils.reduce(splitLongs, bitNum);
+        // the remaining bit vector contains the first (this.bitNum - bitNum) bits
+        reduceShiftRighti(bitNum);
+        return create(bitNum, splitLongs);
+    }
+
+    @Override
+    public void reduce(int bitNum) {
+        assert bitNum > 0 && bitNum <= this.bitNum
+            : "number of reduced bits must be in range (0, " + this.bitNum + "]: " + bitNum;
+        if (bitNum < this.bitNum) {
+            long[] reduceLongs = Arrays.copyOfRange(
+                longs, longs.length - CommonUtils.getLongLength(bitNum), longs.length
+            );
+            SimdLongUtils.reduce(reduceLongs, bitNum);
+            setLongs(bitNum, reduceLongs);
+        }
+    }
+
+    @Override
+    public void merge(BitVector that) {
+        if (that.bitNum() == 0) {
+            return;
+        }
+        int mergeBitNum = bitNum + that.bitNum();
+        // this || that = (this << that.bitNum) ∨ that
+        long[] mergeLongs = new long[CommonUtils.getLongLength(mergeBitNum)];
+        System.arraycopy(longs, 0, mergeLongs, mergeLongs.length - longs.length, longs.length);
+        mergeLongs = SimdLongUtils.shiftLeft(mergeLongs, that.bitNum());
+        long[] thatLongs = that instanceof LongsBitVector longsThat
+            ? longsThat.longs : toLongs(that.getBytes(), CommonUtils.getLongLength(that.bitNum()));
+        int destPos = mergeLongs.length - thatLongs.length;
+        for (int i = 0; i < thatLongs.length; i++) {
+            mergeLongs[destPos + i] |= thatLongs[i];
+        }
+        setLongs(mergeBitNum, mergeLongs);
+    }
+
+    @Override
+    public BitVector xor(BitVector that) {
+        assertEqualBitNum(that);
+        return create(bitNum, SimdLongUtils.xor(longs, getLongs(that)));
+    }
+
+    @Override
+    public void xori(BitVector that) {
+        assertEqualBitNum(that);
+        SimdLongUtils.xori(longs, getLongs(that));
+    }
+
+    @Override
+    public BitVector and(BitVector that) {
+        assertEqualBitNum(that);
+        return create(bitNum, SimdLongUtils.and(longs, getLongs(that)));
+    }
+
+    @Override
+    public void andi(BitVector that) {
+        assertEqualBitNum(that);
+        SimdLongUtils.andi(longs, getLongs(that));
+    }
+
+    @Override
+    public BitVector or(BitVector that) {
+        assertEqualBitNum(that);
+        return create(bitNum, SimdLongUtils.or(longs, getLongs(that)));
+    }
+
+    @Override
+    public void ori(BitVector that) {
+        assertEqualBitNum(that);
+        SimdLongUtils.ori(longs, getLongs(that));
+    }
+
+    @Override
+    public BitVector not() {
+        long[] notLongs = LongUtils.clone(longs);
+        SimdLongUtils.noti(notLongs, bitNum);
+        return create(bitNum, notLongs);
+    }
+
+    @Override
+    public void noti() {
+        SimdLongUtils.noti(longs, bitNum);
+    }
+
+    private void assertEqualBitNum(BitVector that) {
+        assert bitNum == that.bitNum() : "the given bit vector must contain " + bitNum + " bits: " + that.bitNum();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder()
+            .append(getBytes())
+            .append(bitNum())
+            .hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof LongsBitVector that) {
+            return this.bitNum == that.bitNum && Arrays.equals(this.longs, that.longs);
+        }
+        if (obj instanceof BitVector that) {
+            return new EqualsBuilder()
+                .append(this.getBytes(), that.getBytes())
+                .append(this.bitNum(), that.bitNum())
+                .isEquals();
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        if (bitNum == 0) {
+            return "";
+        }
+        StringBuilder bitVectorString = new StringBuilder(getBigInteger().toString(2));
+        while (bitVectorString.length() < bitNum) {
+            bitVectorString.insert(0, "0");
+        }
+        return bitVectorString.toString();
+    }
+
+    @Override
+    public void extendBitNum(int extendBitNum) {
+        // we must ensure extendBitNum >= bitNum
+        MathPreconditions.checkGreaterOrEqual("extendBitNum", extendBitNum, bitNum);
+        int targetLongLength = CommonUtils.getLongLength(extendBitNum);
+        if (longs.length < targetLongLength) {
+            long[] res = new long[targetLongLength];
+            System.arraycopy(longs, 0, res, targetLongLength - longs.length, longs.length);
+            longs = res;
+        }
+        setLongs(extendBitNum, longs);
+    }
+
+    @Override
+    public BitVector padShiftLeft(int n) {
+        MathPreconditions.checkNonNegative("n", n);
+        long[] shiftLongs = new long[CommonUtils.getLongLength(bitNum + n)];
+        System.arraycopy(longs, 0, shiftLongs, shiftLongs.length - longs.length, longs.length);
+        return create(bitNum + n, SimdLongUtils.shiftLeft(shiftLongs, n));
+    }
+
+    @Override
+    public void fixShiftLefti(int n) {
+        MathPreconditions.checkNonNegative("n", n);
+        longs = SimdLongUtils.shiftLeft(longs, n);
+        SimdLongUtils.reduce(longs, bitNum);
+    }
+
+    @Override
+    public BitVector reduceShiftRight(int n) {
+        MathPreconditions.checkNonNegativeInRangeClosed("n", n, bitNum);
+        if (bitNum == n) {
+            return createEmpty();
+        } else {
+            long[] shiftLongs = SimdLongUtils.shiftRight(longs, n);
+            int remainLongLength = CommonUtils.getLongLength(bitNum - n);
+            return create(
+                bitNum - n, Arrays.copyOfRange(shiftLongs, shiftLongs.length - remainLongLength, shiftLongs.length)
+            );
+        }
+    }
+
+    @Override
+    public void reduceShiftRighti(int n) {
+        MathPreconditions.checkNonNegativeInRangeClosed("n", n, bitNum);
+        if (bitNum == n) {
+            setLongs(0, new long[0]);
+        } else {
+            long[] shiftLongs = SimdLongUtils.shiftRight(longs, n);
+            int remainLongLength = CommonUtils.getLongLength(bitNum - n);
+            setLongs(
+                bitNum - n, Arrays.copyOfRange(shiftLongs, shiftLongs.length - remainLongLength, shiftLongs.length)
+            );
+        }
+    }
+
+    @Override
+    public void fixShiftRighti(int n) {
+        MathPreconditions.checkNonNegativeInRangeClosed("n", n, bitNum);
+        longs = SimdLongUtils.shiftRight(longs, n);
+    }
+
+    @Override
+    public void setBytes(byte[] source, int srcPos, int thisPos, int byteLength) {
+        MathPreconditions.checkNonNegative("srcPos", srcPos);
+        MathPreconditions.checkNonNegative("byteLength", byteLength);
+        MathPreconditions.checkLessOrEqual("srcPos + byteLength", srcPos + byteLength, source.length);
+        MathPreconditions.checkLessOrEqual("thisPos + byteLength", thisPos + byteLength, byteNum);
+        int leadingByteNum = longs.length * Long.BYTES - byteNum;
+        for (int i = 0; i < byteLength; i++) {
+            int globalIndex = thisPos + i + leadingByteNum;
+            int shift = getByteShift(globalIndex);
+            int longIndex = globalIndex / Long.BYTES;
+            longs[longIndex] = (longs[longIndex] & ~(0xFFL << shift)) | ((source[srcPos + i] & 0xFFL) << shift);
+        }
+    }
+
+    @Override
+    public BitVector[] uncheckSplitWithPadding(int[] bitNums) {
+        byte[] bytes = getBytes();
+        BitVector[] res = new BitVector[bitNums.length];
+        int k = 0;
+        for (int i = 0; i < bitNums.length; i++) {
+            int byteNum = CommonUtils.getByteLength(bitNums[i]);
+            byte[] tmp = Arrays.copyOfRange(bytes, k, k + byteNum);
+            // we directly reduce tmp, since operations may occur in the merged form so that the padding may not be zero.
+            BytesUtils.reduceByteArray(tmp, bitNums[i]);
+            res[i] = create(bitNums[i], tmp);
+            k += byteNum;
+        }
+        // check that the bit vector is indeed merged by bitNums.
+        MathPreconditions.checkEqual("k", "byteLength", k, bytes.length);
+
+        return res;
+    }
+
+    @Override
+    public void reverseBits() {
+        long[] reverseLongs = new long[longs.length];
+        for (int i = 0; i < longs.length; i++) {
+            reverseLongs[longs.length - 1 - i] = Long.reverse(longs[i]);
+        }
+        // the padding bits are now the trailing bits, shift them out
+        longs = SimdLongUtils.shiftRight(reverseLongs, offset);
+    }
+
+    @Override
+    public boolean numOf1IsOdd() {
+        return (SimdLongUtils.bitCount(longs) & 1) == 1;
+    }
+}
@@ -10,8 +10,10 @@ import org.bouncycastle.math.ec.*;
 
 import java.math.BigInteger;
 import java.security.SecureRandom;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 /**
  * Bouncy Castle椭圆曲线抽象类。其中，HashToPoint采用Google的private-join-and-compute方法实现，参见：
@@ -27,6 +29,10 @@ public abstract class AbstractEcc implements Ecc {
      * 窗口大小
      */
     private static final int WINDOW_SIZE = 16;
+    /**
+     * max number of chunks in parallel batch normalization, each chunk needs one field inversion.
+     */
+    private static final int NORMALIZE_CHUNK_NUM = 4 * Runtime.getRuntime().availableProcessors();
     /**
      * 椭圆曲线类型
      */
@@ -39,6 +45,10 @@ public abstract class AbstractEcc implements Ecc {
      * 预计算窗口映射
      */
     private final Map<ECPoint, WindowMethod> windowMethodMap;
+    /**
+     * fixed-base multiplier for the generator, the precomputed table is cached in the curve.
+     */
+    private final ECMultiplier baseMultiplier;
 
     public AbstractEcc(EccFactory.EccType eccType, String bcCurveName) {
         X9ECParameters ecParameters = CustomNamedCurves.getByName(bcCurveName);
@@ -51,6 +61,7 @@ public abstract class AbstractEcc implements Ecc {
         );
         // 初始化窗口指针映射表
         windowMethodMap = new HashMap<>(0);
+        baseMultiplier = new FixedPointCombMultiplier();
         this.eccType = eccType;
     }
 
@@ -140,6 +151,34 @@ public abstract class AbstractEcc implements Ecc {
         }
     }
 
+    @Override
+    public ECPoint baseMul(BigInteger r) {
+        ECPoint g = getG();
+        if (windowMethodMap.containsKey(g)) {
+            return windowMethodMap.get(g).multiply(r);
+        } else {
+            return baseMultiplier.multiply(g, r.mod(getN()));
+        }
+    }
+
+    @Override
+    public ECPoint[] normalize(ECPoint[] ps, boolean parallel) {
+        ECPoint[] normalized = Arrays.copyOf(ps, ps.length);
+        if (!parallel) {
+            ecDomainParameters.getCurve().normalizeAll(normalized);
+            return normalized;
+        }
+        // each chunk needs one field inversion, chunks are normalized in parallel
+        int chunkSize = Math.max(1, (ps.length + NORMALIZE_CHUNK_NUM - 1) / NORMALIZE_CHUNK_NUM);
+        int chunkNum = (ps.length + chunkSize - 1) / chunkSize;
+        IntStream.range(0, chunkNum).parallel().forEach(chunkIndex -> {
+            int offset = chunkIndex * chunkSize;
+            int length = Math.min(chunkSize, ps.length - offset);
+            ecDomainParameters.getCurve().normalizeAll(normalized, offset, length, null);
+        });
+        return normalized;
+    }
+
     @Override
     public EccFactory.EccType getEccType() {
         return eccType;
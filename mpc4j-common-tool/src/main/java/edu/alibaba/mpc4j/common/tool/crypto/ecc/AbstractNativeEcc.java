@@ -73,6 +73,12 @@ public abstract class AbstractNativeEcc extends AbstractEcc implements AutoClose
         }
     }
 
+    @Override
+    public ECPoint baseMul(BigInteger r) {
+        // use native (precomputed) multiplication instead of the Bouncy Castle fixed-base multiplier
+        return multiply(getG(), r);
+    }
+
     /**
      * 将本地点的字符串转换为椭圆曲线点。
      *
@@ -2,6 +2,8 @@ package edu.alibaba.mpc4j.common.tool.crypto.ecc;
 
 import java.math.BigInteger;
 import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.stream.Stream;
 
 /**
  * 全功能字节椭圆曲线接口。
@@ -94,4 +96,58 @@ public interface ByteFullEcc extends ByteMulEcc {
      * @return 结果R。
      */
     byte[] baseMul(BigInteger k);
+
+    /**
+     * 批量计算R_i = k · P_i。
+     *
+     * @param ps       椭圆曲线点P_i。
+     * @param k        幂指数k。
+     * @param parallel 是否并行计算。
+     * @return 结果R_i。
+     */
+    default byte[][] mul(byte[][] ps, BigInteger k, boolean parallel) {
+        Stream<byte[]> pStream = Arrays.stream(ps);
+        pStream = parallel ? pStream.parallel() : pStream;
+        return pStream
+            .map(p -> mul(p, k))
+            .toArray(byte[][]::new);
+    }
+
+    /**
+     * 批量计算R_i = k_i · G。
+     *
+     * @param ks       幂指数k_i。
+     * @param parallel 是否并行计算。
+     * @return 结果R_i。
+     */
+    default byte[][] baseMul(BigInteger[] ks, boolean parallel) {
+        Stream<BigInteger> kStream = Arrays.stream(ks);
+        kStream = parallel ? kStream.parallel() : kStream;
+        return kStream
+            .map(this::baseMul)
+            .toArray(byte[][]::new);
+    }
+
+    /**
+     * 用Pippenger多标量乘法计算R = Σ_i k_i · P_i。
+     *
+     * @param ps 椭圆曲线点P_i。
+     * @param ks 幂指数k_i。
+     * @return 结果R。
+     */
+    default byte[] innerProduct(byte[][] ps, BigInteger[] ks) {
+        return innerProduct(ps, ks, false);
+    }
+
+    /**
+     * 用Pippenger多标量乘法计算R = Σ_i k_i · P_i。
+     *
+     * @param ps       椭圆曲线点P_i。
+     * @param ks       幂指数k_i。
+     * @param parallel 是否并行计算。
+     * @return 结果R。
+     */
+    default byte[] innerProduct(byte[][] ps, BigInteger[] ks, boolean parallel) {
+        return PippengerMsm.innerProduct(this, ps, ks, parallel);
+    }
 }
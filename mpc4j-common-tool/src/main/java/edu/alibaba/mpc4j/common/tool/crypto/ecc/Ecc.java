@@ -6,6 +6,8 @@ import org.bouncycastle.math.ec.ECPoint;
 
 import java.math.BigInteger;
 import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.stream.Stream;
 
 /**
  * ECC interface.
@@ -94,6 +96,35 @@ public interface Ecc {
         return p.getEncoded(compressed);
     }
 
+    /**
+     * Encodes EC points in batch. Points are first normalized to affine coordinates in batch, see
+     * {@link #normalize(ECPoint[], boolean)}, so that encoding needs no more field inversions.
+     *
+     * @param ps         the EC points.
+     * @param compressed compress encoding or not.
+     * @param parallel   parallel computing or not.
+     * @return the encoded points.
+     */
+    default byte[][] encode(ECPoint[] ps, boolean compressed, boolean parallel) {
+        ECPoint[] normalized = normalize(ps, parallel);
+        Stream<ECPoint> pStream = Arrays.stream(normalized);
+        pStream = parallel ? pStream.parallel() : pStream;
+        return pStream
+            .map(p -> encode(p, compressed))
+            .toArray(byte[][]::new);
+    }
+
+    /**
+     * Normalizes EC points to affine coordinates in batch. Normalizing one point needs one field inversion. Here we use
+     * Montgomery's trick so that a batch of points needs only one field inversion and 3 multiplications per point. The
+     * given points are not modified.
+     *
+     * @param ps       the EC points.
+     * @param parallel parallel computing or not.
+     * @return the normalized EC points.
+     */
+    ECPoint[] normalize(ECPoint[] ps, boolean parallel);
+
     /**
      * Decodes the EC point.
      *
@@ -127,6 +158,47 @@ public interface Ecc {
      */
     ECPoint multiply(ECPoint p, BigInteger r);
 
+    /**
+     * Computes r · P_i for each EC point.
+     *
+     * @param ps       the EC points.
+     * @param r        the scalar r.
+     * @param parallel parallel computing or not.
+     * @return r · P_i for each EC point.
+     */
+    default ECPoint[] multiply(ECPoint[] ps, BigInteger r, boolean parallel) {
+        Stream<ECPoint> pStream = Arrays.stream(ps);
+        pStream = parallel ? pStream.parallel() : pStream;
+        return pStream
+            .map(p -> multiply(p, r))
+            .toArray(ECPoint[]::new);
+    }
+
+    /**
+     * Computes r · G.
+     *
+     * @param r the scalar r.
+     * @return r · G.
+     */
+    default ECPoint baseMul(BigInteger r) {
+        return multiply(getG(), r);
+    }
+
+    /**
+     * Computes r_i · G for each scalar.
+     *
+     * @param rs       the scalars.
+     * @param parallel parallel computing or not.
+     * @return r_i · G for each scalar.
+     */
+    default ECPoint[] baseMul(BigInteger[] rs, boolean parallel) {
+        Stream<BigInteger> rStream = Arrays.stream(rs);
+        rStream = parallel ? rStream.parallel() : rStream;
+        return rStream
+            .map(this::baseMul)
+            .toArray(ECPoint[]::new);
+    }
+
     /**
      * Adds two EC points, i.e., p + q.
      *
@@ -193,6 +265,31 @@ public interface Ecc {
         return value;
     }
 
+    /**
+     * Computes the inner-product of the scalar array with the EC point array, i.e., Σ_i r_i · P_i, using Pippenger's
+     * multi-scalar multiplication.
+     *
+     * @param ps the EC point array.
+     * @param rs the scalar array.
+     * @return the inner product result.
+     */
+    default ECPoint innerProduct(ECPoint[] ps, BigInteger[] rs) {
+        return innerProduct(ps, rs, false);
+    }
+
+    /**
+     * Computes the inner-product of the scalar array with the EC point array, i.e., Σ_i r_i · P_i, using Pippenger's
+     * multi-scalar multiplication.
+     *
+     * @param ps       the EC point array.
+     * @param rs       the scalar array.
+     * @param parallel parallel computing.
+     * @return the inner product result.
+     */
+    default ECPoint innerProduct(ECPoint[] ps, BigInteger[] rs, boolean parallel) {
+        return PippengerMsm.innerProduct(this, ps, rs, parallel);
+    }
+
     /**
      * Gets the EC type.
      *
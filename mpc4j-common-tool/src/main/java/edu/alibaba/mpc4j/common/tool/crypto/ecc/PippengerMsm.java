@@ -0,0 +1,153 @@
+package edu.alibaba.mpc4j.common.tool.crypto.ecc;
+
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import org.bouncycastle.math.ec.ECPoint;
+
+import java.math.BigInteger;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Pippenger's bucket method for multi-scalar multiplication (MSM) Σ_i k_i · P_i. Each scalar is split into windows of
+ * c bits. For each window, points are added into 2^c - 1 buckets by their window digits, and buckets are combined by
+ * the running-sum trick with 2 · 2^c additions. The total cost is about (b / c) · (n + 2^(c + 1)) additions plus b
+ * doublings, where b is the bit length of the order, instead of about n · b / log(b) operations for n separate
+ * multiplications. Windows are independent and can be computed in parallel.
+ * <p>
+ * See the paper: Pippenger, Nicholas. On the evaluation of powers and related problems. FOCS 1976, pp. 258-263.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2024/7/21
+ */
+public class PippengerMsm {
+    /**
+     * below this number of points, MSM is computed by separate multiplications.
+     */
+    static final int NAIVE_THRESHOLD = 4;
+    /**
+     * max window size
+     */
+    private static final int MAX_WINDOW_SIZE = 16;
+
+    private PippengerMsm() {
+        // empty
+    }
+
+    /**
+     * Computes Σ_i k_i · P_i for EC points.
+     *
+     * @param ecc      ECC.
+     * @param ps       EC points.
+     * @param ks       scalars.
+     * @param parallel parallel computing.
+     * @return Σ_i k_i · P_i.
+     */
+    public static ECPoint innerProduct(Ecc ecc, ECPoint[] ps, BigInteger[] ks, boolean parallel) {
+        MathPreconditions.checkEqual("ps.length", "ks.length", ps.length, ks.length);
+        if (ps.length < NAIVE_THRESHOLD) {
+            ECPoint result = ecc.getInfinity();
+            for (int index = 0; index < ps.length; index++) {
+                result = ecc.add(result, ecc.multiply(ps[index], ks[index]));
+            }
+            return result;
+        }
+        return innerProduct(ecc.getN(), ps, ks, ecc.getInfinity(), ecc::add, p -> p.twice(), parallel);
+    }
+
+    /**
+     * Computes Σ_i k_i · P_i for byte EC points.
+     *
+     * @param ecc      byte ECC.
+     * @param ps       byte EC points.
+     * @param ks       scalars.
+     * @param parallel parallel computing.
+     * @return Σ_i k_i · P_i.
+     */
+    public static byte[] innerProduct(ByteFullEcc ecc, byte[][] ps, BigInteger[] ks, boolean parallel) {
+        MathPreconditions.checkEqual("ps.length", "ks.length", ps.length, ks.length);
+        if (ps.length < NAIVE_THRESHOLD) {
+            byte[] result = ecc.getInfinity();
+            for (int index = 0; index < ps.length; index++) {
+                result = ecc.add(result, ecc.mul(ps[index], ks[index]));
+            }
+            return result;
+        }
+        return innerProduct(ecc.getN(), ps, ks, ecc.getInfinity(), ecc::add, p -> ecc.add(p, p), parallel);
+    }
+
+    /**
+     * Gets the window size for n points.
+     *
+     * @param n number of points.
+     * @return window size.
+     */
+    static int getWindowSize(int n) {
+        // c ≈ log2(n) - 2 balances n additions per window against 2^(c + 1) bucket additions
+        int log2n = 31 - Integer.numberOfLeadingZeros(n);
+        return Math.min(MAX_WINDOW_SIZE, Math.max(2, log2n - 2));
+    }
+
+    private static <P> P innerProduct(BigInteger order, P[] ps, BigInteger[] ks, P infinity,
+                                      BinaryOperator<P> add, UnaryOperator<P> doubling, boolean parallel) {
+        int n = ps.length;
+        int windowSize = getWindowSize(n);
+        int bitLength = order.bitLength();
+        int windowNum = (bitLength + windowSize - 1) / windowSize;
+        // reduce scalars into [0, order)
+        BigInteger[] reducedKs = IntStream.range(0, n)
+            .mapToObj(index -> ks[index].mod(order))
+            .toArray(BigInteger[]::new);
+        // compute window sums
+        IntStream windowIndexStream = IntStream.range(0, windowNum);
+        windowIndexStream = parallel ? windowIndexStream.parallel() : windowIndexStream;
+        Object[] windowSums = windowIndexStream
+            .mapToObj(windowIndex -> {
+                int bucketNum = (1 << windowSize) - 1;
+                Object[] buckets = new Object[bucketNum];
+                int bitOffset = windowIndex * windowSize;
+                for (int index = 0; index < n; index++) {
+                    int digit = getDigit(reducedKs[index], bitOffset, windowSize);
+                    if (digit != 0) {
+                        @SuppressWarnings("unchecked")
+                        P bucket = (P) buckets[digit - 1];
+                        buckets[digit - 1] = bucket == null ? ps[index] : add.apply(bucket, ps[index]);
+                    }
+                }
+                // Σ_j j · B_j = Σ_j (B_j + B_{j + 1} + ... + B_{max})
+                P running = infinity;
+                P windowSum = infinity;
+                for (int bucketIndex = bucketNum - 1; bucketIndex >= 0; bucketIndex--) {
+                    @SuppressWarnings("unchecked")
+                    P bucket = (P) buckets[bucketIndex];
+                    if (bucket != null) {
+                        running = add.apply(running, bucket);
+                    }
+                    windowSum = add.apply(windowSum, running);
+                }
+                return windowSum;
+            })
+            .toArray();
+        // combine windows from the most significant one
+        @SuppressWarnings("unchecked")
+        P result = (P) windowSums[windowNum - 1];
+        for (int windowIndex = windowNum - 2; windowIndex >= 0; windowIndex--) {
+            for (int i = 0; i < windowSize; i++) {
+                result = doubling.apply(result);
+            }
+            @SuppressWarnings("unchecked")
+            P windowSum = (P) windowSums[windowIndex];
+            result = add.apply(result, windowSum);
+        }
+        return result;
+    }
+
+    private static int getDigit(BigInteger k, int bitOffset, int windowSize) {
+        int digit = 0;
+        for (int i = windowSize - 1; i >= 0; i--) {
+            digit = (digit << 1) | (k.testBit(bitOffset + i) ? 1 : 0);
+        }
+        return digit;
+    }
+}
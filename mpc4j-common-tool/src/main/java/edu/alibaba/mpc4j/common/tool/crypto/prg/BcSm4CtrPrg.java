@@ -57,6 +57,25 @@ public class BcSm4CtrPrg implements Prg {
         }
     }
 
+    @Override
+    public void extendToBytes(byte[][] seeds, byte[] output, int outputPos) {
+        assert outputPos >= 0 && outputPos + seeds.length * outputByteLength <= output.length;
+        // 同一批次内复用一个SM4/CTR引擎，每个种子只需要重新初始化
+        BufferedBlockCipher sm4CtrCipher = new DefaultBufferedBlockCipher(SICBlockCipher.newInstance(new SM4Engine()));
+        byte[] plaintext = new byte[outputByteLength];
+        for (int i = 0; i < seeds.length; i++) {
+            assert seeds[i].length == CommonConstants.BLOCK_BYTE_LENGTH;
+            try {
+                sm4CtrCipher.init(true, new ParametersWithIV(new KeyParameter(seeds[i]), IV));
+                int seedOutputPos = outputPos + i * outputByteLength;
+                int offset = sm4CtrCipher.processBytes(plaintext, 0, plaintext.length, output, seedOutputPos);
+                sm4CtrCipher.doFinal(output, seedOutputPos + offset);
+            } catch (InvalidCipherTextException e) {
+                throw new IllegalStateException(String.format("Invalid seed length: %s bytes", seeds[i].length));
+            }
+        }
+    }
+
     @Override
     public PrgType getPrgType() {
         return PrgType.BC_SM4_CTR;
@@ -6,6 +6,7 @@ import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
+import javax.crypto.ShortBufferException;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.security.InvalidAlgorithmParameterException;
@@ -32,13 +33,28 @@ public class JdkAesCtrPrg implements Prg {
      * 初始向量为全0
      */
     private static final IvParameterSpec IV = new IvParameterSpec(new byte[CommonConstants.BLOCK_BYTE_LENGTH]);
+    /**
+     * 经过测试，AES/CTR模式不是线程安全的。每个线程缓存一个实例，避免每次扩展都要查找Provider并创建实例
+     */
+    private static final ThreadLocal<Cipher> CIPHER = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance(JDK_AES_MODE_NAME);
+        } catch (NoSuchPaddingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("System does not support " + JDK_AES_MODE_NAME);
+        }
+    });
     /**
      * 输出字节长度
      */
     private final int outputByteLength;
+    /**
+     * PRG加密的是一个全零的明文，只读
+     */
+    private final byte[] plaintext;
 
     JdkAesCtrPrg(int outputByteLength) {
         this.outputByteLength = outputByteLength;
+        plaintext = new byte[outputByteLength];
     }
 
     @Override
@@ -49,20 +65,31 @@ public class JdkAesCtrPrg implements Prg {
     @Override
     public byte[] extendToBytes(byte[] seed) {
         assert seed.length == CommonConstants.BLOCK_BYTE_LENGTH;
-        // 经过测试，AES/CTR模式不是线程安全的，每次扩展要创建新的实例
+        byte[] output = new byte[outputByteLength];
+        extendToBytes(CIPHER.get(), seed, output, 0);
+        return output;
+    }
+
+    @Override
+    public void extendToBytes(byte[][] seeds, byte[] output, int outputPos) {
+        assert outputPos >= 0 && outputPos + seeds.length * outputByteLength <= output.length;
+        Cipher cipher = CIPHER.get();
+        for (int i = 0; i < seeds.length; i++) {
+            assert seeds[i].length == CommonConstants.BLOCK_BYTE_LENGTH;
+            extendToBytes(cipher, seeds[i], output, outputPos + i * outputByteLength);
+        }
+    }
+
+    private void extendToBytes(Cipher cipher, byte[] seed, byte[] output, int outputPos) {
         try {
-            Cipher cipher = Cipher.getInstance(JDK_AES_MODE_NAME);
             Key keySpec = new SecretKeySpec(seed, JDK_AES_ALGORITHM_NAME);
-            // 初始化AES/CTR/NoPadding
+            // 以种子为密钥重新初始化AES/CTR/NoPadding
             cipher.init(Cipher.ENCRYPT_MODE, keySpec, IV);
-            // PRG加密的是一个全零的明文
-            byte[] plaintext = new byte[outputByteLength];
-
-            return cipher.doFinal(plaintext);
+            cipher.doFinal(plaintext, 0, outputByteLength, output, outputPos);
         } catch (InvalidKeyException e) {
             throw new IllegalStateException(String.format("Invalid seed length: %s bytes", seed.length));
         } catch (InvalidAlgorithmParameterException | IllegalBlockSizeException | BadPaddingException
-            | NoSuchPaddingException | NoSuchAlgorithmException ignored) {
+            | ShortBufferException ignored) {
             throw new IllegalStateException("System does not support " + JDK_AES_MODE_NAME);
         }
     }
@@ -8,7 +8,14 @@ import edu.alibaba.mpc4j.common.tool.crypto.prp.PrpFactory.PrpType;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
 
+import javax.crypto.BadPaddingException;
+import javax.crypto.Cipher;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.spec.SecretKeySpec;
 import java.nio.ByteBuffer;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.stream.IntStream;
 
@@ -22,6 +29,14 @@ import java.util.stream.IntStream;
  * @date 2021/12/06
  */
 public class JdkAesEcbPrg implements Prg {
+    /**
+     * JDK无填充AES-ECB模式名称
+     */
+    private static final String JDK_AES_MODE_NAME = "AES/ECB/NoPadding";
+    /**
+     * JDK的AES算法名称
+     */
+    private static final String JDK_AES_ALGORITHM_NAME = "AES";
     /**
      * 输出字节长度
      */
@@ -34,6 +49,10 @@ public class JdkAesEcbPrg implements Prg {
      * 是否需要截断处理
      */
     private final boolean needTruncate;
+    /**
+     * 批量扩展所用的AES/ECB实例，每个线程缓存一组已经完成密钥编排的实例
+     */
+    private final ThreadLocal<Cipher[]> batchCiphers;
 
     JdkAesEcbPrg(int outputByteLength) {
         this.outputByteLength = outputByteLength;
@@ -52,6 +71,23 @@ public class JdkAesEcbPrg implements Prg {
                 return prp;
             })
             .toArray(Prp[]::new);
+        batchCiphers = ThreadLocal.withInitial(() -> IntStream.range(0, prpNum)
+            .mapToObj(prpIndex -> {
+                byte[] key = ByteBuffer.allocate(CommonConstants.BLOCK_BYTE_LENGTH)
+                    .putInt(CommonConstants.BLOCK_BYTE_LENGTH - Integer.BYTES, prpIndex)
+                    .array();
+                try {
+                    Cipher cipher = Cipher.getInstance(JDK_AES_MODE_NAME);
+                    cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, JDK_AES_ALGORITHM_NAME));
+                    return cipher;
+                } catch (InvalidKeyException e) {
+                    throw new IllegalStateException(String.format("Invalid AES key length: %s bytes", key.length));
+                } catch (NoSuchPaddingException | NoSuchAlgorithmException e) {
+                    throw new IllegalStateException("System does not support " + JDK_AES_MODE_NAME);
+                }
+            })
+            .toArray(Cipher[]::new)
+        );
     }
 
     @Override
@@ -87,6 +123,39 @@ public class JdkAesEcbPrg implements Prg {
 
     }
 
+    @Override
+    public void extendToBytes(byte[][] seeds, byte[] output, int outputPos) {
+        assert outputPos >= 0 && outputPos + seeds.length * outputByteLength <= output.length;
+        if (seeds.length == 0) {
+            return;
+        }
+        // 把所有种子拼接后，每个PRP只需要调用一次ECB模式加密
+        byte[] input = new byte[seeds.length * CommonConstants.BLOCK_BYTE_LENGTH];
+        for (int i = 0; i < seeds.length; i++) {
+            assert seeds[i].length == CommonConstants.BLOCK_BYTE_LENGTH;
+            System.arraycopy(seeds[i], 0, input, i * CommonConstants.BLOCK_BYTE_LENGTH, CommonConstants.BLOCK_BYTE_LENGTH);
+        }
+        Cipher[] ciphers = batchCiphers.get();
+        for (int prpIndex = 0; prpIndex < ciphers.length; prpIndex++) {
+            byte[] prpOutput;
+            try {
+                prpOutput = ciphers[prpIndex].doFinal(input);
+            } catch (IllegalBlockSizeException | BadPaddingException e) {
+                throw new IllegalStateException(String.format("Invalid plaintext length: %s bytes", input.length));
+            }
+            // PRF_seed(k) \xor k
+            BytesUtils.xori(prpOutput, input);
+            int blockPos = prpIndex * CommonConstants.BLOCK_BYTE_LENGTH;
+            int copyLength = Math.min(CommonConstants.BLOCK_BYTE_LENGTH, outputByteLength - blockPos);
+            for (int i = 0; i < seeds.length; i++) {
+                System.arraycopy(
+                    prpOutput, i * CommonConstants.BLOCK_BYTE_LENGTH,
+                    output, outputPos + i * outputByteLength + blockPos, copyLength
+                );
+            }
+        }
+    }
+
     @Override
     public PrgType getPrgType() {
         return PrgType.JDK_AES_ECB;
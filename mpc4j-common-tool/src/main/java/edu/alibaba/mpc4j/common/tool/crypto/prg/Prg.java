@@ -22,6 +22,39 @@ public interface Prg {
      */
     byte[] extendToBytes(byte[] seed);
 
+    /**
+     * 批量将输入种子扩展为指定字节长度的随机数。
+     *
+     * @param seeds 种子。
+     * @return 扩展的随机数，第i个随机数由第i个种子扩展得到。
+     */
+    default byte[][] extendToBytes(byte[][] seeds) {
+        int outputByteLength = getOutputByteLength();
+        byte[] output = new byte[seeds.length * outputByteLength];
+        extendToBytes(seeds, output, 0);
+        byte[][] outputs = new byte[seeds.length][outputByteLength];
+        for (int i = 0; i < seeds.length; i++) {
+            System.arraycopy(output, i * outputByteLength, outputs[i], 0, outputByteLength);
+        }
+        return outputs;
+    }
+
+    /**
+     * 批量将输入种子扩展为指定字节长度的随机数，并连续写入到给定的字节数组中。第i个种子扩展的随机数写入到
+     * [outputPos + i * outputByteLength, outputPos + (i + 1) * outputByteLength)。
+     *
+     * @param seeds     种子。
+     * @param output    输出字节数组。
+     * @param outputPos 输出字节数组的起始位置。
+     */
+    default void extendToBytes(byte[][] seeds, byte[] output, int outputPos) {
+        int outputByteLength = getOutputByteLength();
+        assert outputPos >= 0 && outputPos + seeds.length * outputByteLength <= output.length;
+        for (int i = 0; i < seeds.length; i++) {
+            System.arraycopy(extendToBytes(seeds[i]), 0, output, outputPos + i * outputByteLength, outputByteLength);
+        }
+    }
+
     /**
      * 返回伪随机数生成器类型。
      *
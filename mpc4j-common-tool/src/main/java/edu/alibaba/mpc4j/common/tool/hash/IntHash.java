@@ -1,6 +1,6 @@
 package edu.alibaba.mpc4j.common.tool.hash;
 
-import java.nio.ByteBuffer;
+import edu.alibaba.mpc4j.common.tool.utils.IntUtils;
 
 /**
  * Non-cryptographic hash function that outputs 32-bit integers.
@@ -32,4 +32,17 @@ public interface IntHash {
      * @return the generated 32-bit integer.
      */
     int hash(byte[] data, int seed);
+
+    /**
+     * Generate a 32-bit integer based on the input int data and the seed. The result is the same as
+     * {@code hash(IntUtils.intToByteArray(data), seed)}, but the implementation may avoid allocating the byte array,
+     * which matters when hashing many integers, e.g., all item indexes in a domain.
+     *
+     * @param data the input int data.
+     * @param seed the seed.
+     * @return the generated 32-bit integer.
+     */
+    default int hash(int data, int seed) {
+        return hash(IntUtils.intToByteArray(data), seed);
+    }
 }
@@ -157,4 +157,52 @@ public class BobIntHash implements IntHash {
         MathPreconditions.checkPositive("data.length", data.length);
         return hash(ByteBuffer.allocate(Integer.BYTES + data.length).putInt(seed).put(data).array());
     }
+
+    @Override
+    public int hash(int data, int seed) {
+        // the input is seed || data in big-endian, 8 bytes in total, so that there is no full block
+        int a = GOLDEN_RATIO;
+        int b = GOLDEN_RATIO;
+        int c = BobHashUtils.PRIME_12_BIT_TABLE[primeTableIndex];
+        c += Integer.BYTES * 2;
+        // bytes are sign-extended, the same as in hash(byte[])
+        b += ((byte) data << 24);
+        b += ((byte) (data >>> 8) << 16);
+        b += ((byte) (data >>> 16) << 8);
+        b += (byte) (data >>> 24);
+        a += ((byte) seed << 24);
+        a += ((byte) (seed >>> 8) << 16);
+        a += ((byte) (seed >>> 16) << 8);
+        a += (byte) (seed >>> 24);
+        // mix(a, b, c)
+        a -= b;
+        a -= c;
+        a ^= (c >> 13);
+        b -= c;
+        b -= a;
+        b ^= (a << 8);
+        c -= a;
+        c -= b;
+        c ^= (b >> 13);
+        a -= b;
+        a -= c;
+        a ^= (c >> 12);
+        b -= c;
+        b -= a;
+        b ^= (a << 16);
+        c -= a;
+        c -= b;
+        c ^= (b >> 5);
+        a -= b;
+        a -= c;
+        a ^= (c >> 3);
+        b -= c;
+        b -= a;
+        b ^= (a << 10);
+        c -= a;
+        c -= b;
+        c ^= (b >> 15);
+
+        return c;
+    }
 }
@@ -0,0 +1,71 @@
+package edu.alibaba.mpc4j.common.tool.utils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+/**
+ * Mapped byte buffer utilities.
+ * <p>
+ * A mapped file cannot be deleted on Windows until its mapping is released, and JDK only releases the mapping when
+ * the buffer is garbage collected. Here we explicitly release the mapping by the cleaner of the buffer.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2024/8/8
+ */
+public class MappedByteBufferUtils {
+    /**
+     * the instance of sun.misc.Unsafe, null if not available
+     */
+    private static final Object UNSAFE;
+    /**
+     * sun.misc.Unsafe#invokeCleaner(ByteBuffer), null if not available
+     */
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe;
+        Method invokeCleaner;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafeField = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafeField.setAccessible(true);
+            unsafe = theUnsafeField.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    /**
+     * private constructor.
+     */
+    private MappedByteBufferUtils() {
+        // empty
+    }
+
+    /**
+     * Releases the mapping of the mapped byte buffer. The buffer, and all buffers derived from it (e.g., slices and
+     * duplicates), must not be accessed after the mapping is released.
+     *
+     * @param mappedByteBuffer mapped byte buffer.
+     * @return true if the mapping is released; false if the JVM does not support releasing mappings, in which case
+     * the mapping is released when the buffer is garbage collected.
+     */
+    public static boolean unmap(MappedByteBuffer mappedByteBuffer) {
+        if (mappedByteBuffer == null || INVOKE_CLEANER == null) {
+            return false;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, mappedByteBuffer);
+            return true;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package edu.alibaba.mpc4j.common.tool.utils;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Bulk byte array operations using the Vector API. The results are the same as the corresponding operations in
+ * {@link BytesUtils}. The vectorized loop handles the largest prefix whose length is a multiple of the preferred
+ * species length, and a scalar loop handles the unaligned tail.
+ * <p>
+ * The Vector API is an incubator module, so that callers must run with {@code --add-modules=jdk.incubator.vector}.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2024/7/18
+ */
+public class SimdBytesUtils {
+    /**
+     * preferred species
+     */
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    /**
+     * private constructor.
+     */
+    private SimdBytesUtils() {
+        // empty
+    }
+
+    /**
+     * Computes x1 ⊕ x2.
+     *
+     * @param x1 x1.
+     * @param x2 x2.
+     * @return x1 ⊕ x2.
+     */
+    public static byte[] xor(final byte[] x1, final byte[] x2) {
+        byte[] out = BytesUtils.clone(x1);
+        xori(out, x2);
+        return out;
+    }
+
+    /**
+     * Computes x1 = x1 ⊕ x2.
+     *
+     * @param x1 x1.
+     * @param x2 x2.
+     */
+    public static void xori(byte[] x1, final byte[] x2) {
+        assert x1.length == x2.length : "x1.length = " + x1.length + " must be equal to x2.length = " + x2.length;
+        int bound = SPECIES.loopBound(x1.length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            ByteVector.fromArray(SPECIES, x1, i).lanewise(VectorOperators.XOR, ByteVector.fromArray(SPECIES, x2, i))
+                .intoArray(x1, i);
+        }
+        for (; i < x1.length; i++) {
+            x1[i] ^= x2[i];
+        }
+    }
+
+    /**
+     * Computes x1 ∧ x2.
+     *
+     * @param x1 x1.
+     * @param x2 x2.
+     * @return x1 ∧ x2.
+     */
+    public static byte[] and(final byte[] x1, final byte[] x2) {
+        byte[] out = BytesUtils.clone(x1);
+        andi(out, x2);
+        return out;
+    }
+
+    /**
+     * Computes x1 = x1 ∧ x2.
+     *
+     * @param x1 x1.
+     * @param x2 x2.
+     */
+    public static void andi(byte[] x1, final byte[] x2) {
+        assert x1.length == x2.length : "x1.length = " + x1.length + " must be equal to x2.length = " + x2.length;
+        int bound = SPECIES.loopBound(x1.length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            ByteVector.fromArray(SPECIES, x1, i).lanewise(VectorOperators.AND, ByteVector.fromArray(SPECIES, x2, i))
+                .intoArray(x1, i);
+        }
+        for (; i < x1.length; i++) {
+            x1[i] &= x2[i];
+        }
+    }
+
+    /**
+     * Computes x1 ∨ x2.
+     *
+     * @param x1 x1.
+     * @param x2 x2.
+     * @return x1 ∨ x2.
+     */
+    public static byte[] or(final byte[] x1, final byte[] x2) {
+        byte[] out = BytesUtils.clone(x1);
+        ori(out, x2);
+        return out;
+    }
+
+    /**
+     * Computes x1 = x1 ∨ x2.
+     *
+     * @param x1 x1.
+     * @param x2 x2.
+     */
+    public static void ori(byte[] x1, final byte[] x2) {
+        assert x1.length == x2.length : "x1.length = " + x1.length + " must be equal to x2.length = " + x2.length;
+        int bound = SPECIES.loopBound(x1.length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            ByteVector.fromArray(SPECIES, x1, i).lanewise(VectorOperators.OR, ByteVector.fromArray(SPECIES, x2, i))
+                .intoArray(x1, i);
+        }
+        for (; i < x1.length; i++) {
+            x1[i] |= x2[i];
+        }
+    }
+
+    /**
+     * Computes ¬x, where x contains at most bitLength valid bits.
+     *
+     * @param x         x.
+     * @param bitLength bit length.
+     * @return ¬x.
+     */
+    public static byte[] not(final byte[] x, final int bitLength) {
+        byte[] out = BytesUtils.clone(x);
+        noti(out, bitLength);
+        return out;
+    }
+
+    /**
+     * Computes x = ¬x, where x contains at most bitLength valid bits.
+     *
+     * @param x         x.
+     * @param bitLength bit length.
+     */
+    public static void noti(byte[] x, final int bitLength) {
+        assert bitLength >= 0 && bitLength <= x.length * Byte.SIZE;
+        int bound = SPECIES.loopBound(x.length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            ByteVector.fromArray(SPECIES, x, i).lanewise(VectorOperators.NOT).intoArray(x, i);
+        }
+        for (; i < x.length; i++) {
+            x[i] = (byte) ~x[i];
+        }
+        BytesUtils.reduceByteArray(x, bitLength);
+    }
+
+    /**
+     * Counts the number of 1 in x.
+     *
+     * @param x x.
+     * @return the number of 1 in x.
+     */
+    public static int bitCount(final byte[] x) {
+        int bound = SPECIES.loopBound(x.length);
+        int count = 0;
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            // count in long lanes to avoid overflows in byte lanes
+            count += (int) ByteVector.fromArray(SPECIES, x, i)
+                .reinterpretAsLongs()
+                .lanewise(VectorOperators.BIT_COUNT)
+                .reduceLanes(VectorOperators.ADD);
+        }
+        for (; i < x.length; i++) {
+            count += Integer.bitCount(x[i] & 0xFF);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,284 @@
+package edu.alibaba.mpc4j.common.tool.utils;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Bulk long array operations using the Vector API. Long arrays are treated as big-endian bit strings, i.e., the most
+ * significant bit of {@code x[0]} is the first bit. The vectorized loop handles the largest prefix whose length is a
+ * multiple of the preferred species length, and a scalar loop handles the unaligned tail.
+ * <p>
+ * The Vector API is an incubator module, so that callers must run with {@code --add-modules=jdk.incubator.vector}.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2024/7/18
+ */
+public class SimdLongUtils {
+    /**
+     * preferred species
+     */
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    /**
+     * private constructor.
+     */
+    private SimdLongUtils() {
+        // empty
+    }
+
+    /**
+     * Computes x1 ⊕ x2.
+     *
+     * @param x1 x1.
+     * @param x2 x2.
+     * @return x1 ⊕ x2.
+     */
+    public static long[] xor(final long[] x1, final long[] x2) {
+        long[] out = LongUtils.clone(x1);
+        xori(out, x2);
+        return out;
+    }
+
+    /**
+     * Computes x1 = x1 ⊕ x2.
+     *
+     * @param x1 x1.
+     * @param x2 x2.
+     */
+    public static void xori(long[] x1, final long[] x2) {
+        assert x1.length == x2.length : "x1.length = " + x1.length + " must be equal to x2.length = " + x2.length;
+        int bound = SPECIES.loopBound(x1.length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            LongVector.fromArray(SPECIES, x1, i).lanewise(VectorOperators.XOR, LongVector.fromArray(SPECIES, x2, i))
+                .intoArray(x1, i);
+        }
+        for (; i < x1.length; i++) {
+            x1[i] ^= x2[i];
+        }
+    }
+
+    /**
+     * Computes x1[x1Pos, x1Pos + length) = x1[x1Pos, x1Pos + length) ⊕ x2[x2Pos, x2Pos + length). x1 and x2 can be the
+     * same array if the two ranges do not overlap.
+     *
+     * @param x1     x1.
+     * @param x1Pos  starting position in x1.
+     * @param x2     x2.
+     * @param x2Pos  starting position in x2.
+     * @param length number of longs to compute.
+     */
+    public static void xori(long[] x1, final int x1Pos, final long[] x2, final int x2Pos, final int length) {
+        assert x1Pos >= 0 && x1Pos + length <= x1.length : "x1 range out of bound: [" + x1Pos + ", " + (x1Pos + length) + ")";
+        assert x2Pos >= 0 && x2Pos + length <= x2.length : "x2 range out of bound: [" + x2Pos + ", " + (x2Pos + length) + ")";
+        int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            LongVector.fromArray(SPECIES, x1, x1Pos + i)
+                .lanewise(VectorOperators.XOR, LongVector.fromArray(SPECIES, x2, x2Pos + i))
+                .intoArray(x1, x1Pos + i);
+        }
+        for (; i < length; i++) {
+            x1[x1Pos + i] ^= x2[x2Pos + i];
+        }
+    }
+
+    /**
+     * Computes x1 ∧ x2.
+     *
+     * @param x1 x1.
+     * @param x2 x2.
+     * @return x1 ∧ x2.
+     */
+    public static long[] and(final long[] x1, final long[] x2) {
+        long[] out = LongUtils.clone(x1);
+        andi(out, x2);
+        return out;
+    }
+
+    /**
+     * Computes x1 = x1 ∧ x2.
+     *
+     * @param x1 x1.
+     * @param x2 x2.
+     */
+    public static void andi(long[] x1, final long[] x2) {
+        assert x1.length == x2.length : "x1.length = " + x1.length + " must be equal to x2.length = " + x2.length;
+        int bound = SPECIES.loopBound(x1.length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            LongVector.fromArray(SPECIES, x1, i).lanewise(VectorOperators.AND, LongVector.fromArray(SPECIES, x2, i))
+                .intoArray(x1, i);
+        }
+        for (; i < x1.length; i++) {
+            x1[i] &= x2[i];
+        }
+    }
+
+    /**
+     * Computes x1 ∨ x2.
+     *
+     * @param x1 x1.
+     * @param x2 x2.
+     * @return x1 ∨ x2.
+     */
+    public static long[] or(final long[] x1, final long[] x2) {
+        long[] out = LongUtils.clone(x1);
+        ori(out, x2);
+        return out;
+    }
+
+    /**
+     * Computes x1 = x1 ∨ x2.
+     *
+     * @param x1 x1.
+     * @param x2 x2.
+     */
+    public static void ori(long[] x1, final long[] x2) {
+        assert x1.length == x2.length : "x1.length = " + x1.length + " must be equal to x2.length = " + x2.length;
+        int bound = SPECIES.loopBound(x1.length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            LongVector.fromArray(SPECIES, x1, i).lanewise(VectorOperators.OR, LongVector.fromArray(SPECIES, x2, i))
+                .intoArray(x1, i);
+        }
+        for (; i < x1.length; i++) {
+            x1[i] |= x2[i];
+        }
+    }
+
+    /**
+     * Computes x = ¬x, where x contains at most bitLength valid bits.
+     *
+     * @param x         x.
+     * @param bitLength bit length.
+     */
+    public static void noti(long[] x, final int bitLength) {
+        assert bitLength >= 0 && bitLength <= x.length * Long.SIZE;
+        int bound = SPECIES.loopBound(x.length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            LongVector.fromArray(SPECIES, x, i).lanewise(VectorOperators.NOT).intoArray(x, i);
+        }
+        for (; i < x.length; i++) {
+            x[i] = ~x[i];
+        }
+        reduce(x, bitLength);
+    }
+
+    /**
+     * Counts the number of 1 in x.
+     *
+     * @param x x.
+     * @return the number of 1 in x.
+     */
+    public static int bitCount(final long[] x) {
+        int bound = SPECIES.loopBound(x.length);
+        long count = 0;
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            count += LongVector.fromArray(SPECIES, x, i)
+                .lanewise(VectorOperators.BIT_COUNT)
+                .reduceLanes(VectorOperators.ADD);
+        }
+        for (; i < x.length; i++) {
+            count += Long.bitCount(x[i]);
+        }
+        return (int) count;
+    }
+
+    /**
+     * Shifts x left by n bits, keeping the length of x. Bits shifted out of x[0] are discarded.
+     *
+     * @param x x.
+     * @param n shift distance, in bits.
+     * @return x << n.
+     */
+    public static long[] shiftLeft(final long[] x, final int n) {
+        assert n >= 0 : "n must be greater than or equal to 0: " + n;
+        long[] out = new long[x.length];
+        int wordShift = n / Long.SIZE;
+        int bitShift = n % Long.SIZE;
+        if (wordShift >= x.length) {
+            return out;
+        }
+        // out[i] = (x[i + w] << s) | (x[i + w + 1] >>> (64 - s)), the last source word has no successor
+        int fullLength = x.length - wordShift - 1;
+        int i = 0;
+        if (bitShift == 0) {
+            System.arraycopy(x, wordShift, out, 0, x.length - wordShift);
+            return out;
+        }
+        int bound = SPECIES.loopBound(fullLength);
+        for (; i < bound; i += SPECIES.length()) {
+            LongVector high = LongVector.fromArray(SPECIES, x, i + wordShift);
+            LongVector low = LongVector.fromArray(SPECIES, x, i + wordShift + 1);
+            high.lanewise(VectorOperators.LSHL, bitShift)
+                .lanewise(VectorOperators.OR, low.lanewise(VectorOperators.LSHR, Long.SIZE - bitShift))
+                .intoArray(out, i);
+        }
+        for (; i < fullLength; i++) {
+            out[i] = (x[i + wordShift] << bitShift) | (x[i + wordShift + 1] >>> (Long.SIZE - bitShift));
+        }
+        out[fullLength] = x[x.length - 1] << bitShift;
+        return out;
+    }
+
+    /**
+     * Shifts x right by n bits, keeping the length of x. Bits shifted out of x[x.length - 1] are discarded.
+     *
+     * @param x x.
+     * @param n shift distance, in bits.
+     * @return x >>> n.
+     */
+    public static long[] shiftRight(final long[] x, final int n) {
+        assert n >= 0 : "n must be greater than or equal to 0: " + n;
+        long[] out = new long[x.length];
+        int wordShift = n / Long.SIZE;
+        int bitShift = n % Long.SIZE;
+        if (wordShift >= x.length) {
+            return out;
+        }
+        if (bitShift == 0) {
+            System.arraycopy(x, 0, out, wordShift, x.length - wordShift);
+            return out;
+        }
+        // out[j + w + 1] = (x[j + 1] >>> s) | (x[j] << (64 - s)), the first source word has no predecessor
+        out[wordShift] = x[0] >>> bitShift;
+        int fullLength = x.length - wordShift - 1;
+        int bound = SPECIES.loopBound(fullLength);
+        int j = 0;
+        for (; j < bound; j += SPECIES.length()) {
+            LongVector high = LongVector.fromArray(SPECIES, x, j);
+            LongVector low = LongVector.fromArray(SPECIES, x, j + 1);
+            low.lanewise(VectorOperators.LSHR, bitShift)
+                .lanewise(VectorOperators.OR, high.lanewise(VectorOperators.LSHL, Long.SIZE - bitShift))
+                .intoArray(out, j + wordShift + 1);
+        }
+        for (; j < fullLength; j++) {
+            out[j + wordShift + 1] = (x[j + 1] >>> bitShift) | (x[j] << (Long.SIZE - bitShift));
+        }
+        return out;
+    }
+
+    /**
+     * Sets the leading bits of x to 0 so that x contains at most bitLength valid bits.
+     *
+     * @param x         x.
+     * @param bitLength bit length.
+     */
+    public static void reduce(long[] x, final int bitLength) {
+        assert bitLength >= 0 && bitLength <= x.length * Long.SIZE;
+        int zeroBitNum = x.length * Long.SIZE - bitLength;
+        int zeroLongNum = zeroBitNum / Long.SIZE;
+        for (int i = 0; i < zeroLongNum; i++) {
+            x[i] = 0L;
+        }
+        int resBitNum = zeroBitNum % Long.SIZE;
+        if (resBitNum != 0) {
+            x[zeroLongNum] &= (-1L >>> resBitNum);
+        }
+    }
+}
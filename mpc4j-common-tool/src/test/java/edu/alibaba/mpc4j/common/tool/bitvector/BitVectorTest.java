@@ -47,6 +47,8 @@ public class BitVectorTest {
         configuration.add(new Object[]{BitVectorType.BIGINTEGER_BIT_VECTOR.name(), BitVectorType.BIGINTEGER_BIT_VECTOR,});
         // BYTES_BIT_VECTOR
         configuration.add(new Object[]{BitVectorType.BYTES_BIT_VECTOR.name(), BitVectorType.BYTES_BIT_VECTOR,});
+        // LONGS_BIT_VECTOR
+        configuration.add(new Object[]{BitVectorType.LONGS_BIT_VECTOR.name(), BitVectorType.LONGS_BIT_VECTOR,});
 
         return configuration;
     }
@@ -190,6 +190,60 @@ public class ByteFullEccTest {
         Assert.assertArrayEquals(negative, expect);
     }
 
+    @Test
+    public void testBatch() {
+        testBatch(false);
+    }
+
+    @Test
+    public void testParallelBatch() {
+        testBatch(true);
+    }
+
+    private void testBatch(boolean parallel) {
+        ByteFullEcc byteFullEcc = ByteEccFactory.createFullInstance(byteEccType);
+        byte[][] ps = IntStream.range(0, MAX_RANDOM_ROUND)
+            .mapToObj(index -> byteFullEcc.randomPoint(SECURE_RANDOM))
+            .toArray(byte[][]::new);
+        BigInteger k = byteFullEcc.randomZn(SECURE_RANDOM);
+        // batch multiply
+        byte[][] kps = byteFullEcc.mul(ps, k, parallel);
+        for (int index = 0; index < ps.length; index++) {
+            Assert.assertArrayEquals(byteFullEcc.mul(ps[index], k), kps[index]);
+        }
+        // batch base multiply
+        BigInteger[] ks = IntStream.range(0, MAX_RANDOM_ROUND)
+            .mapToObj(index -> byteFullEcc.randomZn(SECURE_RANDOM))
+            .toArray(BigInteger[]::new);
+        byte[][] gks = byteFullEcc.baseMul(ks, parallel);
+        for (int index = 0; index < ks.length; index++) {
+            Assert.assertArrayEquals(byteFullEcc.baseMul(ks[index]), gks[index]);
+        }
+    }
+
+    @Test
+    public void testMsm() {
+        testMsm(1);
+        testMsm(PippengerMsm.NAIVE_THRESHOLD);
+        testMsm(MAX_RANDOM_ROUND);
+    }
+
+    private void testMsm(int num) {
+        ByteFullEcc byteFullEcc = ByteEccFactory.createFullInstance(byteEccType);
+        byte[][] ps = IntStream.range(0, num)
+            .mapToObj(index -> byteFullEcc.randomPoint(SECURE_RANDOM))
+            .toArray(byte[][]::new);
+        BigInteger[] ks = IntStream.range(0, num)
+            .mapToObj(index -> byteFullEcc.randomZn(SECURE_RANDOM))
+            .toArray(BigInteger[]::new);
+        byte[] expect = byteFullEcc.getInfinity();
+        for (int index = 0; index < num; index++) {
+            expect = byteFullEcc.add(expect, byteFullEcc.mul(ps[index], ks[index]));
+        }
+        Assert.assertArrayEquals(expect, byteFullEcc.innerProduct(ps, ks));
+        Assert.assertArrayEquals(expect, byteFullEcc.innerProduct(ps, ks, true));
+    }
+
     @Test
     public void testParallel() {
         ByteFullEcc byteFullEcc = ByteEccFactory.createFullInstance(byteEccType);
@@ -270,6 +270,87 @@ public class EccTest {
         Assert.assertEquals(ecc.multiply(g, BigInteger.valueOf(num)), ecc.innerProduct(gs, binary));
     }
 
+    @Test
+    public void testBatch() {
+        testBatch(false);
+    }
+
+    @Test
+    public void testParallelBatch() {
+        testBatch(true);
+    }
+
+    private void testBatch(boolean parallel) {
+        Ecc ecc = EccFactory.createInstance(eccType);
+        ECPoint[] ps = IntStream.range(0, MAX_ARRAY_LENGTH)
+            .mapToObj(index -> ecc.randomPoint(SECURE_RANDOM))
+            .toArray(ECPoint[]::new);
+        BigInteger r = ecc.randomZn(SECURE_RANDOM);
+        // batch multiply
+        ECPoint[] rps = ecc.multiply(ps, r, parallel);
+        for (int index = 0; index < ps.length; index++) {
+            Assert.assertEquals(ecc.multiply(ps[index], r), rps[index]);
+        }
+        // batch base multiply
+        BigInteger[] rs = IntStream.range(0, MAX_ARRAY_LENGTH)
+            .mapToObj(index -> ecc.randomZn(SECURE_RANDOM))
+            .toArray(BigInteger[]::new);
+        ECPoint[] grs = ecc.baseMul(rs, parallel);
+        for (int index = 0; index < rs.length; index++) {
+            Assert.assertEquals(ecc.multiply(ecc.getG(), rs[index]), grs[index]);
+        }
+        // batch normalize, the input points are not modified
+        ECPoint[] sums = IntStream.range(0, MAX_ARRAY_LENGTH)
+            .mapToObj(index -> ecc.add(ps[index], grs[index]))
+            .toArray(ECPoint[]::new);
+        ECPoint[] normalizedSums = ecc.normalize(sums, parallel);
+        for (int index = 0; index < sums.length; index++) {
+            Assert.assertTrue(normalizedSums[index].isNormalized());
+            Assert.assertEquals(sums[index], normalizedSums[index]);
+        }
+        // batch encode
+        byte[][] compressedEncodes = ecc.encode(sums, true, parallel);
+        byte[][] uncompressedEncodes = ecc.encode(sums, false, parallel);
+        for (int index = 0; index < sums.length; index++) {
+            Assert.assertArrayEquals(ecc.encode(sums[index], true), compressedEncodes[index]);
+            Assert.assertArrayEquals(ecc.encode(sums[index], false), uncompressedEncodes[index]);
+        }
+        // empty inputs
+        Assert.assertEquals(0, ecc.normalize(new ECPoint[0], parallel).length);
+        Assert.assertEquals(0, ecc.encode(new ECPoint[0], true, parallel).length);
+    }
+
+    @Test
+    public void testMsm() {
+        testMsm(1);
+        testMsm(PippengerMsm.NAIVE_THRESHOLD);
+        testMsm(MAX_ARRAY_LENGTH);
+        testMsm(PARALLEL_NUM);
+    }
+
+    private void testMsm(int num) {
+        Ecc ecc = EccFactory.createInstance(eccType);
+        ECPoint[] ps = IntStream.range(0, num)
+            .mapToObj(index -> ecc.randomPoint(SECURE_RANDOM))
+            .toArray(ECPoint[]::new);
+        BigInteger[] rs = IntStream.range(0, num)
+            .mapToObj(index -> ecc.randomZn(SECURE_RANDOM))
+            .toArray(BigInteger[]::new);
+        // scalars out of [0, n) are reduced
+        rs[0] = rs[0].add(ecc.getN());
+        ECPoint expect = ecc.getInfinity();
+        for (int index = 0; index < num; index++) {
+            expect = ecc.add(expect, ecc.multiply(ps[index], rs[index]));
+        }
+        Assert.assertEquals(expect, ecc.innerProduct(ps, rs));
+        Assert.assertEquals(expect, ecc.innerProduct(ps, rs, true));
+        // all-zero scalars
+        BigInteger[] zeros = IntStream.range(0, num)
+            .mapToObj(index -> BigInteger.ZERO)
+            .toArray(BigInteger[]::new);
+        Assert.assertEquals(ecc.getInfinity(), ecc.innerProduct(ps, zeros));
+    }
+
     @Test
     public void testParallel() {
         Ecc ecc = EccFactory.createInstance(eccType);
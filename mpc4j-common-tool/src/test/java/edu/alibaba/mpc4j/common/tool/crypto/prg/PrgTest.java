@@ -145,4 +145,58 @@ public class PrgTest {
             .collect(Collectors.toSet());
         Assert.assertEquals(1, extendSet.size());
     }
+
+    @Test
+    public void testBatch() {
+        testBatch(CommonConstants.STATS_BYTE_LENGTH);
+        testBatch(CommonConstants.BLOCK_BYTE_LENGTH - 1);
+        testBatch(CommonConstants.BLOCK_BYTE_LENGTH);
+        testBatch(CommonConstants.BLOCK_BYTE_LENGTH + 1);
+        testBatch(2 * CommonConstants.BLOCK_BYTE_LENGTH);
+        testBatch(2 * CommonConstants.BLOCK_BYTE_LENGTH + 1);
+    }
+
+    private void testBatch(int outputByteLength) {
+        Prg prg = PrgFactory.createInstance(type, outputByteLength);
+        for (int num : new int[]{0, 1, MAX_RANDOM_ROUND}) {
+            byte[][] seeds = IntStream.range(0, num)
+                .mapToObj(index -> {
+                    byte[] seed = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+                    SECURE_RANDOM.nextBytes(seed);
+                    return seed;
+                })
+                .toArray(byte[][]::new);
+            byte[][] outputs = prg.extendToBytes(seeds);
+            Assert.assertEquals(num, outputs.length);
+            // the batched outputs are the same as the outputs of each seed
+            for (int index = 0; index < num; index++) {
+                Assert.assertArrayEquals(prg.extendToBytes(seeds[index]), outputs[index]);
+            }
+            // write into the flat buffer with an offset
+            byte[] flatOutput = new byte[1 + num * outputByteLength];
+            prg.extendToBytes(seeds, flatOutput, 1);
+            Assert.assertEquals(0, flatOutput[0]);
+            for (int index = 0; index < num; index++) {
+                byte[] output = new byte[outputByteLength];
+                System.arraycopy(flatOutput, 1 + index * outputByteLength, output, 0, outputByteLength);
+                Assert.assertArrayEquals(outputs[index], output);
+            }
+        }
+    }
+
+    @Test
+    public void testParallelBatch() {
+        Prg prg = PrgFactory.createInstance(type, 2 * CommonConstants.BLOCK_BYTE_LENGTH);
+        byte[][] seeds = new byte[][]{ZERO_SEED, ZERO_SEED};
+        Set<ByteBuffer> extendSet = IntStream.range(0, MAX_PARALLEL)
+            .parallel()
+            .mapToObj(index -> {
+                byte[] output = new byte[seeds.length * prg.getOutputByteLength()];
+                prg.extendToBytes(seeds, output, 0);
+                return output;
+            })
+            .map(ByteBuffer::wrap)
+            .collect(Collectors.toSet());
+        Assert.assertEquals(1, extendSet.size());
+    }
 }
@@ -12,6 +12,7 @@ import org.junit.runners.Parameterized;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Random;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -87,6 +88,24 @@ public class IntHashTest {
         Assert.assertEquals(TEST_ROUND, hashSet.size());
     }
 
+    @Test
+    public void testIntHash() {
+        IntHash intHash = IntHashFactory.createInstance(type);
+        // hashing an int should be the same as hashing its big-endian bytes
+        int[] boundaries = new int[]{0, 1, -1, 0x7F, 0x80, 0xFF, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        for (int data : boundaries) {
+            for (int seed : boundaries) {
+                Assert.assertEquals(intHash.hash(IntUtils.intToByteArray(data), seed), intHash.hash(data, seed));
+            }
+        }
+        Random random = new Random();
+        for (int round = 0; round < TEST_ROUND; round++) {
+            int data = random.nextInt();
+            int seed = random.nextInt();
+            Assert.assertEquals(intHash.hash(IntUtils.intToByteArray(data), seed), intHash.hash(data, seed));
+        }
+    }
+
     @Test
     public void testParallel() {
         byte[] data = new byte[CommonConstants.STATS_BYTE_LENGTH];
@@ -0,0 +1,48 @@
+package edu.alibaba.mpc4j.common.tool.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.SecureRandom;
+
+/**
+ * MappedByteBufferUtils test.
+ *
+ * @author Weiran Liu
+ * @date 2024/8/8
+ */
+public class MappedByteBufferUtilsTest {
+    /**
+     * random state
+     */
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    @Test
+    public void testUnmap() throws IOException {
+        Path path = Files.createTempFile(MappedByteBufferUtilsTest.class.getSimpleName(), null);
+        byte[] data = BytesUtils.randomByteArray(1 << 10, SECURE_RANDOM);
+        Files.write(path, data);
+        MappedByteBuffer mappedByteBuffer;
+        try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            mappedByteBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, data.length);
+        }
+        byte[] readData = new byte[data.length];
+        mappedByteBuffer.get(readData);
+        Assert.assertArrayEquals(data, readData);
+        Assert.assertTrue(MappedByteBufferUtils.unmap(mappedByteBuffer));
+        // the file can be deleted after the mapping is released
+        Files.delete(path);
+        Assert.assertFalse(Files.exists(path));
+    }
+
+    @Test
+    public void testUnmapNull() {
+        Assert.assertFalse(MappedByteBufferUtils.unmap(null));
+    }
+}
@@ -0,0 +1,124 @@
+package edu.alibaba.mpc4j.common.tool.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+
+/**
+ * SIMD utilities test. Results are compared with the scalar implementations.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/18
+ */
+public class SimdUtilsTest {
+    /**
+     * max length, covering vectorized loops and unaligned tails
+     */
+    private static final int MAX_LENGTH = 150;
+    /**
+     * random state
+     */
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    @Test
+    public void testBytesOperations() {
+        for (int byteLength = 1; byteLength < MAX_LENGTH; byteLength++) {
+            byte[] x1 = BytesUtils.randomByteArray(byteLength, SECURE_RANDOM);
+            byte[] x2 = BytesUtils.randomByteArray(byteLength, SECURE_RANDOM);
+            Assert.assertArrayEquals(BytesUtils.xor(x1, x2), SimdBytesUtils.xor(x1, x2));
+            Assert.assertArrayEquals(BytesUtils.and(x1, x2), SimdBytesUtils.and(x1, x2));
+            Assert.assertArrayEquals(BytesUtils.or(x1, x2), SimdBytesUtils.or(x1, x2));
+            Assert.assertEquals(BytesUtils.bitCount(x1), SimdBytesUtils.bitCount(x1));
+            // inplace operations
+            byte[] expect = BytesUtils.clone(x1);
+            byte[] actual = BytesUtils.clone(x1);
+            BytesUtils.xori(expect, x2);
+            SimdBytesUtils.xori(actual, x2);
+            Assert.assertArrayEquals(expect, actual);
+            BytesUtils.andi(expect, x1);
+            SimdBytesUtils.andi(actual, x1);
+            Assert.assertArrayEquals(expect, actual);
+            BytesUtils.ori(expect, x2);
+            SimdBytesUtils.ori(actual, x2);
+            Assert.assertArrayEquals(expect, actual);
+            // not with reduced inputs
+            int bitLength = byteLength * Byte.SIZE - SECURE_RANDOM.nextInt(Byte.SIZE);
+            BytesUtils.reduceByteArray(x1, bitLength);
+            Assert.assertArrayEquals(BytesUtils.not(x1, bitLength), SimdBytesUtils.not(x1, bitLength));
+        }
+    }
+
+    @Test
+    public void testEmptyBytesOperations() {
+        byte[] empty = new byte[0];
+        Assert.assertArrayEquals(empty, SimdBytesUtils.xor(empty, empty));
+        Assert.assertArrayEquals(empty, SimdBytesUtils.and(empty, empty));
+        Assert.assertArrayEquals(empty, SimdBytesUtils.or(empty, empty));
+        Assert.assertEquals(0, SimdBytesUtils.bitCount(empty));
+        SimdBytesUtils.xori(empty, empty);
+        SimdBytesUtils.andi(empty, empty);
+        SimdBytesUtils.ori(empty, empty);
+        Assert.assertArrayEquals(empty, SimdBytesUtils.not(empty, 0));
+    }
+
+    @Test
+    public void testLongsOperations() {
+        for (int longLength = 0; longLength < MAX_LENGTH; longLength++) {
+            long[] x1 = LongUtils.randomLongArray(longLength, longLength * Long.SIZE, SECURE_RANDOM);
+            long[] x2 = LongUtils.randomLongArray(longLength, longLength * Long.SIZE, SECURE_RANDOM);
+            Assert.assertArrayEquals(LongUtils.xor(x1, x2), SimdLongUtils.xor(x1, x2));
+            Assert.assertArrayEquals(LongUtils.and(x1, x2), SimdLongUtils.and(x1, x2));
+            Assert.assertArrayEquals(LongUtils.or(x1, x2), SimdLongUtils.or(x1, x2));
+            int bitCount = 0;
+            for (long x : x1) {
+                bitCount += Long.bitCount(x);
+            }
+            Assert.assertEquals(bitCount, SimdLongUtils.bitCount(x1));
+            int bitLength = longLength == 0 ? 0 : longLength * Long.SIZE - SECURE_RANDOM.nextInt(Long.SIZE);
+            LongUtils.reduceLongArray(x1, bitLength);
+            long[] actual = LongUtils.clone(x1);
+            SimdLongUtils.noti(actual, bitLength);
+            Assert.assertArrayEquals(LongUtils.not(x1, bitLength), actual);
+        }
+    }
+
+    @Test
+    public void testLongsRangeXor() {
+        for (int longLength = 0; longLength < MAX_LENGTH; longLength++) {
+            long[] x1 = LongUtils.randomLongArray(longLength * 2 + 3, (longLength * 2 + 3) * Long.SIZE, SECURE_RANDOM);
+            long[] x2 = LongUtils.randomLongArray(longLength + 5, (longLength + 5) * Long.SIZE, SECURE_RANDOM);
+            int x1Pos = SECURE_RANDOM.nextInt(longLength + 4);
+            int x2Pos = SECURE_RANDOM.nextInt(6);
+            long[] expect = LongUtils.clone(x1);
+            for (int i = 0; i < longLength; i++) {
+                expect[x1Pos + i] ^= x2[x2Pos + i];
+            }
+            SimdLongUtils.xori(x1, x1Pos, x2, x2Pos, longLength);
+            Assert.assertArrayEquals(expect, x1);
+        }
+    }
+
+    @Test
+    public void testLongsShift() {
+        for (int longLength = 1; longLength < MAX_LENGTH; longLength += 7) {
+            long[] x = LongUtils.randomLongArray(longLength, longLength * Long.SIZE, SECURE_RANDOM);
+            int bitLength = longLength * Long.SIZE;
+            BigInteger mask = BigInteger.ONE.shiftLeft(bitLength).subtract(BigInteger.ONE);
+            BigInteger value = BigIntegerUtils.byteArrayToNonNegBigInteger(LongUtils.longArrayToByteArray(x));
+            for (int n = 0; n <= bitLength + 1; n += 1 + SECURE_RANDOM.nextInt(Long.SIZE)) {
+                BigInteger expectLeft = value.shiftLeft(n).and(mask);
+                BigInteger actualLeft = BigIntegerUtils.byteArrayToNonNegBigInteger(
+                    LongUtils.longArrayToByteArray(SimdLongUtils.shiftLeft(x, n))
+                );
+                Assert.assertEquals(expectLeft, actualLeft);
+                BigInteger expectRight = value.shiftRight(n);
+                BigInteger actualRight = BigIntegerUtils.byteArrayToNonNegBigInteger(
+                    LongUtils.longArrayToByteArray(SimdLongUtils.shiftRight(x, n))
+                );
+                Assert.assertEquals(expectRight, actualRight);
+            }
+        }
+    }
+}
@@ -18,6 +18,9 @@ import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
 import edu.alibaba.mpc4j.crypto.phe.params.*;
 
 import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
 /**
  * 半同态加密（Partially Homomorphic Encryption，PHE）引擎抽象类。部分代码参考：
@@ -29,6 +32,14 @@ import java.math.BigInteger;
  * @date 2021/12/24
  */
 public abstract class AbstractPheEngine implements PheEngine {
+    /**
+     * 随机数池，键为公钥
+     */
+    private final Map<PhePublicKey, PheObfuscatorPool> obfuscatorPoolMap = new ConcurrentHashMap<>();
+    /**
+     * 是否并发计算
+     */
+    protected boolean parallel = false;
 
     /**
      * 检查{@code PhePublicKey}和{@code PheEncryptedNumber}的上下文一致性。
@@ -75,6 +86,143 @@ public abstract class AbstractPheEngine implements PheEngine {
         return mod1.add(u.multiply(n1));
     }
 
+    /**
+     * 计算一个新的随机数，用于公钥加密和重随机化。Pai99的随机数为r^n mod n^2，OU98的随机数为h^r mod n。
+     *
+     * @param pk 公钥。
+     * @return 随机数。
+     */
+    protected abstract BigInteger rawObfuscator(PhePublicKey pk);
+
+    /**
+     * 返回一个随机数。如果公钥存在随机数池，则从池中取出，否则直接计算。
+     *
+     * @param pk 公钥。
+     * @return 随机数。
+     */
+    protected BigInteger obfuscator(PhePublicKey pk) {
+        PheObfuscatorPool obfuscatorPool = obfuscatorPoolMap.get(pk);
+        return obfuscatorPool != null ? obfuscatorPool.take() : rawObfuscator(pk);
+    }
+
+    /**
+     * 返回公钥是否存在随机数池。
+     *
+     * @param pk 公钥。
+     * @return 是否存在随机数池。
+     */
+    protected boolean hasObfuscatorPool(PhePublicKey pk) {
+        return obfuscatorPoolMap.containsKey(pk);
+    }
+
+    /**
+     * 为公钥构建固定底数模幂运算预计算表。默认不构建，支持固定底数优化的方案应覆盖此方法。
+     *
+     * @param pk 公钥。
+     */
+    protected void precomputeFixedBase(PhePublicKey pk) {
+        // empty
+    }
+
+    /**
+     * 删除公钥的固定底数模幂运算预计算表。
+     *
+     * @param pk 公钥。
+     */
+    protected void removeFixedBase(PhePublicKey pk) {
+        // empty
+    }
+
+    @Override
+    public void precompute(PhePublicKey pk, int poolSize) {
+        Preconditions.checkArgument(pk.getPheType().equals(getPheType()), "PheType of pk mismatch");
+        Preconditions.checkArgument(poolSize >= 0, "poolSize must be non-negative: %s", poolSize);
+        // 先构建预计算表，使后台线程可以直接使用预计算表
+        precomputeFixedBase(pk);
+        PheObfuscatorPool obfuscatorPool = poolSize > 0
+            ? new PheObfuscatorPool(getPheType().name() + "-obfuscator-pool", () -> rawObfuscator(pk), poolSize)
+            : null;
+        PheObfuscatorPool previousPool = obfuscatorPool != null
+            ? obfuscatorPoolMap.put(pk, obfuscatorPool)
+            : obfuscatorPoolMap.remove(pk);
+        if (previousPool != null) {
+            previousPool.close();
+        }
+    }
+
+    @Override
+    public void removePrecomputation(PhePublicKey pk) {
+        PheObfuscatorPool obfuscatorPool = obfuscatorPoolMap.remove(pk);
+        if (obfuscatorPool != null) {
+            obfuscatorPool.close();
+        }
+        removeFixedBase(pk);
+    }
+
+    @Override
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    @Override
+    public boolean getParallel() {
+        return parallel;
+    }
+
+    @Override
+    public BigInteger[] rawEncrypt(PhePublicKey pk, BigInteger[] ms) {
+        IntStream indexIntStream = IntStream.range(0, ms.length);
+        indexIntStream = parallel ? indexIntStream.parallel() : indexIntStream;
+        return indexIntStream
+            .mapToObj(index -> rawEncrypt(pk, ms[index]))
+            .toArray(BigInteger[]::new);
+    }
+
+    @Override
+    public BigInteger[] rawEncrypt(PhePrivateKey sk, BigInteger[] ms) {
+        IntStream indexIntStream = IntStream.range(0, ms.length);
+        indexIntStream = parallel ? indexIntStream.parallel() : indexIntStream;
+        return indexIntStream
+            .mapToObj(index -> rawEncrypt(sk, ms[index]))
+            .toArray(BigInteger[]::new);
+    }
+
+    @Override
+    public BigInteger[] rawDecrypt(PhePrivateKey sk, BigInteger[] cts) {
+        IntStream indexIntStream = IntStream.range(0, cts.length);
+        indexIntStream = parallel ? indexIntStream.parallel() : indexIntStream;
+        return indexIntStream
+            .mapToObj(index -> rawDecrypt(sk, cts[index]))
+            .toArray(BigInteger[]::new);
+    }
+
+    @Override
+    public PheCiphertext[] encrypt(PhePublicKey pk, PhePlaintext[] encodeds) {
+        IntStream indexIntStream = IntStream.range(0, encodeds.length);
+        indexIntStream = parallel ? indexIntStream.parallel() : indexIntStream;
+        return indexIntStream
+            .mapToObj(index -> encrypt(pk, encodeds[index]))
+            .toArray(PheCiphertext[]::new);
+    }
+
+    @Override
+    public PheCiphertext[] encrypt(PhePrivateKey sk, PhePlaintext[] encodeds) {
+        IntStream indexIntStream = IntStream.range(0, encodeds.length);
+        indexIntStream = parallel ? indexIntStream.parallel() : indexIntStream;
+        return indexIntStream
+            .mapToObj(index -> encrypt(sk, encodeds[index]))
+            .toArray(PheCiphertext[]::new);
+    }
+
+    @Override
+    public PhePlaintext[] decrypt(PhePrivateKey sk, PheCiphertext[] cts) {
+        IntStream indexIntStream = IntStream.range(0, cts.length);
+        indexIntStream = parallel ? indexIntStream.parallel() : indexIntStream;
+        return indexIntStream
+            .mapToObj(index -> decrypt(sk, cts[index]))
+            .toArray(PhePlaintext[]::new);
+    }
+
     @Override
     public PheCiphertext encrypt(PhePublicKey pk, PhePlaintext encoded) {
         checkInput(pk, encoded);
@@ -0,0 +1,133 @@
+package edu.alibaba.mpc4j.crypto.phe;
+
+import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
+
+import java.math.BigInteger;
+
+/**
+ * 固定底数窗口模幂运算。对固定底数b，预计算表T[i][d] = b^(d * 2^(w * i)) mod m，其中w为窗口比特长度。计算b^e mod m时，
+ * 把e按w比特分为若干窗口e_i，则b^e = Π T[i][e_i] mod m，只需要ceil(l / w)次模乘，而不需要模幂中的l次模平方。
+ * <p>
+ * 预计算表共有ceil(l / w) * (2^w - 1)个元素，l为指数最大比特长度。指数超过最大比特长度时，回退到普通模幂运算。
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2024/8/8
+ */
+public class FixedBaseModPow {
+    /**
+     * 默认窗口比特长度
+     */
+    public static final int DEFAULT_WINDOW_BIT_LENGTH = 4;
+    /**
+     * 最大窗口比特长度
+     */
+    private static final int MAX_WINDOW_BIT_LENGTH = 16;
+    /**
+     * 底数
+     */
+    private final BigInteger base;
+    /**
+     * 模数
+     */
+    private final BigInteger modulus;
+    /**
+     * 窗口比特长度
+     */
+    private final int windowBitLength;
+    /**
+     * 指数最大比特长度
+     */
+    private final int maxExponentBitLength;
+    /**
+     * 预计算表，table[i][d - 1] = base^(d * 2^(w * i)) mod modulus，d ∈ [1, 2^w)
+     */
+    private final BigInteger[][] table;
+
+    /**
+     * 构建固定底数模幂运算预计算表。
+     *
+     * @param base                 底数。
+     * @param modulus              模数。
+     * @param maxExponentBitLength 指数最大比特长度。
+     * @param windowBitLength      窗口比特长度。
+     */
+    public FixedBaseModPow(BigInteger base, BigInteger modulus, int maxExponentBitLength, int windowBitLength) {
+        Preconditions.checkArgument(modulus.compareTo(BigInteger.ONE) > 0, "modulus must be greater than 1");
+        Preconditions.checkArgument(maxExponentBitLength > 0, "maxExponentBitLength must be positive");
+        Preconditions.checkArgument(
+            windowBitLength > 0 && windowBitLength <= MAX_WINDOW_BIT_LENGTH,
+            "windowBitLength must be in range (0, %s]: %s", MAX_WINDOW_BIT_LENGTH, windowBitLength
+        );
+        this.modulus = modulus;
+        this.base = base.mod(modulus);
+        this.windowBitLength = windowBitLength;
+        this.maxExponentBitLength = maxExponentBitLength;
+        int windowNum = (maxExponentBitLength + windowBitLength - 1) / windowBitLength;
+        int digitNum = (1 << windowBitLength) - 1;
+        table = new BigInteger[windowNum][digitNum];
+        // b_i = base^(2^(w * i)) mod modulus
+        BigInteger windowBase = this.base;
+        for (int i = 0; i < windowNum; i++) {
+            table[i][0] = windowBase;
+            for (int d = 1; d < digitNum; d++) {
+                table[i][d] = table[i][d - 1].multiply(windowBase).mod(modulus);
+            }
+            // b_{i + 1} = b_i^(2^w) = b_i^(2^w - 1) * b_i
+            windowBase = table[i][digitNum - 1].multiply(windowBase).mod(modulus);
+        }
+    }
+
+    /**
+     * 计算base^exponent mod modulus。
+     *
+     * @param exponent 指数，必须为非负数。
+     * @return base^exponent mod modulus。
+     */
+    public BigInteger modPow(BigInteger exponent) {
+        Preconditions.checkArgument(BigIntegerUtils.nonNegative(exponent), "exponent must be non-negative");
+        int exponentBitLength = exponent.bitLength();
+        if (exponentBitLength > maxExponentBitLength) {
+            return BigIntegerUtils.modPow(base, exponent, modulus);
+        }
+        BigInteger result = BigInteger.ONE;
+        for (int i = 0, offset = 0; offset < exponentBitLength; i++, offset += windowBitLength) {
+            int digit = 0;
+            for (int j = windowBitLength - 1; j >= 0; j--) {
+                digit = (digit << 1) | (exponent.testBit(offset + j) ? 1 : 0);
+            }
+            if (digit != 0) {
+                result = result.multiply(table[i][digit - 1]).mod(modulus);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 返回底数。
+     *
+     * @return 底数。
+     */
+    public BigInteger getBase() {
+        return base;
+    }
+
+    /**
+     * 返回模数。
+     *
+     * @return 模数。
+     */
+    public BigInteger getModulus() {
+        return modulus;
+    }
+
+    /**
+     * 返回指数最大比特长度。
+     *
+     * @return 指数最大比特长度。
+     */
+    public int getMaxExponentBitLength() {
+        return maxExponentBitLength;
+    }
+}
@@ -4,6 +4,7 @@ import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
 import edu.alibaba.mpc4j.crypto.phe.params.*;
 
 import java.math.BigInteger;
+import java.util.Arrays;
 
 /**
  * 半同态加密引擎。
@@ -84,6 +85,68 @@ public interface PheEngine {
      */
     BigInteger rawDecrypt(PhePrivateKey sk, BigInteger ct);
 
+    /**
+     * 公钥批量行加密。如果设置了并发计算，则并发加密各个明文。
+     *
+     * @param pk 公钥。
+     * @param ms 明文。
+     * @return 密文。
+     */
+    BigInteger[] rawEncrypt(PhePublicKey pk, BigInteger[] ms);
+
+    /**
+     * 私钥批量行加密。如果设置了并发计算，则并发加密各个明文。
+     *
+     * @param sk 私钥。
+     * @param ms 明文。
+     * @return 密文。
+     */
+    BigInteger[] rawEncrypt(PhePrivateKey sk, BigInteger[] ms);
+
+    /**
+     * 批量解密{@code BigInteger}。如果设置了并发计算，则并发解密各个密文。
+     *
+     * @param sk  私钥。
+     * @param cts 密文。
+     * @return 解密结果。
+     */
+    BigInteger[] rawDecrypt(PhePrivateKey sk, BigInteger[] cts);
+
+    /**
+     * 为公钥预计算加密和重随机化所需的随机数：构建固定底数模幂运算预计算表（如果方案支持），
+     * 并启动后台线程向随机数池中填充至多{@code poolSize}个随机数。之后用此公钥（或对应私钥）加密、重随机化时，
+     * 优先从随机数池中取出随机数。池为空时在调用线程上直接计算。
+     * <p>
+     * 对同一公钥重复调用时，会替换之前的随机数池。不再使用此公钥时，
+     * 应调用{@link #removePrecomputation(PhePublicKey)}停止后台线程。
+     * </p>
+     *
+     * @param pk       公钥。
+     * @param poolSize 随机数池大小，为0时只构建预计算表，不启动后台线程。
+     */
+    void precompute(PhePublicKey pk, int poolSize);
+
+    /**
+     * 删除公钥的预计算结果，并停止后台线程。
+     *
+     * @param pk 公钥。
+     */
+    void removePrecomputation(PhePublicKey pk);
+
+    /**
+     * 设置是否并发计算批量运算。
+     *
+     * @param parallel 是否并发计算。
+     */
+    void setParallel(boolean parallel);
+
+    /**
+     * 返回是否并发计算批量运算。
+     *
+     * @return 是否并发计算。
+     */
+    boolean getParallel();
+
     /**
      * 用公钥加密{@code ModulusEncodedNumber}。
      *
@@ -102,6 +165,54 @@ public interface PheEngine {
      */
     PheCiphertext encrypt(PhePrivateKey sk, PhePlaintext encoded);
 
+    /**
+     * 用公钥批量加密{@code ModulusEncodedNumber}。
+     *
+     * @param pk       公钥。
+     * @param encodeds 明文。
+     * @return 密文。
+     */
+    PheCiphertext[] encrypt(PhePublicKey pk, PhePlaintext[] encodeds);
+
+    /**
+     * 用私钥批量加密{@code ModulusEncodedNumber}。
+     *
+     * @param sk       私钥。
+     * @param encodeds 明文。
+     * @return 密文。
+     */
+    PheCiphertext[] encrypt(PhePrivateKey sk, PhePlaintext[] encodeds);
+
+    /**
+     * 用公钥批量加密{@code BigInteger}。
+     *
+     * @param pk     公钥。
+     * @param values 待加密的明文。
+     * @return 加密结果。
+     */
+    default PheCiphertext[] encrypt(PhePublicKey pk, BigInteger[] values) {
+        PhePlaintextEncoder plaintextEncoder = pk.getPlaintextEncoder();
+        PhePlaintext[] encodeds = Arrays.stream(values)
+            .map(plaintextEncoder::encode)
+            .toArray(PhePlaintext[]::new);
+        return encrypt(pk, encodeds);
+    }
+
+    /**
+     * 用私钥批量加密{@code BigInteger}。
+     *
+     * @param sk     私钥。
+     * @param values 待加密的明文。
+     * @return 加密结果。
+     */
+    default PheCiphertext[] encrypt(PhePrivateKey sk, BigInteger[] values) {
+        PhePlaintextEncoder plaintextEncoder = sk.getPublicKey().getPlaintextEncoder();
+        PhePlaintext[] encodeds = Arrays.stream(values)
+            .map(plaintextEncoder::encode)
+            .toArray(PhePlaintext[]::new);
+        return encrypt(sk, encodeds);
+    }
+
     /**
      * 用公钥加密{@code BigInteger}。
      *
@@ -481,6 +592,15 @@ public interface PheEngine {
      */
     PhePlaintext decrypt(PhePrivateKey sk, PheCiphertext ct);
 
+    /**
+     * 批量解密{@code PheEncryptedNumber}。
+     *
+     * @param sk  私钥。
+     * @param cts 密文。
+     * @return 解密结果。
+     */
+    PhePlaintext[] decrypt(PhePrivateKey sk, PheCiphertext[] cts);
+
     /**
      * 如果{@code newExp}小于{@code PheEncryptedNumber}当前的{@code exponent}，把当前的{@code exponent}降低至{@code newExp}。
      *
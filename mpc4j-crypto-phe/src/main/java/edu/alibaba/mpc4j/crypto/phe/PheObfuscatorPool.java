@@ -0,0 +1,75 @@
+package edu.alibaba.mpc4j.crypto.phe;
+
+import java.math.BigInteger;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * 半同态加密随机数池。后台线程不断预计算加密和重随机化所需的随机数（Pai99为r^n mod n^2，OU98为h^r mod n），直至池满。
+ * 每个随机数只会被取出一次；池为空时，直接在调用线程上计算随机数，不会阻塞调用方。
+ *
+ * @author Weiran Liu
+ * @date 2024/8/8
+ */
+class PheObfuscatorPool {
+    /**
+     * 随机数生成函数
+     */
+    private final Supplier<BigInteger> obfuscatorSupplier;
+    /**
+     * 随机数池
+     */
+    private final BlockingQueue<BigInteger> pool;
+    /**
+     * 后台线程
+     */
+    private final Thread fillThread;
+
+    PheObfuscatorPool(String name, Supplier<BigInteger> obfuscatorSupplier, int poolSize) {
+        this.obfuscatorSupplier = obfuscatorSupplier;
+        pool = new ArrayBlockingQueue<>(poolSize);
+        fillThread = new Thread(this::fill, name);
+        fillThread.setDaemon(true);
+        // 后台线程只用于填充随机数，不应与前台计算争抢资源
+        fillThread.setPriority(Thread.MIN_PRIORITY);
+        fillThread.start();
+    }
+
+    private void fill() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                pool.put(obfuscatorSupplier.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 取出一个随机数。
+     *
+     * @return 随机数。
+     */
+    BigInteger take() {
+        BigInteger obfuscator = pool.poll();
+        return obfuscator != null ? obfuscator : obfuscatorSupplier.get();
+    }
+
+    /**
+     * 返回池中已预计算的随机数数量。
+     *
+     * @return 已预计算的随机数数量。
+     */
+    int size() {
+        return pool.size();
+    }
+
+    /**
+     * 停止后台线程并清空随机数池。
+     */
+    void close() {
+        fillThread.interrupt();
+        pool.clear();
+    }
+}
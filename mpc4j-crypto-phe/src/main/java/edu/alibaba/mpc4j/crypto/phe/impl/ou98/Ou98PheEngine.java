@@ -3,6 +3,7 @@ package edu.alibaba.mpc4j.crypto.phe.impl.ou98;
 import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.tool.utils.BigIntegerUtils;
 import edu.alibaba.mpc4j.crypto.phe.AbstractPheEngine;
+import edu.alibaba.mpc4j.crypto.phe.FixedBaseModPow;
 import edu.alibaba.mpc4j.crypto.phe.PheFactory;
 import edu.alibaba.mpc4j.crypto.phe.params.PheKeyGenParams;
 import edu.alibaba.mpc4j.crypto.phe.params.PhePrivateKey;
@@ -10,6 +11,8 @@ import edu.alibaba.mpc4j.crypto.phe.params.PhePublicKey;
 
 import java.math.BigInteger;
 import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * OU98半同态加密引擎。论文来源：
@@ -38,9 +41,19 @@ public class Ou98PheEngine extends AbstractPheEngine {
      * 随机状态
      */
     private final SecureRandom secureRandom;
+    /**
+     * g的固定底数模幂运算预计算表，键为公钥
+     */
+    private final Map<PhePublicKey, FixedBaseModPow> gFixedBaseMap;
+    /**
+     * h的固定底数模幂运算预计算表，键为公钥
+     */
+    private final Map<PhePublicKey, FixedBaseModPow> hFixedBaseMap;
 
     public Ou98PheEngine(SecureRandom secureRandom) {
         this.secureRandom = secureRandom;
+        gFixedBaseMap = new ConcurrentHashMap<>();
+        hFixedBaseMap = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -63,16 +76,49 @@ public class Ou98PheEngine extends AbstractPheEngine {
         return pk.getPlaintextEncoder().getModulus().bitLength();
     }
 
+    @Override
+    protected void precomputeFixedBase(PhePublicKey pk) {
+        Preconditions.checkArgument(pk instanceof Ou98PhePublicKey);
+        Ou98PhePublicKey publicKey = (Ou98PhePublicKey) pk;
+        BigInteger n = publicKey.n;
+        // 明文m < p，随机数r < n
+        gFixedBaseMap.computeIfAbsent(pk, key -> new FixedBaseModPow(
+            publicKey.g, n, publicKey.getModulus().bitLength(), FixedBaseModPow.DEFAULT_WINDOW_BIT_LENGTH
+        ));
+        hFixedBaseMap.computeIfAbsent(pk, key -> new FixedBaseModPow(
+            publicKey.h, n, n.bitLength(), FixedBaseModPow.DEFAULT_WINDOW_BIT_LENGTH
+        ));
+    }
+
+    @Override
+    protected void removeFixedBase(PhePublicKey pk) {
+        gFixedBaseMap.remove(pk);
+        hFixedBaseMap.remove(pk);
+    }
+
+    @Override
+    protected BigInteger rawObfuscator(PhePublicKey pk) {
+        Preconditions.checkArgument(pk instanceof Ou98PhePublicKey);
+        Ou98PhePublicKey publicKey = (Ou98PhePublicKey) pk;
+        BigInteger n = publicKey.n;
+        // pick r < n uniformly at random and compute h^r mod n
+        BigInteger r = BigIntegerUtils.randomPositive(n, secureRandom);
+        FixedBaseModPow hFixedBase = hFixedBaseMap.get(pk);
+        return hFixedBase != null ? hFixedBase.modPow(r) : BigIntegerUtils.modPow(publicKey.h, r, n);
+    }
+
     @Override
     public BigInteger rawEncrypt(PhePublicKey pk, BigInteger m) {
         Preconditions.checkArgument(pk instanceof Ou98PhePublicKey);
         Ou98PhePublicKey publicKey = (Ou98PhePublicKey) pk;
         BigInteger n = publicKey.n;
         BigInteger g = publicKey.g;
-        BigInteger h = publicKey.h;
         // pick r < n uniformly at random and encrypt the (k − 1)-bit message m by c = g^m * h^r mod n
-        BigInteger r = BigIntegerUtils.randomPositive(n, secureRandom);
-        return BigIntegerUtils.modPow(g, m, n).multiply(BigIntegerUtils.modPow(h, r, n)).mod(n);
+        FixedBaseModPow gFixedBase = gFixedBaseMap.get(pk);
+        BigInteger gm = gFixedBase != null && BigIntegerUtils.nonNegative(m)
+            ? gFixedBase.modPow(m)
+            : BigIntegerUtils.modPow(g, m, n);
+        return gm.multiply(obfuscator(pk)).mod(n);
     }
 
     @Override
@@ -83,15 +129,19 @@ public class Ou98PheEngine extends AbstractPheEngine {
         BigInteger n = publicKey.n;
         BigInteger g = publicKey.g;
         BigInteger h = publicKey.h;
-        // pick r < n uniformly at random and encrypt the (k − 1)-bit message m by c = g^m * h^r mod n
-        BigInteger r = BigIntegerUtils.randomPositive(n, secureRandom);
         // ct = (g^m mod n) * h^r mod n，分别把g^m mod n和h^r mod n拆到CRT里面
         BigInteger m1 = m.mod(privateKey.pSquaredOrder);
         BigInteger m2 = m.mod(privateKey.q);
         BigInteger gm1 = BigIntegerUtils.modPow(g, m1, privateKey.pSquared);
         BigInteger gm2 = BigIntegerUtils.modPow(g, m2, privateKey.q);
         BigInteger gm = crt(gm1, gm2, privateKey.pSquared, privateKey.q, privateKey.pSquaredInverse);
+        if (hasObfuscatorPool(publicKey)) {
+            // 存在随机数池时，直接使用预计算的h^r mod n
+            return gm.multiply(obfuscator(publicKey)).mod(n);
+        }
 
+        // pick r < n uniformly at random and encrypt the (k − 1)-bit message m by c = g^m * h^r mod n
+        BigInteger r = BigIntegerUtils.randomPositive(n, secureRandom);
         BigInteger r1 = r.mod(privateKey.pSquaredOrder);
         BigInteger r2 = r.mod(privateKey.q);
         BigInteger hr1 = BigIntegerUtils.modPow(h, r1, privateKey.pSquared);
@@ -104,12 +154,9 @@ public class Ou98PheEngine extends AbstractPheEngine {
     @Override
     public BigInteger rawObfuscate(PhePublicKey pk, BigInteger ct) {
         Preconditions.checkArgument(pk instanceof Ou98PhePublicKey);
-        Ou98PhePublicKey publicKey = (Ou98PhePublicKey) pk;
-        BigInteger n = publicKey.n;
-        BigInteger h = publicKey.h;
-        // pick r < n uniformly at random and encrypt the (k − 1)-bit message m by c = G^m * H^r mod n
-        BigInteger r = BigIntegerUtils.randomPositive(n, secureRandom);
-        return BigIntegerUtils.modPow(h, r, n).multiply(ct).mod(n);
+        BigInteger n = pk.getCiphertextModulus();
+        // ct' = ct * H^r mod n
+        return obfuscator(pk).multiply(ct).mod(n);
     }
 
     @Override
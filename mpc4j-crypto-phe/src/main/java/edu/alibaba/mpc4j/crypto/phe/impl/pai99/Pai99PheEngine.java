@@ -84,6 +84,17 @@ public class Pai99PheEngine extends AbstractPheEngine {
         return pk.getPlaintextEncoder().getModulus().bitLength() / 2;
     }
 
+    @Override
+    protected BigInteger rawObfuscator(PhePublicKey pk) {
+        Preconditions.checkArgument(pk instanceof Pai99PhePublicKey);
+        Pai99PhePublicKey pai99PhePublicKey = (Pai99PhePublicKey) pk;
+        BigInteger modulus = pai99PhePublicKey.modulus;
+        BigInteger modulusSquared = pai99PhePublicKey.modulusSquared;
+        // r^n mod n^2的底数r每次都不同，无法使用固定底数优化，只能通过随机数池在后台预计算
+        BigInteger r = BigIntegerUtils.randomPositive(modulus.shiftRight(1), secureRandom);
+        return BigIntegerUtils.modPow(r, modulus, modulusSquared);
+    }
+
     @Override
     public BigInteger rawEncrypt(PhePublicKey pk, BigInteger m) {
         Preconditions.checkArgument(pk instanceof Pai99PhePublicKey);
@@ -91,9 +102,8 @@ public class Pai99PheEngine extends AbstractPheEngine {
         BigInteger modulus = pai99PhePublicKey.modulus;
         BigInteger modulusSquared = pai99PhePublicKey.modulusSquared;
         // ct = g^pt * r^n mod n^2 = (modulus + 1)^pt * r^n mod n^2 (modulus * pt + 1) * r^n mod n^2
-        BigInteger r = BigIntegerUtils.randomPositive(modulus.shiftRight(1), secureRandom);
         return modulus.multiply(m).add(BigInteger.ONE).mod(modulusSquared)
-            .multiply(BigIntegerUtils.modPow(r, modulus, modulusSquared)).mod(modulusSquared);
+            .multiply(obfuscator(pk)).mod(modulusSquared);
     }
 
     @Override
@@ -109,6 +119,11 @@ public class Pai99PheEngine extends AbstractPheEngine {
         BigInteger pSquaredOrder = pai99PhePrivateKey.pSquaredOrder;
         BigInteger qSquaredOrder = pai99PhePrivateKey.qSquaredOrder;
         BigInteger pSquaredInverse = pai99PhePrivateKey.pSquaredInverse;
+        if (hasObfuscatorPool(pai99PhePublicKey)) {
+            // 存在随机数池时，直接使用预计算的r^n mod n^2
+            return modulus.multiply(m).add(BigInteger.ONE).mod(modulusSquared)
+                .multiply(obfuscator(pai99PhePublicKey)).mod(modulusSquared);
+        }
         // 在Z_n上随机选取r
         BigInteger r = BigIntegerUtils.randomPositive(modulus.shiftRight(1), secureRandom);
         // ct = (modulus * pt + 1) * r^n mod n^2，把r^n mod n^2拆到CRT里面
@@ -124,11 +139,9 @@ public class Pai99PheEngine extends AbstractPheEngine {
     @Override
     public BigInteger rawObfuscate(PhePublicKey pk, BigInteger ct) {
         Preconditions.checkArgument(pk instanceof Pai99PhePublicKey);
-        BigInteger modulus = pk.getModulus();
         BigInteger modulusSquared = pk.getCiphertextModulus();
         // 重随机化也使用DJN10优化方案，ct' = ct * r'^n mod n^2，其中r' ∈ Z_n
-        BigInteger r = BigIntegerUtils.randomPositive(modulus.shiftRight(1), secureRandom);
-        return BigIntegerUtils.modPow(r, modulus, modulusSquared).multiply(ct).mod(modulusSquared);
+        return obfuscator(pk).multiply(ct).mod(modulusSquared);
     }
 
     @Override
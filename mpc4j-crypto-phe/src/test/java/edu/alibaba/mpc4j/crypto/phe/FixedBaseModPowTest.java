@@ -0,0 +1,70 @@
+package edu.alibaba.mpc4j.crypto.phe;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+
+/**
+ * 固定底数窗口模幂运算测试。
+ *
+ * @author Weiran Liu
+ * @date 2024/8/8
+ */
+public class FixedBaseModPowTest {
+    /**
+     * 随机测试轮数
+     */
+    private static final int ROUND = 100;
+    /**
+     * 模数比特长度
+     */
+    private static final int MODULUS_BIT_LENGTH = 512;
+
+    @Test
+    public void testIllegalInputs() {
+        BigInteger modulus = BigInteger.probablePrime(MODULUS_BIT_LENGTH, PheTestUtils.SECURE_RANDOM);
+        // 模数必须大于1
+        Assert.assertThrows(IllegalArgumentException.class, () ->
+            new FixedBaseModPow(BigInteger.TWO, BigInteger.ONE, MODULUS_BIT_LENGTH, 4)
+        );
+        // 窗口比特长度必须为正数
+        Assert.assertThrows(IllegalArgumentException.class, () ->
+            new FixedBaseModPow(BigInteger.TWO, modulus, MODULUS_BIT_LENGTH, 0)
+        );
+        // 指数最大比特长度必须为正数
+        Assert.assertThrows(IllegalArgumentException.class, () ->
+            new FixedBaseModPow(BigInteger.TWO, modulus, 0, 4)
+        );
+        // 指数不能为负数
+        FixedBaseModPow fixedBaseModPow = new FixedBaseModPow(BigInteger.TWO, modulus, MODULUS_BIT_LENGTH, 4);
+        Assert.assertThrows(IllegalArgumentException.class, () -> fixedBaseModPow.modPow(BigInteger.ONE.negate()));
+    }
+
+    @Test
+    public void testWindowBitLength() {
+        for (int windowBitLength = 1; windowBitLength <= 8; windowBitLength++) {
+            testModPow(windowBitLength);
+        }
+    }
+
+    private void testModPow(int windowBitLength) {
+        BigInteger modulus = new BigInteger(MODULUS_BIT_LENGTH, PheTestUtils.SECURE_RANDOM).setBit(0).setBit(1);
+        BigInteger base = new BigInteger(MODULUS_BIT_LENGTH, PheTestUtils.SECURE_RANDOM).mod(modulus);
+        FixedBaseModPow fixedBaseModPow = new FixedBaseModPow(base, modulus, MODULUS_BIT_LENGTH, windowBitLength);
+        // 边界值
+        Assert.assertEquals(BigInteger.ONE, fixedBaseModPow.modPow(BigInteger.ZERO));
+        Assert.assertEquals(base, fixedBaseModPow.modPow(BigInteger.ONE));
+        BigInteger maxExponent = BigInteger.ONE.shiftLeft(MODULUS_BIT_LENGTH).subtract(BigInteger.ONE);
+        Assert.assertEquals(base.modPow(maxExponent, modulus), fixedBaseModPow.modPow(maxExponent));
+        // 随机指数
+        for (int round = 0; round < ROUND; round++) {
+            BigInteger exponent = new BigInteger(MODULUS_BIT_LENGTH, PheTestUtils.SECURE_RANDOM);
+            Assert.assertEquals(base.modPow(exponent, modulus), fixedBaseModPow.modPow(exponent));
+        }
+        // 指数超过最大比特长度时，回退到普通模幂运算
+        BigInteger largeExponent = new BigInteger(MODULUS_BIT_LENGTH * 2, PheTestUtils.SECURE_RANDOM)
+            .setBit(MODULUS_BIT_LENGTH * 2 - 1);
+        Assert.assertEquals(base.modPow(largeExponent, modulus), fixedBaseModPow.modPow(largeExponent));
+    }
+}
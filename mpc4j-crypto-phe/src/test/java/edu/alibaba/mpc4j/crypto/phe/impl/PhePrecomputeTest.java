@@ -0,0 +1,199 @@
+package edu.alibaba.mpc4j.crypto.phe.impl;
+
+import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.crypto.phe.PheEngine;
+import edu.alibaba.mpc4j.crypto.phe.PheEngineTestConfiguration;
+import edu.alibaba.mpc4j.crypto.phe.PheTestUtils;
+import edu.alibaba.mpc4j.crypto.phe.params.PheCiphertext;
+import edu.alibaba.mpc4j.crypto.phe.params.PhePlaintext;
+import edu.alibaba.mpc4j.crypto.phe.params.PhePrivateKey;
+import edu.alibaba.mpc4j.crypto.phe.params.PhePublicKey;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.stream.IntStream;
+
+/**
+ * 半同态加密批量运算与预计算测试。
+ *
+ * @author Weiran Liu
+ * @date 2024/8/8
+ */
+@RunWith(Parameterized.class)
+public class PhePrecomputeTest {
+    /**
+     * 批量运算数量
+     */
+    private static final int BATCH_SIZE = 1 << 6;
+    /**
+     * 随机数池大小，小于批量运算数量，以测试池为空时的情况
+     */
+    private static final int POOL_SIZE = BATCH_SIZE / 4;
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> configurations() {
+        Collection<Object[]> configurationParams = new ArrayList<>();
+        // OU98
+        configurationParams.add(PheEngineTestConfiguration.OU98_NAME_CONFIGURATION_SIGNED_FULL_PRECISION_40);
+        configurationParams.add(PheEngineTestConfiguration.OU98_NAME_CONFIGURATION_SIGNED_FULL_PRECISION_80);
+        // Pai99
+        configurationParams.add(PheEngineTestConfiguration.PAI99_NAME_CONFIGURATION_SIGNED_FULL_PRECISION_40);
+        configurationParams.add(PheEngineTestConfiguration.PAI99_NAME_CONFIGURATION_SIGNED_FULL_PRECISION_80);
+
+        return configurationParams;
+    }
+
+    /**
+     * 半同态加密引擎
+     */
+    private final PheEngine pheEngine;
+    /**
+     * 公钥
+     */
+    private final PhePublicKey pk;
+    /**
+     * 私钥
+     */
+    private final PhePrivateKey sk;
+
+    public PhePrecomputeTest(String name, PheEngineTestConfiguration configuration) {
+        Preconditions.checkArgument(StringUtils.isNotBlank(name));
+        pheEngine = configuration.getPheEngine();
+        sk = configuration.getPrivateKey();
+        pk = sk.getPublicKey();
+    }
+
+    @Test
+    public void testRawBatch() {
+        testRawBatch(false);
+    }
+
+    @Test
+    public void testParallelRawBatch() {
+        testRawBatch(true);
+    }
+
+    private void testRawBatch(boolean parallel) {
+        pheEngine.setParallel(parallel);
+        try {
+            BigInteger[] plaintexts = generatePlaintexts();
+            // 公钥加密
+            BigInteger[] ciphertexts = pheEngine.rawEncrypt(pk, plaintexts);
+            Assert.assertEquals(BATCH_SIZE, ciphertexts.length);
+            Assert.assertArrayEquals(plaintexts, pheEngine.rawDecrypt(sk, ciphertexts));
+            // 私钥加密
+            ciphertexts = pheEngine.rawEncrypt(sk, plaintexts);
+            Assert.assertArrayEquals(plaintexts, pheEngine.rawDecrypt(sk, ciphertexts));
+            // 空输入
+            Assert.assertEquals(0, pheEngine.rawEncrypt(pk, new BigInteger[0]).length);
+            Assert.assertEquals(0, pheEngine.rawDecrypt(sk, new BigInteger[0]).length);
+        } finally {
+            pheEngine.setParallel(false);
+        }
+    }
+
+    @Test
+    public void testBatch() {
+        testBatch(false);
+    }
+
+    @Test
+    public void testParallelBatch() {
+        testBatch(true);
+    }
+
+    private void testBatch(boolean parallel) {
+        pheEngine.setParallel(parallel);
+        try {
+            long[] values = IntStream.range(0, BATCH_SIZE)
+                .mapToLong(index -> PheTestUtils.SECURE_RANDOM.nextInt() - (long) index)
+                .toArray();
+            BigInteger[] bigIntegerValues = Arrays.stream(values)
+                .mapToObj(BigInteger::valueOf)
+                .toArray(BigInteger[]::new);
+            // 公钥加密
+            PheCiphertext[] ciphertexts = pheEngine.encrypt(pk, bigIntegerValues);
+            PhePlaintext[] decrypts = pheEngine.decrypt(sk, ciphertexts);
+            for (int index = 0; index < BATCH_SIZE; index++) {
+                Assert.assertEquals(values[index], decrypts[index].decodeLong());
+            }
+            // 私钥加密
+            ciphertexts = pheEngine.encrypt(sk, bigIntegerValues);
+            decrypts = pheEngine.decrypt(sk, ciphertexts);
+            for (int index = 0; index < BATCH_SIZE; index++) {
+                Assert.assertEquals(values[index], decrypts[index].decodeLong());
+            }
+        } finally {
+            pheEngine.setParallel(false);
+        }
+    }
+
+    @Test
+    public void testPrecompute() {
+        testPrecompute(POOL_SIZE, false);
+    }
+
+    @Test
+    public void testParallelPrecompute() {
+        testPrecompute(POOL_SIZE, true);
+    }
+
+    @Test
+    public void testPrecomputeWithoutPool() {
+        testPrecompute(0, false);
+    }
+
+    private void testPrecompute(int poolSize, boolean parallel) {
+        pheEngine.setParallel(parallel);
+        pheEngine.precompute(pk, poolSize);
+        try {
+            BigInteger[] plaintexts = generatePlaintexts();
+            // 公钥加密
+            BigInteger[] ciphertexts = pheEngine.rawEncrypt(pk, plaintexts);
+            Assert.assertArrayEquals(plaintexts, pheEngine.rawDecrypt(sk, ciphertexts));
+            // 随机数只会被使用一次，因此相同明文的密文各不相同
+            BigInteger[] zeroCiphertexts = pheEngine.rawEncrypt(
+                pk, new BigInteger[]{BigInteger.ZERO, BigInteger.ZERO}
+            );
+            Assert.assertNotEquals(zeroCiphertexts[0], zeroCiphertexts[1]);
+            // 私钥加密
+            ciphertexts = pheEngine.rawEncrypt(sk, plaintexts);
+            Assert.assertArrayEquals(plaintexts, pheEngine.rawDecrypt(sk, ciphertexts));
+            // 重随机化
+            for (int index = 0; index < BATCH_SIZE; index++) {
+                BigInteger obfuscated = pheEngine.rawObfuscate(pk, ciphertexts[index]);
+                Assert.assertNotEquals(ciphertexts[index], obfuscated);
+                Assert.assertEquals(plaintexts[index], pheEngine.rawDecrypt(sk, obfuscated));
+            }
+            // 重复预计算
+            pheEngine.precompute(pk, poolSize);
+            ciphertexts = pheEngine.rawEncrypt(pk, plaintexts);
+            Assert.assertArrayEquals(plaintexts, pheEngine.rawDecrypt(sk, ciphertexts));
+        } finally {
+            pheEngine.removePrecomputation(pk);
+            pheEngine.setParallel(false);
+        }
+        // 删除预计算结果后仍可正常加密
+        BigInteger[] plaintexts = generatePlaintexts();
+        BigInteger[] ciphertexts = pheEngine.rawEncrypt(pk, plaintexts);
+        Assert.assertArrayEquals(plaintexts, pheEngine.rawDecrypt(sk, ciphertexts));
+    }
+
+    private BigInteger[] generatePlaintexts() {
+        int plaintextBitLength = pk.getModulus().bitLength() - 2;
+        BigInteger[] plaintexts = IntStream.range(0, BATCH_SIZE)
+            .mapToObj(index -> new BigInteger(plaintextBitLength, PheTestUtils.SECURE_RANDOM))
+            .toArray(BigInteger[]::new);
+        // 边界值
+        plaintexts[0] = BigInteger.ZERO;
+        plaintexts[1] = pk.getModulus().subtract(BigInteger.ONE);
+        return plaintexts;
+    }
+}
@@ -1,8 +1,15 @@
 package edu.alibaba.mpc4j.dp.service.fo;
 
+import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
 import edu.alibaba.mpc4j.dp.service.fo.config.FoLdpConfig;
 import edu.alibaba.mpc4j.dp.service.tool.Domain;
 
+import java.io.*;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
 /**
  * Abstract Frequency Oracle LDP server.
  *
@@ -10,6 +17,10 @@ import edu.alibaba.mpc4j.dp.service.tool.Domain;
  * @date 2023/1/14
  */
 public abstract class AbstractFoLdpServer implements FoLdpServer {
+    /**
+     * domain shard size, so that the int budgets of a domain shard fit in the L1 cache
+     */
+    protected static final int DOMAIN_SHARD_SIZE = 1 << 12;
     /**
      * the type
      */
@@ -30,6 +41,10 @@ public abstract class AbstractFoLdpServer implements FoLdpServer {
      * the number of inserted items
      */
     protected int num;
+    /**
+     * parallel
+     */
+    protected boolean parallel;
 
     public AbstractFoLdpServer(FoLdpConfig config) {
         type = config.getType();
@@ -37,6 +52,201 @@ public abstract class AbstractFoLdpServer implements FoLdpServer {
         d = domain.getD();
         epsilon = config.getEpsilon();
         num = 0;
+        parallel = false;
+    }
+
+    @Override
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    @Override
+    public boolean getParallel() {
+        return parallel;
+    }
+
+    /**
+     * Returns the stream of domain shard indexes, each domain shard contains at most {@code DOMAIN_SHARD_SIZE} item
+     * indexes. Aggregations that update the budget of each item index can process domain shards independently, so
+     * that the budgets of a domain shard stay in the cache, and domain shards can be processed in parallel.
+     *
+     * @return the stream of domain shard indexes.
+     */
+    protected IntStream domainShardIndexStream() {
+        IntStream domainShardIndexStream = IntStream.range(0, CommonUtils.getUnitNum(d, DOMAIN_SHARD_SIZE));
+        return parallel ? domainShardIndexStream.parallel() : domainShardIndexStream;
+    }
+
+    /**
+     * Aggregates the buffered randomized items into the budgets. Servers that buffer randomized items must override it.
+     */
+    protected void aggregate() {
+        // empty
+    }
+
+    /**
+     * Returns the int budgets. Budgets are additive, i.e., merging two servers adds their budgets element-wise. The
+     * returned budgets must be the ones used by the server instead of copies.
+     *
+     * @return the int budgets.
+     */
+    protected abstract int[][] getIntBudgets();
+
+    /**
+     * Returns the double budgets. Budgets are additive, i.e., merging two servers adds their budgets element-wise. The
+     * returned budgets must be the ones used by the server instead of copies.
+     *
+     * @return the double budgets.
+     */
+    protected double[][] getDoubleBudgets() {
+        return new double[0][];
+    }
+
+    /**
+     * Returns the hash seeds used by the server. Servers whose configs contain (randomly generated) hash seeds must
+     * override it, since budgets computed with different hash functions cannot be merged.
+     *
+     * @return the hash seeds.
+     */
+    protected int[] getHashSeeds() {
+        return new int[0];
+    }
+
+    @Override
+    public void merge(FoLdpServer that) {
+        Preconditions.checkArgument(that != this, "cannot merge a server into itself");
+        checkMergeable(that.getType(), that.getD(), that.getEpsilon());
+        if (!getClass().equals(that.getClass())) {
+            merge(that.snapshot());
+            return;
+        }
+        AbstractFoLdpServer abstractThat = (AbstractFoLdpServer) that;
+        checkMergeable(abstractThat.getHashSeeds());
+        // pending randomized items in this server can be aggregated later, while the ones in that server cannot
+        abstractThat.aggregate();
+        addBudgets(abstractThat.num, abstractThat.getIntBudgets(), abstractThat.getDoubleBudgets());
+    }
+
+    @Override
+    public byte[] snapshot() {
+        aggregate();
+        try {
+            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+            DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream);
+            // write the type, d, ε, hash seeds and the number of inserted items
+            dataOutputStream.writeUTF(type.name());
+            dataOutputStream.writeInt(d);
+            dataOutputStream.writeDouble(epsilon);
+            int[] hashSeeds = getHashSeeds();
+            dataOutputStream.writeInt(hashSeeds.length);
+            for (int hashSeed : hashSeeds) {
+                dataOutputStream.writeInt(hashSeed);
+            }
+            dataOutputStream.writeInt(num);
+            // write int budgets
+            int[][] intBudgets = getIntBudgets();
+            dataOutputStream.writeInt(intBudgets.length);
+            for (int[] intBudget : intBudgets) {
+                dataOutputStream.writeInt(intBudget.length);
+                for (int value : intBudget) {
+                    dataOutputStream.writeInt(value);
+                }
+            }
+            // write double budgets
+            double[][] doubleBudgets = getDoubleBudgets();
+            dataOutputStream.writeInt(doubleBudgets.length);
+            for (double[] doubleBudget : doubleBudgets) {
+                dataOutputStream.writeInt(doubleBudget.length);
+                for (double value : doubleBudget) {
+                    dataOutputStream.writeDouble(value);
+                }
+            }
+            dataOutputStream.flush();
+            byte[] snapshot = byteArrayOutputStream.toByteArray();
+            dataOutputStream.close();
+            byteArrayOutputStream.close();
+            return snapshot;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void merge(byte[] snapshot) {
+        try {
+            DataInputStream dataInputStream = new DataInputStream(new ByteArrayInputStream(snapshot));
+            // read the type, d, ε, hash seeds and the number of inserted items
+            FoLdpFactory.FoLdpType thatType = FoLdpFactory.FoLdpType.valueOf(dataInputStream.readUTF());
+            checkMergeable(thatType, dataInputStream.readInt(), dataInputStream.readDouble());
+            int[] thatHashSeeds = new int[dataInputStream.readInt()];
+            for (int i = 0; i < thatHashSeeds.length; i++) {
+                thatHashSeeds[i] = dataInputStream.readInt();
+            }
+            checkMergeable(thatHashSeeds);
+            int thatNum = dataInputStream.readInt();
+            MathPreconditions.checkNonNegative("num", thatNum);
+            // read int budgets
+            int[][] thatIntBudgets = new int[dataInputStream.readInt()][];
+            for (int i = 0; i < thatIntBudgets.length; i++) {
+                thatIntBudgets[i] = new int[dataInputStream.readInt()];
+                for (int j = 0; j < thatIntBudgets[i].length; j++) {
+                    thatIntBudgets[i][j] = dataInputStream.readInt();
+                }
+            }
+            // read double budgets
+            double[][] thatDoubleBudgets = new double[dataInputStream.readInt()][];
+            for (int i = 0; i < thatDoubleBudgets.length; i++) {
+                thatDoubleBudgets[i] = new double[dataInputStream.readInt()];
+                for (int j = 0; j < thatDoubleBudgets[i].length; j++) {
+                    thatDoubleBudgets[i][j] = dataInputStream.readDouble();
+                }
+            }
+            Preconditions.checkArgument(dataInputStream.available() == 0, "the snapshot contains redundant bytes");
+            dataInputStream.close();
+            addBudgets(thatNum, thatIntBudgets, thatDoubleBudgets);
+        } catch (IOException | NegativeArraySizeException e) {
+            throw new IllegalArgumentException("Invalid snapshot", e);
+        }
+    }
+
+    private void checkMergeable(FoLdpFactory.FoLdpType thatType, int thatD, double thatEpsilon) {
+        Preconditions.checkArgument(type.equals(thatType), "type must be %s: %s", type, thatType);
+        MathPreconditions.checkEqual("d", "that d", d, thatD);
+        Preconditions.checkArgument(epsilon == thatEpsilon, "ε must be %s: %s", epsilon, thatEpsilon);
+    }
+
+    private void checkMergeable(int[] thatHashSeeds) {
+        Preconditions.checkArgument(
+            Arrays.equals(getHashSeeds(), thatHashSeeds),
+            "hash seeds must be the same, i.e., servers must be created from the same config"
+        );
+    }
+
+    private void addBudgets(int thatNum, int[][] thatIntBudgets, double[][] thatDoubleBudgets) {
+        int[][] intBudgets = getIntBudgets();
+        double[][] doubleBudgets = getDoubleBudgets();
+        // check all budget lengths before adding, so that an invalid input leaves this server unchanged
+        MathPreconditions.checkEqual("# of int budgets", "that", intBudgets.length, thatIntBudgets.length);
+        for (int i = 0; i < intBudgets.length; i++) {
+            MathPreconditions.checkEqual("int budget length", "that", intBudgets[i].length, thatIntBudgets[i].length);
+        }
+        MathPreconditions.checkEqual("# of double budgets", "that", doubleBudgets.length, thatDoubleBudgets.length);
+        for (int i = 0; i < doubleBudgets.length; i++) {
+            MathPreconditions.checkEqual(
+                "double budget length", "that", doubleBudgets[i].length, thatDoubleBudgets[i].length
+            );
+        }
+        for (int i = 0; i < intBudgets.length; i++) {
+            for (int j = 0; j < intBudgets[i].length; j++) {
+                intBudgets[i][j] += thatIntBudgets[i][j];
+            }
+        }
+        for (int i = 0; i < doubleBudgets.length; i++) {
+            for (int j = 0; j < doubleBudgets[i].length; j++) {
+                doubleBudgets[i][j] += thatDoubleBudgets[i][j];
+            }
+        }
+        num += thatNum;
     }
 
     @Override
@@ -235,6 +235,17 @@ public class FoLdpFactory {
         }
     }
 
+    /**
+     * Creates a striped Frequency Oracle LDP server, which supports inserting randomized items from many threads
+     * concurrently. Each thread inserts into its own server, and servers are merged on estimating.
+     *
+     * @param config the config.
+     * @return a striped Frequency Oracle LDP server.
+     */
+    public static FoLdpServer createStripedServer(FoLdpConfig config) {
+        return new StripedFoLdpServer(config);
+    }
+
     /**
      * Creates a Frequency Oracle LDP client.
      *
@@ -23,6 +23,56 @@ public interface FoLdpServer {
      */
     void insert(byte[] itemBytes);
 
+    /**
+     * Inserts randomized items in batch. Servers may buffer the randomized items and aggregate them lazily, i.e.,
+     * when the buffer is full or when estimating.
+     *
+     * @param itemBytesCollection the randomized items.
+     */
+    default void insert(Collection<byte[]> itemBytesCollection) {
+        for (byte[] itemBytes : itemBytesCollection) {
+            insert(itemBytes);
+        }
+    }
+
+    /**
+     * Sets if aggregating randomized items in parallel.
+     *
+     * @param parallel parallel.
+     */
+    void setParallel(boolean parallel);
+
+    /**
+     * Returns if aggregating randomized items in parallel.
+     *
+     * @return parallel.
+     */
+    boolean getParallel();
+
+    /**
+     * Merges the aggregated state of another server into this server, so that this server estimates as if it received
+     * all randomized items received by both servers. Both servers must be created from the same config, including the
+     * hash seeds if there are any.
+     *
+     * @param that the other server.
+     */
+    void merge(FoLdpServer that);
+
+    /**
+     * Serializes the aggregated state into a snapshot. The snapshot can be merged into servers created from the same
+     * config, e.g., servers running on other collector nodes.
+     *
+     * @return the snapshot.
+     */
+    byte[] snapshot();
+
+    /**
+     * Merges a snapshot into this server.
+     *
+     * @param snapshot the snapshot.
+     */
+    void merge(byte[] snapshot);
+
     /**
      * Calculates frequency estimates for all items in the domain.
      *
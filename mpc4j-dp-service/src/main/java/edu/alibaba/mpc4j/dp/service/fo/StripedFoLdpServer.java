@@ -0,0 +1,201 @@
+package edu.alibaba.mpc4j.dp.service.fo;
+
+import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.dp.service.fo.config.FoLdpConfig;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Striped Frequency Oracle LDP server, which supports inserting randomized items from many threads concurrently.
+ * <p>
+ * Each inserting thread owns a stripe, i.e., a Frequency Oracle LDP server created from the same config, so that
+ * threads never share budgets. On estimate() and snapshot(), stripes with new items are folded into the merged server
+ * and replaced by empty servers, so that each item is merged only once. The lock of each stripe is only contended when
+ * folding, so that inserting is almost lock-free.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2024/8/8
+ */
+public class StripedFoLdpServer implements FoLdpServer {
+    /**
+     * the config
+     */
+    private final FoLdpConfig config;
+    /**
+     * the server that keeps the folded stripes, the merged states from other servers and snapshots
+     */
+    private final FoLdpServer mergedServer;
+    /**
+     * all stripes
+     */
+    private final List<Stripe> stripes;
+    /**
+     * the stripe of the current thread
+     */
+    private final ThreadLocal<Stripe> localStripe;
+    /**
+     * parallel
+     */
+    private volatile boolean parallel;
+
+    /**
+     * A stripe, i.e., the server of one inserting thread. The server is replaced by an empty one when folded.
+     */
+    private static class Stripe {
+        /**
+         * the server containing items inserted since the last folding
+         */
+        private FoLdpServer server;
+    }
+
+    public StripedFoLdpServer(FoLdpConfig config) {
+        this.config = config;
+        mergedServer = FoLdpFactory.createServer(config);
+        stripes = new CopyOnWriteArrayList<>();
+        localStripe = ThreadLocal.withInitial(() -> {
+            Stripe stripe = new Stripe();
+            stripe.server = createServer();
+            stripes.add(stripe);
+            return stripe;
+        });
+        parallel = false;
+    }
+
+    private FoLdpServer createServer() {
+        FoLdpServer server = FoLdpFactory.createServer(config);
+        server.setParallel(parallel);
+        return server;
+    }
+
+    @Override
+    public FoLdpFactory.FoLdpType getType() {
+        return config.getType();
+    }
+
+    @Override
+    public void insert(byte[] itemBytes) {
+        Stripe stripe = localStripe.get();
+        synchronized (stripe) {
+            stripe.server.insert(itemBytes);
+        }
+    }
+
+    @Override
+    public void insert(Collection<byte[]> itemBytesCollection) {
+        Stripe stripe = localStripe.get();
+        synchronized (stripe) {
+            stripe.server.insert(itemBytesCollection);
+        }
+    }
+
+    @Override
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+        synchronized (mergedServer) {
+            mergedServer.setParallel(parallel);
+        }
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.server.setParallel(parallel);
+            }
+        }
+    }
+
+    @Override
+    public boolean getParallel() {
+        return parallel;
+    }
+
+    /**
+     * Folds stripes with new items into the merged server. The caller must hold the lock of the merged server, so that
+     * items inserted concurrently with folding are either fully included or fully excluded.
+     */
+    private void foldStripes() {
+        assert Thread.holdsLock(mergedServer);
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                if (stripe.server.getNum() > 0) {
+                    mergedServer.merge(stripe.server);
+                    stripe.server = createServer();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void merge(FoLdpServer that) {
+        Preconditions.checkArgument(that != this, "cannot merge a server into itself");
+        if (that instanceof StripedFoLdpServer) {
+            // copy the merged server of that, so that we never hold the locks of both merged servers
+            StripedFoLdpServer striped = (StripedFoLdpServer) that;
+            that = createServer();
+            synchronized (striped.mergedServer) {
+                striped.foldStripes();
+                that.merge(striped.mergedServer);
+            }
+        }
+        synchronized (mergedServer) {
+            mergedServer.merge(that);
+        }
+    }
+
+    @Override
+    public byte[] snapshot() {
+        synchronized (mergedServer) {
+            foldStripes();
+            return mergedServer.snapshot();
+        }
+    }
+
+    @Override
+    public void merge(byte[] snapshot) {
+        synchronized (mergedServer) {
+            mergedServer.merge(snapshot);
+        }
+    }
+
+    @Override
+    public Map<String, Double> estimate() {
+        synchronized (mergedServer) {
+            foldStripes();
+            return mergedServer.estimate();
+        }
+    }
+
+    @Override
+    public double getEpsilon() {
+        return config.getEpsilon();
+    }
+
+    @Override
+    public int getD() {
+        return config.getDomain().getD();
+    }
+
+    @Override
+    public int getNum() {
+        // counting does not need folding
+        synchronized (mergedServer) {
+            int num = mergedServer.getNum();
+            for (Stripe stripe : stripes) {
+                synchronized (stripe) {
+                    num += stripe.server.getNum();
+                }
+            }
+            return num;
+        }
+    }
+
+    /**
+     * Returns the number of stripes, i.e., the number of threads that have inserted randomized items.
+     *
+     * @return the number of stripes.
+     */
+    public int getStripeNum() {
+        return stripes.size();
+    }
+}
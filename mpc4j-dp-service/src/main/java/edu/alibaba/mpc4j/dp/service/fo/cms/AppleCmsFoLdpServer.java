@@ -112,6 +112,21 @@ public class AppleCmsFoLdpServer extends AbstractFoLdpServer {
         num++;
     }
 
+    @Override
+    protected int[] getHashSeeds() {
+        return hashSeeds;
+    }
+
+    @Override
+    protected int[][] getIntBudgets() {
+        return new int[0][];
+    }
+
+    @Override
+    protected double[][] getDoubleBudgets() {
+        return budget;
+    }
+
     @Override
     public Map<String, Double> estimate() {
         return IntStream.range(0, d)
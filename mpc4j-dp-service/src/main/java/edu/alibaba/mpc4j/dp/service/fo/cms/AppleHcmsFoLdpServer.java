@@ -110,6 +110,21 @@ public class AppleHcmsFoLdpServer extends AbstractFoLdpServer {
         num++;
     }
 
+    @Override
+    protected int[] getHashSeeds() {
+        return hashSeeds;
+    }
+
+    @Override
+    protected int[][] getIntBudgets() {
+        return new int[0][];
+    }
+
+    @Override
+    protected double[][] getDoubleBudgets() {
+        return budget;
+    }
+
     @Override
     public Map<String, Double> estimate() {
         // transform the rows of sketch back as M = M · H_m^T
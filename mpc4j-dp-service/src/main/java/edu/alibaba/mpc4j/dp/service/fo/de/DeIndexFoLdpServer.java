@@ -53,6 +53,11 @@ public class DeIndexFoLdpServer extends AbstractFoLdpServer {
         num++;
     }
 
+    @Override
+    protected int[][] getIntBudgets() {
+        return new int[][]{budget};
+    }
+
     @Override
     public Map<String, Double> estimate() {
         return IntStream.range(0, d)
@@ -46,6 +46,11 @@ public class DeStringFoLdpServer extends AbstractFoLdpServer {
         num++;
     }
 
+    @Override
+    protected int[][] getIntBudgets() {
+        return new int[][]{budget};
+    }
+
     @Override
     public Map<String, Double> estimate() {
         return IntStream.range(0, d)
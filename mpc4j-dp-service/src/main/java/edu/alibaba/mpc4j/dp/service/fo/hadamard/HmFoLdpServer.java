@@ -72,6 +72,11 @@ public class HmFoLdpServer extends AbstractFoLdpServer {
         num++;
     }
 
+    @Override
+    protected int[][] getIntBudgets() {
+        return new int[][]{budgets};
+    }
+
     @Override
     public Map<String, Double> estimate() {
         int[] cs = HadamardCoder.fastWalshHadamardTrans(budgets);
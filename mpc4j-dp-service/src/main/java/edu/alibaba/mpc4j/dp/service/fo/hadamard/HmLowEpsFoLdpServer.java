@@ -96,6 +96,11 @@ public class HmLowEpsFoLdpServer extends AbstractFoLdpServer {
         num++;
     }
 
+    @Override
+    protected int[][] getIntBudgets() {
+        return new int[][]{budgets};
+    }
+
     @Override
     public Map<String, Double> estimate() {
         int[] cs = HadamardCoder.fastWalshHadamardTrans(budgets);
@@ -61,6 +61,11 @@ public class HrFoLdpServer extends AbstractFoLdpServer {
         num++;
     }
 
+    @Override
+    protected int[][] getIntBudgets() {
+        return new int[][]{budgets};
+    }
+
     @Override
     public Map<String, Double> estimate() {
         int[] cs = HadamardCoder.fastWalshHadamardTrans(budgets);
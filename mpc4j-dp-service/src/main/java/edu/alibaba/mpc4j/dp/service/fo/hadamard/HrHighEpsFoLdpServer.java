@@ -84,6 +84,11 @@ public class HrHighEpsFoLdpServer extends AbstractFoLdpServer {
         num++;
     }
 
+    @Override
+    protected int[][] getIntBudgets() {
+        return new int[][]{budgets};
+    }
+
     @Override
     public Map<String, Double> estimate() {
         int[] counts = new int[outputSize];
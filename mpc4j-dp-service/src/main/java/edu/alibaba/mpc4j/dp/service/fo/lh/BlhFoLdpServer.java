@@ -29,6 +29,10 @@ import java.util.stream.IntStream;
  * @date 2023/1/17
  */
 public class BlhFoLdpServer extends AbstractFoLdpServer {
+    /**
+     * max number of pending reports
+     */
+    private static final int MAX_PENDING_NUM = 1 << 12;
     /**
      * q* = 0.5
      */
@@ -45,6 +49,18 @@ public class BlhFoLdpServer extends AbstractFoLdpServer {
      * p* = e^ε / (e^ε + 1)
      */
     private final double pStar;
+    /**
+     * seeds of the pending reports
+     */
+    private final int[] pendingSeeds;
+    /**
+     * b of the pending reports
+     */
+    private final byte[] pendingBs;
+    /**
+     * the number of pending reports
+     */
+    private int pendingNum;
 
     public BlhFoLdpServer(FoLdpConfig config) {
         super(config);
@@ -53,6 +69,9 @@ public class BlhFoLdpServer extends AbstractFoLdpServer {
         intHash = IntHashFactory.fastestInstance();
         // init budget
         budget = new int[d];
+        pendingSeeds = new int[MAX_PENDING_NUM];
+        pendingBs = new byte[MAX_PENDING_NUM];
+        pendingNum = 0;
     }
 
     @Override
@@ -65,20 +84,52 @@ public class BlhFoLdpServer extends AbstractFoLdpServer {
         int seed = IntUtils.byteArrayToInt(seedBytes);
         byte byteB = itemBytes[Integer.BYTES];
         assert byteB == 0x00 || byteB == 0x01;
-        // each reported ⟨H,b⟩ supports all values that are hashed by H to b, which are half of the input values.
-        IntStream.range(0, d)
-            .forEach(itemIndex -> {
-                byte[] itemIndexBytes = IntUtils.intToByteArray(itemIndex);
-                byte itemB = (byte)(Math.abs(intHash.hash(itemIndexBytes, seed)) % 2);
-                if (itemB == byteB) {
-                    budget[itemIndex]++;
-                }
-            });
+        // the report is aggregated lazily
+        pendingSeeds[pendingNum] = seed;
+        pendingBs[pendingNum] = byteB;
+        pendingNum++;
         num++;
+        if (pendingNum == MAX_PENDING_NUM) {
+            aggregate();
+        }
+    }
+
+    /**
+     * Aggregates the pending reports. Each reported ⟨H,b⟩ supports all values that are hashed by H to b, which are
+     * half of the input values. The domain is processed shard by shard, and each shard is updated by all pending
+     * reports.
+     */
+    @Override
+    protected void aggregate() {
+        int batchNum = pendingNum;
+        if (batchNum == 0) {
+            return;
+        }
+        domainShardIndexStream().forEach(shardIndex -> {
+            int fromItemIndex = shardIndex * DOMAIN_SHARD_SIZE;
+            int toItemIndex = Math.min(d, fromItemIndex + DOMAIN_SHARD_SIZE);
+            for (int reportIndex = 0; reportIndex < batchNum; reportIndex++) {
+                int seed = pendingSeeds[reportIndex];
+                byte byteB = pendingBs[reportIndex];
+                for (int itemIndex = fromItemIndex; itemIndex < toItemIndex; itemIndex++) {
+                    byte itemB = (byte) (Math.abs(intHash.hash(itemIndex, seed)) % 2);
+                    if (itemB == byteB) {
+                        budget[itemIndex]++;
+                    }
+                }
+            }
+        });
+        pendingNum = 0;
+    }
+
+    @Override
+    protected int[][] getIntBudgets() {
+        return new int[][]{budget};
     }
 
     @Override
     public Map<String, Double> estimate() {
+        aggregate();
         return IntStream.range(0, d)
             .boxed()
             .collect(Collectors.toMap(
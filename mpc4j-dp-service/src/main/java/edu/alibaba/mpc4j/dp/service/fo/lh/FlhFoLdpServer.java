@@ -8,6 +8,7 @@ import edu.alibaba.mpc4j.dp.service.fo.AbstractFoLdpServer;
 import edu.alibaba.mpc4j.dp.service.fo.config.FlhFoLdpConfig;
 import edu.alibaba.mpc4j.dp.service.fo.config.FoLdpConfig;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -51,9 +52,17 @@ public class FlhFoLdpServer extends AbstractFoLdpServer {
      */
     private final int kByteLength;
     /**
-     * pre-compute a k′ × d matrix
+     * the hash seeds
+     */
+    private final int[] hashSeeds;
+    /**
+     * pre-compute a k′ × d matrix. The (i, j)-th entry is the rank of h_i(j) among the distinct hash values of h_i
      */
     private final int[][] hashMap;
+    /**
+     * the sorted distinct hash values of each hash function, at most min(g, d) values for each hash function
+     */
+    private final int[][] hashValues;
     /**
      * the bucket
      */
@@ -66,6 +75,14 @@ public class FlhFoLdpServer extends AbstractFoLdpServer {
      * q* = 1 / g
      */
     private final double qStar;
+    /**
+     * the number of pending reports for each ⟨H, y⟩, indexed by the rank of y among the distinct hash values of H
+     */
+    private final int[][] pendingCounts;
+    /**
+     * the number of pending reports for each H
+     */
+    private final int[] pendingHashNums;
 
     public FlhFoLdpServer(FoLdpConfig config) {
         super(config);
@@ -79,21 +96,37 @@ public class FlhFoLdpServer extends AbstractFoLdpServer {
         IntHash intHash = IntHashFactory.fastestInstance();
         k = flhFoLdpConfig.getK();
         kByteLength = IntUtils.boundedNonNegIntByteLength(k);
-        int[] hashSeeds = flhFoLdpConfig.getHashSeeds();
+        hashSeeds = flhFoLdpConfig.getHashSeeds();
         hashMap = new int[k][d];
-        byte[][] itemIndexBytesArray = IntStream.range(0, d)
-            .mapToObj(IntUtils::intToByteArray)
-            .toArray(byte[][]::new);
+        hashValues = new int[k][];
+        pendingCounts = new int[k][];
         for (int i = 0; i < k; i++) {
+            int[] hashRow = hashMap[i];
             for (int j = 0; j < d; j++) {
-                hashMap[i][j] = Math.abs(intHash.hash(itemIndexBytesArray[j], hashSeeds[i]) % g);
+                hashRow[j] = Math.abs(intHash.hash(j, hashSeeds[i]) % g);
             }
+            // g may be much larger than d, so that we index reports by the rank of y instead of y itself
+            int[] sortedHashRow = Arrays.copyOf(hashRow, d);
+            Arrays.sort(sortedHashRow);
+            int distinctNum = 0;
+            for (int j = 0; j < d; j++) {
+                if (j == 0 || sortedHashRow[j] != sortedHashRow[j - 1]) {
+                    sortedHashRow[distinctNum] = sortedHashRow[j];
+                    distinctNum++;
+                }
+            }
+            hashValues[i] = Arrays.copyOf(sortedHashRow, distinctNum);
+            for (int j = 0; j < d; j++) {
+                hashRow[j] = Arrays.binarySearch(hashValues[i], hashRow[j]);
+            }
+            pendingCounts[i] = new int[distinctNum];
         }
         pStar = expEpsilon / (expEpsilon + g - 1);
         // q^* = 1 / g
         qStar = 1.0 / g;
         // init budget
         budget = new int[d];
+        pendingHashNums = new int[k];
     }
 
     @Override
@@ -109,18 +142,58 @@ public class FlhFoLdpServer extends AbstractFoLdpServer {
         System.arraycopy(itemBytes, kByteLength, yBytes, 0, yBytes.length);
         int y = IntUtils.byteArrayToBoundedNonNegInt(yBytes, g);
         MathPreconditions.checkNonNegativeInRange("y", y, g);
-        // each reported ⟨H, y⟩ supports all values that are hashed by H to y
-        IntStream.range(0, d)
-            .forEach(itemIndex -> {
-                if (hashMap[hashIndex][itemIndex] == y) {
-                    budget[itemIndex]++;
-                }
-            });
+        // reports with the same ⟨H, y⟩ support the same values, so that we only need to count them
+        int yRank = Arrays.binarySearch(hashValues[hashIndex], y);
+        if (yRank >= 0) {
+            pendingCounts[hashIndex][yRank]++;
+            pendingHashNums[hashIndex]++;
+        }
         num++;
     }
 
+    /**
+     * Aggregates the pending reports. Each reported ⟨H, y⟩ supports all values that are hashed by H to y, so that the
+     * budget of the j-th item increases by the number of pending reports with ⟨H_i, h_i(j)⟩ for each i ∈ [k']. This
+     * costs O(k'd) no matter how many reports are pending. Reports ⟨H, y⟩ where no value is hashed by H to y support
+     * nothing, and are not pending.
+     */
+    @Override
+    protected void aggregate() {
+        domainShardIndexStream().forEach(shardIndex -> {
+            int fromItemIndex = shardIndex * DOMAIN_SHARD_SIZE;
+            int toItemIndex = Math.min(d, fromItemIndex + DOMAIN_SHARD_SIZE);
+            for (int hashIndex = 0; hashIndex < k; hashIndex++) {
+                if (pendingHashNums[hashIndex] == 0) {
+                    continue;
+                }
+                int[] hashRow = hashMap[hashIndex];
+                int[] pendingCountRow = pendingCounts[hashIndex];
+                for (int itemIndex = fromItemIndex; itemIndex < toItemIndex; itemIndex++) {
+                    budget[itemIndex] += pendingCountRow[hashRow[itemIndex]];
+                }
+            }
+        });
+        for (int hashIndex = 0; hashIndex < k; hashIndex++) {
+            if (pendingHashNums[hashIndex] > 0) {
+                Arrays.fill(pendingCounts[hashIndex], 0);
+                pendingHashNums[hashIndex] = 0;
+            }
+        }
+    }
+
+    @Override
+    protected int[] getHashSeeds() {
+        return hashSeeds;
+    }
+
+    @Override
+    protected int[][] getIntBudgets() {
+        return new int[][]{budget};
+    }
+
     @Override
     public Map<String, Double> estimate() {
+        aggregate();
         return IntStream.range(0, d)
             .boxed()
             .collect(Collectors.toMap(
@@ -30,6 +30,10 @@ import java.util.stream.IntStream;
  * @date 2023/2/2
  */
 public class OlhFoLdpServer extends AbstractFoLdpServer {
+    /**
+     * max number of pending reports
+     */
+    private static final int MAX_PENDING_NUM = 1 << 12;
     /**
      * g = e^ε + 1
      */
@@ -54,6 +58,18 @@ public class OlhFoLdpServer extends AbstractFoLdpServer {
      * q* = 1 / g
      */
     private final double qStar;
+    /**
+     * seeds of the pending reports
+     */
+    private final int[] pendingSeeds;
+    /**
+     * y of the pending reports
+     */
+    private final int[] pendingYs;
+    /**
+     * the number of pending reports
+     */
+    private int pendingNum;
 
     public OlhFoLdpServer(FoLdpConfig config) {
         super(config);
@@ -73,6 +89,9 @@ public class OlhFoLdpServer extends AbstractFoLdpServer {
         intHash = IntHashFactory.fastestInstance();
         // init budget
         budget = new int[d];
+        pendingSeeds = new int[MAX_PENDING_NUM];
+        pendingYs = new int[MAX_PENDING_NUM];
+        pendingNum = 0;
     }
 
     @Override
@@ -87,20 +106,50 @@ public class OlhFoLdpServer extends AbstractFoLdpServer {
         System.arraycopy(itemBytes, Integer.BYTES, yBytes, 0, yBytes.length);
         int y = IntUtils.byteArrayToBoundedNonNegInt(yBytes, g);
         MathPreconditions.checkNonNegativeInRange("y", y, g);
-        // each reported ⟨H, y⟩ supports all values that are hashed by H to y
-        IntStream.range(0, d)
-            .forEach(itemIndex -> {
-                byte[] itemIndexBytes = IntUtils.intToByteArray(itemIndex);
-                int hv = Math.abs(intHash.hash(itemIndexBytes, seed) % g);
-                if (hv == y) {
-                    budget[itemIndex]++;
-                }
-            });
+        // the report is aggregated lazily
+        pendingSeeds[pendingNum] = seed;
+        pendingYs[pendingNum] = y;
+        pendingNum++;
         num++;
+        if (pendingNum == MAX_PENDING_NUM) {
+            aggregate();
+        }
+    }
+
+    /**
+     * Aggregates the pending reports. Each reported ⟨H, y⟩ supports all values that are hashed by H to y. The domain is
+     * processed shard by shard, and each shard is updated by all pending reports.
+     */
+    @Override
+    protected void aggregate() {
+        int batchNum = pendingNum;
+        if (batchNum == 0) {
+            return;
+        }
+        domainShardIndexStream().forEach(shardIndex -> {
+            int fromItemIndex = shardIndex * DOMAIN_SHARD_SIZE;
+            int toItemIndex = Math.min(d, fromItemIndex + DOMAIN_SHARD_SIZE);
+            for (int reportIndex = 0; reportIndex < batchNum; reportIndex++) {
+                int seed = pendingSeeds[reportIndex];
+                int y = pendingYs[reportIndex];
+                for (int itemIndex = fromItemIndex; itemIndex < toItemIndex; itemIndex++) {
+                    if (Math.abs(intHash.hash(itemIndex, seed) % g) == y) {
+                        budget[itemIndex]++;
+                    }
+                }
+            }
+        });
+        pendingNum = 0;
+    }
+
+    @Override
+    protected int[][] getIntBudgets() {
+        return new int[][]{budget};
     }
 
     @Override
     public Map<String, Double> estimate() {
+        aggregate();
         return IntStream.range(0, d)
             .boxed()
             .collect(Collectors.toMap(
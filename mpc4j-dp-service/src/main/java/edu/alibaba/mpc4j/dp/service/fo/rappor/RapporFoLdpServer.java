@@ -20,6 +20,7 @@ import smile.regression.LASSO;
 import smile.regression.LinearModel;
 import smile.regression.RidgeRegression;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -133,6 +134,19 @@ public class RapporFoLdpServer extends AbstractFoLdpServer {
         });
     }
 
+    @Override
+    protected int[] getHashSeeds() {
+        return Arrays.stream(hashSeeds).flatMapToInt(Arrays::stream).toArray();
+    }
+
+    @Override
+    protected int[][] getIntBudgets() {
+        // the budget of each cohort, and the cohort counts
+        int[][] intBudgets = Arrays.copyOf(budget, cohortNum + 1);
+        intBudgets[cohortNum] = cohortCounts;
+        return intBudgets;
+    }
+
     @Override
     public Map<String, Double> estimate() {
         int[][] x = createX();
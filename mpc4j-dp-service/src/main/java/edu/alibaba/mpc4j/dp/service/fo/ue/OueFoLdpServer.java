@@ -46,6 +46,11 @@ public class OueFoLdpServer extends AbstractFoLdpServer {
         });
     }
 
+    @Override
+    protected int[][] getIntBudgets() {
+        return new int[][]{budget};
+    }
+
     @Override
     public Map<String, Double> estimate() {
         return IntStream.range(0, d)
@@ -48,6 +48,11 @@ public class SueFoLdpServer extends AbstractFoLdpServer {
         });
     }
 
+    @Override
+    protected int[][] getIntBudgets() {
+        return new int[][]{budget};
+    }
+
     @Override
     public Map<String, Double> estimate() {
         return IntStream.range(0, d)
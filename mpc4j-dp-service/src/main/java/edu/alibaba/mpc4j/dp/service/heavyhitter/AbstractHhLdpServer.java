@@ -1,8 +1,11 @@
 package edu.alibaba.mpc4j.dp.service.heavyhitter;
 
 import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.config.HhLdpConfig;
 
+import java.io.*;
+
 /**
  * abstract Heavy Hitter LDP server.
  *
@@ -43,6 +46,114 @@ public abstract class AbstractHhLdpServer implements HhLdpServer {
         Preconditions.checkArgument(hhLdpServerState.equals(expect), "The state must be %s: %s", expect, hhLdpServerState);
     }
 
+    @Override
+    public void merge(HhLdpServer that) {
+        Preconditions.checkArgument(that != this, "cannot merge a server into itself");
+        merge(that.snapshot());
+    }
+
+    @Override
+    public byte[] snapshot() {
+        try {
+            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+            DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream);
+            // write the type, d, k, ε / w and the state
+            dataOutputStream.writeUTF(type.name());
+            dataOutputStream.writeInt(d);
+            dataOutputStream.writeInt(k);
+            dataOutputStream.writeDouble(windowEpsilon);
+            dataOutputStream.writeUTF(hhLdpServerState.name());
+            writeSnapshot(dataOutputStream);
+            dataOutputStream.flush();
+            byte[] snapshot = byteArrayOutputStream.toByteArray();
+            dataOutputStream.close();
+            byteArrayOutputStream.close();
+            return snapshot;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Writes the server-specific state into the snapshot.
+     *
+     * @param dataOutputStream the snapshot output stream.
+     * @throws IOException if an I/O error occurs.
+     */
+    protected abstract void writeSnapshot(DataOutputStream dataOutputStream) throws IOException;
+
+    @Override
+    public void merge(byte[] snapshot) {
+        try {
+            DataInputStream dataInputStream = new DataInputStream(new ByteArrayInputStream(snapshot));
+            // read the type, d, k, ε / w and the state
+            HhLdpFactory.HhLdpType thatType = HhLdpFactory.HhLdpType.valueOf(dataInputStream.readUTF());
+            Preconditions.checkArgument(type.equals(thatType), "type must be %s: %s", type, thatType);
+            MathPreconditions.checkEqual("d", "that d", d, dataInputStream.readInt());
+            MathPreconditions.checkEqual("k", "that k", k, dataInputStream.readInt());
+            double thatWindowEpsilon = dataInputStream.readDouble();
+            Preconditions.checkArgument(
+                windowEpsilon == thatWindowEpsilon, "ε / w must be %s: %s", windowEpsilon, thatWindowEpsilon
+            );
+            HhLdpServerState thatState = HhLdpServerState.valueOf(dataInputStream.readUTF());
+            checkState(thatState);
+            mergeSnapshot(dataInputStream);
+            dataInputStream.close();
+        } catch (IOException | NegativeArraySizeException e) {
+            throw new IllegalArgumentException("Invalid snapshot", e);
+        }
+    }
+
+    /**
+     * Merges the server-specific state in the snapshot. Implementations must read and check the whole snapshot before
+     * changing the state, so that an invalid snapshot leaves the server unchanged.
+     *
+     * @param dataInputStream the snapshot input stream.
+     * @throws IOException if an I/O error occurs.
+     */
+    protected abstract void mergeSnapshot(DataInputStream dataInputStream) throws IOException;
+
+    /**
+     * Checks that the whole snapshot has been read.
+     *
+     * @param dataInputStream the snapshot input stream.
+     * @throws IOException if an I/O error occurs.
+     */
+    protected static void checkSnapshotEnd(DataInputStream dataInputStream) throws IOException {
+        Preconditions.checkArgument(dataInputStream.available() == 0, "the snapshot contains redundant bytes");
+    }
+
+    /**
+     * Writes an int array into the snapshot.
+     *
+     * @param dataOutputStream the snapshot output stream.
+     * @param intArray         the int array.
+     * @throws IOException if an I/O error occurs.
+     */
+    protected static void writeIntArray(DataOutputStream dataOutputStream, int[] intArray) throws IOException {
+        dataOutputStream.writeInt(intArray.length);
+        for (int value : intArray) {
+            dataOutputStream.writeInt(value);
+        }
+    }
+
+    /**
+     * Reads an int array with the expected length from the snapshot.
+     *
+     * @param dataInputStream the snapshot input stream.
+     * @param length          the expected length.
+     * @return the int array.
+     * @throws IOException if an I/O error occurs.
+     */
+    protected static int[] readIntArray(DataInputStream dataInputStream, int length) throws IOException {
+        MathPreconditions.checkEqual("length", "expect length", dataInputStream.readInt(), length);
+        int[] intArray = new int[length];
+        for (int i = 0; i < length; i++) {
+            intArray[i] = dataInputStream.readInt();
+        }
+        return intArray;
+    }
+
     @Override
     public HhLdpFactory.HhLdpType getType() {
         return type;
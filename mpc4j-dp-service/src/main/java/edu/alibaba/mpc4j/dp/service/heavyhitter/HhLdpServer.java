@@ -49,6 +49,30 @@ public interface HhLdpServer {
     @CanIgnoreReturnValue
     boolean randomizeInsert(byte[] itemBytes);
 
+    /**
+     * Merges the state of another server into this server. Both servers must be created from the same config and must
+     * be in the same state. Servers that track items with limited cells (e.g., HeavyGuardian-based servers) keep the
+     * items with the largest merged counts.
+     *
+     * @param that the other server.
+     */
+    void merge(HhLdpServer that);
+
+    /**
+     * Serializes the state into a snapshot. The snapshot can be merged into servers created from the same config, e.g.,
+     * servers running on other collector nodes.
+     *
+     * @return the snapshot.
+     */
+    byte[] snapshot();
+
+    /**
+     * Merges a snapshot into this server.
+     *
+     * @param snapshot the snapshot.
+     */
+    void merge(byte[] snapshot);
+
     /**
      * Responses Heavy Hitters.
      *
@@ -11,6 +11,9 @@ import edu.alibaba.mpc4j.dp.service.heavyhitter.utils.EmptyHhLdpServerContext;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.utils.HhLdpServerContext;
 import edu.alibaba.mpc4j.dp.service.tool.Domain;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -104,6 +107,30 @@ public class FoHhLdpServer extends AbstractHhLdpServer {
         }
     }
 
+    @Override
+    protected void writeSnapshot(DataOutputStream dataOutputStream) throws IOException {
+        dataOutputStream.writeInt(num);
+        writeIntArray(dataOutputStream, warmupFrequencies);
+        byte[] foLdpServerSnapshot = foLdpServer.snapshot();
+        dataOutputStream.writeInt(foLdpServerSnapshot.length);
+        dataOutputStream.write(foLdpServerSnapshot);
+    }
+
+    @Override
+    protected void mergeSnapshot(DataInputStream dataInputStream) throws IOException {
+        int thatNum = dataInputStream.readInt();
+        int[] thatWarmupFrequencies = readIntArray(dataInputStream, warmupFrequencies.length);
+        byte[] foLdpServerSnapshot = new byte[dataInputStream.readInt()];
+        dataInputStream.readFully(foLdpServerSnapshot);
+        checkSnapshotEnd(dataInputStream);
+        // the Frequency Oracle LDP server checks its snapshot before changing its state
+        foLdpServer.merge(foLdpServerSnapshot);
+        for (int itemIndex = 0; itemIndex < warmupFrequencies.length; itemIndex++) {
+            warmupFrequencies[itemIndex] += thatWarmupFrequencies[itemIndex];
+        }
+        num += thatNum;
+    }
+
     @Override
     public int getNum() {
         return num;
@@ -7,12 +7,15 @@ import edu.alibaba.mpc4j.common.tool.hash.IntHashFactory;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.AbstractHhLdpServer;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.HhLdpFactory;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.config.BdrHhgHhLdpConfig;
-import edu.alibaba.mpc4j.dp.service.tool.BucketDoubleComparator;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.utils.HgHhLdpServerContext;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.HhLdpServerState;
 import edu.alibaba.mpc4j.dp.service.tool.BucketDomain;
 import edu.alibaba.mpc4j.dp.service.tool.HeavyGuardianUtils;
+import edu.alibaba.mpc4j.dp.service.tool.HgBucket;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -36,10 +39,6 @@ public class BdrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
      * the non-cryptographic 32-bit hash function
      */
     private final IntHash intHash;
-    /**
-     * bucket comparator
-     */
-    private final BucketDoubleComparator bucketComparator;
     /**
      * budget num
      */
@@ -51,7 +50,7 @@ public class BdrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
     /**
      * w buckets, each bucket has λ_h cells
      */
-    private final ArrayList<Map<String, Double>> buckets;
+    private final ArrayList<HgBucket> buckets;
     /**
      * the HeavyGuardian random state
      */
@@ -87,7 +86,6 @@ public class BdrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
 
     public BdrHhgHhLdpServer(BdrHhgHhLdpConfig config) {
         super(config);
-        bucketComparator = new BucketDoubleComparator();
         w = config.getW();
         lambdaH = config.getLambdaH();
         // set |Ω| in each bucket, and insert empty elements in the bucket
@@ -98,9 +96,9 @@ public class BdrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
             .mapToObj(bucketIndex -> {
                 ArrayList<String> bucketDomainArrayList = new ArrayList<>(bucketDomain.getBucketDomainSet(bucketIndex));
                 assert bucketDomainArrayList.size() >= lambdaH;
-                Map<String, Double> bucket = new HashMap<>(lambdaH);
+                HgBucket bucket = new HgBucket(lambdaH);
                 for (int i = 0; i < lambdaH; i++) {
-                    bucket.put(bucketDomainArrayList.get(i), 0.0);
+                    bucket.add(bucketDomainArrayList.get(i), 0.0);
                 }
                 return bucket;
             })
@@ -137,16 +135,12 @@ public class BdrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
     public void stopWarmup() {
         checkState(HhLdpServerState.WARMUP);
         double hotNum = 0;
-        for (int budgetIndex = 0; budgetIndex < w; budgetIndex++) {
-            Map<String, Double> budget = buckets.get(budgetIndex);
+        for (HgBucket bucket : buckets) {
             // bias all counts and calculate λ
-            for (Map.Entry<String, Double> entry : budget.entrySet()) {
-                String item = entry.getKey();
-                double value = entry.getValue();
-                hotNum += value;
-                value = value * getDebiasFactor();
-                budget.put(item, value);
+            for (int cell = 0; cell < bucket.size(); cell++) {
+                hotNum += bucket.getCount(cell);
             }
+            bucket.multiplyCounts(getDebiasFactor());
         }
         // There are two ways of setting γ_H: (1) based on the priori knowledge; (2) warm-up setting.
         // If we manually set γ_H, it must be in range [0, 1], we do not need to update it. Otherwise, we compute it.
@@ -178,13 +172,7 @@ public class BdrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
             case WARMUP:
                 return;
             case STATISTICS:
-                Map<String, Double> bucket = buckets.get(bucketIndex);
-                for (Map.Entry<String, Double> itemEntry : bucket.entrySet()) {
-                    String item = itemEntry.getKey();
-                    double value = itemEntry.getValue();
-                    value += debiasCount();
-                    bucket.put(item, value);
-                }
+                buckets.get(bucketIndex).addCounts(debiasCount());
                 break;
             default:
                 throw new IllegalStateException();
@@ -208,22 +196,20 @@ public class BdrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
             debiasBucket(bucketIndex);
         }
         // find the weakest guardian
-        Map<String, Double> bucket = buckets.get(bucketIndex);
-        Map.Entry<String, Double> weakestCell = Collections.min(bucket.entrySet(), bucketComparator);
-        String weakestItem = weakestCell.getKey();
-        double weakestCount = weakestCell.getValue();
+        HgBucket bucket = buckets.get(bucketIndex);
+        int weakestCell = bucket.weakestCell();
+        double weakestCount = bucket.getCount(weakestCell);
         // Case 1: e is in one cell in the heavy part of A[h(e)] (being a king or a guardian).
-        if (bucket.containsKey(item)) {
+        int itemCell = bucket.indexOf(item);
+        if (itemCell >= 0) {
             // HeavyGuardian just increments the corresponding frequency (the count field) in the cell by 1.
-            double itemCount = bucket.get(item);
-            itemCount += insertCount();
-            bucket.put(item, itemCount);
+            bucket.setCount(itemCell, bucket.getCount(itemCell) + insertCount());
             return true;
         }
         // Case 2: e is not in the heavy part of A[h(e)], and there are still empty cells.
         if (bucket.size() < lambdaH) {
             // It inserts e into an empty cell, i.e., sets the ID field to e and sets the count field to 1.
-            bucket.put(item, insertCount() + defaultDebiasCount(bucketIndex));
+            bucket.add(item, insertCount() + defaultDebiasCount(bucketIndex));
             return true;
         }
         // Case 3: e is not in any cell in the heavy part of A[h(e)], and there is no empty cell.
@@ -245,11 +231,10 @@ public class BdrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
         // After decay, if the count field becomes 0, it replaces the ID field of the weakest guardian with e,
         // and sets the count field to 1
         if (weakestCount <= 0) {
-            bucket.remove(weakestItem);
-            bucket.put(item, insertCount() + defaultDebiasCount(bucketIndex));
+            bucket.replace(weakestCell, item, insertCount() + defaultDebiasCount(bucketIndex));
             return true;
         } else {
-            bucket.put(weakestItem, weakestCount);
+            bucket.setCount(weakestCell, weakestCount);
             return false;
         }
     }
@@ -257,8 +242,8 @@ public class BdrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
     @Override
     public Map<String, Double> heavyHitters() {
         Set<String> flatKeySet = buckets.stream()
-            .map(Map::keySet)
-            .flatMap(Set::stream)
+            .map(HgBucket::getItems)
+            .flatMap(List::stream)
             .collect(Collectors.toSet());
         // we first iterate items in each budget
         Map<String, Double> countMap = flatKeySet.stream()
@@ -277,7 +262,7 @@ public class BdrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
     private double response(String item) {
         int bucketIndex = HeavyGuardianUtils.getItemBucket(intHash, w, item);
         // first, it checks the heavy part in bucket A[h(e)].
-        Map<String, Double> bucket = buckets.get(bucketIndex);
+        HgBucket bucket = buckets.get(bucketIndex);
         switch (hhLdpServerState) {
             case WARMUP:
                 // return C
@@ -291,6 +276,34 @@ public class BdrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
         }
     }
 
+    @Override
+    protected void writeSnapshot(DataOutputStream dataOutputStream) throws IOException {
+        dataOutputStream.writeDouble(gammaH);
+        dataOutputStream.writeInt(num);
+        writeIntArray(dataOutputStream, ldpNums);
+        HeavyGuardianUtils.writeBuckets(dataOutputStream, buckets);
+    }
+
+    @Override
+    protected void mergeSnapshot(DataInputStream dataInputStream) throws IOException {
+        // the de-bias counts depend on γ_h, so that both servers must use the same γ_h
+        double thatGammaH = dataInputStream.readDouble();
+        Preconditions.checkArgument(gammaH == thatGammaH, "γ_h must be %s: %s", gammaH, thatGammaH);
+        int thatNum = dataInputStream.readInt();
+        int[] thatLdpNums = readIntArray(dataInputStream, w);
+        ArrayList<HgBucket> thatBuckets = HeavyGuardianUtils.readBuckets(dataInputStream, w, lambdaH);
+        checkSnapshotEnd(dataInputStream);
+        for (int bucketIndex = 0; bucketIndex < w; bucketIndex++) {
+            // an item that is not in a bucket has the default de-bias count of that bucket
+            HeavyGuardianUtils.mergeBucket(
+                buckets.get(bucketIndex), defaultDebiasCount(bucketIndex),
+                thatBuckets.get(bucketIndex), thatLdpNums[bucketIndex] * debiasCount()
+            );
+            ldpNums[bucketIndex] += thatLdpNums[bucketIndex];
+        }
+        num += thatNum;
+    }
+
     @Override
     public int getNum() {
         return num;
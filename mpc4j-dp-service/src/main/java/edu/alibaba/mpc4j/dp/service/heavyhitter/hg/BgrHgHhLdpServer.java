@@ -6,13 +6,16 @@ import edu.alibaba.mpc4j.common.tool.hash.IntHashFactory;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.AbstractHhLdpServer;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.HhLdpFactory;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.config.BgrHgHhLdpConfig;
-import edu.alibaba.mpc4j.dp.service.tool.BucketDoubleComparator;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.utils.HhLdpServerContext;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.utils.EmptyHhLdpServerContext;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.HhLdpServerState;
 import edu.alibaba.mpc4j.dp.service.tool.BucketDomain;
 import edu.alibaba.mpc4j.dp.service.tool.HeavyGuardianUtils;
+import edu.alibaba.mpc4j.dp.service.tool.HgBucket;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -32,10 +35,6 @@ public class BgrHgHhLdpServer extends AbstractHhLdpServer {
      * ln(b)
      */
     private static final double LN_B = Math.log(B);
-    /**
-     * bucket comparator
-     */
-    private final BucketDoubleComparator bucketComparator;
     /**
      * the non-cryptographic 32-bit hash function
      */
@@ -51,7 +50,7 @@ public class BgrHgHhLdpServer extends AbstractHhLdpServer {
     /**
      * w buckets, each bucket has λ_h cells
      */
-    private final ArrayList<Map<String, Double>> buckets;
+    private final ArrayList<HgBucket> buckets;
     /**
      * the HeavyGuardian random state
      */
@@ -75,7 +74,6 @@ public class BgrHgHhLdpServer extends AbstractHhLdpServer {
 
     public BgrHgHhLdpServer(BgrHgHhLdpConfig config) {
         super(config);
-        bucketComparator = new BucketDoubleComparator();
         w = config.getW();
         lambdaH = config.getLambdaH();
         // set |Ω| in each bucket, and insert empty elements in the bucket
@@ -86,9 +84,9 @@ public class BgrHgHhLdpServer extends AbstractHhLdpServer {
             .mapToObj(bucketIndex -> {
                 ArrayList<String> bucketDomainArrayList = new ArrayList<>(bucketDomain.getBucketDomainSet(bucketIndex));
                 assert bucketDomainArrayList.size() >= lambdaH;
-                Map<String, Double> bucket = new HashMap<>(lambdaH);
+                HgBucket bucket = new HgBucket(lambdaH);
                 for (int i = 0; i < lambdaH; i++) {
-                    bucket.put(bucketDomainArrayList.get(i), 0.0);
+                    bucket.add(bucketDomainArrayList.get(i), 0.0);
                 }
                 return bucket;
             })
@@ -116,13 +114,8 @@ public class BgrHgHhLdpServer extends AbstractHhLdpServer {
     public void stopWarmup() {
         checkState(HhLdpServerState.WARMUP);
         // bias all counts
-        for (Map<String, Double> bucket : buckets) {
-            for (Map.Entry<String, Double> entry : bucket.entrySet()) {
-                String item = entry.getKey();
-                double value = entry.getValue();
-                value = value * (p - q);
-                bucket.put(item, value);
-            }
+        for (HgBucket bucket : buckets) {
+            bucket.multiplyCounts(p - q);
         }
         hhLdpServerState = HhLdpServerState.STATISTICS;
     }
@@ -143,13 +136,7 @@ public class BgrHgHhLdpServer extends AbstractHhLdpServer {
     }
 
     private void debiasBucket(int bucketIndex) {
-        Map<String, Double> bucket = buckets.get(bucketIndex);
-        for (Map.Entry<String, Double> itemEntry : bucket.entrySet()) {
-            String item = itemEntry.getKey();
-            double value = itemEntry.getValue();
-            value += debiasCount();
-            bucket.put(item, value);
-        }
+        buckets.get(bucketIndex).addCounts(debiasCount());
     }
 
     private double getDebiasFactor() {
@@ -169,22 +156,20 @@ public class BgrHgHhLdpServer extends AbstractHhLdpServer {
             debiasBucket(bucketIndex);
         }
         // find the weakest guardian
-        Map<String, Double> bucket = buckets.get(bucketIndex);
-        Map.Entry<String, Double> weakestCell = Collections.min(bucket.entrySet(), bucketComparator);
-        String weakestItem = weakestCell.getKey();
-        double weakestCount = weakestCell.getValue();
+        HgBucket bucket = buckets.get(bucketIndex);
+        int weakestCell = bucket.weakestCell();
+        double weakestCount = bucket.getCount(weakestCell);
         // Case 1: e is in one cell in the heavy part of A[h(e)] (being a king or a guardian).
-        if (bucket.containsKey(item)) {
+        int itemCell = bucket.indexOf(item);
+        if (itemCell >= 0) {
             // HeavyGuardian just increments the corresponding frequency (the count field) in the cell by 1.
-            double itemCount = bucket.get(item);
-            itemCount += insertCount();
-            bucket.put(item, itemCount);
+            bucket.setCount(itemCell, bucket.getCount(itemCell) + insertCount());
             return true;
         }
         // Case 2: e is not in the heavy part of A[h(e)], and there are still empty cells.
         if (bucket.size() < lambdaH) {
             // It inserts e into an empty cell, i.e., sets the ID field to e and sets the count field to 1.
-            bucket.put(item, insertCount() + defaultDebiasCount(bucketIndex));
+            bucket.add(item, insertCount() + defaultDebiasCount(bucketIndex));
             return true;
         }
         // Case 3: e is not in any cell in the heavy part of A[h(e)], and there is no empty cell.
@@ -206,11 +191,10 @@ public class BgrHgHhLdpServer extends AbstractHhLdpServer {
         // After decay, if the count field becomes 0, it replaces the ID field of the weakest guardian with e,
         // and sets the count field to 1
         if (weakestCount <= 0) {
-            bucket.remove(weakestItem);
-            bucket.put(item, insertCount() + defaultDebiasCount(bucketIndex));
+            bucket.replace(weakestCell, item, insertCount() + defaultDebiasCount(bucketIndex));
             return true;
         } else {
-            bucket.put(weakestItem, weakestCount);
+            bucket.setCount(weakestCell, weakestCount);
             return false;
         }
     }
@@ -218,8 +202,8 @@ public class BgrHgHhLdpServer extends AbstractHhLdpServer {
     @Override
     public Map<String, Double> heavyHitters() {
         Set<String> flatKeySet = buckets.stream()
-            .map(Map::keySet)
-            .flatMap(Set::stream)
+            .map(HgBucket::getItems)
+            .flatMap(List::stream)
             .collect(Collectors.toSet());
         // we first iterate items in each budget
         Map<String, Double> countMap = flatKeySet.stream()
@@ -238,7 +222,7 @@ public class BgrHgHhLdpServer extends AbstractHhLdpServer {
     private double response(String item) {
         int bucketIndex = HeavyGuardianUtils.getItemBucket(intHash, w, item);
         // first, it checks the heavy part in bucket A[h(e)].
-        Map<String, Double> bucket = buckets.get(bucketIndex);
+        HgBucket bucket = buckets.get(bucketIndex);
         switch (hhLdpServerState) {
             case WARMUP:
                 // return C
@@ -252,6 +236,30 @@ public class BgrHgHhLdpServer extends AbstractHhLdpServer {
         }
     }
 
+    @Override
+    protected void writeSnapshot(DataOutputStream dataOutputStream) throws IOException {
+        dataOutputStream.writeInt(num);
+        writeIntArray(dataOutputStream, ldpNums);
+        HeavyGuardianUtils.writeBuckets(dataOutputStream, buckets);
+    }
+
+    @Override
+    protected void mergeSnapshot(DataInputStream dataInputStream) throws IOException {
+        int thatNum = dataInputStream.readInt();
+        int[] thatLdpNums = readIntArray(dataInputStream, w);
+        ArrayList<HgBucket> thatBuckets = HeavyGuardianUtils.readBuckets(dataInputStream, w, lambdaH);
+        checkSnapshotEnd(dataInputStream);
+        for (int bucketIndex = 0; bucketIndex < w; bucketIndex++) {
+            // an item that is not in a bucket has the default de-bias count of that bucket
+            HeavyGuardianUtils.mergeBucket(
+                buckets.get(bucketIndex), defaultDebiasCount(bucketIndex),
+                thatBuckets.get(bucketIndex), thatLdpNums[bucketIndex] * debiasCount()
+            );
+            ldpNums[bucketIndex] += thatLdpNums[bucketIndex];
+        }
+        num += thatNum;
+    }
+
     @Override
     public int getNum() {
         return num;
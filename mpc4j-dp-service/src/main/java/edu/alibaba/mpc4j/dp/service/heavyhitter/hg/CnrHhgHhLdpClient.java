@@ -8,6 +8,7 @@ import edu.alibaba.mpc4j.dp.service.heavyhitter.config.CnrHhgHhLdpConfig;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.utils.HgHhLdpServerContext;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.utils.HhLdpServerContext;
 import edu.alibaba.mpc4j.dp.service.tool.BucketDomain;
+import edu.alibaba.mpc4j.dp.service.tool.HgBucket;
 
 import java.util.*;
 import java.util.stream.IntStream;
@@ -85,58 +86,57 @@ public class CnrHhgHhLdpClient extends AbstractHhLdpClient {
         checkItemInDomain(item);
         int bucketIndex = bucketDomain.getItemBucket(item);
         assert bucketDomain.getBucketDomainSet(bucketIndex).contains(item);
-        Map<String, Double> currentBucket = hgServerContext.getBucket(bucketIndex);
+        HgBucket currentBucket = hgServerContext.getBucket(bucketIndex);
         assert currentBucket.size() == lambdaH;
         if (bucketDomain.getD(bucketIndex) == lambdaH) {
             // if the domain size equals to λ_h, then there is no cold item, use M2
-            return mechanism2(currentBucket.keySet(), item, random).getBytes(HhLdpFactory.DEFAULT_CHARSET);
+            return mechanism2(currentBucket, item, random).getBytes(HhLdpFactory.DEFAULT_CHARSET);
         }
         // M1
-        boolean flag = mechanism1(currentBucket.keySet(), item, random);
+        boolean flag = mechanism1(currentBucket, item, random);
         // M2
         if (flag) {
             // v is determined as hot
-            return mechanism2(currentBucket.keySet(), item, random).getBytes(HhLdpFactory.DEFAULT_CHARSET);
+            return mechanism2(currentBucket, item, random).getBytes(HhLdpFactory.DEFAULT_CHARSET);
         } else {
             // v is determined as cold
             return mechanism3(bucketIndex, currentBucket, item, random).getBytes(HhLdpFactory.DEFAULT_CHARSET);
         }
     }
 
-    private boolean mechanism1(Set<String> currentBucketItemSet, String item, Random random) {
+    private boolean mechanism1(HgBucket currentBucket, String item, Random random) {
         // Let b = Ber(e^ε_1 / (e^ε_1 + 1))
         SecureBernoulliSampler bernoulliSampler = new SecureBernoulliSampler(random, p1);
         boolean b = bernoulliSampler.sample();
         // if b == 1: if v ∈ HG, flag = 1, else flag = 0, if b == 0: if v ∈ HG, flag = 0, else flag = 1
         // this is identical to (b XOR v ∈ HG)
-        return b == currentBucketItemSet.contains(item);
+        return b == currentBucket.contains(item);
     }
 
-    private String mechanism2(Set<String> currentBucketItemSet, String item, Random random) {
-        ArrayList<String> currentBudgetItemArrayList = new ArrayList<>(currentBucketItemSet);
+    private String mechanism2(HgBucket currentBucket, String item, Random random) {
         double randomSample = random.nextDouble();
         // Randomly sample an integer in [0, λ_h)
         int randomIndex = random.nextInt(lambdaH);
-        if (currentBucketItemSet.contains(item)) {
+        if (currentBucket.contains(item)) {
             // if v ∈ HG, use random response
             if (randomSample > p2 - q2) {
                 // answer a random item in the current heavy hitter
-                return currentBudgetItemArrayList.get(randomIndex);
+                return currentBucket.getItem(randomIndex);
             } else {
                 // answer the true item
                 return item;
             }
         } else {
             // if v ∉ HG, choose a random item in the current heavy hitter
-            return currentBudgetItemArrayList.get(randomIndex);
+            return currentBucket.getItem(randomIndex);
         }
     }
 
-    private String mechanism3(int bucketIndex, Map<String, Double> currentBudget, String item, Random random) {
+    private String mechanism3(int bucketIndex, HgBucket currentBucket, String item, Random random) {
         // note that we must return cold items in mechanism 3
         int bucketD = bucketDomain.getD(bucketIndex);
         // Honestly creating a remained set and randomly picking an element is slow, here we use re-sample technique.
-        if (!currentBudget.containsKey(item)) {
+        if (!currentBucket.contains(item)) {
             // if v ∉ HG, use random response
             double randomSample = random.nextDouble();
             if (randomSample > p3s[bucketIndex] - q3s[bucketIndex]) {
@@ -144,7 +144,7 @@ public class CnrHhgHhLdpClient extends AbstractHhLdpClient {
                 while (true) {
                     int randomIndex = random.nextInt(bucketD);
                     String randomizedItem = bucketDomain.getBucketIndexItem(bucketIndex, randomIndex);
-                    if (!currentBudget.containsKey(randomizedItem)) {
+                    if (!currentBucket.contains(randomizedItem)) {
                         return randomizedItem;
                     }
                 }
@@ -157,7 +157,7 @@ public class CnrHhgHhLdpClient extends AbstractHhLdpClient {
             while (true) {
                 int randomIndex = random.nextInt(bucketD);
                 String randomizedItem = bucketDomain.getBucketIndexItem(bucketIndex, randomIndex);
-                if (!currentBudget.containsKey(randomizedItem)) {
+                if (!currentBucket.contains(randomizedItem)) {
                     return randomizedItem;
                 }
             }
@@ -8,11 +8,14 @@ import edu.alibaba.mpc4j.dp.service.heavyhitter.AbstractHhLdpServer;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.HhLdpFactory;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.HhLdpServerState;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.config.CnrHhgHhLdpConfig;
-import edu.alibaba.mpc4j.dp.service.tool.BucketDoubleComparator;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.utils.HgHhLdpServerContext;
 import edu.alibaba.mpc4j.dp.service.tool.BucketDomain;
 import edu.alibaba.mpc4j.dp.service.tool.HeavyGuardianUtils;
+import edu.alibaba.mpc4j.dp.service.tool.HgBucket;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -32,10 +35,6 @@ public class CnrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
      * ln(b)
      */
     private static final double LN_B = Math.log(B);
-    /**
-     * bucket comparator
-     */
-    private final BucketDoubleComparator bucketComparator;
     /**
      * the non-cryptographic 32-bit hash function
      */
@@ -59,11 +58,11 @@ public class CnrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
     /**
      * w heavy buckets, each bucket has λ_h cells
      */
-    private final ArrayList<Map<String, Double>> buckets;
+    private final ArrayList<HgBucket> buckets;
     /**
      * w buffers, each bucket has λ_l cells
      */
-    private final ArrayList<Map<String, Double>> buffers;
+    private final ArrayList<HgBucket> buffers;
     /**
      * the HeavyGuardian random state
      */
@@ -107,7 +106,6 @@ public class CnrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
 
     public CnrHhgHhLdpServer(CnrHhgHhLdpConfig config) {
         super(config);
-        bucketComparator = new BucketDoubleComparator();
         w = config.getW();
         lambdaH = config.getLambdaH();
         lambdaL = config.getLambdaL();
@@ -125,14 +123,13 @@ public class CnrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
             // init the bucket domain
             bucketDs[bucketIndex] = bucketD;
             // init the bucket, full the budget with 0-count dummy items
-            Map<String, Double> bucket = new HashMap<>(lambdaH);
+            HgBucket bucket = new HgBucket(lambdaH);
             for (int i = 0; i < lambdaH; i++) {
-                bucket.put(bucketDomainArrayList.get(i), 0.0);
+                bucket.add(bucketDomainArrayList.get(i), 0.0);
             }
             buckets.add(bucket);
             // init the buffer
-            Map<String, Double> buffer = new HashMap<>(lambdaL);
-            buffers.add(buffer);
+            buffers.add(new HgBucket(lambdaL));
         });
         // init hash function
         intHash = IntHashFactory.fastestInstance();
@@ -175,19 +172,18 @@ public class CnrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
         num++;
         // it first computes the hash function h(e) (1 ⩽ h(e) ⩽ w) to map e to bucket A[h(e)].
         int bucketIndex = HeavyGuardianUtils.getItemBucket(intHash, w, item);
-        Map<String, Double> bucket = buckets.get(bucketIndex);
+        HgBucket bucket = buckets.get(bucketIndex);
         // Case 1: e is in one cell in the heavy part of A[h(e)] (being a king or a guardian).
-        if (bucket.containsKey(item)) {
+        int itemCell = bucket.indexOf(item);
+        if (itemCell >= 0) {
             // HeavyGuardian just increments the corresponding frequency (the count field) in the cell by 1.
-            double itemCount = bucket.get(item);
-            itemCount += 1.0;
-            bucket.put(item, itemCount);
+            bucket.setCount(itemCell, bucket.getCount(itemCell) + 1.0);
             return true;
         }
         // Case 2: e is not in the heavy part of A[h(e)], and there are still empty cells.
         if (bucket.size() < lambdaH) {
             // It inserts e into an empty cell, i.e., sets the ID field to e and sets the count field to 1.
-            bucket.put(item, 1.0);
+            bucket.add(item, 1.0);
             return true;
         }
         // Case 3: e is not in any cell in the heavy part of A[h(e)], and there is no empty cell.
@@ -196,9 +192,8 @@ public class CnrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
         // is the value of the Count field of the weakest guardian.
         assert bucket.size() == lambdaH;
         // find the weakest guardian
-        Map.Entry<String, Double> weakestBucketCell = Collections.min(bucket.entrySet(), bucketComparator);
-        String weakestBucketItem = weakestBucketCell.getKey();
-        double weakestBucketCount = weakestBucketCell.getValue();
+        int weakestBucketCell = bucket.weakestCell();
+        double weakestBucketCount = bucket.getCount(weakestBucketCell);
         // Sample a boolean value, with probability P = b^{−C}, the boolean value is 1
         // In LDP, the weakest count may be non-positive, if so, we do not need to sample, since it must be evicted.
         if (weakestBucketCount > 0) {
@@ -213,11 +208,10 @@ public class CnrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
         // After decay, if the count field becomes 0, it replaces the ID field of the weakest guardian with e,
         // and sets the count field to 1
         if (weakestBucketCount <= 0) {
-            bucket.remove(weakestBucketItem);
-            bucket.put(item, 1.0);
+            bucket.replace(weakestBucketCell, item, 1.0);
             return true;
         } else {
-            bucket.put(weakestBucketItem, weakestBucketCount);
+            bucket.setCount(weakestBucketCell, weakestBucketCount);
             return false;
         }
     }
@@ -226,16 +220,12 @@ public class CnrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
     public void stopWarmup() {
         checkState(HhLdpServerState.WARMUP);
         double hotNum = 0;
-        for (int budgetIndex = 0; budgetIndex < w; budgetIndex++) {
-            Map<String, Double> budget = buckets.get(budgetIndex);
+        for (HgBucket bucket : buckets) {
             // bias all counts and calculate λ
-            for (Map.Entry<String, Double> entry : budget.entrySet()) {
-                String item = entry.getKey();
-                double value = entry.getValue();
-                hotNum += value;
-                value = value * getBucketDebiasFactor();
-                budget.put(item, value);
+            for (int cell = 0; cell < bucket.size(); cell++) {
+                hotNum += bucket.getCount(cell);
             }
+            bucket.multiplyCounts(getBucketDebiasFactor());
         }
         // There are two ways of setting γ_H: (1) based on the priori knowledge; (2) warm-up setting.
         // If we manually set γ_H, it must be in range [0, 1], we do not need to update it. Otherwise, we compute it.
@@ -264,13 +254,7 @@ public class CnrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
     }
 
     private void bucketDebias(int bucketIndex) {
-        Map<String, Double> bucket = buckets.get(bucketIndex);
-        for (Map.Entry<String, Double> itemEntry : bucket.entrySet()) {
-            String item = itemEntry.getKey();
-            double value = itemEntry.getValue();
-            value += debiasBucketCount();
-            bucket.put(item, value);
-        }
+        buckets.get(bucketIndex).addCounts(debiasBucketCount());
     }
 
     private double getBucketDebiasFactor() {
@@ -285,21 +269,20 @@ public class CnrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
         num++;
         // it first computes the hash function h(e) (1 ⩽ h(e) ⩽ w) to map e to bucket A[h(e)].
         int bucketIndex = HeavyGuardianUtils.getItemBucket(intHash, w, item);
-        Map<String, Double> bucket = buckets.get(bucketIndex);
+        HgBucket bucket = buckets.get(bucketIndex);
         ldpBucketNums[bucketIndex]++;
         bucketDebias(bucketIndex);
         // Case 1: e is in one cell in the heavy part of A[h(e)] (being a king or a guardian).
-        if (bucket.containsKey(item)) {
+        int itemCell = bucket.indexOf(item);
+        if (itemCell >= 0) {
             // HeavyGuardian just increments the corresponding frequency (the count field) in the cell by 1.
-            double itemCount = bucket.get(item);
-            itemCount += insertBucketCount();
-            bucket.put(item, itemCount);
+            bucket.setCount(itemCell, bucket.getCount(itemCell) + insertBucketCount());
             return true;
         }
         // Case 2: e is not in the heavy part of A[h(e)], and there are still empty cells.
         if (bucket.size() < lambdaH) {
             // It inserts e into an empty cell, i.e., sets the ID field to e and sets the count field to 1.
-            bucket.put(item, insertBucketCount() + defaultDebiasBucketCount(bucketIndex));
+            bucket.add(item, insertBucketCount() + defaultDebiasBucketCount(bucketIndex));
             return true;
         }
         // Case 3: e is not in any cell in the heavy part of A[h(e)], and there is no empty cell.
@@ -308,9 +291,8 @@ public class CnrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
         // is the value of the Count field of the weakest guardian.
         assert bucket.size() == lambdaH;
         // find the weakest guardian
-        Map.Entry<String, Double> weakestBucketCell = Collections.min(bucket.entrySet(), bucketComparator);
-        String weakestBucketItem = weakestBucketCell.getKey();
-        double weakestBucketCount = weakestBucketCell.getValue();
+        int weakestBucketCell = bucket.weakestCell();
+        double weakestBucketCount = bucket.getCount(weakestBucketCell);
         // Sample a boolean value, with probability P = b^{−C}, the boolean value is 1
         // In LDP, the weakest count may be non-positive, if so, we do not need to sample, since it must be evicted.
         if (weakestBucketCount > 0) {
@@ -328,18 +310,21 @@ public class CnrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
         // and sets the count field to 1
         if (weakestBucketCount <= 0) {
             // find the strongest buffer cell
-            Map<String, Double> buffer = buffers.get(bucketIndex);
-            Map.Entry<String, Double> strongestBufferCell = Collections.max(buffer.entrySet(), bucketComparator);
-            String strongestBufferItem = strongestBufferCell.getKey();
+            HgBucket buffer = buffers.get(bucketIndex);
+            int strongestBufferCell = buffer.strongestCell();
+            String strongestBufferItem = buffer.getItem(strongestBufferCell);
+            String weakestBucketItem = bucket.getItem(weakestBucketCell);
             // put the strongest buffer item into the bucket
-            bucket.remove(weakestBucketItem);
-            bucket.put(strongestBufferItem, insertBucketCount() + defaultDebiasBucketCount(bucketIndex));
+            bucket.replace(
+                weakestBucketCell, strongestBufferItem, insertBucketCount() + defaultDebiasBucketCount(bucketIndex)
+            );
             // put the weakest bucket item into the buffer
-            buffer.remove(strongestBufferItem);
-            buffer.put(weakestBucketItem, insertBufferCount() + defaultDebiasBufferCount(bucketIndex));
+            buffer.replace(
+                strongestBufferCell, weakestBucketItem, insertBufferCount() + defaultDebiasBufferCount(bucketIndex)
+            );
             return true;
         } else {
-            bucket.put(weakestBucketItem, weakestBucketCount);
+            bucket.setCount(weakestBucketCell, weakestBucketCount);
             return false;
         }
     }
@@ -356,13 +341,7 @@ public class CnrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
     }
 
     private void bufferDebias(int bucketIndex) {
-        Map<String, Double> bucket = buckets.get(bucketIndex);
-        for (Map.Entry<String, Double> itemEntry : bucket.entrySet()) {
-            String item = itemEntry.getKey();
-            double value = itemEntry.getValue();
-            value += debiasBufferCount(bucketIndex);
-            bucket.put(item, value);
-        }
+        buckets.get(bucketIndex).addCounts(debiasBufferCount(bucketIndex));
     }
 
     private double defaultDebiasBufferCount(int bucketIndex) {
@@ -371,21 +350,20 @@ public class CnrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
 
     private void bufferInsert(String item, int bucketIndex) {
         // it first computes the hash function h(e) (1 ⩽ h(e) ⩽ w) to map e to bucket A[h(e)].
-        Map<String, Double> buffer = buffers.get(bucketIndex);
+        HgBucket buffer = buffers.get(bucketIndex);
         ldpBufferNums[bucketIndex]++;
         bufferDebias(bucketIndex);
         // Case 1: e is in one cell in the heavy part of A[h(e)] (being a king or a guardian).
-        if (buffer.containsKey(item)) {
+        int itemCell = buffer.indexOf(item);
+        if (itemCell >= 0) {
             // HeavyGuardian just increments the corresponding frequency (the count field) in the cell by 1.
-            double itemCount = buffer.get(item);
-            itemCount += insertBufferCount();
-            buffer.put(item, itemCount);
+            buffer.setCount(itemCell, buffer.getCount(itemCell) + insertBufferCount());
             return;
         }
         // Case 2: e is not in the heavy part of A[h(e)], and there are still empty cells.
         if (buffer.size() < lambdaL) {
             // It inserts e into an empty cell, i.e., sets the ID field to e and sets the count field to 1.
-            buffer.put(item, insertBufferCount() + defaultDebiasBufferCount(bucketIndex));
+            buffer.add(item, insertBufferCount() + defaultDebiasBufferCount(bucketIndex));
             return;
         }
         // Case 3: e is not in any cell in the heavy part of A[h(e)], and there is no empty cell.
@@ -394,9 +372,8 @@ public class CnrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
         // is the value of the Count field of the weakest guardian.
         assert buffer.size() == lambdaL;
         // find the weakest guardian
-        Map.Entry<String, Double> weakestBufferCell = Collections.min(buffer.entrySet(), bucketComparator);
-        String weakestBufferItem = weakestBufferCell.getKey();
-        double weakestBufferCount = weakestBufferCell.getValue();
+        int weakestBufferCell = buffer.weakestCell();
+        double weakestBufferCount = buffer.getCount(weakestBufferCell);
         // Sample a boolean value, with probability P = b^{−C}, the boolean value is 1
         // In LDP, the weakest count may be non-positive, if so, we do not need to sample, since it must be evicted.
         if (weakestBufferCount > 0) {
@@ -411,22 +388,21 @@ public class CnrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
         // After decay, if the count field becomes 0, it replaces the ID field of the weakest guardian with e,
         // and sets the count field to 1
         if (weakestBufferCount <= 0) {
-            buffer.remove(weakestBufferItem);
-            buffer.put(item, insertBufferCount() + defaultDebiasBufferCount(bucketIndex));
+            buffer.replace(weakestBufferCell, item, insertBufferCount() + defaultDebiasBufferCount(bucketIndex));
         } else {
-            buffer.put(weakestBufferItem, weakestBufferCount);
+            buffer.setCount(weakestBufferCell, weakestBufferCount);
         }
     }
 
     @Override
     public Map<String, Double> heavyHitters() {
         Set<String> bucketItemSet = buckets.stream()
-            .map(Map::keySet)
-            .flatMap(Set::stream)
+            .map(HgBucket::getItems)
+            .flatMap(List::stream)
             .collect(Collectors.toSet());
         Set<String> itemSet = buffers.stream()
-            .map(Map::keySet)
-            .flatMap(Set::stream).collect(Collectors.toSet());
+            .map(HgBucket::getItems)
+            .flatMap(List::stream).collect(Collectors.toSet());
         itemSet.addAll(bucketItemSet);
         // we first iterate items in each budget
         Map<String, Double> countMap = bucketItemSet.stream()
@@ -445,7 +421,7 @@ public class CnrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
     private double response(String item) {
         int bucketIndex = HeavyGuardianUtils.getItemBucket(intHash, w, item);
         // first, it checks the heavy part in bucket A[h(e)].
-        Map<String, Double> bucket = buckets.get(bucketIndex);
+        HgBucket bucket = buckets.get(bucketIndex);
         switch (hhLdpServerState) {
             case WARMUP:
                 // return C
@@ -459,6 +435,43 @@ public class CnrHhgHhLdpServer extends AbstractHhLdpServer implements HhgHhLdpSe
         }
     }
 
+    @Override
+    protected void writeSnapshot(DataOutputStream dataOutputStream) throws IOException {
+        dataOutputStream.writeDouble(gammaH);
+        dataOutputStream.writeInt(num);
+        writeIntArray(dataOutputStream, ldpBucketNums);
+        writeIntArray(dataOutputStream, ldpBufferNums);
+        HeavyGuardianUtils.writeBuckets(dataOutputStream, buckets);
+        HeavyGuardianUtils.writeBuckets(dataOutputStream, buffers);
+    }
+
+    @Override
+    protected void mergeSnapshot(DataInputStream dataInputStream) throws IOException {
+        // the de-bias counts depend on γ_h, so that both servers must use the same γ_h
+        double thatGammaH = dataInputStream.readDouble();
+        Preconditions.checkArgument(gammaH == thatGammaH, "γ_h must be %s: %s", gammaH, thatGammaH);
+        int thatNum = dataInputStream.readInt();
+        int[] thatLdpBucketNums = readIntArray(dataInputStream, w);
+        int[] thatLdpBufferNums = readIntArray(dataInputStream, w);
+        ArrayList<HgBucket> thatBuckets = HeavyGuardianUtils.readBuckets(dataInputStream, w, lambdaH);
+        ArrayList<HgBucket> thatBuffers = HeavyGuardianUtils.readBuckets(dataInputStream, w, lambdaL);
+        checkSnapshotEnd(dataInputStream);
+        for (int bucketIndex = 0; bucketIndex < w; bucketIndex++) {
+            // an item that is not in a bucket (or a buffer) has the default de-bias count of that bucket (or buffer)
+            HeavyGuardianUtils.mergeBucket(
+                buckets.get(bucketIndex), defaultDebiasBucketCount(bucketIndex),
+                thatBuckets.get(bucketIndex), thatLdpBucketNums[bucketIndex] * debiasBucketCount()
+            );
+            HeavyGuardianUtils.mergeBucket(
+                buffers.get(bucketIndex), defaultDebiasBufferCount(bucketIndex),
+                thatBuffers.get(bucketIndex), thatLdpBufferNums[bucketIndex] * debiasBucketCount()
+            );
+            ldpBucketNums[bucketIndex] += thatLdpBucketNums[bucketIndex];
+            ldpBufferNums[bucketIndex] += thatLdpBufferNums[bucketIndex];
+        }
+        num += thatNum;
+    }
+
     @Override
     public int getNum() {
         return num;
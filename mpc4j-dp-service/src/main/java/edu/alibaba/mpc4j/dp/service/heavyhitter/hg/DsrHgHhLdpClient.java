@@ -4,10 +4,10 @@ import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.AbstractHhLdpClient;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.HhLdpFactory;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.config.DsrHgHhLdpConfig;
-import edu.alibaba.mpc4j.dp.service.tool.BucketDoubleComparator;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.utils.HgHhLdpServerContext;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.utils.HhLdpServerContext;
 import edu.alibaba.mpc4j.dp.service.tool.BucketDomain;
+import edu.alibaba.mpc4j.dp.service.tool.HgBucket;
 
 import java.util.*;
 import java.util.stream.IntStream;
@@ -19,10 +19,6 @@ import java.util.stream.IntStream;
  * @date 2023/3/20
  */
 public class DsrHgHhLdpClient extends AbstractHhLdpClient {
-    /**
-     * bucket comparator
-     */
-    private final BucketDoubleComparator bucketComparator;
     /**
      * the bucket domain
      */
@@ -50,7 +46,6 @@ public class DsrHgHhLdpClient extends AbstractHhLdpClient {
 
     public DsrHgHhLdpClient(DsrHgHhLdpConfig config) {
         super(config);
-        bucketComparator = new BucketDoubleComparator();
         int w = config.getW();
         lambdaH = config.getLambdaH();
         bucketDomain = new BucketDomain(config.getDomainSet(), w, lambdaH);
@@ -80,16 +75,15 @@ public class DsrHgHhLdpClient extends AbstractHhLdpClient {
         checkItemInDomain(item);
         int bucketIndex = bucketDomain.getItemBucket(item);
         assert bucketDomain.getBucketDomainSet(bucketIndex).contains(item);
-        Map<String, Double> currentBucket = hgServerContext.getBucket(bucketIndex);
+        HgBucket currentBucket = hgServerContext.getBucket(bucketIndex);
         assert currentBucket.size() == lambdaH;
         // there must be λ_h elements in the budget, randomize the item
         return mechanism(bucketIndex, currentBucket, item, random).getBytes(HhLdpFactory.DEFAULT_CHARSET);
     }
 
-    private String mechanism(int bucketIndex, Map<String, Double> currentBucket, String item, Random random) {
+    private String mechanism(int bucketIndex, HgBucket currentBucket, String item, Random random) {
         // find the weakest guardian
-        Map.Entry<String, Double> weakestCell = Collections.min(currentBucket.entrySet(), bucketComparator);
-        double weakestCount = weakestCell.getValue();
+        double weakestCount = currentBucket.getCount(currentBucket.weakestCell());
         if (weakestCount <= 1.0) {
             // an item in HG is about to be evicted, use basic mechanism to response
             int bucketD = bucketDomain.getD(bucketIndex);
@@ -105,11 +99,11 @@ public class DsrHgHhLdpClient extends AbstractHhLdpClient {
         } else {
             // no item in HG will be evicted, response using {h_1, ..., k_{λ_h}, ⊥}
             String botItem = HhLdpFactory.BOT_PREFIX + bucketIndex;
-            ArrayList<String> sampleArrayList = new ArrayList<>(currentBucket.keySet());
+            ArrayList<String> sampleArrayList = new ArrayList<>(currentBucket.getItems());
             sampleArrayList.add(botItem);
             assert sampleArrayList.size() == lambdaH + 1;
             // if v ∈ HG, the target item is the item; otherwise, the target item is ⊥.
-            String targetItem = currentBucket.containsKey(item) ? item : botItem;
+            String targetItem = currentBucket.contains(item) ? item : botItem;
             double randomSample = random.nextDouble();
             if (randomSample > p - q) {
                 // answer a random item in {h_1, ..., k_{λ_h}, ⊥}
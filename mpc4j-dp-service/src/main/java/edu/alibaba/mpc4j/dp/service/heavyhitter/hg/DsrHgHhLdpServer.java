@@ -7,11 +7,14 @@ import edu.alibaba.mpc4j.dp.service.heavyhitter.AbstractHhLdpServer;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.HhLdpFactory;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.HhLdpServerState;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.config.DsrHgHhLdpConfig;
-import edu.alibaba.mpc4j.dp.service.tool.BucketDoubleComparator;
 import edu.alibaba.mpc4j.dp.service.heavyhitter.utils.HgHhLdpServerContext;
 import edu.alibaba.mpc4j.dp.service.tool.BucketDomain;
 import edu.alibaba.mpc4j.dp.service.tool.HeavyGuardianUtils;
+import edu.alibaba.mpc4j.dp.service.tool.HgBucket;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -31,10 +34,6 @@ public class DsrHgHhLdpServer extends AbstractHhLdpServer {
      * ln(b)
      */
     private static final double LN_B = Math.log(B);
-    /**
-     * bucket comparator
-     */
-    private final BucketDoubleComparator bucketComparator;
     /**
      * the non-cryptographic 32-bit hash function
      */
@@ -54,7 +53,7 @@ public class DsrHgHhLdpServer extends AbstractHhLdpServer {
     /**
      * w buckets, each bucket has λ_h cells
      */
-    private final ArrayList<Map<String, Double>> buckets;
+    private final ArrayList<HgBucket> buckets;
     /**
      * the HeavyGuardian random state
      */
@@ -90,7 +89,6 @@ public class DsrHgHhLdpServer extends AbstractHhLdpServer {
 
     public DsrHgHhLdpServer(DsrHgHhLdpConfig config) {
         super(config);
-        bucketComparator = new BucketDoubleComparator();
         w = config.getW();
         lambdaH = config.getLambdaH();
         // set |Ω| in each bucket, and insert empty elements in the bucket
@@ -103,9 +101,9 @@ public class DsrHgHhLdpServer extends AbstractHhLdpServer {
             ArrayList<String> bucketDomainArrayList = new ArrayList<>(bucketDomain.getBucketDomainSet(bucketIndex));
             int bucketD = bucketDomainArrayList.size();
             assert bucketD >= lambdaH;
-            Map<String, Double> bucket = new HashMap<>(lambdaH);
+            HgBucket bucket = new HgBucket(lambdaH);
             for (int i = 0; i < lambdaH; i++) {
-                bucket.put(bucketDomainArrayList.get(i), 0.0);
+                bucket.add(bucketDomainArrayList.get(i), 0.0);
             }
             buckets.add(bucket);
             bucketDs[bucketIndex] = bucketD;
@@ -147,15 +145,9 @@ public class DsrHgHhLdpServer extends AbstractHhLdpServer {
     @Override
     public void stopWarmup() {
         checkState(HhLdpServerState.WARMUP);
-        for (int budgetIndex = 0; budgetIndex < w; budgetIndex++) {
-            Map<String, Double> budget = buckets.get(budgetIndex);
+        for (HgBucket bucket : buckets) {
             // bias all counts
-            for (Map.Entry<String, Double> entry : budget.entrySet()) {
-                String item = entry.getKey();
-                double value = entry.getValue();
-                value = value * getDebiasFactor();
-                budget.put(item, value);
-            }
+            bucket.multiplyCounts(getDebiasFactor());
             // note that here the bucket may contain # of elements that is less than lambdaH
         }
         hhLdpServerState = HhLdpServerState.STATISTICS;
@@ -200,13 +192,7 @@ public class DsrHgHhLdpServer extends AbstractHhLdpServer {
     }
 
     private void debiasBucket(int bucketIndex, double weakestCount) {
-        Map<String, Double> bucket = buckets.get(bucketIndex);
-        for (Map.Entry<String, Double> itemEntry : bucket.entrySet()) {
-            String item = itemEntry.getKey();
-            double value = itemEntry.getValue();
-            value += debiasCount(bucketIndex, weakestCount);
-            bucket.put(item, value);
-        }
+        buckets.get(bucketIndex).addCounts(debiasCount(bucketIndex, weakestCount));
     }
 
     private double getDebiasFactor() {
@@ -231,10 +217,9 @@ public class DsrHgHhLdpServer extends AbstractHhLdpServer {
             bucketIndex = HeavyGuardianUtils.getItemBucket(intHash, w, item);
         }
         // find the weakest guardian
-        Map<String, Double> bucket = buckets.get(bucketIndex);
-        Map.Entry<String, Double> weakestCell = Collections.min(bucket.entrySet(), bucketComparator);
-        String weakestItem = weakestCell.getKey();
-        double weakestCount = weakestCell.getValue();
+        HgBucket bucket = buckets.get(bucketIndex);
+        int weakestCell = bucket.weakestCell();
+        double weakestCount = bucket.getCount(weakestCell);
         if (hhLdpServerState.equals(HhLdpServerState.STATISTICS)) {
             debiasBucket(bucketIndex, weakestCount);
             if (weakestCount <= 1.0) {
@@ -244,18 +229,17 @@ public class DsrHgHhLdpServer extends AbstractHhLdpServer {
             }
         }
         // Case 1: e is in one cell in the heavy part of A[h(e)] (being a king or a guardian).
-        if (bucket.containsKey(item)) {
+        int itemCell = bucket.indexOf(item);
+        if (itemCell >= 0) {
             // HeavyGuardian just increments the corresponding frequency (the count field) in the cell by 1.
-            double itemCount = bucket.get(item);
-            itemCount += insertCount(bucketIndex, weakestCount);
-            bucket.put(item, itemCount);
+            bucket.setCount(itemCell, bucket.getCount(itemCell) + insertCount(bucketIndex, weakestCount));
             return true;
         }
         // Case 2: e is not in the heavy part of A[h(e)], and there are still empty cells.
         if (bucket.size() < lambdaH) {
             assert !item.startsWith(HhLdpFactory.BOT_PREFIX) : "the item must not be ⊥: " + item;
             // It inserts e into an empty cell, i.e., sets the ID field to e and sets the count field to 1.
-            bucket.put(item, insertCount(bucketIndex, weakestCount) + defaultDebiasCount(bucketIndex));
+            bucket.add(item, insertCount(bucketIndex, weakestCount) + defaultDebiasCount(bucketIndex));
             return true;
         }
         // Case 3: e is not in any cell in the heavy part of A[h(e)], and there is no empty cell.
@@ -277,12 +261,11 @@ public class DsrHgHhLdpServer extends AbstractHhLdpServer {
         // After decay, if the count field becomes 0, it replaces the ID field of the weakest guardian with e,
         // and sets the count field to 1
         if (weakestCount <= 0) {
-            bucket.remove(weakestItem);
             assert !item.startsWith(HhLdpFactory.BOT_PREFIX) : "the item must not be ⊥: " + item;
-            bucket.put(item, insertCount(bucketIndex, weakestCount) + defaultDebiasCount(bucketIndex));
+            bucket.replace(weakestCell, item, insertCount(bucketIndex, weakestCount) + defaultDebiasCount(bucketIndex));
             return true;
         } else {
-            bucket.put(weakestItem, weakestCount);
+            bucket.setCount(weakestCell, weakestCount);
             return false;
         }
     }
@@ -290,8 +273,8 @@ public class DsrHgHhLdpServer extends AbstractHhLdpServer {
     @Override
     public Map<String, Double> heavyHitters() {
         Set<String> flatKeySet = buckets.stream()
-            .map(Map::keySet)
-            .flatMap(Set::stream)
+            .map(HgBucket::getItems)
+            .flatMap(List::stream)
             .collect(Collectors.toSet());
         // we first iterate items in each budget
         Map<String, Double> countMap = flatKeySet.stream()
@@ -310,7 +293,7 @@ public class DsrHgHhLdpServer extends AbstractHhLdpServer {
     private double response(String item) {
         int bucketIndex = HeavyGuardianUtils.getItemBucket(intHash, w, item);
         // first, it checks the heavy part in bucket A[h(e)].
-        Map<String, Double> bucket = buckets.get(bucketIndex);
+        HgBucket bucket = buckets.get(bucketIndex);
         switch (hhLdpServerState) {
             case WARMUP:
                 // return C
@@ -324,6 +307,35 @@ public class DsrHgHhLdpServer extends AbstractHhLdpServer {
         }
     }
 
+    @Override
+    protected void writeSnapshot(DataOutputStream dataOutputStream) throws IOException {
+        dataOutputStream.writeInt(num);
+        writeIntArray(dataOutputStream, ldpColdNums);
+        writeIntArray(dataOutputStream, ldpHotNums);
+        HeavyGuardianUtils.writeBuckets(dataOutputStream, buckets);
+    }
+
+    @Override
+    protected void mergeSnapshot(DataInputStream dataInputStream) throws IOException {
+        int thatNum = dataInputStream.readInt();
+        int[] thatLdpColdNums = readIntArray(dataInputStream, w);
+        int[] thatLdpHotNums = readIntArray(dataInputStream, w);
+        ArrayList<HgBucket> thatBuckets = HeavyGuardianUtils.readBuckets(dataInputStream, w, lambdaH);
+        checkSnapshotEnd(dataInputStream);
+        for (int bucketIndex = 0; bucketIndex < w; bucketIndex++) {
+            // an item that is not in a bucket has the default de-bias count of that bucket
+            double thatDefaultDebiasCount = thatLdpColdNums[bucketIndex] * debiasColdCount(bucketIndex)
+                + thatLdpHotNums[bucketIndex] * debiasHotCount();
+            HeavyGuardianUtils.mergeBucket(
+                buckets.get(bucketIndex), defaultDebiasCount(bucketIndex),
+                thatBuckets.get(bucketIndex), thatDefaultDebiasCount
+            );
+            ldpColdNums[bucketIndex] += thatLdpColdNums[bucketIndex];
+            ldpHotNums[bucketIndex] += thatLdpHotNums[bucketIndex];
+        }
+        num += thatNum;
+    }
+
     @Override
     public int getNum() {
         return num;
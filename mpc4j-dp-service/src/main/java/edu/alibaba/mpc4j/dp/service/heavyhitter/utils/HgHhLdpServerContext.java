@@ -1,13 +1,11 @@
 package edu.alibaba.mpc4j.dp.service.heavyhitter.utils;
 
-import edu.alibaba.mpc4j.dp.service.tool.BucketDoubleComparator;
+import edu.alibaba.mpc4j.dp.service.tool.HgBucket;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 import java.io.*;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Map;
 
 /**
  * The server context with Local Differential Privacy used in the HeavyGuardian-based solutions.
@@ -16,14 +14,10 @@ import java.util.Map;
  * @date 2022/11/23
  */
 public class HgHhLdpServerContext implements HhLdpServerContext {
-    /**
-     * bucket comparator
-     */
-    private final BucketDoubleComparator bucketComparator;
     /**
      * the bucket
      */
-    private final ArrayList<Map<String, Double>> buckets;
+    private final ArrayList<HgBucket> buckets;
 
     /**
      * Creates the context based on buckets.
@@ -31,16 +25,15 @@ public class HgHhLdpServerContext implements HhLdpServerContext {
      * @param buckets buckets.
      * @return the context.
      */
-    public static HgHhLdpServerContext fromBuckets(ArrayList<Map<String, Double>> buckets) {
+    public static HgHhLdpServerContext fromBuckets(ArrayList<HgBucket> buckets) {
         return new HgHhLdpServerContext(buckets);
     }
 
-    private HgHhLdpServerContext(ArrayList<Map<String, Double>> buckets) {
-        bucketComparator = new BucketDoubleComparator();
+    private HgHhLdpServerContext(ArrayList<HgBucket> buckets) {
         this.buckets = buckets;
     }
 
-    public Map<String, Double> getBucket(int bucketIndex) {
+    public HgBucket getBucket(int bucketIndex) {
         return buckets.get(bucketIndex);
     }
 
@@ -54,17 +47,16 @@ public class HgHhLdpServerContext implements HhLdpServerContext {
             int w = buckets.size();
             dataOutputStream.writeInt(w);
             // write each budget
-            for (Map<String, Double> bucket : buckets) {
+            for (HgBucket bucket : buckets) {
                 // write size
                 int bucketSize = bucket.size();
                 dataOutputStream.writeInt(bucketSize);
                 // write each element
-                for (Map.Entry<String, Double> entry : bucket.entrySet()) {
-                    dataOutputStream.writeUTF(entry.getKey());
+                for (String item : bucket.getItems()) {
+                    dataOutputStream.writeUTF(item);
                 }
                 // see if the last element count
-                Map.Entry<String, Double> weakestCell = Collections.min(bucket.entrySet(), bucketComparator);
-                double weakestCount = weakestCell.getValue();
+                double weakestCount = bucket.getCount(bucket.weakestCell());
                 dataOutputStream.writeBoolean(weakestCount <= 1);
             }
             dataOutputStream.flush();
@@ -4,16 +4,30 @@ import edu.alibaba.mpc4j.common.sampler.binary.bernoulli.ExpBernoulliSampler;
 import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.common.tool.hash.IntHash;
 import edu.alibaba.mpc4j.common.tool.hash.IntHashFactory;
-import edu.alibaba.mpc4j.common.tool.utils.ObjectUtils;
-import edu.alibaba.mpc4j.dp.service.tool.BucketIntegerComparator;
 import edu.alibaba.mpc4j.dp.service.tool.HeavyGuardianUtils;
 
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * The HeavyGuardian implementation.
+ * <p>
+ * Cells are stored in primitive arrays instead of per-bucket maps. The cells of the i-th bucket in the heavy part are
+ * in [i · λ_h, (i + 1) · λ_h) of the heavy part arrays, and each cell contains an item, its fingerprint (the hash
+ * code of the item) and its count. Looking up an item compares fingerprints before comparing items, so that most
+ * cells are skipped without touching the item. The light part is organized in the same way with λ_l cells in each
+ * bucket.
+ * </p>
+ * <p>
+ * Occupied cells in a bucket are [i · λ_h, i · λ_h + size), a new item is put into the next empty cell, and an evicted
+ * guardian is replaced in its cell. When several guardians are the weakest, we choose the one with the lowest cell
+ * index. The HeavyGuardian-based heavy hitter servers (see {@link edu.alibaba.mpc4j.dp.service.tool.HgBucket}) use the
+ * same tie-break, so that they output the same results with the same random state.
+ * </p>
+ * <p>
+ * Note that earlier versions broke ties in the iteration order of a {@code HashMap} bucket and moved the remaining
+ * cells after an eviction. The lowest-cell-index tie-break may evict a different guardian, so that the results under a
+ * fixed random state differ from the ones of earlier versions, while the estimation accuracy is the same.
+ * </p>
  *
  * @author Weiran Liu
  * @date 2022/11/15
@@ -27,10 +41,6 @@ public class HeavyGuardian implements StreamCounter {
      * ln(b)
      */
     private static final double LN_B = Math.log(B);
-    /**
-     * bucket comparator
-     */
-    private final BucketIntegerComparator bucketComparator;
     /**
      * the non-cryptographic 32-bit hash function
      */
@@ -44,17 +54,41 @@ public class HeavyGuardian implements StreamCounter {
      */
     private final int lambdaH;
     /**
-     * heavy part, w buckets, each bucket has λ_h cells
+     * items in the heavy part, w buckets, each bucket has λ_h cells
+     */
+    private final String[] heavyItems;
+    /**
+     * item fingerprints in the heavy part
+     */
+    private final int[] heavyFingerprints;
+    /**
+     * item counts in the heavy part
      */
-    private final ArrayList<Map<String, Integer>> heavyPart;
+    private final int[] heavyCounts;
+    /**
+     * the number of occupied cells in each bucket of the heavy part
+     */
+    private final int[] heavySizes;
     /**
      * λ_l, i.e., the cell num in the light part
      */
     private final int lambdaL;
     /**
-     * light part, w buckets, each bucket has λ_l cells
+     * items in the light part, w buckets, each bucket has λ_l cells
+     */
+    private final String[] lightItems;
+    /**
+     * item fingerprints in the light part
+     */
+    private final int[] lightFingerprints;
+    /**
+     * item counts in the light part
      */
-    private final ArrayList<Map<String, Integer>> lightPart;
+    private final int[] lightCounts;
+    /**
+     * the number of occupied cells in each bucket of the light part
+     */
+    private final int[] lightSizes;
     /**
      * random state
      */
@@ -69,21 +103,24 @@ public class HeavyGuardian implements StreamCounter {
     }
 
     public HeavyGuardian(int w, int lambdaH, int lambdaL, Random random) {
-        bucketComparator = new BucketIntegerComparator();
         MathPreconditions.checkPositive("w (# of buckets)", w);
         this.w = w;
         // init heavy part
         MathPreconditions.checkPositive("λ_h (# of heavy part)", lambdaH);
         this.lambdaH = lambdaH;
-        heavyPart = IntStream.range(0, w)
-            .mapToObj(bucketIndex -> new HashMap<String, Integer>(lambdaH))
-            .collect(Collectors.toCollection(ArrayList::new));
+        int heavyCellNum = Math.multiplyExact(w, lambdaH);
+        heavyItems = new String[heavyCellNum];
+        heavyFingerprints = new int[heavyCellNum];
+        heavyCounts = new int[heavyCellNum];
+        heavySizes = new int[w];
         // init light part
         MathPreconditions.checkNonNegative("λ_l (# of light part)", lambdaL);
         this.lambdaL = lambdaL;
-        lightPart = IntStream.range(0, w)
-            .mapToObj(bucketIndex -> new HashMap<String, Integer>(lambdaL))
-            .collect(Collectors.toCollection(ArrayList::new));
+        int lightCellNum = Math.multiplyExact(w, lambdaL);
+        lightItems = new String[lightCellNum];
+        lightFingerprints = new int[lightCellNum];
+        lightCounts = new int[lightCellNum];
+        lightSizes = new int[w];
         // init int hash
         intHash = IntHashFactory.fastestInstance();
         num = 0;
@@ -95,84 +132,111 @@ public class HeavyGuardian implements StreamCounter {
         num++;
         // it first computes the hash function h(e) (1 ⩽ h(e) ⩽ w) to map e to bucket A[h(e)].
         int bucketIndex = HeavyGuardianUtils.getItemBucket(intHash, w, item);
-        Map<String, Integer> heavyPartBucket = heavyPart.get(bucketIndex);
+        int fingerprint = item.hashCode();
+        int heavyOffset = bucketIndex * lambdaH;
+        int heavySize = heavySizes[bucketIndex];
         // We first try to insert e into the heavy part. If failed, then we insert it into the light part.
         // Case 1: e is in one cell in the heavy part of A[h(e)] (being a king or a guardian).
-        if (heavyPartBucket.containsKey(item)) {
+        int heavyCell = findCell(heavyItems, heavyFingerprints, heavyOffset, heavySize, item, fingerprint);
+        if (heavyCell >= 0) {
             // HeavyGuardian just increments the corresponding frequency (the count field) in the cell by 1.
-            int itemCount = heavyPartBucket.get(item);
-            itemCount++;
-            heavyPartBucket.put(item, itemCount);
+            heavyCounts[heavyCell]++;
             return true;
         }
         // Case 2: e is not in the heavy part of A[h(e)], and there are still empty cells.
-        if (heavyPartBucket.size() < lambdaH) {
+        if (heavySize < lambdaH) {
             // It inserts e into an empty cell, i.e., sets the ID field to e and sets the count field to 1.
-            heavyPartBucket.put(item, 1);
+            setCell(heavyItems, heavyFingerprints, heavyCounts, heavyOffset + heavySize, item, fingerprint);
+            heavySizes[bucketIndex]++;
             return true;
         }
         // Case 3: e is not in any cell in the heavy part of A[h(e)], and there is no empty cell.
         // We propose a novel technique named Exponential Decay: it decays (decrements) the count field of the weakest
         // guardian by 1 with probability P = b^{−C}, where b is a predefined constant number (e.g., b = 1.08), and C
         // is the value of the Count field of the weakest guardian.
-        assert heavyPartBucket.size() == lambdaH;
-        // find the weakest guardian
-        Map.Entry<String, Integer> weakestHeavyPartCell = Collections.min(heavyPartBucket.entrySet(), bucketComparator);
-        String weakestHeavyPartItem = weakestHeavyPartCell.getKey();
-        int weakestHeavyPartCount = weakestHeavyPartCell.getValue();
+        assert heavySize == lambdaH;
+        // find the weakest guardian, ties are broken by choosing the lowest cell index
+        int weakestHeavyCell = heavyOffset;
+        for (int cell = heavyOffset + 1; cell < heavyOffset + lambdaH; cell++) {
+            if (heavyCounts[cell] < heavyCounts[weakestHeavyCell]) {
+                weakestHeavyCell = cell;
+            }
+        }
+        int weakestHeavyCount = heavyCounts[weakestHeavyCell];
         // Sample a boolean value, with probability P = b^{−C}, the boolean value is 1
         // Here we use the advanced Bernoulli(exp(−γ)) with γ = C * ln(b), and reverse the sample
-        ExpBernoulliSampler expBernoulliSampler = new ExpBernoulliSampler(random, weakestHeavyPartCount * LN_B);
+        ExpBernoulliSampler expBernoulliSampler = new ExpBernoulliSampler(random, weakestHeavyCount * LN_B);
         // decay (decrement) the count field of the weakest guardian by 1 with probability P = b^{−C}
         boolean sample = expBernoulliSampler.sample();
         if (!sample) {
-            weakestHeavyPartCount--;
+            weakestHeavyCount--;
         }
         // After decay, if the count field becomes 0, it replaces the ID field of the weakest guardian with e,
         // and sets the count field to 1
-        if (weakestHeavyPartCount == 0) {
-            heavyPartBucket.remove(weakestHeavyPartItem);
-            heavyPartBucket.put(item, 1);
+        if (weakestHeavyCount == 0) {
+            setCell(heavyItems, heavyFingerprints, heavyCounts, weakestHeavyCell, item, fingerprint);
             return true;
         } else {
-            heavyPartBucket.put(weakestHeavyPartItem, weakestHeavyPartCount);
+            heavyCounts[weakestHeavyCell] = weakestHeavyCount;
         }
         // otherwise, it inserts e into the light part.
         // To insert an item e to the light part, it first computes another hash function h′(e), and then increments
         // counter A[h(e)][h′(e)]_l in the light part of the bucket by 1.
-        Map<String, Integer> lightPartBucket = lightPart.get(bucketIndex);
+        int lightOffset = bucketIndex * lambdaL;
+        int lightSize = lightSizes[bucketIndex];
         // Case 1: e is in one cell in the light part of A[h(e)]_l
-        if (lightPartBucket.containsKey(item)) {
+        int lightCell = findCell(lightItems, lightFingerprints, lightOffset, lightSize, item, fingerprint);
+        if (lightCell >= 0) {
             // HeavyGuardian just increments the corresponding frequency (the count field) in the cell by 1.
-            int itemCount = lightPartBucket.get(item);
-            itemCount++;
-            lightPartBucket.put(item, itemCount);
+            lightCounts[lightCell]++;
             return true;
         }
         // Case 2: e is not in the light part of A[h(e)], and there are still empty cells.
-        if (lightPartBucket.size() < lambdaL) {
+        if (lightSize < lambdaL) {
             // It inserts e into an empty cell, i.e., sets the ID field to e and sets the count field to 1.
-            lightPartBucket.put(item, 1);
+            setCell(lightItems, lightFingerprints, lightCounts, lightOffset + lightSize, item, fingerprint);
+            lightSizes[bucketIndex]++;
             return true;
         }
         // Case 3: e is not in any cell in the heavy part of A[h(e)], and there is no empty cell, return false
         return false;
     }
 
+    private static int findCell(String[] items, int[] fingerprints, int offset, int size,
+                                String item, int fingerprint) {
+        for (int cell = offset; cell < offset + size; cell++) {
+            if (fingerprints[cell] == fingerprint && items[cell].equals(item)) {
+                return cell;
+            }
+        }
+        return -1;
+    }
+
+    private static void setCell(String[] items, int[] fingerprints, int[] counts, int cell,
+                                String item, int fingerprint) {
+        items[cell] = item;
+        fingerprints[cell] = fingerprint;
+        counts[cell] = 1;
+    }
+
     @Override
     public int query(String item) {
-        byte[] itemByteArray = ObjectUtils.objectToByteArray(item);
-        int bucketIndex = Math.abs(intHash.hash(itemByteArray) % w);
+        int bucketIndex = HeavyGuardianUtils.getItemBucket(intHash, w, item);
+        int fingerprint = item.hashCode();
         // first, it checks the heavy part in bucket A[h(e)].
-        Map<String, Integer> heavyPartBucket = heavyPart.get(bucketIndex);
-        if (heavyPartBucket.containsKey(item)) {
+        int heavyCell = findCell(
+            heavyItems, heavyFingerprints, bucketIndex * lambdaH, heavySizes[bucketIndex], item, fingerprint
+        );
+        if (heavyCell >= 0) {
             // If e matches a cell in the bucket, it reports the corresponding count field
-            return heavyPartBucket.get(item);
+            return heavyCounts[heavyCell];
         }
         // if e matches no cell, it reports counter A[h(e)][h′(e)]_l in the light part.
-        Map<String, Integer> lightPartBucket = lightPart.get(bucketIndex);
-        if (lightPartBucket.containsKey(item)) {
-            return lightPartBucket.get(item);
+        int lightCell = findCell(
+            lightItems, lightFingerprints, bucketIndex * lambdaL, lightSizes[bucketIndex], item, fingerprint
+        );
+        if (lightCell >= 0) {
+            return lightCounts[lightCell];
         }
         return 0;
     }
@@ -184,9 +248,13 @@ public class HeavyGuardian implements StreamCounter {
 
     @Override
     public Set<String> getRecordItemSet() {
-        Set<String> recordItemSet = heavyPart.stream().map(Map::keySet).flatMap(Set::stream).collect(Collectors.toSet());
-        recordItemSet.addAll(lightPart.stream().map(Map::keySet).flatMap(Set::stream).collect(Collectors.toSet()));
-
+        Set<String> recordItemSet = new HashSet<>();
+        for (int bucketIndex = 0; bucketIndex < w; bucketIndex++) {
+            int heavyOffset = bucketIndex * lambdaH;
+            recordItemSet.addAll(Arrays.asList(heavyItems).subList(heavyOffset, heavyOffset + heavySizes[bucketIndex]));
+            int lightOffset = bucketIndex * lambdaL;
+            recordItemSet.addAll(Arrays.asList(lightItems).subList(lightOffset, lightOffset + lightSizes[bucketIndex]));
+        }
         return recordItemSet;
     }
 
@@ -1,8 +1,18 @@
 package edu.alibaba.mpc4j.dp.service.tool;
 
+import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.common.tool.hash.IntHash;
 import edu.alibaba.mpc4j.common.tool.utils.ObjectUtils;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
 /**
  * heavy guardian utils.
  *
@@ -32,4 +42,90 @@ public class HeavyGuardianUtils {
             return Math.abs(intHash.hash(ObjectUtils.objectToByteArray(item)) % w);
         }
     }
+
+    /**
+     * Writes buckets into the output stream.
+     *
+     * @param dataOutputStream the output stream.
+     * @param buckets          the buckets.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void writeBuckets(DataOutputStream dataOutputStream, List<HgBucket> buckets) throws IOException {
+        dataOutputStream.writeInt(buckets.size());
+        for (HgBucket bucket : buckets) {
+            dataOutputStream.writeInt(bucket.size());
+            for (int cell = 0; cell < bucket.size(); cell++) {
+                dataOutputStream.writeUTF(bucket.getItem(cell));
+                dataOutputStream.writeDouble(bucket.getCount(cell));
+            }
+        }
+    }
+
+    /**
+     * Reads w buckets from the input stream, each bucket has at most λ cells.
+     *
+     * @param dataInputStream the input stream.
+     * @param w               the bucket num.
+     * @param lambda          the cell num in each bucket.
+     * @return the buckets.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static ArrayList<HgBucket> readBuckets(DataInputStream dataInputStream, int w, int lambda)
+        throws IOException {
+        MathPreconditions.checkEqual("w", "expect w", dataInputStream.readInt(), w);
+        ArrayList<HgBucket> buckets = new ArrayList<>(w);
+        for (int bucketIndex = 0; bucketIndex < w; bucketIndex++) {
+            int bucketSize = dataInputStream.readInt();
+            MathPreconditions.checkNonNegativeInRangeClosed("bucket size", bucketSize, lambda);
+            HgBucket bucket = new HgBucket(lambda);
+            for (int i = 0; i < bucketSize; i++) {
+                String item = dataInputStream.readUTF();
+                Preconditions.checkArgument(!bucket.contains(item), "duplicate item in the bucket: %s", item);
+                bucket.add(item, dataInputStream.readDouble());
+            }
+            buckets.add(bucket);
+        }
+        return buckets;
+    }
+
+    /**
+     * Merges a bucket of another HeavyGuardian into a bucket. An item that is not in a bucket has the default count of
+     * that bucket. The merged count of an item is the sum of its counts in both buckets. If there are more than λ
+     * items, only the λ items with the largest merged counts are kept, as if the weakest items are evicted.
+     *
+     * @param bucket           the bucket.
+     * @param defaultCount     the default count of the bucket.
+     * @param thatBucket       the bucket of another HeavyGuardian.
+     * @param thatDefaultCount the default count of the bucket of another HeavyGuardian.
+     */
+    public static void mergeBucket(HgBucket bucket, double defaultCount, HgBucket thatBucket, double thatDefaultCount) {
+        MathPreconditions.checkEqual("λ", "that λ", bucket.getLambda(), thatBucket.getLambda());
+        // merged items are the items in this bucket (in the cell order), followed by the other items in that bucket
+        List<String> mergedItems = new ArrayList<>(bucket.size() + thatBucket.size());
+        List<Double> mergedCounts = new ArrayList<>(bucket.size() + thatBucket.size());
+        for (int cell = 0; cell < bucket.size(); cell++) {
+            String item = bucket.getItem(cell);
+            mergedItems.add(item);
+            mergedCounts.add(bucket.getCount(cell) + thatBucket.getOrDefault(item, thatDefaultCount));
+        }
+        for (int thatCell = 0; thatCell < thatBucket.size(); thatCell++) {
+            String item = thatBucket.getItem(thatCell);
+            if (!bucket.contains(item)) {
+                mergedItems.add(item);
+                mergedCounts.add(defaultCount + thatBucket.getCount(thatCell));
+            }
+        }
+        // keep the strongest λ items, break ties by items so that merging is deterministic
+        int[] strongestIndexes = IntStream.range(0, mergedItems.size())
+            .boxed()
+            .sorted(Comparator.<Integer>comparingDouble(mergedCounts::get).reversed()
+                .thenComparing(mergedItems::get))
+            .limit(bucket.getLambda())
+            .mapToInt(Integer::intValue)
+            .toArray();
+        bucket.clear();
+        for (int index : strongestIndexes) {
+            bucket.add(mergedItems.get(index), mergedCounts.get(index));
+        }
+    }
 }
@@ -0,0 +1,262 @@
+package edu.alibaba.mpc4j.dp.service.tool;
+
+import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A HeavyGuardian bucket with (double) counts, used in the HeavyGuardian-based heavy hitter LDP solutions.
+ * <p>
+ * Cells are stored in primitive arrays. Each cell contains an item, its fingerprint (the hash code of the item) and its
+ * count. Looking up an item compares fingerprints before comparing items. Occupied cells are [0, size), and a new item
+ * is put into the cell with index size. When several cells have the same smallest (or largest) count, the one with the
+ * lowest cell index is chosen, so that the evicted item only depends on the insertion history.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2024/8/8
+ */
+public class HgBucket {
+    /**
+     * λ, i.e., the cell num in the bucket
+     */
+    private final int lambda;
+    /**
+     * items
+     */
+    private final String[] items;
+    /**
+     * item fingerprints
+     */
+    private final int[] fingerprints;
+    /**
+     * item counts
+     */
+    private final double[] counts;
+    /**
+     * the number of occupied cells
+     */
+    private int size;
+
+    public HgBucket(int lambda) {
+        MathPreconditions.checkNonNegative("λ (# of cells)", lambda);
+        this.lambda = lambda;
+        items = new String[lambda];
+        fingerprints = new int[lambda];
+        counts = new double[lambda];
+        size = 0;
+    }
+
+    /**
+     * Returns the cell num λ.
+     *
+     * @return the cell num λ.
+     */
+    public int getLambda() {
+        return lambda;
+    }
+
+    /**
+     * Returns the number of occupied cells.
+     *
+     * @return the number of occupied cells.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the cell of the item.
+     *
+     * @param item the item.
+     * @return the cell of the item, or -1 if the item is not in the bucket.
+     */
+    public int indexOf(String item) {
+        int fingerprint = item.hashCode();
+        for (int cell = 0; cell < size; cell++) {
+            if (fingerprints[cell] == fingerprint && items[cell].equals(item)) {
+                return cell;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns if the item is in the bucket.
+     *
+     * @param item the item.
+     * @return true if the item is in the bucket.
+     */
+    public boolean contains(String item) {
+        return indexOf(item) >= 0;
+    }
+
+    /**
+     * Returns the item in the cell.
+     *
+     * @param cell the cell.
+     * @return the item.
+     */
+    public String getItem(int cell) {
+        MathPreconditions.checkNonNegativeInRange("cell", cell, size);
+        return items[cell];
+    }
+
+    /**
+     * Returns the count in the cell.
+     *
+     * @param cell the cell.
+     * @return the count.
+     */
+    public double getCount(int cell) {
+        MathPreconditions.checkNonNegativeInRange("cell", cell, size);
+        return counts[cell];
+    }
+
+    /**
+     * Sets the count in the cell.
+     *
+     * @param cell  the cell.
+     * @param count the count.
+     */
+    public void setCount(int cell, double count) {
+        MathPreconditions.checkNonNegativeInRange("cell", cell, size);
+        counts[cell] = count;
+    }
+
+    /**
+     * Returns the count of the item, or the default count if the item is not in the bucket.
+     *
+     * @param item         the item.
+     * @param defaultCount the default count.
+     * @return the count of the item.
+     */
+    public double getOrDefault(String item, double defaultCount) {
+        int cell = indexOf(item);
+        return cell >= 0 ? counts[cell] : defaultCount;
+    }
+
+    /**
+     * Puts an item that is not in the bucket into the next empty cell.
+     *
+     * @param item  the item.
+     * @param count the count.
+     */
+    public void add(String item, double count) {
+        Preconditions.checkArgument(size < lambda, "the bucket is full");
+        assert !contains(item) : "the item is already in the bucket: " + item;
+        setCell(size, item, count);
+        size++;
+    }
+
+    /**
+     * Replaces the item in the cell with an item that is not in the bucket.
+     *
+     * @param cell  the cell.
+     * @param item  the item.
+     * @param count the count.
+     */
+    public void replace(int cell, String item, double count) {
+        MathPreconditions.checkNonNegativeInRange("cell", cell, size);
+        assert !contains(item) : "the item is already in the bucket: " + item;
+        setCell(cell, item, count);
+    }
+
+    private void setCell(int cell, String item, double count) {
+        items[cell] = item;
+        fingerprints[cell] = item.hashCode();
+        counts[cell] = count;
+    }
+
+    /**
+     * Returns the cell with the smallest count. Ties are broken by choosing the lowest cell index.
+     *
+     * @return the cell with the smallest count.
+     */
+    public int weakestCell() {
+        Preconditions.checkArgument(size > 0, "the bucket is empty");
+        int weakestCell = 0;
+        for (int cell = 1; cell < size; cell++) {
+            if (counts[cell] < counts[weakestCell]) {
+                weakestCell = cell;
+            }
+        }
+        return weakestCell;
+    }
+
+    /**
+     * Returns the cell with the largest count. Ties are broken by choosing the lowest cell index.
+     *
+     * @return the cell with the largest count.
+     */
+    public int strongestCell() {
+        Preconditions.checkArgument(size > 0, "the bucket is empty");
+        int strongestCell = 0;
+        for (int cell = 1; cell < size; cell++) {
+            if (counts[cell] > counts[strongestCell]) {
+                strongestCell = cell;
+            }
+        }
+        return strongestCell;
+    }
+
+    /**
+     * Adds the value to all counts.
+     *
+     * @param value the value.
+     */
+    public void addCounts(double value) {
+        for (int cell = 0; cell < size; cell++) {
+            counts[cell] += value;
+        }
+    }
+
+    /**
+     * Multiplies all counts by the factor.
+     *
+     * @param factor the factor.
+     */
+    public void multiplyCounts(double factor) {
+        for (int cell = 0; cell < size; cell++) {
+            counts[cell] *= factor;
+        }
+    }
+
+    /**
+     * Returns the items in the cell order.
+     *
+     * @return the items.
+     */
+    public List<String> getItems() {
+        return Arrays.asList(items).subList(0, size);
+    }
+
+    /**
+     * Removes all items.
+     */
+    public void clear() {
+        Arrays.fill(items, 0, size, null);
+        size = 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(Arrays.copyOf(items, size)) + Arrays.hashCode(Arrays.copyOf(counts, size));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof HgBucket)) {
+            return false;
+        }
+        if (this == obj) {
+            return true;
+        }
+        HgBucket that = (HgBucket) obj;
+        return lambda == that.lambda && size == that.size
+            && Arrays.equals(items, 0, size, that.items, 0, that.size)
+            && Arrays.equals(counts, 0, size, that.counts, 0, that.size);
+    }
+}
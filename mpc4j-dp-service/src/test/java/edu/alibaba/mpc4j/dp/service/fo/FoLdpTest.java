@@ -4,6 +4,8 @@ import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.tool.utils.DoubleUtils;
 import edu.alibaba.mpc4j.dp.service.LdpTestDataUtils;
 import edu.alibaba.mpc4j.dp.service.fo.FoLdpFactory.FoLdpType;
+import edu.alibaba.mpc4j.dp.service.fo.config.AppleCmsFoLdpConfig;
+import edu.alibaba.mpc4j.dp.service.fo.config.AppleHcmsFoLdpConfig;
 import edu.alibaba.mpc4j.dp.service.fo.config.FoLdpConfig;
 import edu.alibaba.mpc4j.dp.service.tool.StreamDataUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -61,6 +63,14 @@ public class FoLdpTest {
      * constant input d = 2^k - 1
      */
     private static final int CONSTANT_INPUT_POW_2_SUB_1_D = CONSTANT_INPUT_POW_2_D - 1;
+    /**
+     * number of hash functions k for CMS-based mechanisms in merge tests
+     */
+    private static final int MERGE_CMS_K = 1 << 10;
+    /**
+     * output bound of hash functions m for CMS-based mechanisms in merge tests
+     */
+    private static final int MERGE_CMS_M = 1 << 10;
 
     @Parameterized.Parameters(name = "{0}")
     public static Collection<Object[]> configurations() {
@@ -223,6 +233,186 @@ public class FoLdpTest {
         }
     }
 
+    @Test
+    public void testBatchInsert() throws IOException {
+        testBatchInsert(false);
+    }
+
+    @Test
+    public void testParallelBatchInsert() throws IOException {
+        testBatchInsert(true);
+    }
+
+    private void testBatchInsert(boolean parallel) throws IOException {
+        FoLdpConfig config = FoLdpFactory.createDefaultConfig(type, LdpTestDataUtils.EXAMPLE_DATA_LARGE_DOMAIN, defaultEpsilon);
+        // create servers and client
+        FoLdpServer server = FoLdpFactory.createServer(config);
+        FoLdpServer batchServer = FoLdpFactory.createServer(config);
+        batchServer.setParallel(parallel);
+        FoLdpClient client = FoLdpFactory.createClient(config);
+        // randomize
+        Random ldpRandom = new Random();
+        Stream<String> dataStream = StreamDataUtils.obtainItemStream(LdpTestDataUtils.EXAMPLE_DATA_PATH);
+        List<byte[]> itemBytesList = dataStream
+            .map(item -> client.randomize(item, ldpRandom))
+            .collect(Collectors.toList());
+        dataStream.close();
+        // insert one by one, and insert in batch with an estimation in the middle
+        itemBytesList.forEach(server::insert);
+        int halfNum = itemBytesList.size() / 2;
+        batchServer.insert(itemBytesList.subList(0, halfNum));
+        Assert.assertEquals(halfNum, batchServer.getNum());
+        Assert.assertEquals(LdpTestDataUtils.EXAMPLE_LARGE_D, batchServer.estimate().size());
+        batchServer.insert(itemBytesList.subList(halfNum, itemBytesList.size()));
+        Assert.assertEquals(server.getNum(), batchServer.getNum());
+        // the aggregations are the same
+        Map<String, Double> frequencyEstimates = server.estimate();
+        Map<String, Double> batchFrequencyEstimates = batchServer.estimate();
+        Assert.assertEquals(frequencyEstimates.size(), batchFrequencyEstimates.size());
+        for (String item : frequencyEstimates.keySet()) {
+            Assert.assertEquals(frequencyEstimates.get(item), batchFrequencyEstimates.get(item), DoubleUtils.PRECISION);
+        }
+    }
+
+    @Test
+    public void testMerge() throws IOException {
+        FoLdpConfig config = createMergeConfig(defaultEpsilon);
+        // create servers and client
+        FoLdpServer server = FoLdpFactory.createServer(config);
+        FoLdpServer mergeServer = FoLdpFactory.createServer(config);
+        FoLdpServer thatServer = FoLdpFactory.createServer(config);
+        FoLdpServer snapshotServer = FoLdpFactory.createServer(config);
+        FoLdpClient client = FoLdpFactory.createClient(config);
+        List<byte[]> itemBytesList = exampleRandomize(client);
+        // insert all items into one server, and insert half of the items into each of the other two servers
+        itemBytesList.forEach(server::insert);
+        int halfNum = itemBytesList.size() / 2;
+        List<byte[]> firstHalf = itemBytesList.subList(0, halfNum);
+        List<byte[]> secondHalf = itemBytesList.subList(halfNum, itemBytesList.size());
+        mergeServer.insert(firstHalf);
+        snapshotServer.insert(firstHalf);
+        thatServer.insert(secondHalf);
+        // merge directly and merge from the snapshot
+        mergeServer.merge(thatServer);
+        snapshotServer.merge(thatServer.snapshot());
+        Assert.assertEquals(server.getNum(), mergeServer.getNum());
+        Assert.assertEquals(server.getNum(), snapshotServer.getNum());
+        assertEstimateEquals(server.estimate(), mergeServer.estimate());
+        assertEstimateEquals(server.estimate(), snapshotServer.estimate());
+        // merging directly and merging from the snapshot lead to the same state
+        Assert.assertArrayEquals(mergeServer.snapshot(), snapshotServer.snapshot());
+        // cannot merge itself
+        Assert.assertThrows(IllegalArgumentException.class, () -> server.merge(server));
+        // cannot merge invalid snapshots
+        byte[] snapshot = thatServer.snapshot();
+        Assert.assertThrows(IllegalArgumentException.class, () ->
+            server.merge(Arrays.copyOf(snapshot, snapshot.length - 1))
+        );
+        Assert.assertThrows(IllegalArgumentException.class, () ->
+            server.merge(Arrays.copyOf(snapshot, snapshot.length + 1))
+        );
+        // cannot merge servers with different configs
+        FoLdpServer invalidServer = FoLdpFactory.createServer(createMergeConfig(defaultEpsilon / 2));
+        Assert.assertThrows(IllegalArgumentException.class, () -> server.merge(invalidServer));
+        Assert.assertThrows(IllegalArgumentException.class, () -> server.merge(invalidServer.snapshot()));
+        Assert.assertEquals(itemBytesList.size(), server.getNum());
+        // configs created separately contain different random hash seeds, and servers cannot be merged
+        FoLdpServer separateServer = FoLdpFactory.createServer(createMergeConfig(defaultEpsilon));
+        switch (type) {
+            case RAPPOR:
+            case FLH:
+            case APPLE_CMS:
+            case APPLE_HCMS:
+                Assert.assertThrows(IllegalArgumentException.class, () -> server.merge(separateServer));
+                Assert.assertThrows(IllegalArgumentException.class, () -> server.merge(separateServer.snapshot()));
+                Assert.assertEquals(itemBytesList.size(), server.getNum());
+                break;
+            default:
+                server.merge(separateServer.snapshot());
+                Assert.assertEquals(itemBytesList.size(), server.getNum());
+        }
+    }
+
+    @Test
+    public void testStripedInsert() throws IOException, InterruptedException {
+        FoLdpConfig config = createMergeConfig(defaultEpsilon);
+        // create servers and client
+        FoLdpServer server = FoLdpFactory.createServer(config);
+        StripedFoLdpServer stripedServer = (StripedFoLdpServer) FoLdpFactory.createStripedServer(config);
+        FoLdpClient client = FoLdpFactory.createClient(config);
+        List<byte[]> itemBytesList = exampleRandomize(client);
+        itemBytesList.forEach(server::insert);
+        // insert from many threads, each thread inserts a part of the items
+        int threadNum = 4;
+        int partNum = (itemBytesList.size() + threadNum - 1) / threadNum;
+        Thread[] threads = IntStream.range(0, threadNum)
+            .mapToObj(threadIndex -> new Thread(() -> {
+                int from = Math.min(threadIndex * partNum, itemBytesList.size());
+                int to = Math.min(from + partNum, itemBytesList.size());
+                itemBytesList.subList(from, to).forEach(stripedServer::insert);
+            }))
+            .toArray(Thread[]::new);
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(threadNum, stripedServer.getStripeNum());
+        Assert.assertEquals(server.getNum(), stripedServer.getNum());
+        assertEstimateEquals(server.estimate(), stripedServer.estimate());
+        // the striped server can be merged with other servers
+        FoLdpServer snapshotServer = FoLdpFactory.createServer(config);
+        snapshotServer.merge(stripedServer.snapshot());
+        assertEstimateEquals(server.estimate(), snapshotServer.estimate());
+        // items inserted after estimating are folded in the next estimation
+        itemBytesList.forEach(server::insert);
+        itemBytesList.forEach(stripedServer::insert);
+        Assert.assertEquals(server.getNum(), stripedServer.getNum());
+        assertEstimateEquals(server.estimate(), stripedServer.estimate());
+        stripedServer.merge(server);
+        Assert.assertEquals(server.getNum() * 2, stripedServer.getNum());
+    }
+
+    /**
+     * Creates the config for merge tests. Merge tests keep several servers at the same time, so we use small sketches
+     * for CMS-based mechanisms, whose default sketches take 512MB.
+     *
+     * @param epsilon the privacy parameter ε.
+     * @return the config.
+     */
+    private FoLdpConfig createMergeConfig(double epsilon) {
+        switch (type) {
+            case APPLE_CMS:
+                return new AppleCmsFoLdpConfig.Builder(type, LdpTestDataUtils.EXAMPLE_DATA_DOMAIN, epsilon)
+                    .setHashes(MERGE_CMS_K, MERGE_CMS_M)
+                    .build();
+            case APPLE_HCMS:
+                return new AppleHcmsFoLdpConfig.Builder(type, LdpTestDataUtils.EXAMPLE_DATA_DOMAIN, epsilon)
+                    .setHashes(MERGE_CMS_K, MERGE_CMS_M)
+                    .build();
+            default:
+                return FoLdpFactory.createDefaultConfig(type, LdpTestDataUtils.EXAMPLE_DATA_DOMAIN, epsilon);
+        }
+    }
+
+    private static List<byte[]> exampleRandomize(FoLdpClient client) throws IOException {
+        Random ldpRandom = new Random();
+        Stream<String> dataStream = StreamDataUtils.obtainItemStream(LdpTestDataUtils.EXAMPLE_DATA_PATH);
+        List<byte[]> itemBytesList = dataStream
+            .map(item -> client.randomize(item, ldpRandom))
+            .collect(Collectors.toList());
+        dataStream.close();
+        return itemBytesList;
+    }
+
+    private static void assertEstimateEquals(Map<String, Double> expect, Map<String, Double> actual) {
+        Assert.assertEquals(expect.size(), actual.size());
+        for (String item : expect.keySet()) {
+            Assert.assertEquals(expect.get(item), actual.get(item), DoubleUtils.PRECISION);
+        }
+    }
+
     private static void exampleRandomizeInsert(FoLdpServer server, FoLdpClient client) throws IOException {
         Random ldpRandom = new Random();
         Stream<String> dataStream = StreamDataUtils.obtainItemStream(LdpTestDataUtils.EXAMPLE_DATA_PATH);
@@ -229,6 +229,81 @@ public class HhLdpTest {
         }
     }
 
+    @Test
+    public void testMerge() throws IOException {
+        int k = LdpTestDataUtils.EXAMPLE_DATA_D;
+        HhLdpConfig config = HhLdpFactory.createDefaultHhLdpConfig(
+            type, LdpTestDataUtils.EXAMPLE_DATA_DOMAIN, k, DEFAULT_EPSILON
+        );
+        // create servers and client
+        HhLdpServer server = HhLdpFactory.createServer(config);
+        HhLdpServer thatServer = HhLdpFactory.createServer(config);
+        HhLdpServer warmupServer = HhLdpFactory.createServer(config);
+        HhLdpClient client = HhLdpFactory.createClient(config);
+        // warmup, the first half is inserted into the server, the second half is inserted into that server
+        int halfWarmupNum = LdpTestDataUtils.EXAMPLE_WARMUP_NUM / 2;
+        AtomicInteger warmupIndex = new AtomicInteger();
+        Stream<String> dataStream = StreamDataUtils.obtainItemStream(LdpTestDataUtils.EXAMPLE_DATA_PATH);
+        dataStream.filter(item -> warmupIndex.get() < LdpTestDataUtils.EXAMPLE_WARMUP_NUM)
+            .map(client::warmup)
+            .forEach(itemBytes -> {
+                HhLdpServer insertServer = warmupIndex.getAndIncrement() < halfWarmupNum ? server : thatServer;
+                insertServer.warmupInsert(itemBytes);
+                warmupServer.warmupInsert(itemBytes);
+            });
+        dataStream.close();
+        // merging the snapshot into an empty server leads to the same heavy hitters
+        HhLdpServer snapshotServer = HhLdpFactory.createServer(config);
+        snapshotServer.merge(thatServer.snapshot());
+        Assert.assertEquals(thatServer.getNum(), snapshotServer.getNum());
+        assertHeavyHittersEquals(thatServer.heavyHitters(), snapshotServer.heavyHitters());
+        // merge warmup servers
+        int num = server.getNum();
+        int thatNum = thatServer.getNum();
+        server.merge(thatServer);
+        Assert.assertEquals(num + thatNum, server.getNum());
+        // counts in warmup are accurate, so the merged counts are the same as counts in the warmup server
+        Map<String, Double> heavyHitters = server.heavyHitters();
+        Map<String, Double> warmupHeavyHitters = warmupServer.heavyHitters();
+        Assert.assertTrue(heavyHitters.size() <= k);
+        for (String item : heavyHitters.keySet()) {
+            if (warmupHeavyHitters.containsKey(item)) {
+                Assert.assertEquals(warmupHeavyHitters.get(item), heavyHitters.get(item), DoubleUtils.PRECISION);
+            }
+        }
+        // some servers compute parameters when stopping warmup, so servers to merge must have the same warmup state
+        HhLdpServer randomizeServer = HhLdpFactory.createServer(config);
+        randomizeServer.merge(server.snapshot());
+        server.stopWarmup();
+        randomizeServer.stopWarmup();
+        exampleRandomizeInsert(randomizeServer, client, LdpTestDataUtils.EXAMPLE_WARMUP_NUM);
+        // cannot merge itself or servers in different states
+        Assert.assertThrows(IllegalArgumentException.class, () -> server.merge(server));
+        Assert.assertThrows(IllegalArgumentException.class, () -> server.merge(warmupServer));
+        Assert.assertThrows(IllegalArgumentException.class, () -> server.merge(warmupServer.snapshot()));
+        // cannot merge invalid snapshots
+        byte[] snapshot = randomizeServer.snapshot();
+        Assert.assertThrows(IllegalArgumentException.class, () ->
+            server.merge(Arrays.copyOf(snapshot, snapshot.length - 1))
+        );
+        Assert.assertThrows(IllegalArgumentException.class, () ->
+            server.merge(Arrays.copyOf(snapshot, snapshot.length + 1))
+        );
+        // merge the randomized server
+        num = server.getNum();
+        int randomizeNum = randomizeServer.getNum();
+        server.merge(snapshot);
+        Assert.assertEquals(num + randomizeNum, server.getNum());
+        Assert.assertTrue(server.heavyHitters().size() <= k);
+    }
+
+    private static void assertHeavyHittersEquals(Map<String, Double> expect, Map<String, Double> actual) {
+        Assert.assertEquals(expect.keySet(), actual.keySet());
+        for (String item : expect.keySet()) {
+            Assert.assertEquals(expect.get(item), actual.get(item), DoubleUtils.PRECISION);
+        }
+    }
+
     static void exampleWarmupInsert(HhLdpServer server, HhLdpClient client, int warmupNum) throws IOException {
         AtomicInteger warmupIndex = new AtomicInteger();
         Stream<String> dataStream = StreamDataUtils.obtainItemStream(LdpTestDataUtils.EXAMPLE_DATA_PATH);
@@ -0,0 +1,50 @@
+package edu.alibaba.mpc4j.dp.service.tool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+/**
+ * HeavyGuardian bucket test.
+ *
+ * @author Weiran Liu
+ * @date 2024/8/8
+ */
+public class HgBucketTest {
+
+    @Test
+    public void testTieBreak() {
+        HgBucket bucket = new HgBucket(4);
+        bucket.add("c", 2.0);
+        bucket.add("a", 1.0);
+        bucket.add("d", 3.0);
+        bucket.add("b", 1.0);
+        // ties are broken by choosing the lowest cell index
+        Assert.assertEquals(1, bucket.weakestCell());
+        bucket.setCount(3, 3.0);
+        Assert.assertEquals(2, bucket.strongestCell());
+        // the evicted item is replaced in its cell
+        bucket.replace(bucket.weakestCell(), "e", 1.0);
+        Assert.assertEquals(Arrays.asList("c", "e", "d", "b"), bucket.getItems());
+        Assert.assertEquals(-1, bucket.indexOf("a"));
+        Assert.assertEquals(1.0, bucket.getOrDefault("e", 0.0), 0.0);
+        Assert.assertEquals(-1.0, bucket.getOrDefault("a", -1.0), 0.0);
+        Assert.assertThrows(IllegalArgumentException.class, () -> bucket.add("f", 1.0));
+    }
+
+    @Test
+    public void testMergeBucket() {
+        HgBucket bucket = new HgBucket(2);
+        bucket.add("a", 3.0);
+        bucket.add("b", 1.0);
+        HgBucket thatBucket = new HgBucket(2);
+        thatBucket.add("c", 2.0);
+        thatBucket.add("b", 2.0);
+        // a = 3 + 0.5, b = 1 + 2, c = 0 + 2
+        HeavyGuardianUtils.mergeBucket(bucket, 0.0, thatBucket, 0.5);
+        Assert.assertEquals(Arrays.asList("a", "b"), bucket.getItems());
+        Assert.assertEquals(3.5, bucket.getCount(0), 0.0);
+        Assert.assertEquals(3.0, bucket.getCount(1), 0.0);
+    }
+}
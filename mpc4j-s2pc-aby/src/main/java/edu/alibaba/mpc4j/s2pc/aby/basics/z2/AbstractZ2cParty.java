@@ -1,17 +1,28 @@
 package edu.alibaba.mpc4j.s2pc.aby.basics.z2;
 
+import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.circuit.operator.DyadicBcOperator;
 import edu.alibaba.mpc4j.common.circuit.operator.UnaryBcOperator;
 import edu.alibaba.mpc4j.common.circuit.z2.MpcZ2Vector;
 import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
 import edu.alibaba.mpc4j.common.rpc.Party;
+import edu.alibaba.mpc4j.common.rpc.PtoState;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
 import edu.alibaba.mpc4j.common.rpc.desc.PtoDesc;
 import edu.alibaba.mpc4j.common.rpc.pto.AbstractTwoPartyPto;
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVectorFactory;
+import edu.alibaba.mpc4j.common.tool.network.PermutationNetworkUtils;
+import edu.alibaba.mpc4j.common.tool.utils.BinaryUtils;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import edu.alibaba.mpc4j.s2pc.aby.pcg.osn.dosn.DosnReceiver;
+import edu.alibaba.mpc4j.s2pc.aby.pcg.osn.dosn.DosnSender;
 
 import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 
 /**
@@ -110,6 +121,119 @@ public abstract class AbstractZ2cParty extends AbstractTwoPartyPto implements Z2
         return res;
     }
 
+    /**
+     * Obliviously shuffles elements using the decision OSN. The first permuter runs the decision OSN as the receiver
+     * with its own permutation π_0 and masks its locally permuted shares with the output, so that the parties hold
+     * shares of π_0(x). Then the other party runs the decision OSN as the receiver with its own permutation π_1, so
+     * that the parties hold shares of π_1(π_0(x)). No party knows the composed permutation.
+     *
+     * @param xiArrays      elements, where xiArrays[i] is the i-th element, all vectors must have the same num.
+     * @param dosnSender    decision OSN sender, null if shuffling is not enabled.
+     * @param dosnReceiver  decision OSN receiver, null if shuffling is not enabled.
+     * @param firstPermuter whether the party permutes first. The first permuter holds the values of plain vectors.
+     * @return shuffled elements.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    protected SquareZ2Vector[][] shuffle(MpcZ2Vector[][] xiArrays, DosnSender dosnSender, DosnReceiver dosnReceiver,
+                                         boolean firstPermuter) throws MpcAbortException {
+        Preconditions.checkState(
+            dosnSender != null && dosnReceiver != null,
+            "Shuffling is not enabled, please set the Decision OSN config in %s", Z2cConfig.class.getSimpleName()
+        );
+        checkInitialized();
+        int n = xiArrays.length;
+        MathPreconditions.checkPositive("n", n);
+        int l = xiArrays[0].length;
+        MathPreconditions.checkPositive("l", l);
+        int num = xiArrays[0][0].getNum();
+        MathPreconditions.checkPositive("num", num);
+        for (MpcZ2Vector[] xiArray : xiArrays) {
+            MathPreconditions.checkEqual("l", "xiArray.length", l, xiArray.length);
+            for (MpcZ2Vector xi : xiArray) {
+                MathPreconditions.checkEqual("num", "xi.num", num, xi.getNum());
+            }
+        }
+        if (n == 1) {
+            // there is only one permutation on a single element
+            return Arrays.stream(xiArrays)
+                .map(xiArray -> Arrays.stream(xiArray)
+                    .map(xi -> SquareZ2Vector.create(
+                        xi.isPlain() && !firstPermuter ? BitVectorFactory.createZeros(num) : xi.getBitVector().copy(),
+                        false
+                    ))
+                    .toArray(SquareZ2Vector[]::new))
+                .toArray(SquareZ2Vector[][]::new);
+        }
+        logPhaseInfo(PtoState.PTO_BEGIN, "shuffle");
+
+        stopWatch.start();
+        // the k-th instance of the i-th element is placed at k * n + i, each instance is permuted independently
+        int byteLength = Math.max(CommonUtils.getByteLength(l), CommonConstants.STATS_BYTE_LENGTH);
+        byte[][] inputVector = new byte[n * num][byteLength];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < l; j++) {
+                MpcZ2Vector xij = xiArrays[i][j];
+                if (xij.isPlain() && !firstPermuter) {
+                    continue;
+                }
+                BitVector bitVector = xij.getBitVector();
+                for (int k = 0; k < num; k++) {
+                    BinaryUtils.setBoolean(inputVector[k * n + i], j, bitVector.get(k));
+                }
+            }
+        }
+        int[] pi = new int[n * num];
+        for (int k = 0; k < num; k++) {
+            int[] instancePi = PermutationNetworkUtils.randomPermutation(n, secureRandom);
+            for (int i = 0; i < n; i++) {
+                pi[k * n + i] = k * n + instancePi[i];
+            }
+        }
+        byte[][] firstShareVector;
+        if (firstPermuter) {
+            byte[][] maskVector = dosnReceiver.dosn(pi, byteLength).getShareVector();
+            firstShareVector = PermutationNetworkUtils.permutation(pi, inputVector);
+            for (int index = 0; index < n * num; index++) {
+                BytesUtils.xori(firstShareVector[index], maskVector[index]);
+            }
+        } else {
+            firstShareVector = dosnSender.dosn(inputVector, byteLength).getShareVector();
+        }
+        stopWatch.stop();
+        long firstTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 1, 2, firstTime, "shuffle (1st permutation)");
+
+        stopWatch.start();
+        byte[][] secondShareVector;
+        if (firstPermuter) {
+            secondShareVector = dosnSender.dosn(firstShareVector, byteLength).getShareVector();
+        } else {
+            byte[][] maskVector = dosnReceiver.dosn(pi, byteLength).getShareVector();
+            secondShareVector = PermutationNetworkUtils.permutation(pi, firstShareVector);
+            for (int index = 0; index < n * num; index++) {
+                BytesUtils.xori(secondShareVector[index], maskVector[index]);
+            }
+        }
+        SquareZ2Vector[][] ziArrays = new SquareZ2Vector[n][l];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < l; j++) {
+                BitVector bitVector = BitVectorFactory.createZeros(num);
+                for (int k = 0; k < num; k++) {
+                    bitVector.set(k, BinaryUtils.getBoolean(secondShareVector[k * n + i], j));
+                }
+                ziArrays[i][j] = SquareZ2Vector.create(bitVector, false);
+            }
+        }
+        stopWatch.stop();
+        long secondTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 2, 2, secondTime, "shuffle (2nd permutation)");
+
+        logPhaseInfo(PtoState.PTO_END, "shuffle");
+        return ziArrays;
+    }
+
     @Override
     public SquareZ2Vector not(MpcZ2Vector xi) throws MpcAbortException {
         return xor(xi, createOnes(xi.getNum()));
@@ -0,0 +1,27 @@
+package edu.alibaba.mpc4j.s2pc.aby.basics.z2;
+
+import edu.alibaba.mpc4j.common.circuit.z2.MpcZ2Vector;
+import edu.alibaba.mpc4j.common.circuit.z2.MpcZ2cShuffleParty;
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+
+/**
+ * Z2 circuit party that supports oblivious shuffling. Shuffling is opt-in: it is available only if the Decision OSN
+ * config is set in the Z2 circuit config (see {@link Z2cConfig#getDosnConfig()}), so that parties that never shuffle
+ * do not pay for the Decision OSN initialization.
+ *
+ * @author Weiran Liu
+ * @date 2024/8/8
+ */
+public interface ShuffleZ2cParty extends Z2cParty, MpcZ2cShuffleParty {
+    /**
+     * Obliviously shuffles elements. For each of the num instances, the elements are permuted by an independent random
+     * permutation that is unknown to any party.
+     *
+     * @param xiArrays elements, where xiArrays[i] is the i-th element, all vectors must have the same num.
+     * @return shuffled elements.
+     * @throws MpcAbortException     the protocol failure aborts.
+     * @throws IllegalStateException if shuffling is not enabled in the config.
+     */
+    @Override
+    SquareZ2Vector[][] shuffle(MpcZ2Vector[][] xiArrays) throws MpcAbortException;
+}
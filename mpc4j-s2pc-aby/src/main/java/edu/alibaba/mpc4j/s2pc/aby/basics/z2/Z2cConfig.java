@@ -1,6 +1,7 @@
 package edu.alibaba.mpc4j.s2pc.aby.basics.z2;
 
 import edu.alibaba.mpc4j.common.rpc.pto.MultiPartyPtoConfig;
+import edu.alibaba.mpc4j.s2pc.aby.pcg.osn.dosn.DosnConfig;
 
 /**
  * Z2 circuit config.
@@ -22,4 +23,11 @@ public interface Z2cConfig extends MultiPartyPtoConfig {
      * @return default round num.
      */
     int defaultRoundNum();
+
+    /**
+     * Gets the Decision OSN config, used for oblivious shuffling. Shuffling is enabled only if the config is set.
+     *
+     * @return the Decision OSN config, null if shuffling is not enabled.
+     */
+    DosnConfig getDosnConfig();
 }
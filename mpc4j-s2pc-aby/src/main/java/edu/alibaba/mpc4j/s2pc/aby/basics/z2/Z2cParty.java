@@ -207,4 +207,5 @@ public interface Z2cParty extends TwoPartyPto, MpcZ2cParty {
     default SquareZ2Vector[] or(MpcZ2Vector[] xiArray, MpcZ2Vector[] yiArray) throws MpcAbortException {
         return xor(xor(xiArray, yiArray), and(xiArray, yiArray));
     }
+
 }
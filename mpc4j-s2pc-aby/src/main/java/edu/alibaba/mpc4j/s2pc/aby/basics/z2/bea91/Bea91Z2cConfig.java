@@ -2,8 +2,10 @@ package edu.alibaba.mpc4j.s2pc.aby.basics.z2.bea91;
 
 import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
 import edu.alibaba.mpc4j.common.rpc.pto.AbstractMultiPartyPtoConfig;
+import edu.alibaba.mpc4j.common.rpc.pto.MultiPartyPtoConfig;
 import edu.alibaba.mpc4j.s2pc.aby.basics.z2.Z2cConfig;
 import edu.alibaba.mpc4j.s2pc.aby.basics.z2.Z2cFactory;
+import edu.alibaba.mpc4j.s2pc.aby.pcg.osn.dosn.DosnConfig;
 import edu.alibaba.mpc4j.s2pc.aby.pcg.triple.z2.Z2TripleGenConfig;
 import edu.alibaba.mpc4j.s2pc.aby.pcg.triple.z2.Z2TripleGenFactory;
 
@@ -18,10 +20,18 @@ public class Bea91Z2cConfig extends AbstractMultiPartyPtoConfig implements Z2cCo
      * Z2 triple generation config
      */
     private final Z2TripleGenConfig z2TripleGenConfig;
+    /**
+     * Decision OSN config
+     */
+    private final DosnConfig dosnConfig;
 
     private Bea91Z2cConfig(Builder builder) {
-        super(SecurityModel.SEMI_HONEST, builder.z2TripleGenConfig);
+        super(SecurityModel.SEMI_HONEST, builder.dosnConfig == null
+            ? new MultiPartyPtoConfig[]{builder.z2TripleGenConfig}
+            : new MultiPartyPtoConfig[]{builder.z2TripleGenConfig, builder.dosnConfig}
+        );
         z2TripleGenConfig = builder.z2TripleGenConfig;
+        dosnConfig = builder.dosnConfig;
     }
 
     public Z2TripleGenConfig getZ2TripleGenConfig() {
@@ -38,14 +48,36 @@ public class Bea91Z2cConfig extends AbstractMultiPartyPtoConfig implements Z2cCo
         return z2TripleGenConfig.defaultRoundNum();
     }
 
+    @Override
+    public DosnConfig getDosnConfig() {
+        return dosnConfig;
+    }
+
     public static class Builder implements org.apache.commons.lang3.builder.Builder<Bea91Z2cConfig> {
         /**
          * Z2 triple generation config
          */
         private final Z2TripleGenConfig z2TripleGenConfig;
+        /**
+         * Decision OSN config, null if shuffling is not enabled
+         */
+        private DosnConfig dosnConfig;
 
         public Builder(SecurityModel securityModel, boolean silent) {
             z2TripleGenConfig = Z2TripleGenFactory.createDefaultConfig(securityModel, silent);
+            dosnConfig = null;
+        }
+
+        /**
+         * Enables oblivious shuffling with the given Decision OSN config. Shuffling is disabled by default, so that
+         * parties do not pay for the Decision OSN initialization if they never shuffle.
+         *
+         * @param dosnConfig Decision OSN config.
+         * @return the builder.
+         */
+        public Builder setDosnConfig(DosnConfig dosnConfig) {
+            this.dosnConfig = dosnConfig;
+            return this;
         }
 
         @Override
@@ -6,8 +6,12 @@ import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
 import edu.alibaba.mpc4j.common.tool.bitvector.BitVectorFactory;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 import edu.alibaba.mpc4j.s2pc.aby.basics.z2.AbstractZ2cParty;
+import edu.alibaba.mpc4j.s2pc.aby.basics.z2.ShuffleZ2cParty;
 import edu.alibaba.mpc4j.s2pc.aby.basics.z2.SquareZ2Vector;
 import edu.alibaba.mpc4j.s2pc.aby.basics.z2.bea91.Bea91Z2cPtoDesc.PtoStep;
+import edu.alibaba.mpc4j.s2pc.aby.pcg.osn.dosn.DosnFactory;
+import edu.alibaba.mpc4j.s2pc.aby.pcg.osn.dosn.DosnReceiver;
+import edu.alibaba.mpc4j.s2pc.aby.pcg.osn.dosn.DosnSender;
 import edu.alibaba.mpc4j.s2pc.aby.pcg.triple.Z2Triple;
 import edu.alibaba.mpc4j.s2pc.aby.pcg.triple.z2.Z2TripleGenFactory;
 import edu.alibaba.mpc4j.s2pc.aby.pcg.triple.z2.Z2TripleGenParty;
@@ -24,22 +28,48 @@ import java.util.concurrent.TimeUnit;
  * @author Weiran Liu
  * @date 2022/02/14
  */
-public class Bea91Z2cReceiver extends AbstractZ2cParty {
+public class Bea91Z2cReceiver extends AbstractZ2cParty implements ShuffleZ2cParty {
     /**
      * multiplication triple generation receiver
      */
     private final Z2TripleGenParty z2TripleGenReceiver;
+    /**
+     * DOSN sender, null if shuffling is not enabled
+     */
+    private final DosnSender dosnSender;
+    /**
+     * DOSN receiver, null if shuffling is not enabled
+     */
+    private final DosnReceiver dosnReceiver;
 
     public Bea91Z2cReceiver(Rpc receiverRpc, Party senderParty, Bea91Z2cConfig config) {
         super(Bea91Z2cPtoDesc.getInstance(), receiverRpc, senderParty, config);
         z2TripleGenReceiver = Z2TripleGenFactory.createReceiver(receiverRpc, senderParty, config.getZ2TripleGenConfig());
         addSubPto(z2TripleGenReceiver);
+        if (config.getDosnConfig() == null) {
+            dosnSender = null;
+            dosnReceiver = null;
+        } else {
+            dosnSender = DosnFactory.createSender(receiverRpc, senderParty, config.getDosnConfig());
+            addSubPto(dosnSender);
+            dosnReceiver = DosnFactory.createReceiver(receiverRpc, senderParty, config.getDosnConfig());
+            addSubPto(dosnReceiver);
+        }
     }
 
     public Bea91Z2cReceiver(Rpc receiverRpc, Party senderParty, Party aiderParty, Bea91Z2cConfig config) {
         super(Bea91Z2cPtoDesc.getInstance(), receiverRpc, senderParty, config);
         z2TripleGenReceiver = Z2TripleGenFactory.createReceiver(receiverRpc, senderParty, aiderParty, config.getZ2TripleGenConfig());
         addSubPto(z2TripleGenReceiver);
+        if (config.getDosnConfig() == null) {
+            dosnSender = null;
+            dosnReceiver = null;
+        } else {
+            dosnSender = DosnFactory.createSender(receiverRpc, senderParty, config.getDosnConfig());
+            addSubPto(dosnSender);
+            dosnReceiver = DosnFactory.createReceiver(receiverRpc, senderParty, config.getDosnConfig());
+            addSubPto(dosnReceiver);
+        }
     }
 
     @Override
@@ -49,6 +79,10 @@ public class Bea91Z2cReceiver extends AbstractZ2cParty {
 
         stopWatch.start();
         z2TripleGenReceiver.init(expectTotalNum);
+        if (dosnSender != null) {
+            dosnSender.init();
+            dosnReceiver.init();
+        }
         stopWatch.stop();
         long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -57,6 +91,11 @@ public class Bea91Z2cReceiver extends AbstractZ2cParty {
         logPhaseInfo(PtoState.INIT_END);
     }
 
+    @Override
+    public SquareZ2Vector[][] shuffle(MpcZ2Vector[][] xiArrays) throws MpcAbortException {
+        return shuffle(xiArrays, dosnSender, dosnReceiver, false);
+    }
+
     @Override
     public SquareZ2Vector shareOwn(BitVector x1) {
         setShareOwnInput(x1);
@@ -6,8 +6,12 @@ import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
 import edu.alibaba.mpc4j.common.tool.bitvector.BitVectorFactory;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 import edu.alibaba.mpc4j.s2pc.aby.basics.z2.AbstractZ2cParty;
+import edu.alibaba.mpc4j.s2pc.aby.basics.z2.ShuffleZ2cParty;
 import edu.alibaba.mpc4j.s2pc.aby.basics.z2.SquareZ2Vector;
 import edu.alibaba.mpc4j.s2pc.aby.basics.z2.bea91.Bea91Z2cPtoDesc.PtoStep;
+import edu.alibaba.mpc4j.s2pc.aby.pcg.osn.dosn.DosnFactory;
+import edu.alibaba.mpc4j.s2pc.aby.pcg.osn.dosn.DosnReceiver;
+import edu.alibaba.mpc4j.s2pc.aby.pcg.osn.dosn.DosnSender;
 import edu.alibaba.mpc4j.s2pc.aby.pcg.triple.Z2Triple;
 import edu.alibaba.mpc4j.s2pc.aby.pcg.triple.z2.Z2TripleGenFactory;
 import edu.alibaba.mpc4j.s2pc.aby.pcg.triple.z2.Z2TripleGenParty;
@@ -24,22 +28,48 @@ import java.util.concurrent.TimeUnit;
  * @author Weiran Liu
  * @date 2022/02/14
  */
-public class Bea91Z2cSender extends AbstractZ2cParty {
+public class Bea91Z2cSender extends AbstractZ2cParty implements ShuffleZ2cParty {
     /**
      * multiplication triple generation sender
      */
     private final Z2TripleGenParty z2TripleGenSender;
+    /**
+     * DOSN receiver, null if shuffling is not enabled
+     */
+    private final DosnReceiver dosnReceiver;
+    /**
+     * DOSN sender, null if shuffling is not enabled
+     */
+    private final DosnSender dosnSender;
 
     public Bea91Z2cSender(Rpc senderRpc, Party receiverParty, Bea91Z2cConfig config) {
         super(Bea91Z2cPtoDesc.getInstance(), senderRpc, receiverParty, config);
         z2TripleGenSender = Z2TripleGenFactory.createSender(senderRpc, receiverParty, config.getZ2TripleGenConfig());
         addSubPto(z2TripleGenSender);
+        if (config.getDosnConfig() == null) {
+            dosnReceiver = null;
+            dosnSender = null;
+        } else {
+            dosnReceiver = DosnFactory.createReceiver(senderRpc, receiverParty, config.getDosnConfig());
+            addSubPto(dosnReceiver);
+            dosnSender = DosnFactory.createSender(senderRpc, receiverParty, config.getDosnConfig());
+            addSubPto(dosnSender);
+        }
     }
 
     public Bea91Z2cSender(Rpc senderRpc, Party receiverParty, Party aiderParty, Bea91Z2cConfig config) {
         super(Bea91Z2cPtoDesc.getInstance(), senderRpc, receiverParty, config);
         z2TripleGenSender = Z2TripleGenFactory.createSender(senderRpc, receiverParty, aiderParty, config.getZ2TripleGenConfig());
         addSubPto(z2TripleGenSender);
+        if (config.getDosnConfig() == null) {
+            dosnReceiver = null;
+            dosnSender = null;
+        } else {
+            dosnReceiver = DosnFactory.createReceiver(senderRpc, receiverParty, config.getDosnConfig());
+            addSubPto(dosnReceiver);
+            dosnSender = DosnFactory.createSender(senderRpc, receiverParty, config.getDosnConfig());
+            addSubPto(dosnSender);
+        }
     }
 
     @Override
@@ -49,6 +79,10 @@ public class Bea91Z2cSender extends AbstractZ2cParty {
 
         stopWatch.start();
         z2TripleGenSender.init(expectTotalNum);
+        if (dosnReceiver != null) {
+            dosnReceiver.init();
+            dosnSender.init();
+        }
         stopWatch.stop();
         long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -57,6 +91,11 @@ public class Bea91Z2cSender extends AbstractZ2cParty {
         logPhaseInfo(PtoState.INIT_END);
     }
 
+    @Override
+    public SquareZ2Vector[][] shuffle(MpcZ2Vector[][] xiArrays) throws MpcAbortException {
+        return shuffle(xiArrays, dosnSender, dosnReceiver, true);
+    }
+
     @Override
     public SquareZ2Vector shareOwn(BitVector x0) {
         setShareOwnInput(x0);
@@ -2,8 +2,10 @@ package edu.alibaba.mpc4j.s2pc.aby.basics.z2.rrg21;
 
 import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
 import edu.alibaba.mpc4j.common.rpc.pto.AbstractMultiPartyPtoConfig;
+import edu.alibaba.mpc4j.common.rpc.pto.MultiPartyPtoConfig;
 import edu.alibaba.mpc4j.s2pc.aby.basics.z2.Z2cConfig;
 import edu.alibaba.mpc4j.s2pc.aby.basics.z2.Z2cFactory;
+import edu.alibaba.mpc4j.s2pc.aby.pcg.osn.dosn.DosnConfig;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotConfig;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotFactory;
 
@@ -18,10 +20,18 @@ public class Rrg21Z2cConfig extends AbstractMultiPartyPtoConfig implements Z2cCo
      * COT config
      */
     private final CotConfig cotConfig;
+    /**
+     * Decision OSN config
+     */
+    private final DosnConfig dosnConfig;
 
     private Rrg21Z2cConfig(Builder builder) {
-        super(SecurityModel.SEMI_HONEST, builder.cotConfig);
+        super(SecurityModel.SEMI_HONEST, builder.dosnConfig == null
+            ? new MultiPartyPtoConfig[]{builder.cotConfig}
+            : new MultiPartyPtoConfig[]{builder.cotConfig, builder.dosnConfig}
+        );
         cotConfig = builder.cotConfig;
+        dosnConfig = builder.dosnConfig;
     }
 
     public CotConfig getCotConfig() {
@@ -38,14 +48,24 @@ public class Rrg21Z2cConfig extends AbstractMultiPartyPtoConfig implements Z2cCo
         return cotConfig.defaultRoundNum();
     }
 
+    @Override
+    public DosnConfig getDosnConfig() {
+        return dosnConfig;
+    }
+
     public static class Builder implements org.apache.commons.lang3.builder.Builder<Rrg21Z2cConfig> {
         /**
          * no-choice COT config
          */
         private CotConfig cotConfig;
+        /**
+         * Decision OSN config, null if shuffling is not enabled
+         */
+        private DosnConfig dosnConfig;
 
         public Builder(boolean silent) {
             cotConfig = CotFactory.createDefaultConfig(SecurityModel.SEMI_HONEST, silent);
+            dosnConfig = null;
         }
 
         public Builder setCotConfig(CotConfig cotConfig) {
@@ -53,6 +73,18 @@ public class Rrg21Z2cConfig extends AbstractMultiPartyPtoConfig implements Z2cCo
             return this;
         }
 
+        /**
+         * Enables oblivious shuffling with the given Decision OSN config. Shuffling is disabled by default, so that
+         * parties do not pay for the Decision OSN initialization if they never shuffle.
+         *
+         * @param dosnConfig Decision OSN config.
+         * @return the builder.
+         */
+        public Builder setDosnConfig(DosnConfig dosnConfig) {
+            this.dosnConfig = dosnConfig;
+            return this;
+        }
+
         @Override
         public Rrg21Z2cConfig build() {
             return new Rrg21Z2cConfig(this);
@@ -9,8 +9,12 @@ import edu.alibaba.mpc4j.common.tool.crypto.crhf.CrhfFactory;
 import edu.alibaba.mpc4j.common.tool.utils.BinaryUtils;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 import edu.alibaba.mpc4j.s2pc.aby.basics.z2.AbstractZ2cParty;
+import edu.alibaba.mpc4j.s2pc.aby.basics.z2.ShuffleZ2cParty;
 import edu.alibaba.mpc4j.s2pc.aby.basics.z2.SquareZ2Vector;
 import edu.alibaba.mpc4j.s2pc.aby.basics.z2.rrg21.Rrg21Z2cPtoDesc.PtoStep;
+import edu.alibaba.mpc4j.s2pc.aby.pcg.osn.dosn.DosnFactory;
+import edu.alibaba.mpc4j.s2pc.aby.pcg.osn.dosn.DosnReceiver;
+import edu.alibaba.mpc4j.s2pc.aby.pcg.osn.dosn.DosnSender;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.*;
 
 import java.util.Arrays;
@@ -26,7 +30,7 @@ import java.util.stream.IntStream;
  * @author Weiran Liu
  * @date 2023/4/11
  */
-public class Rrg21Z2cReceiver extends AbstractZ2cParty {
+public class Rrg21Z2cReceiver extends AbstractZ2cParty implements ShuffleZ2cParty {
     /**
      * COT receiver
      */
@@ -35,6 +39,14 @@ public class Rrg21Z2cReceiver extends AbstractZ2cParty {
      * COT sender
      */
     private final CotSender cotSender;
+    /**
+     * DOSN sender, null if shuffling is not enabled
+     */
+    private final DosnSender dosnSender;
+    /**
+     * DOSN receiver, null if shuffling is not enabled
+     */
+    private final DosnReceiver dosnReceiver;
     /**
      * -t1 vector
      */
@@ -51,6 +63,15 @@ public class Rrg21Z2cReceiver extends AbstractZ2cParty {
         addSubPto(cotReceiver);
         cotSender = CotFactory.createSender(receiverRpc, senderParty, cotConfig);
         addSubPto(cotSender);
+        if (config.getDosnConfig() == null) {
+            dosnSender = null;
+            dosnReceiver = null;
+        } else {
+            dosnSender = DosnFactory.createSender(receiverRpc, senderParty, config.getDosnConfig());
+            addSubPto(dosnSender);
+            dosnReceiver = DosnFactory.createReceiver(receiverRpc, senderParty, config.getDosnConfig());
+            addSubPto(dosnReceiver);
+        }
     }
 
     @Override
@@ -63,6 +84,10 @@ public class Rrg21Z2cReceiver extends AbstractZ2cParty {
         cotReceiver.init(expectTotalNum);
         byte[] delta = BytesUtils.randomByteArray(CommonConstants.BLOCK_BYTE_LENGTH, secureRandom);
         cotSender.init(delta, expectTotalNum);
+        if (dosnSender != null) {
+            dosnSender.init();
+            dosnReceiver.init();
+        }
         stopWatch.stop();
         long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -71,6 +96,11 @@ public class Rrg21Z2cReceiver extends AbstractZ2cParty {
         logPhaseInfo(PtoState.INIT_END);
     }
 
+    @Override
+    public SquareZ2Vector[][] shuffle(MpcZ2Vector[][] xiArrays) throws MpcAbortException {
+        return shuffle(xiArrays, dosnSender, dosnReceiver, false);
+    }
+
     @Override
     public SquareZ2Vector shareOwn(BitVector x1) {
         setShareOwnInput(x1);
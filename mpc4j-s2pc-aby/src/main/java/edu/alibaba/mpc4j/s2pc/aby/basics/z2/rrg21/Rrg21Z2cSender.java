@@ -9,8 +9,12 @@ import edu.alibaba.mpc4j.common.tool.crypto.crhf.CrhfFactory;
 import edu.alibaba.mpc4j.common.tool.utils.BinaryUtils;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 import edu.alibaba.mpc4j.s2pc.aby.basics.z2.AbstractZ2cParty;
+import edu.alibaba.mpc4j.s2pc.aby.basics.z2.ShuffleZ2cParty;
 import edu.alibaba.mpc4j.s2pc.aby.basics.z2.SquareZ2Vector;
 import edu.alibaba.mpc4j.s2pc.aby.basics.z2.rrg21.Rrg21Z2cPtoDesc.PtoStep;
+import edu.alibaba.mpc4j.s2pc.aby.pcg.osn.dosn.DosnFactory;
+import edu.alibaba.mpc4j.s2pc.aby.pcg.osn.dosn.DosnReceiver;
+import edu.alibaba.mpc4j.s2pc.aby.pcg.osn.dosn.DosnSender;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.*;
 
 import java.util.Arrays;
@@ -26,7 +30,7 @@ import java.util.stream.IntStream;
  * @author Weiran Liu
  * @date 2023/4/11
  */
-public class Rrg21Z2cSender extends AbstractZ2cParty {
+public class Rrg21Z2cSender extends AbstractZ2cParty implements ShuffleZ2cParty {
     /**
      * COT sender
      */
@@ -35,6 +39,14 @@ public class Rrg21Z2cSender extends AbstractZ2cParty {
      * COT receiver
      */
     private final CotReceiver cotReceiver;
+    /**
+     * DOSN receiver, null if shuffling is not enabled
+     */
+    private final DosnReceiver dosnReceiver;
+    /**
+     * DOSN sender, null if shuffling is not enabled
+     */
+    private final DosnSender dosnSender;
     /**
      * -s0 vector
      */
@@ -51,6 +63,15 @@ public class Rrg21Z2cSender extends AbstractZ2cParty {
         addSubPto(cotSender);
         cotReceiver = CotFactory.createReceiver(senderRpc, receiverParty, cotConfig);
         addSubPto(cotReceiver);
+        if (config.getDosnConfig() == null) {
+            dosnReceiver = null;
+            dosnSender = null;
+        } else {
+            dosnReceiver = DosnFactory.createReceiver(senderRpc, receiverParty, config.getDosnConfig());
+            addSubPto(dosnReceiver);
+            dosnSender = DosnFactory.createSender(senderRpc, receiverParty, config.getDosnConfig());
+            addSubPto(dosnSender);
+        }
     }
 
     @Override
@@ -63,6 +84,10 @@ public class Rrg21Z2cSender extends AbstractZ2cParty {
         // since storing many COT outputs would lead to memory exception, here we generate COT when necessary
         cotSender.init(delta, expectTotalNum);
         cotReceiver.init(expectTotalNum);
+        if (dosnReceiver != null) {
+            dosnReceiver.init();
+            dosnSender.init();
+        }
         stopWatch.stop();
         long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -71,6 +96,11 @@ public class Rrg21Z2cSender extends AbstractZ2cParty {
         logPhaseInfo(PtoState.INIT_END);
     }
 
+    @Override
+    public SquareZ2Vector[][] shuffle(MpcZ2Vector[][] xiArrays) throws MpcAbortException {
+        return shuffle(xiArrays, dosnSender, dosnReceiver, true);
+    }
+
     @Override
     public SquareZ2Vector shareOwn(BitVector x0) {
         setShareOwnInput(x0);
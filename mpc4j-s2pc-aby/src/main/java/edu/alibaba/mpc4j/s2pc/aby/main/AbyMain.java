@@ -1,5 +1,6 @@
 package edu.alibaba.mpc4j.s2pc.aby.main;
 
+import edu.alibaba.mpc4j.common.rpc.main.AbstractMainTwoPartyPto;
 import edu.alibaba.mpc4j.common.rpc.main.MainPtoConfigUtils;
 import edu.alibaba.mpc4j.common.tool.utils.PropertiesUtils;
 import edu.alibaba.mpc4j.s2pc.aby.main.osn.RosnMain;
@@ -26,8 +27,7 @@ public class AbyMain {
         //noinspection SwitchStatementWithTooFewBranches
         switch (ptoType) {
             case RosnMain.PTO_TYPE_NAME:
-                RosnMain rosnMain = new RosnMain(properties, ownName);
-                rosnMain.runNetty();
+                AbstractMainTwoPartyPto.run(properties, ownName, RosnMain::new);
                 break;
             default:
                 throw new IllegalArgumentException("Invalid " + MainPtoConfigUtils.PTO_TYPE_KEY + ": " + ptoType);
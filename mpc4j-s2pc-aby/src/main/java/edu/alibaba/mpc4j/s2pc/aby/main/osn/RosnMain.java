@@ -61,10 +61,10 @@ public class RosnMain extends AbstractMainTwoPartyPto {
     public RosnMain(Properties properties, String ownName) {
         super(properties, ownName);
         // read PSI config
-        LOGGER.info("{} read OSN config", ownRpc.ownParty().getPartyName());
+        LOGGER.info("{} read OSN config", ownName);
         rosnConfig = RosnConfigUtils.createConfig(properties);
         // read PTO config
-        LOGGER.info("{} read settings", ownRpc.ownParty().getPartyName());
+        LOGGER.info("{} read settings", ownName);
         // mode code, &01 > 0: fixed total byte size; &10 > 0: fixed data size or payload byte length
         int modeCode = PropertiesUtils.readInt(properties, "mode_code");
         parameters = new LinkedList<>();
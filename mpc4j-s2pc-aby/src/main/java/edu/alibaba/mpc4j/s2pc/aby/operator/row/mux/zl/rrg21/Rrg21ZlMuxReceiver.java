@@ -132,8 +132,11 @@ public class Rrg21ZlMuxReceiver extends AbstractZlMuxParty {
         delta1IntStream = parallel ? delta1IntStream.parallel() : delta1IntStream;
         List<byte[]> delta1Payload = delta1IntStream
             .mapToObj(index -> {
-                t1s[index] = zl.createRandom(cotSenderOutput.getR0(index));
-                BigInteger r = zl.createRandom(cotSenderOutput.getR1(index));
+                byte[] block = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+                cotSenderOutput.getR0(index, block);
+                t1s[index] = zl.createRandom(block);
+                cotSenderOutput.getR1(index, block);
+                BigInteger r = zl.createRandom(block);
                 // Δr
                 BigInteger randomDelta = zl.sub(r, t1s[index]);
                 // Δ = y1 − 2 * x1 * y1
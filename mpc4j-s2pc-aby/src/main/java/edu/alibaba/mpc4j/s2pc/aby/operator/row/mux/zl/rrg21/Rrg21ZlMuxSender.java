@@ -133,8 +133,11 @@ public class Rrg21ZlMuxSender extends AbstractZlMuxParty {
         delta0IntStream = parallel ? delta0IntStream.parallel() : delta0IntStream;
         List<byte[]> delta0Payload = delta0IntStream
             .mapToObj(index -> {
-                s0s[index] = zl.createRandom(cotSenderOutput.getR0(index));
-                BigInteger r = zl.createRandom(cotSenderOutput.getR1(index));
+                byte[] block = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+                cotSenderOutput.getR0(index, block);
+                s0s[index] = zl.createRandom(block);
+                cotSenderOutput.getR1(index, block);
+                BigInteger r = zl.createRandom(block);
                 // Δr
                 BigInteger randomDelta = zl.sub(r, s0s[index]);
                 // Δ = y0 − 2 * x0 * y0
@@ -90,8 +90,11 @@ public class Plg24ZlDaBitGenSender extends AbstractZlDaBitGenParty {
         IntStream indexIntStream = parallel ? IntStream.range(0, num).parallel() : IntStream.range(0, num);
         List<byte[]> correlationPayload = indexIntStream
             .mapToObj(i -> {
-                BigInteger hr0 = zl.createRandom(cotSenderOutput.getR0(i));
-                BigInteger hr1 = zl.createRandom(cotSenderOutput.getR1(i));
+                byte[] block = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+                cotSenderOutput.getR0(i, block);
+                BigInteger hr0 = zl.createRandom(block);
+                cotSenderOutput.getR1(i, block);
+                BigInteger hr1 = zl.createRandom(block);
                 if (r0Vector.get(i)) {
                     s0Vector.setElement(i, zl.add(hr0, zl.createOne()));
                     return zl.sub(zl.add(hr0, zl.createOne()), hr1);
@@ -81,6 +81,7 @@ public class DosnFactory implements PtoFactory {
     public static DosnConfig createDefaultConfig(SecurityModel securityModel, boolean silent) {
         switch (securityModel) {
             case IDEAL:
+            case TRUSTED_DEALER:
             case SEMI_HONEST:
                 return new Lll24DosnConfig.Builder(silent).build();
             case MALICIOUS:
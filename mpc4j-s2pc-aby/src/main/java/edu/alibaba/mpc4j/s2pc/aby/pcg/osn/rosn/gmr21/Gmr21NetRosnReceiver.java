@@ -137,9 +137,10 @@ public class Gmr21NetRosnReceiver extends AbstractNetRosnReceiver {
             // 字节长度小于等于128比特时，只需要抗关联哈希函数
             Crhf crhf = CrhfFactory.createInstance(getEnvType(), CrhfFactory.CrhfType.MMO);
             widthIndexIntStream.forEach(widthIndex -> {
+                byte[] block = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
                 for (int levelIndex = 0; levelIndex < level; levelIndex++) {
-                    byte[] switchWireMask = cotReceiverOutputs[levelIndex].getRb(widthIndex);
-                    switchWireMask = crhf.hash(switchWireMask);
+                    cotReceiverOutputs[levelIndex].getRb(widthIndex, block);
+                    byte[] switchWireMask = crhf.hash(block);
                     switchWireMask0s[levelIndex][widthIndex] = Arrays.copyOf(switchWireMask, byteLength);
                     switchWireMask1s[levelIndex][widthIndex] = Arrays.copyOfRange(switchWireMask, byteLength, totalByteLen);
                 }
@@ -148,9 +149,10 @@ public class Gmr21NetRosnReceiver extends AbstractNetRosnReceiver {
             // 字节长度大于128比特时，要使用PRG
             Prg prg = PrgFactory.createInstance(envType, totalByteLen);
             widthIndexIntStream.forEach(widthIndex -> {
+                byte[] block = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
                 for (int levelIndex = 0; levelIndex < level; levelIndex++) {
-                    byte[] switchWireMask = cotReceiverOutputs[levelIndex].getRb(widthIndex);
-                    switchWireMask = prg.extendToBytes(switchWireMask);
+                    cotReceiverOutputs[levelIndex].getRb(widthIndex, block);
+                    byte[] switchWireMask = prg.extendToBytes(block);
                     switchWireMask0s[levelIndex][widthIndex] = Arrays.copyOf(switchWireMask, byteLength);
                     switchWireMask1s[levelIndex][widthIndex] = Arrays.copyOfRange(switchWireMask, byteLength, totalByteLen);
                 }
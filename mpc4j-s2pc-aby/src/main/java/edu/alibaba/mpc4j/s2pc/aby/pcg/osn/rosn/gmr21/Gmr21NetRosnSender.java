@@ -132,26 +132,28 @@ public class Gmr21NetRosnSender extends AbstractNetRosnSender {
             // 字节长度小于等于128比特时，只需要抗关联哈希函数
             Crhf crhf = CrhfFactory.createInstance(getEnvType(), CrhfFactory.CrhfType.MMO);
             widthIndexIntStream.forEach(widthIndex -> {
+                byte[] block = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
                 for (int levelIndex = 0; levelIndex < level; levelIndex++) {
-                    byte[] otR0 = cotSenderOutputs[levelIndex].getR0(widthIndex);
-                    otR0 = crhf.hash(otR0);
+                    cotSenderOutputs[levelIndex].getR0(widthIndex, block);
+                    byte[] otR0 = crhf.hash(block);
                     switchWireMask0s[levelIndex][widthIndex] = Arrays.copyOf(otR0, byteLength);
                     switchWireMask1s[levelIndex][widthIndex] = Arrays.copyOfRange(otR0, byteLength, totalByteLen);
-                    byte[] otR1 = cotSenderOutputs[levelIndex].getR1(widthIndex);
-                    correctionsMask[levelIndex][widthIndex] = Arrays.copyOf(crhf.hash(otR1), totalByteLen);
+                    cotSenderOutputs[levelIndex].getR1(widthIndex, block);
+                    correctionsMask[levelIndex][widthIndex] = Arrays.copyOf(crhf.hash(block), totalByteLen);
                 }
             });
         } else {
             // 字节长度大于128比特时，要使用PRG
             Prg prg = PrgFactory.createInstance(envType, totalByteLen);
             widthIndexIntStream.forEach(widthIndex -> {
+                byte[] block = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
                 for (int levelIndex = 0; levelIndex < level; levelIndex++) {
-                    byte[] otR0 = cotSenderOutputs[levelIndex].getR0(widthIndex);
-                    otR0 = prg.extendToBytes(otR0);
+                    cotSenderOutputs[levelIndex].getR0(widthIndex, block);
+                    byte[] otR0 = prg.extendToBytes(block);
                     switchWireMask0s[levelIndex][widthIndex] = Arrays.copyOf(otR0, byteLength);
                     switchWireMask1s[levelIndex][widthIndex] = Arrays.copyOfRange(otR0, byteLength, totalByteLen);
-                    byte[] otR1 = cotSenderOutputs[levelIndex].getR1(widthIndex);
-                    correctionsMask[levelIndex][widthIndex] = prg.extendToBytes(otR1);
+                    cotSenderOutputs[levelIndex].getR1(widthIndex, block);
+                    correctionsMask[levelIndex][widthIndex] = prg.extendToBytes(block);
                 }
             });
         }
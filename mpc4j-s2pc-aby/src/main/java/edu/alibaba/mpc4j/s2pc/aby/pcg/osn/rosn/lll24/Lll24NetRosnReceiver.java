@@ -159,10 +159,11 @@ public class Lll24NetRosnReceiver extends AbstractNetRosnReceiver {
             // we only need to use more efficient CRHF instead of PRG
             Crhf crhf = CrhfFactory.createInstance(getEnvType(), CrhfFactory.CrhfType.MMO);
             widthIndexIntStream.forEach(widthIndex -> {
+                byte[] block = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
                 for (int levelIndex = 0; levelIndex < level; levelIndex++) {
                     if (waksmanNetwork.getGates(levelIndex)[widthIndex] != 2) {
-                        byte[] switchWireMask = paddingCotReceiverOutputs[levelIndex].getRb(widthIndex);
-                        switchWireMasks[levelIndex][widthIndex] = Arrays.copyOf(crhf.hash(switchWireMask), byteLength);
+                        paddingCotReceiverOutputs[levelIndex].getRb(widthIndex, block);
+                        switchWireMasks[levelIndex][widthIndex] = Arrays.copyOf(crhf.hash(block), byteLength);
                     }
                 }
             });
@@ -170,10 +171,11 @@ public class Lll24NetRosnReceiver extends AbstractNetRosnReceiver {
             // we need to use PRG
             Prg prg = PrgFactory.createInstance(envType, byteLength);
             widthIndexIntStream.forEach(widthIndex -> {
+                byte[] block = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
                 for (int levelIndex = 0; levelIndex < level; levelIndex++) {
                     if (waksmanNetwork.getGates(levelIndex)[widthIndex] != 2) {
-                        byte[] switchWireMask = paddingCotReceiverOutputs[levelIndex].getRb(widthIndex);
-                        switchWireMasks[levelIndex][widthIndex] = prg.extendToBytes(switchWireMask);
+                        paddingCotReceiverOutputs[levelIndex].getRb(widthIndex, block);
+                        switchWireMasks[levelIndex][widthIndex] = prg.extendToBytes(block);
                     }
                 }
             });
@@ -153,12 +153,13 @@ public class Lll24NetRosnSender extends AbstractNetRosnSender {
             // we only need to use more efficient CRHF instead of PRG
             Crhf crhf = CrhfFactory.createInstance(envType, CrhfType.MMO);
             widthIndexIntStream.forEach(widthIndex -> {
+                byte[] block = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
                 for (int levelIndex = 0; levelIndex < level; levelIndex++) {
                     if (waksmanNetwork.getGates(levelIndex)[widthIndex] != 2) {
-                        byte[] otR0 = paddingCotSenderOutputs[levelIndex].getR0(widthIndex);
-                        switchWireMask0s[levelIndex][widthIndex] = Arrays.copyOf(crhf.hash(otR0), byteLength);
-                        byte[] otR1 = paddingCotSenderOutputs[levelIndex].getR1(widthIndex);
-                        switchWireMask1s[levelIndex][widthIndex] = Arrays.copyOf(crhf.hash(otR1), byteLength);
+                        paddingCotSenderOutputs[levelIndex].getR0(widthIndex, block);
+                        switchWireMask0s[levelIndex][widthIndex] = Arrays.copyOf(crhf.hash(block), byteLength);
+                        paddingCotSenderOutputs[levelIndex].getR1(widthIndex, block);
+                        switchWireMask1s[levelIndex][widthIndex] = Arrays.copyOf(crhf.hash(block), byteLength);
                     }
                 }
             });
@@ -166,12 +167,13 @@ public class Lll24NetRosnSender extends AbstractNetRosnSender {
             // we need to use PRG
             Prg prg = PrgFactory.createInstance(envType, byteLength);
             widthIndexIntStream.forEach(widthIndex -> {
+                byte[] block = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
                 for (int levelIndex = 0; levelIndex < level; levelIndex++) {
                     if (waksmanNetwork.getGates(levelIndex)[widthIndex] != 2) {
-                        byte[] otR0 = paddingCotSenderOutputs[levelIndex].getR0(widthIndex);
-                        switchWireMask0s[levelIndex][widthIndex] = prg.extendToBytes(otR0);
-                        byte[] otR1 = paddingCotSenderOutputs[levelIndex].getR1(widthIndex);
-                        switchWireMask1s[levelIndex][widthIndex] = prg.extendToBytes(otR1);
+                        paddingCotSenderOutputs[levelIndex].getR0(widthIndex, block);
+                        switchWireMask0s[levelIndex][widthIndex] = prg.extendToBytes(block);
+                        paddingCotSenderOutputs[levelIndex].getR1(widthIndex, block);
+                        switchWireMask1s[levelIndex][widthIndex] = prg.extendToBytes(block);
                     }
                 }
             });
@@ -156,9 +156,10 @@ public class Ms13NetRosnReceiver extends AbstractNetRosnReceiver {
             // 字节长度的2倍小于等于128比特时，只需要抗关联哈希函数
             Crhf crhf = CrhfFactory.createInstance(getEnvType(), CrhfFactory.CrhfType.MMO);
             widthIndexIntStream.forEach(widthIndex -> {
+                byte[] block = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
                 for (int levelIndex = 0; levelIndex < level; levelIndex++) {
-                    byte[] extendKey = cotReceiverOutputs[levelIndex].getRb(widthIndex);
-                    extendKey = Arrays.copyOf(crhf.hash(extendKey), extendByteLength);
+                    cotReceiverOutputs[levelIndex].getRb(widthIndex, block);
+                    byte[] extendKey = Arrays.copyOf(crhf.hash(block), extendByteLength);
                     switchWireExtendKeys[levelIndex][widthIndex] = extendKey;
                 }
             });
@@ -166,9 +167,10 @@ public class Ms13NetRosnReceiver extends AbstractNetRosnReceiver {
             // 字节长度的2倍大于128比特时，要使用PRG
             Prg prg = PrgFactory.createInstance(envType, extendByteLength);
             widthIndexIntStream.forEach(widthIndex -> {
+                byte[] block = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
                 for (int levelIndex = 0; levelIndex < level; levelIndex++) {
-                    byte[] extendKey = cotReceiverOutputs[levelIndex].getRb(widthIndex);
-                    extendKey = prg.extendToBytes(extendKey);
+                    cotReceiverOutputs[levelIndex].getRb(widthIndex, block);
+                    byte[] extendKey = prg.extendToBytes(block);
                     switchWireExtendKeys[levelIndex][widthIndex] = extendKey;
                 }
             });
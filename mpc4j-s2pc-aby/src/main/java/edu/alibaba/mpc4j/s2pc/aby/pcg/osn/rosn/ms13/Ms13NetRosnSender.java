@@ -139,12 +139,13 @@ public class Ms13NetRosnSender extends AbstractNetRosnSender {
             // 字节长度的2倍小于等于128比特时，只需要抗关联哈希函数
             Crhf crhf = CrhfFactory.createInstance(getEnvType(), CrhfFactory.CrhfType.MMO);
             widthIndexIntStream.forEach(widthIndex -> {
+                byte[] block = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
                 for (int levelIndex = 0; levelIndex < level; levelIndex++) {
-                    byte[] extendKey0 = cotSenderOutputs[levelIndex].getR0(widthIndex);
-                    extendKey0 = Arrays.copyOf(crhf.hash(extendKey0), extendByteLength);
+                    cotSenderOutputs[levelIndex].getR0(widthIndex, block);
+                    byte[] extendKey0 = Arrays.copyOf(crhf.hash(block), extendByteLength);
                     switchWireExtendKey0s[levelIndex][widthIndex] = extendKey0;
-                    byte[] extendKey1 = cotSenderOutputs[levelIndex].getR1(widthIndex);
-                    extendKey1 = Arrays.copyOf(crhf.hash(extendKey1), extendByteLength);
+                    cotSenderOutputs[levelIndex].getR1(widthIndex, block);
+                    byte[] extendKey1 = Arrays.copyOf(crhf.hash(block), extendByteLength);
                     switchWireExtendKey1s[levelIndex][widthIndex] = extendKey1;
                 }
             });
@@ -152,12 +153,13 @@ public class Ms13NetRosnSender extends AbstractNetRosnSender {
             // 字节长度的2倍大于128比特时，要使用PRG
             Prg prg = PrgFactory.createInstance(envType, extendByteLength);
             widthIndexIntStream.forEach(widthIndex -> {
+                byte[] block = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
                 for (int levelIndex = 0; levelIndex < level; levelIndex++) {
-                    byte[] extendKey0 = cotSenderOutputs[levelIndex].getR0(widthIndex);
-                    extendKey0 = prg.extendToBytes(extendKey0);
+                    cotSenderOutputs[levelIndex].getR0(widthIndex, block);
+                    byte[] extendKey0 = prg.extendToBytes(block);
                     switchWireExtendKey0s[levelIndex][widthIndex] = extendKey0;
-                    byte[] extendKey1 = cotSenderOutputs[levelIndex].getR1(widthIndex);
-                    extendKey1 = prg.extendToBytes(extendKey1);
+                    cotSenderOutputs[levelIndex].getR1(widthIndex, block);
+                    byte[] extendKey1 = prg.extendToBytes(block);
                     switchWireExtendKey1s[levelIndex][widthIndex] = extendKey1;
                 }
             });
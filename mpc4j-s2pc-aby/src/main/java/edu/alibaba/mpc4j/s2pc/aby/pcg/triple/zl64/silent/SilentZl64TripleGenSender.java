@@ -223,13 +223,14 @@ public class SilentZl64TripleGenSender extends AbstractZl64TripleGenParty {
         byte[][] messagePairArray = receiverMessagesPayload.toArray(new byte[0][]);
         IntStream indexIntStream = parallel ? IntStream.range(0, eachNum).parallel() : IntStream.range(0, eachNum);
         receiverCorrelations = indexIntStream
-            .mapToObj(index ->
-                IntStream.range(0, l)
+            .mapToObj(index -> {
+                byte[] block = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+                return IntStream.range(0, l)
                     .mapToLong(bitIndex -> {
                         int offset = index * l + bitIndex;
-                        byte[] message = cotReceiverOutput.getRb(offset);
+                        cotReceiverOutput.getRb(offset, block);
                         // s_{i, b} ⊕ H(k_{i, b})
-                        message = prgs[bitIndex].extendToBytes(message);
+                        byte[] message = prgs[bitIndex].extendToBytes(block);
                         if (cotReceiverOutput.getChoice(offset)) {
                             BytesUtils.xori(message, messagePairArray[2 * offset + 1]);
                         } else {
@@ -237,29 +238,34 @@ public class SilentZl64TripleGenSender extends AbstractZl64TripleGenParty {
                         }
                         return LongUtils.fixedByteArrayToLong(message);
                     })
-                    .toArray())
+                    .toArray();
+            })
             .toArray(long[][]::new);
     }
 
     private List<byte[]> generateSenderCorrelationPayload(CotSenderOutput cotSenderOutput) {
         IntStream indexIntStream = parallel ? IntStream.range(0, eachNum).parallel() : IntStream.range(0, eachNum);
         return indexIntStream
-            .mapToObj(index ->
-                IntStream.range(0, l)
+            .mapToObj(index -> {
+                byte[] block = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+                return IntStream.range(0, l)
                     .mapToObj(i -> {
                         int offset = index * l + i;
                         int shiftByteL = prgs[i].getOutputByteLength();
                         byte[][] ciphertexts = new byte[2][];
-                        ciphertexts[0] = prgs[i].extendToBytes(cotSenderOutput.getR0(offset));
+                        cotSenderOutput.getR0(offset, block);
+                        ciphertexts[0] = prgs[i].extendToBytes(block);
                         byte[] message0 = LongUtils.longToFixedByteArray(senderMessagesArray[offset][0], shiftByteL);
                         BytesUtils.xori(ciphertexts[0], message0);
-                        ciphertexts[1] = prgs[i].extendToBytes(cotSenderOutput.getR1(offset));
+                        cotSenderOutput.getR1(offset, block);
+                        ciphertexts[1] = prgs[i].extendToBytes(block);
                         byte[] message1 = LongUtils.longToFixedByteArray(senderMessagesArray[offset][1], shiftByteL);
                         BytesUtils.xori(ciphertexts[1], message1);
                         return ciphertexts;
                     })
                     .flatMap(Arrays::stream)
-                    .collect(Collectors.toList()))
+                    .collect(Collectors.toList());
+            })
             .flatMap(Collection::stream)
             .collect(Collectors.toList());
     }
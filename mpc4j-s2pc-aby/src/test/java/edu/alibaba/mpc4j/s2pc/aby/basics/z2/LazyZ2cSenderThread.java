@@ -0,0 +1,129 @@
+package edu.alibaba.mpc4j.s2pc.aby.basics.z2;
+
+import edu.alibaba.mpc4j.common.circuit.z2.MpcZ2Vector;
+import edu.alibaba.mpc4j.common.circuit.z2.Z2CircuitConfig;
+import edu.alibaba.mpc4j.common.circuit.z2.Z2IntegerCircuit;
+import edu.alibaba.mpc4j.common.circuit.z2.lazy.LazyZ2cParty;
+import edu.alibaba.mpc4j.common.circuit.z2.sorter.SorterFactory.SorterTypes;
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * lazy Z2 circuit sender thread.
+ *
+ * @author Weiran Liu
+ * @date 2024/8/8
+ */
+class LazyZ2cSenderThread extends Thread {
+    /**
+     * sender
+     */
+    private final Z2cParty sender;
+    /**
+     * number of AND invocations with secret inputs of the sender
+     */
+    private final AtomicLong andNum;
+    /**
+     * x arrays, where xArrays[i] is the i-th element
+     */
+    private final BitVector[][] xArrays;
+    /**
+     * total number of bits
+     */
+    private final int totalBitNum;
+    /**
+     * sorted elements (eager)
+     */
+    private BitVector[][] eagerSortArrays;
+    /**
+     * sorted elements (lazy)
+     */
+    private BitVector[][] lazySortArrays;
+    /**
+     * number of AND rounds (eager)
+     */
+    private long eagerAndRoundNum;
+    /**
+     * number of AND rounds (lazy)
+     */
+    private long lazyAndRoundNum;
+    /**
+     * number of AND rounds recorded by the lazy party
+     */
+    private long lazyRecordAndRoundNum;
+
+    LazyZ2cSenderThread(Z2cParty sender, AtomicLong andNum, BitVector[][] xArrays) {
+        this.sender = sender;
+        this.andNum = andNum;
+        this.xArrays = xArrays;
+        totalBitNum = Arrays.stream(xArrays).flatMap(Arrays::stream).mapToInt(BitVector::bitNum).sum();
+    }
+
+    BitVector[][] getEagerSortArrays() {
+        return eagerSortArrays;
+    }
+
+    BitVector[][] getLazySortArrays() {
+        return lazySortArrays;
+    }
+
+    long getEagerAndRoundNum() {
+        return eagerAndRoundNum;
+    }
+
+    long getLazyAndRoundNum() {
+        return lazyAndRoundNum;
+    }
+
+    long getLazyRecordAndRoundNum() {
+        return lazyRecordAndRoundNum;
+    }
+
+    @Override
+    public void run() {
+        try {
+            sender.init(totalBitNum);
+            // eager
+            Z2IntegerCircuit eagerCircuit = new Z2IntegerCircuit(sender, new Z2CircuitConfig.Builder()
+                .setSorterType(SorterTypes.BITONIC)
+                .build()
+            );
+            MpcZ2Vector[][] eagerArrays = share();
+            long beginAndNum = andNum.get();
+            eagerCircuit.sort(eagerArrays);
+            eagerAndRoundNum = andNum.get() - beginAndNum;
+            eagerSortArrays = open(eagerArrays);
+            // lazy
+            Z2IntegerCircuit lazyCircuit = new Z2IntegerCircuit(sender, new Z2CircuitConfig.Builder()
+                .setSorterType(SorterTypes.BITONIC)
+                .setLazy(true)
+                .build()
+            );
+            MpcZ2Vector[][] lazyArrays = share();
+            beginAndNum = andNum.get();
+            lazyCircuit.sort(lazyArrays);
+            lazyAndRoundNum = andNum.get() - beginAndNum;
+            lazyRecordAndRoundNum = ((LazyZ2cParty) lazyCircuit.getParty()).getAndRoundNum();
+            lazySortArrays = open(lazyArrays);
+        } catch (MpcAbortException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private MpcZ2Vector[][] share() {
+        return Arrays.stream(xArrays)
+            .map(sender::shareOwn)
+            .toArray(MpcZ2Vector[][]::new);
+    }
+
+    private BitVector[][] open(MpcZ2Vector[][] xiArrays) throws MpcAbortException {
+        BitVector[][] xArrays = new BitVector[xiArrays.length][];
+        for (int i = 0; i < xiArrays.length; i++) {
+            xArrays[i] = sender.open(xiArrays[i]);
+        }
+        return xArrays;
+    }
+}
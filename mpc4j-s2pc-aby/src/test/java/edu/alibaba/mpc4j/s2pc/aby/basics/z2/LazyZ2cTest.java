@@ -0,0 +1,172 @@
+package edu.alibaba.mpc4j.s2pc.aby.basics.z2;
+
+import edu.alibaba.mpc4j.common.circuit.z2.MpcZ2Vector;
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
+import edu.alibaba.mpc4j.common.rpc.pto.AbstractTwoPartyMemoryRpcPto;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVectorFactory;
+import edu.alibaba.mpc4j.s2pc.aby.basics.z2.bea91.Bea91Z2cConfig;
+import edu.alibaba.mpc4j.s2pc.aby.basics.z2.bea91.Bea91Z2cReceiver;
+import edu.alibaba.mpc4j.s2pc.aby.basics.z2.bea91.Bea91Z2cSender;
+import org.apache.commons.lang3.time.StopWatch;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * lazy Z2 circuit test with secret-shared inputs. Lazy evaluation only batches AND gates with secret inputs, so we run
+ * circuits with Bea91 Z2 circuit parties and count AND invocations with secret inputs, i.e., communication rounds.
+ *
+ * @author Weiran Liu
+ * @date 2024/8/8
+ */
+public class LazyZ2cTest extends AbstractTwoPartyMemoryRpcPto {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LazyZ2cTest.class);
+    /**
+     * default number of elements
+     */
+    private static final int DEFAULT_N = 10;
+    /**
+     * default element bit length
+     */
+    private static final int DEFAULT_L = 8;
+    /**
+     * default number of instances
+     */
+    private static final int DEFAULT_NUM = 16;
+
+    public LazyZ2cTest() {
+        super(Z2cFactory.BcType.BEA91.name());
+    }
+
+    @Test
+    public void test2Elements() {
+        testPto(2, DEFAULT_L, DEFAULT_NUM, false);
+    }
+
+    @Test
+    public void testDefault() {
+        testPto(DEFAULT_N, DEFAULT_L, DEFAULT_NUM, false);
+    }
+
+    @Test
+    public void testParallelDefault() {
+        testPto(DEFAULT_N, DEFAULT_L, DEFAULT_NUM, true);
+    }
+
+    private void testPto(int n, int l, int num, boolean parallel) {
+        Bea91Z2cConfig config = new Bea91Z2cConfig.Builder(SecurityModel.SEMI_HONEST, true).build();
+        AtomicLong senderAndNum = new AtomicLong();
+        AtomicLong receiverAndNum = new AtomicLong();
+        Z2cParty sender = new Bea91Z2cSender(firstRpc, secondRpc.ownParty(), config) {
+            @Override
+            public SquareZ2Vector and(MpcZ2Vector x0, MpcZ2Vector y0) throws MpcAbortException {
+                if (!x0.isPlain() && !y0.isPlain()) {
+                    senderAndNum.incrementAndGet();
+                }
+                return super.and(x0, y0);
+            }
+        };
+        Z2cParty receiver = new Bea91Z2cReceiver(secondRpc, firstRpc.ownParty(), config) {
+            @Override
+            public SquareZ2Vector and(MpcZ2Vector x1, MpcZ2Vector y1) throws MpcAbortException {
+                if (!x1.isPlain() && !y1.isPlain()) {
+                    receiverAndNum.incrementAndGet();
+                }
+                return super.and(x1, y1);
+            }
+        };
+        sender.setParallel(parallel);
+        receiver.setParallel(parallel);
+        int randomTaskId = Math.abs(SECURE_RANDOM.nextInt());
+        sender.setTaskId(randomTaskId);
+        receiver.setTaskId(randomTaskId);
+        BitVector[][] xArrays = IntStream.range(0, n)
+            .mapToObj(i -> IntStream.range(0, l)
+                .mapToObj(j -> BitVectorFactory.createRandom(num, SECURE_RANDOM))
+                .toArray(BitVector[]::new))
+            .toArray(BitVector[][]::new);
+        try {
+            LOGGER.info("-----test {} (n = {}, l = {}, num = {}) start-----",
+                sender.getPtoDesc().getPtoName(), n, l, num
+            );
+            LazyZ2cSenderThread senderThread = new LazyZ2cSenderThread(sender, senderAndNum, xArrays);
+            LazyZ2cReceiverThread receiverThread = new LazyZ2cReceiverThread(receiver, receiverAndNum, xArrays);
+            StopWatch stopWatch = new StopWatch();
+            // start
+            stopWatch.start();
+            senderThread.start();
+            receiverThread.start();
+            // stop
+            senderThread.join();
+            receiverThread.join();
+            stopWatch.stop();
+            long time = stopWatch.getTime(TimeUnit.MILLISECONDS);
+            stopWatch.reset();
+            // verify results
+            BitVector[][] expectArrays = sort(xArrays, num);
+            Assert.assertArrayEquals(expectArrays, senderThread.getEagerSortArrays());
+            Assert.assertArrayEquals(expectArrays, receiverThread.getEagerSortArrays());
+            Assert.assertArrayEquals(expectArrays, senderThread.getLazySortArrays());
+            Assert.assertArrayEquals(expectArrays, receiverThread.getLazySortArrays());
+            // verify rounds
+            Assert.assertEquals(senderThread.getEagerAndRoundNum(), receiverThread.getEagerAndRoundNum());
+            Assert.assertEquals(senderThread.getLazyAndRoundNum(), receiverThread.getLazyAndRoundNum());
+            Assert.assertEquals(senderThread.getLazyAndRoundNum(), senderThread.getLazyRecordAndRoundNum());
+            Assert.assertEquals(receiverThread.getLazyAndRoundNum(), receiverThread.getLazyRecordAndRoundNum());
+            Assert.assertTrue(senderThread.getLazyAndRoundNum() > 0);
+            Assert.assertTrue(senderThread.getLazyAndRoundNum() < senderThread.getEagerAndRoundNum());
+            LOGGER.info("AND rounds: eager = {}, lazy = {}",
+                senderThread.getEagerAndRoundNum(), senderThread.getLazyAndRoundNum()
+            );
+            printAndResetRpc(time);
+            // destroy
+            new Thread(sender::destroy).start();
+            new Thread(receiver::destroy).start();
+            LOGGER.info("-----test {} (n = {}, l = {}, num = {}) end-----",
+                sender.getPtoDesc().getPtoName(), n, l, num
+            );
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Sorts each instance in ascending order, where the 0-th bit is the most significant bit.
+     *
+     * @param xArrays elements.
+     * @param num     number of instances.
+     * @return sorted elements.
+     */
+    private BitVector[][] sort(BitVector[][] xArrays, int num) {
+        int n = xArrays.length;
+        int l = xArrays[0].length;
+        BitVector[][] zArrays = IntStream.range(0, n)
+            .mapToObj(i -> IntStream.range(0, l)
+                .mapToObj(j -> BitVectorFactory.createZeros(num))
+                .toArray(BitVector[]::new))
+            .toArray(BitVector[][]::new);
+        for (int k = 0; k < num; k++) {
+            long[] values = new long[n];
+            for (int i = 0; i < n; i++) {
+                for (BitVector x : xArrays[i]) {
+                    values[i] = (values[i] << 1) | (x.get(k) ? 1L : 0L);
+                }
+            }
+            Arrays.sort(values);
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < l; j++) {
+                    zArrays[i][j].set(k, ((values[i] >>> (l - 1 - j)) & 1L) == 1L);
+                }
+            }
+        }
+        return zArrays;
+    }
+}
@@ -0,0 +1,97 @@
+package edu.alibaba.mpc4j.s2pc.aby.basics.z2;
+
+import edu.alibaba.mpc4j.common.circuit.z2.MpcZ2Vector;
+import edu.alibaba.mpc4j.common.circuit.z2.Z2CircuitConfig;
+import edu.alibaba.mpc4j.common.circuit.z2.Z2IntegerCircuit;
+import edu.alibaba.mpc4j.common.circuit.z2.sorter.SorterFactory.SorterTypes;
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
+
+import java.util.Arrays;
+
+/**
+ * Z2 circuit shuffle receiver thread.
+ *
+ * @author Weiran Liu
+ * @date 2024/8/8
+ */
+class ShuffleZ2cReceiverThread extends Thread {
+    /**
+     * receiver
+     */
+    private final ShuffleZ2cParty receiver;
+    /**
+     * x arrays, where xArrays[i] is the i-th element
+     */
+    private final BitVector[][] xArrays;
+    /**
+     * total number of bits
+     */
+    private final int totalBitNum;
+    /**
+     * shuffled elements (secret)
+     */
+    private BitVector[][] secretShuffleArrays;
+    /**
+     * shuffled elements (plain)
+     */
+    private BitVector[][] plainShuffleArrays;
+    /**
+     * sorted elements
+     */
+    private BitVector[][] sortArrays;
+
+    ShuffleZ2cReceiverThread(ShuffleZ2cParty receiver, BitVector[][] xArrays) {
+        this.receiver = receiver;
+        this.xArrays = xArrays;
+        totalBitNum = Arrays.stream(xArrays).flatMap(Arrays::stream).mapToInt(BitVector::bitNum).sum();
+    }
+
+    BitVector[][] getSecretShuffleArrays() {
+        return secretShuffleArrays;
+    }
+
+    BitVector[][] getPlainShuffleArrays() {
+        return plainShuffleArrays;
+    }
+
+    BitVector[][] getSortArrays() {
+        return sortArrays;
+    }
+
+    @Override
+    public void run() {
+        try {
+            receiver.init(totalBitNum);
+            // secret elements
+            MpcZ2Vector[][] x1Arrays = new MpcZ2Vector[xArrays.length][];
+            for (int i = 0; i < xArrays.length; i++) {
+                int[] bitNums = Arrays.stream(xArrays[i]).mapToInt(BitVector::bitNum).toArray();
+                x1Arrays[i] = receiver.shareOther(bitNums);
+            }
+            secretShuffleArrays = open(receiver.shuffle(x1Arrays));
+            // plain elements
+            MpcZ2Vector[][] xPlainArrays = Arrays.stream(xArrays)
+                .map(xArray -> Arrays.stream(xArray).map(x -> receiver.create(true, x)).toArray(MpcZ2Vector[]::new))
+                .toArray(MpcZ2Vector[][]::new);
+            plainShuffleArrays = open(receiver.shuffle(xPlainArrays));
+            // shuffle-then-sort
+            Z2CircuitConfig config = new Z2CircuitConfig.Builder()
+                .setSorterType(SorterTypes.SHUFFLE_QUICK_SORTER)
+                .build();
+            Z2IntegerCircuit circuit = new Z2IntegerCircuit(receiver, config);
+            circuit.sort(x1Arrays);
+            sortArrays = open(x1Arrays);
+        } catch (MpcAbortException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private BitVector[][] open(MpcZ2Vector[][] xiArrays) throws MpcAbortException {
+        BitVector[][] xArrays = new BitVector[xiArrays.length][];
+        for (int i = 0; i < xiArrays.length; i++) {
+            xArrays[i] = receiver.open(xiArrays[i]);
+        }
+        return xArrays;
+    }
+}
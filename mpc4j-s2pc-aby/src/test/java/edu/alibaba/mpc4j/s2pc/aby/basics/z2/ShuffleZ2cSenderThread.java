@@ -0,0 +1,95 @@
+package edu.alibaba.mpc4j.s2pc.aby.basics.z2;
+
+import edu.alibaba.mpc4j.common.circuit.z2.MpcZ2Vector;
+import edu.alibaba.mpc4j.common.circuit.z2.Z2CircuitConfig;
+import edu.alibaba.mpc4j.common.circuit.z2.Z2IntegerCircuit;
+import edu.alibaba.mpc4j.common.circuit.z2.sorter.SorterFactory.SorterTypes;
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
+
+import java.util.Arrays;
+
+/**
+ * Z2 circuit shuffle sender thread.
+ *
+ * @author Weiran Liu
+ * @date 2024/8/8
+ */
+class ShuffleZ2cSenderThread extends Thread {
+    /**
+     * sender
+     */
+    private final ShuffleZ2cParty sender;
+    /**
+     * x arrays, where xArrays[i] is the i-th element
+     */
+    private final BitVector[][] xArrays;
+    /**
+     * total number of bits
+     */
+    private final int totalBitNum;
+    /**
+     * shuffled elements (secret)
+     */
+    private BitVector[][] secretShuffleArrays;
+    /**
+     * shuffled elements (plain)
+     */
+    private BitVector[][] plainShuffleArrays;
+    /**
+     * sorted elements
+     */
+    private BitVector[][] sortArrays;
+
+    ShuffleZ2cSenderThread(ShuffleZ2cParty sender, BitVector[][] xArrays) {
+        this.sender = sender;
+        this.xArrays = xArrays;
+        totalBitNum = Arrays.stream(xArrays).flatMap(Arrays::stream).mapToInt(BitVector::bitNum).sum();
+    }
+
+    BitVector[][] getSecretShuffleArrays() {
+        return secretShuffleArrays;
+    }
+
+    BitVector[][] getPlainShuffleArrays() {
+        return plainShuffleArrays;
+    }
+
+    BitVector[][] getSortArrays() {
+        return sortArrays;
+    }
+
+    @Override
+    public void run() {
+        try {
+            sender.init(totalBitNum);
+            // secret elements
+            MpcZ2Vector[][] x0Arrays = Arrays.stream(xArrays)
+                .map(sender::shareOwn)
+                .toArray(MpcZ2Vector[][]::new);
+            secretShuffleArrays = open(sender.shuffle(x0Arrays));
+            // plain elements
+            MpcZ2Vector[][] xPlainArrays = Arrays.stream(xArrays)
+                .map(xArray -> Arrays.stream(xArray).map(x -> sender.create(true, x)).toArray(MpcZ2Vector[]::new))
+                .toArray(MpcZ2Vector[][]::new);
+            plainShuffleArrays = open(sender.shuffle(xPlainArrays));
+            // shuffle-then-sort
+            Z2CircuitConfig config = new Z2CircuitConfig.Builder()
+                .setSorterType(SorterTypes.SHUFFLE_QUICK_SORTER)
+                .build();
+            Z2IntegerCircuit circuit = new Z2IntegerCircuit(sender, config);
+            circuit.sort(x0Arrays);
+            sortArrays = open(x0Arrays);
+        } catch (MpcAbortException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private BitVector[][] open(MpcZ2Vector[][] xiArrays) throws MpcAbortException {
+        BitVector[][] xArrays = new BitVector[xiArrays.length][];
+        for (int i = 0; i < xiArrays.length; i++) {
+            xArrays[i] = sender.open(xiArrays[i]);
+        }
+        return xArrays;
+    }
+}
@@ -0,0 +1,190 @@
+package edu.alibaba.mpc4j.s2pc.aby.basics.z2;
+
+import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
+import edu.alibaba.mpc4j.common.rpc.pto.AbstractTwoPartyMemoryRpcPto;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVector;
+import edu.alibaba.mpc4j.common.tool.bitvector.BitVectorFactory;
+import edu.alibaba.mpc4j.s2pc.aby.basics.z2.bea91.Bea91Z2cConfig;
+import edu.alibaba.mpc4j.s2pc.aby.basics.z2.rrg21.Rrg21Z2cConfig;
+import edu.alibaba.mpc4j.s2pc.aby.pcg.osn.dosn.DosnFactory;
+import org.apache.commons.lang3.time.StopWatch;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Z2 circuit oblivious shuffle test.
+ *
+ * @author Weiran Liu
+ * @date 2024/8/8
+ */
+@RunWith(Parameterized.class)
+public class ShuffleZ2cTest extends AbstractTwoPartyMemoryRpcPto {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShuffleZ2cTest.class);
+    /**
+     * default number of elements
+     */
+    private static final int DEFAULT_N = 17;
+    /**
+     * default element bit length
+     */
+    private static final int DEFAULT_L = 5;
+    /**
+     * default number of instances
+     */
+    private static final int DEFAULT_NUM = 33;
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> configurations() {
+        Collection<Object[]> configurations = new ArrayList<>();
+
+        // RRG+21
+        configurations.add(new Object[]{
+            Z2cFactory.BcType.RRG21.name(), new Rrg21Z2cConfig.Builder(true)
+                .setDosnConfig(DosnFactory.createDefaultConfig(SecurityModel.SEMI_HONEST, true))
+                .build()
+        });
+        // Bea91
+        configurations.add(new Object[]{
+            Z2cFactory.BcType.BEA91.name(), new Bea91Z2cConfig.Builder(SecurityModel.SEMI_HONEST, true)
+                .setDosnConfig(DosnFactory.createDefaultConfig(SecurityModel.SEMI_HONEST, true))
+                .build()
+        });
+
+        return configurations;
+    }
+
+    /**
+     * config
+     */
+    private final Z2cConfig config;
+
+    public ShuffleZ2cTest(String name, Z2cConfig config) {
+        super(name);
+        this.config = config;
+    }
+
+    @Test
+    public void test1Element() {
+        testPto(1, DEFAULT_L, DEFAULT_NUM, false);
+    }
+
+    @Test
+    public void test2Elements() {
+        testPto(2, DEFAULT_L, 1, false);
+    }
+
+    @Test
+    public void test1BitLength() {
+        testPto(DEFAULT_N, 1, DEFAULT_NUM, false);
+    }
+
+    @Test
+    public void testDefault() {
+        testPto(DEFAULT_N, DEFAULT_L, DEFAULT_NUM, false);
+    }
+
+    @Test
+    public void testParallelDefault() {
+        testPto(DEFAULT_N, DEFAULT_L, DEFAULT_NUM, true);
+    }
+
+    private void testPto(int n, int l, int num, boolean parallel) {
+        ShuffleZ2cParty sender = (ShuffleZ2cParty) Z2cFactory.createSender(firstRpc, secondRpc.ownParty(), config);
+        ShuffleZ2cParty receiver = (ShuffleZ2cParty) Z2cFactory.createReceiver(secondRpc, firstRpc.ownParty(), config);
+        sender.setParallel(parallel);
+        receiver.setParallel(parallel);
+        int randomTaskId = Math.abs(SECURE_RANDOM.nextInt());
+        sender.setTaskId(randomTaskId);
+        receiver.setTaskId(randomTaskId);
+        // generate elements, duplicate elements are allowed
+        BitVector[][] xArrays = IntStream.range(0, n)
+            .mapToObj(i -> IntStream.range(0, l)
+                .mapToObj(j -> BitVectorFactory.createRandom(num, SECURE_RANDOM))
+                .toArray(BitVector[]::new))
+            .toArray(BitVector[][]::new);
+        try {
+            LOGGER.info("-----test {} (n = {}, l = {}, num = {}) start-----",
+                sender.getPtoDesc().getPtoName(), n, l, num
+            );
+            ShuffleZ2cSenderThread senderThread = new ShuffleZ2cSenderThread(sender, xArrays);
+            ShuffleZ2cReceiverThread receiverThread = new ShuffleZ2cReceiverThread(receiver, xArrays);
+            StopWatch stopWatch = new StopWatch();
+            // start
+            stopWatch.start();
+            senderThread.start();
+            receiverThread.start();
+            // stop
+            senderThread.join();
+            receiverThread.join();
+            stopWatch.stop();
+            long time = stopWatch.getTime(TimeUnit.MILLISECONDS);
+            stopWatch.reset();
+            // verify
+            long[][] expects = toInstances(xArrays, num);
+            assertShuffle(expects, senderThread.getSecretShuffleArrays(), receiverThread.getSecretShuffleArrays());
+            assertShuffle(expects, senderThread.getPlainShuffleArrays(), receiverThread.getPlainShuffleArrays());
+            Assert.assertArrayEquals(senderThread.getSortArrays(), receiverThread.getSortArrays());
+            long[][] sorts = toInstances(senderThread.getSortArrays(), num);
+            for (int k = 0; k < num; k++) {
+                long[] expect = Arrays.copyOf(expects[k], n);
+                Arrays.sort(expect);
+                Assert.assertArrayEquals(expect, sorts[k]);
+            }
+            printAndResetRpc(time);
+            // destroy
+            new Thread(sender::destroy).start();
+            new Thread(receiver::destroy).start();
+            LOGGER.info("-----test {} (n = {}, l = {}, num = {}) end-----",
+                sender.getPtoDesc().getPtoName(), n, l, num
+            );
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void assertShuffle(long[][] expects, BitVector[][] senderArrays, BitVector[][] receiverArrays) {
+        Assert.assertArrayEquals(senderArrays, receiverArrays);
+        int num = expects.length;
+        long[][] actuals = toInstances(senderArrays, num);
+        for (int k = 0; k < num; k++) {
+            // each instance is a permutation of the input elements
+            long[] expect = Arrays.copyOf(expects[k], expects[k].length);
+            long[] actual = Arrays.copyOf(actuals[k], actuals[k].length);
+            Arrays.sort(expect);
+            Arrays.sort(actual);
+            Assert.assertArrayEquals(expect, actual);
+        }
+    }
+
+    /**
+     * Converts elements to instances, where the 0-th bit is the most significant bit.
+     *
+     * @param xArrays elements.
+     * @param num     number of instances.
+     * @return instances, where instances[k][i] is the i-th element of the k-th instance.
+     */
+    private long[][] toInstances(BitVector[][] xArrays, int num) {
+        int n = xArrays.length;
+        long[][] instances = new long[num][n];
+        for (int k = 0; k < num; k++) {
+            for (int i = 0; i < n; i++) {
+                long value = 0L;
+                for (BitVector x : xArrays[i]) {
+                    value = (value << 1) | (x.get(k) ? 1L : 0L);
+                }
+                instances[k][i] = value;
+            }
+        }
+        return instances;
+    }
+}
@@ -15,10 +15,12 @@ import org.bouncycastle.math.ec.ECPoint;
 
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -185,15 +187,7 @@ public class Zcl23PkeMqRpmtServer extends AbstractMqRpmtServer {
         for (round = 0; round < pipelineTime; round++) {
             int offset = round * pipeSize;
             // compute KEM
-            IntStream kemIntStream = IntStream.range(0, pipeSize);
-            kemIntStream = parallel ? kemIntStream.parallel() : kemIntStream;
-            List<byte[]> reRandKemPayload = kemIntStream
-                .mapToObj(index -> {
-                    ECPoint gr = ecc.multiply(ecc.getG(), rs[offset + index]);
-                    return eccDokvs.decode(kemDokvsStorage, serverElementArrayList.get(offset + index)).add(gr);
-                })
-                .map(kem -> ecc.encode(kem, compressEncode))
-                .collect(Collectors.toList());
+            List<byte[]> reRandKemPayload = reRand(kemDokvsStorage, ecc::baseMul, rs, offset, pipeSize);
             // send KEM
             DataPacketHeader reRandKemHeader = new DataPacketHeader(
                 encodeTaskId, getPtoDesc().getPtoId(), PtoStep.SERVER_SEND_RERAND_KEM.ordinal(), extraInfo,
@@ -201,15 +195,7 @@ public class Zcl23PkeMqRpmtServer extends AbstractMqRpmtServer {
             );
             rpc.send(DataPacket.fromByteArrayList(reRandKemHeader, reRandKemPayload));
             // compute ciphertext
-            IntStream ctIntStream = IntStream.range(0, pipeSize);
-            ctIntStream = parallel ? ctIntStream.parallel() : ctIntStream;
-            List<byte[]> reRandCtPayload = ctIntStream
-                .mapToObj(index -> {
-                    ECPoint yr = ecc.multiply(y, rs[offset + index]);
-                    return eccDokvs.decode(ctDokvsStorage, serverElementArrayList.get(offset + index)).add(yr);
-                })
-                .map(ct -> ecc.encode(ct, compressEncode))
-                .collect(Collectors.toList());
+            List<byte[]> reRandCtPayload = reRand(ctDokvsStorage, r -> ecc.multiply(y, r), rs, offset, pipeSize);
             // send ciphertext
             DataPacketHeader reRandCtHeader = new DataPacketHeader(
                 encodeTaskId, getPtoDesc().getPtoId(), PtoStep.SERVER_SEND_RERAND_CT.ordinal(), extraInfo,
@@ -222,15 +208,7 @@ public class Zcl23PkeMqRpmtServer extends AbstractMqRpmtServer {
         if (remain > 0) {
             int offset = round * pipeSize;
             // compute KEM
-            IntStream kemIntStream = IntStream.range(0, remain);
-            kemIntStream = parallel ? kemIntStream.parallel() : kemIntStream;
-            List<byte[]> reRandKemPayload = kemIntStream
-                .mapToObj(index -> {
-                    ECPoint gr = ecc.multiply(ecc.getG(), rs[offset + index]);
-                    return eccDokvs.decode(kemDokvsStorage, serverElementArrayList.get(offset + index)).add(gr);
-                })
-                .map(kem -> ecc.encode(kem, compressEncode))
-                .collect(Collectors.toList());
+            List<byte[]> reRandKemPayload = reRand(kemDokvsStorage, ecc::baseMul, rs, offset, remain);
             // send KEM
             DataPacketHeader reRandKemHeader = new DataPacketHeader(
                 encodeTaskId, getPtoDesc().getPtoId(), PtoStep.SERVER_SEND_RERAND_KEM.ordinal(), extraInfo,
@@ -238,15 +216,7 @@ public class Zcl23PkeMqRpmtServer extends AbstractMqRpmtServer {
             );
             rpc.send(DataPacket.fromByteArrayList(reRandKemHeader, reRandKemPayload));
             // compute ciphertext
-            IntStream ctIntStream = IntStream.range(0, remain);
-            ctIntStream = parallel ? ctIntStream.parallel() : ctIntStream;
-            List<byte[]> reRandCtPayload = ctIntStream
-                .mapToObj(index -> {
-                    ECPoint yr = ecc.multiply(y, rs[offset + index]);
-                    return eccDokvs.decode(ctDokvsStorage, serverElementArrayList.get(offset + index)).add(yr);
-                })
-                .map(ct -> ecc.encode(ct, compressEncode))
-                .collect(Collectors.toList());
+            List<byte[]> reRandCtPayload = reRand(ctDokvsStorage, r -> ecc.multiply(y, r), rs, offset, remain);
             // send ciphertext
             DataPacketHeader reRandCtHeader = new DataPacketHeader(
                 encodeTaskId, getPtoDesc().getPtoId(), PtoStep.SERVER_SEND_RERAND_CT.ordinal(), extraInfo,
@@ -256,4 +226,19 @@ public class Zcl23PkeMqRpmtServer extends AbstractMqRpmtServer {
             extraInfo++;
         }
     }
+
+    private List<byte[]> reRand(ECPoint[] dokvsStorage, Function<BigInteger, ECPoint> hr, BigInteger[] rs,
+                                int offset, int size) {
+        // batch decode, values are normalized in batch
+        ECPoint[] decodes = eccDokvs.decode(
+            dokvsStorage, serverElementArrayList.subList(offset, offset + size), parallel
+        );
+        IntStream indexIntStream = IntStream.range(0, size);
+        indexIntStream = parallel ? indexIntStream.parallel() : indexIntStream;
+        ECPoint[] reRands = indexIntStream
+            .mapToObj(index -> hr.apply(rs[offset + index]).add(decodes[index]))
+            .toArray(ECPoint[]::new);
+        // batch encode, points are normalized in batch
+        return Arrays.stream(ecc.encode(reRands, compressEncode, parallel)).collect(Collectors.toList());
+    }
 }
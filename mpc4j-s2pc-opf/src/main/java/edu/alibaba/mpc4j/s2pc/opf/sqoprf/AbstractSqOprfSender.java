@@ -5,6 +5,9 @@ import edu.alibaba.mpc4j.common.rpc.Rpc;
 import edu.alibaba.mpc4j.common.rpc.desc.PtoDesc;
 import edu.alibaba.mpc4j.common.rpc.pto.AbstractTwoPartyPto;
 import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+
+import java.security.SecureRandom;
 
 /**
  * abstract single-query OPRF sender.
@@ -26,6 +29,26 @@ public abstract class AbstractSqOprfSender extends AbstractTwoPartyPto implement
         super(ptoDesc, rpc, otherParty, config);
     }
 
+    @Override
+    public SqOprfKey keyGen() {
+        return keyGen(secureRandom);
+    }
+
+    @Override
+    public SqOprfKey keyGen(byte[] seed) {
+        SecureRandom seedSecureRandom = CommonUtils.createSeedSecureRandom();
+        seedSecureRandom.setSeed(seed);
+        return keyGen(seedSecureRandom);
+    }
+
+    /**
+     * Generates a single-query OPRF key using the given randomness.
+     *
+     * @param secureRandom the random state.
+     * @return a single-query OPRF key.
+     */
+    protected abstract SqOprfKey keyGen(SecureRandom secureRandom);
+
     protected void setInitInput(int maxBatchSize) {
         // single-query OPRF requires max batch size > 0
         MathPreconditions.checkPositive("maxBatchSize", maxBatchSize);
@@ -17,6 +17,15 @@ public interface SqOprfSender extends TwoPartyPto {
      */
     SqOprfKey keyGen();
 
+    /**
+     * Generates a single-query OPRF key from the seed. The same seed always generates the same key, so that a long-term
+     * key can be kept as its seed.
+     *
+     * @param seed the seed.
+     * @return a single-query OPRF key.
+     */
+    SqOprfKey keyGen(byte[] seed);
+
     /**
      * Inits the protocol.
      *
@@ -20,6 +20,7 @@ import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotSender;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotSenderOutput;
 
 import java.math.BigInteger;
+import java.security.SecureRandom;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -72,7 +73,7 @@ public class Nr04EccSqOprfSender extends AbstractSqOprfSender {
     }
 
     @Override
-    public SqOprfKey keyGen() {
+    protected SqOprfKey keyGen(SecureRandom secureRandom) {
         BigInteger[] a0Array = new BigInteger[CommonConstants.BLOCK_BIT_LENGTH];
         BigInteger[] a1Array = new BigInteger[CommonConstants.BLOCK_BIT_LENGTH];
         for (int i = 0; i < CommonConstants.BLOCK_BIT_LENGTH; i++) {
@@ -18,6 +18,7 @@ import edu.alibaba.mpc4j.s2pc.opf.sqoprf.AbstractSqOprfSender;
 import edu.alibaba.mpc4j.s2pc.opf.sqoprf.pssw09.Pssw09SqOprfPtoDesc.PtoStep;
 import edu.alibaba.mpc4j.s2pc.opf.sqoprf.SqOprfKey;
 
+import java.security.SecureRandom;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -58,7 +59,7 @@ public class Pssw09SqOprfSender extends AbstractSqOprfSender {
     }
 
     @Override
-    public Pssw09SqOprfKey keyGen() {
+    protected Pssw09SqOprfKey keyGen(SecureRandom secureRandom) {
         byte[] key = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
         secureRandom.nextBytes(key);
         return new Pssw09SqOprfKey(envType, key, oprpSender.getPrpType(), oprpSender.isInvPrp());
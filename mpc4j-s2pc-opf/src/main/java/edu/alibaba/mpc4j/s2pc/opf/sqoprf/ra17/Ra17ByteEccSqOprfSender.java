@@ -9,6 +9,7 @@ import edu.alibaba.mpc4j.s2pc.opf.sqoprf.AbstractSqOprfSender;
 import edu.alibaba.mpc4j.s2pc.opf.sqoprf.ra17.Ra17ByteEccSqOprfPtoDesc.PtoStep;
 import edu.alibaba.mpc4j.s2pc.opf.sqoprf.SqOprfKey;
 
+import java.security.SecureRandom;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -36,7 +37,7 @@ public class Ra17ByteEccSqOprfSender extends AbstractSqOprfSender {
     }
 
     @Override
-    public Ra17ByteEccSqOprfKey keyGen() {
+    protected Ra17ByteEccSqOprfKey keyGen(SecureRandom secureRandom) {
         return new Ra17ByteEccSqOprfKey(envType, byteFullEcc.randomZn(secureRandom));
     }
 
@@ -9,6 +9,7 @@ import edu.alibaba.mpc4j.s2pc.opf.sqoprf.AbstractSqOprfSender;
 import edu.alibaba.mpc4j.s2pc.opf.sqoprf.SqOprfKey;
 import edu.alibaba.mpc4j.s2pc.opf.sqoprf.ra17.Ra17EccSqOprfPtoDesc.PtoStep;
 
+import java.security.SecureRandom;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -41,7 +42,7 @@ public class Ra17EccSqOprfSender extends AbstractSqOprfSender {
     }
 
     @Override
-    public Ra17EccSqOprfKey keyGen() {
+    protected Ra17EccSqOprfKey keyGen(SecureRandom secureRandom) {
         return new Ra17EccSqOprfKey(envType, ecc.randomZn(secureRandom));
     }
 
@@ -2,6 +2,8 @@ package edu.alibaba.mpc4j.s2pc.opf.sqoprf;
 
 import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
 import edu.alibaba.mpc4j.common.rpc.pto.AbstractTwoPartyMemoryRpcPto;
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 import edu.alibaba.mpc4j.s2pc.opf.sqoprf.SqOprfFactory.SqOprfType;
 import edu.alibaba.mpc4j.s2pc.opf.sqoprf.nr04.Nr04EccSqOprfConfig;
 import edu.alibaba.mpc4j.s2pc.opf.sqoprf.pssw09.Pssw09SqOprfConfig;
@@ -17,6 +19,7 @@ import org.slf4j.LoggerFactory;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
@@ -131,6 +134,27 @@ public class SqOprfTest extends AbstractTwoPartyMemoryRpcPto {
         testPto(LARGE_BATCH_SIZE, true);
     }
 
+    @Test
+    public void testSeedKeyGen() {
+        SqOprfSender sender = SqOprfFactory.createSender(firstRpc, secondRpc.ownParty(), config);
+        byte[] seed = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        SECURE_RANDOM.nextBytes(seed);
+        SqOprfKey key = sender.keyGen(seed);
+        // the same seed generates the same key
+        SqOprfKey sameKey = sender.keyGen(seed);
+        // another seed generates a different key
+        byte[] otherSeed = BytesUtils.clone(seed);
+        otherSeed[0] ^= 0x01;
+        SqOprfKey otherKey = sender.keyGen(otherSeed);
+        IntStream.range(0, DEFAULT_BATCH_SIZE).forEach(index -> {
+            byte[] input = new byte[ELEMENT_BYTE_LENGTH];
+            SECURE_RANDOM.nextBytes(input);
+            Assert.assertArrayEquals(key.getPrf(input), sameKey.getPrf(input));
+            Assert.assertFalse(Arrays.equals(key.getPrf(input), otherKey.getPrf(input)));
+        });
+        sender.destroy();
+    }
+
     private void testPto(int batchSize, boolean parallel) {
         SqOprfSender sender = SqOprfFactory.createSender(firstRpc, secondRpc.ownParty(), config);
         SqOprfReceiver receiver = SqOprfFactory.createReceiver(secondRpc, firstRpc.ownParty(), config);
@@ -0,0 +1,276 @@
+package edu.alibaba.mpc4j.s2pc.pcg;
+
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Flat contiguous array of λ-bit blocks. Each block is stored as two longs (in big-endian order) in one long array,
+ * instead of one 16-byte array object per block. This saves the object header overhead and makes split / reduce
+ * zero-copy: the split array and the remaining array are views of the same backing long array.
+ * <p>
+ * Block arrays are immutable after creation, so that views can safely share the backing long array. Note that a view
+ * keeps the whole backing long array alive.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2024/7/12
+ */
+public final class BlockArray {
+    /**
+     * number of longs for each block
+     */
+    private static final int BLOCK_LONG_LENGTH = CommonConstants.BLOCK_BYTE_LENGTH / Long.BYTES;
+    /**
+     * empty block array
+     */
+    private static final BlockArray EMPTY = new BlockArray(new long[0], 0, 0);
+    /**
+     * backing long array
+     */
+    private final long[] data;
+    /**
+     * offset (in blocks) of the view in the backing long array
+     */
+    private final int offset;
+    /**
+     * number of blocks
+     */
+    private final int num;
+
+    /**
+     * Creates a block array by packing blocks.
+     *
+     * @param blocks blocks.
+     * @return a block array.
+     */
+    public static BlockArray create(byte[][] blocks) {
+        long[] data = new long[blocks.length * BLOCK_LONG_LENGTH];
+        for (int index = 0; index < blocks.length; index++) {
+            byte[] block = blocks[index];
+            MathPreconditions.checkEqual("block.length", "λ", block.length, CommonConstants.BLOCK_BYTE_LENGTH);
+            data[index * BLOCK_LONG_LENGTH] = toLong(block, 0);
+            data[index * BLOCK_LONG_LENGTH + 1] = toLong(block, Long.BYTES);
+        }
+        return new BlockArray(data, 0, blocks.length);
+    }
+
+    /**
+     * Creates a block array by wrapping the long array, two longs per block. The long array is not copied.
+     *
+     * @param data long array.
+     * @return a block array.
+     */
+    public static BlockArray wrap(long[] data) {
+        MathPreconditions.checkEqual("data.length % 2", "0", data.length % BLOCK_LONG_LENGTH, 0);
+        return new BlockArray(data, 0, data.length / BLOCK_LONG_LENGTH);
+    }
+
+    /**
+     * Creates an empty block array.
+     *
+     * @return an empty block array.
+     */
+    public static BlockArray createEmpty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a random block array.
+     *
+     * @param num          number of blocks.
+     * @param secureRandom random state.
+     * @return a random block array.
+     */
+    public static BlockArray createRandom(int num, SecureRandom secureRandom) {
+        MathPreconditions.checkNonNegative("num", num);
+        long[] data = IntStream.range(0, num * BLOCK_LONG_LENGTH)
+            .mapToLong(i -> secureRandom.nextLong())
+            .toArray();
+        return new BlockArray(data, 0, num);
+    }
+
+    private BlockArray(long[] data, int offset, int num) {
+        this.data = data;
+        this.offset = offset;
+        this.num = num;
+    }
+
+    /**
+     * Gets the number of blocks.
+     *
+     * @return number of blocks.
+     */
+    public int getNum() {
+        return num;
+    }
+
+    /**
+     * Gets the block at the index. The returned block is a new byte array.
+     *
+     * @param index index.
+     * @return block.
+     */
+    public byte[] get(int index) {
+        byte[] block = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        get(index, block, 0);
+        return block;
+    }
+
+    /**
+     * Copies the block at the index into the destination.
+     *
+     * @param index   index.
+     * @param dest    destination.
+     * @param destPos starting position in the destination.
+     */
+    public void get(int index, byte[] dest, int destPos) {
+        int dataIndex = getDataIndex(index);
+        fromLong(data[dataIndex], dest, destPos);
+        fromLong(data[dataIndex + 1], dest, destPos + Long.BYTES);
+    }
+
+    /**
+     * Computes dest = dest ⊕ block, where block is the block at the index.
+     *
+     * @param index index.
+     * @param dest  destination, must be a λ-bit block.
+     */
+    public void xori(int index, byte[] dest) {
+        assert dest.length == CommonConstants.BLOCK_BYTE_LENGTH;
+        int dataIndex = getDataIndex(index);
+        fromLong(toLong(dest, 0) ^ data[dataIndex], dest, 0);
+        fromLong(toLong(dest, Long.BYTES) ^ data[dataIndex + 1], dest, Long.BYTES);
+    }
+
+    /**
+     * Copies blocks in [fromIndex, fromIndex + length) into one contiguous byte array.
+     *
+     * @param fromIndex starting index.
+     * @param length    number of blocks.
+     * @return contiguous byte array.
+     */
+    public byte[] toByteArray(int fromIndex, int length) {
+        MathPreconditions.checkNonNegativeInRangeClosed("fromIndex + length", fromIndex + length, num);
+        byte[] bytes = new byte[length * CommonConstants.BLOCK_BYTE_LENGTH];
+        for (int i = 0; i < length; i++) {
+            get(fromIndex + i, bytes, i * CommonConstants.BLOCK_BYTE_LENGTH);
+        }
+        return bytes;
+    }
+
+    /**
+     * Copies all blocks into byte arrays, one byte array per block.
+     *
+     * @return blocks.
+     */
+    public byte[][] toByteArrays() {
+        return IntStream.range(0, num).mapToObj(this::get).toArray(byte[][]::new);
+    }
+
+    /**
+     * Copies the block array. The copy has its own backing long array.
+     *
+     * @return a copy.
+     */
+    public BlockArray copy() {
+        long[] copyData = Arrays.copyOfRange(data, offset * BLOCK_LONG_LENGTH, (offset + num) * BLOCK_LONG_LENGTH);
+        return new BlockArray(copyData, 0, num);
+    }
+
+    /**
+     * Gets the view of the first {@code length} blocks. No data is copied.
+     *
+     * @param length number of blocks.
+     * @return the view.
+     */
+    public BlockArray head(int length) {
+        MathPreconditions.checkNonNegativeInRangeClosed("length", length, num);
+        return new BlockArray(data, offset, length);
+    }
+
+    /**
+     * Gets the view of the last {@code length} blocks. No data is copied.
+     *
+     * @param length number of blocks.
+     * @return the view.
+     */
+    public BlockArray tail(int length) {
+        MathPreconditions.checkNonNegativeInRangeClosed("length", length, num);
+        return new BlockArray(data, offset + num - length, length);
+    }
+
+    /**
+     * Concatenates two block arrays.
+     *
+     * @param that the other block array.
+     * @return the concatenated block array.
+     */
+    public BlockArray concat(BlockArray that) {
+        if (that.num == 0) {
+            return this;
+        }
+        if (this.num == 0) {
+            return that;
+        }
+        // zero-copy if that is exactly the following view of the same backing long array
+        if (this.data == that.data && this.offset + this.num == that.offset) {
+            return new BlockArray(data, offset, this.num + that.num);
+        }
+        long[] concatData = new long[(this.num + that.num) * BLOCK_LONG_LENGTH];
+        System.arraycopy(
+            this.data, this.offset * BLOCK_LONG_LENGTH, concatData, 0, this.num * BLOCK_LONG_LENGTH
+        );
+        System.arraycopy(
+            that.data, that.offset * BLOCK_LONG_LENGTH, concatData, this.num * BLOCK_LONG_LENGTH,
+            that.num * BLOCK_LONG_LENGTH
+        );
+        return new BlockArray(concatData, 0, this.num + that.num);
+    }
+
+    private int getDataIndex(int index) {
+        assert index >= 0 && index < num : "index must be in range [0, " + num + "): " + index;
+        return (offset + index) * BLOCK_LONG_LENGTH;
+    }
+
+    private static long toLong(byte[] bytes, int pos) {
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << Byte.SIZE) | (bytes[pos + i] & 0xFFL);
+        }
+        return value;
+    }
+
+    private static void fromLong(long value, byte[] bytes, int pos) {
+        for (int i = Long.BYTES - 1; i >= 0; i--) {
+            bytes[pos + i] = (byte) value;
+            value >>>= Byte.SIZE;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 1;
+        for (int i = offset * BLOCK_LONG_LENGTH; i < (offset + num) * BLOCK_LONG_LENGTH; i++) {
+            hashCode = 31 * hashCode + Long.hashCode(data[i]);
+        }
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof BlockArray that) {
+            return this.num == that.num && Arrays.equals(
+                this.data, this.offset * BLOCK_LONG_LENGTH, (this.offset + this.num) * BLOCK_LONG_LENGTH,
+                that.data, that.offset * BLOCK_LONG_LENGTH, (that.offset + that.num) * BLOCK_LONG_LENGTH
+            );
+        }
+        return false;
+    }
+}
@@ -178,7 +178,7 @@ public class Gyw23SpCdpprfReceiver extends AbstractSpCdpprfReceiver {
         // set K_i^{!α_i} := M[r_i] ⊕ c_i for i ∈ [1, n]
         byte[][] kbs = correlationPayload.toArray(new byte[0][]);
         for (int i = 0; i < h; i++) {
-            BytesUtils.xori(kbs[i], cotReceiverOutput.getRb(i));
+            cotReceiverOutput.getRbBlockArray().xori(i, kbs[i]);
         }
         ggmTree = new ArrayList<>(h + 1);
         // place the level-0 key with an empty key
@@ -18,6 +18,7 @@ import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotFactory;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotReceiver;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -161,20 +162,24 @@ public class Ywl20BpRdpprfReceiver extends AbstractBpRdpprfReceiver {
                         // If i ≥ 2
                         byte[][] lowLevelSeeds = treeKeys.get(i - 1);
                         // for j ∈ [2^i − 1], j ≠ α_1...α_{i − 1}, compute (s_{2j}^i, s_{2j + 1}^i = G(s_ja^{i - 1}).
+                        // expand all seeds except s_{α_1...α_{i − 1}}^{i - 1} in one batch
+                        byte[][] expandSeeds = new byte[(1 << (i - 1)) - 1][];
+                        System.arraycopy(lowLevelSeeds, 0, expandSeeds, 0, alphaPrefix);
+                        System.arraycopy(
+                            lowLevelSeeds, alphaPrefix + 1, expandSeeds, alphaPrefix, expandSeeds.length - alphaPrefix
+                        );
+                        byte[] extendSeeds = new byte[expandSeeds.length * 2 * CommonConstants.BLOCK_BYTE_LENGTH];
+                        prg.extendToBytes(expandSeeds, extendSeeds, 0);
                         for (int j = 0; j < (1 << (i - 1)); j++) {
                             if (j != alphaPrefix) {
-                                byte[] extendSeeds = prg.extendToBytes(lowLevelSeeds[j]);
-                                currentLevelSeeds[2 * j] = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-                                System.arraycopy(
-                                    extendSeeds, 0,
-                                    currentLevelSeeds[2 * j], 0,
-                                    CommonConstants.BLOCK_BYTE_LENGTH
+                                int extendIndex = 2 * (j < alphaPrefix ? j : j - 1);
+                                currentLevelSeeds[2 * j] = Arrays.copyOfRange(
+                                    extendSeeds, extendIndex * CommonConstants.BLOCK_BYTE_LENGTH,
+                                    (extendIndex + 1) * CommonConstants.BLOCK_BYTE_LENGTH
                                 );
-                                currentLevelSeeds[2 * j + 1] = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-                                System.arraycopy(
-                                    extendSeeds, CommonConstants.BLOCK_BYTE_LENGTH,
-                                    currentLevelSeeds[2 * j + 1], 0,
-                                    CommonConstants.BLOCK_BYTE_LENGTH
+                                currentLevelSeeds[2 * j + 1] = Arrays.copyOfRange(
+                                    extendSeeds, (extendIndex + 1) * CommonConstants.BLOCK_BYTE_LENGTH,
+                                    (extendIndex + 2) * CommonConstants.BLOCK_BYTE_LENGTH
                                 );
                             }
                         }
@@ -151,19 +151,12 @@ public class Ywl20BpRdpprfSender extends AbstractBpRdpprfSender {
                 for (int i = 1; i <= eachLogNum; i++) {
                     byte[][] lowLevelSeeds = treeKeys.get(i - 1);
                     byte[][] currentLevelSeeds = new byte[1 << i][];
-                    for (int j = 0; j < (1 << (i - 1)); j++) {
-                        byte[] extendSeeds = prg.extendToBytes(lowLevelSeeds[j]);
-                        currentLevelSeeds[2 * j] = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-                        System.arraycopy(
-                            extendSeeds, 0,
-                            currentLevelSeeds[2 * j], 0,
-                            CommonConstants.BLOCK_BYTE_LENGTH
-                        );
-                        currentLevelSeeds[2 * j + 1] = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
-                        System.arraycopy(
-                            extendSeeds, CommonConstants.BLOCK_BYTE_LENGTH,
-                            currentLevelSeeds[2 * j + 1], 0,
-                            CommonConstants.BLOCK_BYTE_LENGTH
+                    // expand all seeds in one batch, (s_{2j}^i, s_{2j + 1}^i) are adjacent in the expanded bytes
+                    byte[] extendSeeds = new byte[(1 << i) * CommonConstants.BLOCK_BYTE_LENGTH];
+                    prg.extendToBytes(lowLevelSeeds, extendSeeds, 0);
+                    for (int j = 0; j < (1 << i); j++) {
+                        currentLevelSeeds[j] = Arrays.copyOfRange(
+                            extendSeeds, j * CommonConstants.BLOCK_BYTE_LENGTH, (j + 1) * CommonConstants.BLOCK_BYTE_LENGTH
                         );
                     }
                     treeKeys.add(currentLevelSeeds);
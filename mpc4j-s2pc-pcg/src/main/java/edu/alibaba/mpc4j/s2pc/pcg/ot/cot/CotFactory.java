@@ -10,6 +10,9 @@ import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.silent.SilentCotSender;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.direct.DirectCotConfig;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.direct.DirectCotReceiver;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.direct.DirectCotSender;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.stored.StoredCotConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.stored.StoredCotReceiver;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.stored.StoredCotSender;
 
 /**
  * COT factory.
@@ -37,6 +40,10 @@ public class CotFactory implements PtoFactory {
          * silent COT
          */
         SILENT,
+        /**
+         * COT read from an on-disk store filled in an offline phase
+         */
+        STORED,
     }
 
     /**
@@ -54,6 +61,8 @@ public class CotFactory implements PtoFactory {
                 return new DirectCotSender(senderRpc, receiverParty, (DirectCotConfig) config);
             case SILENT:
                 return new SilentCotSender(senderRpc, receiverParty, (SilentCotConfig) config);
+            case STORED:
+                return new StoredCotSender(senderRpc, receiverParty, (StoredCotConfig) config);
             default:
                 throw new IllegalArgumentException("Invalid " + CotType.class.getSimpleName() + ": " + type.name());
         }
@@ -74,6 +83,8 @@ public class CotFactory implements PtoFactory {
                 return new DirectCotReceiver(receiverRpc, senderParty, (DirectCotConfig) config);
             case SILENT:
                 return new SilentCotReceiver(receiverRpc, senderParty, (SilentCotConfig) config);
+            case STORED:
+                return new StoredCotReceiver(receiverRpc, senderParty, (StoredCotConfig) config);
             default:
                 throw new IllegalArgumentException("Invalid " + CotType.class.getSimpleName() + ": " + type.name());
         }
@@ -1,20 +1,18 @@
 package edu.alibaba.mpc4j.s2pc.pcg.ot.cot;
 
 import java.security.SecureRandom;
-import java.util.Arrays;
-import java.util.stream.IntStream;
 
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.common.tool.utils.BinaryUtils;
-import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.s2pc.pcg.BlockArray;
 import edu.alibaba.mpc4j.s2pc.pcg.MergedPcgPartyOutput;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.OtReceiverOutput;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 /**
- * COT receiver output.
+ * COT receiver output. Rb array is stored in a flat {@link BlockArray}, so that split and reduce are zero-copy for Rb.
  *
  * @author Weiran Liu
  * @date 2021/12/26
@@ -27,7 +25,7 @@ public class CotReceiverOutput implements OtReceiverOutput, MergedPcgPartyOutput
     /**
      * Rb array.
      */
-    private byte[][] rbArray;
+    private BlockArray rbArray;
 
     /**
      * Creates a receiver output.
@@ -41,11 +39,23 @@ public class CotReceiverOutput implements OtReceiverOutput, MergedPcgPartyOutput
         int num = choices.length;
         MathPreconditions.checkEqual("num", "RbArray.length", num, rbArray.length);
         receiverOutput.choices = BinaryUtils.clone(choices);
-        receiverOutput.rbArray = Arrays.stream(rbArray)
-            .peek(rb ->
-                MathPreconditions.checkEqual("Rb.length", "λ in bytes", rb.length, CommonConstants.BLOCK_BYTE_LENGTH)
-            )
-            .toArray(byte[][]::new);
+        receiverOutput.rbArray = BlockArray.create(rbArray);
+
+        return receiverOutput;
+    }
+
+    /**
+     * Creates a receiver output from the flat Rb array. The Rb array is not copied.
+     *
+     * @param choices choice bits.
+     * @param rbArray Rb array.
+     * @return a receiver output.
+     */
+    public static CotReceiverOutput create(boolean[] choices, BlockArray rbArray) {
+        CotReceiverOutput receiverOutput = new CotReceiverOutput();
+        MathPreconditions.checkEqual("num", "RbArray.num", choices.length, rbArray.getNum());
+        receiverOutput.choices = BinaryUtils.clone(choices);
+        receiverOutput.rbArray = rbArray;
 
         return receiverOutput;
     }
@@ -58,7 +68,7 @@ public class CotReceiverOutput implements OtReceiverOutput, MergedPcgPartyOutput
     public static CotReceiverOutput createEmpty() {
         CotReceiverOutput receiverOutput = new CotReceiverOutput();
         receiverOutput.choices = new boolean[0];
-        receiverOutput.rbArray = new byte[0][];
+        receiverOutput.rbArray = BlockArray.createEmpty();
 
         return receiverOutput;
     }
@@ -74,15 +84,11 @@ public class CotReceiverOutput implements OtReceiverOutput, MergedPcgPartyOutput
         int num = senderOutput.getNum();
         CotReceiverOutput receiverOutput = new CotReceiverOutput();
         receiverOutput.choices = BinaryUtils.randomBinary(num, secureRandom);
-        receiverOutput.rbArray = IntStream.range(0, num)
-            .mapToObj(index -> {
-                if (receiverOutput.choices[index]) {
-                    return BytesUtils.clone(senderOutput.getR1(index));
-                } else {
-                    return BytesUtils.clone(senderOutput.getR0(index));
-                }
-            })
-            .toArray(byte[][]::new);
+        byte[][] rbArray = new byte[num][];
+        for (int index = 0; index < num; index++) {
+            rbArray[index] = receiverOutput.choices[index] ? senderOutput.getR1(index) : senderOutput.getR0(index);
+        }
+        receiverOutput.rbArray = BlockArray.create(rbArray);
         return receiverOutput;
     }
 
@@ -97,7 +103,7 @@ public class CotReceiverOutput implements OtReceiverOutput, MergedPcgPartyOutput
     public CotReceiverOutput copy() {
         CotReceiverOutput copy = new CotReceiverOutput();
         copy.choices = BinaryUtils.clone(choices);
-        copy.rbArray = BytesUtils.clone(rbArray);
+        copy.rbArray = rbArray.copy();
         return copy;
     }
 
@@ -111,12 +117,9 @@ public class CotReceiverOutput implements OtReceiverOutput, MergedPcgPartyOutput
         System.arraycopy(choices, num - splitNum, subChoices, 0, splitNum);
         System.arraycopy(choices, 0, remainChoices, 0, num - splitNum);
         choices = remainChoices;
-        // split Rb array
-        byte[][] rbSubArray = new byte[splitNum][];
-        byte[][] rbRemainArray = new byte[num - splitNum][];
-        System.arraycopy(rbArray, num - splitNum, rbSubArray, 0, splitNum);
-        System.arraycopy(rbArray, 0, rbRemainArray, 0, num - splitNum);
-        rbArray = rbRemainArray;
+        // split Rb array, zero-copy
+        BlockArray rbSubArray = rbArray.tail(splitNum);
+        rbArray = rbArray.head(num - splitNum);
 
         return CotReceiverOutput.create(subChoices, rbSubArray);
     }
@@ -130,9 +133,7 @@ public class CotReceiverOutput implements OtReceiverOutput, MergedPcgPartyOutput
             boolean[] remainChoices = new boolean[reduceNum];
             System.arraycopy(choices, 0, remainChoices, 0, reduceNum);
             choices = remainChoices;
-            byte[][] rbRemainArray = new byte[reduceNum][];
-            System.arraycopy(rbArray, 0, rbRemainArray, 0, reduceNum);
-            rbArray = rbRemainArray;
+            rbArray = rbArray.head(reduceNum);
         }
     }
 
@@ -145,10 +146,7 @@ public class CotReceiverOutput implements OtReceiverOutput, MergedPcgPartyOutput
         System.arraycopy(that.choices, 0, mergeChoices, this.choices.length, that.choices.length);
         choices = mergeChoices;
         // merge Rb array
-        byte[][] mergeRbArray = new byte[this.rbArray.length + that.rbArray.length][];
-        System.arraycopy(this.rbArray, 0, mergeRbArray, 0, this.rbArray.length);
-        System.arraycopy(that.rbArray, 0, mergeRbArray, this.rbArray.length, that.rbArray.length);
-        rbArray = mergeRbArray;
+        rbArray = rbArray.concat(that.rbArray);
     }
 
     @Override
@@ -161,19 +159,46 @@ public class CotReceiverOutput implements OtReceiverOutput, MergedPcgPartyOutput
         return choices;
     }
 
+    /**
+     * Gets Rb at the index. The returned block is a new byte array, use {@link #getRb(int, byte[])} to reuse a buffer.
+     *
+     * @param index index.
+     * @return Rb.
+     */
     @Override
     public byte[] getRb(int index) {
-        return rbArray[index];
+        return rbArray.get(index);
+    }
+
+    /**
+     * Copies Rb at the index into the block buffer, so that loops can reuse one buffer instead of allocating a new
+     * array for each index.
+     *
+     * @param index index.
+     * @param dest  block buffer.
+     */
+    public void getRb(int index, byte[] dest) {
+        assert dest.length == CommonConstants.BLOCK_BYTE_LENGTH;
+        rbArray.get(index, dest, 0);
     }
 
     @Override
     public byte[][] getRbArray() {
+        return rbArray.toByteArrays();
+    }
+
+    /**
+     * Gets the flat Rb array for bulk access. The returned block array must not be modified.
+     *
+     * @return the flat Rb array.
+     */
+    public BlockArray getRbBlockArray() {
         return rbArray;
     }
 
     @Override
     public int getNum() {
-        return rbArray.length;
+        return rbArray.getNum();
     }
 
     @Override
@@ -1,19 +1,20 @@
 package edu.alibaba.mpc4j.s2pc.pcg.ot.cot;
 
 import java.security.SecureRandom;
-import java.util.Arrays;
+import java.util.stream.IntStream;
 
 import com.google.common.base.Preconditions;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.s2pc.pcg.BlockArray;
 import edu.alibaba.mpc4j.s2pc.pcg.MergedPcgPartyOutput;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.OtSenderOutput;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 /**
- * COT sender output.
+ * COT sender output. R0 array is stored in a flat {@link BlockArray}, so that split and reduce are zero-copy.
  *
  * @author Weiran Liu
  * @date 2021/12/26
@@ -26,7 +27,7 @@ public class CotSenderOutput implements OtSenderOutput, MergedPcgPartyOutput {
     /**
      * R0 array
      */
-    private byte[][] r0Array;
+    private BlockArray r0Array;
 
     /**
      * Creates a sender output.
@@ -37,9 +38,21 @@ public class CotSenderOutput implements OtSenderOutput, MergedPcgPartyOutput {
      */
     public static CotSenderOutput create(byte[] delta, byte[][] r0Array) {
         CotSenderOutput senderOutput = new CotSenderOutput(delta);
-        senderOutput.r0Array = Arrays.stream(r0Array)
-            .peek(r0 -> MathPreconditions.checkEqual("R0.length", "λ", r0.length, CommonConstants.BLOCK_BYTE_LENGTH))
-            .toArray(byte[][]::new);
+        senderOutput.r0Array = BlockArray.create(r0Array);
+
+        return senderOutput;
+    }
+
+    /**
+     * Creates a sender output from the flat R0 array. The R0 array is not copied.
+     *
+     * @param delta   Δ.
+     * @param r0Array R0 array.
+     * @return a sender output.
+     */
+    public static CotSenderOutput create(byte[] delta, BlockArray r0Array) {
+        CotSenderOutput senderOutput = new CotSenderOutput(delta);
+        senderOutput.r0Array = r0Array;
 
         return senderOutput;
     }
@@ -52,7 +65,7 @@ public class CotSenderOutput implements OtSenderOutput, MergedPcgPartyOutput {
      */
     public static CotSenderOutput createEmpty(byte[] delta) {
         CotSenderOutput senderOutput = new CotSenderOutput(delta);
-        senderOutput.r0Array = new byte[0][];
+        senderOutput.r0Array = BlockArray.createEmpty();
 
         return senderOutput;
     }
@@ -67,7 +80,7 @@ public class CotSenderOutput implements OtSenderOutput, MergedPcgPartyOutput {
      */
     public static CotSenderOutput createRandom(int num, byte[] delta, SecureRandom secureRandom) {
         CotSenderOutput senderOutput = new CotSenderOutput(delta);
-        senderOutput.r0Array = BytesUtils.randomByteArrayVector(num, CommonConstants.BLOCK_BYTE_LENGTH, secureRandom);
+        senderOutput.r0Array = BlockArray.createRandom(num, secureRandom);
         return senderOutput;
     }
 
@@ -84,7 +97,7 @@ public class CotSenderOutput implements OtSenderOutput, MergedPcgPartyOutput {
     @Override
     public CotSenderOutput copy() {
         CotSenderOutput copy = new CotSenderOutput(delta);
-        copy.r0Array = BytesUtils.clone(r0Array);
+        copy.r0Array = r0Array.copy();
         return copy;
     }
 
@@ -92,12 +105,9 @@ public class CotSenderOutput implements OtSenderOutput, MergedPcgPartyOutput {
     public CotSenderOutput split(int splitNum) {
         int num = getNum();
         MathPreconditions.checkPositiveInRangeClosed("splitNum", splitNum, num);
-        // split R0 array
-        byte[][] r0SubArray = new byte[splitNum][];
-        byte[][] r0RemainArray = new byte[num - splitNum][];
-        System.arraycopy(r0Array, num - splitNum, r0SubArray, 0, splitNum);
-        System.arraycopy(r0Array, 0, r0RemainArray, 0, num - splitNum);
-        r0Array = r0RemainArray;
+        // split R0 array, zero-copy
+        BlockArray r0SubArray = r0Array.tail(splitNum);
+        r0Array = r0Array.head(num - splitNum);
 
         return CotSenderOutput.create(delta, r0SubArray);
     }
@@ -108,9 +118,7 @@ public class CotSenderOutput implements OtSenderOutput, MergedPcgPartyOutput {
         MathPreconditions.checkPositiveInRangeClosed("reduceNum", reduceNum, num);
         if (reduceNum < num) {
             // reduce only when reduceNum < num
-            byte[][] r0RemainArray = new byte[reduceNum][];
-            System.arraycopy(r0Array, 0, r0RemainArray, 0, reduceNum);
-            r0Array = r0RemainArray;
+            r0Array = r0Array.head(reduceNum);
         }
     }
 
@@ -119,10 +127,7 @@ public class CotSenderOutput implements OtSenderOutput, MergedPcgPartyOutput {
         CotSenderOutput that = (CotSenderOutput) other;
         Preconditions.checkArgument(BytesUtils.equals(this.delta, that.delta));
         // merge R0 array
-        byte[][] mergeR0Array = new byte[this.r0Array.length + that.r0Array.length][];
-        System.arraycopy(this.r0Array, 0, mergeR0Array, 0, this.r0Array.length);
-        System.arraycopy(that.r0Array, 0, mergeR0Array, this.r0Array.length, that.r0Array.length);
-        r0Array = mergeR0Array;
+        r0Array = r0Array.concat(that.r0Array);
     }
 
     /**
@@ -134,31 +139,78 @@ public class CotSenderOutput implements OtSenderOutput, MergedPcgPartyOutput {
         return delta;
     }
 
+    /**
+     * Gets R0 at the index. The returned block is a new byte array, use {@link #getR0(int, byte[])} to reuse a buffer.
+     *
+     * @param index index.
+     * @return R0.
+     */
     @Override
     public byte[] getR0(int index) {
-        return r0Array[index];
+        return r0Array.get(index);
+    }
+
+    /**
+     * Copies R0 at the index into the block buffer, so that loops can reuse one buffer instead of allocating a new
+     * array for each index.
+     *
+     * @param index index.
+     * @param dest  block buffer.
+     */
+    public void getR0(int index, byte[] dest) {
+        assert dest.length == CommonConstants.BLOCK_BYTE_LENGTH;
+        r0Array.get(index, dest, 0);
     }
 
     @Override
     public byte[][] getR0Array() {
+        return r0Array.toByteArrays();
+    }
+
+    /**
+     * Gets the flat R0 array for bulk access. The returned block array must not be modified.
+     *
+     * @return the flat R0 array.
+     */
+    public BlockArray getR0BlockArray() {
         return r0Array;
     }
 
+    /**
+     * Gets R1 at the index. The returned block is a new byte array, use {@link #getR1(int, byte[])} to reuse a buffer.
+     *
+     * @param index index.
+     * @return R1.
+     */
     @Override
     public byte[] getR1(int index) {
-        return BytesUtils.xor(delta, getR0(index));
+        byte[] r1 = r0Array.get(index);
+        BytesUtils.xori(r1, delta);
+        return r1;
+    }
+
+    /**
+     * Copies R1 at the index into the block buffer, so that loops can reuse one buffer instead of allocating a new
+     * array for each index.
+     *
+     * @param index index.
+     * @param dest  block buffer.
+     */
+    public void getR1(int index, byte[] dest) {
+        getR0(index, dest);
+        BytesUtils.xori(dest, delta);
     }
 
     @Override
     public byte[][] getR1Array() {
-        return Arrays.stream(r0Array)
-            .map(r0 -> BytesUtils.xor(delta, r0))
+        return IntStream.range(0, getNum())
+            .mapToObj(this::getR1)
             .toArray(byte[][]::new);
     }
 
     @Override
     public int getNum() {
-        return r0Array.length;
+        return r0Array.getNum();
     }
 
     @Override
@@ -1,13 +1,13 @@
 package edu.alibaba.mpc4j.s2pc.pcg.ot.cot;
 
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.EnvType;
 import edu.alibaba.mpc4j.common.tool.crypto.crhf.Crhf;
 import edu.alibaba.mpc4j.common.tool.crypto.crhf.CrhfFactory;
 import edu.alibaba.mpc4j.common.tool.crypto.crhf.CrhfFactory.CrhfType;
+import edu.alibaba.mpc4j.s2pc.pcg.BlockArray;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.OtReceiverOutput;
 
-import java.util.Arrays;
-
 /**
  * Random oblivious transfer receiver output.
  *
@@ -46,9 +46,16 @@ public class RotReceiverOutput implements OtReceiverOutput {
 
     @Override
     public byte[][] getRbArray() {
-        return Arrays.stream(cotReceiverOutput.getRbArray())
-            .map(crhf::hash)
-            .toArray(byte[][]::new);
+        int num = getNum();
+        BlockArray rbBlockArray = cotReceiverOutput.getRbBlockArray();
+        // reuse one block as the hash input, the hash output is a new byte array
+        byte[] rb = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        byte[][] rbArray = new byte[num][];
+        for (int index = 0; index < num; index++) {
+            rbBlockArray.get(index, rb, 0);
+            rbArray[index] = crhf.hash(rb);
+        }
+        return rbArray;
     }
 
     @Override
@@ -1,13 +1,14 @@
 package edu.alibaba.mpc4j.s2pc.pcg.ot.cot;
 
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.EnvType;
 import edu.alibaba.mpc4j.common.tool.crypto.crhf.Crhf;
 import edu.alibaba.mpc4j.common.tool.crypto.crhf.CrhfFactory;
 import edu.alibaba.mpc4j.common.tool.crypto.crhf.CrhfFactory.CrhfType;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.s2pc.pcg.BlockArray;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.OtSenderOutput;
 
-import java.util.Arrays;
-
 /**
  * Random oblivious transfer sender output.
  *
@@ -36,9 +37,7 @@ public class RotSenderOutput implements OtSenderOutput {
 
     @Override
     public byte[][] getR0Array() {
-        return Arrays.stream(cotSenderOutput.getR0Array())
-            .map(crhf::hash)
-            .toArray(byte[][]::new);
+        return hashArray(false);
     }
 
     @Override
@@ -48,9 +47,24 @@ public class RotSenderOutput implements OtSenderOutput {
 
     @Override
     public byte[][] getR1Array() {
-        return Arrays.stream(cotSenderOutput.getR1Array())
-            .map(crhf::hash)
-            .toArray(byte[][]::new);
+        return hashArray(true);
+    }
+
+    private byte[][] hashArray(boolean r1) {
+        int num = getNum();
+        BlockArray r0BlockArray = cotSenderOutput.getR0BlockArray();
+        byte[] delta = cotSenderOutput.getDelta();
+        // reuse one block as the hash input, the hash output is a new byte array
+        byte[] r = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        byte[][] rArray = new byte[num][];
+        for (int index = 0; index < num; index++) {
+            r0BlockArray.get(index, r, 0);
+            if (r1) {
+                BytesUtils.xori(r, delta);
+            }
+            rArray[index] = crhf.hash(r);
+        }
+        return rArray;
     }
 
     @Override
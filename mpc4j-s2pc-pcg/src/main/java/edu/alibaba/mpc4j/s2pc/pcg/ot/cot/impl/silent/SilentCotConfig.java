@@ -2,6 +2,7 @@ package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.silent;
 
 import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
 import edu.alibaba.mpc4j.common.rpc.pto.AbstractMultiPartyPtoConfig;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotConfig;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotFactory;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.nc.NcCotConfig;
@@ -24,11 +25,16 @@ public class SilentCotConfig extends AbstractMultiPartyPtoConfig implements CotC
      * pre-compute COT config
      */
     private final PreCotConfig preCotConfig;
+    /**
+     * watermark of pre-generated COTs, 0 means COTs are generated on demand
+     */
+    private final int watermark;
 
     private SilentCotConfig(Builder builder) {
         super(SecurityModel.MALICIOUS, builder.ncCotConfig, builder.preCotConfig);
         ncCotConfig = builder.ncCotConfig;
         preCotConfig = builder.preCotConfig;
+        watermark = builder.watermark;
     }
 
     public NcCotConfig getNcCotConfig() {
@@ -39,6 +45,16 @@ public class SilentCotConfig extends AbstractMultiPartyPtoConfig implements CotC
         return preCotConfig;
     }
 
+    /**
+     * Gets the watermark of pre-generated COTs. If positive, a producer thread keeps at least watermark ready COTs
+     * in the buffer beyond all requested COTs. 0 means COTs are generated on demand.
+     *
+     * @return watermark.
+     */
+    public int getWatermark() {
+        return watermark;
+    }
+
     @Override
     public CotFactory.CotType getPtoType() {
         return CotFactory.CotType.SILENT;
@@ -58,10 +74,15 @@ public class SilentCotConfig extends AbstractMultiPartyPtoConfig implements CotC
          * precompute COT config
          */
         private final PreCotConfig preCotConfig;
+        /**
+         * watermark of pre-generated COTs
+         */
+        private int watermark;
 
         public Builder(SecurityModel securityModel) {
             ncCotConfig = NcCotFactory.createDefaultConfig(securityModel);
             preCotConfig = PreCotFactory.createDefaultConfig(securityModel);
+            watermark = 0;
         }
 
         public Builder setNcCotConfig(NcCotConfig ncCotConfig) {
@@ -69,6 +90,12 @@ public class SilentCotConfig extends AbstractMultiPartyPtoConfig implements CotC
             return this;
         }
 
+        public Builder setWatermark(int watermark) {
+            MathPreconditions.checkNonNegative("watermark", watermark);
+            this.watermark = watermark;
+            return this;
+        }
+
         @Override
         public SilentCotConfig build() {
             return new SilentCotConfig(this);
@@ -0,0 +1,213 @@
+package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.silent;
+
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.s2pc.pcg.MergedPcgPartyOutput;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background pre-generation pool for silent COT. A producer thread runs NC-COT rounds and keeps at least
+ * {@code watermark} ready COTs in the buffer beyond all COTs requested so far.
+ * <p>
+ * Both parties must produce exactly the same number of rounds, since each round is an interactive protocol. Therefore,
+ * the producer decides whether to run the next round only based on the total requested num, which is the same for
+ * both parties (the sender and the receiver request the same nums in the same order), instead of the real-time
+ * buffer depth. Rounds run on the encodeTaskId of the NC-COT sub-protocol, so that they never mix up with data
+ * packets of the online phase.
+ * </p>
+ * <p>
+ * The producer shares the Rpc with the protocol thread, i.e., the NC-COT rounds and the online phase send and receive
+ * data packets concurrently. This relies on the concurrent use documented in {@link edu.alibaba.mpc4j.common.rpc.Rpc}.
+ * The NC-COT sub-protocol is used only by the producer until the pool is closed.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2024/7/15
+ */
+class SilentCotPool<T extends MergedPcgPartyOutput> {
+    /**
+     * round generator.
+     */
+    @FunctionalInterface
+    interface RoundGenerator<T> {
+        /**
+         * Generates one round of outputs.
+         *
+         * @return outputs.
+         * @throws MpcAbortException the protocol failure aborts.
+         */
+        T generate() throws MpcAbortException;
+    }
+
+    /**
+     * round generator
+     */
+    private final RoundGenerator<T> roundGenerator;
+    /**
+     * watermark
+     */
+    private final int watermark;
+    /**
+     * producer thread
+     */
+    private final Thread producer;
+    /**
+     * buffer
+     */
+    private T buffer;
+    /**
+     * total requested num
+     */
+    private long requestedNum;
+    /**
+     * total produced num
+     */
+    private long producedNum;
+    /**
+     * number of produced rounds
+     */
+    private long roundNum;
+    /**
+     * total time (in ns) that requests wait for the producer
+     */
+    private long stallTime;
+    /**
+     * whether the pool is closed
+     */
+    private boolean closed;
+    /**
+     * failure of the producer
+     */
+    private Throwable failure;
+
+    SilentCotPool(String name, T emptyBuffer, RoundGenerator<T> roundGenerator, int watermark) {
+        MathPreconditions.checkPositive("watermark", watermark);
+        this.roundGenerator = roundGenerator;
+        this.watermark = watermark;
+        buffer = emptyBuffer;
+        requestedNum = 0;
+        producedNum = 0;
+        roundNum = 0;
+        stallTime = 0;
+        closed = false;
+        producer = new Thread(this::produce, name);
+        producer.setDaemon(true);
+    }
+
+    /**
+     * Starts the producer.
+     */
+    void start() {
+        producer.start();
+    }
+
+    /**
+     * Takes num outputs from the buffer. It blocks until there are enough outputs.
+     *
+     * @param num num.
+     * @return outputs.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    @SuppressWarnings("unchecked")
+    synchronized T take(int num) throws MpcAbortException {
+        MathPreconditions.checkPositive("num", num);
+        requestedNum += num;
+        notifyAll();
+        long startTime = System.nanoTime();
+        try {
+            while (buffer.getNum() < num) {
+                checkFailure();
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MpcAbortException("Interrupted while waiting for pre-generated COTs", e);
+        }
+        stallTime += System.nanoTime() - startTime;
+        return (T) buffer.split(num);
+    }
+
+    private void produce() {
+        try {
+            while (true) {
+                synchronized (this) {
+                    while (!closed && producedNum >= requestedNum + watermark) {
+                        wait();
+                    }
+                    if (producedNum >= requestedNum + watermark) {
+                        // closed and all required rounds are done
+                        return;
+                    }
+                }
+                T output = roundGenerator.generate();
+                synchronized (this) {
+                    buffer.merge(output);
+                    producedNum += output.getNum();
+                    roundNum++;
+                    notifyAll();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e);
+        } catch (MpcAbortException | RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    private synchronized void fail(Throwable e) {
+        failure = e;
+        notifyAll();
+    }
+
+    private void checkFailure() throws MpcAbortException {
+        if (failure != null) {
+            throw new MpcAbortException("COT pre-generation failed", failure);
+        }
+    }
+
+    /**
+     * Closes the pool. It waits until the producer finishes all required rounds, so that both parties run the same
+     * number of rounds.
+     */
+    void close() {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        try {
+            producer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the current buffer depth, i.e., the number of ready outputs.
+     *
+     * @return buffer depth.
+     */
+    synchronized int getBufferNum() {
+        return buffer.getNum();
+    }
+
+    /**
+     * Gets the number of produced rounds.
+     *
+     * @return number of produced rounds.
+     */
+    synchronized long getRoundNum() {
+        return roundNum;
+    }
+
+    /**
+     * Gets the total time that requests wait for the producer.
+     *
+     * @param timeUnit time unit.
+     * @return stall time.
+     */
+    synchronized long getStallTime(TimeUnit timeUnit) {
+        return timeUnit.convert(stallTime, TimeUnit.NANOSECONDS);
+    }
+}
@@ -37,6 +37,14 @@ public class SilentCotReceiver extends AbstractCotReceiver {
      * buffer
      */
     private CotReceiverOutput buffer;
+    /**
+     * watermark of pre-generated COTs, 0 means COTs are generated on demand
+     */
+    private final int watermark;
+    /**
+     * pre-generation pool, null if COTs are generated on demand
+     */
+    private SilentCotPool<CotReceiverOutput> pool;
 
     public SilentCotReceiver(Rpc receiverRpc, Party senderParty, SilentCotConfig config) {
         super(SilentCotPtoDesc.getInstance(), receiverRpc, senderParty, config);
@@ -46,11 +54,15 @@ public class SilentCotReceiver extends AbstractCotReceiver {
         maxRoundNum = ncCotConfig.maxNum();
         preCotReceiver = PreCotFactory.createReceiver(receiverRpc, senderParty, config.getPreCotConfig());
         addSubPto(preCotReceiver);
+        watermark = config.getWatermark();
     }
 
     @Override
     public void init(int expectNum) throws MpcAbortException {
         setInitInput(expectNum);
+        // the producer of a previous init runs rounds of the NC-COT sub-protocol and updates the states of the
+        // sub-protocol and the rpc, so we must close the pool and join the producer before initializing the NC-COT.
+        closePool();
         logPhaseInfo(PtoState.INIT_BEGIN);
 
         stopWatch.start();
@@ -58,6 +70,12 @@ public class SilentCotReceiver extends AbstractCotReceiver {
         ncCotReceiver.init(roundNum);
         buffer = CotReceiverOutput.createEmpty();
         preCotReceiver.init();
+        if (watermark > 0) {
+            pool = new SilentCotPool<>(
+                getPtoDesc().getPtoName() + "_" + ownParty().getPartyName(), buffer, ncCotReceiver::receive, watermark
+            );
+            pool.start();
+        }
         stopWatch.stop();
         long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -77,13 +95,8 @@ public class SilentCotReceiver extends AbstractCotReceiver {
         logPhaseInfo(PtoState.PTO_BEGIN);
 
         stopWatch.start();
-        while (num > buffer.getNum()) {
-            // generate COT when we do not have enough ones
-            CotReceiverOutput cotReceiverOutput = ncCotReceiver.receive();
-            buffer.merge(cotReceiverOutput);
-        }
+        CotReceiverOutput receiverOutput = take(num);
         stopWatch.stop();
-        CotReceiverOutput receiverOutput = buffer.split(num);
         long roundTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
         logStepInfo(PtoState.PTO_STEP, 1, 2, roundTime);
@@ -106,12 +119,7 @@ public class SilentCotReceiver extends AbstractCotReceiver {
         logPhaseInfo(PtoState.PTO_BEGIN);
 
         stopWatch.start();
-        while (num > buffer.getNum()) {
-            // generate COT when we do not have enough ones
-            CotReceiverOutput cotReceiverOutput = ncCotReceiver.receive();
-            buffer.merge(cotReceiverOutput);
-        }
-        CotReceiverOutput receiverOutput = buffer.split(num);
+        CotReceiverOutput receiverOutput = take(num);
         stopWatch.stop();
         long splitTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -120,4 +128,60 @@ public class SilentCotReceiver extends AbstractCotReceiver {
         logPhaseInfo(PtoState.PTO_END);
         return receiverOutput;
     }
+
+    private CotReceiverOutput take(int num) throws MpcAbortException {
+        if (pool != null) {
+            return pool.take(num);
+        }
+        while (num > buffer.getNum()) {
+            // generate COT when we do not have enough ones
+            CotReceiverOutput cotReceiverOutput = ncCotReceiver.receive();
+            buffer.merge(cotReceiverOutput);
+        }
+        return buffer.split(num);
+    }
+
+    @Override
+    public void destroy() {
+        closePool();
+        super.destroy();
+    }
+
+    private void closePool() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+    }
+
+    /**
+     * Gets the number of ready COTs in the buffer.
+     *
+     * @return the number of ready COTs.
+     */
+    public int getBufferNum() {
+        if (pool != null) {
+            return pool.getBufferNum();
+        }
+        return buffer == null ? 0 : buffer.getNum();
+    }
+
+    /**
+     * Gets the number of rounds generated by the pre-generation pool.
+     *
+     * @return the number of pre-generated rounds, 0 if COTs are generated on demand.
+     */
+    public long getPreGenerateRoundNum() {
+        return pool == null ? 0 : pool.getRoundNum();
+    }
+
+    /**
+     * Gets the total time that requests wait for the pre-generation pool.
+     *
+     * @param timeUnit time unit.
+     * @return the stall time, 0 if COTs are generated on demand.
+     */
+    public long getStallTime(TimeUnit timeUnit) {
+        return pool == null ? 0 : pool.getStallTime(timeUnit);
+    }
 }
@@ -37,6 +37,14 @@ public class SilentCotSender extends AbstractCotSender {
      * buffer
      */
     private CotSenderOutput buffer;
+    /**
+     * watermark of pre-generated COTs, 0 means COTs are generated on demand
+     */
+    private final int watermark;
+    /**
+     * pre-generation pool, null if COTs are generated on demand
+     */
+    private SilentCotPool<CotSenderOutput> pool;
 
     public SilentCotSender(Rpc senderRpc, Party receiverParty, SilentCotConfig config) {
         super(SilentCotPtoDesc.getInstance(), senderRpc, receiverParty, config);
@@ -46,11 +54,15 @@ public class SilentCotSender extends AbstractCotSender {
         preCotSender = PreCotFactory.createSender(senderRpc, receiverParty, config.getPreCotConfig());
         addSubPto(preCotSender);
         maxRoundNum = ncCotConfig.maxNum();
+        watermark = config.getWatermark();
     }
 
     @Override
     public void init(byte[] delta, int expectNum) throws MpcAbortException {
         setInitInput(delta, expectNum);
+        // the producer of a previous init runs rounds of the NC-COT sub-protocol and updates the states of the
+        // sub-protocol and the rpc, so we must close the pool and join the producer before initializing the NC-COT.
+        closePool();
         logPhaseInfo(PtoState.INIT_BEGIN);
 
         stopWatch.start();
@@ -58,6 +70,12 @@ public class SilentCotSender extends AbstractCotSender {
         ncCotSender.init(delta, roundNum);
         preCotSender.init();
         buffer = CotSenderOutput.createEmpty(delta);
+        if (watermark > 0) {
+            pool = new SilentCotPool<>(
+                getPtoDesc().getPtoName() + "_" + ownParty().getPartyName(), buffer, ncCotSender::send, watermark
+            );
+            pool.start();
+        }
         stopWatch.stop();
         long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -77,12 +95,7 @@ public class SilentCotSender extends AbstractCotSender {
         logPhaseInfo(PtoState.PTO_BEGIN);
 
         stopWatch.start();
-        while (num > buffer.getNum()) {
-            // generate COT when we do not have enough ones
-            CotSenderOutput cotSenderOutput = ncCotSender.send();
-            buffer.merge(cotSenderOutput);
-        }
-        CotSenderOutput senderOutput = buffer.split(num);
+        CotSenderOutput senderOutput = take(num);
         stopWatch.stop();
         long roundTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -106,12 +119,7 @@ public class SilentCotSender extends AbstractCotSender {
         logPhaseInfo(PtoState.PTO_BEGIN);
 
         stopWatch.start();
-        while (num > buffer.getNum()) {
-            // generate COT when we do not have enough ones
-            CotSenderOutput cotSenderOutput = ncCotSender.send();
-            buffer.merge(cotSenderOutput);
-        }
-        CotSenderOutput senderOutput = buffer.split(num);
+        CotSenderOutput senderOutput = take(num);
         stopWatch.stop();
         long roundTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -120,4 +128,60 @@ public class SilentCotSender extends AbstractCotSender {
         logPhaseInfo(PtoState.PTO_END);
         return senderOutput;
     }
+
+    private CotSenderOutput take(int num) throws MpcAbortException {
+        if (pool != null) {
+            return pool.take(num);
+        }
+        while (num > buffer.getNum()) {
+            // generate COT when we do not have enough ones
+            CotSenderOutput cotSenderOutput = ncCotSender.send();
+            buffer.merge(cotSenderOutput);
+        }
+        return buffer.split(num);
+    }
+
+    @Override
+    public void destroy() {
+        closePool();
+        super.destroy();
+    }
+
+    private void closePool() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+    }
+
+    /**
+     * Gets the number of ready COTs in the buffer.
+     *
+     * @return the number of ready COTs.
+     */
+    public int getBufferNum() {
+        if (pool != null) {
+            return pool.getBufferNum();
+        }
+        return buffer == null ? 0 : buffer.getNum();
+    }
+
+    /**
+     * Gets the number of rounds generated by the pre-generation pool.
+     *
+     * @return the number of pre-generated rounds, 0 if COTs are generated on demand.
+     */
+    public long getPreGenerateRoundNum() {
+        return pool == null ? 0 : pool.getRoundNum();
+    }
+
+    /**
+     * Gets the total time that requests wait for the pre-generation pool.
+     *
+     * @param timeUnit time unit.
+     * @return the stall time, 0 if COTs are generated on demand.
+     */
+    public long getStallTime(TimeUnit timeUnit) {
+        return pool == null ? 0 : pool.getStallTime(timeUnit);
+    }
 }
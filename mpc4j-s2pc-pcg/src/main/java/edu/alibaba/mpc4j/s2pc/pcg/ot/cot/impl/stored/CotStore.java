@@ -0,0 +1,399 @@
+package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.stored;
+
+import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.s2pc.pcg.BlockArray;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotReceiverOutput;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotSenderOutput;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * On-disk store of random COTs. Both parties fill the store during an offline phase, and consume COTs from the store
+ * during the online phase. Each party has its own files in the store directory, keyed by the session ID:
+ * <li>sessionId_ROLE.cot: a header (magic, role, Δ), followed by 16-byte blocks (R0 for the sender, Rb for the
+ * receiver) in big-endian order.</li>
+ * <li>sessionId_RECEIVER.choice: the receiver's choice bits, one byte per COT.</li>
+ * <li>sessionId_ROLE.offset: the consumption offset, i.e., the number of consumed COTs.</li>
+ * Appends are forced to the disk, and the number of COTs is derived from the file size, so that a partially written
+ * append is ignored. If an append of only one party is completed, both parties truncate their stores to the smaller
+ * number of COTs, so that the stores are aligned again. The offset is persisted with an atomic rename before COTs are
+ * returned, so that COTs are never reused after a crash, although some COTs may be skipped.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/17
+ */
+public class CotStore {
+    /**
+     * role of the party that owns the store.
+     */
+    public enum Role {
+        /**
+         * COT sender
+         */
+        SENDER,
+        /**
+         * COT receiver
+         */
+        RECEIVER,
+    }
+
+    /**
+     * magic number, "COTS"
+     */
+    private static final int MAGIC = 0x434F5453;
+    /**
+     * header byte length: magic, role, Δ
+     */
+    private static final int HEADER_BYTE_LENGTH = Integer.BYTES + Byte.BYTES + CommonConstants.BLOCK_BYTE_LENGTH;
+    /**
+     * COT file suffix
+     */
+    private static final String COT_SUFFIX = ".cot";
+    /**
+     * choice file suffix
+     */
+    private static final String CHOICE_SUFFIX = ".choice";
+    /**
+     * offset file suffix
+     */
+    private static final String OFFSET_SUFFIX = ".offset";
+    /**
+     * temporary suffix for writing offset
+     */
+    private static final String WRITING_SUFFIX = "_WRITING";
+    /**
+     * role
+     */
+    private final Role role;
+    /**
+     * Δ, all-zero for the receiver
+     */
+    private final byte[] delta;
+    /**
+     * COT file path
+     */
+    private final Path cotPath;
+    /**
+     * choice file path
+     */
+    private final Path choicePath;
+    /**
+     * offset file path
+     */
+    private final Path offsetPath;
+    /**
+     * number of stored COTs
+     */
+    private long num;
+    /**
+     * number of consumed COTs
+     */
+    private long offset;
+
+    /**
+     * Appends sender COTs into the store. The store is created if it does not exist.
+     *
+     * @param directory    store directory.
+     * @param sessionId    session ID.
+     * @param senderOutput sender output.
+     */
+    public static void append(String directory, String sessionId, CotSenderOutput senderOutput) {
+        Path cotPath = getPath(directory, sessionId, Role.SENDER, COT_SUFFIX);
+        try {
+            Files.createDirectories(cotPath.getParent());
+            appendBlocks(cotPath, Role.SENDER, senderOutput.getDelta(), senderOutput.getR0BlockArray());
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot append COTs into " + cotPath, e);
+        }
+    }
+
+    /**
+     * Appends receiver COTs into the store. The store is created if it does not exist.
+     *
+     * @param directory      store directory.
+     * @param sessionId      session ID.
+     * @param receiverOutput receiver output.
+     */
+    public static void append(String directory, String sessionId, CotReceiverOutput receiverOutput) {
+        Path cotPath = getPath(directory, sessionId, Role.RECEIVER, COT_SUFFIX);
+        Path choicePath = getPath(directory, sessionId, Role.RECEIVER, CHOICE_SUFFIX);
+        try {
+            Files.createDirectories(cotPath.getParent());
+            // write choices first, so that the number of COTs, bounded by the number of blocks, is always valid
+            boolean[] choices = receiverOutput.getChoices();
+            byte[] choiceBytes = new byte[choices.length];
+            for (int index = 0; index < choices.length; index++) {
+                choiceBytes[index] = choices[index] ? (byte) 1 : (byte) 0;
+            }
+            long blockNum = getBlockNum(cotPath);
+            try (FileChannel choiceChannel = FileChannel.open(
+                choicePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE
+            )) {
+                // drop choices of a partially written append
+                choiceChannel.truncate(blockNum);
+                choiceChannel.position(blockNum);
+                writeFully(choiceChannel, ByteBuffer.wrap(choiceBytes));
+                choiceChannel.force(true);
+            }
+            appendBlocks(cotPath, Role.RECEIVER, new byte[CommonConstants.BLOCK_BYTE_LENGTH], receiverOutput.getRbBlockArray());
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot append COTs into " + cotPath, e);
+        }
+    }
+
+    /**
+     * Opens the store.
+     *
+     * @param directory store directory.
+     * @param sessionId session ID.
+     * @param role      role.
+     * @return the store.
+     */
+    public static CotStore open(String directory, String sessionId, Role role) {
+        return new CotStore(directory, sessionId, role);
+    }
+
+    private CotStore(String directory, String sessionId, Role role) {
+        this.role = role;
+        cotPath = getPath(directory, sessionId, role, COT_SUFFIX);
+        choicePath = getPath(directory, sessionId, role, CHOICE_SUFFIX);
+        offsetPath = getPath(directory, sessionId, role, OFFSET_SUFFIX);
+        Preconditions.checkArgument(Files.exists(cotPath), "COT store does not exist: %s", cotPath);
+        try {
+            delta = readHeader(cotPath, role);
+            long blockNum = getBlockNum(cotPath);
+            num = role == Role.RECEIVER ? Math.min(blockNum, Files.size(choicePath)) : blockNum;
+            offset = Files.exists(offsetPath) ? ByteBuffer.wrap(Files.readAllBytes(offsetPath)).getLong() : 0L;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot open COT store " + cotPath, e);
+        }
+        MathPreconditions.checkNonNegativeInRangeClosed("offset", offset, num);
+    }
+
+    /**
+     * Gets the role.
+     *
+     * @return role.
+     */
+    public Role getRole() {
+        return role;
+    }
+
+    /**
+     * Gets Δ. For the receiver, Δ is all-zero.
+     *
+     * @return Δ.
+     */
+    public byte[] getDelta() {
+        return BytesUtils.clone(delta);
+    }
+
+    /**
+     * Gets the number of stored COTs, including consumed ones.
+     *
+     * @return the number of stored COTs.
+     */
+    public synchronized long getNum() {
+        return num;
+    }
+
+    /**
+     * Gets the consumption offset, i.e., the number of consumed COTs.
+     *
+     * @return the consumption offset.
+     */
+    public synchronized long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the number of remaining COTs.
+     *
+     * @return the number of remaining COTs.
+     */
+    public synchronized long getRemainNum() {
+        return num - offset;
+    }
+
+    /**
+     * Truncates the store to the given number of COTs. This is used to drop COTs that the other party does not have,
+     * e.g., when the other party crashes during appending. COTs that are truncated are also consumed.
+     *
+     * @param num number of COTs.
+     */
+    public synchronized void truncate(long num) {
+        MathPreconditions.checkNonNegativeInRangeClosed("num", num, this.num);
+        if (num == this.num) {
+            return;
+        }
+        try {
+            truncateFile(cotPath, HEADER_BYTE_LENGTH + num * CommonConstants.BLOCK_BYTE_LENGTH);
+            if (role == Role.RECEIVER) {
+                truncateFile(choicePath, num);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot truncate COT store " + cotPath, e);
+        }
+        this.num = num;
+        if (offset > num) {
+            commitOffset(num);
+        }
+    }
+
+    /**
+     * Skips COTs so that the offset is at least the given offset. This is used to match offsets of two parties.
+     *
+     * @param offset offset.
+     */
+    public synchronized void skipTo(long offset) {
+        MathPreconditions.checkNonNegativeInRangeClosed("offset", offset, num);
+        if (offset > this.offset) {
+            commitOffset(offset);
+        }
+    }
+
+    /**
+     * Takes sender COTs. The offset is persisted before the COTs are returned.
+     *
+     * @param num num.
+     * @return sender COTs.
+     */
+    public synchronized CotSenderOutput takeSender(int num) {
+        Preconditions.checkArgument(role == Role.SENDER, "Store role must be %s: %s", Role.SENDER, role);
+        BlockArray r0Array = readBlocks(num);
+        commitOffset(offset + num);
+        return CotSenderOutput.create(delta, r0Array);
+    }
+
+    /**
+     * Takes receiver COTs. The offset is persisted before the COTs are returned.
+     *
+     * @param num num.
+     * @return receiver COTs.
+     */
+    public synchronized CotReceiverOutput takeReceiver(int num) {
+        Preconditions.checkArgument(role == Role.RECEIVER, "Store role must be %s: %s", Role.RECEIVER, role);
+        BlockArray rbArray = readBlocks(num);
+        boolean[] choices = new boolean[num];
+        try (FileChannel choiceChannel = FileChannel.open(choicePath, StandardOpenOption.READ)) {
+            MappedByteBuffer choiceBuffer = choiceChannel.map(FileChannel.MapMode.READ_ONLY, offset, num);
+            for (int index = 0; index < num; index++) {
+                choices[index] = choiceBuffer.get(index) != 0;
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read choices from " + choicePath, e);
+        }
+        commitOffset(offset + num);
+        return CotReceiverOutput.create(choices, rbArray);
+    }
+
+    private BlockArray readBlocks(int num) {
+        MathPreconditions.checkPositiveInRangeClosed("num", num, Math.toIntExact(Math.min(Integer.MAX_VALUE, getRemainNum())));
+        long[] data = new long[num * (CommonConstants.BLOCK_BYTE_LENGTH / Long.BYTES)];
+        try (FileChannel cotChannel = FileChannel.open(cotPath, StandardOpenOption.READ)) {
+            MappedByteBuffer cotBuffer = cotChannel.map(
+                FileChannel.MapMode.READ_ONLY,
+                HEADER_BYTE_LENGTH + offset * CommonConstants.BLOCK_BYTE_LENGTH,
+                (long) num * CommonConstants.BLOCK_BYTE_LENGTH
+            );
+            cotBuffer.asLongBuffer().get(data);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read COTs from " + cotPath, e);
+        }
+        return BlockArray.wrap(data);
+    }
+
+    private void commitOffset(long offset) {
+        Path writingPath = offsetPath.resolveSibling(offsetPath.getFileName() + WRITING_SUFFIX);
+        try {
+            try (FileChannel offsetChannel = FileChannel.open(
+                writingPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING
+            )) {
+                writeFully(offsetChannel, ByteBuffer.allocate(Long.BYTES).putLong(0, offset));
+                offsetChannel.force(true);
+            }
+            Files.move(writingPath, offsetPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write offset into " + offsetPath, e);
+        }
+        this.offset = offset;
+    }
+
+    private static Path getPath(String directory, String sessionId, Role role, String suffix) {
+        Preconditions.checkArgument(!sessionId.isEmpty(), "sessionId must not be empty");
+        return Paths.get(directory, sessionId + "_" + role.name() + suffix);
+    }
+
+    private static long getBlockNum(Path cotPath) throws IOException {
+        if (!Files.exists(cotPath)) {
+            return 0;
+        }
+        return Math.max(0, Files.size(cotPath) - HEADER_BYTE_LENGTH) / CommonConstants.BLOCK_BYTE_LENGTH;
+    }
+
+    private static byte[] readHeader(Path cotPath, Role role) throws IOException {
+        try (FileChannel cotChannel = FileChannel.open(cotPath, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTE_LENGTH);
+            while (header.hasRemaining()) {
+                if (cotChannel.read(header) < 0) {
+                    throw new IllegalStateException("Invalid COT store header: " + cotPath);
+                }
+            }
+            header.flip();
+            Preconditions.checkState(header.getInt() == MAGIC, "Invalid COT store magic: %s", cotPath);
+            Preconditions.checkState(header.get() == role.ordinal(), "Invalid COT store role, expect %s", role);
+            byte[] delta = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+            header.get(delta);
+            return delta;
+        }
+    }
+
+    private static void appendBlocks(Path cotPath, Role role, byte[] delta, BlockArray blockArray) throws IOException {
+        if (Files.exists(cotPath) && Files.size(cotPath) >= HEADER_BYTE_LENGTH) {
+            byte[] storedDelta = readHeader(cotPath, role);
+            Preconditions.checkArgument(BytesUtils.equals(storedDelta, delta), "Δ mismatches the stored Δ");
+        }
+        try (FileChannel cotChannel = FileChannel.open(cotPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            long blockNum = getBlockNum(cotPath);
+            if (cotChannel.size() < HEADER_BYTE_LENGTH) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTE_LENGTH)
+                    .putInt(MAGIC)
+                    .put((byte) role.ordinal())
+                    .put(delta);
+                header.flip();
+                cotChannel.truncate(0);
+                writeFully(cotChannel, header);
+            }
+            // drop a partially written block
+            long position = HEADER_BYTE_LENGTH + blockNum * CommonConstants.BLOCK_BYTE_LENGTH;
+            cotChannel.truncate(position);
+            cotChannel.position(position);
+            writeFully(cotChannel, ByteBuffer.wrap(blockArray.toByteArray(0, blockArray.getNum())));
+            cotChannel.force(true);
+        }
+    }
+
+    private static void truncateFile(Path path, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+            channel.force(true);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
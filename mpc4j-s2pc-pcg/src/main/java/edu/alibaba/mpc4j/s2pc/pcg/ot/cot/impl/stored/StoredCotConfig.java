@@ -0,0 +1,95 @@
+package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.stored;
+
+import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
+import edu.alibaba.mpc4j.common.rpc.pto.AbstractMultiPartyPtoConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotFactory;
+
+/**
+ * stored COT config.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/17
+ */
+public class StoredCotConfig extends AbstractMultiPartyPtoConfig implements CotConfig {
+    /**
+     * default round num
+     */
+    private static final int DEFAULT_ROUND_NUM = 1 << 20;
+    /**
+     * store directory
+     */
+    private final String directory;
+    /**
+     * session ID
+     */
+    private final String sessionId;
+    /**
+     * pre-compute COT config
+     */
+    private final PreCotConfig preCotConfig;
+
+    private StoredCotConfig(Builder builder) {
+        super(SecurityModel.MALICIOUS, builder.preCotConfig);
+        directory = builder.directory;
+        sessionId = builder.sessionId;
+        preCotConfig = builder.preCotConfig;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public PreCotConfig getPreCotConfig() {
+        return preCotConfig;
+    }
+
+    @Override
+    public CotFactory.CotType getPtoType() {
+        return CotFactory.CotType.STORED;
+    }
+
+    @Override
+    public int defaultRoundNum() {
+        return DEFAULT_ROUND_NUM;
+    }
+
+    public static class Builder implements org.apache.commons.lang3.builder.Builder<StoredCotConfig> {
+        /**
+         * store directory
+         */
+        private final String directory;
+        /**
+         * session ID
+         */
+        private final String sessionId;
+        /**
+         * pre-compute COT config
+         */
+        private PreCotConfig preCotConfig;
+
+        public Builder(SecurityModel securityModel, String directory, String sessionId) {
+            Preconditions.checkArgument(!sessionId.isEmpty(), "sessionId must not be empty");
+            this.directory = directory;
+            this.sessionId = sessionId;
+            preCotConfig = PreCotFactory.createDefaultConfig(securityModel);
+        }
+
+        public Builder setPreCotConfig(PreCotConfig preCotConfig) {
+            this.preCotConfig = preCotConfig;
+            return this;
+        }
+
+        @Override
+        public StoredCotConfig build() {
+            return new StoredCotConfig(this);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.stored;
+
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDesc;
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDescManager;
+
+/**
+ * stored COT protocol description. Random COTs are generated in an offline phase and persisted into a
+ * {@link CotStore}. In the online phase, two parties agree on the consumption offset, read COTs from their stores,
+ * and correct choices using precompute COT. If the sender requests a Δ other than the stored Δ, the sender switches
+ * stored COTs to the requested Δ by sending one correction block per COT.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/17
+ */
+class StoredCotPtoDesc implements PtoDesc {
+    /**
+     * protocol ID
+     */
+    private static final int PTO_ID = Math.abs((int) 2158839467310952217L);
+    /**
+     * protocol name
+     */
+    private static final String PTO_NAME = "STORED_COT";
+
+    /**
+     * protocol step
+     */
+    enum PtoStep {
+        /**
+         * sender sends the offset and the number of stored COTs
+         */
+        SENDER_SEND_OFFSET,
+        /**
+         * receiver sends the offset and the number of stored COTs
+         */
+        RECEIVER_SEND_OFFSET,
+        /**
+         * sender sends Δ-switching corrections
+         */
+        SENDER_SEND_CORRECTION,
+    }
+
+    /**
+     * singleton mode
+     */
+    private static final StoredCotPtoDesc INSTANCE = new StoredCotPtoDesc();
+
+    /**
+     * private constructor.
+     */
+    private StoredCotPtoDesc() {
+        // empty
+    }
+
+    public static PtoDesc getInstance() {
+        return INSTANCE;
+    }
+
+    static {
+        PtoDescManager.registerPtoDesc(getInstance());
+    }
+
+    @Override
+    public int getPtoId() {
+        return PTO_ID;
+    }
+
+    @Override
+    public String getPtoName() {
+        return PTO_NAME;
+    }
+}
@@ -0,0 +1,194 @@
+package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.stored;
+
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.rpc.MpcAbortPreconditions;
+import edu.alibaba.mpc4j.common.rpc.Party;
+import edu.alibaba.mpc4j.common.rpc.PtoState;
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.crypto.tcrhf.Tcrhf;
+import edu.alibaba.mpc4j.common.tool.crypto.tcrhf.TcrhfFactory;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
+import edu.alibaba.mpc4j.s2pc.pcg.BlockArray;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.AbstractCotReceiver;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotReceiverOutput;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.stored.StoredCotPtoDesc.PtoStep;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotReceiver;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * stored COT receiver.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/17
+ */
+public class StoredCotReceiver extends AbstractCotReceiver {
+    /**
+     * precompute COT receiver
+     */
+    private final PreCotReceiver preCotReceiver;
+    /**
+     * store directory
+     */
+    private final String directory;
+    /**
+     * session ID
+     */
+    private final String sessionId;
+    /**
+     * tweakable correlation robust hash function
+     */
+    private final Tcrhf tcrhf;
+    /**
+     * COT store
+     */
+    private CotStore cotStore;
+    /**
+     * whether stored COTs are switched to the Δ requested by the sender
+     */
+    private boolean switchDelta;
+
+    public StoredCotReceiver(Rpc receiverRpc, Party senderParty, StoredCotConfig config) {
+        super(StoredCotPtoDesc.getInstance(), receiverRpc, senderParty, config);
+        preCotReceiver = PreCotFactory.createReceiver(receiverRpc, senderParty, config.getPreCotConfig());
+        addSubPto(preCotReceiver);
+        directory = config.getDirectory();
+        sessionId = config.getSessionId();
+        tcrhf = TcrhfFactory.createInstance(envType, TcrhfFactory.TcrhfType.TMMO);
+    }
+
+    @Override
+    public void init(int expectNum) throws MpcAbortException {
+        setInitInput(expectNum);
+        logPhaseInfo(PtoState.INIT_BEGIN);
+
+        stopWatch.start();
+        cotStore = CotStore.open(directory, sessionId, CotStore.Role.RECEIVER);
+        // exchange offsets, both parties truncate to the smaller num and skip to the larger offset
+        List<byte[]> receiverOffsetPayload = Arrays.asList(
+            LongUtils.longToByteArray(cotStore.getOffset()), LongUtils.longToByteArray(cotStore.getNum())
+        );
+        sendOtherPartyPayload(PtoStep.RECEIVER_SEND_OFFSET.ordinal(), receiverOffsetPayload);
+        List<byte[]> senderOffsetPayload = receiveOtherPartyPayload(PtoStep.SENDER_SEND_OFFSET.ordinal());
+        MpcAbortPreconditions.checkArgument(senderOffsetPayload.size() == 3);
+        long senderOffset = LongUtils.byteArrayToLong(senderOffsetPayload.get(0));
+        long senderNum = LongUtils.byteArrayToLong(senderOffsetPayload.get(1));
+        MpcAbortPreconditions.checkArgument(senderOffset >= 0 && senderOffset <= senderNum);
+        byte[] switchDeltaBytes = senderOffsetPayload.get(2);
+        MpcAbortPreconditions.checkArgument(switchDeltaBytes.length == 1);
+        switchDelta = switchDeltaBytes[0] != 0;
+        // the numbers mismatch if an append of one party is torn, COTs that only one party has are dropped
+        cotStore.truncate(Math.min(senderNum, cotStore.getNum()));
+        cotStore.skipTo(Math.min(senderOffset, cotStore.getNum()));
+        preCotReceiver.init();
+        stopWatch.stop();
+        long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.INIT_STEP, 1, 1, initTime);
+
+        logPhaseInfo(PtoState.INIT_END);
+    }
+
+    @Override
+    public void init() throws MpcAbortException {
+        init(config.defaultRoundNum());
+    }
+
+    @Override
+    public CotReceiverOutput receive(boolean[] choices) throws MpcAbortException {
+        setPtoInput(choices);
+        logPhaseInfo(PtoState.PTO_BEGIN);
+
+        stopWatch.start();
+        long position = cotStore.getOffset();
+        CotReceiverOutput receiverOutput = cotStore.takeReceiver(num);
+        stopWatch.stop();
+        long readTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 1, 3, readTime);
+
+        stopWatch.start();
+        receiverOutput = switchDelta(position, receiverOutput);
+        stopWatch.stop();
+        long switchTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 2, 3, switchTime);
+
+        stopWatch.start();
+        // correct choices using precompute COT
+        receiverOutput = preCotReceiver.receive(receiverOutput, choices);
+        stopWatch.stop();
+        long preCotTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 3, 3, preCotTime);
+
+        logPhaseInfo(PtoState.PTO_END);
+        return receiverOutput;
+    }
+
+    @Override
+    public CotReceiverOutput receiveRandom(int num) throws MpcAbortException {
+        setPtoInput(num);
+        logPhaseInfo(PtoState.PTO_BEGIN);
+
+        stopWatch.start();
+        long position = cotStore.getOffset();
+        CotReceiverOutput receiverOutput = cotStore.takeReceiver(num);
+        stopWatch.stop();
+        long readTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 1, 2, readTime);
+
+        stopWatch.start();
+        receiverOutput = switchDelta(position, receiverOutput);
+        stopWatch.stop();
+        long switchTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 2, 2, switchTime);
+
+        logPhaseInfo(PtoState.PTO_END);
+        return receiverOutput;
+    }
+
+    private CotReceiverOutput switchDelta(long position, CotReceiverOutput storedOutput) throws MpcAbortException {
+        if (!switchDelta) {
+            return storedOutput;
+        }
+        int num = storedOutput.getNum();
+        List<byte[]> correctionPayload = receiveOtherPartyPayload(PtoStep.SENDER_SEND_CORRECTION.ordinal());
+        MpcAbortPreconditions.checkArgument(correctionPayload.size() == num);
+        byte[][] corrections = correctionPayload.toArray(new byte[0][]);
+        MpcAbortPreconditions.checkArgument(
+            Arrays.stream(corrections).allMatch(correction -> correction.length == CommonConstants.BLOCK_BYTE_LENGTH)
+        );
+        BlockArray storedRbArray = storedOutput.getRbBlockArray();
+        boolean[] choices = storedOutput.getChoices();
+        byte[][] rbArray = new byte[num][];
+        IntStream indexIntStream = IntStream.range(0, num);
+        indexIntStream = parallel ? indexIntStream.parallel() : indexIntStream;
+        indexIntStream.forEach(index -> {
+            int leftTweak = (int) ((position + index) >>> Integer.SIZE);
+            int rightTweak = (int) (position + index);
+            rbArray[index] = tcrhf.hash(leftTweak, rightTweak, storedRbArray.get(index));
+            if (choices[index]) {
+                BytesUtils.xori(rbArray[index], corrections[index]);
+            }
+        });
+        return CotReceiverOutput.create(choices, rbArray);
+    }
+
+    /**
+     * Gets the number of remaining COTs in the store.
+     *
+     * @return the number of remaining COTs.
+     */
+    public long getRemainNum() {
+        return cotStore == null ? 0 : cotStore.getRemainNum();
+    }
+}
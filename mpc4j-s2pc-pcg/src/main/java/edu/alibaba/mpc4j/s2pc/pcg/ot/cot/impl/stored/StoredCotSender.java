@@ -0,0 +1,198 @@
+package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.stored;
+
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.rpc.MpcAbortPreconditions;
+import edu.alibaba.mpc4j.common.rpc.Party;
+import edu.alibaba.mpc4j.common.rpc.PtoState;
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.tool.crypto.tcrhf.Tcrhf;
+import edu.alibaba.mpc4j.common.tool.crypto.tcrhf.TcrhfFactory;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.common.tool.utils.LongUtils;
+import edu.alibaba.mpc4j.s2pc.pcg.BlockArray;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.AbstractCotSender;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotSenderOutput;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.stored.StoredCotPtoDesc.PtoStep;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotFactory;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.pre.PreCotSender;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * stored COT sender. If the requested Δ differs from the stored Δ, stored COTs are switched to the requested Δ: for the
+ * COT at position j with (r_0, r_1 = r_0 ⊕ Δ'), the sender outputs r_0^* = H(j, r_0) and sends the correction
+ * H(j, r_0) ⊕ H(j, r_1) ⊕ Δ, and the receiver outputs H(j, r_b) ⊕ b · correction. This costs one block per COT.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/17
+ */
+public class StoredCotSender extends AbstractCotSender {
+    /**
+     * precompute COT sender
+     */
+    private final PreCotSender preCotSender;
+    /**
+     * store directory
+     */
+    private final String directory;
+    /**
+     * session ID
+     */
+    private final String sessionId;
+    /**
+     * tweakable correlation robust hash function
+     */
+    private final Tcrhf tcrhf;
+    /**
+     * COT store
+     */
+    private CotStore cotStore;
+    /**
+     * stored Δ
+     */
+    private byte[] storedDelta;
+    /**
+     * whether stored COTs are switched to the requested Δ
+     */
+    private boolean switchDelta;
+
+    public StoredCotSender(Rpc senderRpc, Party receiverParty, StoredCotConfig config) {
+        super(StoredCotPtoDesc.getInstance(), senderRpc, receiverParty, config);
+        preCotSender = PreCotFactory.createSender(senderRpc, receiverParty, config.getPreCotConfig());
+        addSubPto(preCotSender);
+        directory = config.getDirectory();
+        sessionId = config.getSessionId();
+        tcrhf = TcrhfFactory.createInstance(envType, TcrhfFactory.TcrhfType.TMMO);
+    }
+
+    @Override
+    public void init(byte[] delta, int expectNum) throws MpcAbortException {
+        setInitInput(delta, expectNum);
+        logPhaseInfo(PtoState.INIT_BEGIN);
+
+        stopWatch.start();
+        cotStore = CotStore.open(directory, sessionId, CotStore.Role.SENDER);
+        storedDelta = cotStore.getDelta();
+        switchDelta = !BytesUtils.equals(storedDelta, delta);
+        // exchange offsets, both parties truncate to the smaller num and skip to the larger offset.
+        // The sender also tells whether to switch Δ
+        List<byte[]> senderOffsetPayload = Arrays.asList(
+            LongUtils.longToByteArray(cotStore.getOffset()), LongUtils.longToByteArray(cotStore.getNum()),
+            new byte[]{(byte) (switchDelta ? 1 : 0)}
+        );
+        sendOtherPartyPayload(PtoStep.SENDER_SEND_OFFSET.ordinal(), senderOffsetPayload);
+        List<byte[]> receiverOffsetPayload = receiveOtherPartyPayload(PtoStep.RECEIVER_SEND_OFFSET.ordinal());
+        MpcAbortPreconditions.checkArgument(receiverOffsetPayload.size() == 2);
+        long receiverOffset = LongUtils.byteArrayToLong(receiverOffsetPayload.get(0));
+        long receiverNum = LongUtils.byteArrayToLong(receiverOffsetPayload.get(1));
+        MpcAbortPreconditions.checkArgument(receiverOffset >= 0 && receiverOffset <= receiverNum);
+        // the numbers mismatch if an append of one party is torn, COTs that only one party has are dropped
+        cotStore.truncate(Math.min(receiverNum, cotStore.getNum()));
+        cotStore.skipTo(Math.min(receiverOffset, cotStore.getNum()));
+        preCotSender.init();
+        stopWatch.stop();
+        long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.INIT_STEP, 1, 1, initTime);
+
+        logPhaseInfo(PtoState.INIT_END);
+    }
+
+    @Override
+    public void init(byte[] delta) throws MpcAbortException {
+        init(delta, config.defaultRoundNum());
+    }
+
+    @Override
+    public CotSenderOutput send(int num) throws MpcAbortException {
+        setPtoInput(num);
+        logPhaseInfo(PtoState.PTO_BEGIN);
+
+        stopWatch.start();
+        long position = cotStore.getOffset();
+        CotSenderOutput senderOutput = cotStore.takeSender(num);
+        stopWatch.stop();
+        long readTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 1, 3, readTime);
+
+        stopWatch.start();
+        senderOutput = switchDelta(position, senderOutput);
+        stopWatch.stop();
+        long switchTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 2, 3, switchTime);
+
+        stopWatch.start();
+        // correct choices using precompute COT
+        senderOutput = preCotSender.send(senderOutput);
+        stopWatch.stop();
+        long preCotTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 3, 3, preCotTime);
+
+        logPhaseInfo(PtoState.PTO_END);
+        return senderOutput;
+    }
+
+    @Override
+    public CotSenderOutput sendRandom(int num) throws MpcAbortException {
+        setPtoInput(num);
+        logPhaseInfo(PtoState.PTO_BEGIN);
+
+        stopWatch.start();
+        long position = cotStore.getOffset();
+        CotSenderOutput senderOutput = cotStore.takeSender(num);
+        stopWatch.stop();
+        long readTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 1, 2, readTime);
+
+        stopWatch.start();
+        senderOutput = switchDelta(position, senderOutput);
+        stopWatch.stop();
+        long switchTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 2, 2, switchTime);
+
+        logPhaseInfo(PtoState.PTO_END);
+        return senderOutput;
+    }
+
+    private CotSenderOutput switchDelta(long position, CotSenderOutput storedOutput) {
+        if (!switchDelta) {
+            return storedOutput;
+        }
+        int num = storedOutput.getNum();
+        BlockArray storedR0Array = storedOutput.getR0BlockArray();
+        byte[][] r0Array = new byte[num][];
+        byte[][] corrections = new byte[num][];
+        IntStream indexIntStream = IntStream.range(0, num);
+        indexIntStream = parallel ? indexIntStream.parallel() : indexIntStream;
+        indexIntStream.forEach(index -> {
+            // the position is the tweak, each stored COT is used only once
+            int leftTweak = (int) ((position + index) >>> Integer.SIZE);
+            int rightTweak = (int) (position + index);
+            byte[] storedR0 = storedR0Array.get(index);
+            byte[] storedR1 = BytesUtils.xor(storedR0, storedDelta);
+            r0Array[index] = tcrhf.hash(leftTweak, rightTweak, storedR0);
+            corrections[index] = tcrhf.hash(leftTweak, rightTweak, storedR1);
+            BytesUtils.xori(corrections[index], r0Array[index]);
+            BytesUtils.xori(corrections[index], delta);
+        });
+        sendOtherPartyPayload(PtoStep.SENDER_SEND_CORRECTION.ordinal(), Arrays.asList(corrections));
+        return CotSenderOutput.create(delta, r0Array);
+    }
+
+    /**
+     * Gets the number of remaining COTs in the store.
+     *
+     * @return the number of remaining COTs.
+     */
+    public long getRemainNum() {
+        return cotStore == null ? 0 : cotStore.getRemainNum();
+    }
+}
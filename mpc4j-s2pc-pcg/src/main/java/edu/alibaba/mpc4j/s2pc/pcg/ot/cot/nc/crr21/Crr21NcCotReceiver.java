@@ -1,5 +1,6 @@
 package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.nc.crr21;
 
+import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
 
 import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
@@ -107,8 +108,9 @@ public class Crr21NcCotReceiver extends AbstractNcCotReceiver {
         byte[][] initZ = rMspCotReceiverOutput.getRbArray();
         byte[][] extendZ = silverCoder.dualEncode(initZ);
         // 更新输出。
-        CotReceiverOutput receiverOutput = CotReceiverOutput.create(extendB, extendZ);
-        receiverOutput.reduce(num);
+        CotReceiverOutput receiverOutput = CotReceiverOutput.create(
+            Arrays.copyOf(extendB, num), Arrays.copyOf(extendZ, num)
+        );
         stopWatch.stop();
         long extendTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -1,5 +1,6 @@
 package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.nc.crr21;
 
+import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
 
 import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
@@ -101,8 +102,7 @@ public class Crr21NcCotSender extends AbstractNcCotSender {
         // y = v * G^T。
         byte[][] y = silverCoder.dualEncode(sMspCotSenderOutput.getR0Array());
         // 更新输出。
-        CotSenderOutput senderOutput = CotSenderOutput.create(delta, y);
-        senderOutput.reduce(num);
+        CotSenderOutput senderOutput = CotSenderOutput.create(delta, Arrays.copyOf(y, num));
         stopWatch.stop();
         long extendTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -13,6 +13,7 @@ import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.sp.msp.MspCotFactory;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.sp.msp.MspCotReceiver;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.sp.msp.MspCotReceiverOutput;
 
+import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -97,8 +98,9 @@ public class Rrt23NcCotReceiver extends AbstractNcCotReceiver {
         boolean[] extendB = exCoder.dualEncode(initB);
         byte[][] initZ = rMspCotReceiverOutput.getRbArray();
         byte[][] extendZ = exCoder.dualEncode(initZ);
-        CotReceiverOutput receiverOutput = CotReceiverOutput.create(extendB, extendZ);
-        receiverOutput.reduce(num);
+        CotReceiverOutput receiverOutput = CotReceiverOutput.create(
+            Arrays.copyOf(extendB, num), Arrays.copyOf(extendZ, num)
+        );
         stopWatch.stop();
         long extendTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
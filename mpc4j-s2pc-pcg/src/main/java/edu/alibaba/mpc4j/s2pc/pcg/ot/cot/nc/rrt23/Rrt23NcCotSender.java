@@ -13,6 +13,7 @@ import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.sp.msp.MspCotFactory;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.sp.msp.MspCotSender;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.sp.msp.MspCotSenderOutput;
 
+import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -90,8 +91,7 @@ public class Rrt23NcCotSender extends AbstractNcCotSender {
 
         stopWatch.start();
         byte[][] y = exCoder.dualEncode(sMspCotSenderOutput.getR0Array());
-        CotSenderOutput senderOutput = CotSenderOutput.create(delta, y);
-        senderOutput.reduce(num);
+        CotSenderOutput senderOutput = CotSenderOutput.create(delta, Arrays.copyOf(y, num));
         stopWatch.stop();
         long extendTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -58,9 +58,13 @@ public class Ywl20NcCotReceiver extends AbstractNcCotReceiver {
      */
     private int iterationT;
     /**
-     * COT receiver output used in iteration
+     * choices used in iteration
      */
-    private CotReceiverOutput wCotReceiverOutput;
+    private boolean[] wChoices;
+    /**
+     * Rb array used in iteration, kept unpacked so that it is directly encoded in the next iteration
+     */
+    private byte[][] wRbArray;
     /**
      * COT num used in MSP-COT
      */
@@ -152,8 +156,11 @@ public class Ywl20NcCotReceiver extends AbstractNcCotReceiver {
         IntStream.range(0, initN).forEach(index ->
             BytesUtils.xori(initZ[index], rInitMspCotReceiverOutput.getRb(index))
         );
-        rCotReceiverOutput = CotReceiverOutput.create(initX, initZ);
-        wCotReceiverOutput = rCotReceiverOutput.split(iterationK);
+        wChoices = Arrays.copyOfRange(initX, initN - iterationK, initN);
+        wRbArray = Arrays.copyOfRange(initZ, initN - iterationK, initN);
+        rCotReceiverOutput = CotReceiverOutput.create(
+            Arrays.copyOf(initX, initN - iterationK), Arrays.copyOf(initZ, initN - iterationK)
+        );
         rCotPreNum = MspCotFactory.getPrecomputeNum(mspCotConfig, iterationT, iterationN);
         rCotReceiverOutput.reduce(rCotPreNum);
         stopWatch.stop();
@@ -179,15 +186,18 @@ public class Ywl20NcCotReceiver extends AbstractNcCotReceiver {
 
         stopWatch.start();
         // x = u * A + e, z = w * A + r
-        boolean[] x = matrixA.encode(wCotReceiverOutput.getChoices());
-        byte[][] z = matrixA.encode(wCotReceiverOutput.getRbArray());
+        boolean[] x = matrixA.encode(wChoices);
+        byte[][] z = matrixA.encode(wRbArray);
         for (int eIndex : rMspCotReceiverOutput.getAlphaArray()) {
             x[eIndex] = !x[eIndex];
         }
         IntStream.range(0, iterationN).forEach(index -> BytesUtils.xori(z[index], rMspCotReceiverOutput.getRb(index)));
         // split COT output into k0 + MSP-COT + output
-        CotReceiverOutput receiverOutput = CotReceiverOutput.create(x, z);
-        wCotReceiverOutput = receiverOutput.split(iterationK);
+        wChoices = Arrays.copyOfRange(x, iterationN - iterationK, iterationN);
+        wRbArray = Arrays.copyOfRange(z, iterationN - iterationK, iterationN);
+        CotReceiverOutput receiverOutput = CotReceiverOutput.create(
+            Arrays.copyOf(x, iterationN - iterationK), Arrays.copyOf(z, iterationN - iterationK)
+        );
         rCotReceiverOutput = receiverOutput.split(rCotPreNum);
         receiverOutput.reduce(num);
         stopWatch.stop();
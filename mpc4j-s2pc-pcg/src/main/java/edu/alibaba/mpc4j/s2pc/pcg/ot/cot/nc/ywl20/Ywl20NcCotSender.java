@@ -1,5 +1,6 @@
 package edu.alibaba.mpc4j.s2pc.pcg.ot.cot.nc.ywl20;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
@@ -51,9 +52,9 @@ public class Ywl20NcCotSender extends AbstractNcCotSender {
      */
     private int iterationT;
     /**
-     * COT sender output used in iteration
+     * R0 array used in iteration, kept unpacked so that it is directly encoded in the next iteration
      */
-    private CotSenderOutput vCotSenderOutput;
+    private byte[][] vR0Array;
     /**
      * COT num used in MSP-COT
      */
@@ -139,8 +140,8 @@ public class Ywl20NcCotSender extends AbstractNcCotSender {
         IntStream.range(0, initN).forEach(index ->
             BytesUtils.xori(initY[index], sInitMspCotSenderOutput.getR0(index))
         );
-        sCotSenderOutput = CotSenderOutput.create(delta, initY);
-        vCotSenderOutput = sCotSenderOutput.split(iterationK);
+        vR0Array = Arrays.copyOfRange(initY, initN - iterationK, initN);
+        sCotSenderOutput = CotSenderOutput.create(delta, Arrays.copyOf(initY, initN - iterationK));
         sCotPreNum = MspCotFactory.getPrecomputeNum(mspCotConfig, iterationT, iterationN);
         sCotSenderOutput.reduce(sCotPreNum);
         stopWatch.stop();
@@ -166,13 +167,13 @@ public class Ywl20NcCotSender extends AbstractNcCotSender {
 
         stopWatch.start();
         // y = v * A + s
-        byte[][] y = matrixA.encode(vCotSenderOutput.getR0Array());
+        byte[][] y = matrixA.encode(vR0Array);
         IntStream.range(0, iterationN).forEach(index ->
             BytesUtils.xori(y[index], sMspCotSenderOutput.getR0(index))
         );
         // split COT output into k0 + MSP-COT + output
-        CotSenderOutput senderOutput = CotSenderOutput.create(delta, y);
-        vCotSenderOutput = senderOutput.split(iterationK);
+        vR0Array = Arrays.copyOfRange(y, iterationN - iterationK, iterationN);
+        CotSenderOutput senderOutput = CotSenderOutput.create(delta, Arrays.copyOf(y, iterationN - iterationK));
         sCotSenderOutput = senderOutput.split(sCotPreNum);
         senderOutput.reduce(num);
         stopWatch.stop();
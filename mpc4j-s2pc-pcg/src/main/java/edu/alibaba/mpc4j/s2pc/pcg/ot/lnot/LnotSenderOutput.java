@@ -1,19 +1,18 @@
 package edu.alibaba.mpc4j.s2pc.pcg.ot.lnot;
 
-import edu.alibaba.mpc4j.common.tool.CommonConstants;
 import edu.alibaba.mpc4j.common.tool.MathPreconditions;
-import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 import edu.alibaba.mpc4j.common.tool.utils.IntUtils;
+import edu.alibaba.mpc4j.s2pc.pcg.BlockArray;
 import edu.alibaba.mpc4j.s2pc.pcg.MergedPcgPartyOutput;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 import java.security.SecureRandom;
 import java.util.Arrays;
-import java.util.stream.IntStream;
 
 /**
- * 1-out-of-n OT sender output, where n = 2^l. The sender gets r_0, r_1, ..., r_{n - 1}.
+ * 1-out-of-n OT sender output, where n = 2^l. The sender gets r_0, r_1, ..., r_{n - 1}. All rs are stored in a flat
+ * {@link BlockArray}, n blocks for each index, so that split and reduce are zero-copy.
  *
  * @author Weiran Liu
  * @date 2023/4/9
@@ -28,9 +27,9 @@ public class LnotSenderOutput implements MergedPcgPartyOutput {
      */
     private final int n;
     /**
-     * rs array
+     * rs array, n blocks for each index
      */
-    private byte[][][] rsArray;
+    private BlockArray rsArray;
 
     /**
      * Creates a sender output.
@@ -41,14 +40,11 @@ public class LnotSenderOutput implements MergedPcgPartyOutput {
      */
     public static LnotSenderOutput create(int l, byte[][][] rsArray) {
         LnotSenderOutput senderOutput = new LnotSenderOutput(l);
-        senderOutput.rsArray = Arrays.stream(rsArray)
-            .peek(rs -> {
-                MathPreconditions.checkEqual("n", "rs.length", senderOutput.n, rs.length);
-                Arrays.stream(rs).forEach(r ->
-                    MathPreconditions.checkEqual("r.length", "λ", r.length, CommonConstants.BLOCK_BYTE_LENGTH)
-                );
-            })
-            .toArray(byte[][][]::new);
+        byte[][] flatRsArray = Arrays.stream(rsArray)
+            .peek(rs -> MathPreconditions.checkEqual("n", "rs.length", senderOutput.n, rs.length))
+            .flatMap(Arrays::stream)
+            .toArray(byte[][]::new);
+        senderOutput.rsArray = BlockArray.create(flatRsArray);
 
         return senderOutput;
     }
@@ -61,7 +57,7 @@ public class LnotSenderOutput implements MergedPcgPartyOutput {
      */
     public static LnotSenderOutput createEmpty(int l) {
         LnotSenderOutput senderOutput = new LnotSenderOutput(l);
-        senderOutput.rsArray = new byte[0][][];
+        senderOutput.rsArray = BlockArray.createEmpty();
         return senderOutput;
     }
 
@@ -75,9 +71,8 @@ public class LnotSenderOutput implements MergedPcgPartyOutput {
      */
     public static LnotSenderOutput createRandom(int num, int l, SecureRandom secureRandom) {
         LnotSenderOutput senderOutput = new LnotSenderOutput(l);
-        senderOutput.rsArray = IntStream.range(0, num)
-            .mapToObj(i -> BytesUtils.randomByteArrayVector(senderOutput.n, CommonConstants.BLOCK_BYTE_LENGTH, secureRandom))
-            .toArray(byte[][][]::new);
+        MathPreconditions.checkNonNegative("num", num);
+        senderOutput.rsArray = BlockArray.createRandom(num * senderOutput.n, secureRandom);
         return senderOutput;
     }
 
@@ -93,7 +88,7 @@ public class LnotSenderOutput implements MergedPcgPartyOutput {
     @Override
     public LnotSenderOutput copy() {
         LnotSenderOutput copy = new LnotSenderOutput(l);
-        copy.rsArray = BytesUtils.clone(rsArray);
+        copy.rsArray = rsArray.copy();
         return copy;
     }
 
@@ -101,13 +96,12 @@ public class LnotSenderOutput implements MergedPcgPartyOutput {
     public LnotSenderOutput split(int splitNum) {
         int num = getNum();
         MathPreconditions.checkPositiveInRangeClosed("splitNum", splitNum, num);
-        byte[][][] rsSubArray = new byte[splitNum][][];
-        byte[][][] rsRemainArray = new byte[num - splitNum][][];
-        System.arraycopy(rsArray, num - splitNum, rsSubArray, 0, splitNum);
-        System.arraycopy(rsArray, 0, rsRemainArray, 0, num - splitNum);
-        rsArray = rsRemainArray;
+        // split rs array, zero-copy
+        LnotSenderOutput subSenderOutput = new LnotSenderOutput(l);
+        subSenderOutput.rsArray = rsArray.tail(splitNum * n);
+        rsArray = rsArray.head((num - splitNum) * n);
 
-        return LnotSenderOutput.create(l, rsSubArray);
+        return subSenderOutput;
     }
 
     @Override
@@ -116,9 +110,7 @@ public class LnotSenderOutput implements MergedPcgPartyOutput {
         MathPreconditions.checkPositiveInRangeClosed("reduceNum", reduceNum, num);
         if (reduceNum < num) {
             // we need to reduce only if reduceNum is less than the current num.
-            byte[][][] rsRemainArray = new byte[reduceNum][][];
-            System.arraycopy(rsArray, 0, rsRemainArray, 0, reduceNum);
-            rsArray = rsRemainArray;
+            rsArray = rsArray.head(reduceNum * n);
         }
     }
 
@@ -126,15 +118,12 @@ public class LnotSenderOutput implements MergedPcgPartyOutput {
     public void merge(MergedPcgPartyOutput other) {
         LnotSenderOutput that = (LnotSenderOutput) other;
         MathPreconditions.checkEqual("this.l", "that.l", this.l, that.l);
-        byte[][][] mergeRsArray = new byte[this.rsArray.length + that.rsArray.length][][];
-        System.arraycopy(this.rsArray, 0, mergeRsArray, 0, this.rsArray.length);
-        System.arraycopy(that.rsArray, 0, mergeRsArray, this.rsArray.length, that.rsArray.length);
-        rsArray = mergeRsArray;
+        rsArray = rsArray.concat(that.rsArray);
     }
 
     @Override
     public int getNum() {
-        return rsArray.length;
+        return rsArray.getNum() / n;
     }
 
     /**
@@ -145,7 +134,7 @@ public class LnotSenderOutput implements MergedPcgPartyOutput {
      * @return Rb.
      */
     public byte[] getRb(int index, int choice) {
-        return rsArray[index][choice];
+        return rsArray.get(index * n + choice);
     }
 
     /**
@@ -155,7 +144,20 @@ public class LnotSenderOutput implements MergedPcgPartyOutput {
      * @return rs.
      */
     public byte[][] getRs(int index) {
-        return rsArray[index];
+        byte[][] rs = new byte[n][];
+        for (int choice = 0; choice < n; choice++) {
+            rs[choice] = rsArray.get(index * n + choice);
+        }
+        return rs;
+    }
+
+    /**
+     * Gets the flat rs array for bulk access, n blocks for each index. The returned block array must not be modified.
+     *
+     * @return the flat rs array.
+     */
+    public BlockArray getRsBlockArray() {
+        return rsArray;
     }
 
     /**
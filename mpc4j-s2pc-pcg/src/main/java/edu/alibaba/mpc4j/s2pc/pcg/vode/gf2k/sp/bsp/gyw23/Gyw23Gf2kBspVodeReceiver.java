@@ -300,11 +300,13 @@ public class Gyw23Gf2kBspVodeReceiver extends AbstractGf2kBspVodeReceiver {
                 byte[] mu = BytesUtils.randomByteArray(CommonConstants.BLOCK_BYTE_LENGTH, secureRandom);
                 collection[0] = mu;
                 // c_n^b := H(µ ⊕ K[r_n] ⊕ b · ∆)) + K_n^b for b ∈ {0, 1}
-                byte[] cn0 = BytesUtils.xor(mu, cotSenderOutput.getR0(cotOffset));
+                byte[] cn0 = cotSenderOutput.getR0(cotOffset);
+                BytesUtils.xori(cn0, mu);
                 cn0 = hash.hash(cn0);
                 field.addi(cn0, kn0Array[batchIndex]);
                 collection[1] = cn0;
-                byte[] cn1 = BytesUtils.xor(mu, cotSenderOutput.getR1(cotOffset));
+                byte[] cn1 = cotSenderOutput.getR1(cotOffset);
+                BytesUtils.xori(cn1, mu);
                 cn1 = hash.hash(cn1);
                 field.addi(cn1, kn1Array[batchIndex]);
                 collection[2] = cn1;
@@ -332,17 +334,20 @@ public class Gyw23Gf2kBspVodeReceiver extends AbstractGf2kBspVodeReceiver {
                 byte[][] correlations = new byte[h + 3][];
                 // c_1 := K[r1] ⊕ k, c_i := K[r_i] ⊕ K_i^0 for i ∈ [2, n − 1]
                 for (int i = 0; i < h - 1; i++) {
-                    byte[] ci = BytesUtils.xor(knsArray[batchIndex][i], cotSenderOutput.getR0(cotOffset + i));
+                    byte[] ci = cotSenderOutput.getR0(cotOffset + i);
+                    BytesUtils.xori(ci, knsArray[batchIndex][i]);
                     correlations[i] = ci;
                 }
                 byte[] mu = BytesUtils.randomByteArray(CommonConstants.BLOCK_BYTE_LENGTH, secureRandom);
                 correlations[h - 1] = mu;
                 // c_n^b := H(µ ⊕ K[r_n] ⊕ b · ∆)) + K_n^b for b ∈ {0, 1}
-                byte[] cn0 = BytesUtils.xor(cotSenderOutput.getR0(cotOffset + h - 1), mu);
+                byte[] cn0 = cotSenderOutput.getR0(cotOffset + h - 1);
+                BytesUtils.xori(cn0, mu);
                 cn0 = hash.hash(cn0);
                 field.addi(cn0, kn0Array[batchIndex]);
                 correlations[h] = cn0;
-                byte[] cn1 = BytesUtils.xor(cotSenderOutput.getR0(cotOffset + h - 1), mu);
+                byte[] cn1 = cotSenderOutput.getR0(cotOffset + h - 1);
+                BytesUtils.xori(cn1, mu);
                 BytesUtils.xori(cn1, delta);
                 cn1 = hash.hash(cn1);
                 field.addi(cn1, kn1Array[batchIndex]);
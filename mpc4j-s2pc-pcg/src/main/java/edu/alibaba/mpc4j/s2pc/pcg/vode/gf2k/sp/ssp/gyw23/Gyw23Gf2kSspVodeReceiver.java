@@ -267,11 +267,13 @@ public class Gyw23Gf2kSspVodeReceiver extends AbstractGf2kSspVodeReceiver {
         byte[] mu = BytesUtils.randomByteArray(CommonConstants.BLOCK_BYTE_LENGTH, secureRandom);
         correlation[0] = mu;
         // c_n^b := H(µ ⊕ K[r_n] ⊕ b · ∆)) + K_n^b for b ∈ {0, 1}
-        byte[] cn0 = BytesUtils.xor(mu, cotSenderOutput.getR0(0));
+        byte[] cn0 = cotSenderOutput.getR0(0);
+        BytesUtils.xori(cn0, mu);
         cn0 = hash.hash(cn0);
         field.addi(cn0, kn0);
         correlation[1] = cn0;
-        byte[] cn1 = BytesUtils.xor(mu, cotSenderOutput.getR1(0));
+        byte[] cn1 = cotSenderOutput.getR1(0);
+        BytesUtils.xori(cn1, mu);
         cn1 = hash.hash(cn1);
         field.addi(cn1, kn1);
         correlation[2] = cn1;
@@ -290,17 +292,20 @@ public class Gyw23Gf2kSspVodeReceiver extends AbstractGf2kSspVodeReceiver {
         byte[][] correlation = new byte[h + 3][];
         // c_1 := K[r1] ⊕ k, c_i := K[r_i] ⊕ K_i^0 for i ∈ [2, n − 1]
         for (int i = 0; i < h - 1; i++) {
-            byte[] ci = BytesUtils.xor(kns[i], cotSenderOutput.getR0(i));
+            byte[] ci = cotSenderOutput.getR0(i);
+            BytesUtils.xori(ci, kns[i]);
             correlation[i] = ci;
         }
         byte[] mu = BytesUtils.randomByteArray(CommonConstants.BLOCK_BYTE_LENGTH, secureRandom);
         correlation[h - 1] = mu;
         // c_n^b := H(µ ⊕ K[r_n] ⊕ b · ∆)) + K_n^b for b ∈ {0, 1}
-        byte[] cn0 = BytesUtils.xor(cotSenderOutput.getR0(h - 1), mu);
+        byte[] cn0 = cotSenderOutput.getR0(h - 1);
+        BytesUtils.xori(cn0, mu);
         cn0 = hash.hash(cn0);
         field.addi(cn0, kn0);
         correlation[h] = cn0;
-        byte[] cn1 = BytesUtils.xor(cotSenderOutput.getR0(h - 1), mu);
+        byte[] cn1 = cotSenderOutput.getR0(h - 1);
+        BytesUtils.xori(cn1, mu);
         BytesUtils.xori(cn1, delta);
         cn1 = hash.hash(cn1);
         field.addi(cn1, kn1);
@@ -231,7 +231,9 @@ public class Gyw23Gf2kSspVodeSender extends AbstractGf2kSspVodeSender {
         ggmTree.add(new byte[0][]);
         byte[][] lastLevel = new byte[1 << h][];
         byte[] kn = notBinaryAlpha[h - 1] ? cn1 : cn0;
-        field.subi(kn, hash.hash(BytesUtils.xor(mu, cotReceiverOutput.getRb(h - 1))));
+        byte[] muRn = BytesUtils.clone(mu);
+        cotReceiverOutput.getRbBlockArray().xori(h - 1, muRn);
+        field.subi(kn, hash.hash(muRn));
         int alphaStar = notBinaryAlpha[h - 1] ? 1 : 0;
         lastLevel[alphaStar] = kn;
         lastLevel[alpha] = field.createZero();
@@ -259,11 +261,13 @@ public class Gyw23Gf2kSspVodeSender extends AbstractGf2kSspVodeSender {
         byte[][] kbs = new byte[h - 1][];
         System.arraycopy(cns, 0, kbs, 0, h - 1);
         for (int i = 0; i < h - 1; i++) {
-            BytesUtils.xori(kbs[i], cotReceiverOutput.getRb(i));
+            cotReceiverOutput.getRbBlockArray().xori(i, kbs[i]);
         }
         // K_n^{!α_n} = c_n^{r_n} - H(µ ⊕ M[r_n])
         byte[] kn = notBinaryAlpha[h - 1] ? cn1 : cn0;
-        field.subi(kn, hash.hash(BytesUtils.xor(mu, cotReceiverOutput.getRb(h - 1))));
+        byte[] muRn = BytesUtils.clone(mu);
+        cotReceiverOutput.getRbBlockArray().xori(h - 1, muRn);
+        field.subi(kn, hash.hash(muRn));
         // create ggm three
         ggmTree = new ArrayList<>(h + 1);
         // place the level-0 key with an empty key
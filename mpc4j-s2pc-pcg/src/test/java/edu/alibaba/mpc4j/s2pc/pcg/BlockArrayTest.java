@@ -0,0 +1,105 @@
+package edu.alibaba.mpc4j.s2pc.pcg;
+
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.security.SecureRandom;
+import java.util.stream.IntStream;
+
+/**
+ * block array tests.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/12
+ */
+public class BlockArrayTest {
+    /**
+     * num
+     */
+    private static final int NUM = 64;
+    /**
+     * the random state
+     */
+    private final SecureRandom secureRandom;
+
+    public BlockArrayTest() {
+        secureRandom = new SecureRandom();
+    }
+
+    @Test
+    public void testIllegalInputs() {
+        // create with short block
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            byte[][] blocks = BytesUtils.randomByteArrayVector(NUM, CommonConstants.BLOCK_BYTE_LENGTH - 1, secureRandom);
+            BlockArray.create(blocks);
+        });
+        // create with long block
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            byte[][] blocks = BytesUtils.randomByteArrayVector(NUM, CommonConstants.BLOCK_BYTE_LENGTH + 1, secureRandom);
+            BlockArray.create(blocks);
+        });
+        // wrap with odd long length
+        Assert.assertThrows(IllegalArgumentException.class, () -> BlockArray.wrap(new long[3]));
+        // head / tail with large length
+        BlockArray blockArray = BlockArray.createRandom(NUM, secureRandom);
+        Assert.assertThrows(IllegalArgumentException.class, () -> blockArray.head(NUM + 1));
+        Assert.assertThrows(IllegalArgumentException.class, () -> blockArray.tail(NUM + 1));
+    }
+
+    @Test
+    public void testCreate() {
+        byte[][] blocks = BytesUtils.randomByteArrayVector(NUM, CommonConstants.BLOCK_BYTE_LENGTH, secureRandom);
+        BlockArray blockArray = BlockArray.create(blocks);
+        Assert.assertEquals(NUM, blockArray.getNum());
+        Assert.assertArrayEquals(blocks, blockArray.toByteArrays());
+        byte[] contiguous = blockArray.toByteArray(0, NUM);
+        IntStream.range(0, NUM).forEach(index -> {
+            Assert.assertArrayEquals(blocks[index], blockArray.get(index));
+            byte[] block = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+            System.arraycopy(contiguous, index * CommonConstants.BLOCK_BYTE_LENGTH, block, 0, block.length);
+            Assert.assertArrayEquals(blocks[index], block);
+        });
+        Assert.assertEquals(BlockArray.create(blocks), blockArray);
+        Assert.assertEquals(BlockArray.create(blocks).hashCode(), blockArray.hashCode());
+        Assert.assertEquals(0, BlockArray.createEmpty().getNum());
+    }
+
+    @Test
+    public void testXori() {
+        byte[][] blocks = BytesUtils.randomByteArrayVector(NUM, CommonConstants.BLOCK_BYTE_LENGTH, secureRandom);
+        BlockArray blockArray = BlockArray.create(blocks);
+        byte[] expect = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        byte[] actual = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        for (int index = 0; index < NUM; index++) {
+            BytesUtils.xori(expect, blocks[index]);
+            blockArray.xori(index, actual);
+            Assert.assertArrayEquals(expect, actual);
+        }
+    }
+
+    @Test
+    public void testSplitMerge() {
+        byte[][] blocks = BytesUtils.randomByteArrayVector(NUM, CommonConstants.BLOCK_BYTE_LENGTH, secureRandom);
+        BlockArray blockArray = BlockArray.create(blocks);
+        for (int length = 0; length <= NUM; length++) {
+            BlockArray head = blockArray.head(NUM - length);
+            BlockArray tail = blockArray.tail(length);
+            Assert.assertEquals(NUM - length, head.getNum());
+            Assert.assertEquals(length, tail.getNum());
+            for (int index = 0; index < length; index++) {
+                Assert.assertArrayEquals(blocks[NUM - length + index], tail.get(index));
+            }
+            // adjacent views are merged without copy
+            Assert.assertEquals(blockArray, head.concat(tail));
+            // non-adjacent views are merged with copy
+            BlockArray swap = tail.concat(head);
+            for (int index = 0; index < NUM; index++) {
+                Assert.assertArrayEquals(blocks[(NUM - length + index) % NUM], swap.get(index));
+            }
+            // copy
+            Assert.assertEquals(tail, tail.copy());
+        }
+    }
+}
@@ -158,6 +158,24 @@ public class CotOutputTest {
         OtTestUtils.assertOutput(num, senderOutput, receiverOutput);
     }
 
+    @Test
+    public void testBlockBuffer() {
+        int num = MAX_NUM;
+        byte[] delta = BytesUtils.randomByteArray(CommonConstants.BLOCK_BYTE_LENGTH, secureRandom);
+        CotSenderOutput senderOutput = CotSenderOutput.createRandom(num, delta, secureRandom);
+        CotReceiverOutput receiverOutput = CotReceiverOutput.createRandom(senderOutput, secureRandom);
+        // reuse the same buffer for all indexes
+        byte[] block = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        for (int index = 0; index < num; index++) {
+            senderOutput.getR0(index, block);
+            Assert.assertArrayEquals(senderOutput.getR0(index), block);
+            senderOutput.getR1(index, block);
+            Assert.assertArrayEquals(senderOutput.getR1(index), block);
+            receiverOutput.getRb(index, block);
+            Assert.assertArrayEquals(receiverOutput.getRb(index), block);
+        }
+    }
+
     @Test
     public void testReduce() {
         for (int num = MIN_NUM; num < MAX_NUM; num++) {
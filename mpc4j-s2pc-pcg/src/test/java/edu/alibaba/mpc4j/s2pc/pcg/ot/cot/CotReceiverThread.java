@@ -2,6 +2,8 @@ package edu.alibaba.mpc4j.s2pc.pcg.ot.cot;
 
 import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
 
+import java.util.Arrays;
+
 /**
  * COT receiver thread.
  *
@@ -21,6 +23,10 @@ class CotReceiverThread extends Thread {
      * expect num
      */
     private final int expectNum;
+    /**
+     * number of requests that the choices are split into
+     */
+    private final int requestNum;
     /**
      * the receiver output
      */
@@ -31,9 +37,14 @@ class CotReceiverThread extends Thread {
     }
 
     CotReceiverThread(CotReceiver receiver, boolean[] choices, int expectNum) {
+        this(receiver, choices, expectNum, 1);
+    }
+
+    CotReceiverThread(CotReceiver receiver, boolean[] choices, int expectNum, int requestNum) {
         this.receiver = receiver;
         this.choices = choices;
         this.expectNum = expectNum;
+        this.requestNum = requestNum;
     }
 
     CotReceiverOutput getReceiverOutput() {
@@ -44,7 +55,12 @@ class CotReceiverThread extends Thread {
     public void run() {
         try {
             receiver.init(expectNum);
-            receiverOutput = receiver.receive(choices);
+            receiverOutput = CotReceiverOutput.createEmpty();
+            for (int requestIndex = 0; requestIndex < requestNum; requestIndex++) {
+                int from = (int) ((long) choices.length * requestIndex / requestNum);
+                int to = (int) ((long) choices.length * (requestIndex + 1) / requestNum);
+                receiverOutput.merge(receiver.receive(Arrays.copyOfRange(choices, from, to)));
+            }
         } catch (MpcAbortException e) {
             e.printStackTrace();
         }
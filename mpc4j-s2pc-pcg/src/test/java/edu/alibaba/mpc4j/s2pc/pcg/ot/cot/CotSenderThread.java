@@ -25,6 +25,10 @@ class CotSenderThread extends Thread {
      * expect num
      */
     private final int expectNum;
+    /**
+     * number of requests that the num is split into
+     */
+    private final int requestNum;
     /**
      * the sender output
      */
@@ -35,10 +39,15 @@ class CotSenderThread extends Thread {
     }
 
     CotSenderThread(CotSender sender, byte[] delta, int num, int expectNum) {
+        this(sender, delta, num, expectNum, 1);
+    }
+
+    CotSenderThread(CotSender sender, byte[] delta, int num, int expectNum, int requestNum) {
         this.sender = sender;
         this.delta = delta;
         this.num = num;
         this.expectNum = expectNum;
+        this.requestNum = requestNum;
     }
 
     CotSenderOutput getSenderOutput() {
@@ -49,7 +58,12 @@ class CotSenderThread extends Thread {
     public void run() {
         try {
             sender.init(delta, expectNum);
-            senderOutput = sender.send(num);
+            senderOutput = CotSenderOutput.createEmpty(delta);
+            for (int requestIndex = 0; requestIndex < requestNum; requestIndex++) {
+                int from = (int) ((long) num * requestIndex / requestNum);
+                int to = (int) ((long) num * (requestIndex + 1) / requestNum);
+                senderOutput.merge(sender.send(to - from));
+            }
         } catch (MpcAbortException e) {
             e.printStackTrace();
         }
@@ -7,6 +7,8 @@ import edu.alibaba.mpc4j.common.tool.utils.BinaryUtils;
 import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.OtTestUtils;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.silent.SilentCotConfig;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.silent.SilentCotReceiver;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.silent.SilentCotSender;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.direct.DirectCotConfig;
 import org.junit.Assert;
 import org.junit.Test;
@@ -55,6 +57,10 @@ public class CotTest extends AbstractTwoPartyMemoryRpcPto {
             CotFactory.CotType.SILENT.name() + " (" + SecurityModel.MALICIOUS + ")",
             new SilentCotConfig.Builder(SecurityModel.MALICIOUS).build(),
         });
+        configurations.add(new Object[] {
+            CotFactory.CotType.SILENT.name() + " (" + SecurityModel.SEMI_HONEST + ", pre-generate)",
+            new SilentCotConfig.Builder(SecurityModel.SEMI_HONEST).setWatermark(1 << 12).build(),
+        });
 
         return configurations;
     }
@@ -172,4 +178,48 @@ public class CotTest extends AbstractTwoPartyMemoryRpcPto {
             e.printStackTrace();
         }
     }
+
+    @Test
+    public void testConcurrentRequests() {
+        int num = DEFAULT_NUM * 8;
+        // each round generates DEFAULT_NUM COTs, so pre-generation rounds run concurrently with online requests
+        int requestNum = 16;
+        CotSender sender = CotFactory.createSender(firstRpc, secondRpc.ownParty(), config);
+        CotReceiver receiver = CotFactory.createReceiver(secondRpc, firstRpc.ownParty(), config);
+        int randomTaskId = Math.abs(SECURE_RANDOM.nextInt());
+        sender.setTaskId(randomTaskId);
+        receiver.setTaskId(randomTaskId);
+        try {
+            LOGGER.info("-----test {} (concurrent requests) start-----", sender.getPtoDesc().getPtoName());
+            byte[] delta = BytesUtils.randomByteArray(CommonConstants.BLOCK_BYTE_LENGTH, SECURE_RANDOM);
+            boolean[] choices = BinaryUtils.randomBinary(num, SECURE_RANDOM);
+            CotSenderThread senderThread = new CotSenderThread(sender, delta, num, DEFAULT_NUM, requestNum);
+            CotReceiverThread receiverThread = new CotReceiverThread(receiver, choices, DEFAULT_NUM, requestNum);
+            STOP_WATCH.start();
+            senderThread.start();
+            receiverThread.start();
+            senderThread.join();
+            receiverThread.join();
+            STOP_WATCH.stop();
+            long time = STOP_WATCH.getTime(TimeUnit.MILLISECONDS);
+            STOP_WATCH.reset();
+            CotSenderOutput senderOutput = senderThread.getSenderOutput();
+            CotReceiverOutput receiverOutput = receiverThread.getReceiverOutput();
+            OtTestUtils.assertOutput(num, senderOutput, receiverOutput);
+            Assert.assertArrayEquals(choices, receiverOutput.getChoices());
+            if (sender instanceof SilentCotSender) {
+                // both parties must run the same number of pre-generation rounds
+                long senderRoundNum = ((SilentCotSender) sender).getPreGenerateRoundNum();
+                long receiverRoundNum = ((SilentCotReceiver) receiver).getPreGenerateRoundNum();
+                Assert.assertEquals(senderRoundNum, receiverRoundNum);
+            }
+            printAndResetRpc(time);
+            // destroy
+            new Thread(sender::destroy).start();
+            new Thread(receiver::destroy).start();
+            LOGGER.info("-----test {} (concurrent requests) end-----", sender.getPtoDesc().getPtoName());
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+    }
 }
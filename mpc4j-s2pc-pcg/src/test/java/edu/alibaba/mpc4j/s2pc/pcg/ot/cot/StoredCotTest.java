@@ -0,0 +1,207 @@
+package edu.alibaba.mpc4j.s2pc.pcg.ot.cot;
+
+import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
+import edu.alibaba.mpc4j.common.rpc.pto.AbstractTwoPartyMemoryRpcPto;
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.utils.BinaryUtils;
+import edu.alibaba.mpc4j.common.tool.utils.BytesUtils;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.OtTestUtils;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.stored.CotStore;
+import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.impl.stored.StoredCotConfig;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * stored COT test.
+ *
+ * @author Weiran Liu
+ * @date 2024/7/17
+ */
+public class StoredCotTest extends AbstractTwoPartyMemoryRpcPto {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StoredCotTest.class);
+    /**
+     * default num
+     */
+    private static final int DEFAULT_NUM = 1000;
+    /**
+     * session ID
+     */
+    private static final String SESSION_ID = "test_session";
+    /**
+     * store directory
+     */
+    private File directory;
+    /**
+     * Δ
+     */
+    private byte[] delta;
+
+    public StoredCotTest() {
+        super(CotFactory.CotType.STORED.name());
+    }
+
+    @Before
+    @Override
+    public void connect() {
+        super.connect();
+        try {
+            directory = Files.createTempDirectory("stored_cot").toFile();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        delta = BytesUtils.randomByteArray(CommonConstants.BLOCK_BYTE_LENGTH, SECURE_RANDOM);
+    }
+
+    @After
+    @Override
+    public void disconnect() {
+        super.disconnect();
+        // the store directory is flat
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+            }
+        }
+        //noinspection ResultOfMethodCallIgnored
+        directory.delete();
+    }
+
+    private void fill(int num) {
+        // two appends, so that the store spans multiple offline batches
+        for (int round = 0; round < 2; round++) {
+            CotSenderOutput senderOutput = CotSenderOutput.createRandom(num / 2 + 1, delta, SECURE_RANDOM);
+            CotReceiverOutput receiverOutput = CotReceiverOutput.createRandom(senderOutput, SECURE_RANDOM);
+            CotStore.append(directory.getPath(), SESSION_ID, senderOutput);
+            CotStore.append(directory.getPath(), SESSION_ID, receiverOutput);
+        }
+    }
+
+    @Test
+    public void testStore() {
+        int num = DEFAULT_NUM;
+        fill(num);
+        CotStore senderStore = CotStore.open(directory.getPath(), SESSION_ID, CotStore.Role.SENDER);
+        CotStore receiverStore = CotStore.open(directory.getPath(), SESSION_ID, CotStore.Role.RECEIVER);
+        Assert.assertArrayEquals(delta, senderStore.getDelta());
+        Assert.assertEquals(senderStore.getNum(), receiverStore.getNum());
+        CotSenderOutput senderOutput = senderStore.takeSender(num);
+        CotReceiverOutput receiverOutput = receiverStore.takeReceiver(num);
+        OtTestUtils.assertOutput(num, senderOutput, receiverOutput);
+        // reopen, offsets are persisted
+        senderStore = CotStore.open(directory.getPath(), SESSION_ID, CotStore.Role.SENDER);
+        receiverStore = CotStore.open(directory.getPath(), SESSION_ID, CotStore.Role.RECEIVER);
+        Assert.assertEquals(num, senderStore.getOffset());
+        Assert.assertEquals(num, receiverStore.getOffset());
+        Assert.assertEquals(2, senderStore.getRemainNum());
+        OtTestUtils.assertOutput(2, senderStore.takeSender(2), receiverStore.takeReceiver(2));
+        Assert.assertEquals(0, receiverStore.getRemainNum());
+    }
+
+    @Test
+    public void testDefaultNum() {
+        testPto(DEFAULT_NUM, false);
+    }
+
+    @Test
+    public void testParallelDefaultNum() {
+        testPto(DEFAULT_NUM, true);
+    }
+
+    @Test
+    public void testLargeNum() {
+        testPto(1 << 18, false);
+    }
+
+    @Test
+    public void testSwitchDelta() {
+        // the sender requests a Δ other than the stored Δ
+        testPto(DEFAULT_NUM, false, BytesUtils.randomByteArray(CommonConstants.BLOCK_BYTE_LENGTH, SECURE_RANDOM));
+    }
+
+    @Test
+    public void testParallelSwitchDelta() {
+        testPto(DEFAULT_NUM, true, BytesUtils.randomByteArray(CommonConstants.BLOCK_BYTE_LENGTH, SECURE_RANDOM));
+    }
+
+    @Test
+    public void testMismatchOffset() {
+        int num = DEFAULT_NUM;
+        fill(num * 2);
+        // the receiver crashes after consuming COTs, the sender must skip the consumed COTs
+        CotStore.open(directory.getPath(), SESSION_ID, CotStore.Role.RECEIVER).takeReceiver(num / 2);
+        testPto(num, false);
+        CotStore senderStore = CotStore.open(directory.getPath(), SESSION_ID, CotStore.Role.SENDER);
+        Assert.assertEquals(num / 2 + num, senderStore.getOffset());
+    }
+
+    @Test
+    public void testTornAppend() {
+        int num = DEFAULT_NUM;
+        fill(num);
+        // the receiver crashes before appending, so that the sender has more COTs than the receiver
+        CotSenderOutput tornOutput = CotSenderOutput.createRandom(num, delta, SECURE_RANDOM);
+        CotStore.append(directory.getPath(), SESSION_ID, tornOutput);
+        testPto(num, false);
+        CotStore senderStore = CotStore.open(directory.getPath(), SESSION_ID, CotStore.Role.SENDER);
+        CotStore receiverStore = CotStore.open(directory.getPath(), SESSION_ID, CotStore.Role.RECEIVER);
+        Assert.assertEquals(receiverStore.getNum(), senderStore.getNum());
+        // the stores are aligned again after the truncation
+        fill(num);
+        testPto(num, false);
+    }
+
+    private void testPto(int num, boolean parallel) {
+        testPto(num, parallel, delta);
+    }
+
+    private void testPto(int num, boolean parallel, byte[] senderDelta) {
+        if (!new File(directory, SESSION_ID + "_" + CotStore.Role.SENDER.name() + ".cot").exists()) {
+            fill(num);
+        }
+        StoredCotConfig config = new StoredCotConfig.Builder(SecurityModel.SEMI_HONEST, directory.getPath(), SESSION_ID)
+            .build();
+        CotSender sender = CotFactory.createSender(firstRpc, secondRpc.ownParty(), config);
+        CotReceiver receiver = CotFactory.createReceiver(secondRpc, firstRpc.ownParty(), config);
+        sender.setParallel(parallel);
+        receiver.setParallel(parallel);
+        int randomTaskId = Math.abs(SECURE_RANDOM.nextInt());
+        sender.setTaskId(randomTaskId);
+        receiver.setTaskId(randomTaskId);
+        try {
+            LOGGER.info("-----test {} start-----", sender.getPtoDesc().getPtoName());
+            boolean[] choices = BinaryUtils.randomBinary(num, SECURE_RANDOM);
+            CotSenderThread senderThread = new CotSenderThread(sender, senderDelta, num);
+            CotReceiverThread receiverThread = new CotReceiverThread(receiver, choices);
+            STOP_WATCH.start();
+            senderThread.start();
+            receiverThread.start();
+            senderThread.join();
+            receiverThread.join();
+            STOP_WATCH.stop();
+            long time = STOP_WATCH.getTime(TimeUnit.MILLISECONDS);
+            STOP_WATCH.reset();
+            CotSenderOutput senderOutput = senderThread.getSenderOutput();
+            CotReceiverOutput receiverOutput = receiverThread.getReceiverOutput();
+            OtTestUtils.assertOutput(num, senderOutput, receiverOutput);
+            Assert.assertArrayEquals(senderDelta, senderOutput.getDelta());
+            Assert.assertArrayEquals(choices, receiverOutput.getChoices());
+            printAndResetRpc(time);
+            new Thread(sender::destroy).start();
+            new Thread(receiver::destroy).start();
+            LOGGER.info("-----test {} end-----", sender.getPtoDesc().getPtoName());
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package edu.alibaba.mpc4j.s2pc.pir.main;
 
+import edu.alibaba.mpc4j.common.rpc.main.AbstractMainTwoPartyPto;
 import edu.alibaba.mpc4j.common.rpc.main.MainPtoConfigUtils;
 import edu.alibaba.mpc4j.common.tool.utils.PropertiesUtils;
 import edu.alibaba.mpc4j.s2pc.pir.main.cppir.index.CpIdxPirMain;
@@ -27,16 +28,13 @@ public class PirMain {
         String ptoType = MainPtoConfigUtils.readPtoType(properties);
         switch (ptoType) {
             case CpIdxPirMain.PTO_TYPE_NAME:
-                CpIdxPirMain cpIdxPirMain = new CpIdxPirMain(properties, ownName);
-                cpIdxPirMain.runNetty();
+                AbstractMainTwoPartyPto.run(properties, ownName, CpIdxPirMain::new);
                 break;
             case SingleCpKsPirMain.PTO_NAME_KEY:
-                SingleCpKsPirMain singleCpKsPirMain = new SingleCpKsPirMain(properties, ownName);
-                singleCpKsPirMain.runNetty();
+                AbstractMainTwoPartyPto.run(properties, ownName, SingleCpKsPirMain::new);
                 break;
             case SingleKsPirMain.PTO_NAME_KEY:
-                SingleKsPirMain singleKwPirMain = new SingleKsPirMain(properties, ownName);
-                singleKwPirMain.runNetty();
+                AbstractMainTwoPartyPto.run(properties, ownName, SingleKsPirMain::new);
                 break;
             default:
                 throw new IllegalArgumentException("Invalid pto_type: " + ptoType);
@@ -81,7 +81,7 @@ public class SingleCpKsPirMain extends AbstractMainTwoPartyPto {
     public SingleCpKsPirMain(Properties properties, String ownName) {
         super(properties, ownName);
         // read common config
-        LOGGER.info("{} read common config", ownRpc.ownParty().getPartyName());
+        LOGGER.info("{} read common config", ownName);
         entryBitLength = PropertiesUtils.readInt(properties, "entry_bit_length");
         parallel = PropertiesUtils.readBoolean(properties, "parallel");
         int[] serverLogSetSizes = PropertiesUtils.readLogIntArray(properties, "server_log_set_size");
@@ -89,7 +89,7 @@ public class SingleCpKsPirMain extends AbstractMainTwoPartyPto {
         serverSetSizeNum = serverLogSetSizes.length;
         queryNum = PropertiesUtils.readInt(properties, "query_num");
         // read PTO config
-        LOGGER.info("{} read PTO config", ownRpc.ownParty().getPartyName());
+        LOGGER.info("{} read PTO config", ownName);
         config = SingleCpKsPirConfigUtils.createConfig(properties);
     }
 
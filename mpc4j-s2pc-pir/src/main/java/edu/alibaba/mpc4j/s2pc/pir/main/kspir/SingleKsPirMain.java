@@ -83,7 +83,7 @@ public class SingleKsPirMain extends AbstractMainTwoPartyPto {
     public SingleKsPirMain(Properties properties, String ownName) {
         super(properties, ownName);
         // read common config
-        LOGGER.info("{} read common config", ownRpc.ownParty().getPartyName());
+        LOGGER.info("{} read common config", ownName);
         entryBitLength = PropertiesUtils.readInt(properties, "entry_bit_length");
         parallel = PropertiesUtils.readBoolean(properties, "parallel");
         int[] serverLogSetSizes = PropertiesUtils.readLogIntArray(properties, "server_log_set_size");
@@ -91,7 +91,7 @@ public class SingleKsPirMain extends AbstractMainTwoPartyPto {
         serverSetSizeNum = serverLogSetSizes.length;
         queryNum = PropertiesUtils.readInt(properties, "query_num");
         // read PTO config
-        LOGGER.info("{} read PTO config", ownRpc.ownParty().getPartyName());
+        LOGGER.info("{} read PTO config", ownName);
         config = SingleKsPirConfigUtils.createConfig(properties);
     }
 
@@ -1,5 +1,6 @@
 package edu.alibaba.mpc4j.s2pc.pjc.main;
 
+import edu.alibaba.mpc4j.common.rpc.main.AbstractMainTwoPartyPto;
 import edu.alibaba.mpc4j.common.rpc.main.MainPtoConfigUtils;
 import edu.alibaba.mpc4j.common.tool.utils.PropertiesUtils;
 import edu.alibaba.mpc4j.s2pc.pjc.main.pid.PidMain;
@@ -26,12 +27,10 @@ public class PjcMain {
         String ptoType = MainPtoConfigUtils.readPtoType(properties);
         switch (ptoType) {
             case PidMain.PTO_TYPE_NAME:
-                PidMain pidMain = new PidMain(properties, ownName);
-                pidMain.runNetty();
+                AbstractMainTwoPartyPto.run(properties, ownName, PidMain::new);
                 break;
             case PmidMain.PTO_TYPE_NAME:
-                PmidMain pmidMain = new PmidMain(properties, ownName);
-                pmidMain.runNetty();
+                AbstractMainTwoPartyPto.run(properties, ownName, PmidMain::new);
                 break;
             default:
                 throw new IllegalArgumentException("Invalid " + MainPtoConfigUtils.PTO_TYPE_KEY + ": " + ptoType);
@@ -60,11 +60,11 @@ public class PidMain extends AbstractMainTwoPartyPto {
     public PidMain(Properties properties, String ownName) {
         super(properties, ownName);
         // read common config
-        LOGGER.info("{} read settings", ownRpc.ownParty().getPartyName());
+        LOGGER.info("{} read settings", ownName);
         int[] logSetSizes = PropertiesUtils.readLogIntArray(properties, "log_set_size");
         setSizes = Arrays.stream(logSetSizes).map(logSetSize -> 1 << logSetSize).toArray();
         // read PTO config
-        LOGGER.info("{} read PTO config", ownRpc.ownParty().getPartyName());
+        LOGGER.info("{} read PTO config", ownName);
         config = PidConfigUtils.createConfig(properties);
     }
 
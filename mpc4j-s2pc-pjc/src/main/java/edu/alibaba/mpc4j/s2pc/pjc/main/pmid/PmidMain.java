@@ -77,7 +77,7 @@ public class PmidMain extends AbstractMainTwoPartyPto {
     public PmidMain(Properties properties, String ownName) {
         super(properties, ownName);
         // read common config
-        LOGGER.info("{} read settings", ownRpc.ownParty().getPartyName());
+        LOGGER.info("{} read settings", ownName);
         int[] logNonSideSetSizes = PropertiesUtils.readLogIntArray(properties, "non_side_log_set_size");
         nonSideSetSizes = Arrays.stream(logNonSideSetSizes).map(logSetSize -> 1 << logSetSize).toArray();
         int[] logOneSideSetSizes = PropertiesUtils.readLogIntArray(properties, "one_side_log_set_size");
@@ -86,7 +86,7 @@ public class PmidMain extends AbstractMainTwoPartyPto {
         twoSideSetSizes = Arrays.stream(logTwoSideSetSizes).map(logSetSize -> 1 << logSetSize).toArray();
         maxU = PropertiesUtils.readInt(properties, "max_u");
         // read PTO config
-        LOGGER.info("{} read PTO config", ownRpc.ownParty().getPartyName());
+        LOGGER.info("{} read PTO config", ownName);
         config = PmidConfigUtils.createConfig(properties);
     }
 
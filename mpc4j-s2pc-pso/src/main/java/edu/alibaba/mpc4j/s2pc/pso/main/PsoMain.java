@@ -1,5 +1,6 @@
 package edu.alibaba.mpc4j.s2pc.pso.main;
 
+import edu.alibaba.mpc4j.common.rpc.main.AbstractMainTwoPartyPto;
 import edu.alibaba.mpc4j.common.rpc.main.MainPtoConfigUtils;
 import edu.alibaba.mpc4j.common.tool.utils.PropertiesUtils;
 import edu.alibaba.mpc4j.s2pc.pso.main.ccpsi.CcpsiMain;
@@ -29,24 +30,19 @@ public class PsoMain {
         String ptoType = MainPtoConfigUtils.readPtoType(properties);
         switch (ptoType) {
             case PsuBlackIpMain.PTO_TYPE_NAME:
-                PsuBlackIpMain psuBlackIpMain = new PsuBlackIpMain(properties, ownName);
-                psuBlackIpMain.runNetty();
+                AbstractMainTwoPartyPto.run(properties, ownName, PsuBlackIpMain::new);
                 break;
             case PsuMain.PTO_TYPE_NAME:
-                PsuMain psuMain = new PsuMain(properties, ownName);
-                psuMain.runNetty();
+                AbstractMainTwoPartyPto.run(properties, ownName, PsuMain::new);
                 break;
             case PsiMain.PTO_TYPE_NAME:
-                PsiMain psiMain = new PsiMain(properties, ownName);
-                psiMain.runNetty();
+                AbstractMainTwoPartyPto.run(properties, ownName, PsiMain::new);
                 break;
             case CcpsiMain.PTO_TYPE_NAME:
-                CcpsiMain ccpsiMain = new CcpsiMain(properties, ownName);
-                ccpsiMain.runNetty();
+                AbstractMainTwoPartyPto.run(properties, ownName, CcpsiMain::new);
                 break;
             case ScpsiMain.PTO_TYPE_NAME:
-                ScpsiMain scpsiMain = new ScpsiMain(properties, ownName);
-                scpsiMain.runNetty();
+                AbstractMainTwoPartyPto.run(properties, ownName, ScpsiMain::new);
                 break;
             default:
                 throw new IllegalArgumentException("Invalid " + MainPtoConfigUtils.PTO_TYPE_KEY + ": " + ptoType);
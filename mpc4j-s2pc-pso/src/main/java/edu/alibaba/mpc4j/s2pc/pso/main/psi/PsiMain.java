@@ -76,7 +76,7 @@ public class PsiMain extends AbstractMainTwoPartyPto {
     public PsiMain(Properties properties, String ownName) {
         super(properties, ownName);
         // read PTO config
-        LOGGER.info("{} read settings", ownRpc.ownParty().getPartyName());
+        LOGGER.info("{} read settings", ownName);
         elementByteLength = PropertiesUtils.readInt(properties, "element_byte_length");
         int[] serverLogSetSizes = PropertiesUtils.readLogIntArray(properties, "server_log_set_size");
         int[] clientLogSetSizes = PropertiesUtils.readLogIntArray(properties, "client_log_set_size");
@@ -89,7 +89,7 @@ public class PsiMain extends AbstractMainTwoPartyPto {
         serverSetSizes = Arrays.stream(serverLogSetSizes).map(logSetSize -> 1 << logSetSize).toArray();
         clientSetSizes = Arrays.stream(clientLogSetSizes).map(logSetSize -> 1 << logSetSize).toArray();
         // read PSI config
-        LOGGER.info("{} read PSI config", ownRpc.ownParty().getPartyName());
+        LOGGER.info("{} read PSI config", ownName);
         psiConfig = PsiConfigUtils.createConfig(properties);
     }
 
@@ -55,7 +55,7 @@ public class PsuBlackIpMain extends AbstractMainTwoPartyPto {
     public PsuBlackIpMain(Properties properties, String ownName) throws IOException {
         super(properties, ownName);
         // read common config
-        LOGGER.info("{} read PTO config", ownRpc.ownParty().getPartyName());
+        LOGGER.info("{} read PTO config", ownName);
         String serverInputPath = PropertiesUtils.readString(properties, "psu_black_ip_server_input");
         LOGGER.info("Read server input file from: {}", serverInputPath);
         serverElementSet = PsuBlackIpConfigUtils.readBlackIpSet(serverInputPath);
@@ -67,7 +67,7 @@ public class PsuBlackIpMain extends AbstractMainTwoPartyPto {
         clientSetSize = clientElementSet.size();
         LOGGER.info("Client contains {} IPs", clientSetSize);
         // read PTO config
-        LOGGER.info("{} read PSU config", ownRpc.ownParty().getPartyName());
+        LOGGER.info("{} read PSU config", ownName);
         psuConfig = PsuConfigUtils.createConfig(properties);
     }
 
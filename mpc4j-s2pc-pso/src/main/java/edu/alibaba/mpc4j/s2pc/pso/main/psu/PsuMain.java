@@ -80,7 +80,7 @@ public class PsuMain extends AbstractMainTwoPartyPto {
     public PsuMain(Properties properties, String ownName) {
         super(properties, ownName);
         // read common config
-        LOGGER.info("{} read common config", ownRpc.ownParty().getPartyName());
+        LOGGER.info("{} read common config", ownName);
         elementByteLength = PropertiesUtils.readInt(properties, "element_byte_length");
         int[] serverLogSetSizes = PropertiesUtils.readLogIntArray(properties, "server_log_set_size");
         int[] clientLogSetSizes = PropertiesUtils.readLogIntArray(properties, "client_log_set_size");
@@ -94,7 +94,7 @@ public class PsuMain extends AbstractMainTwoPartyPto {
         clientSetSizes = Arrays.stream(clientLogSetSizes).map(logSetSize -> 1 << logSetSize).toArray();
         parallel = PropertiesUtils.readBoolean(properties, "parallel", false);
         // read PSU config
-        LOGGER.info("{} read PSU config", ownRpc.ownParty().getPartyName());
+        LOGGER.info("{} read PSU config", ownName);
         psuConfig = PsuConfigUtils.createConfig(properties);
     }
 
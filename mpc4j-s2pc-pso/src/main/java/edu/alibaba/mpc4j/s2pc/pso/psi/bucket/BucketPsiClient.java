@@ -0,0 +1,170 @@
+package edu.alibaba.mpc4j.s2pc.pso.psi.bucket;
+
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.rpc.MpcAbortPreconditions;
+import edu.alibaba.mpc4j.common.rpc.Party;
+import edu.alibaba.mpc4j.common.rpc.PtoState;
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.rpc.pto.AbstractTwoPartyPto;
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
+import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
+import edu.alibaba.mpc4j.common.tool.utils.IntUtils;
+import edu.alibaba.mpc4j.s2pc.pso.psi.PsiClient;
+import edu.alibaba.mpc4j.s2pc.pso.psi.PsiFactory;
+import edu.alibaba.mpc4j.s2pc.pso.psi.bucket.BucketPsiPtoDesc.PtoStep;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Bucket PSI client. The client set is given as an iterator and is hash-partitioned into buckets on the disk. The
+ * intersection is streamed out bucket by bucket, so that the memory is bounded by the bucket size instead of the set
+ * size.
+ *
+ * @author Weiran Liu
+ * @date 2024/8/7
+ */
+public class BucketPsiClient extends AbstractTwoPartyPto {
+    /**
+     * PSI client
+     */
+    private final PsiClient<ByteBuffer> psiClient;
+    /**
+     * bucket num
+     */
+    private final int bucketNum;
+    /**
+     * directory of the bucket files
+     */
+    private Path directory;
+    /**
+     * max client bucket size
+     */
+    private int maxClientBucketSize;
+    /**
+     * max server bucket size
+     */
+    private int maxServerBucketSize;
+    /**
+     * bucket hash
+     */
+    private Prf bucketHash;
+
+    public BucketPsiClient(Rpc clientRpc, Party serverParty, BucketPsiConfig config) {
+        super(BucketPsiPtoDesc.getInstance(), clientRpc, serverParty, config);
+        psiClient = PsiFactory.createClient(clientRpc, serverParty, config.getPsiConfig());
+        addSubPto(psiClient);
+        bucketNum = config.getBucketNum();
+        directory = Paths.get(System.getProperty("java.io.tmpdir"));
+    }
+
+    /**
+     * Sets the directory of the bucket files. The default directory is the system temporary directory.
+     *
+     * @param directory directory of the bucket files.
+     */
+    public void setDirectory(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Inits the protocol.
+     *
+     * @param maxClientBucketSize max number of client elements in each bucket.
+     * @param maxServerBucketSize max number of server elements in each bucket.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    public void init(int maxClientBucketSize, int maxServerBucketSize) throws MpcAbortException {
+        MathPreconditions.checkPositive("maxClientBucketSize", maxClientBucketSize);
+        this.maxClientBucketSize = maxClientBucketSize;
+        MathPreconditions.checkPositive("maxServerBucketSize", maxServerBucketSize);
+        this.maxServerBucketSize = maxServerBucketSize;
+        initState();
+        logPhaseInfo(PtoState.INIT_BEGIN);
+
+        stopWatch.start();
+        List<byte[]> hashKeyPayload = receiveOtherPartyEqualSizePayload(
+            PtoStep.SERVER_SEND_HASH_KEY.ordinal(), 1, CommonConstants.BLOCK_BYTE_LENGTH
+        );
+        bucketHash = PrfFactory.createInstance(envType, Integer.BYTES);
+        bucketHash.setKey(hashKeyPayload.get(0));
+        psiClient.init(maxClientBucketSize, maxServerBucketSize);
+        stopWatch.stop();
+        long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.INIT_STEP, 1, 1, initTime);
+
+        logPhaseInfo(PtoState.INIT_END);
+    }
+
+    /**
+     * Executes the protocol. Duplicated elements are allowed and are removed bucket by bucket. Each element in the
+     * intersection is given to the consumer exactly once, as soon as its bucket is finished.
+     *
+     * @param clientElementIterator client elements.
+     * @param intersectionConsumer  consumer of the intersection elements.
+     * @return the intersection size.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    public long psi(Iterator<byte[]> clientElementIterator, Consumer<byte[]> intersectionConsumer)
+        throws MpcAbortException {
+        checkInitialized();
+        extraInfo++;
+        logPhaseInfo(PtoState.PTO_BEGIN);
+
+        stopWatch.start();
+        BucketStore store = BucketStore.create(directory, bucketNum, bucketHash, clientElementIterator);
+        stopWatch.stop();
+        long partitionTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 1, 2, partitionTime, "Client partitions elements into buckets");
+
+        stopWatch.start();
+        long intersectionSize = 0;
+        try (store) {
+            while (store.hasNextBucket()) {
+                Set<ByteBuffer> clientBucket = store.nextBucket();
+                extraInfo++;
+                // exchange bucket sizes before checking, so that both parties abort on the same bucket
+                List<byte[]> clientBucketSizePayload = Collections.singletonList(
+                    IntUtils.intToByteArray(clientBucket.size())
+                );
+                sendOtherPartyEqualSizePayload(PtoStep.CLIENT_SEND_BUCKET_SIZE.ordinal(), clientBucketSizePayload);
+                List<byte[]> serverBucketSizePayload = receiveOtherPartyEqualSizePayload(
+                    PtoStep.SERVER_SEND_BUCKET_SIZE.ordinal(), 1, Integer.BYTES
+                );
+                int serverBucketSize = IntUtils.byteArrayToInt(serverBucketSizePayload.get(0));
+                MpcAbortPreconditions.checkArgument(
+                    serverBucketSize >= 0 && serverBucketSize <= maxServerBucketSize,
+                    "server bucket size must be in range [0, %s]: %s", maxServerBucketSize, serverBucketSize
+                );
+                MathPreconditions.checkNonNegativeInRangeClosed(
+                    "clientBucketSize", clientBucket.size(), maxClientBucketSize
+                );
+                if (clientBucket.size() > 0 && serverBucketSize > 0) {
+                    Set<ByteBuffer> bucketIntersection = psiClient.psi(clientBucket, serverBucketSize);
+                    for (ByteBuffer element : bucketIntersection) {
+                        intersectionConsumer.accept(element.array());
+                    }
+                    intersectionSize += bucketIntersection.size();
+                }
+            }
+        }
+        stopWatch.stop();
+        long psiTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 2, 2, psiTime, "Client runs PSI bucket by bucket");
+
+        logPhaseInfo(PtoState.PTO_END);
+        return intersectionSize;
+    }
+}
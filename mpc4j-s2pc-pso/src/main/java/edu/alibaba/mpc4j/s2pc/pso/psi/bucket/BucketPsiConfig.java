@@ -0,0 +1,77 @@
+package edu.alibaba.mpc4j.s2pc.pso.psi.bucket;
+
+import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
+import edu.alibaba.mpc4j.common.rpc.pto.AbstractMultiPartyPtoConfig;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.s2pc.pso.psi.PsiConfig;
+import edu.alibaba.mpc4j.s2pc.pso.psi.mpoprf.rr22.Rr22PsiConfig;
+
+/**
+ * Bucket PSI config.
+ *
+ * @author Weiran Liu
+ * @date 2024/8/7
+ */
+public class BucketPsiConfig extends AbstractMultiPartyPtoConfig {
+    /**
+     * PSI config
+     */
+    private final PsiConfig psiConfig;
+    /**
+     * bucket num
+     */
+    private final int bucketNum;
+
+    private BucketPsiConfig(Builder builder) {
+        super(SecurityModel.SEMI_HONEST, builder.psiConfig);
+        psiConfig = builder.psiConfig;
+        bucketNum = builder.bucketNum;
+    }
+
+    public PsiConfig getPsiConfig() {
+        return psiConfig;
+    }
+
+    public int getBucketNum() {
+        return bucketNum;
+    }
+
+    public static class Builder implements org.apache.commons.lang3.builder.Builder<BucketPsiConfig> {
+        /**
+         * PSI config
+         */
+        private PsiConfig psiConfig;
+        /**
+         * bucket num
+         */
+        private int bucketNum;
+
+        public Builder() {
+            psiConfig = new Rr22PsiConfig.Builder(SecurityModel.SEMI_HONEST).build();
+            bucketNum = 1 << 8;
+        }
+
+        public Builder setPsiConfig(PsiConfig psiConfig) {
+            this.psiConfig = psiConfig;
+            return this;
+        }
+
+        /**
+         * Sets the bucket num. Each party holds at most two buckets in memory, so the bucket num should be chosen such
+         * that the largest bucket fits in memory.
+         *
+         * @param bucketNum bucket num.
+         * @return the builder.
+         */
+        public Builder setBucketNum(int bucketNum) {
+            MathPreconditions.checkPositive("bucketNum", bucketNum);
+            this.bucketNum = bucketNum;
+            return this;
+        }
+
+        @Override
+        public BucketPsiConfig build() {
+            return new BucketPsiConfig(this);
+        }
+    }
+}
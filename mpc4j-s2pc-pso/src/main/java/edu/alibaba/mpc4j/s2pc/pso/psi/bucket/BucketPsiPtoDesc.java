@@ -0,0 +1,71 @@
+package edu.alibaba.mpc4j.s2pc.pso.psi.bucket;
+
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDesc;
+import edu.alibaba.mpc4j.common.rpc.desc.PtoDescManager;
+
+/**
+ * Bucket PSI protocol description. Both parties hash-partition their sets into buckets on the disk using a shared
+ * hash key, and run the underlying PSI bucket by bucket. Besides the outputs of the underlying PSI, the parties learn
+ * the size of each bucket of the other party.
+ *
+ * @author Weiran Liu
+ * @date 2024/8/7
+ */
+class BucketPsiPtoDesc implements PtoDesc {
+    /**
+     * protocol ID
+     */
+    private static final int PTO_ID = Math.abs((int) 3160722645904612187L);
+    /**
+     * protocol name
+     */
+    private static final String PTO_NAME = "BUCKET_PSI";
+
+    /**
+     * protocol step
+     */
+    enum PtoStep {
+        /**
+         * server sends the bucket hash key
+         */
+        SERVER_SEND_HASH_KEY,
+        /**
+         * server sends the bucket size
+         */
+        SERVER_SEND_BUCKET_SIZE,
+        /**
+         * client sends the bucket size
+         */
+        CLIENT_SEND_BUCKET_SIZE,
+    }
+
+    /**
+     * singleton mode
+     */
+    private static final BucketPsiPtoDesc INSTANCE = new BucketPsiPtoDesc();
+
+    /**
+     * private constructor.
+     */
+    private BucketPsiPtoDesc() {
+        // empty
+    }
+
+    public static PtoDesc getInstance() {
+        return INSTANCE;
+    }
+
+    static {
+        PtoDescManager.registerPtoDesc(getInstance());
+    }
+
+    @Override
+    public int getPtoId() {
+        return PTO_ID;
+    }
+
+    @Override
+    public String getPtoName() {
+        return PTO_NAME;
+    }
+}
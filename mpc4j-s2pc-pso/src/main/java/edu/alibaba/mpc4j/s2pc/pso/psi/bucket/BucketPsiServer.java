@@ -0,0 +1,158 @@
+package edu.alibaba.mpc4j.s2pc.pso.psi.bucket;
+
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.rpc.MpcAbortPreconditions;
+import edu.alibaba.mpc4j.common.rpc.Party;
+import edu.alibaba.mpc4j.common.rpc.PtoState;
+import edu.alibaba.mpc4j.common.rpc.Rpc;
+import edu.alibaba.mpc4j.common.rpc.pto.AbstractTwoPartyPto;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
+import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import edu.alibaba.mpc4j.common.tool.utils.IntUtils;
+import edu.alibaba.mpc4j.s2pc.pso.psi.PsiFactory;
+import edu.alibaba.mpc4j.s2pc.pso.psi.PsiServer;
+import edu.alibaba.mpc4j.s2pc.pso.psi.bucket.BucketPsiPtoDesc.PtoStep;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bucket PSI server. The server set is given as an iterator and is hash-partitioned into buckets on the disk, so that
+ * the memory is bounded by the bucket size instead of the set size.
+ *
+ * @author Weiran Liu
+ * @date 2024/8/7
+ */
+public class BucketPsiServer extends AbstractTwoPartyPto {
+    /**
+     * PSI server
+     */
+    private final PsiServer<ByteBuffer> psiServer;
+    /**
+     * bucket num
+     */
+    private final int bucketNum;
+    /**
+     * directory of the bucket files
+     */
+    private Path directory;
+    /**
+     * max server bucket size
+     */
+    private int maxServerBucketSize;
+    /**
+     * max client bucket size
+     */
+    private int maxClientBucketSize;
+    /**
+     * bucket hash
+     */
+    private Prf bucketHash;
+
+    public BucketPsiServer(Rpc serverRpc, Party clientParty, BucketPsiConfig config) {
+        super(BucketPsiPtoDesc.getInstance(), serverRpc, clientParty, config);
+        psiServer = PsiFactory.createServer(serverRpc, clientParty, config.getPsiConfig());
+        addSubPto(psiServer);
+        bucketNum = config.getBucketNum();
+        directory = Paths.get(System.getProperty("java.io.tmpdir"));
+    }
+
+    /**
+     * Sets the directory of the bucket files. The default directory is the system temporary directory.
+     *
+     * @param directory directory of the bucket files.
+     */
+    public void setDirectory(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Inits the protocol.
+     *
+     * @param maxServerBucketSize max number of server elements in each bucket.
+     * @param maxClientBucketSize max number of client elements in each bucket.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    public void init(int maxServerBucketSize, int maxClientBucketSize) throws MpcAbortException {
+        MathPreconditions.checkPositive("maxServerBucketSize", maxServerBucketSize);
+        this.maxServerBucketSize = maxServerBucketSize;
+        MathPreconditions.checkPositive("maxClientBucketSize", maxClientBucketSize);
+        this.maxClientBucketSize = maxClientBucketSize;
+        initState();
+        logPhaseInfo(PtoState.INIT_BEGIN);
+
+        stopWatch.start();
+        byte[] hashKey = CommonUtils.generateRandomKey(secureRandom);
+        List<byte[]> hashKeyPayload = Collections.singletonList(hashKey);
+        sendOtherPartyEqualSizePayload(PtoStep.SERVER_SEND_HASH_KEY.ordinal(), hashKeyPayload);
+        bucketHash = PrfFactory.createInstance(envType, Integer.BYTES);
+        bucketHash.setKey(hashKey);
+        psiServer.init(maxServerBucketSize, maxClientBucketSize);
+        stopWatch.stop();
+        long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.INIT_STEP, 1, 1, initTime);
+
+        logPhaseInfo(PtoState.INIT_END);
+    }
+
+    /**
+     * Executes the protocol. Duplicated elements are allowed and are removed bucket by bucket.
+     *
+     * @param serverElementIterator server elements.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    public void psi(Iterator<byte[]> serverElementIterator) throws MpcAbortException {
+        checkInitialized();
+        extraInfo++;
+        logPhaseInfo(PtoState.PTO_BEGIN);
+
+        stopWatch.start();
+        BucketStore store = BucketStore.create(directory, bucketNum, bucketHash, serverElementIterator);
+        stopWatch.stop();
+        long partitionTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 1, 2, partitionTime, "Server partitions elements into buckets");
+
+        stopWatch.start();
+        try (store) {
+            while (store.hasNextBucket()) {
+                Set<ByteBuffer> serverBucket = store.nextBucket();
+                extraInfo++;
+                // exchange bucket sizes before checking, so that both parties abort on the same bucket
+                List<byte[]> serverBucketSizePayload = Collections.singletonList(
+                    IntUtils.intToByteArray(serverBucket.size())
+                );
+                sendOtherPartyEqualSizePayload(PtoStep.SERVER_SEND_BUCKET_SIZE.ordinal(), serverBucketSizePayload);
+                List<byte[]> clientBucketSizePayload = receiveOtherPartyEqualSizePayload(
+                    PtoStep.CLIENT_SEND_BUCKET_SIZE.ordinal(), 1, Integer.BYTES
+                );
+                int clientBucketSize = IntUtils.byteArrayToInt(clientBucketSizePayload.get(0));
+                MpcAbortPreconditions.checkArgument(
+                    clientBucketSize >= 0 && clientBucketSize <= maxClientBucketSize,
+                    "client bucket size must be in range [0, %s]: %s", maxClientBucketSize, clientBucketSize
+                );
+                MathPreconditions.checkNonNegativeInRangeClosed(
+                    "serverBucketSize", serverBucket.size(), maxServerBucketSize
+                );
+                if (serverBucket.size() > 0 && clientBucketSize > 0) {
+                    psiServer.psi(serverBucket, clientBucketSize);
+                }
+            }
+        }
+        stopWatch.stop();
+        long psiTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, 2, 2, psiTime, "Server runs PSI bucket by bucket");
+
+        logPhaseInfo(PtoState.PTO_END);
+    }
+}
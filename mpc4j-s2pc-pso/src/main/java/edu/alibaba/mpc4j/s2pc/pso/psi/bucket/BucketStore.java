@@ -0,0 +1,218 @@
+package edu.alibaba.mpc4j.s2pc.pso.psi.bucket;
+
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bucket store. Elements are hash-partitioned into bucket files in a temporary directory, each element is written as
+ * its byte length followed by its bytes. Buckets are then read back one by one in order, and the next bucket is read
+ * by a background thread while the current bucket is being used, so that at most two buckets are held in memory.
+ * <p>
+ * Elements are deduplicated when a bucket is read back, since equal elements are always in the same bucket.
+ * </p>
+ *
+ * @author Weiran Liu
+ * @date 2024/8/7
+ */
+class BucketStore implements Closeable {
+    /**
+     * total write buffer byte length
+     */
+    private static final int BUFFER_BYTE_LENGTH = 1 << 24;
+    /**
+     * min write buffer byte length for each bucket
+     */
+    private static final int MIN_BUCKET_BUFFER_BYTE_LENGTH = 1 << 12;
+    /**
+     * read buffer byte length
+     */
+    private static final int READ_BUFFER_BYTE_LENGTH = 1 << 16;
+    /**
+     * directory of the bucket files
+     */
+    private final Path directory;
+    /**
+     * bucket num
+     */
+    private final int bucketNum;
+    /**
+     * number of elements written into each bucket
+     */
+    private final long[] bucketElementNums;
+    /**
+     * background thread reading the next bucket
+     */
+    private final ExecutorService executor;
+    /**
+     * index of the next bucket
+     */
+    private int nextBucketIndex;
+    /**
+     * the next bucket
+     */
+    private Future<Set<ByteBuffer>> nextBucket;
+
+    /**
+     * Partitions the elements into buckets.
+     *
+     * @param directory  parent directory of the bucket files.
+     * @param bucketNum  bucket num.
+     * @param bucketHash bucket hash.
+     * @param elements   elements.
+     * @return the bucket store.
+     */
+    static BucketStore create(Path directory, int bucketNum, Prf bucketHash, Iterator<byte[]> elements) {
+        MathPreconditions.checkPositive("bucketNum", bucketNum);
+        Path bucketDirectory;
+        try {
+            bucketDirectory = Files.createTempDirectory(directory, "mpc4j_bucket_psi_");
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create bucket directory in " + directory, e);
+        }
+        BucketStore store = new BucketStore(bucketDirectory, bucketNum);
+        try {
+            store.partition(bucketHash, elements);
+        } catch (RuntimeException e) {
+            store.close();
+            throw e;
+        }
+        return store;
+    }
+
+    private BucketStore(Path directory, int bucketNum) {
+        this.directory = directory;
+        this.bucketNum = bucketNum;
+        bucketElementNums = new long[bucketNum];
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mpc4j-bucket-reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        nextBucketIndex = 0;
+    }
+
+    private Path getBucketPath(int bucketIndex) {
+        return directory.resolve("bucket_" + bucketIndex);
+    }
+
+    private void partition(Prf bucketHash, Iterator<byte[]> elements) {
+        int bucketBufferByteLength = Math.max(BUFFER_BYTE_LENGTH / bucketNum, MIN_BUCKET_BUFFER_BYTE_LENGTH);
+        DataOutputStream[] outputStreams = new DataOutputStream[bucketNum];
+        try {
+            for (int bucketIndex = 0; bucketIndex < bucketNum; bucketIndex++) {
+                outputStreams[bucketIndex] = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(getBucketPath(bucketIndex)), bucketBufferByteLength
+                ));
+            }
+            while (elements.hasNext()) {
+                byte[] element = elements.next();
+                int bucketIndex = bucketNum == 1 ? 0 : bucketHash.getInteger(element, bucketNum);
+                outputStreams[bucketIndex].writeInt(element.length);
+                outputStreams[bucketIndex].write(element);
+                bucketElementNums[bucketIndex]++;
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write bucket files in " + directory, e);
+        } finally {
+            for (DataOutputStream outputStream : outputStreams) {
+                if (outputStream != null) {
+                    try {
+                        outputStream.close();
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Cannot close bucket files in " + directory, e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns if there are more buckets.
+     *
+     * @return true if there are more buckets.
+     */
+    boolean hasNextBucket() {
+        return nextBucketIndex < bucketNum;
+    }
+
+    /**
+     * Gets the next bucket, and starts reading the bucket after it. The bucket file is deleted once it is read.
+     *
+     * @return the next bucket.
+     */
+    Set<ByteBuffer> nextBucket() {
+        MathPreconditions.checkNonNegativeInRange("bucketIndex", nextBucketIndex, bucketNum);
+        if (nextBucket == null) {
+            nextBucket = submit(nextBucketIndex);
+        }
+        Set<ByteBuffer> bucket;
+        try {
+            bucket = nextBucket.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted when reading bucket " + nextBucketIndex, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Cannot read bucket " + nextBucketIndex, e.getCause());
+        }
+        nextBucketIndex++;
+        nextBucket = hasNextBucket() ? submit(nextBucketIndex) : null;
+        return bucket;
+    }
+
+    private Future<Set<ByteBuffer>> submit(int bucketIndex) {
+        return executor.submit(() -> readBucket(bucketIndex));
+    }
+
+    private Set<ByteBuffer> readBucket(int bucketIndex) throws IOException {
+        Path bucketPath = getBucketPath(bucketIndex);
+        long elementNum = bucketElementNums[bucketIndex];
+        Set<ByteBuffer> bucket = new HashSet<>((int) Math.min(elementNum, Integer.MAX_VALUE));
+        try (DataInputStream inputStream = new DataInputStream(new BufferedInputStream(
+            Files.newInputStream(bucketPath), READ_BUFFER_BYTE_LENGTH
+        ))) {
+            for (long index = 0; index < elementNum; index++) {
+                byte[] element = new byte[inputStream.readInt()];
+                inputStream.readFully(element);
+                bucket.add(ByteBuffer.wrap(element));
+            }
+        }
+        Files.delete(bucketPath);
+        return bucket;
+    }
+
+    /**
+     * Stops reading and deletes all bucket files.
+     */
+    @Override
+    public void close() {
+        // interrupt the running read and wait for it, so that its bucket file can be deleted
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        nextBucket = null;
+        try {
+            for (int bucketIndex = 0; bucketIndex < bucketNum; bucketIndex++) {
+                Files.deleteIfExists(getBucketPath(bucketIndex));
+            }
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot delete bucket files in " + directory, e);
+        }
+    }
+}
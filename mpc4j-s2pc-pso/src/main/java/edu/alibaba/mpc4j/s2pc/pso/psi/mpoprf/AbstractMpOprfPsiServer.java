@@ -118,7 +118,11 @@ public abstract class AbstractMpOprfPsiServer<T> extends AbstractPsiServer<T> {
         Collections.shuffle(serverPrfs, secureRandom);
         // construct the filter
         Filter<byte[]> serverPrfFilter = FilterFactory.load(envType, filterType, serverElementSize, secureRandom);
-        serverPrfs.forEach(serverPrfFilter::put);
+        if (parallel) {
+            serverPrfFilter.putAll(serverPrfs);
+        } else {
+            serverPrfs.forEach(serverPrfFilter::put);
+        }
         List<byte[]> serverPrfFilterPayload = serverPrfFilter.save();
         DataPacketHeader serverPrfFilterHeader = new DataPacketHeader(
             encodeTaskId, getPtoDesc().getPtoId(), MpOprfPsiPtoStep.SERVER_SEND_PRFS.ordinal(),
@@ -15,6 +15,7 @@ import edu.alibaba.mpc4j.common.structure.filter.Filter;
 import edu.alibaba.mpc4j.common.structure.filter.FilterFactory;
 import edu.alibaba.mpc4j.common.structure.filter.SparseRandomBloomFilter;
 import edu.alibaba.mpc4j.common.tool.utils.*;
+import edu.alibaba.mpc4j.s2pc.pcg.BlockArray;
 import edu.alibaba.mpc4j.s2pc.pcg.ct.CoinTossFactory;
 import edu.alibaba.mpc4j.s2pc.pcg.ct.CoinTossParty;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotReceiverOutput;
@@ -225,14 +226,15 @@ public class Rr16PsiClient<T> extends AbstractPsiClient<T> {
         usedZero = new TIntHashSet();
         assert cncChallengeList.size() <= nOt - filter.getM();
         List<byte[]> challenge = new LinkedList<>();
-        byte[] response = new byte[cotReceiverOutput.getRb(0).length];
+        byte[] response = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        BlockArray rbBlockArray = cotReceiverOutput.getRbBlockArray();
         cncChallengeList.forEach(x -> {
             int index = IntUtils.byteArrayToInt(x);
             if (cotReceiverOutput.getChoice(index)) {
                 usedOne.add(index);
             } else {
                 usedZero.add(index);
-                BytesUtils.xori(response, cotReceiverOutput.getRb(index));
+                rbBlockArray.xori(index, response);
                 challenge.add(x);
             }
         });
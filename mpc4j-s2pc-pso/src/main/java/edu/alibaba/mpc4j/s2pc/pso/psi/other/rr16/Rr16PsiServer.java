@@ -16,6 +16,7 @@ import edu.alibaba.mpc4j.common.structure.filter.FilterFactory;
 import edu.alibaba.mpc4j.common.structure.filter.FilterFactory.FilterType;
 import edu.alibaba.mpc4j.common.structure.filter.SparseRandomBloomFilter;
 import edu.alibaba.mpc4j.common.tool.utils.*;
+import edu.alibaba.mpc4j.s2pc.pcg.BlockArray;
 import edu.alibaba.mpc4j.s2pc.pcg.ct.CoinTossFactory;
 import edu.alibaba.mpc4j.s2pc.pcg.ct.CoinTossParty;
 import edu.alibaba.mpc4j.s2pc.pcg.ot.cot.CotSenderOutput;
@@ -199,8 +200,11 @@ public class Rr16PsiServer<T> extends AbstractPsiServer<T> {
 
     void checkClientResponse(List<byte[]> responsePayload) {
         int[] index = responsePayload.subList(0, responsePayload.size() - 1).stream().mapToInt(IntUtils::byteArrayToInt).toArray();
-        byte[] zero = new byte[cotSenderOutput.getR0(0).length];
-        IntStream.range(0, index.length).forEach(i -> BytesUtils.xori(zero, cotSenderOutput.getR0(index[i])));
+        byte[] zero = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+        BlockArray r0BlockArray = cotSenderOutput.getR0BlockArray();
+        for (int i : index) {
+            r0BlockArray.xori(i, zero);
+        }
         assert BytesUtils.equals(zero, responsePayload.get(responsePayload.size() - 1));
     }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package edu.alibaba.mpc4j.s2pc.pso.main;
+
+import edu.alibaba.mpc4j.common.rpc.main.AbstractMainTwoPartyPto;
+import edu.alibaba.mpc4j.common.tool.utils.PropertiesUtils;
+import edu.alibaba.mpc4j.s2pc.pso.main.psi.PsiMain;
+import edu.alibaba.mpc4j.s2pc.pso.psi.PsiFactory.PsiType;
+import org.junit.Test;
+
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * main test with memory RPC, i.e., rpc_type = memory.
+ *
+ * @author Weiran Liu
+ * @date 2024/8/8
+ */
+public class MainMemoryRpcTest {
+
+    @Test
+    public void testMemoryRpc() throws Exception {
+        Properties properties = loadProperties();
+        properties.setProperty("rpc_type", "memory");
+        AbstractMainTwoPartyPto.run(properties, "", PsiMain::new);
+    }
+
+    @Test
+    public void testSimulatedNetwork() throws Exception {
+        Properties properties = loadProperties();
+        properties.setProperty("rpc_type", "memory");
+        properties.setProperty("memory_bandwidth", "100");
+        properties.setProperty("memory_rtt", "40");
+        AbstractMainTwoPartyPto.run(properties, "", PsiMain::new);
+    }
+
+    private Properties loadProperties() {
+        String path = "conf_psi_example.conf";
+        String configPath = Objects.requireNonNull(getClass().getClassLoader().getResource(path)).getPath();
+        Properties properties = PropertiesUtils.loadProperties(configPath);
+        properties.setProperty(PsiMain.PTO_NAME_KEY, PsiType.RR22.name());
+        return properties;
+    }
+}
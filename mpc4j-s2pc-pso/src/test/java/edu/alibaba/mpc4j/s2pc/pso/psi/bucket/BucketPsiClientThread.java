@@ -0,0 +1,69 @@
+package edu.alibaba.mpc4j.s2pc.pso.psi.bucket;
+
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * bucket PSI client thread.
+ *
+ * @author Weiran Liu
+ * @date 2024/8/7
+ */
+class BucketPsiClientThread extends Thread {
+    /**
+     * bucket PSI client
+     */
+    private final BucketPsiClient client;
+    /**
+     * client element list
+     */
+    private final List<byte[]> clientElementList;
+    /**
+     * max client bucket size
+     */
+    private final int maxClientBucketSize;
+    /**
+     * max server bucket size
+     */
+    private final int maxServerBucketSize;
+    /**
+     * intersection obtained by the client
+     */
+    private final List<ByteBuffer> intersectionList;
+    /**
+     * intersection size returned by the client
+     */
+    private long intersectionSize;
+
+    BucketPsiClientThread(BucketPsiClient client, List<byte[]> clientElementList,
+                          int maxClientBucketSize, int maxServerBucketSize) {
+        this.client = client;
+        this.clientElementList = clientElementList;
+        this.maxClientBucketSize = maxClientBucketSize;
+        this.maxServerBucketSize = maxServerBucketSize;
+        intersectionList = new ArrayList<>();
+    }
+
+    List<ByteBuffer> getIntersectionList() {
+        return intersectionList;
+    }
+
+    long getIntersectionSize() {
+        return intersectionSize;
+    }
+
+    @Override
+    public void run() {
+        try {
+            client.init(maxClientBucketSize, maxServerBucketSize);
+            intersectionSize = client.psi(
+                clientElementList.iterator(), element -> intersectionList.add(ByteBuffer.wrap(element))
+            );
+        } catch (MpcAbortException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package edu.alibaba.mpc4j.s2pc.pso.psi.bucket;
+
+import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+
+import java.util.List;
+
+/**
+ * bucket PSI server thread.
+ *
+ * @author Weiran Liu
+ * @date 2024/8/7
+ */
+class BucketPsiServerThread extends Thread {
+    /**
+     * bucket PSI server
+     */
+    private final BucketPsiServer server;
+    /**
+     * server element list
+     */
+    private final List<byte[]> serverElementList;
+    /**
+     * max server bucket size
+     */
+    private final int maxServerBucketSize;
+    /**
+     * max client bucket size
+     */
+    private final int maxClientBucketSize;
+
+    BucketPsiServerThread(BucketPsiServer server, List<byte[]> serverElementList,
+                          int maxServerBucketSize, int maxClientBucketSize) {
+        this.server = server;
+        this.serverElementList = serverElementList;
+        this.maxServerBucketSize = maxServerBucketSize;
+        this.maxClientBucketSize = maxClientBucketSize;
+    }
+
+    @Override
+    public void run() {
+        try {
+            server.init(maxServerBucketSize, maxClientBucketSize);
+            server.psi(serverElementList.iterator());
+        } catch (MpcAbortException e) {
+            e.printStackTrace();
+        }
+    }
+}
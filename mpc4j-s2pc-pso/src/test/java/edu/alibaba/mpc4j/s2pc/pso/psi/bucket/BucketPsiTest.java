@@ -0,0 +1,216 @@
+package edu.alibaba.mpc4j.s2pc.pso.psi.bucket;
+
+import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
+import edu.alibaba.mpc4j.common.rpc.pto.AbstractTwoPartyMemoryRpcPto;
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.s2pc.pso.PsoUtils;
+import edu.alibaba.mpc4j.s2pc.pso.psi.PsiFactory.PsiType;
+import edu.alibaba.mpc4j.s2pc.pso.psi.cuckoo.kkrt16.Kkrt16PsiConfig;
+import edu.alibaba.mpc4j.s2pc.pso.psi.mpoprf.rr22.Rr22PsiConfig;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * bucket PSI test.
+ *
+ * @author Weiran Liu
+ * @date 2024/8/7
+ */
+@RunWith(Parameterized.class)
+public class BucketPsiTest extends AbstractTwoPartyMemoryRpcPto {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BucketPsiTest.class);
+    /**
+     * default size
+     */
+    private static final int DEFAULT_SIZE = 99;
+    /**
+     * element byte length
+     */
+    private static final int ELEMENT_BYTE_LENGTH = CommonConstants.BLOCK_BYTE_LENGTH;
+    /**
+     * large size
+     */
+    private static final int LARGE_SIZE = 1 << 14;
+    /**
+     * bucket num
+     */
+    private static final int BUCKET_NUM = 1 << 4;
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> configurations() {
+        Collection<Object[]> configurations = new ArrayList<>();
+
+        // RR22
+        configurations.add(new Object[]{
+            PsiType.RR22.name(), new BucketPsiConfig.Builder()
+                .setPsiConfig(new Rr22PsiConfig.Builder(SecurityModel.SEMI_HONEST).build())
+                .setBucketNum(BUCKET_NUM)
+                .build(),
+        });
+        // KKRT16
+        configurations.add(new Object[]{
+            PsiType.KKRT16.name(), new BucketPsiConfig.Builder()
+                .setPsiConfig(new Kkrt16PsiConfig.Builder().build())
+                .setBucketNum(BUCKET_NUM)
+                .build(),
+        });
+        // one bucket
+        configurations.add(new Object[]{
+            PsiType.RR22.name() + " (1 bucket)", new BucketPsiConfig.Builder()
+                .setPsiConfig(new Rr22PsiConfig.Builder(SecurityModel.SEMI_HONEST).build())
+                .setBucketNum(1)
+                .build(),
+        });
+
+        return configurations;
+    }
+
+    /**
+     * config
+     */
+    private final BucketPsiConfig config;
+
+    public BucketPsiTest(String name, BucketPsiConfig config) {
+        super(name);
+        this.config = config;
+    }
+
+    @Test
+    public void test1() {
+        testPto(1, 1, false, false);
+    }
+
+    @Test
+    public void test2() {
+        testPto(2, 2, false, false);
+    }
+
+    @Test
+    public void testDefault() {
+        testPto(DEFAULT_SIZE, DEFAULT_SIZE, false, false);
+    }
+
+    @Test
+    public void testParallelDefault() {
+        testPto(DEFAULT_SIZE, DEFAULT_SIZE, false, true);
+    }
+
+    @Test
+    public void testDuplicate() {
+        testPto(DEFAULT_SIZE, DEFAULT_SIZE, true, false);
+    }
+
+    @Test
+    public void testLargeServerSize() {
+        testPto(LARGE_SIZE, DEFAULT_SIZE, false, false);
+    }
+
+    @Test
+    public void testLargeClientSize() {
+        testPto(DEFAULT_SIZE, LARGE_SIZE, false, false);
+    }
+
+    @Test
+    public void testLarge() {
+        testPto(LARGE_SIZE, LARGE_SIZE, false, false);
+    }
+
+    @Test
+    public void testParallelLarge() {
+        testPto(LARGE_SIZE, LARGE_SIZE, false, true);
+    }
+
+    private void testPto(int serverSetSize, int clientSetSize, boolean duplicate, boolean parallel) {
+        BucketPsiServer server = new BucketPsiServer(firstRpc, secondRpc.ownParty(), config);
+        BucketPsiClient client = new BucketPsiClient(secondRpc, firstRpc.ownParty(), config);
+        server.setParallel(parallel);
+        client.setParallel(parallel);
+        int randomTaskId = Math.abs(SECURE_RANDOM.nextInt());
+        server.setTaskId(randomTaskId);
+        client.setTaskId(randomTaskId);
+        Path directory = null;
+        try {
+            LOGGER.info("-----test {}，server_size = {}，client_size = {}-----",
+                server.getPtoDesc().getPtoName(), serverSetSize, clientSetSize
+            );
+            directory = Files.createTempDirectory("mpc4j_bucket_psi_test_");
+            server.setDirectory(directory);
+            client.setDirectory(directory);
+            // generate sets
+            ArrayList<Set<ByteBuffer>> sets = PsoUtils.generateBytesSets(serverSetSize, clientSetSize, ELEMENT_BYTE_LENGTH);
+            Set<ByteBuffer> serverSet = sets.get(0);
+            Set<ByteBuffer> clientSet = sets.get(1);
+            List<byte[]> serverElementList = toElementList(serverSet, duplicate);
+            List<byte[]> clientElementList = toElementList(clientSet, duplicate);
+            // buckets are never larger than the sets
+            BucketPsiServerThread serverThread = new BucketPsiServerThread(
+                server, serverElementList, serverSet.size(), clientSet.size()
+            );
+            BucketPsiClientThread clientThread = new BucketPsiClientThread(
+                client, clientElementList, clientSet.size(), serverSet.size()
+            );
+            STOP_WATCH.start();
+            // start
+            serverThread.start();
+            clientThread.start();
+            // stop
+            serverThread.join();
+            clientThread.join();
+            STOP_WATCH.stop();
+            long time = STOP_WATCH.getTime(TimeUnit.MILLISECONDS);
+            STOP_WATCH.reset();
+            // verify
+            assertOutput(serverSet, clientSet, clientThread.getIntersectionList(), clientThread.getIntersectionSize());
+            // all bucket files are deleted
+            try (Stream<Path> files = Files.list(directory)) {
+                Assert.assertEquals(0, files.count());
+            }
+            printAndResetRpc(time);
+            // destroy
+            new Thread(server::destroy).start();
+            new Thread(client::destroy).start();
+        } catch (InterruptedException | IOException e) {
+            e.printStackTrace();
+        } finally {
+            if (directory != null) {
+                try {
+                    Files.deleteIfExists(directory);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    private List<byte[]> toElementList(Set<ByteBuffer> set, boolean duplicate) {
+        List<byte[]> elementList = set.stream().map(ByteBuffer::array).collect(Collectors.toList());
+        if (duplicate) {
+            elementList.addAll(set.stream().map(element -> element.array().clone()).toList());
+            Collections.shuffle(elementList, SECURE_RANDOM);
+        }
+        return elementList;
+    }
+
+    private void assertOutput(Set<ByteBuffer> serverSet, Set<ByteBuffer> clientSet,
+                              List<ByteBuffer> outputIntersectionList, long outputIntersectionSize) {
+        Set<ByteBuffer> expectIntersectionSet = new HashSet<>(serverSet);
+        expectIntersectionSet.retainAll(clientSet);
+        Assert.assertEquals(expectIntersectionSet.size(), outputIntersectionSize);
+        // each element is output exactly once
+        Assert.assertEquals(expectIntersectionSet.size(), outputIntersectionList.size());
+        Assert.assertEquals(expectIntersectionSet, new HashSet<>(outputIntersectionList));
+    }
+}
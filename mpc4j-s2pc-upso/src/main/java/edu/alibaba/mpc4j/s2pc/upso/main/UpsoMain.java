@@ -1,5 +1,6 @@
 package edu.alibaba.mpc4j.s2pc.upso.main;
 
+import edu.alibaba.mpc4j.common.rpc.main.AbstractMainTwoPartyPto;
 import edu.alibaba.mpc4j.common.rpc.main.MainPtoConfigUtils;
 import edu.alibaba.mpc4j.common.tool.utils.PropertiesUtils;
 import edu.alibaba.mpc4j.s2pc.upso.main.ucpsi.UcpsiMain;
@@ -26,12 +27,10 @@ public class UpsoMain {
         String taskType = MainPtoConfigUtils.readPtoType(properties);
         switch (taskType) {
             case UcpsiMain.PTO_TYPE_NAME:
-                UcpsiMain ucpsiMain = new UcpsiMain(properties, ownName);
-                ucpsiMain.runNetty();
+                AbstractMainTwoPartyPto.run(properties, ownName, UcpsiMain::new);
                 break;
             case UpsuMain.PTO_TYPE_NAME:
-                UpsuMain upsuMain = new UpsuMain(properties, ownName);
-                upsuMain.runNetty();
+                AbstractMainTwoPartyPto.run(properties, ownName, UpsuMain::new);
                 break;
             default:
                 throw new IllegalArgumentException("Invalid task_type: " + taskType);
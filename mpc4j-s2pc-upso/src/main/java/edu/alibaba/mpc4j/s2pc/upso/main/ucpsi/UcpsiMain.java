@@ -85,7 +85,7 @@ public class UcpsiMain extends AbstractMainTwoPartyPto {
 
     public UcpsiMain(Properties properties, String ownName) {
         super(properties, ownName);
-        LOGGER.info("{} read settings", ownRpc.ownParty().getPartyName());
+        LOGGER.info("{} read settings", ownName);
         elementByteLength = PropertiesUtils.readInt(properties, "element_byte_length");
         int[] serverLogSetSizes = PropertiesUtils.readLogIntArray(properties, "server_log_set_size");
         int[] clientLogSetSizes = PropertiesUtils.readLogIntArray(properties, "client_log_set_size");
@@ -98,7 +98,7 @@ public class UcpsiMain extends AbstractMainTwoPartyPto {
         serverSetSizes = Arrays.stream(serverLogSetSizes).map(logSetSize -> 1 << logSetSize).toArray();
         clientSetSizes = Arrays.stream(clientLogSetSizes).map(logSetSize -> 1 << logSetSize).toArray();
         silent = MainPtoConfigUtils.readSilentCot(properties);
-        LOGGER.info("{} read PTO config", ownRpc.ownParty().getPartyName());
+        LOGGER.info("{} read PTO config", ownName);
         ucpsiMainType = MainPtoConfigUtils.readEnum(UcpsiMainType.class, properties, PTO_NAME_KEY);
         config = UcpsiConfigUtils.createUcpsiConfig(properties);
     }
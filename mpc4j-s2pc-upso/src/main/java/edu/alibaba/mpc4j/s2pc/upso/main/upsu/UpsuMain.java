@@ -81,7 +81,7 @@ public class UpsuMain extends AbstractMainTwoPartyPto {
 
     public UpsuMain(Properties properties, String ownName) {
         super(properties, ownName);
-        LOGGER.info("{} read common settings", ownRpc.ownParty().getPartyName());
+        LOGGER.info("{} read common settings", ownName);
         elementByteLength = PropertiesUtils.readInt(properties, "element_byte_length");
         int[] serverLogSetSizes = PropertiesUtils.readLogIntArray(properties, "server_log_set_size");
         int[] clientLogSetSizes = PropertiesUtils.readLogIntArray(properties, "client_log_set_size");
@@ -93,7 +93,7 @@ public class UpsuMain extends AbstractMainTwoPartyPto {
         setSizeNum = serverLogSetSizes.length;
         serverSetSizes = Arrays.stream(serverLogSetSizes).map(logSetSize -> 1 << logSetSize).toArray();
         clientSetSizes = Arrays.stream(clientLogSetSizes).map(logSetSize -> 1 << logSetSize).toArray();
-        LOGGER.info("{} read PTO config", ownRpc.ownParty().getPartyName());
+        LOGGER.info("{} read PTO config", ownName);
         upsuMainType = MainPtoConfigUtils.readEnum(UpsuMainType.class, properties, PTO_NAME_KEY);
         config = UpsuConfigUtils.createConfig(properties);
     }
@@ -75,4 +75,13 @@ public abstract class AbstractUpsiServer<T> extends AbstractTwoPartyPto implemen
         );
         extraInfo++;
     }
+
+    protected void setPtoInput(int serverElementSize, int clientElementSize) {
+        checkInitialized();
+        MathPreconditions.checkPositive("serverElementSize", serverElementSize);
+        this.serverElementSize = serverElementSize;
+        MathPreconditions.checkPositiveInRangeClosed("clientElementSize", clientElementSize, maxClientElementSize);
+        this.clientElementSize = clientElementSize;
+        extraInfo++;
+    }
 }
\ No newline at end of file
@@ -6,10 +6,9 @@ import edu.alibaba.mpc4j.common.tool.galoisfield.zp64.Zp64;
 import edu.alibaba.mpc4j.common.tool.galoisfield.zp64.Zp64Factory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBin;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory;
-import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
-import edu.alibaba.mpc4j.s2pc.opf.oprf.MpOprfReceiver;
-import edu.alibaba.mpc4j.s2pc.opf.oprf.OprfFactory;
-import edu.alibaba.mpc4j.s2pc.opf.oprf.OprfReceiverOutput;
+import edu.alibaba.mpc4j.s2pc.opf.sqoprf.SqOprfFactory;
+import edu.alibaba.mpc4j.s2pc.opf.sqoprf.SqOprfReceiver;
+import edu.alibaba.mpc4j.s2pc.opf.sqoprf.SqOprfReceiverOutput;
 import edu.alibaba.mpc4j.s2pc.upso.UpsoUtils;
 import edu.alibaba.mpc4j.s2pc.upso.upsi.AbstractUpsiClient;
 import edu.alibaba.mpc4j.s2pc.upso.upsi.UpsiParams;
@@ -37,9 +36,9 @@ public class Cmg21UpsiClient<T> extends AbstractUpsiClient<T> {
     }
 
     /**
-     * MP-OPRF receiver
+     * single-query OPRF receiver
      */
-    private final MpOprfReceiver mpOprfReceiver;
+    private final SqOprfReceiver sqOprfReceiver;
     /**
      * UPSI params
      */
@@ -67,8 +66,8 @@ public class Cmg21UpsiClient<T> extends AbstractUpsiClient<T> {
 
     public Cmg21UpsiClient(Rpc clientRpc, Party serverParty, Cmg21UpsiConfig config) {
         super(getInstance(), clientRpc, serverParty, config);
-        mpOprfReceiver = OprfFactory.createMpOprfReceiver(clientRpc, serverParty, config.getMpOprfConfig());
-        addSubPto(mpOprfReceiver);
+        sqOprfReceiver = SqOprfFactory.createReceiver(clientRpc, serverParty, config.getSqOprfConfig());
+        addSubPto(sqOprfReceiver);
     }
 
     @Override
@@ -79,7 +78,7 @@ public class Cmg21UpsiClient<T> extends AbstractUpsiClient<T> {
         stopWatch.start();
         assert (upsiParams instanceof Cmg21UpsiParams);
         params = (Cmg21UpsiParams) upsiParams;
-        mpOprfReceiver.init(params.maxClientElementSize());
+        sqOprfReceiver.init(params.maxClientElementSize());
         zp64 = Zp64Factory.createInstance(envType, params.getPlainModulus());
         stopWatch.stop();
         long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
@@ -96,7 +95,7 @@ public class Cmg21UpsiClient<T> extends AbstractUpsiClient<T> {
 
         stopWatch.start();
         params = Cmg21UpsiParams.SERVER_1M_CLIENT_MAX_5535;
-        mpOprfReceiver.init(params.maxClientElementSize());
+        sqOprfReceiver.init(params.maxClientElementSize());
         zp64 = Zp64Factory.createInstance(envType, params.getPlainModulus());
         stopWatch.stop();
         long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
@@ -111,8 +110,10 @@ public class Cmg21UpsiClient<T> extends AbstractUpsiClient<T> {
         setPtoInput(clientElementSet);
         logPhaseInfo(PtoState.PTO_BEGIN);
 
+        byte[][] hashKeys = receiveHashKeys();
+
         stopWatch.start();
-        // MP-OPRF
+        // single-query OPRF
         List<ByteBuffer> oprfOutputs = oprf(clientElementList);
         Map<ByteBuffer, ByteBuffer> oprfMap = IntStream.range(0, clientElementSize)
             .boxed()
@@ -124,13 +125,13 @@ public class Cmg21UpsiClient<T> extends AbstractUpsiClient<T> {
 
         stopWatch.start();
         // generate cuckoo hash bin
-        byte[][] hashKeys = generateCuckooHashBin(oprfOutputs);
-        List<byte[]> hashKeyPayload = Arrays.stream(hashKeys).collect(Collectors.toList());
-        sendOtherPartyPayload(PtoStep.CLIENT_SEND_CUCKOO_HASH_KEYS.ordinal(), hashKeyPayload);
+        MpcAbortPreconditions.checkArgument(
+            generateCuckooHashBin(oprfOutputs, hashKeys), "Failed to insert items into the cuckoo hash bin"
+        );
         stopWatch.stop();
-        long cuckooHashKeyTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        long cuckooHashTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
-        logStepInfo(PtoState.PTO_STEP, 2, 5, cuckooHashKeyTime, "Client generates cuckoo hash keys");
+        logStepInfo(PtoState.PTO_STEP, 2, 5, cuckooHashTime, "Client generates cuckoo hash bin");
 
         stopWatch.start();
         List<byte[]> keyPair = Cmg21UpsiNativeUtils.genEncryptionParameters(
@@ -204,40 +205,53 @@ public class Cmg21UpsiClient<T> extends AbstractUpsiClient<T> {
     }
 
     /**
-     * client generates no stash cuckoo hash bin.
+     * client receives cuckoo hash keys.
      *
-     * @param items item list.
      * @return hash keys.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    private byte[][] receiveHashKeys() throws MpcAbortException {
+        List<byte[]> hashKeyPayload = receiveOtherPartyPayload(PtoStep.SERVER_SEND_CUCKOO_HASH_KEYS.ordinal());
+        MpcAbortPreconditions.checkArgument(hashKeyPayload.size() == params.getCuckooHashNum());
+        return hashKeyPayload.toArray(new byte[0][]);
+    }
+
+    /**
+     * client generates no stash cuckoo hash bin. The hash keys are chosen by the server and are reused until the server
+     * re-keys on its fixed schedule, so that the client aborts when the insertion fails.
+     *
+     * @param items    item list.
+     * @param hashKeys hash keys.
+     * @return true if all items are inserted into the cuckoo hash bin without stash.
      */
-    private byte[][] generateCuckooHashBin(List<ByteBuffer> items) {
-        boolean success = false;
-        byte[][] hashKeys;
-        do {
-            hashKeys = CommonUtils.generateRandomKeys(params.getCuckooHashNum(), secureRandom);
-            cuckooHashBin = CuckooHashBinFactory.createCuckooHashBin(
-                envType, params.getCuckooHashBinType(), clientElementSize, params.getBinNum(), hashKeys
-            );
+    private boolean generateCuckooHashBin(List<ByteBuffer> items, byte[][] hashKeys) {
+        cuckooHashBin = CuckooHashBinFactory.createCuckooHashBin(
+            envType, params.getCuckooHashBinType(), clientElementSize, params.getBinNum(), hashKeys
+        );
+        try {
             cuckooHashBin.insertItems(items);
-            if (cuckooHashBin.itemNumInStash() == 0) {
-                success = true;
-            }
-        } while (!success);
+        } catch (ArithmeticException e) {
+            return false;
+        }
+        if (cuckooHashBin.itemNumInStash() > 0) {
+            return false;
+        }
         cuckooHashBin.insertPaddingItems(botElementByteBuffer);
-        return hashKeys;
+        return true;
     }
 
     /**
-     * client executes MP-OPRF protocol.
+     * client executes single-query OPRF protocol.
      *
      * @param clientElementArrayList client element array list.
-     * @return MP-OPRF output.
+     * @return OPRF output.
      * @throws MpcAbortException the protocol failure aborts.
      */
     private List<ByteBuffer> oprf(List<ByteBuffer> clientElementArrayList) throws MpcAbortException {
         byte[][] oprfReceiverInputs = clientElementArrayList.stream()
             .map(ByteBuffer::array)
             .toArray(byte[][]::new);
-        OprfReceiverOutput oprfReceiverOutput = mpOprfReceiver.oprf(oprfReceiverInputs);
+        SqOprfReceiverOutput oprfReceiverOutput = sqOprfReceiver.oprf(oprfReceiverInputs);
         IntStream intStream = parallel ?
             IntStream.range(0, clientElementArrayList.size()).parallel() : IntStream.range(0, clientElementArrayList.size());
         return intStream
@@ -2,20 +2,15 @@ package edu.alibaba.mpc4j.s2pc.upso.upsi.cmg21;
 
 import edu.alibaba.mpc4j.common.rpc.*;
 import edu.alibaba.mpc4j.common.tool.CommonConstants;
-import edu.alibaba.mpc4j.common.tool.hashbin.object.HashBinEntry;
-import edu.alibaba.mpc4j.common.tool.hashbin.object.RandomPadHashBin;
-import edu.alibaba.mpc4j.common.tool.polynomial.zp64.Zp64Poly;
-import edu.alibaba.mpc4j.common.tool.polynomial.zp64.Zp64PolyFactory;
 import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
-import edu.alibaba.mpc4j.s2pc.opf.oprf.MpOprfSender;
-import edu.alibaba.mpc4j.s2pc.opf.oprf.MpOprfSenderOutput;
-import edu.alibaba.mpc4j.s2pc.opf.oprf.OprfFactory;
+import edu.alibaba.mpc4j.s2pc.opf.sqoprf.SqOprfFactory;
+import edu.alibaba.mpc4j.s2pc.opf.sqoprf.SqOprfSender;
 import edu.alibaba.mpc4j.s2pc.upso.UpsoUtils;
 import edu.alibaba.mpc4j.s2pc.upso.upsi.AbstractUpsiServer;
 import edu.alibaba.mpc4j.s2pc.upso.upsi.UpsiParams;
 import edu.alibaba.mpc4j.s2pc.upso.upsi.cmg21.Cmg21UpsiPtoDesc.PtoStep;
 
-import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -34,51 +29,75 @@ public class Cmg21UpsiServer<T> extends AbstractUpsiServer<T> {
     }
 
     /**
-     * MP-OPRF sender
+     * single-query OPRF sender
      */
-    private final MpOprfSender mpOprfSender;
+    private final SqOprfSender sqOprfSender;
     /**
      * UPSI params
      */
     public Cmg21UpsiParams params;
     /**
-     * zp64
+     * server database
      */
-    private Zp64Poly zp64Poly;
+    private Cmg21UpsiServerDatabase<T> database;
+    /**
+     * number of queries between two re-keys
+     */
+    private final int rekeyInterval;
+    /**
+     * number of queries since the last re-key
+     */
+    private int queryNum;
 
     public Cmg21UpsiServer(Rpc serverRpc, Party clientParty, Cmg21UpsiConfig config) {
         super(Cmg21UpsiPtoDesc.getInstance(), serverRpc, clientParty, config);
-        mpOprfSender = OprfFactory.createMpOprfSender(serverRpc, clientParty, config.getMpOprfConfig());
-        addSubPto(mpOprfSender);
+        sqOprfSender = SqOprfFactory.createSender(serverRpc, clientParty, config.getSqOprfConfig());
+        addSubPto(sqOprfSender);
+        rekeyInterval = config.getRekeyInterval();
     }
 
     @Override
     public void init(UpsiParams upsiParams) throws MpcAbortException {
-        setInitInput(upsiParams.maxClientElementSize());
-        logPhaseInfo(PtoState.INIT_BEGIN);
-
-        stopWatch.start();
         assert (upsiParams instanceof Cmg21UpsiParams);
-        params = (Cmg21UpsiParams) upsiParams;
-        mpOprfSender.init(params.maxClientElementSize());
-        zp64Poly = Zp64PolyFactory.createInstance(envType, params.getPlainModulus());
-        stopWatch.stop();
-        long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
-        stopWatch.reset();
-        logStepInfo(PtoState.INIT_STEP, 1, 1, initTime);
-
-        logPhaseInfo(PtoState.INIT_END);
+        Cmg21UpsiParams params = (Cmg21UpsiParams) upsiParams;
+        init(params, Cmg21UpsiServerDatabase.create(
+            envType, sqOprfSender, params.getCuckooHashNum(), params.getBinNum(), params.getMaxPartitionSizePerBin(),
+            params.getItemEncodedSlotSize(), params.getPolyModulusDegree(), params.getPlainModulus(), secureRandom
+        ));
     }
 
     @Override
     public void init(int maxClientElementSize) throws MpcAbortException {
-        setInitInput(maxClientElementSize);
+        init(Cmg21UpsiParams.SERVER_1M_CLIENT_MAX_5535);
+    }
+
+    /**
+     * server initializes the protocol with the database saved by {@link Cmg21UpsiServerDatabase#save(Path)}.
+     *
+     * @param upsiParams   UPSI params.
+     * @param databasePath database path.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    public void init(UpsiParams upsiParams, Path databasePath) throws MpcAbortException {
+        assert (upsiParams instanceof Cmg21UpsiParams);
+        Cmg21UpsiParams params = (Cmg21UpsiParams) upsiParams;
+        Cmg21UpsiServerDatabase<T> database = Cmg21UpsiServerDatabase.load(envType, sqOprfSender, databasePath);
+        database.checkParams(
+            params.getCuckooHashNum(), params.getBinNum(), params.getMaxPartitionSizePerBin(),
+            params.getItemEncodedSlotSize(), params.getPolyModulusDegree(), params.getPlainModulus()
+        );
+        init(params, database);
+    }
+
+    private void init(Cmg21UpsiParams params, Cmg21UpsiServerDatabase<T> database) throws MpcAbortException {
+        setInitInput(params.maxClientElementSize());
         logPhaseInfo(PtoState.INIT_BEGIN);
 
         stopWatch.start();
-        params = Cmg21UpsiParams.SERVER_1M_CLIENT_MAX_5535;
-        mpOprfSender.init(params.maxClientElementSize());
-        zp64Poly = Zp64PolyFactory.createInstance(envType, params.getPlainModulus());
+        this.params = params;
+        this.database = database;
+        queryNum = 0;
+        sqOprfSender.init(params.maxClientElementSize(), database.getSqOprfKey());
         stopWatch.stop();
         long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -87,38 +106,69 @@ public class Cmg21UpsiServer<T> extends AbstractUpsiServer<T> {
         logPhaseInfo(PtoState.INIT_END);
     }
 
+    /**
+     * Gets the server database. The database can be updated between queries and saved for later initializations.
+     *
+     * @return the server database.
+     */
+    public Cmg21UpsiServerDatabase<T> getDatabase() {
+        return database;
+    }
+
     @Override
     public void psi(Set<T> serverElementSet, int clientElementSize) throws MpcAbortException {
         setPtoInput(serverElementSet, clientElementSize);
         logPhaseInfo(PtoState.PTO_BEGIN);
 
         stopWatch.start();
-        // MP-OPRF
-        List<ByteBuffer> prfOutputList = oprf();
+        // only the difference with the current database is inserted or deleted
+        database.setParallel(parallel);
+        database.update(serverElementSet);
         stopWatch.stop();
-        long oprfTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        long updateTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
-        logStepInfo(PtoState.PTO_STEP, 1, 3, oprfTime, "OPRF");
+        logStepInfo(PtoState.PTO_STEP, 1, 4, updateTime, "Server updates database");
 
-        List<byte[]> hashKeyPayload = receiveOtherPartyPayload(PtoStep.CLIENT_SEND_CUCKOO_HASH_KEYS.ordinal());
-        MpcAbortPreconditions.checkArgument(
-            hashKeyPayload.size() == params.getCuckooHashNum(), "the size of hash keys " + "should be {}", params.getCuckooHashNum()
-        );
-        byte[][] hashKeys = hashKeyPayload.toArray(new byte[0][]);
+        reply(1, 4);
+
+        logPhaseInfo(PtoState.PTO_END);
+    }
+
+    /**
+     * server executes the protocol with the current database.
+     *
+     * @param clientElementSize client element size.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    public void psi(int clientElementSize) throws MpcAbortException {
+        setPtoInput(database.size(), clientElementSize);
+        logPhaseInfo(PtoState.PTO_BEGIN);
+
+        reply(0, 3);
+
+        logPhaseInfo(PtoState.PTO_END);
+    }
+
+    private void reply(int stepOffset, int stepNum) throws MpcAbortException {
+        // re-key on a fixed schedule, so that whether the server re-keys does not depend on the client's inputs
+        rekey();
+        sendHashKeys();
 
         stopWatch.start();
-        List<List<HashBinEntry<ByteBuffer>>> hashBins = generateCompleteHashBin(prfOutputList, hashKeys);
-        int binSize = hashBins.getFirst().size();
-        List<long[][]> encodeDatabase = UpsoUtils.encodeDatabase(
-            zp64Poly, hashBins, binSize, params.getPlainModulus(), params.getMaxPartitionSizePerBin(),
-            params.getItemEncodedSlotSize(), params.getItemPerCiphertext(), params.getBinNum(),
-            params.getCiphertextNum(), params.getPolyModulusDegree(), parallel
-        );
-        hashBins.clear();
+        // single-query OPRF
+        sqOprfSender.oprf(clientElementSize);
+        stopWatch.stop();
+        long oprfTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, stepOffset + 1, stepNum, oprfTime, "OPRF");
+
+        stopWatch.start();
+        int binSize = database.getBinSize();
+        List<long[][]> encodeDatabase = database.getEncodedDatabase();
         stopWatch.stop();
         long encodedTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
-        logStepInfo(PtoState.PTO_STEP, 2, 3, encodedTime, "Server encodes database");
+        logStepInfo(PtoState.PTO_STEP, stepOffset + 2, stepNum, encodedTime, "Server loads encoded database");
 
         List<byte[]> encryptionParamsPayload = receiveOtherPartyPayload(PtoStep.CLIENT_SEND_ENCRYPTION_PARAMS.ordinal());
         MpcAbortPreconditions.checkArgument(
@@ -134,49 +184,20 @@ public class Cmg21UpsiServer<T> extends AbstractUpsiServer<T> {
         stopWatch.stop();
         long replyTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
-        logStepInfo(PtoState.PTO_STEP, 3, 3, replyTime, "Server generates reply");
-
-        logPhaseInfo(PtoState.PTO_END);
+        logStepInfo(PtoState.PTO_STEP, stepOffset + 3, stepNum, replyTime, "Server generates reply");
     }
 
-    /**
-     * generate complete hash bin.
-     *
-     * @param elementList element list.
-     * @param hashKeys    hash keys.
-     * @return complete hash bin.
-     */
-    private List<List<HashBinEntry<ByteBuffer>>> generateCompleteHashBin(List<ByteBuffer> elementList,
-                                                                         byte[][] hashKeys) {
-        RandomPadHashBin<ByteBuffer> completeHash = new RandomPadHashBin<>(
-            envType, params.getBinNum(), serverElementSize, hashKeys
-        );
-        completeHash.insertItems(elementList);
-        int maxBinSize = IntStream.range(0, params.getBinNum()).map(completeHash::binSize).max().orElse(0);
-        List<List<HashBinEntry<ByteBuffer>>> completeHashBins = new ArrayList<>();
-        HashBinEntry<ByteBuffer> paddingEntry = HashBinEntry.fromEmptyItem(botElementByteBuffer);
-        for (int i = 0; i < completeHash.binNum(); i++) {
-            List<HashBinEntry<ByteBuffer>> binItems = new ArrayList<>(completeHash.getBin(i));
-            int paddingNum = maxBinSize - completeHash.binSize(i);
-            IntStream.range(0, paddingNum).mapToObj(j -> paddingEntry).forEach(binItems::add);
-            completeHashBins.add(binItems);
+    private void rekey() {
+        if (queryNum == rekeyInterval) {
+            database.rekey(secureRandom);
+            queryNum = 0;
         }
-        elementList.clear();
-        return completeHashBins;
+        queryNum++;
     }
 
-    /**
-     * server executes MP-OPRF protocol.
-     *
-     * @return MP-OPRF output.
-     * @throws MpcAbortException the protocol failure aborts.
-     */
-    private List<ByteBuffer> oprf() throws MpcAbortException {
-        MpOprfSenderOutput oprfSenderOutput = mpOprfSender.oprf(clientElementSize);
-        IntStream intStream = parallel ? IntStream.range(0, serverElementSize).parallel() : IntStream.range(0, serverElementSize);
-        return new ArrayList<>(Arrays.asList(intStream
-            .mapToObj(i -> ByteBuffer.wrap(oprfSenderOutput.getPrf(serverElementList.get(i).array())))
-            .toArray(ByteBuffer[]::new)));
+    private void sendHashKeys() {
+        List<byte[]> hashKeyPayload = Arrays.stream(database.getHashKeys()).collect(Collectors.toList());
+        sendOtherPartyPayload(PtoStep.SERVER_SEND_CUCKOO_HASH_KEYS.ordinal(), hashKeyPayload);
     }
 
     /**
@@ -0,0 +1,673 @@
+package edu.alibaba.mpc4j.s2pc.upso.upsi.cmg21;
+
+import com.google.common.base.Preconditions;
+import edu.alibaba.mpc4j.common.tool.CommonConstants;
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
+import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.object.HashBinEntry;
+import edu.alibaba.mpc4j.common.tool.polynomial.zp64.Zp64Poly;
+import edu.alibaba.mpc4j.common.tool.polynomial.zp64.Zp64PolyFactory;
+import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
+import edu.alibaba.mpc4j.common.tool.utils.ObjectUtils;
+import edu.alibaba.mpc4j.s2pc.opf.sqoprf.SqOprfKey;
+import edu.alibaba.mpc4j.s2pc.opf.sqoprf.SqOprfSender;
+import edu.alibaba.mpc4j.s2pc.upso.UpsoUtils;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.SecureRandom;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * CMG21 UPSI server database. The database is the preprocessed server set: the OPRF outputs of the server elements
+ * inserted into the complete hash bins, and the coefficients of the polynomials interpolated from each bin partition.
+ * Since the OPRF key and the hash keys are long-term, the database can be built once, saved to the disk, reused across
+ * queries and updated incrementally. Inserting or deleting an element only re-interpolates the partitions containing
+ * the bin slots it occupies.
+ * <p>
+ * All bins have the same number of slots (the bin size), which is a multiple of the max partition size per bin. Real
+ * entries are kept at the front of each bin, and the remaining slots are filled with the padding root. If insertions
+ * exceed the bin size, a new partition is appended to all bins.
+ * </p>
+ * <p>
+ * Since the hash keys are reused, the client cannot choose new hash keys when its items cannot be inserted into the
+ * cuckoo hash bin, and aborts instead. The server re-keys the database, i.e., chooses new hash keys and rebuilds the
+ * hash bins, on a fixed schedule of queries. The client cannot ask for a re-key, since the request would leak that its
+ * items fail the cuckoo hashing. Re-keying re-encodes the whole database, so that the schedule should not be too short.
+ * </p>
+ * The database is shared by the CMG21 and CMG21J servers, since both encode the database in the same way.
+ *
+ * @author Weiran Liu
+ * @date 2024/8/5
+ */
+public class Cmg21UpsiServerDatabase<T> {
+    /**
+     * magic number, "CMGD"
+     */
+    private static final int MAGIC = 0x434D4744;
+    /**
+     * temporary suffix when saving the database
+     */
+    private static final String WRITING_SUFFIX = "_WRITING";
+    /**
+     * the server encodes padding entries as 1, see UpsoUtils.getHashBinEntryEncodedArray
+     */
+    private static final long PADDING_ROOT = 1L;
+    /**
+     * file buffer byte length
+     */
+    private static final int BUFFER_BYTE_LENGTH = 1 << 20;
+    /**
+     * default number of queries between two re-keys
+     */
+    public static final int DEFAULT_REKEY_INTERVAL = 1 << 8;
+    /**
+     * the environment
+     */
+    private final EnvType envType;
+    /**
+     * bin num
+     */
+    private final int binNum;
+    /**
+     * max partition size per bin
+     */
+    private final int maxPartitionSizePerBin;
+    /**
+     * item encoded slot size
+     */
+    private final int itemEncodedSlotSize;
+    /**
+     * poly modulus degree
+     */
+    private final int polyModulusDegree;
+    /**
+     * plain modulus
+     */
+    private final long plainModulus;
+    /**
+     * item per ciphertext
+     */
+    private final int itemPerCiphertext;
+    /**
+     * ciphertext num
+     */
+    private final int ciphertextNum;
+    /**
+     * column num in each ciphertext, i.e., item per ciphertext * item encoded slot size
+     */
+    private final int columnNum;
+    /**
+     * OPRF key seed
+     */
+    private final byte[] oprfKeySeed;
+    /**
+     * OPRF key
+     */
+    private final SqOprfKey sqOprfKey;
+    /**
+     * hash keys
+     */
+    private byte[][] hashKeys;
+    /**
+     * hashes
+     */
+    private Prf[] hashes;
+    /**
+     * zp64 poly
+     */
+    private final Zp64Poly zp64Poly;
+    /**
+     * element set
+     */
+    private final Set<ByteBuffer> elementSet;
+    /**
+     * number of real entries in each bin
+     */
+    private final int[] binLoads;
+    /**
+     * partition num
+     */
+    private int partitionNum;
+    /**
+     * roots, the l-th encoded slot of the j-th entry in the i-th bin is roots[i * item encoded slot size + l][j]
+     */
+    private long[][] roots;
+    /**
+     * coefficients, coeffs[i][p] are the coefficients of the p-th partition of the i-th ciphertext
+     */
+    private long[][][][] coeffs;
+    /**
+     * dirty columns, (p * binNum * item encoded slot size + r) is set if the p-th partition of the r-th root row changes
+     */
+    private BitSet dirtyColumns;
+    /**
+     * parallel
+     */
+    private boolean parallel;
+
+    /**
+     * Creates an empty database with a fresh OPRF key and fresh hash keys.
+     *
+     * @param envType                the environment.
+     * @param sqOprfSender           the single-query OPRF sender generating the OPRF key.
+     * @param cuckooHashNum          cuckoo hash num.
+     * @param binNum                 bin num.
+     * @param maxPartitionSizePerBin max partition size per bin.
+     * @param itemEncodedSlotSize    item encoded slot size.
+     * @param polyModulusDegree      poly modulus degree.
+     * @param plainModulus           plain modulus.
+     * @param secureRandom           the random state.
+     * @return an empty database.
+     */
+    public static <T> Cmg21UpsiServerDatabase<T> create(EnvType envType, SqOprfSender sqOprfSender, int cuckooHashNum,
+                                                        int binNum, int maxPartitionSizePerBin, int itemEncodedSlotSize,
+                                                        int polyModulusDegree, long plainModulus,
+                                                        SecureRandom secureRandom) {
+        MathPreconditions.checkPositive("cuckooHashNum", cuckooHashNum);
+        byte[] oprfKeySeed = CommonUtils.generateRandomKey(secureRandom);
+        byte[][] hashKeys = CommonUtils.generateRandomKeys(cuckooHashNum, secureRandom);
+        return new Cmg21UpsiServerDatabase<>(
+            envType, sqOprfSender, oprfKeySeed, hashKeys,
+            binNum, maxPartitionSizePerBin, itemEncodedSlotSize, polyModulusDegree, plainModulus
+        );
+    }
+
+    private Cmg21UpsiServerDatabase(EnvType envType, SqOprfSender sqOprfSender, byte[] oprfKeySeed, byte[][] hashKeys,
+                                    int binNum, int maxPartitionSizePerBin, int itemEncodedSlotSize,
+                                    int polyModulusDegree, long plainModulus) {
+        MathPreconditions.checkPositive("binNum", binNum);
+        MathPreconditions.checkPositive("maxPartitionSizePerBin", maxPartitionSizePerBin);
+        MathPreconditions.checkPositive("itemEncodedSlotSize", itemEncodedSlotSize);
+        MathPreconditions.checkPositive("polyModulusDegree", polyModulusDegree);
+        this.envType = envType;
+        this.binNum = binNum;
+        this.maxPartitionSizePerBin = maxPartitionSizePerBin;
+        this.itemEncodedSlotSize = itemEncodedSlotSize;
+        this.polyModulusDegree = polyModulusDegree;
+        this.plainModulus = plainModulus;
+        itemPerCiphertext = polyModulusDegree / itemEncodedSlotSize;
+        MathPreconditions.checkPositive("itemPerCiphertext", itemPerCiphertext);
+        MathPreconditions.checkEqual("binNum % itemPerCiphertext", "0", binNum % itemPerCiphertext, 0);
+        ciphertextNum = binNum / itemPerCiphertext;
+        columnNum = itemPerCiphertext * itemEncodedSlotSize;
+        this.oprfKeySeed = oprfKeySeed;
+        sqOprfKey = sqOprfSender.keyGen(oprfKeySeed);
+        setHashKeys(hashKeys);
+        zp64Poly = Zp64PolyFactory.createInstance(envType, plainModulus);
+        elementSet = new HashSet<>();
+        binLoads = new int[binNum];
+        partitionNum = 0;
+        roots = new long[binNum * itemEncodedSlotSize][0];
+        coeffs = new long[ciphertextNum][0][][];
+        dirtyColumns = new BitSet();
+        parallel = false;
+    }
+
+    private void setHashKeys(byte[][] hashKeys) {
+        this.hashKeys = hashKeys;
+        hashes = Arrays.stream(hashKeys)
+            .map(key -> {
+                Prf prf = PrfFactory.createInstance(envType, Integer.BYTES);
+                prf.setKey(key);
+                return prf;
+            })
+            .toArray(Prf[]::new);
+    }
+
+    /**
+     * Sets parallel.
+     *
+     * @param parallel parallel.
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Gets parallel.
+     *
+     * @return parallel.
+     */
+    public boolean getParallel() {
+        return parallel;
+    }
+
+    /**
+     * Inserts elements. Elements that are already in the database are ignored.
+     *
+     * @param elements elements.
+     */
+    public void insert(Collection<T> elements) {
+        insertBytes(toByteBuffers(elements));
+    }
+
+    /**
+     * Deletes elements. Elements that are not in the database are ignored.
+     *
+     * @param elements elements.
+     */
+    public void delete(Collection<T> elements) {
+        deleteBytes(toByteBuffers(elements));
+    }
+
+    /**
+     * Updates the database so that it contains exactly the given elements. Only the difference between the given
+     * elements and the current elements is deleted or inserted.
+     *
+     * @param elementSet element set.
+     */
+    public void update(Set<T> elementSet) {
+        Set<ByteBuffer> updateSet = toByteBuffers(elementSet);
+        Set<ByteBuffer> deleteSet = this.elementSet.stream()
+            .filter(element -> !updateSet.contains(element))
+            .collect(Collectors.toSet());
+        updateSet.removeAll(this.elementSet);
+        deleteBytes(deleteSet);
+        insertBytes(updateSet);
+    }
+
+    /**
+     * Re-keys the database, i.e., chooses new hash keys and rebuilds the hash bins with all elements. The OPRF key is
+     * unchanged. The database should be saved again if it is loaded from the disk.
+     *
+     * @param secureRandom the random state.
+     */
+    public void rekey(SecureRandom secureRandom) {
+        setHashKeys(CommonUtils.generateRandomKeys(hashKeys.length, secureRandom));
+        Set<ByteBuffer> elements = new HashSet<>(elementSet);
+        elementSet.clear();
+        // keep the partition num, so that the bin size does not shrink
+        Arrays.fill(binLoads, 0);
+        for (long[] row : roots) {
+            Arrays.fill(row, PADDING_ROOT);
+        }
+        dirtyColumns.set(0, partitionNum * roots.length);
+        insertBytes(elements);
+        interpolateDirtyColumns();
+    }
+
+    /**
+     * Returns if the database contains the element.
+     *
+     * @param element element.
+     * @return true if the database contains the element.
+     */
+    public boolean contains(T element) {
+        return elementSet.contains(ByteBuffer.wrap(ObjectUtils.objectToByteArray(element)));
+    }
+
+    /**
+     * Gets the number of elements.
+     *
+     * @return the number of elements.
+     */
+    public int size() {
+        return elementSet.size();
+    }
+
+    private Set<ByteBuffer> toByteBuffers(Collection<T> elements) {
+        return elements.stream()
+            .map(ObjectUtils::objectToByteArray)
+            .map(ByteBuffer::wrap)
+            .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private void insertBytes(Set<ByteBuffer> elements) {
+        ByteBuffer[] insertElements = elements.stream()
+            .filter(element -> !elementSet.contains(element))
+            .toArray(ByteBuffer[]::new);
+        if (insertElements.length == 0) {
+            return;
+        }
+        long[][] elementRoots = new long[insertElements.length][];
+        int[][] elementBins = new int[insertElements.length][];
+        encode(insertElements, elementRoots, elementBins);
+        // grow the bin size if some bin overflows
+        int[] requiredLoads = Arrays.copyOf(binLoads, binNum);
+        for (int[] bins : elementBins) {
+            for (int bin : bins) {
+                requiredLoads[bin]++;
+            }
+        }
+        int maxRequiredLoad = Arrays.stream(requiredLoads).max().orElse(0);
+        if (maxRequiredLoad > getBinSize()) {
+            grow(CommonUtils.getUnitNum(maxRequiredLoad, maxPartitionSizePerBin));
+        }
+        for (int elementIndex = 0; elementIndex < insertElements.length; elementIndex++) {
+            for (int bin : elementBins[elementIndex]) {
+                setSlot(bin, binLoads[bin], elementRoots[elementIndex]);
+                binLoads[bin]++;
+            }
+            elementSet.add(insertElements[elementIndex]);
+        }
+        interpolateDirtyColumns();
+    }
+
+    private void deleteBytes(Set<ByteBuffer> elements) {
+        ByteBuffer[] deleteElements = elements.stream()
+            .filter(elementSet::contains)
+            .toArray(ByteBuffer[]::new);
+        if (deleteElements.length == 0) {
+            return;
+        }
+        long[][] elementRoots = new long[deleteElements.length][];
+        int[][] elementBins = new int[deleteElements.length][];
+        encode(deleteElements, elementRoots, elementBins);
+        long[] paddingRoots = new long[itemEncodedSlotSize];
+        Arrays.fill(paddingRoots, PADDING_ROOT);
+        for (int elementIndex = 0; elementIndex < deleteElements.length; elementIndex++) {
+            for (int bin : elementBins[elementIndex]) {
+                int slot = findSlot(bin, elementRoots[elementIndex]);
+                assert slot >= 0 : "element must be in bin " + bin;
+                // move the last entry into the deleted slot, so that real entries are kept at the front of the bin
+                int lastSlot = binLoads[bin] - 1;
+                if (slot != lastSlot) {
+                    setSlot(bin, slot, getSlot(bin, lastSlot));
+                }
+                setSlot(bin, lastSlot, paddingRoots);
+                binLoads[bin]--;
+            }
+            elementSet.remove(deleteElements[elementIndex]);
+        }
+        interpolateDirtyColumns();
+    }
+
+    /**
+     * Computes the encoded roots and the bin indexes of the elements.
+     *
+     * @param elements     elements.
+     * @param elementRoots encoded roots of the elements.
+     * @param elementBins  bin indexes of the elements, one for each hash.
+     */
+    private void encode(ByteBuffer[] elements, long[][] elementRoots, int[][] elementBins) {
+        IntStream intStream = IntStream.range(0, elements.length);
+        intStream = parallel ? intStream.parallel() : intStream;
+        intStream.forEach(elementIndex -> {
+            ByteBuffer prf = ByteBuffer.wrap(sqOprfKey.getPrf(elements[elementIndex].array()));
+            // the encoded roots do not depend on the hash index
+            elementRoots[elementIndex] = UpsoUtils.getHashBinEntryEncodedArray(
+                HashBinEntry.fromRealItem(0, prf), false, itemEncodedSlotSize, plainModulus
+            );
+            elementBins[elementIndex] = Arrays.stream(hashes)
+                .mapToInt(hash -> hash.getInteger(prf.array(), binNum))
+                .toArray();
+        });
+    }
+
+    private int findSlot(int bin, long[] elementRoots) {
+        for (int slot = 0; slot < binLoads[bin]; slot++) {
+            boolean found = true;
+            for (int l = 0; l < itemEncodedSlotSize; l++) {
+                if (roots[bin * itemEncodedSlotSize + l][slot] != elementRoots[l]) {
+                    found = false;
+                    break;
+                }
+            }
+            if (found) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private long[] getSlot(int bin, int slot) {
+        long[] slotRoots = new long[itemEncodedSlotSize];
+        for (int l = 0; l < itemEncodedSlotSize; l++) {
+            slotRoots[l] = roots[bin * itemEncodedSlotSize + l][slot];
+        }
+        return slotRoots;
+    }
+
+    private void setSlot(int bin, int slot, long[] slotRoots) {
+        int partition = slot / maxPartitionSizePerBin;
+        for (int l = 0; l < itemEncodedSlotSize; l++) {
+            int row = bin * itemEncodedSlotSize + l;
+            roots[row][slot] = slotRoots[l];
+            dirtyColumns.set(partition * roots.length + row);
+        }
+    }
+
+    /**
+     * Grows the partition num. All new slots are filled with the padding root.
+     *
+     * @param newPartitionNum new partition num.
+     */
+    private void grow(int newPartitionNum) {
+        assert newPartitionNum > partitionNum;
+        int binSize = newPartitionNum * maxPartitionSizePerBin;
+        for (int row = 0; row < roots.length; row++) {
+            int oldBinSize = roots[row].length;
+            roots[row] = Arrays.copyOf(roots[row], binSize);
+            Arrays.fill(roots[row], oldBinSize, binSize, PADDING_ROOT);
+        }
+        for (int i = 0; i < ciphertextNum; i++) {
+            coeffs[i] = Arrays.copyOf(coeffs[i], newPartitionNum);
+            for (int partition = partitionNum; partition < newPartitionNum; partition++) {
+                coeffs[i][partition] = new long[maxPartitionSizePerBin + 1][polyModulusDegree];
+            }
+        }
+        dirtyColumns.set(partitionNum * roots.length, newPartitionNum * roots.length);
+        partitionNum = newPartitionNum;
+    }
+
+    /**
+     * Interpolates the polynomials of all dirty columns.
+     */
+    private void interpolateDirtyColumns() {
+        IntStream intStream = dirtyColumns.stream();
+        intStream = parallel ? intStream.parallel() : intStream;
+        intStream.forEach(dirtyColumn -> {
+            int partition = dirtyColumn / roots.length;
+            int row = dirtyColumn % roots.length;
+            long[] partitionRoots = new long[maxPartitionSizePerBin];
+            System.arraycopy(
+                roots[row], partition * maxPartitionSizePerBin, partitionRoots, 0, maxPartitionSizePerBin
+            );
+            long[] columnCoeffs = zp64Poly.rootInterpolate(maxPartitionSizePerBin, partitionRoots, 0L);
+            long[][] partitionCoeffs = coeffs[row / columnNum][partition];
+            int column = row % columnNum;
+            for (int j = 0; j < maxPartitionSizePerBin + 1; j++) {
+                partitionCoeffs[j][column] = columnCoeffs[j];
+            }
+        });
+        dirtyColumns = new BitSet();
+    }
+
+    /**
+     * Gets the OPRF key.
+     *
+     * @return the OPRF key.
+     */
+    public SqOprfKey getSqOprfKey() {
+        return sqOprfKey;
+    }
+
+    /**
+     * Gets the hash keys.
+     *
+     * @return the hash keys.
+     */
+    public byte[][] getHashKeys() {
+        return hashKeys;
+    }
+
+    /**
+     * Gets the bin size.
+     *
+     * @return the bin size.
+     */
+    public int getBinSize() {
+        return partitionNum * maxPartitionSizePerBin;
+    }
+
+    /**
+     * Gets the encoded database, the coefficients of the p-th partition of the i-th ciphertext is the
+     * (i * partition num + p)-th element.
+     *
+     * @return the encoded database.
+     */
+    public List<long[][]> getEncodedDatabase() {
+        return Arrays.stream(coeffs)
+            .flatMap(Arrays::stream)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Checks that the database matches the params.
+     *
+     * @param cuckooHashNum          cuckoo hash num.
+     * @param binNum                 bin num.
+     * @param maxPartitionSizePerBin max partition size per bin.
+     * @param itemEncodedSlotSize    item encoded slot size.
+     * @param polyModulusDegree      poly modulus degree.
+     * @param plainModulus           plain modulus.
+     */
+    public void checkParams(int cuckooHashNum, int binNum, int maxPartitionSizePerBin, int itemEncodedSlotSize,
+                            int polyModulusDegree, long plainModulus) {
+        MathPreconditions.checkEqual("database.cuckooHashNum", "cuckooHashNum", hashKeys.length, cuckooHashNum);
+        MathPreconditions.checkEqual("database.binNum", "binNum", this.binNum, binNum);
+        MathPreconditions.checkEqual(
+            "database.maxPartitionSizePerBin", "maxPartitionSizePerBin",
+            this.maxPartitionSizePerBin, maxPartitionSizePerBin
+        );
+        MathPreconditions.checkEqual(
+            "database.itemEncodedSlotSize", "itemEncodedSlotSize", this.itemEncodedSlotSize, itemEncodedSlotSize
+        );
+        MathPreconditions.checkEqual(
+            "database.polyModulusDegree", "polyModulusDegree", this.polyModulusDegree, polyModulusDegree
+        );
+        MathPreconditions.checkEqual("database.plainModulus", "plainModulus", this.plainModulus, plainModulus);
+    }
+
+    /**
+     * Saves the database. The database is written into a temporary file, which then replaces the given file.
+     *
+     * @param path path.
+     */
+    public void save(Path path) {
+        Path writingPath = path.resolveSibling(path.getFileName() + WRITING_SUFFIX);
+        try (DataOutputStream outputStream = new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(writingPath), BUFFER_BYTE_LENGTH)
+        )) {
+            outputStream.writeInt(MAGIC);
+            outputStream.writeInt(binNum);
+            outputStream.writeInt(maxPartitionSizePerBin);
+            outputStream.writeInt(itemEncodedSlotSize);
+            outputStream.writeInt(polyModulusDegree);
+            outputStream.writeLong(plainModulus);
+            outputStream.write(oprfKeySeed);
+            outputStream.writeInt(hashKeys.length);
+            for (byte[] hashKey : hashKeys) {
+                outputStream.write(hashKey);
+            }
+            outputStream.writeInt(elementSet.size());
+            for (ByteBuffer element : elementSet) {
+                outputStream.writeInt(element.array().length);
+                outputStream.write(element.array());
+            }
+            outputStream.writeInt(partitionNum);
+            for (int binLoad : binLoads) {
+                outputStream.writeInt(binLoad);
+            }
+            for (long[] row : roots) {
+                for (long root : row) {
+                    outputStream.writeLong(root);
+                }
+            }
+            for (long[][][] ciphertextCoeffs : coeffs) {
+                for (long[][] partitionCoeffs : ciphertextCoeffs) {
+                    for (long[] degreeCoeffs : partitionCoeffs) {
+                        for (long coeff : degreeCoeffs) {
+                            outputStream.writeLong(coeff);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot save database into " + path, e);
+        }
+        try {
+            Files.move(writingPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot save database into " + path, e);
+        }
+    }
+
+    /**
+     * Loads the database.
+     *
+     * @param envType      the environment.
+     * @param sqOprfSender the single-query OPRF sender generating the OPRF key, must be the same type as the one that
+     *                     created the database.
+     * @param path         path.
+     * @return the database.
+     */
+    public static <T> Cmg21UpsiServerDatabase<T> load(EnvType envType, SqOprfSender sqOprfSender, Path path) {
+        Preconditions.checkArgument(Files.exists(path), "Database file does not exist: %s", path);
+        try (DataInputStream inputStream = new DataInputStream(
+            new BufferedInputStream(Files.newInputStream(path), BUFFER_BYTE_LENGTH)
+        )) {
+            int magic = inputStream.readInt();
+            Preconditions.checkArgument(magic == MAGIC, "Invalid database file (magic = %s): %s", magic, path);
+            int binNum = inputStream.readInt();
+            int maxPartitionSizePerBin = inputStream.readInt();
+            int itemEncodedSlotSize = inputStream.readInt();
+            int polyModulusDegree = inputStream.readInt();
+            long plainModulus = inputStream.readLong();
+            byte[] oprfKeySeed = new byte[CommonConstants.BLOCK_BYTE_LENGTH];
+            inputStream.readFully(oprfKeySeed);
+            int cuckooHashNum = inputStream.readInt();
+            MathPreconditions.checkPositive("cuckooHashNum", cuckooHashNum);
+            byte[][] hashKeys = new byte[cuckooHashNum][CommonConstants.BLOCK_BYTE_LENGTH];
+            for (byte[] hashKey : hashKeys) {
+                inputStream.readFully(hashKey);
+            }
+            Cmg21UpsiServerDatabase<T> database = new Cmg21UpsiServerDatabase<>(
+                envType, sqOprfSender, oprfKeySeed, hashKeys,
+                binNum, maxPartitionSizePerBin, itemEncodedSlotSize, polyModulusDegree, plainModulus
+            );
+            int elementNum = inputStream.readInt();
+            MathPreconditions.checkNonNegative("elementNum", elementNum);
+            for (int elementIndex = 0; elementIndex < elementNum; elementIndex++) {
+                byte[] element = new byte[inputStream.readInt()];
+                inputStream.readFully(element);
+                database.elementSet.add(ByteBuffer.wrap(element));
+            }
+            int partitionNum = inputStream.readInt();
+            MathPreconditions.checkNonNegative("partitionNum", partitionNum);
+            for (int bin = 0; bin < binNum; bin++) {
+                database.binLoads[bin] = inputStream.readInt();
+            }
+            if (partitionNum > 0) {
+                database.grow(partitionNum);
+            }
+            for (long[] row : database.roots) {
+                for (int slot = 0; slot < row.length; slot++) {
+                    row[slot] = inputStream.readLong();
+                }
+            }
+            for (long[][][] ciphertextCoeffs : database.coeffs) {
+                for (long[][] partitionCoeffs : ciphertextCoeffs) {
+                    for (long[] degreeCoeffs : partitionCoeffs) {
+                        for (int column = 0; column < degreeCoeffs.length; column++) {
+                            degreeCoeffs[column] = inputStream.readLong();
+                        }
+                    }
+                }
+            }
+            // coefficients are loaded, nothing to interpolate
+            database.dirtyColumns = new BitSet();
+            return database;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot load database from " + path, e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package edu.alibaba.mpc4j.s2pc.upso.upsi.cmg21j;
 
 import edu.alibaba.mpc4j.common.rpc.MpcAbortException;
+import edu.alibaba.mpc4j.common.rpc.MpcAbortPreconditions;
 import edu.alibaba.mpc4j.common.rpc.Party;
 import edu.alibaba.mpc4j.common.rpc.PtoState;
 import edu.alibaba.mpc4j.common.rpc.Rpc;
@@ -10,16 +11,15 @@ import edu.alibaba.mpc4j.common.tool.galoisfield.zp64.Zp64;
 import edu.alibaba.mpc4j.common.tool.galoisfield.zp64.Zp64Factory;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBin;
 import edu.alibaba.mpc4j.common.tool.hashbin.object.cuckoo.CuckooHashBinFactory;
-import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
 import edu.alibaba.mpc4j.crypto.fhe.*;
 import edu.alibaba.mpc4j.crypto.fhe.context.EncryptionParameters;
 import edu.alibaba.mpc4j.crypto.fhe.context.SchemeType;
 import edu.alibaba.mpc4j.crypto.fhe.context.SealContext;
 import edu.alibaba.mpc4j.crypto.fhe.modulus.CoeffModulus;
 import edu.alibaba.mpc4j.crypto.fhe.serialization.SealSerializable;
-import edu.alibaba.mpc4j.s2pc.opf.oprf.MpOprfReceiver;
-import edu.alibaba.mpc4j.s2pc.opf.oprf.OprfFactory;
-import edu.alibaba.mpc4j.s2pc.opf.oprf.OprfReceiverOutput;
+import edu.alibaba.mpc4j.s2pc.opf.sqoprf.SqOprfFactory;
+import edu.alibaba.mpc4j.s2pc.opf.sqoprf.SqOprfReceiver;
+import edu.alibaba.mpc4j.s2pc.opf.sqoprf.SqOprfReceiverOutput;
 import edu.alibaba.mpc4j.s2pc.upso.UpsoUtils;
 import edu.alibaba.mpc4j.s2pc.upso.upsi.AbstractUpsiClient;
 import edu.alibaba.mpc4j.s2pc.upso.upsi.UpsiParams;
@@ -44,9 +44,9 @@ import static edu.alibaba.mpc4j.s2pc.upso.upsi.cmg21j.Cmg21jUpsiPtoDesc.getInsta
 public class Cmg21jUpsiClient<T> extends AbstractUpsiClient<T> {
 
     /**
-     * MP-OPRF receiver
+     * single-query OPRF receiver
      */
-    private final MpOprfReceiver mpOprfReceiver;
+    private final SqOprfReceiver sqOprfReceiver;
     /**
      * UPSI params
      */
@@ -86,8 +86,8 @@ public class Cmg21jUpsiClient<T> extends AbstractUpsiClient<T> {
 
     public Cmg21jUpsiClient(Rpc clientRpc, Party serverParty, Cmg21jUpsiConfig config) {
         super(getInstance(), clientRpc, serverParty, config);
-        mpOprfReceiver = OprfFactory.createMpOprfReceiver(clientRpc, serverParty, config.getMpOprfConfig());
-        addSubPto(mpOprfReceiver);
+        sqOprfReceiver = SqOprfFactory.createReceiver(clientRpc, serverParty, config.getSqOprfConfig());
+        addSubPto(sqOprfReceiver);
     }
 
     @Override
@@ -98,7 +98,7 @@ public class Cmg21jUpsiClient<T> extends AbstractUpsiClient<T> {
         stopWatch.start();
         assert (upsiParams instanceof Cmg21jUpsiParams);
         this.upsiParams = (Cmg21jUpsiParams) upsiParams;
-        mpOprfReceiver.init(this.upsiParams.maxClientElementSize());
+        sqOprfReceiver.init(this.upsiParams.maxClientElementSize());
         zp64 = Zp64Factory.createInstance(envType, this.upsiParams.getPlainModulus());
         stopWatch.stop();
         long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
@@ -115,7 +115,7 @@ public class Cmg21jUpsiClient<T> extends AbstractUpsiClient<T> {
 
         stopWatch.start();
         upsiParams = Cmg21jUpsiParams.SERVER_1M_CLIENT_MAX_5535;
-        mpOprfReceiver.init(upsiParams.maxClientElementSize());
+        sqOprfReceiver.init(upsiParams.maxClientElementSize());
         zp64 = Zp64Factory.createInstance(envType, this.upsiParams.getPlainModulus());
         stopWatch.stop();
         long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
@@ -130,8 +130,11 @@ public class Cmg21jUpsiClient<T> extends AbstractUpsiClient<T> {
         setPtoInput(clientElementSet);
         logPhaseInfo(PtoState.PTO_BEGIN);
 
+        // receive hash keys
+        byte[][] hashKeys = receiveHashKeys();
+
         stopWatch.start();
-        // MP-OPRF
+        // single-query OPRF
         List<ByteBuffer> oprfOutputs = oprf(clientElementList);
         Map<ByteBuffer, ByteBuffer> oprfMap = IntStream.range(0, clientElementSize)
             .boxed()
@@ -143,17 +146,13 @@ public class Cmg21jUpsiClient<T> extends AbstractUpsiClient<T> {
 
         stopWatch.start();
         // generate cuckoo hash bin
-        byte[][] hashKeys = generateCuckooHashBin(oprfOutputs);
-        DataPacketHeader hashKeyHeader = new DataPacketHeader(
-            encodeTaskId, getPtoDesc().getPtoId(), PtoStep.CLIENT_SEND_CUCKOO_HASH_KEYS.ordinal(), extraInfo,
-            rpc.ownParty().getPartyId(), otherParty().getPartyId()
+        MpcAbortPreconditions.checkArgument(
+            generateCuckooHashBin(oprfOutputs, hashKeys), "Failed to insert items into the cuckoo hash bin"
         );
-        List<byte[]> hashKeyPayload = Arrays.stream(hashKeys).collect(Collectors.toList());
-        rpc.send(DataPacket.fromByteArrayList(hashKeyHeader, hashKeyPayload));
         stopWatch.stop();
-        long cuckooHashKeyTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        long cuckooHashTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
-        logStepInfo(PtoState.PTO_STEP, 2, 5, cuckooHashKeyTime, "Client generates cuckoo hash keys");
+        logStepInfo(PtoState.PTO_STEP, 2, 5, cuckooHashTime, "Client generates cuckoo hash bin");
 
         stopWatch.start();
         genEncryptionParameters();
@@ -250,40 +249,60 @@ public class Cmg21jUpsiClient<T> extends AbstractUpsiClient<T> {
     }
 
     /**
-     * client generates no stash cuckoo hash bin.
+     * client receives cuckoo hash keys.
      *
-     * @param items item list.
      * @return hash keys.
+     * @throws MpcAbortException the protocol failure aborts.
      */
-    private byte[][] generateCuckooHashBin(List<ByteBuffer> items) {
-        boolean success = false;
-        byte[][] hashKeys;
-        do {
-            hashKeys = CommonUtils.generateRandomKeys(upsiParams.getCuckooHashNum(), secureRandom);
-            cuckooHashBin = CuckooHashBinFactory.createCuckooHashBin(
-                envType, upsiParams.getCuckooHashBinType(), clientElementSize, upsiParams.getBinNum(), hashKeys
-            );
+    private byte[][] receiveHashKeys() throws MpcAbortException {
+        DataPacketHeader hashKeyHeader = new DataPacketHeader(
+            encodeTaskId, getPtoDesc().getPtoId(), PtoStep.SERVER_SEND_CUCKOO_HASH_KEYS.ordinal(), extraInfo,
+            otherParty().getPartyId(), rpc.ownParty().getPartyId()
+        );
+        List<byte[]> hashKeyPayload = rpc.receive(hashKeyHeader).getPayload();
+        MpcAbortPreconditions.checkArgument(
+            hashKeyPayload.size() == upsiParams.getCuckooHashNum(),
+            "the size of hash keys should be %s", upsiParams.getCuckooHashNum()
+        );
+        return hashKeyPayload.toArray(new byte[0][]);
+    }
+
+    /**
+     * client generates no stash cuckoo hash bin. The hash keys are chosen by the server and are reused until the server
+     * re-keys on its fixed schedule, so that the client aborts when the insertion fails.
+     *
+     * @param items    item list.
+     * @param hashKeys hash keys.
+     * @return true if all items are inserted into the cuckoo hash bin without stash.
+     */
+    private boolean generateCuckooHashBin(List<ByteBuffer> items, byte[][] hashKeys) {
+        cuckooHashBin = CuckooHashBinFactory.createCuckooHashBin(
+            envType, upsiParams.getCuckooHashBinType(), clientElementSize, upsiParams.getBinNum(), hashKeys
+        );
+        try {
             cuckooHashBin.insertItems(items);
-            if (cuckooHashBin.itemNumInStash() == 0) {
-                success = true;
-            }
-        } while (!success);
+        } catch (ArithmeticException e) {
+            return false;
+        }
+        if (cuckooHashBin.itemNumInStash() > 0) {
+            return false;
+        }
         cuckooHashBin.insertPaddingItems(botElementByteBuffer);
-        return hashKeys;
+        return true;
     }
 
     /**
-     * client executes MP-OPRF protocol.
+     * client executes single-query OPRF protocol.
      *
      * @param clientElementArrayList client element array list.
-     * @return MP-OPRF output.
+     * @return OPRF output.
      * @throws MpcAbortException the protocol failure aborts.
      */
     private List<ByteBuffer> oprf(List<ByteBuffer> clientElementArrayList) throws MpcAbortException {
         byte[][] oprfReceiverInputs = clientElementArrayList.stream()
             .map(ByteBuffer::array)
             .toArray(byte[][]::new);
-        OprfReceiverOutput oprfReceiverOutput = mpOprfReceiver.oprf(oprfReceiverInputs);
+        SqOprfReceiverOutput oprfReceiverOutput = sqOprfReceiver.oprf(oprfReceiverInputs);
         IntStream intStream = IntStream.range(0, clientElementArrayList.size());
         intStream = parallel ? intStream.parallel() : intStream;
         return intStream
@@ -2,10 +2,12 @@ package edu.alibaba.mpc4j.s2pc.upso.upsi.cmg21j;
 
 import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
 import edu.alibaba.mpc4j.common.rpc.pto.AbstractMultiPartyPtoConfig;
-import edu.alibaba.mpc4j.s2pc.opf.oprf.MpOprfConfig;
-import edu.alibaba.mpc4j.s2pc.opf.oprf.OprfFactory;
+import edu.alibaba.mpc4j.common.tool.MathPreconditions;
+import edu.alibaba.mpc4j.s2pc.opf.sqoprf.SqOprfConfig;
+import edu.alibaba.mpc4j.s2pc.opf.sqoprf.SqOprfFactory;
 import edu.alibaba.mpc4j.s2pc.upso.upsi.UpsiConfig;
 import edu.alibaba.mpc4j.s2pc.upso.upsi.UpsiFactory.UpsiType;
+import edu.alibaba.mpc4j.s2pc.upso.upsi.cmg21.Cmg21UpsiServerDatabase;
 
 /**
  * CMG21J config.
@@ -15,13 +17,18 @@ import edu.alibaba.mpc4j.s2pc.upso.upsi.UpsiFactory.UpsiType;
  */
 public class Cmg21jUpsiConfig extends AbstractMultiPartyPtoConfig implements UpsiConfig {
     /**
-     * MP-OPRF
+     * single-query OPRF
      */
-    private final MpOprfConfig mpOprfConfig;
+    private final SqOprfConfig sqOprfConfig;
+    /**
+     * number of queries between two re-keys of the server database
+     */
+    private final int rekeyInterval;
 
     public Cmg21jUpsiConfig(Builder builder) {
-        super(SecurityModel.MALICIOUS, builder.mpOprfConfig);
-        mpOprfConfig = builder.mpOprfConfig;
+        super(SecurityModel.MALICIOUS, builder.sqOprfConfig);
+        sqOprfConfig = builder.sqOprfConfig;
+        rekeyInterval = builder.rekeyInterval;
     }
 
     @Override
@@ -29,22 +36,49 @@ public class Cmg21jUpsiConfig extends AbstractMultiPartyPtoConfig implements Ups
         return UpsiType.CMG21J;
     }
 
-    public MpOprfConfig getMpOprfConfig() {
-        return mpOprfConfig;
+    public SqOprfConfig getSqOprfConfig() {
+        return sqOprfConfig;
+    }
+
+    /**
+     * Gets the number of queries between two re-keys of the server database. The server chooses new cuckoo hash keys
+     * on this fixed schedule, independent of the client's inputs.
+     *
+     * @return the number of queries between two re-keys.
+     */
+    public int getRekeyInterval() {
+        return rekeyInterval;
     }
 
     public static class Builder implements org.apache.commons.lang3.builder.Builder<Cmg21jUpsiConfig> {
         /**
-         * MP-OPRF
+         * single-query OPRF
          */
-        private MpOprfConfig mpOprfConfig;
+        private SqOprfConfig sqOprfConfig;
+        /**
+         * number of queries between two re-keys of the server database
+         */
+        private int rekeyInterval;
 
         public Builder() {
-            mpOprfConfig = OprfFactory.createMpOprfDefaultConfig(SecurityModel.SEMI_HONEST);
+            sqOprfConfig = SqOprfFactory.createDefaultConfig(SecurityModel.SEMI_HONEST);
+            rekeyInterval = Cmg21UpsiServerDatabase.DEFAULT_REKEY_INTERVAL;
+        }
+
+        public Builder setSqOprfConfig(SqOprfConfig sqOprfConfig) {
+            this.sqOprfConfig = sqOprfConfig;
+            return this;
         }
 
-        public Builder setMpOprfConfig(MpOprfConfig mpOprfConfig) {
-            this.mpOprfConfig = mpOprfConfig;
+        /**
+         * Sets the number of queries between two re-keys of the server database.
+         *
+         * @param rekeyInterval the number of queries between two re-keys.
+         * @return the builder.
+         */
+        public Builder setRekeyInterval(int rekeyInterval) {
+            MathPreconditions.checkPositive("rekeyInterval", rekeyInterval);
+            this.rekeyInterval = rekeyInterval;
             return this;
         }
 
@@ -29,9 +29,9 @@ public class Cmg21jUpsiPtoDesc implements PtoDesc {
      */
     enum PtoStep {
         /**
-         * client sends cuckoo hash keys
+         * server sends cuckoo hash keys
          */
-        CLIENT_SEND_CUCKOO_HASH_KEYS,
+        SERVER_SEND_CUCKOO_HASH_KEYS,
         /**
          * client sends encryption params
          */
@@ -3,26 +3,22 @@ package edu.alibaba.mpc4j.s2pc.upso.upsi.cmg21j;
 import edu.alibaba.mpc4j.common.rpc.*;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacket;
 import edu.alibaba.mpc4j.common.rpc.utils.DataPacketHeader;
-import edu.alibaba.mpc4j.common.tool.hashbin.object.HashBinEntry;
-import edu.alibaba.mpc4j.common.tool.hashbin.object.RandomPadHashBin;
-import edu.alibaba.mpc4j.common.tool.polynomial.zp64.Zp64Poly;
-import edu.alibaba.mpc4j.common.tool.polynomial.zp64.Zp64PolyFactory;
 import edu.alibaba.mpc4j.common.tool.utils.CommonUtils;
 import edu.alibaba.mpc4j.crypto.fhe.*;
 import edu.alibaba.mpc4j.crypto.fhe.context.EncryptionParameters;
 import edu.alibaba.mpc4j.crypto.fhe.context.ParmsId;
 import edu.alibaba.mpc4j.crypto.fhe.context.SchemeType;
 import edu.alibaba.mpc4j.crypto.fhe.context.SealContext;
-import edu.alibaba.mpc4j.s2pc.opf.oprf.MpOprfSender;
-import edu.alibaba.mpc4j.s2pc.opf.oprf.MpOprfSenderOutput;
-import edu.alibaba.mpc4j.s2pc.opf.oprf.OprfFactory;
+import edu.alibaba.mpc4j.s2pc.opf.sqoprf.SqOprfFactory;
+import edu.alibaba.mpc4j.s2pc.opf.sqoprf.SqOprfSender;
 import edu.alibaba.mpc4j.s2pc.upso.UpsoUtils;
 import edu.alibaba.mpc4j.s2pc.upso.upsi.AbstractUpsiServer;
 import edu.alibaba.mpc4j.s2pc.upso.upsi.UpsiParams;
+import edu.alibaba.mpc4j.s2pc.upso.upsi.cmg21.Cmg21UpsiServerDatabase;
 import edu.alibaba.mpc4j.s2pc.upso.upsi.cmg21j.Cmg21jUpsiPtoDesc.PtoStep;
 
 import java.io.IOException;
-import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -37,13 +33,25 @@ import java.util.stream.IntStream;
 public class Cmg21jUpsiServer<T> extends AbstractUpsiServer<T> {
 
     /**
-     * MP-OPRF sender
+     * single-query OPRF sender
      */
-    private final MpOprfSender mpOprfSender;
+    private final SqOprfSender sqOprfSender;
     /**
      * UPSI params
      */
     private Cmg21jUpsiParams upsiParams;
+    /**
+     * server database
+     */
+    private Cmg21UpsiServerDatabase<T> database;
+    /**
+     * number of queries between two re-keys
+     */
+    private final int rekeyInterval;
+    /**
+     * number of queries since the last re-key
+     */
+    private int queryNum;
     /**
      * relinearization keys
      */
@@ -60,27 +68,56 @@ public class Cmg21jUpsiServer<T> extends AbstractUpsiServer<T> {
      * evaluator
      */
     private Evaluator evaluator;
-    /**
-     * zp64
-     */
-    private Zp64Poly zp64Poly;
 
     public Cmg21jUpsiServer(Rpc serverRpc, Party clientParty, Cmg21jUpsiConfig config) {
         super(Cmg21jUpsiPtoDesc.getInstance(), serverRpc, clientParty, config);
-        mpOprfSender = OprfFactory.createMpOprfSender(serverRpc, clientParty, config.getMpOprfConfig());
-        addSubPto(mpOprfSender);
+        sqOprfSender = SqOprfFactory.createSender(serverRpc, clientParty, config.getSqOprfConfig());
+        addSubPto(sqOprfSender);
+        rekeyInterval = config.getRekeyInterval();
     }
 
     @Override
     public void init(UpsiParams upsiParams) throws MpcAbortException {
+        assert (upsiParams instanceof Cmg21jUpsiParams);
+        Cmg21jUpsiParams params = (Cmg21jUpsiParams) upsiParams;
+        init(params, Cmg21UpsiServerDatabase.create(
+            envType, sqOprfSender, params.getCuckooHashNum(), params.getBinNum(), params.getMaxPartitionSizePerBin(),
+            params.getItemEncodedSlotSize(), params.getPolyModulusDegree(), params.getPlainModulus(), secureRandom
+        ));
+    }
+
+    @Override
+    public void init(int maxClientElementSize) throws MpcAbortException {
+        init(Cmg21jUpsiParams.SERVER_1M_CLIENT_MAX_5535);
+    }
+
+    /**
+     * server initializes the protocol with the database saved by {@link Cmg21UpsiServerDatabase#save(Path)}.
+     *
+     * @param upsiParams   UPSI params.
+     * @param databasePath database path.
+     * @throws MpcAbortException the protocol failure aborts.
+     */
+    public void init(UpsiParams upsiParams, Path databasePath) throws MpcAbortException {
+        assert (upsiParams instanceof Cmg21jUpsiParams);
+        Cmg21jUpsiParams params = (Cmg21jUpsiParams) upsiParams;
+        Cmg21UpsiServerDatabase<T> database = Cmg21UpsiServerDatabase.load(envType, sqOprfSender, databasePath);
+        database.checkParams(
+            params.getCuckooHashNum(), params.getBinNum(), params.getMaxPartitionSizePerBin(),
+            params.getItemEncodedSlotSize(), params.getPolyModulusDegree(), params.getPlainModulus()
+        );
+        init(params, database);
+    }
+
+    private void init(Cmg21jUpsiParams upsiParams, Cmg21UpsiServerDatabase<T> database) throws MpcAbortException {
         setInitInput(upsiParams.maxClientElementSize());
         logPhaseInfo(PtoState.INIT_BEGIN);
 
         stopWatch.start();
-        assert (upsiParams instanceof Cmg21jUpsiParams);
-        this.upsiParams = (Cmg21jUpsiParams) upsiParams;
-        mpOprfSender.init(this.upsiParams.maxClientElementSize());
-        zp64Poly = Zp64PolyFactory.createInstance(envType, this.upsiParams.getPlainModulus());
+        this.upsiParams = upsiParams;
+        this.database = database;
+        queryNum = 0;
+        sqOprfSender.init(upsiParams.maxClientElementSize(), database.getSqOprfKey());
         stopWatch.stop();
         long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
@@ -89,47 +126,72 @@ public class Cmg21jUpsiServer<T> extends AbstractUpsiServer<T> {
         logPhaseInfo(PtoState.INIT_END);
     }
 
+    /**
+     * Gets the server database. The database can be updated between queries and saved for later initializations.
+     *
+     * @return the server database.
+     */
+    public Cmg21UpsiServerDatabase<T> getDatabase() {
+        return database;
+    }
+
     @Override
-    public void init(int maxClientElementSize) throws MpcAbortException {
-        setInitInput(maxClientElementSize);
-        logPhaseInfo(PtoState.INIT_BEGIN);
+    public void psi(Set<T> serverElementSet, int clientElementSize) throws MpcAbortException, IOException {
+        setPtoInput(serverElementSet, clientElementSize);
+        logPhaseInfo(PtoState.PTO_BEGIN);
 
         stopWatch.start();
-        upsiParams = Cmg21jUpsiParams.SERVER_1M_CLIENT_MAX_5535;
-        mpOprfSender.init(upsiParams.maxClientElementSize());
-        zp64Poly = Zp64PolyFactory.createInstance(envType, this.upsiParams.getPlainModulus());
+        // only the difference with the current database is inserted or deleted
+        database.setParallel(parallel);
+        database.update(serverElementSet);
         stopWatch.stop();
-        long initTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        long updateTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
-        logStepInfo(PtoState.INIT_STEP, 1, 1, initTime);
+        logStepInfo(PtoState.PTO_STEP, 1, 4, updateTime, "Server updates database");
 
-        logPhaseInfo(PtoState.INIT_END);
+        reply(1, 4);
+
+        logPhaseInfo(PtoState.PTO_END);
     }
 
-    @Override
-    public void psi(Set<T> serverElementSet, int clientElementSize) throws MpcAbortException, IOException {
-        setPtoInput(serverElementSet, clientElementSize);
+    /**
+     * server executes the protocol with the current database.
+     *
+     * @param clientElementSize client element size.
+     * @throws MpcAbortException the protocol failure aborts.
+     * @throws IOException if I/O operations failed.
+     */
+    public void psi(int clientElementSize) throws MpcAbortException, IOException {
+        setPtoInput(database.size(), clientElementSize);
         logPhaseInfo(PtoState.PTO_BEGIN);
 
+        reply(0, 3);
+
+        logPhaseInfo(PtoState.PTO_END);
+    }
+
+    private void reply(int stepOffset, int stepNum) throws MpcAbortException, IOException {
+        // re-key on a fixed schedule, so that whether the server re-keys does not depend on the client's inputs
+        rekey();
+        // send hash keys
+        sendHashKeys();
+
         stopWatch.start();
-        // MP-OPRF
-        List<ByteBuffer> prfOutputList = oprf();
+        // single-query OPRF
+        sqOprfSender.oprf(clientElementSize);
         stopWatch.stop();
         long oprfTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
-        logStepInfo(PtoState.PTO_STEP, 1, 3, oprfTime, "OPRF");
+        logStepInfo(PtoState.PTO_STEP, stepOffset + 1, stepNum, oprfTime, "OPRF");
+
+        stopWatch.start();
+        int binSize = database.getBinSize();
+        List<long[][]> encodeDatabase = database.getEncodedDatabase();
+        stopWatch.stop();
+        long encodedTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        stopWatch.reset();
+        logStepInfo(PtoState.PTO_STEP, stepOffset + 2, stepNum, encodedTime, "Server loads encoded database");
 
-        // receive hask keys
-        DataPacketHeader cuckooHashKeyHeader = new DataPacketHeader(
-            encodeTaskId, getPtoDesc().getPtoId(), PtoStep.CLIENT_SEND_CUCKOO_HASH_KEYS.ordinal(), extraInfo,
-            otherParty().getPartyId(), rpc.ownParty().getPartyId()
-        );
-        List<byte[]> hashKeyPayload = rpc.receive(cuckooHashKeyHeader).getPayload();
-        MpcAbortPreconditions.checkArgument(
-            hashKeyPayload.size() == upsiParams.getCuckooHashNum(),
-            "the size of hash keys " + "should be {}", upsiParams.getCuckooHashNum()
-        );
-        byte[][] hashKeys = hashKeyPayload.toArray(new byte[0][]);
         // receive encryption parameter and relinearization keys
         DataPacketHeader encryptionParamsHeader = new DataPacketHeader(
             encodeTaskId, getPtoDesc().getPtoId(), PtoStep.CLIENT_SEND_ENCRYPTION_PARAMS.ordinal(), extraInfo,
@@ -153,20 +215,6 @@ public class Cmg21jUpsiServer<T> extends AbstractUpsiServer<T> {
         );
         List<byte[]> queryPayload =rpc.receive(queryHeader).getPayload();
 
-        stopWatch.start();
-        List<List<HashBinEntry<ByteBuffer>>> hashBins = generateCompleteHashBin(prfOutputList, hashKeys);
-        int binSize = hashBins.get(0).size();
-        List<long[][]> encodeDatabase = UpsoUtils.encodeDatabase(
-            zp64Poly, hashBins, binSize, upsiParams.getPlainModulus(), upsiParams.getMaxPartitionSizePerBin(),
-            upsiParams.getItemEncodedSlotSize(), upsiParams.getItemPerCiphertext(), upsiParams.getBinNum(),
-            upsiParams.getCiphertextNum(), upsiParams.getPolyModulusDegree(), parallel
-        );
-        hashBins.clear();
-        stopWatch.stop();
-        long encodedTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
-        stopWatch.reset();
-        logStepInfo(PtoState.PTO_STEP, 2, 3, encodedTime, "Server encodes database");
-
         stopWatch.start();
         List<Ciphertext[]> responsePayload = computeResponse(encodeDatabase, queryPayload, binSize);
         DataPacketHeader responseHeader = new DataPacketHeader(
@@ -183,49 +231,24 @@ public class Cmg21jUpsiServer<T> extends AbstractUpsiServer<T> {
         stopWatch.stop();
         long replyTime = stopWatch.getTime(TimeUnit.MILLISECONDS);
         stopWatch.reset();
-        logStepInfo(PtoState.PTO_STEP, 3, 3, replyTime, "Server generates reply");
-
-        logPhaseInfo(PtoState.PTO_END);
+        logStepInfo(PtoState.PTO_STEP, stepOffset + 3, stepNum, replyTime, "Server generates reply");
     }
 
-    /**
-     * generate complete hash bin.
-     *
-     * @param itemList element list.
-     * @param hashKeys hash keys.
-     * @return complete hash bin.
-     */
-    private List<List<HashBinEntry<ByteBuffer>>> generateCompleteHashBin(List<ByteBuffer> itemList, byte[][] hashKeys) {
-        RandomPadHashBin<ByteBuffer> completeHash = new RandomPadHashBin<>(
-            envType, upsiParams.getBinNum(), serverElementSize, hashKeys
-        );
-        completeHash.insertItems(itemList);
-        int maxBinSize = IntStream.range(0, upsiParams.getBinNum()).map(completeHash::binSize).max().orElse(0);
-        List<List<HashBinEntry<ByteBuffer>>> completeHashBins = new ArrayList<>();
-        HashBinEntry<ByteBuffer> paddingEntry = HashBinEntry.fromEmptyItem(botElementByteBuffer);
-        for (int i = 0; i < completeHash.binNum(); i++) {
-            List<HashBinEntry<ByteBuffer>> binItems = new ArrayList<>(completeHash.getBin(i));
-            int paddingNum = maxBinSize - completeHash.binSize(i);
-            IntStream.range(0, paddingNum).mapToObj(j -> paddingEntry).forEach(binItems::add);
-            completeHashBins.add(binItems);
+    private void rekey() {
+        if (queryNum == rekeyInterval) {
+            database.rekey(secureRandom);
+            queryNum = 0;
         }
-        itemList.clear();
-        return completeHashBins;
+        queryNum++;
     }
 
-    /**
-     * server executes MP-OPRF protocol.
-     *
-     * @return MP-OPRF output.
-     * @throws MpcAbortException the protocol failure aborts.
-     */
-    private List<ByteBuffer> oprf() throws MpcAbortException {
-        MpOprfSenderOutput oprfSenderOutput = mpOprfSender.oprf(clientElementSize);
-        IntStream intStream = IntStream.range(0, serverElementSize);
-        intStream = parallel ? intStream.parallel() : intStream;
-        return new ArrayList<>(Arrays.asList(intStream
-            .mapToObj(i -> ByteBuffer.wrap(oprfSenderOutput.getPrf(serverElementList.get(i).array())))
-            .toArray(ByteBuffer[]::new)));
+    private void sendHashKeys() {
+        DataPacketHeader cuckooHashKeyHeader = new DataPacketHeader(
+            encodeTaskId, getPtoDesc().getPtoId(), PtoStep.SERVER_SEND_CUCKOO_HASH_KEYS.ordinal(), extraInfo,
+            rpc.ownParty().getPartyId(), otherParty().getPartyId()
+        );
+        List<byte[]> hashKeyPayload = Arrays.stream(database.getHashKeys()).collect(Collectors.toList());
+        rpc.send(DataPacket.fromByteArrayList(cuckooHashKeyHeader, hashKeyPayload));
     }
 
     /**
@@ -0,0 +1,237 @@
+package edu.alibaba.mpc4j.s2pc.upso.upsi.cmg21;
+
+import edu.alibaba.mpc4j.common.rpc.desc.SecurityModel;
+import edu.alibaba.mpc4j.common.rpc.pto.AbstractTwoPartyMemoryRpcPto;
+import edu.alibaba.mpc4j.common.tool.EnvType;
+import edu.alibaba.mpc4j.common.tool.crypto.prf.Prf;
+import edu.alibaba.mpc4j.common.tool.crypto.prf.PrfFactory;
+import edu.alibaba.mpc4j.common.tool.hashbin.object.HashBinEntry;
+import edu.alibaba.mpc4j.common.tool.polynomial.zp64.Zp64Poly;
+import edu.alibaba.mpc4j.common.tool.polynomial.zp64.Zp64PolyFactory;
+import edu.alibaba.mpc4j.common.tool.utils.ObjectUtils;
+import edu.alibaba.mpc4j.s2pc.opf.sqoprf.SqOprfFactory;
+import edu.alibaba.mpc4j.s2pc.opf.sqoprf.SqOprfSender;
+import edu.alibaba.mpc4j.s2pc.pso.PsoUtils;
+import edu.alibaba.mpc4j.s2pc.upso.UpsoUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * CMG21 UPSI server database test.
+ *
+ * @author Weiran Liu
+ * @date 2024/8/5
+ */
+public class Cmg21UpsiServerDatabaseTest extends AbstractTwoPartyMemoryRpcPto {
+    /**
+     * UPSI params
+     */
+    private static final Cmg21UpsiParams PARAMS = Cmg21UpsiParams.SERVER_2K_CLIENT_MAX_1;
+    /**
+     * default size
+     */
+    private static final int DEFAULT_SIZE = PARAMS.expectServerSize();
+    /**
+     * large size, so that each bin has several partitions
+     */
+    private static final int LARGE_SIZE = 1 << 13;
+    /**
+     * single-query OPRF sender
+     */
+    private final SqOprfSender sqOprfSender;
+    /**
+     * zp64 poly
+     */
+    private final Zp64Poly zp64Poly;
+
+    public Cmg21UpsiServerDatabaseTest() {
+        super(Cmg21UpsiServerDatabase.class.getSimpleName());
+        sqOprfSender = SqOprfFactory.createSender(
+            firstRpc, secondRpc.ownParty(), SqOprfFactory.createDefaultConfig(SecurityModel.SEMI_HONEST)
+        );
+        zp64Poly = Zp64PolyFactory.createInstance(EnvType.STANDARD, PARAMS.getPlainModulus());
+    }
+
+    @Test
+    public void testDefault() {
+        testInsertDelete(DEFAULT_SIZE, false);
+    }
+
+    @Test
+    public void testParallelDefault() {
+        testInsertDelete(DEFAULT_SIZE, true);
+    }
+
+    @Test
+    public void testLarge() {
+        testInsertDelete(LARGE_SIZE, false);
+    }
+
+    @Test
+    public void testParallelLarge() {
+        testInsertDelete(LARGE_SIZE, true);
+    }
+
+    private void testInsertDelete(int size, boolean parallel) {
+        Cmg21UpsiServerDatabase<String> database = createDatabase();
+        database.setParallel(parallel);
+        List<Set<String>> sets = PsoUtils.generateStringSets("ID", size, size / 2);
+        Set<String> elementSet = sets.get(0);
+        Set<String> updateSet = sets.get(1);
+        // insert
+        database.insert(elementSet);
+        Assert.assertEquals(elementSet.size(), database.size());
+        Assert.assertEquals(0, database.getBinSize() % PARAMS.getMaxPartitionSizePerBin());
+        elementSet.forEach(element -> Assert.assertTrue(match(database, element)));
+        updateSet.stream()
+            .filter(element -> !elementSet.contains(element))
+            .forEach(element -> Assert.assertFalse(match(database, element)));
+        // delete half of the elements
+        List<String> elementList = new ArrayList<>(elementSet);
+        Set<String> deleteSet = new HashSet<>(elementList.subList(0, elementList.size() / 2));
+        Set<String> remainSet = new HashSet<>(elementList.subList(elementList.size() / 2, elementList.size()));
+        database.delete(deleteSet);
+        Assert.assertEquals(remainSet.size(), database.size());
+        deleteSet.forEach(element -> {
+            Assert.assertFalse(database.contains(element));
+            Assert.assertFalse(match(database, element));
+        });
+        remainSet.forEach(element -> Assert.assertTrue(match(database, element)));
+        // update to the other set
+        database.update(updateSet);
+        Assert.assertEquals(updateSet.size(), database.size());
+        updateSet.forEach(element -> {
+            Assert.assertTrue(database.contains(element));
+            Assert.assertTrue(match(database, element));
+        });
+        remainSet.stream()
+            .filter(element -> !updateSet.contains(element))
+            .forEach(element -> Assert.assertFalse(match(database, element)));
+    }
+
+    @Test
+    public void testRekey() {
+        Cmg21UpsiServerDatabase<String> database = createDatabase();
+        List<Set<String>> sets = PsoUtils.generateStringSets("ID", DEFAULT_SIZE, DEFAULT_SIZE / 2);
+        Set<String> elementSet = sets.get(0);
+        database.insert(elementSet);
+        byte[][] hashKeys = database.getHashKeys();
+        int binSize = database.getBinSize();
+        database.rekey(SECURE_RANDOM);
+        // new hash keys, same elements
+        for (int i = 0; i < hashKeys.length; i++) {
+            Assert.assertFalse(Arrays.equals(hashKeys[i], database.getHashKeys()[i]));
+        }
+        Assert.assertEquals(elementSet.size(), database.size());
+        Assert.assertTrue(database.getBinSize() >= binSize);
+        elementSet.forEach(element -> Assert.assertTrue(match(database, element)));
+        sets.get(1).stream()
+            .filter(element -> !elementSet.contains(element))
+            .forEach(element -> Assert.assertFalse(match(database, element)));
+        // the re-keyed database can be updated
+        database.update(sets.get(1));
+        sets.get(1).forEach(element -> Assert.assertTrue(match(database, element)));
+    }
+
+    @Test
+    public void testSaveLoad() throws IOException {
+        Cmg21UpsiServerDatabase<String> database = createDatabase();
+        Set<String> elementSet = PsoUtils.generateStringSets("ID", DEFAULT_SIZE, 1).get(0);
+        database.insert(elementSet);
+        Path path = Files.createTempFile("mpc4j_cmg21_database_test_", ".db");
+        try {
+            database.save(path);
+            Cmg21UpsiServerDatabase<String> loadDatabase = Cmg21UpsiServerDatabase.load(
+                EnvType.STANDARD, sqOprfSender, path
+            );
+            loadDatabase.checkParams(
+                PARAMS.getCuckooHashNum(), PARAMS.getBinNum(), PARAMS.getMaxPartitionSizePerBin(),
+                PARAMS.getItemEncodedSlotSize(), PARAMS.getPolyModulusDegree(), PARAMS.getPlainModulus()
+            );
+            Assert.assertEquals(database.size(), loadDatabase.size());
+            Assert.assertEquals(database.getBinSize(), loadDatabase.getBinSize());
+            Assert.assertArrayEquals(database.getHashKeys(), loadDatabase.getHashKeys());
+            assertEncodedDatabaseEquals(database, loadDatabase);
+            // the OPRF key is the same
+            for (String element : elementSet) {
+                byte[] input = ObjectUtils.objectToByteArray(element);
+                Assert.assertArrayEquals(
+                    database.getSqOprfKey().getPrf(input), loadDatabase.getSqOprfKey().getPrf(input)
+                );
+                Assert.assertTrue(loadDatabase.contains(element));
+            }
+            // the loaded database can be updated in the same way
+            List<String> deleteList = elementSet.stream().limit(DEFAULT_SIZE / 2).collect(Collectors.toList());
+            database.delete(deleteList);
+            loadDatabase.delete(deleteList);
+            assertEncodedDatabaseEquals(database, loadDatabase);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private Cmg21UpsiServerDatabase<String> createDatabase() {
+        return Cmg21UpsiServerDatabase.create(
+            EnvType.STANDARD, sqOprfSender, PARAMS.getCuckooHashNum(), PARAMS.getBinNum(),
+            PARAMS.getMaxPartitionSizePerBin(), PARAMS.getItemEncodedSlotSize(), PARAMS.getPolyModulusDegree(),
+            PARAMS.getPlainModulus(), SECURE_RANDOM
+        );
+    }
+
+    private void assertEncodedDatabaseEquals(Cmg21UpsiServerDatabase<String> expect,
+                                             Cmg21UpsiServerDatabase<String> actual) {
+        List<long[][]> expectEncodedDatabase = expect.getEncodedDatabase();
+        List<long[][]> actualEncodedDatabase = actual.getEncodedDatabase();
+        Assert.assertEquals(expectEncodedDatabase.size(), actualEncodedDatabase.size());
+        for (int i = 0; i < expectEncodedDatabase.size(); i++) {
+            Assert.assertArrayEquals(expectEncodedDatabase.get(i), actualEncodedDatabase.get(i));
+        }
+    }
+
+    /**
+     * Returns if the element matches the encoded database, i.e., for each hash, there is a partition in the bin such
+     * that all encoded slots of the element are roots of the partition polynomials.
+     *
+     * @param database database.
+     * @param element  element.
+     * @return true if the element matches the encoded database.
+     */
+    private boolean match(Cmg21UpsiServerDatabase<String> database, String element) {
+        byte[] prf = database.getSqOprfKey().getPrf(ObjectUtils.objectToByteArray(element));
+        int itemEncodedSlotSize = PARAMS.getItemEncodedSlotSize();
+        int maxPartitionSizePerBin = PARAMS.getMaxPartitionSizePerBin();
+        long[] roots = UpsoUtils.getHashBinEntryEncodedArray(
+            HashBinEntry.fromRealItem(0, ByteBuffer.wrap(prf)), false, itemEncodedSlotSize, PARAMS.getPlainModulus()
+        );
+        List<long[][]> encodedDatabase = database.getEncodedDatabase();
+        int partitionNum = database.getBinSize() / maxPartitionSizePerBin;
+        for (byte[] hashKey : database.getHashKeys()) {
+            Prf hash = PrfFactory.createInstance(EnvType.STANDARD, Integer.BYTES);
+            hash.setKey(hashKey);
+            int bin = hash.getInteger(prf, PARAMS.getBinNum());
+            int ciphertextIndex = bin / PARAMS.getItemPerCiphertext();
+            int columnOffset = (bin % PARAMS.getItemPerCiphertext()) * itemEncodedSlotSize;
+            boolean binMatch = IntStream.range(0, partitionNum).anyMatch(partition -> {
+                long[][] partitionCoeffs = encodedDatabase.get(ciphertextIndex * partitionNum + partition);
+                return IntStream.range(0, itemEncodedSlotSize).allMatch(l -> {
+                    long[] columnCoeffs = IntStream.range(0, maxPartitionSizePerBin + 1)
+                        .mapToLong(j -> partitionCoeffs[j][columnOffset + l])
+                        .toArray();
+                    return zp64Poly.evaluate(columnCoeffs, roots[l]) == 0L;
+                });
+            });
+            if (!binMatch) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
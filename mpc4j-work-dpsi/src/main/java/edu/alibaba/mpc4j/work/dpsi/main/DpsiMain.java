@@ -81,7 +81,7 @@ public class DpsiMain extends AbstractMainTwoPartyPto {
     public DpsiMain(Properties properties, String ownName) {
         super(properties, ownName);
         // read common settings
-        LOGGER.info("{} read common settings", ownRpc.ownParty().getPartyName());
+        LOGGER.info("{} read common settings", ownName);
         elementByteLength = PropertiesUtils.readInt(properties, "element_byte_length");
         int[] serverLogSetSizes = PropertiesUtils.readLogIntArray(properties, "server_log_set_size");
         int[] clientLogSetSizes = PropertiesUtils.readLogIntArray(properties, "client_log_set_size");
@@ -94,7 +94,7 @@ public class DpsiMain extends AbstractMainTwoPartyPto {
         serverSetSizes = Arrays.stream(serverLogSetSizes).map(logSetSize -> 1 << logSetSize).toArray();
         clientSetSizes = Arrays.stream(clientLogSetSizes).map(logSetSize -> 1 << logSetSize).toArray();
         // read PTO settings
-        LOGGER.info("{} read PTO settings", ownRpc.ownParty().getPartyName());
+        LOGGER.info("{} read PTO settings", ownName);
         dpsiMainType = MainPtoConfigUtils.readEnum(DpsiMainType.class, properties, PTO_NAME_KEY);
         config = DpsiConfigUtils.createConfig(properties);
     }
@@ -399,8 +399,7 @@ public class DpsiMain extends AbstractMainTwoPartyPto {
         String ownName = args[1];
         String ptoType = MainPtoConfigUtils.readPtoType(properties);
         Preconditions.checkArgument(ptoType.equals(PTO_TYPE_NAME));
-        DpsiMain dpsiMain = new DpsiMain(properties, ownName);
-        dpsiMain.runNetty();
+        AbstractMainTwoPartyPto.run(properties, ownName, DpsiMain::new);
         System.exit(0);
     }
 }
@@ -1,5 +1,6 @@
 package edu.alibaba.mpc4j.work.payable.main;
 
+import edu.alibaba.mpc4j.common.rpc.main.AbstractMainTwoPartyPto;
 import edu.alibaba.mpc4j.common.rpc.main.MainPtoConfigUtils;
 import edu.alibaba.mpc4j.common.tool.utils.PropertiesUtils;
 import edu.alibaba.mpc4j.work.payable.main.pir.PayablePirMain;
@@ -30,12 +31,10 @@ public class PayableMain {
         String taskType = MainPtoConfigUtils.readPtoType(properties);
         switch (taskType) {
             case PayablePirMain.TASK_NAME:
-                PayablePirMain payablePirMain = new PayablePirMain(properties, ownName);
-                payablePirMain.runNetty();
+                AbstractMainTwoPartyPto.run(properties, ownName, PayablePirMain::new);
                 break;
             case PayablePsiMain.TASK_NAME:
-                PayablePsiMain payablePsiMain = new PayablePsiMain(properties, ownName);
-                payablePsiMain.runNetty();
+                AbstractMainTwoPartyPto.run(properties, ownName, PayablePsiMain::new);
                 break;
             default:
                 throw new IllegalArgumentException("Invalid task_type: " + taskType);
@@ -85,7 +85,7 @@ public class PayablePirMain extends AbstractMainTwoPartyPto {
 
     public PayablePirMain(Properties properties, String ownName) {
         super(properties, ownName);
-        LOGGER.info("{} read common settings", ownRpc.ownParty().getPartyName());
+        LOGGER.info("{} read common settings", ownName);
         elementBitLength = PropertiesUtils.readInt(properties, "element_bit_length");
         parallel = PropertiesUtils.readBoolean(properties, "parallel");
         // server log element size
@@ -93,7 +93,7 @@ public class PayablePirMain extends AbstractMainTwoPartyPto {
         queryNum = PropertiesUtils.readInt(properties, "query_number");
         setSizeNum = serverLogSetSizes.length;
         serverSetSizes = Arrays.stream(serverLogSetSizes).map(logSetSize -> 1 << logSetSize).toArray();
-        LOGGER.info("{} read PTO config", ownRpc.ownParty().getPartyName());
+        LOGGER.info("{} read PTO config", ownName);
         payablePirMainType = MainPtoConfigUtils.readEnum(PayablePirMainType.class, properties, PTO_NAME_KEY);
         config = PayablePirConfigUtils.createPayablePirConfig(properties);
     }
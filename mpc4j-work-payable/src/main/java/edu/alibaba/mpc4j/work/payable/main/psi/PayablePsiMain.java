@@ -83,7 +83,7 @@ public class PayablePsiMain extends AbstractMainTwoPartyPto {
 
     public PayablePsiMain(Properties properties, String ownName) {
         super(properties, ownName);
-        LOGGER.info("{} read common settings", ownRpc.ownParty().getPartyName());
+        LOGGER.info("{} read common settings", ownName);
         elementByteLength = PropertiesUtils.readInt(properties, "element_byte_length");
         parallel = PropertiesUtils.readBoolean(properties, "parallel");
         int[] serverLogSetSizes = PropertiesUtils.readLogIntArray(properties, "server_log_set_size");
@@ -96,7 +96,7 @@ public class PayablePsiMain extends AbstractMainTwoPartyPto {
         setSizeNum = serverLogSetSizes.length;
         serverSetSizes = Arrays.stream(serverLogSetSizes).map(logSetSize -> 1 << logSetSize).toArray();
         clientSetSizes = Arrays.stream(clientLogSetSizes).map(logSetSize -> 1 << logSetSize).toArray();
-        LOGGER.info("{} read PTO config", ownRpc.ownParty().getPartyName());
+        LOGGER.info("{} read PTO config", ownName);
         payablePsiMainType = MainPtoConfigUtils.readEnum(PayablePsiMainType.class, properties, PTO_NAME_KEY);
         config = PayablePsiConfigUtils.createPayablePsiConfig(properties);
     }